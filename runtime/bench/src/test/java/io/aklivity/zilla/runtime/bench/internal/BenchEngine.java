@@ -0,0 +1,140 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.bench.internal;
+
+import static io.aklivity.zilla.runtime.engine.EngineConfiguration.ENGINE_CONFIG_URL;
+import static io.aklivity.zilla.runtime.engine.EngineConfiguration.ENGINE_DIRECTORY;
+import static io.aklivity.zilla.runtime.engine.EngineConfiguration.ENGINE_STREAMS_BUFFER_CAPACITY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.agrona.LangUtil;
+
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.Engine;
+
+/**
+ * In-process engine for a benchmark pipeline, started from a generated {@code zilla.yaml}.
+ * <p>
+ * Each pipeline gets its own directory under {@code target/zilla-bench}, holding the generated
+ * configuration, the engine directory and any files served by the pipeline. Engine properties
+ * default to the system properties, so they can be tuned with {@code -D} on the benchmark command line.
+ * <p>
+ * Errors reported by the engine are kept and rethrown on {@link #close()}, so JMH reports the failure
+ * from the trial teardown.
+ */
+final class BenchEngine implements AutoCloseable
+{
+    private static final Path BENCH_DIRECTORY = Paths.get("target", "zilla-bench");
+
+    private final Engine engine;
+    private final AtomicReference<Throwable> failure;
+
+    private BenchEngine(
+        Engine engine,
+        AtomicReference<Throwable> failure)
+    {
+        this.engine = engine;
+        this.failure = failure;
+    }
+
+    static Path directory(
+        String pipeline)
+    {
+        return BENCH_DIRECTORY.resolve(pipeline).toAbsolutePath();
+    }
+
+    static BenchEngine start(
+        String pipeline,
+        String config) throws Exception
+    {
+        return start(pipeline, config, Map.of());
+    }
+
+    static BenchEngine start(
+        String pipeline,
+        String config,
+        Map<String, String> overrides) throws Exception
+    {
+        final Path directory = directory(pipeline);
+        final Path configPath = directory.resolve("zilla.yaml");
+        Files.createDirectories(directory);
+        Files.write(configPath, config.getBytes(UTF_8));
+
+        final Properties properties = new Properties(System.getProperties());
+        properties.setProperty(ENGINE_DIRECTORY.name(), directory.resolve("engine").toString());
+        properties.setProperty(ENGINE_CONFIG_URL.name(), configPath.toUri().toString());
+        if (System.getProperty(ENGINE_STREAMS_BUFFER_CAPACITY.name()) == null)
+        {
+            properties.setProperty(ENGINE_STREAMS_BUFFER_CAPACITY.name(), Long.toString(1024L * 1024L * 16L));
+        }
+        overrides.forEach(properties::setProperty);
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Engine engine = Engine.builder()
+            .config(new Configuration(properties))
+            .errorHandler(ex -> onError(failure, ex))
+            .build();
+
+        engine.start();
+
+        return new BenchEngine(engine, failure);
+    }
+
+    static void write(
+        Path path,
+        byte[] content)
+    {
+        try
+        {
+            Files.createDirectories(path.getParent());
+            Files.write(path, content);
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        engine.close();
+
+        final Throwable error = failure.get();
+        if (error != null)
+        {
+            LangUtil.rethrowUnchecked(error);
+        }
+    }
+
+    private static void onError(
+        AtomicReference<Throwable> failure,
+        Throwable ex)
+    {
+        if (!failure.compareAndSet(null, ex))
+        {
+            failure.get().addSuppressed(ex);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.bench.internal;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Minimal blocking HTTP/1.1 client over a single keep-alive connection.
+ * <p>
+ * Requests are written from a preallocated buffer and responses are read into a reused buffer, so the
+ * client itself adds as little as possible to the measured allocation rate. Response bodies are
+ * consumed but not retained, supporting both {@code content-length} and {@code chunked} framing.
+ * <b>Each instance of this class is assumed to be used by one and only one thread.</b>
+ */
+final class BenchHttpClient implements AutoCloseable
+{
+    private static final byte CR = '\r';
+    private static final byte LF = '\n';
+
+    private final SocketChannel channel;
+    private final ByteBuffer readBuffer;
+
+    private int status;
+
+    BenchHttpClient(
+        int port) throws IOException
+    {
+        this.channel = SocketChannel.open();
+        this.channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        this.channel.connect(new InetSocketAddress("127.0.0.1", port));
+        this.readBuffer = ByteBuffer.allocateDirect(64 * 1024);
+        this.readBuffer.flip();
+    }
+
+    static ByteBuffer request(
+        String method,
+        String path,
+        byte[] content)
+    {
+        final StringBuilder headers = new StringBuilder()
+            .append(method).append(' ').append(path).append(" HTTP/1.1\r\n")
+            .append("Host: localhost\r\n");
+
+        if (content != null)
+        {
+            headers.append("Content-Type: application/json\r\n")
+                   .append("Content-Length: ").append(content.length).append("\r\n");
+        }
+        headers.append("\r\n");
+
+        final byte[] head = headers.toString().getBytes(US_ASCII);
+        final int length = head.length + (content != null ? content.length : 0);
+        final ByteBuffer request = ByteBuffer.allocateDirect(length).put(head);
+        if (content != null)
+        {
+            request.put(content);
+        }
+        request.flip();
+
+        return request;
+    }
+
+    int exchange(
+        ByteBuffer request) throws IOException
+    {
+        request.rewind();
+        while (request.hasRemaining())
+        {
+            channel.write(request);
+        }
+
+        return readResponse();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    private int readResponse() throws IOException
+    {
+        status = -1;
+        int contentLength = 0;
+        boolean chunked = false;
+
+        final int statusLine = readLine();
+        status = parseInt(statusLine + 9, statusLine + 12);
+
+        for (int line = readLine(); line != readBuffer.position() - 2; line = readLine())
+        {
+            final int end = readBuffer.position() - 2;
+            if (matches(line, end, "content-length:"))
+            {
+                contentLength = parseInt(skipSpaces(line + 15, end), end);
+            }
+            else if (matches(line, end, "transfer-encoding:"))
+            {
+                chunked = matchesValue(skipSpaces(line + 18, end), end, "chunked");
+            }
+        }
+
+        if (chunked)
+        {
+            for (int size = readChunkSize(); size != 0; size = readChunkSize())
+            {
+                skip(size);
+                readLine();
+            }
+            readLine();
+        }
+        else
+        {
+            skip(contentLength);
+        }
+
+        return status;
+    }
+
+    private int readChunkSize() throws IOException
+    {
+        final int line = readLine();
+        final int end = readBuffer.position() - 2;
+        int size = 0;
+        for (int index = line; index < end; index++)
+        {
+            final int digit = Character.digit(readBuffer.get(index), 16);
+            if (digit == -1)
+            {
+                break;
+            }
+            size = (size << 4) | digit;
+        }
+        return size;
+    }
+
+    private int readLine() throws IOException
+    {
+        int start = readBuffer.position();
+        int index = start;
+        for (;;)
+        {
+            while (index + 1 < readBuffer.limit())
+            {
+                if (readBuffer.get(index) == CR && readBuffer.get(index + 1) == LF)
+                {
+                    readBuffer.position(index + 2);
+                    return start;
+                }
+                index++;
+            }
+
+            compact(start);
+            index -= start;
+            start = 0;
+            fill();
+        }
+    }
+
+    private void skip(
+        int length) throws IOException
+    {
+        while (length > 0)
+        {
+            if (!readBuffer.hasRemaining())
+            {
+                readBuffer.clear().flip();
+                fill();
+            }
+
+            final int skipped = Math.min(length, readBuffer.remaining());
+            readBuffer.position(readBuffer.position() + skipped);
+            length -= skipped;
+        }
+    }
+
+    private void compact(
+        int start)
+    {
+        readBuffer.position(start);
+        readBuffer.compact();
+        readBuffer.flip();
+    }
+
+    private void fill() throws IOException
+    {
+        final int position = readBuffer.position();
+        final int limit = readBuffer.limit();
+        if (limit == readBuffer.capacity())
+        {
+            throw new IOException("response line too long");
+        }
+
+        readBuffer.position(limit);
+        readBuffer.limit(readBuffer.capacity());
+        final int read = channel.read(readBuffer);
+        readBuffer.limit(readBuffer.position());
+        readBuffer.position(position);
+
+        if (read == -1)
+        {
+            throw new EOFException(String.format("connection closed, last status %d", status));
+        }
+    }
+
+    private boolean matches(
+        int index,
+        int end,
+        String name)
+    {
+        boolean matches = end - index >= name.length();
+        for (int i = 0; matches && i < name.length(); i++)
+        {
+            matches = Character.toLowerCase(readBuffer.get(index + i)) == name.charAt(i);
+        }
+        return matches;
+    }
+
+    private boolean matchesValue(
+        int index,
+        int end,
+        String value)
+    {
+        return end - index == value.length() && matches(index, end, value);
+    }
+
+    private int skipSpaces(
+        int index,
+        int end)
+    {
+        while (index < end && readBuffer.get(index) == ' ')
+        {
+            index++;
+        }
+        return index;
+    }
+
+    private int parseInt(
+        int index,
+        int end)
+    {
+        int value = 0;
+        for (; index < end; index++)
+        {
+            value = value * 10 + (readBuffer.get(index) - '0');
+        }
+        return value;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.bench.internal;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Request and response of a static file through the {@code tcp -> http -> http-filesystem -> filesystem} pipeline.
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+public class HttpFilesystemBM
+{
+    private static final String PIPELINE = "http.filesystem";
+    private static final int PORT = 12346;
+
+    @Param({"1024"})
+    public int size;
+
+    private BenchEngine engine;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception
+    {
+        final Path files = BenchEngine.directory(PIPELINE).resolve("files");
+        final byte[] content = new byte[size];
+        new Random().nextBytes(content);
+        BenchEngine.write(files.resolve("index.html"), content);
+
+        final String config =
+            "name: bench\n" +
+            "bindings:\n" +
+            "  tcp_server0:\n" +
+            "    type: tcp\n" +
+            "    kind: server\n" +
+            "    options:\n" +
+            "      host: 127.0.0.1\n" +
+            "      port: " + PORT + "\n" +
+            "    exit: http_server0\n" +
+            "  http_server0:\n" +
+            "    type: http\n" +
+            "    kind: server\n" +
+            "    options:\n" +
+            "      versions:\n" +
+            "        - http/1.1\n" +
+            "    exit: http_filesystem_proxy0\n" +
+            "  http_filesystem_proxy0:\n" +
+            "    type: http-filesystem\n" +
+            "    kind: proxy\n" +
+            "    routes:\n" +
+            "      - exit: filesystem_server0\n" +
+            "        when:\n" +
+            "          - path: /{path}\n" +
+            "        with:\n" +
+            "          path: ${params.path}\n" +
+            "  filesystem_server0:\n" +
+            "    type: filesystem\n" +
+            "    kind: server\n" +
+            "    options:\n" +
+            "      location: " + files.toUri() + "\n";
+
+        engine = BenchEngine.start(PIPELINE, config);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception
+    {
+        engine.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ConnectionState
+    {
+        private final ByteBuffer request = BenchHttpClient.request("GET", "/index.html", null);
+
+        private BenchHttpClient client;
+
+        @Setup(Level.Trial)
+        public void connect() throws Exception
+        {
+            client = new BenchHttpClient(PORT);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception
+        {
+            client.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(SECONDS)
+    public int throughput(
+        final ConnectionState state) throws Exception
+    {
+        return get(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(MICROSECONDS)
+    public int latency(
+        final ConnectionState state) throws Exception
+    {
+        return get(state);
+    }
+
+    private static int get(
+        ConnectionState state) throws IOException
+    {
+        final int status = state.client.exchange(state.request);
+        if (status != 200)
+        {
+            throw new IOException(String.format("unexpected status %d", status));
+        }
+        return status;
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(HttpFilesystemBM.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(0)
+                .threads(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.bench.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Produce of a record per request through the
+ * {@code tcp -> http -> http-kafka -> kafka -> tcp} pipeline, against a loopback Kafka stand-in.
+ * <p>
+ * Each request is answered once the record is acknowledged by the partition leader, so the measured
+ * latency includes the produce round trip to the stand-in broker.
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+public class HttpKafkaBM
+{
+    private static final String PIPELINE = "http.kafka";
+    private static final int PORT = 12347;
+
+    @Param({"1"})
+    public int partitions;
+
+    private MockKafkaServer kafka;
+    private BenchEngine engine;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception
+    {
+        kafka = new MockKafkaServer(partitions);
+
+        final String config =
+            "name: bench\n" +
+            "bindings:\n" +
+            "  tcp_server0:\n" +
+            "    type: tcp\n" +
+            "    kind: server\n" +
+            "    options:\n" +
+            "      host: 127.0.0.1\n" +
+            "      port: " + PORT + "\n" +
+            "    exit: http_server0\n" +
+            "  http_server0:\n" +
+            "    type: http\n" +
+            "    kind: server\n" +
+            "    options:\n" +
+            "      versions:\n" +
+            "        - http/1.1\n" +
+            "    exit: http_kafka_proxy0\n" +
+            "  http_kafka_proxy0:\n" +
+            "    type: http-kafka\n" +
+            "    kind: proxy\n" +
+            "    routes:\n" +
+            "      - exit: kafka_client0\n" +
+            "        when:\n" +
+            "          - method: PUT\n" +
+            "            path: /items/{id}\n" +
+            "        with:\n" +
+            "          capability: produce\n" +
+            "          topic: items\n" +
+            "          acks: leader_only\n" +
+            "          key: ${params.id}\n" +
+            "  kafka_client0:\n" +
+            "    type: kafka\n" +
+            "    kind: client\n" +
+            "    options:\n" +
+            "      servers:\n" +
+            "        - 127.0.0.1:" + kafka.port() + "\n" +
+            "    exit: tcp_client0\n" +
+            "  tcp_client0:\n" +
+            "    type: tcp\n" +
+            "    kind: client\n";
+
+        engine = BenchEngine.start(PIPELINE, config);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception
+    {
+        engine.close();
+        kafka.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ConnectionState
+    {
+        @Param({"256"})
+        public int size;
+
+        private ByteBuffer request;
+        private BenchHttpClient client;
+
+        @Setup(Level.Trial)
+        public void connect() throws Exception
+        {
+            final byte[] content = new byte[size];
+            Arrays.fill(content, (byte) ' ');
+            final byte[] prefix = "{\"item\":\"".getBytes(UTF_8);
+            System.arraycopy(prefix, 0, content, 0, prefix.length);
+            content[size - 2] = '"';
+            content[size - 1] = '}';
+
+            request = BenchHttpClient.request("PUT", "/items/" + Thread.currentThread().getId(), content);
+            client = new BenchHttpClient(PORT);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception
+        {
+            client.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(SECONDS)
+    public int throughput(
+        final ConnectionState state) throws Exception
+    {
+        return produce(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(MICROSECONDS)
+    public int latency(
+        final ConnectionState state) throws Exception
+    {
+        return produce(state);
+    }
+
+    private static int produce(
+        ConnectionState state) throws IOException
+    {
+        final int status = state.client.exchange(state.request);
+        if (status != 204)
+        {
+            throw new IOException(String.format("unexpected status %d", status));
+        }
+        return status;
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(HttpKafkaBM.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(0)
+                .threads(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.bench.internal;
+
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_FETCH_MAX_WAIT_MILLIS;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_FETCH_SESSION;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Idle fetch cycles of a {@code kafka} cache bootstrapping every partition of a topic, against a loopback
+ * Kafka stand-in.
+ * <p>
+ * The partitions never receive records, so each fetch cycle is one fetch request answered after the maximum
+ * wait time. The {@code requestBytes} counter shows the fetch request bytes sent per cycle, with and without
+ * incremental fetch sessions.
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+public class KafkaFetchBM
+{
+    private static final String PIPELINE = "kafka.fetch";
+
+    @Param({"64"})
+    public int partitions;
+
+    @Param({"false", "true"})
+    public boolean session;
+
+    private MockKafkaServer kafka;
+    private BenchEngine engine;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception
+    {
+        kafka = new MockKafkaServer(partitions);
+
+        final String config =
+            "name: bench\n" +
+            "bindings:\n" +
+            "  kafka_cache_server0:\n" +
+            "    type: kafka\n" +
+            "    kind: cache_server\n" +
+            "    options:\n" +
+            "      bootstrap:\n" +
+            "        - items\n" +
+            "    exit: kafka_client0\n" +
+            "  kafka_client0:\n" +
+            "    type: kafka\n" +
+            "    kind: client\n" +
+            "    options:\n" +
+            "      servers:\n" +
+            "        - 127.0.0.1:" + kafka.port() + "\n" +
+            "    exit: tcp_client0\n" +
+            "  tcp_client0:\n" +
+            "    type: tcp\n" +
+            "    kind: client\n";
+
+        engine = BenchEngine.start(PIPELINE, config, Map.of(
+            KAFKA_CLIENT_FETCH_MAX_WAIT_MILLIS.name(), "1",
+            KAFKA_CLIENT_FETCH_SESSION.name(), Boolean.toString(session)));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception
+    {
+        engine.close();
+        kafka.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class FetchCounters
+    {
+        public long requestBytes;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(SECONDS)
+    public long fetch(
+        final FetchCounters counters)
+    {
+        final long fetchRequests = kafka.fetchRequests();
+        final long fetchRequestBytes = kafka.fetchRequestBytes();
+
+        while (kafka.fetchRequests() == fetchRequests)
+        {
+            LockSupport.parkNanos(10_000L);
+        }
+
+        final long requestBytes = kafka.fetchRequestBytes() - fetchRequestBytes;
+        counters.requestBytes += requestBytes;
+
+        return requestBytes;
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(KafkaFetchBM.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(0)
+                .threads(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.bench.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonPatch;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonStructure;
+import jakarta.json.JsonWriter;
+import jakarta.json.spi.JsonProvider;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.io.DirectBufferInputStream;
+import org.agrona.io.ExpandableDirectBufferOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheJsonDiff;
+
+/**
+ * JSON Patch delta of a small update to a compacted JSON record, as written by the {@code kafka} cache for
+ * topics with {@code deltaType: json_patch}.
+ * <p>
+ * The {@code tree} benchmark reads both documents with JSON-P and diffs the trees, the {@code streaming}
+ * benchmark diffs the encoded documents in place.
+ */
+@State(Scope.Thread)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+public class KafkaJsonPatchBM
+{
+    @Param({"8", "64"})
+    public int fields;
+
+    private final DirectBufferInputStream ancestorIn = new DirectBufferInputStream();
+    private final DirectBufferInputStream headIn = new DirectBufferInputStream();
+    private final MutableDirectBuffer diffBuffer = new ExpandableArrayBuffer();
+    private final ExpandableDirectBufferOutputStream diffOut = new ExpandableDirectBufferOutputStream();
+    private final KafkaCacheJsonDiff jsonDiff = new KafkaCacheJsonDiff();
+
+    private UnsafeBuffer ancestor;
+    private UnsafeBuffer head;
+
+    @Setup(Level.Trial)
+    public void init()
+    {
+        ancestor = new UnsafeBuffer(document(fields, "pending").getBytes(UTF_8));
+        head = new UnsafeBuffer(document(fields, "shipped").getBytes(UTF_8));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(SECONDS)
+    public int tree()
+    {
+        final JsonProvider json = JsonProvider.provider();
+        ancestorIn.wrap(ancestor, 0, ancestor.capacity());
+        final JsonReader ancestorReader = json.createReader(ancestorIn);
+        final JsonStructure ancestorJson = ancestorReader.read();
+        ancestorReader.close();
+
+        headIn.wrap(head, 0, head.capacity());
+        final JsonReader headReader = json.createReader(headIn);
+        final JsonStructure headJson = headReader.read();
+        headReader.close();
+
+        final JsonPatch diff = json.createDiff(ancestorJson, headJson);
+        final JsonArray diffJson = diff.toJsonArray();
+        diffOut.wrap(diffBuffer, Integer.BYTES);
+        final JsonWriter writer = json.createWriter(diffOut);
+        writer.write(diffJson);
+        writer.close();
+
+        return diffOut.position();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(SECONDS)
+    public int streaming()
+    {
+        return jsonDiff.diff(ancestor, 0, ancestor.capacity(), head, 0, head.capacity(), diffBuffer, Integer.BYTES);
+    }
+
+    private static String document(
+        int fields,
+        String status)
+    {
+        final StringBuilder document = new StringBuilder("{\"id\":\"order-1\",\"status\":\"").append(status).append("\"");
+        for (int field = 0; field < fields; field++)
+        {
+            document.append(",\"field").append(field).append("\":{\"count\":").append(field)
+                .append(",\"label\":\"value ").append(field).append("\",\"tags\":[\"a\",\"b\"]}");
+        }
+        return document.append('}').toString();
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(KafkaJsonPatchBM.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(0)
+                .threads(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,613 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.bench.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Single broker Kafka stand-in on a loopback port, answering just enough of the protocol for the
+ * kafka client binding to produce records.
+ * <p>
+ * Supports the request versions used by the kafka client binding: {@code Metadata v5},
+ * {@code DescribeConfigs v0}, {@code Produce v3}, {@code ListOffsets v2}, {@code Fetch v5} and {@code Fetch v11}.
+ * Produced records are acknowledged with increasing offsets per partition and then discarded,
+ * and fetches always return no records after waiting up to the requested maximum wait time.
+ * <p>
+ * {@code Fetch v11} requests may create an incremental fetch session, after which only the partitions
+ * present in each request are answered, and partitions listed as forgotten are dropped from the session.
+ * <p>
+ * Connection failures other than the client closing are kept and rethrown on {@link #close()}.
+ */
+final class MockKafkaServer implements AutoCloseable
+{
+    private static final short PRODUCE_API_KEY = 0;
+    private static final short FETCH_API_KEY = 1;
+    private static final short LIST_OFFSETS_API_KEY = 2;
+    private static final short METADATA_API_KEY = 3;
+    private static final short DESCRIBE_CONFIGS_API_KEY = 32;
+
+    private static final short ERROR_NONE = 0;
+    private static final short ERROR_UNKNOWN_TOPIC_OR_PARTITION = 3;
+    private static final short ERROR_FETCH_SESSION_ID_NOT_FOUND = 70;
+
+    private static final short FETCH_SESSION_API_VERSION = 11;
+    private static final int SESSION_ID_NONE = 0;
+    private static final int SESSION_EPOCH_FINAL = -1;
+
+    private static final int NODE_ID = 1;
+    private static final int RECORD_BATCH_LENGTH_OFFSET = 8;
+    private static final int RECORD_BATCH_LAST_OFFSET_DELTA_OFFSET = 23;
+
+    private static final Map<String, String> TOPIC_CONFIG_DEFAULTS = Map.ofEntries(
+        Map.entry("cleanup.policy", "delete"),
+        Map.entry("max.message.bytes", "1000012"),
+        Map.entry("segment.bytes", "1073741824"),
+        Map.entry("segment.index.bytes", "10485760"),
+        Map.entry("segment.ms", "604800000"),
+        Map.entry("retention.bytes", "-1"),
+        Map.entry("retention.ms", "604800000"),
+        Map.entry("delete.retention.ms", "86400000"),
+        Map.entry("min.compaction.lag.ms", "0"),
+        Map.entry("max.compaction.lag.ms", "9223372036854775807"),
+        Map.entry("min.cleanable.dirty.ratio", "0.5"));
+
+    private final ServerSocket server;
+    private final int partitions;
+    private final Map<String, AtomicLong[]> offsets;
+    private final List<Socket> connections;
+    private final Map<Integer, Map<String, Set<Integer>>> sessions;
+    private final AtomicInteger nextSessionId;
+    private final AtomicLong fetchRequests;
+    private final AtomicLong fetchRequestBytes;
+    private final AtomicReference<IOException> failure;
+    private final Thread acceptor;
+
+    MockKafkaServer(
+        int partitions) throws IOException
+    {
+        this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.partitions = partitions;
+        this.offsets = new ConcurrentHashMap<>();
+        this.connections = new CopyOnWriteArrayList<>();
+        this.sessions = new ConcurrentHashMap<>();
+        this.nextSessionId = new AtomicInteger(SESSION_ID_NONE);
+        this.fetchRequests = new AtomicLong();
+        this.fetchRequestBytes = new AtomicLong();
+        this.failure = new AtomicReference<>();
+        this.acceptor = new Thread(this::accept, "mock-kafka-acceptor");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    int port()
+    {
+        return server.getLocalPort();
+    }
+
+    long produced(
+        String topic)
+    {
+        long produced = 0L;
+        final AtomicLong[] topicOffsets = offsets.get(topic);
+        if (topicOffsets != null)
+        {
+            for (AtomicLong offset : topicOffsets)
+            {
+                produced += offset.get();
+            }
+        }
+        return produced;
+    }
+
+    long fetchRequests()
+    {
+        return fetchRequests.get();
+    }
+
+    long fetchRequestBytes()
+    {
+        return fetchRequestBytes.get();
+    }
+
+    @Override
+    public void close() throws Exception
+    {
+        server.close();
+        for (Socket connection : connections)
+        {
+            connection.close();
+        }
+        acceptor.join();
+
+        final IOException error = failure.get();
+        if (error != null)
+        {
+            throw error;
+        }
+    }
+
+    private void accept()
+    {
+        try
+        {
+            while (!server.isClosed())
+            {
+                final Socket connection = server.accept();
+                connection.setTcpNoDelay(true);
+                connections.add(connection);
+
+                final Thread handler = new Thread(() -> serve(connection), "mock-kafka-connection");
+                handler.setDaemon(true);
+                handler.start();
+            }
+        }
+        catch (IOException ex)
+        {
+            // server closed
+        }
+    }
+
+    private void serve(
+        Socket connection)
+    {
+        try (Socket socket = connection;
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())))
+        {
+            final ByteArrayOutputStream response = new ByteArrayOutputStream();
+            final DataOutputStream body = new DataOutputStream(response);
+
+            for (;;)
+            {
+                final int length = in.readInt();
+                final short apiKey = in.readShort();
+                final short apiVersion = in.readShort();
+                final int correlationId = in.readInt();
+                readString(in);
+
+                response.reset();
+                body.writeInt(correlationId);
+
+                boolean reply = true;
+                switch (apiKey)
+                {
+                case METADATA_API_KEY:
+                    onMetadata(in, body);
+                    break;
+                case DESCRIBE_CONFIGS_API_KEY:
+                    onDescribeConfigs(in, body);
+                    break;
+                case PRODUCE_API_KEY:
+                    reply = onProduce(in, body);
+                    break;
+                case LIST_OFFSETS_API_KEY:
+                    onListOffsets(in, body);
+                    break;
+                case FETCH_API_KEY:
+                    fetchRequests.incrementAndGet();
+                    fetchRequestBytes.addAndGet(Integer.BYTES + length);
+                    onFetch(in, body, apiVersion);
+                    break;
+                default:
+                    throw new IOException(String.format("unsupported api key %d version %d", apiKey, apiVersion));
+                }
+
+                if (reply)
+                {
+                    out.writeInt(response.size());
+                    response.writeTo(out);
+                    out.flush();
+                }
+            }
+        }
+        catch (EOFException ex)
+        {
+            // connection closed by client
+        }
+        catch (IOException ex)
+        {
+            if (!server.isClosed() && !failure.compareAndSet(null, ex))
+            {
+                failure.get().addSuppressed(ex);
+            }
+        }
+        finally
+        {
+            connections.remove(connection);
+        }
+    }
+
+    private void onMetadata(
+        DataInputStream in,
+        DataOutputStream out) throws IOException
+    {
+        final List<String> topics = new ArrayList<>();
+        final int topicCount = in.readInt();
+        for (int i = 0; i < topicCount; i++)
+        {
+            topics.add(readString(in));
+        }
+        in.readByte();
+
+        out.writeInt(0);
+        out.writeInt(1);
+        out.writeInt(NODE_ID);
+        writeString(out, server.getInetAddress().getHostAddress());
+        out.writeInt(server.getLocalPort());
+        writeString(out, null);
+        writeString(out, "zilla-bench");
+        out.writeInt(NODE_ID);
+
+        out.writeInt(topics.size());
+        for (String topic : topics)
+        {
+            out.writeShort(ERROR_NONE);
+            writeString(out, topic);
+            out.writeByte(0);
+            out.writeInt(partitions);
+            for (int partition = 0; partition < partitions; partition++)
+            {
+                out.writeShort(ERROR_NONE);
+                out.writeInt(partition);
+                out.writeInt(NODE_ID);
+                out.writeInt(1);
+                out.writeInt(NODE_ID);
+                out.writeInt(1);
+                out.writeInt(NODE_ID);
+                out.writeInt(0);
+            }
+        }
+    }
+
+    private void onDescribeConfigs(
+        DataInputStream in,
+        DataOutputStream out) throws IOException
+    {
+        out.writeInt(0);
+
+        final int resourceCount = in.readInt();
+        out.writeInt(resourceCount);
+        for (int i = 0; i < resourceCount; i++)
+        {
+            final byte type = in.readByte();
+            final String name = readString(in);
+            final int configCount = in.readInt();
+
+            final List<String> configNames = new ArrayList<>();
+            if (configCount == -1)
+            {
+                configNames.addAll(TOPIC_CONFIG_DEFAULTS.keySet());
+            }
+            for (int j = 0; j < configCount; j++)
+            {
+                configNames.add(readString(in));
+            }
+
+            out.writeShort(ERROR_NONE);
+            writeString(out, null);
+            out.writeByte(type);
+            writeString(out, name);
+            out.writeInt(configNames.size());
+            for (String configName : configNames)
+            {
+                writeString(out, configName);
+                writeString(out, TOPIC_CONFIG_DEFAULTS.get(configName));
+                out.writeByte(0);
+                out.writeByte(1);
+                out.writeByte(0);
+            }
+        }
+    }
+
+    private boolean onProduce(
+        DataInputStream in,
+        DataOutputStream out) throws IOException
+    {
+        readString(in);
+        final short acks = in.readShort();
+        in.readInt();
+
+        final int topicCount = in.readInt();
+        out.writeInt(topicCount);
+        for (int i = 0; i < topicCount; i++)
+        {
+            final String topic = readString(in);
+            final AtomicLong[] topicOffsets = offsets.computeIfAbsent(topic, this::newOffsets);
+            final int partitionCount = in.readInt();
+
+            writeString(out, topic);
+            out.writeInt(partitionCount);
+            for (int j = 0; j < partitionCount; j++)
+            {
+                final int partition = in.readInt();
+                final byte[] recordSet = new byte[in.readInt()];
+                in.readFully(recordSet);
+
+                final boolean known = partition >= 0 && partition < partitions;
+                final long baseOffset = known ? topicOffsets[partition].getAndAdd(recordCount(recordSet)) : -1L;
+
+                out.writeInt(partition);
+                out.writeShort(known ? ERROR_NONE : ERROR_UNKNOWN_TOPIC_OR_PARTITION);
+                out.writeLong(baseOffset);
+                out.writeLong(-1L);
+            }
+        }
+        out.writeInt(0);
+
+        return acks != 0;
+    }
+
+    private void onListOffsets(
+        DataInputStream in,
+        DataOutputStream out) throws IOException
+    {
+        in.readInt();
+        in.readByte();
+
+        out.writeInt(0);
+
+        final int topicCount = in.readInt();
+        out.writeInt(topicCount);
+        for (int i = 0; i < topicCount; i++)
+        {
+            final String topic = readString(in);
+            final AtomicLong[] topicOffsets = offsets.computeIfAbsent(topic, this::newOffsets);
+            final int partitionCount = in.readInt();
+
+            writeString(out, topic);
+            out.writeInt(partitionCount);
+            for (int j = 0; j < partitionCount; j++)
+            {
+                final int partition = in.readInt();
+                final long timestamp = in.readLong();
+                final boolean known = partition >= 0 && partition < partitions;
+                final long offset = !known ? -1L : timestamp == -2L ? 0L : topicOffsets[partition].get();
+
+                out.writeInt(partition);
+                out.writeShort(known ? ERROR_NONE : ERROR_UNKNOWN_TOPIC_OR_PARTITION);
+                out.writeLong(-1L);
+                out.writeLong(offset);
+            }
+        }
+    }
+
+    private void onFetch(
+        DataInputStream in,
+        DataOutputStream out,
+        short apiVersion) throws IOException
+    {
+        final boolean session = apiVersion >= FETCH_SESSION_API_VERSION;
+
+        in.readInt();
+        final int maxWaitMillis = in.readInt();
+        in.readInt();
+        in.readInt();
+        in.readByte();
+        final int sessionId = session ? in.readInt() : SESSION_ID_NONE;
+        final int sessionEpoch = session ? in.readInt() : SESSION_EPOCH_FINAL;
+
+        final Map<String, List<Integer>> fetches = new LinkedHashMap<>();
+        final int topicCount = in.readInt();
+        for (int i = 0; i < topicCount; i++)
+        {
+            final String topic = readString(in);
+            final List<Integer> partitions = fetches.computeIfAbsent(topic, t -> new ArrayList<>());
+            final int partitionCount = in.readInt();
+            for (int j = 0; j < partitionCount; j++)
+            {
+                partitions.add(in.readInt());
+                if (session)
+                {
+                    in.readInt();
+                }
+                in.readLong();
+                in.readLong();
+                in.readInt();
+            }
+        }
+
+        final Map<String, List<Integer>> forgotten = new LinkedHashMap<>();
+        if (session)
+        {
+            final int forgottenCount = in.readInt();
+            for (int i = 0; i < forgottenCount; i++)
+            {
+                final List<Integer> partitions = forgotten.computeIfAbsent(readString(in), t -> new ArrayList<>());
+                final int partitionCount = in.readInt();
+                for (int j = 0; j < partitionCount; j++)
+                {
+                    partitions.add(in.readInt());
+                }
+            }
+            readString(in);
+        }
+
+        short errorCode = ERROR_NONE;
+        int newSessionId = SESSION_ID_NONE;
+        if (sessionId != SESSION_ID_NONE)
+        {
+            final Map<String, Set<Integer>> partitionsByTopic = sessions.get(sessionId);
+            if (partitionsByTopic == null)
+            {
+                errorCode = ERROR_FETCH_SESSION_ID_NOT_FOUND;
+                fetches.clear();
+            }
+            else
+            {
+                addSessionPartitions(partitionsByTopic, fetches);
+                removeSessionPartitions(partitionsByTopic, forgotten);
+                newSessionId = sessionId;
+            }
+        }
+        else if (sessionEpoch != SESSION_EPOCH_FINAL)
+        {
+            final Map<String, Set<Integer>> partitionsByTopic = new ConcurrentHashMap<>();
+            addSessionPartitions(partitionsByTopic, fetches);
+            newSessionId = nextSessionId.incrementAndGet();
+            sessions.put(newSessionId, partitionsByTopic);
+        }
+
+        out.writeInt(0);
+        if (session)
+        {
+            out.writeShort(errorCode);
+            out.writeInt(newSessionId);
+        }
+
+        out.writeInt(fetches.size());
+        for (Map.Entry<String, List<Integer>> entry : fetches.entrySet())
+        {
+            final String topic = entry.getKey();
+            final List<Integer> partitions = entry.getValue();
+            final AtomicLong[] topicOffsets = offsets.computeIfAbsent(topic, this::newOffsets);
+
+            writeString(out, topic);
+            out.writeInt(partitions.size());
+            for (int partition : partitions)
+            {
+                final boolean known = partition >= 0 && partition < this.partitions;
+                final long highWatermark = known ? topicOffsets[partition].get() : -1L;
+
+                out.writeInt(partition);
+                out.writeShort(known ? ERROR_NONE : ERROR_UNKNOWN_TOPIC_OR_PARTITION);
+                out.writeLong(highWatermark);
+                out.writeLong(highWatermark);
+                out.writeLong(0L);
+                out.writeInt(0);
+                if (session)
+                {
+                    out.writeInt(-1);
+                }
+                out.writeInt(0);
+            }
+        }
+
+        try
+        {
+            Thread.sleep(Math.max(maxWaitMillis, 0));
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void addSessionPartitions(
+        Map<String, Set<Integer>> partitionsByTopic,
+        Map<String, List<Integer>> fetches)
+    {
+        fetches.forEach((t, ps) -> partitionsByTopic.computeIfAbsent(t, k -> ConcurrentHashMap.newKeySet()).addAll(ps));
+    }
+
+    private static void removeSessionPartitions(
+        Map<String, Set<Integer>> partitionsByTopic,
+        Map<String, List<Integer>> forgotten)
+    {
+        for (Map.Entry<String, List<Integer>> entry : forgotten.entrySet())
+        {
+            final Set<Integer> partitions = partitionsByTopic.get(entry.getKey());
+            if (partitions != null)
+            {
+                partitions.removeAll(entry.getValue());
+            }
+        }
+    }
+
+    private AtomicLong[] newOffsets(
+        String topic)
+    {
+        final AtomicLong[] topicOffsets = new AtomicLong[partitions];
+        for (int partition = 0; partition < partitions; partition++)
+        {
+            topicOffsets[partition] = new AtomicLong();
+        }
+        return topicOffsets;
+    }
+
+    private static int recordCount(
+        byte[] recordSet)
+    {
+        int recordCount = 0;
+        int offset = 0;
+        while (offset + RECORD_BATCH_LAST_OFFSET_DELTA_OFFSET + Integer.BYTES <= recordSet.length)
+        {
+            final int length = readInt(recordSet, offset + RECORD_BATCH_LENGTH_OFFSET);
+            recordCount += readInt(recordSet, offset + RECORD_BATCH_LAST_OFFSET_DELTA_OFFSET) + 1;
+            offset += RECORD_BATCH_LENGTH_OFFSET + Integer.BYTES + length;
+        }
+        return recordCount;
+    }
+
+    private static int readInt(
+        byte[] bytes,
+        int offset)
+    {
+        return (bytes[offset] & 0xff) << 24 |
+               (bytes[offset + 1] & 0xff) << 16 |
+               (bytes[offset + 2] & 0xff) << 8 |
+               (bytes[offset + 3] & 0xff);
+    }
+
+    private static String readString(
+        DataInputStream in) throws IOException
+    {
+        final short length = in.readShort();
+        String value = null;
+        if (length != -1)
+        {
+            final byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            value = new String(bytes, UTF_8);
+        }
+        return value;
+    }
+
+    private static void writeString(
+        DataOutputStream out,
+        String value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeShort(-1);
+        }
+        else
+        {
+            final byte[] bytes = value.getBytes(UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.bench.internal;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.EOFException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Round trip of a fixed size message through the {@code tcp -> echo} pipeline.
+ */
+@State(Scope.Benchmark)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+public class TcpEchoBM
+{
+    private static final String PIPELINE = "tcp.echo";
+    private static final int PORT = 12345;
+
+    private static final String CONFIG =
+        "name: bench\n" +
+        "bindings:\n" +
+        "  tcp_server0:\n" +
+        "    type: tcp\n" +
+        "    kind: server\n" +
+        "    options:\n" +
+        "      host: 127.0.0.1\n" +
+        "      port: " + PORT + "\n" +
+        "    exit: echo_server0\n" +
+        "  echo_server0:\n" +
+        "    type: echo\n" +
+        "    kind: server\n";
+
+    private BenchEngine engine;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception
+    {
+        engine = BenchEngine.start(PIPELINE, CONFIG);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception
+    {
+        engine.close();
+    }
+
+    @State(Scope.Thread)
+    public static class ConnectionState
+    {
+        @Param({"512"})
+        public int size;
+
+        private ByteBuffer sendByteBuffer;
+        private ByteBuffer receiveByteBuffer;
+        private SocketChannel channel;
+
+        @Setup(Level.Trial)
+        public void connect() throws Exception
+        {
+            final byte[] sendByteArray = new byte[size];
+            new Random().nextBytes(sendByteArray);
+
+            sendByteBuffer = ByteBuffer.allocateDirect(size).put(sendByteArray);
+            receiveByteBuffer = ByteBuffer.allocateDirect(size);
+
+            channel = SocketChannel.open();
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.connect(new InetSocketAddress("127.0.0.1", PORT));
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws Exception
+        {
+            channel.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(SECONDS)
+    public int throughput(
+        final ConnectionState state) throws Exception
+    {
+        return echo(state);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(MICROSECONDS)
+    public int latency(
+        final ConnectionState state) throws Exception
+    {
+        return echo(state);
+    }
+
+    private static int echo(
+        ConnectionState state) throws Exception
+    {
+        final SocketChannel channel = state.channel;
+        final ByteBuffer sendByteBuffer = state.sendByteBuffer;
+        final ByteBuffer receiveByteBuffer = state.receiveByteBuffer;
+
+        sendByteBuffer.clear();
+        while (sendByteBuffer.hasRemaining())
+        {
+            channel.write(sendByteBuffer);
+        }
+
+        receiveByteBuffer.clear();
+        while (receiveByteBuffer.hasRemaining())
+        {
+            if (channel.read(receiveByteBuffer) == -1)
+            {
+                throw new EOFException("connection closed");
+            }
+        }
+
+        return receiveByteBuffer.position();
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(TcpEchoBM.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(0)
+                .threads(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
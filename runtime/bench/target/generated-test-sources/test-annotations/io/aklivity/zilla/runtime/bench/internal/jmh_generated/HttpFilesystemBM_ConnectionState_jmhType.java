@@ -0,0 +1,4 @@
+package io.aklivity.zilla.runtime.bench.internal.jmh_generated;
+public class HttpFilesystemBM_ConnectionState_jmhType extends HttpFilesystemBM_ConnectionState_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.aklivity.zilla.runtime.bench.internal.jmh_generated;
+public class HttpFilesystemBM_jmhType extends HttpFilesystemBM_jmhType_B3 {
+}
+
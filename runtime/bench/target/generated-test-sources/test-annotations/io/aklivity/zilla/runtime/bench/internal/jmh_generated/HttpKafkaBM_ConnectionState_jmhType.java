@@ -0,0 +1,4 @@
+package io.aklivity.zilla.runtime.bench.internal.jmh_generated;
+public class HttpKafkaBM_ConnectionState_jmhType extends HttpKafkaBM_ConnectionState_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.aklivity.zilla.runtime.bench.internal.jmh_generated;
+public class HttpKafkaCacheBM_jmhType extends HttpKafkaCacheBM_jmhType_B3 {
+}
+
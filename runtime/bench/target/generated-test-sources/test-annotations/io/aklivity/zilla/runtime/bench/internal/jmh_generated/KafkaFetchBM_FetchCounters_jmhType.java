@@ -0,0 +1,4 @@
+package io.aklivity.zilla.runtime.bench.internal.jmh_generated;
+public class KafkaFetchBM_FetchCounters_jmhType extends KafkaFetchBM_FetchCounters_jmhType_B3 {
+}
+
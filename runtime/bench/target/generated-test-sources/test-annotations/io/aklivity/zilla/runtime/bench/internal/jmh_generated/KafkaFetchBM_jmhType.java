@@ -0,0 +1,4 @@
+package io.aklivity.zilla.runtime.bench.internal.jmh_generated;
+public class KafkaFetchBM_jmhType extends KafkaFetchBM_jmhType_B3 {
+}
+
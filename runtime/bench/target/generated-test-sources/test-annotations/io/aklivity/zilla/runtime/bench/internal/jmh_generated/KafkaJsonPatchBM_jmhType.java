@@ -0,0 +1,4 @@
+package io.aklivity.zilla.runtime.bench.internal.jmh_generated;
+public class KafkaJsonPatchBM_jmhType extends KafkaJsonPatchBM_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package io.aklivity.zilla.runtime.bench.internal.jmh_generated;
+public class TcpEchoBM_jmhType extends TcpEchoBM_jmhType_B3 {
+}
+
@@ -33,6 +33,7 @@ import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.AsyncapiBeginExFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.FlushFW;
@@ -50,6 +51,7 @@ public final class AsyncapiClientFactory implements AsyncapiStreamFactory
 {
     private static final String MQTT_TYPE_NAME = "mqtt";
     private static final OctetsFW EMPTY_OCTETS = new OctetsFW().wrap(new UnsafeBuffer(), 0, 0);
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
@@ -410,7 +412,7 @@ public final class AsyncapiClientFactory implements AsyncapiStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -663,7 +665,7 @@ public final class AsyncapiClientFactory implements AsyncapiStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -37,6 +37,7 @@ import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.AsyncapiBeginExFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.FlushFW;
@@ -53,6 +54,7 @@ import io.aklivity.zilla.runtime.engine.config.NamespaceConfig;
 public final class AsyncapiProxyFactory implements AsyncapiStreamFactory
 {
     private static final OctetsFW EMPTY_OCTETS = new OctetsFW().wrap(new UnsafeBuffer(), 0, 0);
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
     private final EndFW endRO = new EndFW();
@@ -533,7 +535,7 @@ public final class AsyncapiProxyFactory implements AsyncapiStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -762,7 +764,7 @@ public final class AsyncapiProxyFactory implements AsyncapiStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -1414,7 +1416,7 @@ public final class AsyncapiProxyFactory implements AsyncapiStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -35,6 +35,7 @@ import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.AsyncapiBeginExFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.asyncapi.internal.types.stream.FlushFW;
@@ -55,6 +56,7 @@ public final class AsyncapiServerFactory implements AsyncapiStreamFactory
     private static final String MQTT_TYPE_NAME = "mqtt";
     private static final String HTTP_TYPE_NAME = "http";
     private static final OctetsFW EMPTY_OCTETS = new OctetsFW().wrap(new UnsafeBuffer(), 0, 0);
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
     private final BeginFW beginRO = new BeginFW();
     private final BeginFW compositeBeginRO = new BeginFW();
     private final HttpBeginExFW httpBeginRO = new HttpBeginExFW();
@@ -501,7 +503,7 @@ public final class AsyncapiServerFactory implements AsyncapiStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -735,7 +737,7 @@ public final class AsyncapiServerFactory implements AsyncapiStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -278,9 +278,10 @@ public final class EchoServerFactory implements BindingHandler
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
+            final int capabilities = window.capabilities();
 
             doWindow(receiver, originId, routedId, initialId, sequence, acknowledge, maximum, traceId,
-                    budgetId, padding);
+                    budgetId, padding, capabilities);
         }
 
         private void onChallenge(
@@ -486,7 +487,8 @@ public final class EchoServerFactory implements BindingHandler
         final int maximum,
         final long traceId,
         final long budgetId,
-        final int padding)
+        final int padding,
+        final int capabilities)
     {
         final WindowFW window = windowRW.wrap(writeBuffer, 0, writeBuffer.capacity())
                 .originId(originId)
@@ -498,6 +500,7 @@ public final class EchoServerFactory implements BindingHandler
                 .traceId(traceId)
                 .budgetId(budgetId)
                 .padding(padding)
+                .capabilities(capabilities)
                 .build();
 
         sender.accept(window.typeId(), window.buffer(), window.offset(), window.sizeof());
@@ -40,6 +40,7 @@ import io.aklivity.zilla.runtime.binding.grpc.kafka.internal.types.String8FW;
 import io.aklivity.zilla.runtime.binding.grpc.kafka.internal.types.Varuint32FW;
 import io.aklivity.zilla.runtime.binding.grpc.kafka.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.grpc.kafka.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.grpc.kafka.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.grpc.kafka.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.grpc.kafka.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.grpc.kafka.internal.types.stream.ExtensionFW;
@@ -64,6 +65,7 @@ public final class GrpcKafkaProxyFactory implements GrpcKafkaStreamFactory
 {
     private static final String GRPC_TYPE_NAME = "grpc";
     private static final String KAFKA_TYPE_NAME = "kafka";
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final int DATA_FLAG_INIT = 0x02;
     private static final int DATA_FLAG_FIN = 0x01;
@@ -493,7 +495,7 @@ public final class GrpcKafkaProxyFactory implements GrpcKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -974,7 +976,7 @@ public final class GrpcKafkaProxyFactory implements GrpcKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -1240,7 +1242,7 @@ public final class GrpcKafkaProxyFactory implements GrpcKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -1688,7 +1690,7 @@ public final class GrpcKafkaProxyFactory implements GrpcKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -2013,7 +2015,7 @@ public final class GrpcKafkaProxyFactory implements GrpcKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert maximum >= delegate.initialMax;
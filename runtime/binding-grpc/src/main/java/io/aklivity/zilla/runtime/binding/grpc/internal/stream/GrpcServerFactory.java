@@ -46,6 +46,7 @@ import io.aklivity.zilla.runtime.binding.grpc.internal.types.String8FW;
 import io.aklivity.zilla.runtime.binding.grpc.internal.types.codec.GrpcMessageFW;
 import io.aklivity.zilla.runtime.binding.grpc.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.grpc.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.grpc.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.grpc.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.grpc.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.grpc.internal.types.stream.FlushFW;
@@ -100,6 +101,7 @@ public final class GrpcServerFactory implements GrpcStreamFactory
     private static final String16FW HEADER_VALUE_GRPC_ABORTED = new String16FW("10");
     private static final String16FW HEADER_VALUE_GRPC_UNIMPLEMENTED = new String16FW("12");
     private static final String16FW HEADER_VALUE_GRPC_INTERNAL_ERROR = new String16FW("13");
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
@@ -610,7 +612,7 @@ public final class GrpcServerFactory implements GrpcStreamFactory
             final long authorization = window.authorization();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -1027,7 +1029,7 @@ public final class GrpcServerFactory implements GrpcStreamFactory
             final long authorization = window.authorization();
             final int maximum = window.maximum();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= grpcInitialSeq;
@@ -34,6 +34,7 @@ import io.aklivity.zilla.runtime.binding.http.filesystem.internal.types.String16
 import io.aklivity.zilla.runtime.binding.http.filesystem.internal.types.String8FW;
 import io.aklivity.zilla.runtime.binding.http.filesystem.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.http.filesystem.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.http.filesystem.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.http.filesystem.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.http.filesystem.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.http.filesystem.internal.types.stream.ExtensionFW;
@@ -51,6 +52,7 @@ public final class HttpFileSystemProxyFactory implements HttpFileSystemStreamFac
 {
     private static final String HTTP_TYPE_NAME = "http";
     private static final String FILE_SYSTEM_TYPE_NAME = "filesystem";
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final String8FW HEADER_STATUS_NAME = new String8FW(":status");
     private static final String16FW HEADER_STATUS_VALUE_200 = new String16FW("200");
@@ -382,7 +384,7 @@ public final class HttpFileSystemProxyFactory implements HttpFileSystemStreamFac
             final long authorization = window.authorization();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -773,7 +775,7 @@ public final class HttpFileSystemProxyFactory implements HttpFileSystemStreamFac
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
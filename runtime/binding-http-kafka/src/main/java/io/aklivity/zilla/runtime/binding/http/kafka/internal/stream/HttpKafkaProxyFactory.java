@@ -41,6 +41,7 @@ import io.aklivity.zilla.runtime.binding.http.kafka.internal.types.String16FW;
 import io.aklivity.zilla.runtime.binding.http.kafka.internal.types.String8FW;
 import io.aklivity.zilla.runtime.binding.http.kafka.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.http.kafka.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.http.kafka.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.http.kafka.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.http.kafka.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.http.kafka.internal.types.stream.ExtensionFW;
@@ -63,6 +64,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
 {
     private static final String HTTP_TYPE_NAME = "http";
     private static final String KAFKA_TYPE_NAME = "kafka";
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final int DATA_FLAG_INIT = 0x02;
     private static final int DATA_FLAG_FIN = 0x01;
@@ -565,7 +567,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long authorization = window.authorization();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -1065,7 +1067,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long authorization = window.authorization();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -1621,7 +1623,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -1924,7 +1926,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -2371,7 +2373,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -2799,7 +2801,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -3055,7 +3057,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -3578,7 +3580,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert maximum >= delegate.initialMax;
@@ -3884,7 +3886,7 @@ public final class HttpKafkaProxyFactory implements HttpKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
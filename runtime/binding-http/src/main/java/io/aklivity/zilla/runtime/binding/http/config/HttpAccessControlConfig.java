@@ -237,10 +237,8 @@ public final class HttpAccessControlConfig
         Map<String, String> headers)
     {
         String origin = headers.get("origin");
-        String scheme = headers.get(":scheme");
-        String authority = headers.get(":authority");
 
-        return origin != null && matchesSameOrigin(origin, scheme, authority);
+        return origin != null && matchesSameOrigin(origin, headers.get(":scheme"), headers.get(":authority"));
     }
 
     private boolean matchesSameOrigin(
@@ -51,7 +51,7 @@ import io.aklivity.zilla.runtime.engine.model.ValidatorHandler;
 
 public final class HttpBindingConfig
 {
-    private static final Function<Function<String, String>, String> DEFAULT_CREDENTIALS = f -> null;
+    private static final Function<Function<String, ? extends CharSequence>, String> DEFAULT_CREDENTIALS = f -> null;
     private static final SortedSet<HttpVersion> DEFAULT_VERSIONS = new TreeSet<>(allOf(HttpVersion.class));
     private static final HttpAccessControlConfig DEFAULT_ACCESS_CONTROL =
             HttpAccessControlConfig.builder().policy(SAME_ORIGIN).build();
@@ -67,9 +67,11 @@ public final class HttpBindingConfig
     public final KindConfig kind;
     public final List<HttpRouteConfig> routes;
     public final ToLongFunction<String> resolveId;
-    public final Function<Function<String, String>, String> credentials;
+    public final Function<Function<String, ? extends CharSequence>, String> credentials;
     public final List<HttpRequestType> requests;
 
+    private final HttpRouteTrie routeTrie;
+
     public HttpBindingConfig(
         BindingConfig binding,
         Function<ModelConfig, ValidatorHandler> supplyValidator)
@@ -79,6 +81,7 @@ public final class HttpBindingConfig
         this.kind = binding.kind;
         this.options = HttpOptionsConfig.class.cast(binding.options);
         this.routes = binding.routes.stream().map(HttpRouteConfig::new).collect(toList());
+        this.routeTrie = new HttpRouteTrie(routes);
         this.resolveId = binding.resolveId;
         this.credentials = options != null && options.authorization != null ?
                 asAccessor(options.authorization.credentials) : DEFAULT_CREDENTIALS;
@@ -87,12 +90,9 @@ public final class HttpBindingConfig
 
     public HttpRouteConfig resolve(
         long authorization,
-        Function<String, String> headerByName)
+        Function<String, ? extends CharSequence> headerByName)
     {
-        return routes.stream()
-            .filter(r -> r.authorized(authorization) && r.matches(headerByName))
-            .findFirst()
-            .orElse(null);
+        return routeTrie.resolve(authorization, headerByName);
     }
 
     public SortedSet<HttpVersion>  versions()
@@ -105,15 +105,15 @@ public final class HttpBindingConfig
         return options != null && options.access != null ? options.access : DEFAULT_ACCESS_CONTROL;
     }
 
-    public Function<Function<String, String>, String> credentials()
+    public Function<Function<String, ? extends CharSequence>, String> credentials()
     {
         return credentials;
     }
 
-    private Function<Function<String, String>, String> asAccessor(
+    private Function<Function<String, ? extends CharSequence>, String> asAccessor(
             HttpCredentialsConfig credentials)
     {
-        Function<Function<String, String>, String> accessor = DEFAULT_CREDENTIALS;
+        Function<Function<String, ? extends CharSequence>, String> accessor = DEFAULT_CREDENTIALS;
         List<HttpPatternConfig> headers = credentials.headers;
         List<HttpPatternConfig> parameters = credentials.parameters;
         List<HttpPatternConfig> cookies = credentials.cookies;
@@ -132,7 +132,7 @@ public final class HttpBindingConfig
 
             accessor = orElseIfNull(accessor, hs ->
             {
-                String cookie = hs.apply("cookie");
+                CharSequence cookie = hs.apply("cookie");
                 return cookie != null && cookieMatch.reset(cookie).find()
                         ? cookieMatch.group("credentials")
                         : null;
@@ -149,7 +149,7 @@ public final class HttpBindingConfig
 
             accessor = orElseIfNull(accessor, hs ->
             {
-                String header = hs.apply(headerName);
+                CharSequence header = hs.apply(headerName);
                 String result = null;
                 if (header != null && headerMatch.reset(header).matches())
                 {
@@ -173,7 +173,7 @@ public final class HttpBindingConfig
 
             accessor = orElseIfNull(accessor, hs ->
             {
-                String pathWithQuery = hs.apply(":path");
+                CharSequence pathWithQuery = hs.apply(":path");
                 String result = null;
                 if (pathWithQuery != null && parametersMatch.reset(pathWithQuery).find())
                 {
@@ -339,9 +339,9 @@ public final class HttpBindingConfig
         return contentType == null || response.contentType == null || response.contentType.contains(contentType);
     }
 
-    private static Function<Function<String, String>, String> orElseIfNull(
-            Function<Function<String, String>, String> first,
-            Function<Function<String, String>, String> second)
+    private static Function<Function<String, ? extends CharSequence>, String> orElseIfNull(
+            Function<Function<String, ? extends CharSequence>, String> first,
+            Function<Function<String, ? extends CharSequence>, String> second)
     {
         return hs ->
         {
@@ -15,7 +15,6 @@
  */
 package io.aklivity.zilla.runtime.binding.http.internal.config;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -25,39 +24,53 @@ import io.aklivity.zilla.runtime.binding.http.config.HttpConditionConfig;
 
 public final class HttpConditionMatcher
 {
-    private final Map<String, Matcher> headersMatch;
+    private static final String HEADER_PATH = ":path";
+    private static final String WILDCARD_CHARS = "*?+[](){}^$|\\";
+
+    private final String[] headerNames;
+    private final Matcher[] headerMatchers;
+    private final String pathPrefix;
 
     public HttpConditionMatcher(
         HttpConditionConfig condition)
     {
-        this.headersMatch = condition.headers != null ? asMatcherMap(condition.headers) : null;
+        final Map<String, String> headers = condition.headers;
+        final int size = headers != null ? headers.size() : 0;
+
+        this.headerNames = new String[size];
+        this.headerMatchers = new Matcher[size];
+
+        int index = 0;
+        if (headers != null)
+        {
+            for (Map.Entry<String, String> entry : headers.entrySet())
+            {
+                headerNames[index] = entry.getKey();
+                headerMatchers[index] = asMatcher(entry.getKey(), entry.getValue());
+                index++;
+            }
+        }
+
+        this.pathPrefix = headers != null ? asLiteralPrefix(headers.get(HEADER_PATH)) : null;
     }
 
     public boolean matches(
-        Function<String, String> headerByName)
+        Function<String, ? extends CharSequence> headerByName)
     {
         boolean match = true;
 
-        if (headersMatch != null)
+        for (int index = 0; match && index < headerNames.length; index++)
         {
-            for (Map.Entry<String, Matcher> entry : headersMatch.entrySet())
-            {
-                String name = entry.getKey();
-                Matcher matcher = entry.getValue();
-                String value = headerByName.apply(name);
-                match &= value != null && matcher.reset(value).matches();
-            }
+            CharSequence value = headerByName.apply(headerNames[index]);
+            match = value != null && headerMatchers[index].reset(value).matches();
         }
 
         return match;
     }
 
-    private static Map<String, Matcher> asMatcherMap(
-        Map<String, String> patterns)
+    public String pathPrefix()
     {
-        Map<String, Matcher> matchers = new LinkedHashMap<>();
-        patterns.forEach((k, v) -> matchers.put(k, asMatcher(k, v)));
-        return matchers;
+        return pathPrefix;
     }
 
     private static Matcher asMatcher(
@@ -66,11 +79,29 @@ public final class HttpConditionMatcher
     {
         String pattern = wildcard.replace(".", "\\.").replace("*", ".*");
 
-        if (":path".equals(header) && !pattern.endsWith(".*"))
+        if (HEADER_PATH.equals(header) && !pattern.endsWith(".*"))
         {
             pattern = pattern + "(\\?.*)?";
         }
 
         return Pattern.compile(pattern).matcher("");
     }
+
+    private static String asLiteralPrefix(
+        String wildcard)
+    {
+        String prefix = null;
+
+        if (wildcard != null)
+        {
+            int length = 0;
+            while (length < wildcard.length() && WILDCARD_CHARS.indexOf(wildcard.charAt(length)) == -1)
+            {
+                length++;
+            }
+            prefix = wildcard.substring(0, length);
+        }
+
+        return prefix;
+    }
 }
@@ -42,15 +42,34 @@ public final class HttpRouteConfig
         this.authorized = route.authorized;
     }
 
-    boolean authorized(
+    public boolean authorized(
         long authorization)
     {
         return authorized.test(authorization);
     }
 
-    boolean matches(
-        Function<String, String> headerByName)
+    public boolean matches(
+        Function<String, ? extends CharSequence> headerByName)
     {
-        return when.isEmpty() || when.stream().anyMatch(m -> m.matches(headerByName));
+        boolean match = when.isEmpty();
+
+        for (int index = 0; !match && index < when.size(); index++)
+        {
+            match = when.get(index).matches(headerByName);
+        }
+
+        return match;
+    }
+
+    List<String> pathPrefixes()
+    {
+        List<String> prefixes = null;
+
+        if (!when.isEmpty() && when.stream().allMatch(m -> m.pathPrefix() != null))
+        {
+            prefixes = when.stream().map(HttpConditionMatcher::pathPrefix).collect(toList());
+        }
+
+        return prefixes;
     }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.http.internal.config;
+
+import java.util.List;
+import java.util.function.Function;
+
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.IntArrayList;
+
+final class HttpRouteTrie
+{
+    private static final String HEADER_PATH = ":path";
+
+    private final List<HttpRouteConfig> routes;
+    private final long[] unconditional;
+    private final long[] candidates;
+    private final Node root;
+
+    HttpRouteTrie(
+        List<HttpRouteConfig> routes)
+    {
+        this.routes = routes;
+        this.unconditional = new long[(routes.size() + Long.SIZE - 1) / Long.SIZE];
+        this.candidates = new long[unconditional.length];
+
+        Node root = null;
+        for (int index = 0; index < routes.size(); index++)
+        {
+            final List<String> prefixes = routes.get(index).pathPrefixes();
+            if (prefixes == null)
+            {
+                unconditional[index >> 6] |= 1L << index;
+            }
+            else
+            {
+                if (root == null)
+                {
+                    root = new Node();
+                }
+
+                for (String prefix : prefixes)
+                {
+                    root.supplyDescendant(prefix).routes.addInt(index);
+                }
+            }
+        }
+        this.root = root;
+    }
+
+    HttpRouteConfig resolve(
+        long authorization,
+        Function<String, ? extends CharSequence> headerByName)
+    {
+        final long[] candidates = this.candidates;
+        System.arraycopy(unconditional, 0, candidates, 0, candidates.length);
+
+        final CharSequence path = root != null ? headerByName.apply(HEADER_PATH) : null;
+        if (path != null)
+        {
+            Node node = root;
+            for (int index = 0; node != null; index++)
+            {
+                node.mark(candidates);
+                node = index < path.length() ? node.children.get(path.charAt(index)) : null;
+            }
+        }
+
+        HttpRouteConfig resolved = null;
+
+        resolve:
+        for (int word = 0; word < candidates.length; word++)
+        {
+            long bits = candidates[word];
+            while (bits != 0L)
+            {
+                final int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                final HttpRouteConfig route = routes.get(index);
+                if (route.authorized(authorization) && route.matches(headerByName))
+                {
+                    resolved = route;
+                    break resolve;
+                }
+                bits &= bits - 1L;
+            }
+        }
+
+        return resolved;
+    }
+
+    private static final class Node
+    {
+        private final Int2ObjectHashMap<Node> children = new Int2ObjectHashMap<>();
+        private final IntArrayList routes = new IntArrayList();
+
+        private Node supplyDescendant(
+            String prefix)
+        {
+            Node node = this;
+            for (int index = 0; index < prefix.length(); index++)
+            {
+                node = node.children.computeIfAbsent(prefix.charAt(index), c -> new Node());
+            }
+            return node;
+        }
+
+        private void mark(
+            long[] candidates)
+        {
+            for (int index = 0; index < routes.size(); index++)
+            {
+                final int route = routes.getInt(index);
+                candidates[route >> 6] |= 1L << route;
+            }
+        }
+    }
+}
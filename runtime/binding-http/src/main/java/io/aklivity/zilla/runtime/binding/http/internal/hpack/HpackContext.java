@@ -19,10 +19,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -118,11 +116,11 @@ public class HpackContext
 
     // name --> uniquie id (stable across evictions) for dynamic entries.
     // Used during encoding
-    private final Map<DirectBuffer, Long> name2Index = new HashMap<>();
+    private final DynamicIndex name2Index = new DynamicIndex(false);
 
     // (name, value) --> uniquie id (stable across evictions) for dynamic entries.
     // Used during encoding
-    private final Map<NameValue, Long> namevalue2Index = new HashMap<>();
+    private final DynamicIndex namevalue2Index = new DynamicIndex(true);
 
     private int maxTableSize;
 
@@ -134,6 +132,8 @@ public class HpackContext
     {
         private final DirectBuffer name;
         private final DirectBuffer value;
+        private int nameHash;
+        private int nameValueHash;
         private int size;
 
         HeaderField(String name, String value)
@@ -199,10 +199,11 @@ public class HpackContext
             {
                 long id = noEvictions + table.size();
 
-                name2Index.putIfAbsent(header.name, id);
+                header.nameHash = nameHash(header.name);
+                header.nameValueHash = nameValueHash(header.name, header.value);
 
-                NameValue nameValue = new NameValue(header.name, header.value);
-                namevalue2Index.putIfAbsent(nameValue, id);
+                name2Index.put(header.nameHash, header.name, header.value, id);
+                namevalue2Index.put(header.nameValueHash, header.name, header.value, id);
             }
             table.add(header);
             tableSize += header.size;
@@ -243,17 +244,9 @@ public class HpackContext
 
             if (encoding)
             {
-                Long id = noEvictions + i;
-                if (id.equals(name2Index.get(header.name)))
-                {
-                    name2Index.remove(header.name, id);
-
-                }
-                NameValue nameValue = new NameValue(header.name, header.value);
-                if (id.equals(namevalue2Index.get(nameValue)))
-                {
-                    namevalue2Index.remove(nameValue, id);
-                }
+                long id = noEvictions + i;
+                name2Index.remove(header.nameHash, id);
+                namevalue2Index.remove(header.nameValueHash, id);
             }
         }
 
@@ -314,8 +307,8 @@ public class HpackContext
         // If there is no entry in static table, look in dynamic table
         if (index == -1)
         {
-            Long id = name2Index.get(name);
-            index = (id != null) ? idToIndex(id) : -1;
+            long id = name2Index.get(nameHash(name), name, null);
+            index = id != -1L ? idToIndex(id) : -1;
         }
         return index;
     }
@@ -334,8 +327,8 @@ public class HpackContext
         // If there is no entry in static table, look in dynamic table
         if (index == -1)
         {
-            Long id = namevalue2Index.get(new NameValue(name, value));
-            return (id != null) ? idToIndex(id) : -1;
+            long id = namevalue2Index.get(nameValueHash(name, value), name, value);
+            return id != -1L ? idToIndex(id) : -1;
         }
         return index;
     }
@@ -346,34 +339,170 @@ public class HpackContext
 
     }
 
-    private static final class NameValue
+    private static int nameHash(
+        DirectBuffer name)
     {
-        private final DirectBuffer name;
-        private final DirectBuffer value;
-        private final int hash;
+        return mix(hash(name, 1));
+    }
+
+    private static int nameValueHash(
+        DirectBuffer name,
+        DirectBuffer value)
+    {
+        return mix(hash(value, hash(name, 1)));
+    }
+
+    private static int hash(
+        DirectBuffer buffer,
+        int hash)
+    {
+        for (int i = 0; i < buffer.capacity(); i++)
+        {
+            hash = 31 * hash + buffer.getByte(i);
+        }
+        return hash;
+    }
+
+    private static int mix(
+        int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+
+    // Open addressing (linear probing) index from header hash to unique id of the
+    // newest matching dynamic entry, keys are compared against the dynamic table itself.
+    // Entries are evicted oldest first, so the newest match outlives any older duplicate
+    private final class DynamicIndex
+    {
+        private static final long NO_ID = -1L;
+
+        private final boolean matchValue;
+
+        private int[] hashes;
+        private long[] ids;
+        private int mask;
+        private int size;
+
+        DynamicIndex(
+            boolean matchValue)
+        {
+            this.matchValue = matchValue;
+            this.hashes = new int[16];
+            this.ids = new long[16];
+            this.mask = 15;
+            Arrays.fill(ids, NO_ID);
+        }
+
+        long get(
+            int hash,
+            DirectBuffer name,
+            DirectBuffer value)
+        {
+            long id = NO_ID;
+
+            for (int slot = hash & mask; ids[slot] != NO_ID; slot = (slot + 1) & mask)
+            {
+                if (hashes[slot] == hash && matches(ids[slot], name, value))
+                {
+                    id = ids[slot];
+                    break;
+                }
+            }
+
+            return id;
+        }
+
+        void put(
+            int hash,
+            DirectBuffer name,
+            DirectBuffer value,
+            long id)
+        {
+            int slot = hash & mask;
+            while (ids[slot] != NO_ID && !(hashes[slot] == hash && matches(ids[slot], name, value)))
+            {
+                slot = (slot + 1) & mask;
+            }
+
+            if (ids[slot] == NO_ID)
+            {
+                hashes[slot] = hash;
+                size++;
+            }
+            ids[slot] = id;
+
+            if (size << 1 > mask)
+            {
+                resize();
+            }
+        }
+
+        void remove(
+            int hash,
+            long id)
+        {
+            for (int slot = hash & mask; ids[slot] != NO_ID; slot = (slot + 1) & mask)
+            {
+                if (ids[slot] == id)
+                {
+                    delete(slot);
+                    break;
+                }
+            }
+        }
 
-        NameValue(DirectBuffer name, DirectBuffer value)
+        private boolean matches(
+            long id,
+            DirectBuffer name,
+            DirectBuffer value)
         {
-            this.name = name;
-            this.value = value;
-            this.hash = Objects.hash(name, value);
+            final HeaderField header = table.get((int) (id - noEvictions));
+            return header.name.equals(name) && (!matchValue || header.value.equals(value));
         }
 
-        @Override
-        public boolean equals(Object obj)
+        // Backward shift deletion keeps probe sequences intact without tombstones
+        private void delete(
+            int slot)
         {
-            if (obj instanceof NameValue)
+            int gap = slot;
+            for (int next = (gap + 1) & mask; ids[next] != NO_ID; next = (next + 1) & mask)
             {
-                NameValue other = (NameValue) obj;
-                return Objects.equals(name, other.name) && Objects.equals(value, other.value);
+                final int ideal = hashes[next] & mask;
+                if (((next - ideal) & mask) >= ((next - gap) & mask))
+                {
+                    hashes[gap] = hashes[next];
+                    ids[gap] = ids[next];
+                    gap = next;
+                }
             }
-            return false;
+            ids[gap] = NO_ID;
+            size--;
         }
 
-        @Override
-        public int hashCode()
+        private void resize()
         {
-            return hash;
+            final int[] oldHashes = hashes;
+            final long[] oldIds = ids;
+            final int capacity = oldIds.length << 1;
+
+            hashes = new int[capacity];
+            ids = new long[capacity];
+            mask = capacity - 1;
+            Arrays.fill(ids, NO_ID);
+
+            for (int i = 0; i < oldIds.length; i++)
+            {
+                if (oldIds[i] != NO_ID)
+                {
+                    int slot = oldHashes[i] & mask;
+                    while (ids[slot] != NO_ID)
+                    {
+                        slot = (slot + 1) & mask;
+                    }
+                    hashes[slot] = oldHashes[i];
+                    ids[slot] = oldIds[i];
+                }
+            }
         }
     }
 
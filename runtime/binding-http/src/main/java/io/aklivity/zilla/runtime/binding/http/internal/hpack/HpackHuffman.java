@@ -17,6 +17,8 @@ package io.aklivity.zilla.runtime.binding.http.internal.hpack;
 
 import static java.nio.ByteOrder.BIG_ENDIAN;
 
+import java.util.Arrays;
+
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 
@@ -289,38 +291,34 @@ public final class HpackHuffman
         /*EOS (256)  |11111111|11111111|11111111|111111   */  {0x3fffffff, 30},
     };
 
-    private static final Node ROOT;
+    // Decoding state machine, one state per internal node of the code tree and
+    // 256 transitions per state, one for each possible input byte. Each transition
+    // packs the next state with up to two symbols emitted while consuming the byte.
+    private static final int STATE_BITS = 9;
+    private static final int STATE_MASK = (1 << STATE_BITS) - 1;
+    private static final int SYMBOLS_SHIFT = STATE_BITS;
+    private static final int SYMBOL0_SHIFT = SYMBOLS_SHIFT + 2;
+    private static final int SYMBOL1_SHIFT = SYMBOL0_SHIFT + 8;
+    private static final int TRANSITION_INVALID = -1;
 
-    private static final class Node
-    {
-        int symbol;
-        Node left;
-        Node right;
-        Node[] transitions;     // node x byte --> node (256 transitions for byte)
-        String[] symbols;       // node x byte --> symbols (max 2 per transition)
-        boolean accept;         // valid huffman node
-
-        Node()
-        {
-            this.symbol = -1;
-            this.transitions = new Node[256];
-            this.symbols = new String[256];
-        }
-
-        @Override
-        public String toString()
-        {
-            return "node[sym=" + (char) symbol + "]";
-        }
-    }
+    private static final int[] TRANSITIONS;
+    private static final boolean[] ACCEPTS;
 
     static
     {
-        ROOT = new Node();
-
+        // code tree nodes, 257 leaves need 256 internal nodes
+        final int maxNodes = CODES.length << 1;
+        final int[] lefts = new int[maxNodes];
+        final int[] rights = new int[maxNodes];
+        final int[] symbols = new int[maxNodes];
+        final int[] states = new int[maxNodes];
+        Arrays.fill(symbols, -1);
+        Arrays.fill(states, -1);
+
+        int nodes = 1;
         for (int sym = 0; sym < CODES.length; sym++)
         {
-            Node current = ROOT;
+            int current = 0;
 
             int code = CODES[sym][0];
             int len = CODES[sym][1];
@@ -328,128 +326,78 @@ public final class HpackHuffman
             for (int i = len - 1; i >= 0; i--)
             {
                 int bit = (code >>> i) & 0x01;        // Using MSB to traverse
-                if (bit == 0)
-                {
-                    if (current.left == null)
-                    {
-                        current.left = new Node();
-                    }
-                    current = current.left;
-                }
-                else
+                int[] children = bit == 0 ? lefts : rights;
+                if (children[current] == 0)
                 {
-                    if (current.right == null)
-                    {
-                        current.right = new Node();
-                    }
-                    current = current.right;
+                    children[current] = nodes++;
                 }
+                current = children[current];
             }
-            current.symbol = sym;
-            current.accept = sym != CODES.length - 1;     // EOS is invalid in string literal
+            symbols[current] = sym;
         }
 
-        transition(ROOT);
-
-        ROOT.accept = true;
-        ROOT.right.accept = true;                                       // 1 padding EOS bit
-        ROOT.right.right.accept = true;                                 // 11 padding EOS bits
-        ROOT.right.right.right.accept = true;                           // 111 padding EOS bits
-        ROOT.right.right.right.right.accept = true;                     // 1111 padding EOS bits
-        ROOT.right.right.right.right.right.accept = true;               // 11111 padding EOS bits
-        ROOT.right.right.right.right.right.right.accept = true;         // 111111 padding EOS bits
-        ROOT.right.right.right.right.right.right.right.accept = true;   // 1111111 padding EOS bits
-    }
+        int stateCount = 0;
+        for (int node = 0; node < nodes; node++)
+        {
+            if (symbols[node] == -1)
+            {
+                states[node] = stateCount++;
+            }
+        }
 
-    // Build all 256 Node x byte transitions
-    private static void transition(Node node)
-    {
-        if (node == null)
+        final int[] transitions = new int[stateCount << 8];
+        for (int node = 0; node < nodes; node++)
         {
-            return;
+            if (states[node] != -1)
+            {
+                for (int b = 0; b < 256; b++)
+                {
+                    transitions[(states[node] << 8) | b] = transition(lefts, rights, symbols, states, node, b);
+                }
+            }
         }
-        for (int i = 0; i < 256; i++)
+
+        final boolean[] accepts = new boolean[stateCount];
+        for (int node = 0, bits = 0; bits < 8; node = rights[node], bits++)
         {
-            transition(node, i);
+            accepts[states[node]] = true;                   // up to 7 padding EOS bits
         }
-        transition(node.left);
-        transition(node.right);
+
+        TRANSITIONS = transitions;
+        ACCEPTS = accepts;
     }
 
-    // Build one Node x byte transition
-    private static void transition(Node node, int b)
+    // Build one state x byte transition
+    private static int transition(
+        int[] lefts,
+        int[] rights,
+        int[] symbols,
+        int[] states,
+        int node,
+        int b)
     {
-        Node cur = node;
-        String str = node.symbols[b];
+        int cur = node;
+        int count = 0;
+        int emitted = 0;
 
         for (int i = 7; i >= 0; i--)
         {
             int bit = (b >>> i) & 0x01;           // Using MSB to traverse
-            cur = bit == 0 ? cur.left : cur.right;
-            if (cur == null || cur.symbol == 256)      // EOS is invalid in sequence
+            cur = bit == 0 ? lefts[cur] : rights[cur];
+            if (cur == 0 || symbols[cur] == 256)        // EOS is invalid in sequence
             {
-                return;
+                return TRANSITION_INVALID;
             }
-            if (cur.symbol != -1)                      // Can have two symbols in a byte traversal
+            if (symbols[cur] != -1)                    // Can have two symbols in a byte traversal
             {
-                str = (str == null) ? "" + (char) cur.symbol : str + (char) cur.symbol;
-                cur = ROOT;
+                emitted |= symbols[cur] << (count << 3);
+                count++;
+                cur = 0;
             }
         }
-        node.transitions[b] = cur;
-        node.symbols[b] = str;
-    }
-
-    /*
-    // Searches the huffman tree for a code
-    private static int search(Node node, int code, int length) {
-
-        for(int i=length-1; i >= 0; i--) {
-            int bit = ((code >>> i) & 0x01);
-            if (bit == 0) {
-                node = node.left;
-            } else {
-                node = node.right;
-            }
-            if (node == null) {
-                throw new RuntimeException("Not there");
-            }
-        }
-
-        return node.sym;
-    }
-
 
-    // Decodes by traversing huffman tree by single bits
-    public static void decode(Node root, DirectBuffer buf, int offset, int length) {
-        StringBuilder sb = new StringBuilder();
-
-        Node cur = root;
-        for (int k = 0; k < length; k++) {
-
-            byte b = buf.getByte(offset + k);
-
-            for (int i = 7; i >= 0; i--) {
-                int bit = ((b >>> i) & 0x01);
-                System.out.print(bit+" ");
-                if (bit == 0) {
-                    cur = cur.left;
-                } else {
-                    cur = cur.right;
-                }
-                if (cur == null) {
-                    throw new RuntimeException("Not there, but parsed until " + sb.toString());
-                }
-                if (cur.sym != -1) {
-                    sb.append((char)cur.sym);
-                    cur = root;
-                }
-            }
-            System.out.println();
-        }
-        System.out.println(sb.toString());
+        return states[cur] | count << SYMBOLS_SHIFT | emitted << SYMBOL0_SHIFT;
     }
-    */
 
     /*
      * Based on "Fast Prefix Code Processing (by Renato Pajarola)" paper. It
@@ -465,29 +413,34 @@ public final class HpackHuffman
      */
     public static int decode(DirectBuffer src, MutableDirectBuffer dst)
     {
-        Node current = ROOT;
+        final int[] transitions = TRANSITIONS;
+        final int length = src.capacity();
+        final int limit = dst.capacity();
+
+        int state = 0;
         int offset = 0;
-        int limit = dst.capacity();
 
-        for (int i = 0; i < src.capacity() && offset < limit; i++)
+        for (int i = 0; i < length && offset < limit; i++)
         {
-            int b = src.getByte(i) & 0xff;
-            Node next = current.transitions[b];
-            if (next == null)
+            int transition = transitions[(state << 8) | (src.getByte(i) & 0xff)];
+            if (transition == TRANSITION_INVALID)
             {
                 return -1;
             }
-            if (current.symbols[b] != null)
+
+            int count = (transition >>> SYMBOLS_SHIFT) & 0x03;
+            if (count != 0)
             {
-                dst.putByte(offset++, (byte) current.symbols[b].charAt(0));
-                if (current.symbols[b].length() == 2 && offset < limit)
+                dst.putByte(offset++, (byte) (transition >>> SYMBOL0_SHIFT));
+                if (count == 2 && offset < limit)
                 {
-                    dst.putByte(offset++, (byte) current.symbols[b].charAt(1));
+                    dst.putByte(offset++, (byte) (transition >>> SYMBOL1_SHIFT));
                 }
             }
-            current = next;
+            state = transition & STATE_MASK;
         }
-        return current.accept && offset < limit ? offset : -1;
+
+        return ACCEPTS[state] && offset < limit ? offset : -1;
     }
 
     // Returns the no of bytes needed to encode src
@@ -5281,6 +5281,10 @@ public final class HttpClientFactory implements HttpStreamFactory
 
         private final Consumer<HpackHeaderFieldFW> decodeHeader;
         private final Consumer<HpackHeaderFieldFW> decodeTrailer;
+        private final MutableDirectBuffer nameBuffer = new UnsafeBuffer(new byte[4096]); // TODO
+        private final MutableDirectBuffer valueBuffer = new UnsafeBuffer(new byte[4096]); // TODO
+        private final DirectBuffer nameRO = new UnsafeBuffer(new byte[0]);
+        private final DirectBuffer valueRO = new UnsafeBuffer(new byte[0]);
 
 
         Http2ErrorCode connectionError;
@@ -5526,14 +5530,14 @@ public final class HttpClientFactory implements HttpStreamFactory
                     value = hpackValue.payload();
                     if (hpackValue.huffman())
                     {
-                        MutableDirectBuffer dst = new UnsafeBuffer(new byte[4096]); // TODO
-                        int length = HpackHuffman.decode(value, dst);
+                        int length = HpackHuffman.decode(value, valueBuffer);
                         if (length == -1)
                         {
                             connectionError = Http2ErrorCode.COMPRESSION_ERROR;
                             return;
                         }
-                        value = new UnsafeBuffer(dst, 0, length);
+                        valueRO.wrap(valueBuffer, 0, length);
+                        value = valueRO;
                     }
                     nameValue.accept(name, value);
                     break;
@@ -5542,27 +5546,27 @@ public final class HttpClientFactory implements HttpStreamFactory
                     name = hpackName.payload();
                     if (hpackName.huffman())
                     {
-                        MutableDirectBuffer dst = new UnsafeBuffer(new byte[4096]); // TODO
-                        int length = HpackHuffman.decode(name, dst);
+                        int length = HpackHuffman.decode(name, nameBuffer);
                         if (length == -1)
                         {
                             connectionError = Http2ErrorCode.COMPRESSION_ERROR;
                             return;
                         }
-                        name = new UnsafeBuffer(dst, 0, length);
+                        nameRO.wrap(nameBuffer, 0, length);
+                        name = nameRO;
                     }
 
                     value = hpackValue.payload();
                     if (hpackValue.huffman())
                     {
-                        MutableDirectBuffer dst = new UnsafeBuffer(new byte[4096]); // TODO
-                        int length = HpackHuffman.decode(value, dst);
+                        int length = HpackHuffman.decode(value, valueBuffer);
                         if (length == -1)
                         {
                             connectionError = Http2ErrorCode.COMPRESSION_ERROR;
                             return;
                         }
-                        value = new UnsafeBuffer(dst, 0, length);
+                        valueRO.wrap(valueBuffer, 0, length);
+                        value = valueRO;
                     }
                     nameValue.accept(name, value);
                     break;
@@ -50,10 +50,8 @@ import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.function.BiConsumer;
@@ -132,6 +130,7 @@ import io.aklivity.zilla.runtime.binding.http.internal.types.stream.ProxyBeginEx
 import io.aklivity.zilla.runtime.binding.http.internal.types.stream.ResetFW;
 import io.aklivity.zilla.runtime.binding.http.internal.types.stream.SignalFW;
 import io.aklivity.zilla.runtime.binding.http.internal.types.stream.WindowFW;
+import io.aklivity.zilla.runtime.binding.http.internal.util.HttpHeaderMap;
 import io.aklivity.zilla.runtime.binding.http.internal.util.HttpUtil;
 import io.aklivity.zilla.runtime.engine.EngineContext;
 import io.aklivity.zilla.runtime.engine.binding.BindingHandler;
@@ -160,6 +159,7 @@ public final class HttpServerFactory implements HttpStreamFactory
     private static final long NO_REQUEST_ID = -1;
 
     private static final int CAPABILITY_CHALLENGE_MASK = 1 << Capability.CHALLENGE.ordinal();
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final DirectBuffer EMPTY_BUFFER = new UnsafeBuffer(new byte[0]);
     private static final OctetsFW EMPTY_OCTETS = new OctetsFW().wrap(EMPTY_BUFFER, 0, 0);
@@ -437,6 +437,8 @@ public final class HttpServerFactory implements HttpStreamFactory
     private final HttpBeginExFW.Builder newBeginExRW = new HttpBeginExFW.Builder();
     private final HttpEndExFW.Builder endExRW = new HttpEndExFW.Builder();
 
+    private final HttpHeaderMap headersMap = new HttpHeaderMap();
+
     private final WindowFW windowRO = new WindowFW();
     private final ResetFW resetRO = new ResetFW();
     private final SignalFW signalRO = new SignalFW();
@@ -1026,8 +1028,10 @@ public final class HttpServerFactory implements HttpStreamFactory
             {
                 HttpBeginExFW beginEx = httpBeginEx.build();
 
-                final Map<String, String> headers = new LinkedHashMap<>();
-                beginEx.headers().forEach(h -> headers.put(h.name().asString().toLowerCase(), h.value().asString()));
+                final HttpHeaderMap headers = headersMap;
+                headers.clear();
+                beginEx.headers().forEach(h -> headers.put(h.name().value(), 0, h.name().length(),
+                                                            h.value().value(), 0, h.value().length()));
 
                 if (isCorsPreflightRequest(headers))
                 {
@@ -1044,11 +1048,11 @@ public final class HttpServerFactory implements HttpStreamFactory
                     HttpBindingConfig binding = server.binding;
                     GuardHandler guard = server.guard;
 
-                    if (CHALLENGE_RESPONSE_METHOD.equals(headers.get(HEADER_NAME_METHOD)) &&
-                        CHALLENGE_RESPONSE_CONTENT_TYPE.equals(headers.get(HEADER_NAME_CONTENT_TYPE)) &&
-                        CHALLENGE_RESPONSE_CONTENT_LENGTH.equals(headers.get(HEADER_NAME_CONTENT_LENGTH)))
+                    if (headers.valueEquals(HEADER_NAME_METHOD, CHALLENGE_RESPONSE_METHOD) &&
+                        headers.valueEquals(HEADER_NAME_CONTENT_TYPE, CHALLENGE_RESPONSE_CONTENT_TYPE) &&
+                        headers.valueEquals(HEADER_NAME_CONTENT_LENGTH, CHALLENGE_RESPONSE_CONTENT_LENGTH))
                     {
-                        final String credentialsMatch = server.credentials.apply(headers::get);
+                        final String credentialsMatch = server.credentials.apply(headers::value);
                         if (credentialsMatch != null)
                         {
                             guard.reauthorize(traceId, server.routedId, server.initialId, credentialsMatch);
@@ -1062,23 +1066,25 @@ public final class HttpServerFactory implements HttpStreamFactory
 
                         if (guard != null)
                         {
-                            credentialsMatch = server.credentials.apply(headers::get);
+                            credentialsMatch = server.credentials.apply(headers::value);
                             if (credentialsMatch != null)
                             {
                                 exchangeAuth = guard.reauthorize(traceId, server.routedId, server.initialId, credentialsMatch);
                             }
                         }
 
-                        HttpRouteConfig route = binding.resolve(exchangeAuth, headers::get);
+                        HttpRouteConfig route = binding.resolve(exchangeAuth, headers::value);
                         if (route != null)
                         {
                             if (binding.options != null && binding.options.overrides != null)
                             {
-                                binding.options.overrides.forEach((k, v) -> headers.put(k.asString(), v.asString()));
+                                binding.options.overrides.forEach((k, v) ->
+                                    headers.put(k.value(), 0, k.length(), v.value(), 0, v.length()));
 
                                 final HttpBeginExFW.Builder newBeginEx = newBeginExRW.wrap(codecBuffer, 0, codecBuffer.capacity())
                                                                                      .typeId(httpTypeId);
-                                headers.forEach((k, v) -> newBeginEx.headersItem(i -> i.name(k).value(v)));
+                                headers.forEachHeader((b, no, nl, vo, vl) ->
+                                    newBeginEx.headersItem(i -> i.name(b, no, nl).value(b, vo, vl)));
                                 beginEx = newBeginEx.build();
                             }
 
@@ -1119,7 +1125,7 @@ public final class HttpServerFactory implements HttpStreamFactory
 
     private boolean isCorsRequestAllowed(
         HttpBindingConfig binding,
-        Map<String, String> headers)
+        HttpHeaderMap headers)
     {
         return !headers.containsKey(HEADER_NAME_ORIGIN) ||
                binding.access().allowRequest(headers);
@@ -1566,7 +1572,7 @@ public final class HttpServerFactory implements HttpStreamFactory
         private final long affinity;
         private final boolean upgrade;
         private final GuardHandler guard;
-        private final Function<Function<String, String>, String> credentials;
+        private final Function<Function<String, ? extends CharSequence>, String> credentials;
 
         private int replyPad;
         private boolean replyCloseOnFlush;
@@ -2193,7 +2199,7 @@ public final class HttpServerFactory implements HttpStreamFactory
         private void onDecodeCorsPreflight(
             long traceId,
             long authorization,
-            Map<String, String> headers)
+            HttpHeaderMap headers)
         {
             final HttpAccessControlConfig access = binding.access();
 
@@ -2958,7 +2964,7 @@ public final class HttpServerFactory implements HttpStreamFactory
                 final long budgetId = window.budgetId();
                 final int maximum = window.maximum();
                 final int padding = window.padding();
-                final int capabilities = window.capabilities();
+                final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
                 if (requestState == HttpExchangeState.PENDING)
                 {
@@ -3838,7 +3844,7 @@ public final class HttpServerFactory implements HttpStreamFactory
         private final long affinity;
         private final long budgetId;
         private final GuardHandler guard;
-        private final Function<Function<String, String>, String> credentials;
+        private final Function<Function<String, ? extends CharSequence>, String> credentials;
 
         private long initialSeq;
         private long initialAck;
@@ -4941,7 +4947,7 @@ public final class HttpServerFactory implements HttpStreamFactory
             }
             else
             {
-                final Map<String, String> headers = headersDecoder.headers;
+                final HttpHeaderMap headers = headersDecoder.headers;
                 event.requestAccepted(traceId, routedId, guard, authorization, headers);
                 if (isCorsPreflightRequest(headers))
                 {
@@ -4960,19 +4966,19 @@ public final class HttpServerFactory implements HttpStreamFactory
                 }
                 else
                 {
-                    final String authority = headers.get(HEADER_NAME_AUTHORITY);
-                    if (authority != null && authority.indexOf(':') == -1)
+                    if (headers.containsKey(HEADER_NAME_AUTHORITY) &&
+                        !headers.valueContains(HEADER_NAME_AUTHORITY, (byte) ':'))
                     {
-                        String scheme = headers.get(HEADER_NAME_SCHEME);
-                        String defaultPort = "https".equals(scheme) ? ":443" : ":80";
+                        final String authority = headers.get(HEADER_NAME_AUTHORITY);
+                        final String defaultPort = headers.valueEquals(HEADER_NAME_SCHEME, "https") ? ":443" : ":80";
                         headers.put(HEADER_NAME_AUTHORITY, authority + defaultPort);
                     }
 
-                    if (CHALLENGE_RESPONSE_METHOD.equals(headers.get(HEADER_NAME_METHOD)) &&
-                        CHALLENGE_RESPONSE_CONTENT_TYPE.equals(headers.get(HEADER_NAME_CONTENT_TYPE)) &&
+                    if (headers.valueEquals(HEADER_NAME_METHOD, CHALLENGE_RESPONSE_METHOD) &&
+                        headers.valueEquals(HEADER_NAME_CONTENT_TYPE, CHALLENGE_RESPONSE_CONTENT_TYPE) &&
                         endRequest)
                     {
-                        final String credentialsMatch = credentials.apply(headers::get);
+                        final String credentialsMatch = credentials.apply(headers::value);
                         if (credentialsMatch != null)
                         {
                             guard.reauthorize(traceId, routedId, initialId, credentialsMatch);
@@ -4986,14 +4992,14 @@ public final class HttpServerFactory implements HttpStreamFactory
 
                         if (guard != null)
                         {
-                            credentialsMatch = credentials.apply(headers::get);
+                            credentialsMatch = credentials.apply(headers::value);
                             if (credentialsMatch != null)
                             {
                                 exchangeAuth = guard.reauthorize(traceId, routedId, initialId, credentialsMatch);
                             }
                         }
 
-                        final HttpRouteConfig route = binding.resolve(exchangeAuth, headers::get);
+                        final HttpRouteConfig route = binding.resolve(exchangeAuth, headers::value);
                         if (route == null)
                         {
                             Array32FW<HttpHeaderFW> headers40x =
@@ -5013,12 +5019,14 @@ public final class HttpServerFactory implements HttpStreamFactory
 
                             if (binding.options != null && binding.options.overrides != null)
                             {
-                                binding.options.overrides.forEach((k, v) -> headers.put(k.asString(), v.asString()));
+                                binding.options.overrides.forEach((k, v) ->
+                                    headers.put(k.value(), 0, k.length(), v.value(), 0, v.length()));
                             }
 
                             final HttpBeginExFW beginEx = beginExRW.wrap(extBuffer, 0, extBuffer.capacity())
                                     .typeId(httpTypeId)
-                                    .headers(hs -> headers.forEach((n, v) -> hs.item(h -> h.name(n).value(v))))
+                                    .headers(hs -> headers.forEachHeader((b, no, nl, vo, vl) ->
+                                        hs.item(h -> h.name(b, no, nl).value(b, vo, vl))))
                                     .build();
 
                             HttpRequestType requestType = binding.resolveRequestType(beginEx);
@@ -5049,7 +5057,7 @@ public final class HttpServerFactory implements HttpStreamFactory
             long traceId,
             long authorization,
             int streamId,
-            Map<String, String> headers)
+            HttpHeaderMap headers)
         {
             final HttpAccessControlConfig access = binding.access();
 
@@ -5195,10 +5203,11 @@ public final class HttpServerFactory implements HttpStreamFactory
                 }
                 else
                 {
-                    final Map<String, String> trailers = headersDecoder.headers;
+                    final HttpHeaderMap trailers = headersDecoder.headers;
                     final HttpEndExFW endEx = endExRW.wrap(extBuffer, 0, extBuffer.capacity())
                             .typeId(httpTypeId)
-                            .trailers(ts -> trailers.forEach((n, v) -> ts.item(t -> t.name(n).value(v))))
+                            .trailers(ts -> trailers.forEachHeader((b, no, nl, vo, vl) ->
+                                ts.item(t -> t.name(b, no, nl).value(b, vo, vl))))
                             .build();
 
                     exchange.doRequestEnd(traceId, endEx);
@@ -5357,21 +5366,21 @@ public final class HttpServerFactory implements HttpStreamFactory
             int streamId,
             Array32FW<HttpHeaderFW> promise)
         {
-            final Map<String, String> headers = headersDecoder.headers;
+            final HttpHeaderMap headers = headersDecoder.headers;
             headers.clear();
-            promise.forEach(h -> headers.put(h.name().asString(), h.value().asString()));
+            promise.forEach(h -> headers.put(h.name().value(), 0, h.name().length(), h.value().value(), 0, h.value().length()));
 
             long exchangeAuth = authorization;
             if (guard != null)
             {
-                final String credentialsMatch = credentials.apply(headers::get);
+                final String credentialsMatch = credentials.apply(headers::value);
                 if (credentialsMatch != null)
                 {
                     exchangeAuth = guard.reauthorize(traceId, routedId, initialId, credentialsMatch);
                 }
             }
 
-            final HttpRouteConfig route = binding.resolve(exchangeAuth, headers::get);
+            final HttpRouteConfig route = binding.resolve(exchangeAuth, headers::value);
             if (route != null)
             {
                 final int pushId =
@@ -5393,7 +5402,8 @@ public final class HttpServerFactory implements HttpStreamFactory
                 {
                     if (binding.options != null && binding.options.overrides != null)
                     {
-                        binding.options.overrides.forEach((k, v) -> headers.put(k.asString(), v.asString()));
+                        binding.options.overrides.forEach((k, v) ->
+                            headers.put(k.value(), 0, k.length(), v.value(), 0, v.length()));
                     }
 
                     final long originId = this.routedId;
@@ -5411,7 +5421,8 @@ public final class HttpServerFactory implements HttpStreamFactory
 
                     final HttpBeginExFW beginEx = beginExRW.wrap(extBuffer, 0, extBuffer.capacity())
                             .typeId(httpTypeId)
-                            .headers(hs -> headers.forEach((n, v) -> hs.item(i -> i.name(n).value(v))))
+                            .headers(hs -> headers.forEachHeader((b, no, nl, vo, vl) ->
+                                hs.item(i -> i.name(b, no, nl).value(b, vo, vl))))
                             .build();
 
                     exchange.doRequestBegin(traceId, beginEx);
@@ -5925,7 +5936,7 @@ public final class HttpServerFactory implements HttpStreamFactory
                 final long budgetId = window.budgetId();
                 final int maximum = window.maximum();
                 final int padding = window.padding();
-                final int capabilities = window.capabilities();
+                final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
                 assert acknowledge <= sequence;
                 assert sequence <= requestSeq;
@@ -6413,6 +6424,10 @@ public final class HttpServerFactory implements HttpStreamFactory
 
         private final Consumer<HpackHeaderFieldFW> decodeHeader;
         private final Consumer<HpackHeaderFieldFW> decodeTrailer;
+        private final MutableDirectBuffer nameBuffer = new UnsafeBuffer(new byte[4096]); // TODO
+        private final MutableDirectBuffer valueBuffer = new UnsafeBuffer(new byte[4096]); // TODO
+        private final DirectBuffer nameRO = new UnsafeBuffer(new byte[0]);
+        private final DirectBuffer valueRO = new UnsafeBuffer(new byte[0]);
         private int method;
         private int scheme;
         private int path;
@@ -6421,7 +6436,7 @@ public final class HttpServerFactory implements HttpStreamFactory
         Http2ErrorCode streamError;
         Array32FW<HttpHeaderFW> httpErrorHeader;
 
-        final Map<String, String> headers = new LinkedHashMap<>();
+        final HttpHeaderMap headers = new HttpHeaderMap();
         long contentLength = -1;
 
         private Http2HeadersDecoder()
@@ -6650,17 +6665,14 @@ public final class HttpServerFactory implements HttpStreamFactory
         }
 
         // Collect headers into map to resolve target
-        // TODO avoid this
         private void collectHeaders(
             DirectBuffer name,
             DirectBuffer value)
         {
             if (!error())
             {
-                String nameStr = name.getStringWithoutLengthUtf8(0, name.capacity());
-                String valueStr = value.getStringWithoutLengthUtf8(0, value.capacity());
                 // TODO cookie needs to be appended with ';'
-                headers.merge(nameStr, valueStr, (o, n) -> String.format("%s, %s", o, n));
+                headers.add(name, 0, name.capacity(), value, 0, value.capacity());
             }
         }
 
@@ -6720,14 +6732,14 @@ public final class HttpServerFactory implements HttpStreamFactory
                     value = hpackValue.payload();
                     if (hpackValue.huffman())
                     {
-                        MutableDirectBuffer dst = new UnsafeBuffer(new byte[4096]); // TODO
-                        int length = HpackHuffman.decode(value, dst);
+                        int length = HpackHuffman.decode(value, valueBuffer);
                         if (length == -1)
                         {
                             connectionError = Http2ErrorCode.COMPRESSION_ERROR;
                             return;
                         }
-                        value = new UnsafeBuffer(dst, 0, length);
+                        valueRO.wrap(valueBuffer, 0, length);
+                        value = valueRO;
                     }
                     nameValue.accept(name, value);
                     break;
@@ -6736,27 +6748,27 @@ public final class HttpServerFactory implements HttpStreamFactory
                     name = hpackName.payload();
                     if (hpackName.huffman())
                     {
-                        MutableDirectBuffer dst = new UnsafeBuffer(new byte[4096]); // TODO
-                        int length = HpackHuffman.decode(name, dst);
+                        int length = HpackHuffman.decode(name, nameBuffer);
                         if (length == -1)
                         {
                             connectionError = Http2ErrorCode.COMPRESSION_ERROR;
                             return;
                         }
-                        name = new UnsafeBuffer(dst, 0, length);
+                        nameRO.wrap(nameBuffer, 0, length);
+                        name = nameRO;
                     }
 
                     value = hpackValue.payload();
                     if (hpackValue.huffman())
                     {
-                        MutableDirectBuffer dst = new UnsafeBuffer(new byte[4096]); // TODO
-                        int length = HpackHuffman.decode(value, dst);
+                        int length = HpackHuffman.decode(value, valueBuffer);
                         if (length == -1)
                         {
                             connectionError = Http2ErrorCode.COMPRESSION_ERROR;
                             return;
                         }
-                        value = new UnsafeBuffer(dst, 0, length);
+                        valueRO.wrap(valueBuffer, 0, length);
+                        value = valueRO;
                     }
                     nameValue.accept(name, value);
                     break;
@@ -7062,9 +7074,9 @@ public final class HttpServerFactory implements HttpStreamFactory
     }
 
     private boolean isCorsPreflightRequest(
-        Map<String, String> headers)
+        HttpHeaderMap headers)
     {
-        return Objects.equals(headers.get(HEADER_NAME_METHOD), METHOD_NAME_OPTIONS) &&
+        return headers.valueEquals(HEADER_NAME_METHOD, METHOD_NAME_OPTIONS) &&
                headers.containsKey(HEADER_NAME_ORIGIN) &&
                (headers.containsKey(HEADER_NAME_ACCESS_CONTROL_REQUEST_METHOD) ||
                 headers.containsKey(HEADER_NAME_ACCESS_CONTROL_REQUEST_HEADERS));
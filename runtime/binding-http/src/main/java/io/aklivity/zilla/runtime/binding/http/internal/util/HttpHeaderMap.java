@@ -0,0 +1,448 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.http.internal.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.agrona.AsciiSequenceView;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/*
+ * Reusable request header view, names are stored lower case and values are only
+ * materialized as String when read through the Map API.
+ */
+public final class HttpHeaderMap extends AbstractMap<String, String>
+{
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final byte[] VALUE_SEPARATOR = ", ".getBytes();
+
+    private final MutableDirectBuffer buffer;
+
+    private int[] nameOffsets;
+    private int[] nameLengths;
+    private int[] valueOffsets;
+    private int[] valueLengths;
+    private boolean[] valueAscii;
+    private String[] values;
+    private AsciiSequenceView[] views;
+
+    private int size;
+    private int limit;
+    private EntrySet entrySet;
+
+    public HttpHeaderMap()
+    {
+        this.buffer = new ExpandableArrayBuffer(1024);
+        this.nameOffsets = new int[INITIAL_CAPACITY];
+        this.nameLengths = new int[INITIAL_CAPACITY];
+        this.valueOffsets = new int[INITIAL_CAPACITY];
+        this.valueLengths = new int[INITIAL_CAPACITY];
+        this.valueAscii = new boolean[INITIAL_CAPACITY];
+        this.values = new String[INITIAL_CAPACITY];
+        this.views = new AsciiSequenceView[INITIAL_CAPACITY];
+    }
+
+    @FunctionalInterface
+    public interface HeaderConsumer
+    {
+        void accept(
+            DirectBuffer buffer,
+            int nameOffset,
+            int nameLength,
+            int valueOffset,
+            int valueLength);
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public void clear()
+    {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        limit = 0;
+    }
+
+    @Override
+    public boolean containsKey(
+        Object key)
+    {
+        return key instanceof String && indexOf((String) key) != -1;
+    }
+
+    @Override
+    public String get(
+        Object key)
+    {
+        final int index = key instanceof String ? indexOf((String) key) : -1;
+        return index != -1 ? valueAt(index) : null;
+    }
+
+    @Override
+    public String put(
+        String key,
+        String value)
+    {
+        int index = indexOf(key);
+        final String previous = index != -1 ? valueAt(index) : null;
+
+        if (index == -1)
+        {
+            index = appendName(key);
+        }
+
+        final int valueOffset = limit;
+        final int valueLength = buffer.putStringWithoutLengthUtf8(valueOffset, value);
+        limit += valueLength;
+        updateValue(index, valueOffset, valueLength);
+        values[index] = value;
+
+        return previous;
+    }
+
+    public void put(
+        DirectBuffer name,
+        int nameOffset,
+        int nameLength,
+        DirectBuffer value,
+        int valueOffset,
+        int valueLength)
+    {
+        int index = indexOf(name, nameOffset, nameLength);
+        if (index == -1)
+        {
+            index = appendName(name, nameOffset, nameLength);
+        }
+
+        final int newValueOffset = limit;
+        buffer.putBytes(newValueOffset, value, valueOffset, valueLength);
+        limit += valueLength;
+        updateValue(index, newValueOffset, valueLength);
+    }
+
+    public void add(
+        DirectBuffer name,
+        int nameOffset,
+        int nameLength,
+        DirectBuffer value,
+        int valueOffset,
+        int valueLength)
+    {
+        final int index = indexOf(name, nameOffset, nameLength);
+        if (index == -1)
+        {
+            put(name, nameOffset, nameLength, value, valueOffset, valueLength);
+        }
+        else
+        {
+            final int oldValueOffset = valueOffsets[index];
+            final int oldValueLength = valueLengths[index];
+            final int newValueOffset = limit;
+
+            int progress = newValueOffset;
+            buffer.putBytes(progress, buffer, oldValueOffset, oldValueLength);
+            progress += oldValueLength;
+            buffer.putBytes(progress, VALUE_SEPARATOR);
+            progress += VALUE_SEPARATOR.length;
+            buffer.putBytes(progress, value, valueOffset, valueLength);
+            progress += valueLength;
+
+            limit = progress;
+            updateValue(index, newValueOffset, progress - newValueOffset);
+        }
+    }
+
+    public CharSequence value(
+        String name)
+    {
+        final int index = indexOf(name);
+
+        CharSequence value = null;
+        if (index != -1)
+        {
+            if (valueAscii[index])
+            {
+                AsciiSequenceView view = views[index];
+                if (view == null)
+                {
+                    view = new AsciiSequenceView();
+                    views[index] = view;
+                }
+                value = view.wrap(buffer, valueOffsets[index], valueLengths[index]);
+            }
+            else
+            {
+                value = valueAt(index);
+            }
+        }
+
+        return value;
+    }
+
+    public boolean valueEquals(
+        String name,
+        String expected)
+    {
+        final int index = indexOf(name);
+        return index != -1 && equals(valueOffsets[index], valueLengths[index], expected, false);
+    }
+
+    public boolean valueContains(
+        String name,
+        byte ch)
+    {
+        final int index = indexOf(name);
+        return index != -1 &&
+            BufferUtil.indexOfByte(buffer, valueOffsets[index], valueOffsets[index] + valueLengths[index], ch) != -1;
+    }
+
+    public void forEachHeader(
+        HeaderConsumer consumer)
+    {
+        for (int index = 0; index < size; index++)
+        {
+            consumer.accept(buffer, nameOffsets[index], nameLengths[index], valueOffsets[index], valueLengths[index]);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet()
+    {
+        if (entrySet == null)
+        {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private String valueAt(
+        int index)
+    {
+        String value = values[index];
+        if (value == null)
+        {
+            value = buffer.getStringWithoutLengthUtf8(valueOffsets[index], valueLengths[index]);
+            values[index] = value;
+        }
+        return value;
+    }
+
+    private String nameAt(
+        int index)
+    {
+        return buffer.getStringWithoutLengthAscii(nameOffsets[index], nameLengths[index]);
+    }
+
+    private int indexOf(
+        String name)
+    {
+        int index = -1;
+
+        for (int candidate = 0; candidate < size; candidate++)
+        {
+            if (equals(nameOffsets[candidate], nameLengths[candidate], name, true))
+            {
+                index = candidate;
+                break;
+            }
+        }
+
+        return index;
+    }
+
+    private int indexOf(
+        DirectBuffer name,
+        int nameOffset,
+        int nameLength)
+    {
+        int index = -1;
+
+        for (int candidate = 0; candidate < size; candidate++)
+        {
+            if (equalsIgnoreCase(nameOffsets[candidate], nameLengths[candidate], name, nameOffset, nameLength))
+            {
+                index = candidate;
+                break;
+            }
+        }
+
+        return index;
+    }
+
+    private boolean equals(
+        int offset,
+        int length,
+        String value,
+        boolean ignoreCase)
+    {
+        boolean equals = length == value.length();
+
+        for (int index = 0; equals && index < length; index++)
+        {
+            final byte b = buffer.getByte(offset + index);
+            final char ch = value.charAt(index);
+            equals = b == ch || ignoreCase && b == toLowerCase(ch);
+        }
+
+        return equals;
+    }
+
+    private boolean equalsIgnoreCase(
+        int offset,
+        int length,
+        DirectBuffer value,
+        int valueOffset,
+        int valueLength)
+    {
+        boolean equals = length == valueLength;
+
+        for (int index = 0; equals && index < length; index++)
+        {
+            equals = buffer.getByte(offset + index) == toLowerCase(value.getByte(valueOffset + index));
+        }
+
+        return equals;
+    }
+
+    private int appendName(
+        String name)
+    {
+        final int index = ensureCapacity();
+        final int nameOffset = limit;
+        final int nameLength = name.length();
+
+        for (int i = 0; i < nameLength; i++)
+        {
+            buffer.putByte(nameOffset + i, (byte) toLowerCase(name.charAt(i)));
+        }
+
+        limit += nameLength;
+        nameOffsets[index] = nameOffset;
+        nameLengths[index] = nameLength;
+        size++;
+
+        return index;
+    }
+
+    private int appendName(
+        DirectBuffer name,
+        int nameOffset,
+        int nameLength)
+    {
+        final int index = ensureCapacity();
+        final int newNameOffset = limit;
+
+        for (int i = 0; i < nameLength; i++)
+        {
+            buffer.putByte(newNameOffset + i, (byte) toLowerCase(name.getByte(nameOffset + i)));
+        }
+
+        limit += nameLength;
+        nameOffsets[index] = newNameOffset;
+        nameLengths[index] = nameLength;
+        size++;
+
+        return index;
+    }
+
+    private void updateValue(
+        int index,
+        int valueOffset,
+        int valueLength)
+    {
+        boolean ascii = true;
+        for (int i = 0; ascii && i < valueLength; i++)
+        {
+            ascii = buffer.getByte(valueOffset + i) >= 0;
+        }
+
+        valueOffsets[index] = valueOffset;
+        valueLengths[index] = valueLength;
+        valueAscii[index] = ascii;
+        values[index] = null;
+    }
+
+    private int ensureCapacity()
+    {
+        if (size == nameOffsets.length)
+        {
+            final int capacity = size << 1;
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+            valueOffsets = Arrays.copyOf(valueOffsets, capacity);
+            valueLengths = Arrays.copyOf(valueLengths, capacity);
+            valueAscii = Arrays.copyOf(valueAscii, capacity);
+            values = Arrays.copyOf(values, capacity);
+            views = Arrays.copyOf(views, capacity);
+        }
+        return size;
+    }
+
+    private static int toLowerCase(
+        int ch)
+    {
+        return ch >= 'A' && ch <= 'Z' ? ch + ('a' - 'A') : ch;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<String, String>>
+    {
+        @Override
+        public int size()
+        {
+            return size;
+        }
+
+        @Override
+        public Iterator<Entry<String, String>> iterator()
+        {
+            return new Iterator<>()
+            {
+                private int index;
+
+                @Override
+                public boolean hasNext()
+                {
+                    return index < size;
+                }
+
+                @Override
+                public Entry<String, String> next()
+                {
+                    if (index >= size)
+                    {
+                        throw new NoSuchElementException();
+                    }
+
+                    final Entry<String, String> entry = new SimpleImmutableEntry<>(nameAt(index), valueAt(index));
+                    index++;
+                    return entry;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.http.internal.bench;
+
+import static io.aklivity.zilla.runtime.binding.http.internal.hpack.HpackLiteralHeaderFieldFW.LiteralType.INCREMENTAL_INDEXING;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.aklivity.zilla.runtime.binding.http.internal.hpack.HpackContext;
+import io.aklivity.zilla.runtime.binding.http.internal.hpack.HpackHeaderBlockFW;
+import io.aklivity.zilla.runtime.binding.http.internal.hpack.HpackHeaderFieldFW;
+import io.aklivity.zilla.runtime.binding.http.internal.hpack.HpackHuffman;
+import io.aklivity.zilla.runtime.binding.http.internal.hpack.HpackLiteralHeaderFieldFW;
+import io.aklivity.zilla.runtime.binding.http.internal.hpack.HpackStringFW;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@OutputTimeUnit(SECONDS)
+public class HpackBM
+{
+    private static final String[][] HEADERS =
+    {
+        { ":method", "GET" },
+        { ":scheme", "https" },
+        { ":path", "/api/v1/items?limit=10" },
+        { ":authority", "www.example.com" },
+        { "accept", "application/json" },
+        { "accept-encoding", "gzip, deflate" },
+        { "user-agent", "Mozilla/5.0 (X11; Linux x86_64) Gecko/20100101 Firefox/118.0" },
+        { "custom-key", "custom-value" },
+    };
+
+    private final HpackHeaderBlockFW blockRO = new HpackHeaderBlockFW();
+    private final HpackHeaderBlockFW.Builder blockRW = new HpackHeaderBlockFW.Builder();
+    private final MutableDirectBuffer nameBuffer = new UnsafeBuffer(new byte[4096]);
+    private final MutableDirectBuffer valueBuffer = new UnsafeBuffer(new byte[4096]);
+    private final MutableDirectBuffer encodeBuffer = new UnsafeBuffer(new byte[4096]);
+    private final DirectBuffer nameRO = new UnsafeBuffer(new byte[0]);
+    private final DirectBuffer valueRO = new UnsafeBuffer(new byte[0]);
+
+    private DirectBuffer block;
+    private DirectBuffer[] names;
+    private DirectBuffer[] values;
+    private DirectBuffer huffman;
+    private HpackContext decodeContext;
+    private HpackContext encodeContext;
+    private int decoded;
+
+    @Setup(Level.Trial)
+    public void init()
+    {
+        this.names = new DirectBuffer[HEADERS.length];
+        this.values = new DirectBuffer[HEADERS.length];
+        for (int i = 0; i < HEADERS.length; i++)
+        {
+            names[i] = new UnsafeBuffer(HEADERS[i][0].getBytes(UTF_8));
+            values[i] = new UnsafeBuffer(HEADERS[i][1].getBytes(UTF_8));
+        }
+
+        // indexed pseudo headers, then literals with indexed or new names and Huffman coded values
+        MutableDirectBuffer buffer = new UnsafeBuffer(new byte[1024]);
+        int limit = 0;
+        buffer.putByte(limit++, (byte) 0x82);                               // :method: GET
+        buffer.putByte(limit++, (byte) 0x87);                               // :scheme: https
+        limit = putLiteral(buffer, limit, 0x44, null, values[2]);           // :path
+        limit = putLiteral(buffer, limit, 0x41, null, values[3]);           // :authority
+        limit = putLiteral(buffer, limit, 0x53, null, values[4]);           // accept
+        buffer.putByte(limit++, (byte) 0x90);                               // accept-encoding: gzip, deflate
+        limit = putLiteral(buffer, limit, 0x7a, null, values[6]);           // user-agent
+        limit = putLiteral(buffer, limit, 0x40, names[7], values[7]);       // custom-key
+        this.block = new UnsafeBuffer(buffer, 0, limit);
+
+        this.huffman = huffman(values[6]);
+
+        this.decodeContext = new HpackContext(4096, false);
+        this.encodeContext = new HpackContext(4096, true);
+    }
+
+    @Benchmark
+    public int decodeHeaderBlock()
+    {
+        decoded = 0;
+        blockRO.wrap(block, 0, block.capacity()).forEach(this::decodeHeaderField);
+        return decoded;
+    }
+
+    @Benchmark
+    public int encodeHeaderBlock()
+    {
+        blockRW.wrap(encodeBuffer, 0, encodeBuffer.capacity());
+        for (int i = 0; i < names.length; i++)
+        {
+            final DirectBuffer name = names[i];
+            final DirectBuffer value = values[i];
+            blockRW.header(h -> encodeHeaderField(h, name, value));
+        }
+        return blockRW.build().limit();
+    }
+
+    @Benchmark
+    public int huffmanDecode()
+    {
+        return HpackHuffman.decode(huffman, valueBuffer);
+    }
+
+    @Benchmark
+    public int huffmanEncode()
+    {
+        HpackHuffman.encode(values[6], encodeBuffer);
+        return encodeBuffer.getByte(0);
+    }
+
+    private void decodeHeaderField(
+        HpackHeaderFieldFW field)
+    {
+        final HpackContext context = decodeContext;
+
+        switch (field.type())
+        {
+        case INDEXED:
+            final int index = field.index();
+            decoded += context.nameBuffer(index).capacity() + context.valueBuffer(index).capacity();
+            break;
+        case LITERAL:
+            final HpackLiteralHeaderFieldFW literal = field.literal();
+            final DirectBuffer name;
+            switch (literal.nameType())
+            {
+            case INDEXED:
+                name = context.nameBuffer(literal.nameIndex());
+                break;
+            default:
+                name = decodeString(literal.nameLiteral(), nameBuffer, nameRO);
+                break;
+            }
+            final DirectBuffer value = decodeString(literal.valueLiteral(), valueBuffer, valueRO);
+            decoded += name.capacity() + value.capacity();
+            if (literal.literalType() == INCREMENTAL_INDEXING)
+            {
+                MutableDirectBuffer nameCopy = new UnsafeBuffer(new byte[name.capacity()]);
+                nameCopy.putBytes(0, name, 0, name.capacity());
+                MutableDirectBuffer valueCopy = new UnsafeBuffer(new byte[value.capacity()]);
+                valueCopy.putBytes(0, value, 0, value.capacity());
+                context.add(nameCopy, valueCopy);
+            }
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void encodeHeaderField(
+        HpackHeaderFieldFW.Builder builder,
+        DirectBuffer name,
+        DirectBuffer value)
+    {
+        final HpackContext context = encodeContext;
+
+        final int index = context.index(name, value);
+        if (index != -1)
+        {
+            builder.indexed(index);
+        }
+        else
+        {
+            final int nameIndex = context.index(name);
+            builder.literal(l ->
+            {
+                l.type(INCREMENTAL_INDEXING);
+                if (nameIndex != -1)
+                {
+                    l.name(nameIndex);
+                }
+                else
+                {
+                    l.name(name, 0, name.capacity());
+                }
+                l.value(value);
+            });
+            context.add(name, value);
+        }
+    }
+
+    private static DirectBuffer decodeString(
+        HpackStringFW string,
+        MutableDirectBuffer buffer,
+        DirectBuffer bufferRO)
+    {
+        DirectBuffer payload = string.payload();
+        if (string.huffman())
+        {
+            final int length = HpackHuffman.decode(payload, buffer);
+            bufferRO.wrap(buffer, 0, length);
+            payload = bufferRO;
+        }
+        return payload;
+    }
+
+    private static int putLiteral(
+        MutableDirectBuffer buffer,
+        int offset,
+        int prefix,
+        DirectBuffer name,
+        DirectBuffer value)
+    {
+        int progress = offset;
+        buffer.putByte(progress++, (byte) prefix);
+        if (name != null)
+        {
+            progress = putHuffman(buffer, progress, name);
+        }
+        return putHuffman(buffer, progress, value);
+    }
+
+    private static int putHuffman(
+        MutableDirectBuffer buffer,
+        int offset,
+        DirectBuffer string)
+    {
+        final DirectBuffer encoded = huffman(string);
+        buffer.putByte(offset, (byte) (0x80 | encoded.capacity()));
+        buffer.putBytes(offset + 1, encoded, 0, encoded.capacity());
+        return offset + 1 + encoded.capacity();
+    }
+
+    private static DirectBuffer huffman(
+        DirectBuffer string)
+    {
+        final int length = HpackHuffman.encodedSize(string, 0, string.capacity());
+        final MutableDirectBuffer encoded = new UnsafeBuffer(new byte[length + Long.BYTES]);
+        HpackHuffman.encode(string, encoded);
+        return new UnsafeBuffer(encoded, 0, length);
+    }
+
+    public static void main(
+        String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(HpackBM.class.getSimpleName())
+                .forks(0)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.http.internal.bench;
+
+import static io.aklivity.zilla.runtime.engine.config.KindConfig.SERVER;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.aklivity.zilla.runtime.binding.http.config.HttpConditionConfig;
+import io.aklivity.zilla.runtime.binding.http.internal.config.HttpBindingConfig;
+import io.aklivity.zilla.runtime.binding.http.internal.config.HttpRouteConfig;
+import io.aklivity.zilla.runtime.engine.config.BindingConfig;
+import io.aklivity.zilla.runtime.engine.config.BindingConfigBuilder;
+import io.aklivity.zilla.runtime.engine.config.RouteConfig;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@OutputTimeUnit(SECONDS)
+public class HttpRouteBM
+{
+    @Param({"10", "100", "500"})
+    private int routes;
+
+    private HttpBindingConfig binding;
+    private Function<String, String> headers;
+
+    @Setup(Level.Trial)
+    public void init()
+    {
+        BindingConfigBuilder<BindingConfig> builder = BindingConfig.builder()
+            .namespace("test")
+            .name("http0")
+            .type("http")
+            .kind(SERVER);
+
+        for (int index = 0; index < routes; index++)
+        {
+            builder.route()
+                .when(HttpConditionConfig.builder()
+                    .header(":authority", "example.com:443")
+                    .header(":path", String.format("/api/v1/resource%d/*", index))
+                    .build())
+                .exit("app0")
+                .build();
+        }
+
+        BindingConfig config = builder.build();
+
+        for (RouteConfig route : config.routes)
+        {
+            route.authorized = a -> true;
+        }
+
+        this.binding = new HttpBindingConfig(config, null);
+        this.headers = Map.of(
+            ":method", "GET",
+            ":scheme", "https",
+            ":authority", "example.com:443",
+            ":path", String.format("/api/v1/resource%d/items?limit=10", routes - 1))::get;
+    }
+
+    @Benchmark
+    public HttpRouteConfig trie() throws Exception
+    {
+        return binding.resolve(0L, headers);
+    }
+
+    @Benchmark
+    public HttpRouteConfig linear() throws Exception
+    {
+        return binding.routes.stream()
+            .filter(r -> r.authorized(0L) && r.matches(headers))
+            .findFirst()
+            .orElse(null);
+    }
+
+    public static void main(
+        String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(HttpRouteBM.class.getSimpleName())
+                .forks(0)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.http.internal.config;
+
+import static io.aklivity.zilla.runtime.engine.config.KindConfig.SERVER;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.binding.http.config.HttpConditionConfig;
+import io.aklivity.zilla.runtime.engine.config.BindingConfig;
+import io.aklivity.zilla.runtime.engine.config.RouteConfig;
+
+public class HttpRouteTrieTest
+{
+    private HttpBindingConfig binding;
+
+    @Before
+    public void initBinding()
+    {
+        BindingConfig config = BindingConfig.builder()
+            .namespace("test")
+            .name("http0")
+            .type("http")
+            .kind(SERVER)
+            .route()
+                .when(HttpConditionConfig.builder()
+                    .header(":path", "/items/*")
+                    .build())
+                .exit("items")
+                .build()
+            .route()
+                .when(HttpConditionConfig.builder()
+                    .header(":path", "/items/special")
+                    .build())
+                .exit("special")
+                .build()
+            .route()
+                .when(HttpConditionConfig.builder()
+                    .header(":authority", "example.com:443")
+                    .build())
+                .exit("authority")
+                .build()
+            .route()
+                .when(HttpConditionConfig.builder()
+                    .header(":path", "/other")
+                    .build())
+                .when(HttpConditionConfig.builder()
+                    .header(":path", "/another")
+                    .build())
+                .exit("other")
+                .build()
+            .route()
+                .when(HttpConditionConfig.builder()
+                    .header(":path", "/guarded")
+                    .build())
+                .exit("guarded")
+                .build()
+            .build();
+
+        for (RouteConfig route : config.routes)
+        {
+            route.authorized = "guarded".equals(route.exit) ? a -> a == 1L : a -> true;
+        }
+
+        binding = new HttpBindingConfig(config, null);
+    }
+
+    @Test
+    public void shouldResolveRouteByPathPrefix()
+    {
+        assertEquals(0, resolve(0L, Map.of(":path", "/items/1")));
+    }
+
+    @Test
+    public void shouldResolveFirstMatchingRoute()
+    {
+        assertEquals(0, resolve(0L, Map.of(":path", "/items/special")));
+    }
+
+    @Test
+    public void shouldResolveRouteWithoutPathCondition()
+    {
+        assertEquals(2, resolve(0L, Map.of(":path", "/other", ":authority", "example.com:443")));
+    }
+
+    @Test
+    public void shouldResolveRouteByAnyCondition()
+    {
+        assertEquals(3, resolve(0L, Map.of(":path", "/other")));
+        assertEquals(3, resolve(0L, Map.of(":path", "/another?query")));
+    }
+
+    @Test
+    public void shouldResolveRouteWhenAuthorized()
+    {
+        assertEquals(4, resolve(1L, Map.of(":path", "/guarded")));
+        assertEquals(-1, resolve(0L, Map.of(":path", "/guarded")));
+    }
+
+    @Test
+    public void shouldNotResolveRouteWhenPathNotMatched()
+    {
+        assertEquals(-1, resolve(0L, Map.of(":path", "/items")));
+        assertEquals(-1, resolve(0L, Map.of(":path", "/otherwise")));
+        assertEquals(-1, resolve(0L, Map.of(":method", "GET")));
+    }
+
+    private int resolve(
+        long authorization,
+        Map<String, String> headers)
+    {
+        return binding.routes.indexOf(binding.resolve(authorization, headers::get));
+    }
+}
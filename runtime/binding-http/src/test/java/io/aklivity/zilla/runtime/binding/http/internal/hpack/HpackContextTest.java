@@ -169,4 +169,26 @@ public class HpackContextTest
 
     }
 
+    @Test
+    public void encodeDynamicWithManyEntries()
+    {
+        HpackContext context = new HpackContext(4096, true);
+        for (int i = 0; i < 100; i++)
+        {
+            context.add("name" + (i % 10), "value" + i);
+        }
+
+        // 100 entries of 43 or 44 octets fit 93 entries, oldest 7 evicted
+        assertEquals(93, context.table.size());
+        assertEquals(-1, context.index("name0", "value0"));
+        assertEquals(-1, context.index("name6", "value6"));
+        assertEquals(62 + 99 - 7, context.index("name7", "value7"));
+        assertEquals(62, context.index("name9", "value99"));
+        assertEquals(62 + 99 - 10, context.index("name0", "value10"));
+
+        // name index refers to the newest entry with matching name
+        assertEquals(62 + 99 - 97, context.index("name7"));
+        assertEquals(62 + 99 - 90, context.index("name0"));
+    }
+
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.http.internal.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class HttpHeaderMapTest
+{
+    @Test
+    public void shouldLookupLowerCaseName()
+    {
+        HttpHeaderMap headers = new HttpHeaderMap();
+        put(headers, "Content-Type", "text/plain");
+
+        assertEquals("text/plain", headers.get("content-type"));
+        assertEquals("text/plain", headers.value("content-type").toString());
+        assertTrue(headers.containsKey("content-type"));
+        assertFalse(headers.containsKey("content-length"));
+        assertNull(headers.value("content-length"));
+    }
+
+    @Test
+    public void shouldReplaceValue()
+    {
+        HttpHeaderMap headers = new HttpHeaderMap();
+        put(headers, ":authority", "localhost");
+        put(headers, ":authority", "example.com:8080");
+
+        assertEquals(1, headers.size());
+        assertEquals("example.com:8080", headers.get(":authority"));
+        assertTrue(headers.valueContains(":authority", (byte) ':'));
+    }
+
+    @Test
+    public void shouldMergeDuplicateValues()
+    {
+        HttpHeaderMap headers = new HttpHeaderMap();
+        add(headers, "accept", "text/plain");
+        add(headers, "accept", "text/html");
+
+        assertEquals(1, headers.size());
+        assertEquals("text/plain, text/html", headers.get("accept"));
+    }
+
+    @Test
+    public void shouldMatchValueWithoutString()
+    {
+        HttpHeaderMap headers = new HttpHeaderMap();
+        put(headers, ":method", "POST");
+
+        assertTrue(headers.valueEquals(":method", "POST"));
+        assertFalse(headers.valueEquals(":method", "post"));
+        assertFalse(headers.valueEquals(":path", "POST"));
+    }
+
+    @Test
+    public void shouldDecodeNonAsciiValue()
+    {
+        HttpHeaderMap headers = new HttpHeaderMap();
+        put(headers, ":path", "/café");
+
+        assertEquals("/café", headers.value(":path").toString());
+    }
+
+    @Test
+    public void shouldPreserveInsertionOrder()
+    {
+        HttpHeaderMap headers = new HttpHeaderMap();
+        for (int i = 0; i < 20; i++)
+        {
+            put(headers, "x-header-" + i, "value-" + i);
+        }
+        headers.put(":authority", "localhost:8080");
+
+        Map<String, String> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++)
+        {
+            expected.put("x-header-" + i, "value-" + i);
+        }
+        expected.put(":authority", "localhost:8080");
+
+        Map<String, String> actual = new LinkedHashMap<>();
+        headers.forEachHeader((b, no, nl, vo, vl) ->
+            actual.put(b.getStringWithoutLengthUtf8(no, nl), b.getStringWithoutLengthUtf8(vo, vl)));
+
+        assertEquals(expected, actual);
+        assertEquals(expected, headers);
+    }
+
+    @Test
+    public void shouldClearHeaders()
+    {
+        HttpHeaderMap headers = new HttpHeaderMap();
+        put(headers, ":path", "/");
+        headers.get(":path");
+        headers.clear();
+        put(headers, ":method", "GET");
+
+        assertEquals(1, headers.size());
+        assertNull(headers.get(":path"));
+        assertEquals("GET", headers.get(":method"));
+    }
+
+    private static void put(
+        HttpHeaderMap headers,
+        String name,
+        String value)
+    {
+        DirectBuffer nameBuf = new UnsafeBuffer(name.getBytes(UTF_8));
+        DirectBuffer valueBuf = new UnsafeBuffer(value.getBytes(UTF_8));
+        headers.put(nameBuf, 0, nameBuf.capacity(), valueBuf, 0, valueBuf.capacity());
+    }
+
+    private static void add(
+        HttpHeaderMap headers,
+        String name,
+        String value)
+    {
+        DirectBuffer nameBuf = new UnsafeBuffer(name.getBytes(UTF_8));
+        DirectBuffer valueBuf = new UnsafeBuffer(value.getBytes(UTF_8));
+        headers.add(nameBuf, 0, nameBuf.capacity(), valueBuf, 0, valueBuf.capacity());
+    }
+}
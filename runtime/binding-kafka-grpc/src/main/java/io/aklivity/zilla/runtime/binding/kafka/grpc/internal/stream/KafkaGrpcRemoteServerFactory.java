@@ -47,6 +47,7 @@ import io.aklivity.zilla.runtime.binding.kafka.grpc.internal.types.String16FW;
 import io.aklivity.zilla.runtime.binding.kafka.grpc.internal.types.queue.GrpcQueueMessageFW;
 import io.aklivity.zilla.runtime.binding.kafka.grpc.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.kafka.grpc.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.kafka.grpc.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.kafka.grpc.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.kafka.grpc.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.kafka.grpc.internal.types.stream.ExtensionFW;
@@ -72,6 +73,7 @@ public final class KafkaGrpcRemoteServerFactory implements KafkaGrpcStreamFactor
 {
     private static final String GRPC_TYPE_NAME = "grpc";
     private static final String KAFKA_TYPE_NAME = "kafka";
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final int SIGNAL_INITIATE_KAFKA_STREAM = 1;
     private static final int GRPC_QUEUE_MESSAGE_PADDING = 3 * 256 + 33;
@@ -971,7 +973,7 @@ public final class KafkaGrpcRemoteServerFactory implements KafkaGrpcStreamFactor
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.replyAck;
@@ -1546,7 +1548,7 @@ public final class KafkaGrpcRemoteServerFactory implements KafkaGrpcStreamFactor
             final long authorization = window.authorization();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= initialSeq;
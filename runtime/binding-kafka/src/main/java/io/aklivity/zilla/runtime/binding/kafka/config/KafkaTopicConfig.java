@@ -18,6 +18,7 @@ package io.aklivity.zilla.runtime.binding.kafka.config;
 import java.util.Objects;
 import java.util.function.Function;
 
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaDeltaType;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaOffsetType;
 import io.aklivity.zilla.runtime.engine.config.ModelConfig;
@@ -27,6 +28,7 @@ public class KafkaTopicConfig
     public final String name;
     public final KafkaOffsetType defaultOffset;
     public final KafkaDeltaType deltaType;
+    public final KafkaCompression compression;
     public final ModelConfig key;
     public final ModelConfig value;
 
@@ -45,12 +47,14 @@ public class KafkaTopicConfig
         String name,
         KafkaOffsetType defaultOffset,
         KafkaDeltaType deltaType,
+        KafkaCompression compression,
         ModelConfig key,
         ModelConfig value)
     {
         this.name = name;
         this.defaultOffset = defaultOffset;
         this.deltaType = deltaType;
+        this.compression = compression;
         this.key = key;
         this.value = value;
     }
@@ -78,7 +82,8 @@ public class KafkaTopicConfig
         KafkaTopicConfig that = (KafkaTopicConfig) other;
         return Objects.equals(this.name, that.name) &&
                 Objects.equals(this.defaultOffset, that.defaultOffset) &&
-                Objects.equals(this.deltaType, that.deltaType);
+                Objects.equals(this.deltaType, that.deltaType) &&
+                Objects.equals(this.compression, that.compression);
     }
 
     @Override
@@ -18,6 +18,7 @@ package io.aklivity.zilla.runtime.binding.kafka.config;
 
 import java.util.function.Function;
 
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaDeltaType;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaOffsetType;
 import io.aklivity.zilla.runtime.engine.config.ConfigBuilder;
@@ -29,6 +30,7 @@ public final class KafkaTopicConfigBuilder<T> extends ConfigBuilder<T, KafkaTopi
     private String name;
     private KafkaOffsetType defaultOffset;
     private KafkaDeltaType deltaType;
+    private KafkaCompression compression;
     private ModelConfig key;
     private ModelConfig value;
 
@@ -66,6 +68,13 @@ public final class KafkaTopicConfigBuilder<T> extends ConfigBuilder<T, KafkaTopi
         return this;
     }
 
+    public KafkaTopicConfigBuilder<T> compression(
+        KafkaCompression compression)
+    {
+        this.compression = compression;
+        return this;
+    }
+
     public KafkaTopicConfigBuilder<T> key(
         ModelConfig key)
     {
@@ -89,6 +98,6 @@ public final class KafkaTopicConfigBuilder<T> extends ConfigBuilder<T, KafkaTopi
     @Override
     public T build()
     {
-        return mapper.apply(new KafkaTopicConfig(name, defaultOffset, deltaType, key, value));
+        return mapper.apply(new KafkaTopicConfig(name, defaultOffset, deltaType, compression, key, value));
     }
 }
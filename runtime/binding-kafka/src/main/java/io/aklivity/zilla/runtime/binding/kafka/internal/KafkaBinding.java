@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCache;
+import io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheCompactor;
 import io.aklivity.zilla.runtime.engine.EngineContext;
 import io.aklivity.zilla.runtime.engine.binding.Binding;
 import io.aklivity.zilla.runtime.engine.config.KindConfig;
@@ -30,12 +31,14 @@ public final class KafkaBinding implements Binding
 
     private final KafkaConfiguration config;
     private final Map<String, KafkaCache> cachesByName;
+    private final KafkaCacheCompactor compactor;
 
     KafkaBinding(
         KafkaConfiguration config)
     {
         this.config = config;
         this.cachesByName = new ConcurrentHashMap<>();
+        this.compactor = new KafkaCacheCompactor(config.cacheCompactParallelism());
     }
 
     @Override
@@ -75,7 +78,7 @@ public final class KafkaBinding implements Binding
     public KafkaBindingContext supply(
         EngineContext context)
     {
-        return new KafkaBindingContext(config, context, this::supplyCache);
+        return new KafkaBindingContext(config, context, this::supplyCache, compactor);
     }
 
     public KafkaCache supplyCache(
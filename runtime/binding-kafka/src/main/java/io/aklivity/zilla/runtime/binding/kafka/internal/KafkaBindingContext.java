@@ -26,6 +26,7 @@ import java.util.function.Function;
 import org.agrona.collections.Long2ObjectHashMap;
 
 import io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCache;
+import io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheCompactor;
 import io.aklivity.zilla.runtime.binding.kafka.internal.stream.KafkaCacheClientFactory;
 import io.aklivity.zilla.runtime.binding.kafka.internal.stream.KafkaCacheRoute;
 import io.aklivity.zilla.runtime.binding.kafka.internal.stream.KafkaCacheServerFactory;
@@ -43,11 +44,13 @@ final class KafkaBindingContext implements BindingContext
     private final Long2ObjectHashMap<KafkaClientRoute> clientRoutesById;
     private final Long2ObjectHashMap<KafkaCacheRoute> cacheRoutesById;
     private final Map<KindConfig, KafkaStreamFactory> factories;
+    private final KafkaCacheCompactor compactor;
 
     KafkaBindingContext(
         KafkaConfiguration config,
         EngineContext context,
-        Function<String, KafkaCache> supplyCache)
+        Function<String, KafkaCache> supplyCache,
+        KafkaCacheCompactor compactor)
     {
         this.clientRoutesById = new Long2ObjectHashMap<>();
         this.cacheRoutesById = new Long2ObjectHashMap<>();
@@ -55,10 +58,11 @@ final class KafkaBindingContext implements BindingContext
         Map<KindConfig, KafkaStreamFactory> factories = new EnumMap<>(KindConfig.class);
         factories.put(CLIENT, new KafkaClientFactory(config, context, this::supplyClientRoute));
         factories.put(CACHE_SERVER, new KafkaCacheServerFactory(config, context, supplyCache,
-            this::supplyCacheRoute));
+            this::supplyCacheRoute, compactor));
         factories.put(CACHE_CLIENT, new KafkaCacheClientFactory(config, context, supplyCache,
             this::supplyCacheRoute));
         this.factories = factories;
+        this.compactor = compactor;
     }
 
     @Override
@@ -69,6 +73,11 @@ final class KafkaBindingContext implements BindingContext
 
         if (factory != null)
         {
+            if (binding.kind == CACHE_SERVER)
+            {
+                compactor.attach();
+            }
+
             factory.attach(binding);
         }
 
@@ -84,6 +93,11 @@ final class KafkaBindingContext implements BindingContext
         if (factory != null)
         {
             factory.detach(binding.id);
+
+            if (binding.kind == CACHE_SERVER)
+            {
+                compactor.detach();
+            }
         }
     }
 
@@ -47,6 +47,10 @@ public class KafkaConfiguration extends Configuration
     public static final IntPropertyDef KAFKA_CLIENT_FETCH_MAX_WAIT_MILLIS;
     public static final IntPropertyDef KAFKA_CLIENT_FETCH_MAX_BYTES;
     public static final IntPropertyDef KAFKA_CLIENT_FETCH_PARTITION_MAX_BYTES;
+    public static final IntPropertyDef KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES;
+    public static final BooleanPropertyDef KAFKA_CLIENT_FETCH_COALESCE;
+    public static final BooleanPropertyDef KAFKA_CLIENT_FETCH_SESSION;
+    public static final PropertyDef<String> KAFKA_CLIENT_RACK;
     public static final IntPropertyDef KAFKA_CLIENT_PRODUCE_MAX_REQUEST_MILLIS;
     public static final IntPropertyDef KAFKA_CLIENT_PRODUCE_MAX_RESPONSE_MILLIS;
     public static final IntPropertyDef KAFKA_CLIENT_PRODUCE_MAX_BYTES;
@@ -60,11 +64,13 @@ public class KafkaConfiguration extends Configuration
     public static final LongPropertyDef KAFKA_CACHE_DELETE_RETENTION_MILLIS;
     public static final LongPropertyDef KAFKA_CACHE_MIN_COMPACTION_LAG_MILLIS;
     public static final LongPropertyDef KAFKA_CACHE_MAX_COMPACTION_LAG_MILLIS;
+    public static final IntPropertyDef KAFKA_CACHE_COMPACT_PARALLELISM;
     public static final DoublePropertyDef KAFKA_CACHE_MIN_CLEANABLE_DIRTY_RATIO;
     public static final LongPropertyDef KAFKA_CACHE_SEGMENT_MILLIS;
     public static final IntPropertyDef KAFKA_CACHE_SEGMENT_BYTES;
     public static final IntPropertyDef KAFKA_CACHE_SEGMENT_INDEX_BYTES;
     public static final BooleanPropertyDef KAFKA_CACHE_SERVER_BOOTSTRAP;
+    public static final BooleanPropertyDef KAFKA_CACHE_RECOVER;
     public static final IntPropertyDef KAFKA_CACHE_CLIENT_RECONNECT_DELAY;
     public static final IntPropertyDef KAFKA_CACHE_CLIENT_CLEANUP_DELAY;
     public static final IntPropertyDef KAFKA_CACHE_CLIENT_TRAILERS_SIZE_MAX;
@@ -94,6 +100,10 @@ public class KafkaConfiguration extends Configuration
         KAFKA_CLIENT_FETCH_MAX_WAIT_MILLIS = config.property("client.fetch.max.wait.millis", 1 * 60 * 1000);
         KAFKA_CLIENT_FETCH_MAX_BYTES = config.property("client.fetch.max.bytes", 50 * 1024 * 1024);
         KAFKA_CLIENT_FETCH_PARTITION_MAX_BYTES = config.property("client.fetch.partition.max.bytes", 50 * 1024 * 1024);
+        KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES = config.property("client.fetch.decompress.max.bytes", 64 * 1024 * 1024);
+        KAFKA_CLIENT_FETCH_COALESCE = config.property("client.fetch.coalesce", false);
+        KAFKA_CLIENT_FETCH_SESSION = config.property("client.fetch.session", false);
+        KAFKA_CLIENT_RACK = config.property("client.rack");
         KAFKA_CLIENT_PRODUCE_MAX_REQUEST_MILLIS = config.property("client.produce.max.request.millis", 0);
         KAFKA_CLIENT_PRODUCE_MAX_RESPONSE_MILLIS = config.property("client.produce.max.response.millis", 120000);
         KAFKA_CLIENT_PRODUCE_MAX_BYTES = config.property("client.produce.max.bytes", Integer.MAX_VALUE);
@@ -111,6 +121,7 @@ public class KafkaConfiguration extends Configuration
         KAFKA_CACHE_DIRECTORY = config.property(Path.class, "cache.directory",
             KafkaConfiguration::cacheDirectory, KafkaBinding.NAME);
         KAFKA_CACHE_SERVER_BOOTSTRAP = config.property("cache.server.bootstrap", true);
+        KAFKA_CACHE_RECOVER = config.property("cache.recover", false);
         KAFKA_CACHE_PRODUCE_CAPACITY = config.property("cache.produce.capacity", Long.MAX_VALUE);
         KAFKA_CACHE_SERVER_RECONNECT_DELAY = config.property("cache.server.reconnect", 5);
         KAFKA_CACHE_CLIENT_RECONNECT_DELAY = config.property("cache.client.reconnect", 0);
@@ -123,6 +134,7 @@ public class KafkaConfiguration extends Configuration
         KAFKA_CACHE_DELETE_RETENTION_MILLIS = config.property("cache.delete.retention.ms", 86400000L);
         KAFKA_CACHE_MIN_COMPACTION_LAG_MILLIS = config.property("cache.min.compaction.lag.ms", 0L);
         KAFKA_CACHE_MAX_COMPACTION_LAG_MILLIS = config.property("cache.max.compaction.lag.ms", Long.MAX_VALUE);
+        KAFKA_CACHE_COMPACT_PARALLELISM = config.property("cache.compact.parallelism", 1);
         KAFKA_CACHE_MIN_CLEANABLE_DIRTY_RATIO = config.property("cache.min.cleanable.dirty.ratio", 0.5);
         KAFKA_CACHE_SEGMENT_MILLIS = config.property("cache.segment.ms", 604800000L);
         KAFKA_CACHE_SEGMENT_BYTES = config.property("cache.segment.bytes", 0x40000000);
@@ -179,6 +191,26 @@ public class KafkaConfiguration extends Configuration
         return KAFKA_CLIENT_FETCH_PARTITION_MAX_BYTES.get(this);
     }
 
+    public int clientFetchDecompressMaxBytes()
+    {
+        return KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES.getAsInt(this);
+    }
+
+    public boolean clientFetchCoalesce()
+    {
+        return KAFKA_CLIENT_FETCH_COALESCE.getAsBoolean(this);
+    }
+
+    public boolean clientFetchSession()
+    {
+        return KAFKA_CLIENT_FETCH_SESSION.getAsBoolean(this);
+    }
+
+    public String clientRack()
+    {
+        return KAFKA_CLIENT_RACK.get(this);
+    }
+
     public int clientProduceMaxRequestMillis()
     {
         return KAFKA_CLIENT_PRODUCE_MAX_REQUEST_MILLIS.getAsInt(this);
@@ -254,6 +286,11 @@ public class KafkaConfiguration extends Configuration
         return KAFKA_CACHE_MAX_COMPACTION_LAG_MILLIS.getAsLong(this);
     }
 
+    public int cacheCompactParallelism()
+    {
+        return KAFKA_CACHE_COMPACT_PARALLELISM.getAsInt(this);
+    }
+
     public double cacheMinCleanableDirtyRatio()
     {
         return KAFKA_CACHE_MIN_CLEANABLE_DIRTY_RATIO.getAsDouble(this);
@@ -274,6 +311,11 @@ public class KafkaConfiguration extends Configuration
         return KAFKA_CACHE_SERVER_BOOTSTRAP.getAsBoolean(this);
     }
 
+    public boolean cacheRecover()
+    {
+        return KAFKA_CACHE_RECOVER.getAsBoolean(this);
+    }
+
     public boolean clientConnectionPool()
     {
         return KAFKA_CLIENT_CONNECTION_POOL.getAsBoolean(this);
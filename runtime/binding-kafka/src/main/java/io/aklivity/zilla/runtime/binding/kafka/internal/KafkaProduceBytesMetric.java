@@ -0,0 +1,99 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal;
+
+import static io.aklivity.zilla.runtime.engine.metrics.MetricContext.Direction.SENT;
+
+import java.util.function.LongConsumer;
+
+import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricContext;
+
+public final class KafkaProduceBytesMetric implements Metric
+{
+    private final String name;
+    private final String description;
+
+    KafkaProduceBytesMetric(
+        String name,
+        String description)
+    {
+        this.name = name;
+        this.description = description;
+    }
+
+    @Override
+    public String name()
+    {
+        return name;
+    }
+
+    @Override
+    public Kind kind()
+    {
+        return Kind.COUNTER;
+    }
+
+    @Override
+    public Unit unit()
+    {
+        return Unit.BYTES;
+    }
+
+    @Override
+    public String description()
+    {
+        return description;
+    }
+
+    @Override
+    public MetricContext supply(
+        EngineContext context)
+    {
+        return new KafkaProduceBytesMetricContext();
+    }
+
+    private final class KafkaProduceBytesMetricContext implements MetricContext
+    {
+        @Override
+        public String group()
+        {
+            return KafkaMetricGroup.NAME;
+        }
+
+        @Override
+        public Kind kind()
+        {
+            return KafkaProduceBytesMetric.this.kind();
+        }
+
+        @Override
+        public Direction direction()
+        {
+            return SENT;
+        }
+
+        @Override
+        public MessageConsumer supply(
+            LongConsumer recorder)
+        {
+            // recorded by the kafka client produce encoder, not observed from frames
+            return MessageConsumer.NOOP;
+        }
+    }
+}
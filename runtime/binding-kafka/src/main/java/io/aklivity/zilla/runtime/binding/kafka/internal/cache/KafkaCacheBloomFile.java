@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.cache;
+
+import java.nio.file.Path;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Bloom filter over the keys of a frozen index file.
+ * <p>
+ * The filter is a power of two number of bits, sized at {@code 10} bits per index entry, with {@code 7} bits
+ * set per key by double hashing, giving a false positive rate of roughly {@code 1%}. An empty filter contains
+ * no keys.
+ */
+public class KafkaCacheBloomFile extends KafkaCacheFile
+{
+    private static final int BITS_PER_KEY = 10;
+    private static final int BITS_PER_KEY_SET = 7;
+    private static final int CAPACITY_MAX = 1 << 27;
+
+    protected KafkaCacheBloomFile(
+        Path location)
+    {
+        super(location);
+    }
+
+    public boolean mightContain(
+        int key)
+    {
+        return mightContain(buffer(), key);
+    }
+
+    static int capacity(
+        int keys)
+    {
+        int capacity = 0;
+
+        if (keys > 0)
+        {
+            final long bits = (long) keys * BITS_PER_KEY;
+            final long bytes = Math.min(Math.max(bits >> 3, Long.BYTES), CAPACITY_MAX);
+            capacity = BitUtil.findNextPositivePowerOfTwo((int) bytes);
+        }
+
+        return capacity;
+    }
+
+    static void add(
+        MutableDirectBuffer bits,
+        int key)
+    {
+        final int mask = (bits.capacity() << 3) - 1;
+        final int step = step(key);
+
+        for (int i = 0, hash = key; i < BITS_PER_KEY_SET; i++, hash += step)
+        {
+            final int bit = hash & mask;
+            final int index = bit >>> 3;
+            bits.putByte(index, (byte) (bits.getByte(index) | (1 << (bit & 0x07))));
+        }
+    }
+
+    static boolean mightContain(
+        DirectBuffer bits,
+        int key)
+    {
+        final int capacity = bits.capacity();
+        final int mask = (capacity << 3) - 1;
+        final int step = step(key);
+
+        boolean contains = capacity != 0;
+
+        for (int i = 0, hash = key; contains && i < BITS_PER_KEY_SET; i++, hash += step)
+        {
+            final int bit = hash & mask;
+            contains = (bits.getByte(bit >>> 3) & (1 << (bit & 0x07))) != 0;
+        }
+
+        return contains;
+    }
+
+    private static int step(
+        int key)
+    {
+        final int mixed = key * 0x9e3779b9;
+        return (mixed ^ (mixed >>> 16)) | 0x01;
+    }
+}
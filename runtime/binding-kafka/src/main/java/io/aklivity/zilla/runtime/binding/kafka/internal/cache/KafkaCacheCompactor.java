@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.cache;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded executor for segment compaction, shared by every cache server binding of the engine.
+ * <p>
+ * Compaction rewrites whole segment files, so it runs on dedicated threads rather than the engine task
+ * executor, where it would delay other tasks such as TLS handshakes. Threads are started when the first
+ * cache server binding attaches and stopped when the last one detaches.
+ */
+public final class KafkaCacheCompactor implements Executor
+{
+    private final int parallelism;
+    private final ThreadFactory factory;
+    private final AtomicInteger nextThreadId;
+
+    private ExecutorService executor;
+    private int attached;
+
+    public KafkaCacheCompactor(
+        int parallelism)
+    {
+        this.parallelism = parallelism;
+        this.factory = Executors.defaultThreadFactory();
+        this.nextThreadId = new AtomicInteger();
+    }
+
+    public synchronized void attach()
+    {
+        if (attached++ == 0)
+        {
+            executor = newFixedThreadPool(parallelism, this::newThread);
+        }
+    }
+
+    public synchronized void detach()
+    {
+        if (--attached == 0)
+        {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    @Override
+    public synchronized void execute(
+        Runnable task)
+    {
+        if (executor == null)
+        {
+            throw new RejectedExecutionException("compactor detached");
+        }
+
+        executor.execute(task);
+    }
+
+    private Thread newThread(
+        Runnable r)
+    {
+        Thread t = factory.newThread(r);
+
+        if (t != null)
+        {
+            t.setName(String.format("kafka/compact#%d", nextThreadId.getAndIncrement()));
+            t.setDaemon(true);
+        }
+
+        return t;
+    }
+}
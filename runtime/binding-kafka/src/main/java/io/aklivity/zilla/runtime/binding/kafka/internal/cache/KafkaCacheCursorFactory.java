@@ -259,10 +259,12 @@ public final class KafkaCacheCursorFactory
 
                 if (ancestorOffset != -1)
                 {
-                    if (deltaPosition != -1 && deltaKeyOffsets.remove(ancestorOffset))
+                    final KafkaCacheDeltaFW delta = deltaPosition != -1 && deltaKeyOffsets.remove(ancestorOffset)
+                        ? segment.deltaFile().readBytes(deltaPosition, deltaRO::wrap)
+                        : null;
+
+                    if (delta != null && delta.length() != -1)
                     {
-                        final KafkaCacheFile deltaFile = segment.deltaFile();
-                        final KafkaCacheDeltaFW delta = deltaFile.readBytes(deltaPosition, deltaRO::wrap);
                         final DirectBuffer entryBuffer = nextEntry.buffer();
                         final KafkaKeyFW key = nextEntry.key();
                         final int entryOffset = nextEntry.offset();
@@ -497,7 +499,7 @@ public final class KafkaCacheCursorFactory
             {
                 int positionNext = NEXT_SEGMENT_VALUE;
 
-                if (segment != null)
+                if (segment != null && segment.mightContainHash(hash))
                 {
                     final KafkaCacheIndexFile hashFile = segment.hashFile();
                     assert hashFile != null;
@@ -29,11 +29,13 @@ import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.function.IntFunction;
+import java.util.stream.Stream;
 
 import org.agrona.DirectBuffer;
 import org.agrona.IoUtil;
 import org.agrona.LangUtil;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.LongArrayList;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.Flyweight;
@@ -47,6 +49,8 @@ public class KafkaCacheFile implements AutoCloseable
     private static final String EXT_HSCAN = ".hscan";
     private static final String EXT_HSCAN_WORK = ".hscan.work";
     private static final String EXT_HINDEX = ".hindex";
+    private static final String EXT_HBLOOM = ".hbloom";
+    private static final String EXT_HBLOOM_WORK = ".hbloom.work";
     private static final String EXT_NSCAN = ".nscan";
     private static final String EXT_NSCAN_WORK = ".nscan.work";
     private static final String EXT_NINDEX = ".nindex";
@@ -55,12 +59,14 @@ public class KafkaCacheFile implements AutoCloseable
     private static final String EXT_KINDEX = ".kindex";
 
     private static final String FORMAT_FILE = "%%019d%s";
+    private static final String FORMAT_SEGMENT_PREFIX = "%019d.";
     private static final String FORMAT_LOG_FILE = String.format(FORMAT_FILE, EXT_LOG);
     private static final String FORMAT_CONVERTED_FILE = String.format(FORMAT_FILE, EXT_CONVERTED);
     private static final String FORMAT_DELTA_FILE = String.format(FORMAT_FILE, EXT_DELTA);
     private static final String FORMAT_INDEX_FILE = String.format(FORMAT_FILE, EXT_INDEX);
     private static final String FORMAT_HSCAN_FILE = String.format(FORMAT_FILE, EXT_HSCAN);
     private static final String FORMAT_HINDEX_FILE = String.format(FORMAT_FILE, EXT_HINDEX);
+    private static final String FORMAT_HBLOOM_FILE = String.format(FORMAT_FILE, EXT_HBLOOM);
     private static final String FORMAT_NSCAN_FILE = String.format(FORMAT_FILE, EXT_NSCAN);
     private static final String FORMAT_NINDEX_FILE = String.format(FORMAT_FILE, EXT_NINDEX);
     private static final String FORMAT_KSCAN_FILE = String.format(FORMAT_FILE, EXT_KSCAN);
@@ -365,6 +371,102 @@ public class KafkaCacheFile implements AutoCloseable
         IoUtil.unmap(mappedByteBuf);
     }
 
+    public static LongArrayList baseOffsets(
+        Path location)
+    {
+        final LongArrayList baseOffsets = new LongArrayList();
+
+        try (Stream<Path> files = Files.list(location))
+        {
+            files.map(f -> f.getFileName().toString())
+                .filter(n -> n.endsWith(EXT_LOG))
+                .map(n -> n.substring(0, n.length() - EXT_LOG.length()))
+                .filter(n -> n.chars().allMatch(Character::isDigit))
+                .mapToLong(Long::parseLong)
+                .sorted()
+                .forEach(baseOffsets::addLong);
+        }
+        catch (IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return baseOffsets;
+    }
+
+    public static boolean frozen(
+        Path location,
+        long baseOffset)
+    {
+        return exists(location, FORMAT_INDEX_FILE, baseOffset) &&
+               exists(location, FORMAT_CONVERTED_FILE, baseOffset) &&
+               exists(location, FORMAT_DELTA_FILE, baseOffset) &&
+               exists(location, FORMAT_HINDEX_FILE, baseOffset) &&
+               exists(location, FORMAT_HBLOOM_FILE, baseOffset) &&
+               exists(location, FORMAT_NINDEX_FILE, baseOffset) &&
+               exists(location, FORMAT_KINDEX_FILE, baseOffset) &&
+               !exists(location, FORMAT_HSCAN_FILE, baseOffset) &&
+               !exists(location, FORMAT_NSCAN_FILE, baseOffset) &&
+               !exists(location, FORMAT_KSCAN_FILE, baseOffset);
+    }
+
+    public static boolean appendable(
+        Path location,
+        long baseOffset)
+    {
+        return exists(location, FORMAT_LOG_FILE, baseOffset) &&
+               exists(location, FORMAT_CONVERTED_FILE, baseOffset) &&
+               exists(location, FORMAT_DELTA_FILE, baseOffset);
+    }
+
+    public static long modifiedAt(
+        Path location,
+        long baseOffset)
+    {
+        long modifiedAt = 0L;
+
+        try
+        {
+            modifiedAt = Files.getLastModifiedTime(location.resolve(String.format(FORMAT_LOG_FILE, baseOffset))).toMillis();
+        }
+        catch (IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return modifiedAt;
+    }
+
+    public static void delete(
+        Path location,
+        long baseOffset)
+    {
+        final String prefix = String.format(FORMAT_SEGMENT_PREFIX, baseOffset);
+
+        try (Stream<Path> files = Files.list(location))
+        {
+            for (Path file : (Iterable<Path>) files::iterator)
+            {
+                if (file.getFileName().toString().startsWith(prefix))
+                {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        catch (IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+
+    private static boolean exists(
+        Path location,
+        String format,
+        long baseOffset)
+    {
+        return Files.exists(location.resolve(String.format(format, baseOffset)));
+    }
+
     private static MappedByteBuffer mapCreateAppend(
         Path file,
         int capacity)
@@ -482,7 +584,10 @@ public class KafkaCacheFile implements AutoCloseable
             final String filename = hscan.getFileName().toString();
             final Path hscanWork = hscan.resolveSibling(filename.replace(EXT_HSCAN, EXT_HSCAN_WORK));
             final Path hindex = hscan.resolveSibling(filename.replace(EXT_HSCAN, EXT_HINDEX));
+            final Path hbloomWork = hscan.resolveSibling(filename.replace(EXT_HSCAN, EXT_HBLOOM_WORK));
+            final Path hbloom = hscan.resolveSibling(filename.replace(EXT_HSCAN, EXT_HBLOOM));
 
+            filterByKey(hbloomWork, hbloom);
             sortByKey(hscanWork, hindex);
         }
     }
@@ -497,6 +602,16 @@ public class KafkaCacheFile implements AutoCloseable
         }
     }
 
+    public static final class HashBloom extends KafkaCacheBloomFile
+    {
+        public HashBloom(
+            Path location,
+            long baseOffset)
+        {
+            super(location.resolve(String.format(FORMAT_HBLOOM_FILE, baseOffset)));
+        }
+    }
+
     public static final class KeysScan extends KafkaCacheIndexFile.SortedByValue
     {
         public KeysScan(
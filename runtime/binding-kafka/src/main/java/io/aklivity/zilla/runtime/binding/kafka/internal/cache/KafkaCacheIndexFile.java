@@ -25,7 +25,9 @@ import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheI
 import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheIndexRecord.indexValue;
 import static java.lang.Integer.compareUnsigned;
 import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
 import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
 import static java.nio.file.StandardOpenOption.WRITE;
 
 import java.io.IOException;
@@ -651,6 +653,41 @@ public abstract class KafkaCacheIndexFile extends KafkaCacheFile
             }
         }
 
+        protected void filterByKey(
+            Path workingFile,
+            Path filterFile)
+        {
+            try
+            {
+                final int entries = capacity() >> 3;
+                final int filterCapacity = KafkaCacheBloomFile.capacity(entries);
+
+                try (FileChannel channel = FileChannel.open(workingFile, CREATE, TRUNCATE_EXISTING, READ, WRITE))
+                {
+                    final ByteBuffer mapped = channel.map(MapMode.READ_WRITE, 0, filterCapacity);
+                    final MutableDirectBuffer buffer = new UnsafeBuffer(mapped);
+
+                    for (int index = 0; index < entries; index++)
+                    {
+                        final long indexEntry = readLong(index << 3);
+                        KafkaCacheBloomFile.add(buffer, indexKey(indexEntry));
+                    }
+
+                    IoUtil.unmap(mapped);
+                }
+                catch (IOException ex)
+                {
+                    LangUtil.rethrowUnchecked(ex);
+                }
+
+                Files.move(workingFile, filterFile, REPLACE_EXISTING);
+            }
+            catch (IOException ex)
+            {
+                LangUtil.rethrowUnchecked(ex);
+            }
+        }
+
         protected void sortByKeyUnique(
             Path workingFile,
             Path sortedFile)
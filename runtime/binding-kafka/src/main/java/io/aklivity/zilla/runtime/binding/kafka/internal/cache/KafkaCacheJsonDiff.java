@@ -0,0 +1,666 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.cache;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Streaming structural diff of two JSON documents, producing an RFC 6902 JSON Patch.
+ * <p>
+ * Both documents are walked token by token in place, without building a tree. Object members are matched
+ * by key, trying the member at the same position first, so documents that keep a stable key order are
+ * diffed in linear time. Array elements are matched by index, then trailing elements are added or removed.
+ * Values that differ in their encoding are replaced, and values are copied into the patch as encoded.
+ * <p>
+ * If the head document is empty or not well-formed JSON, no patch is written and {@code diff} returns {@code -1}.
+ * If only the ancestor document is not well-formed JSON, the patch replaces the whole document with the head value.
+ * Documents nesting objects and arrays deeper than {@code MAX_DEPTH} are treated as not well-formed, which bounds
+ * the recursion of both the diff and the scan.
+ * <b>Each instance of this class is assumed to be used by one and only one thread.</b>
+ */
+public final class KafkaCacheJsonDiff
+{
+    public static final int NO_PATCH = -1;
+
+    private static final byte[] OP_ADD = "{\"op\":\"add\",\"path\":\"".getBytes(US_ASCII);
+    private static final byte[] OP_REMOVE = "{\"op\":\"remove\",\"path\":\"".getBytes(US_ASCII);
+    private static final byte[] OP_REPLACE = "{\"op\":\"replace\",\"path\":\"".getBytes(US_ASCII);
+    private static final byte[] OP_VALUE = "\",\"value\":".getBytes(US_ASCII);
+    private static final byte[] OP_END = "\"}".getBytes(US_ASCII);
+    private static final byte[] LITERAL_TRUE = "true".getBytes(US_ASCII);
+    private static final byte[] LITERAL_FALSE = "false".getBytes(US_ASCII);
+    private static final byte[] LITERAL_NULL = "null".getBytes(US_ASCII);
+
+    private static final int MALFORMED = -1;
+    private static final int MAX_DEPTH = 512;
+
+    private final MutableDirectBuffer path = new ExpandableArrayBuffer();
+
+    private DirectBuffer ancestor;
+    private DirectBuffer head;
+    private MutableDirectBuffer patch;
+    private int patchLimit;
+    private int operations;
+
+    public int diff(
+        DirectBuffer ancestor,
+        int ancestorOffset,
+        int ancestorLength,
+        DirectBuffer head,
+        int headOffset,
+        int headLength,
+        MutableDirectBuffer patch,
+        int patchOffset)
+    {
+        final int headLimit = headOffset + headLength;
+        final int headStart = skipWhitespace(head, headOffset, headLimit);
+        final int headEnd = skipValue(head, headStart, headLimit, 0);
+
+        int patchLength = NO_PATCH;
+
+        if (headEnd != MALFORMED && skipWhitespace(head, headEnd, headLimit) == headLimit)
+        {
+            this.ancestor = ancestor;
+            this.head = head;
+            this.patch = patch;
+            this.patchLimit = patchOffset;
+            this.operations = 0;
+
+            final int ancestorLimit = ancestorOffset + ancestorLength;
+            final int ancestorStart = skipWhitespace(ancestor, ancestorOffset, ancestorLimit);
+            final int ancestorEnd = skipValue(ancestor, ancestorStart, ancestorLimit, 0);
+
+            writeByte('[');
+
+            if (ancestorEnd == MALFORMED || skipWhitespace(ancestor, ancestorEnd, ancestorLimit) != ancestorLimit)
+            {
+                writeOperation(OP_REPLACE, 0, headStart, headEnd);
+            }
+            else
+            {
+                diffValue(0, 0, ancestorStart, ancestorEnd, headStart, headEnd);
+            }
+
+            writeByte(']');
+
+            this.ancestor = null;
+            this.head = null;
+            this.patch = null;
+
+            patchLength = patchLimit - patchOffset;
+        }
+
+        return patchLength;
+    }
+
+    private void diffValue(
+        int depth,
+        int pathLimit,
+        int ancestorStart,
+        int ancestorEnd,
+        int headStart,
+        int headEnd)
+    {
+        if (!matches(ancestor, ancestorStart, ancestorEnd, head, headStart, headEnd))
+        {
+            final byte ancestorType = ancestor.getByte(ancestorStart);
+            final byte headType = head.getByte(headStart);
+
+            if (ancestorType == '{' && headType == '{')
+            {
+                diffObject(depth, pathLimit, ancestorStart, ancestorEnd, headStart, headEnd);
+            }
+            else if (ancestorType == '[' && headType == '[')
+            {
+                diffArray(depth, pathLimit, ancestorStart, ancestorEnd, headStart, headEnd);
+            }
+            else
+            {
+                writeOperation(OP_REPLACE, pathLimit, headStart, headEnd);
+            }
+        }
+    }
+
+    private void diffObject(
+        int depth,
+        int pathLimit,
+        int ancestorStart,
+        int ancestorEnd,
+        int headStart,
+        int headEnd)
+    {
+        final int ancestorFirst = skipWhitespace(ancestor, ancestorStart + 1, ancestorEnd);
+        final int headFirst = skipWhitespace(head, headStart + 1, headEnd);
+
+        int headHint = headFirst;
+        for (int member = ancestorFirst; ancestor.getByte(member) != '}'; )
+        {
+            final int keyEnd = skipString(ancestor, member, ancestorEnd);
+            final int valueStart = skipWhitespace(ancestor, skipWhitespace(ancestor, keyEnd, ancestorEnd) + 1, ancestorEnd);
+            final int valueEnd = skipValue(ancestor, valueStart, ancestorEnd, depth + 1);
+            final int memberPathLimit = appendKey(pathLimit, ancestor, member, keyEnd);
+
+            final int headMember = findMember(head, headFirst, headEnd, headHint, depth, ancestor, member, keyEnd);
+            if (headMember != MALFORMED)
+            {
+                final int headKeyEnd = skipString(head, headMember, headEnd);
+                final int headValueStart = skipWhitespace(head, skipWhitespace(head, headKeyEnd, headEnd) + 1, headEnd);
+                final int headValueEnd = skipValue(head, headValueStart, headEnd, depth + 1);
+
+                diffValue(depth + 1, memberPathLimit, valueStart, valueEnd, headValueStart, headValueEnd);
+
+                headHint = nextMember(head, headValueEnd, headEnd);
+            }
+            else
+            {
+                writeOperation(OP_REMOVE, memberPathLimit, 0, 0);
+            }
+
+            member = nextMember(ancestor, valueEnd, ancestorEnd);
+        }
+
+        int ancestorHint = ancestorFirst;
+        for (int member = headFirst; head.getByte(member) != '}'; )
+        {
+            final int keyEnd = skipString(head, member, headEnd);
+            final int valueStart = skipWhitespace(head, skipWhitespace(head, keyEnd, headEnd) + 1, headEnd);
+            final int valueEnd = skipValue(head, valueStart, headEnd, depth + 1);
+
+            final int ancestorMember =
+                findMember(ancestor, ancestorFirst, ancestorEnd, ancestorHint, depth, head, member, keyEnd);
+            if (ancestorMember != MALFORMED)
+            {
+                final int ancestorKeyEnd = skipString(ancestor, ancestorMember, ancestorEnd);
+                final int ancestorValueStart =
+                    skipWhitespace(ancestor, skipWhitespace(ancestor, ancestorKeyEnd, ancestorEnd) + 1, ancestorEnd);
+                final int ancestorValueEnd = skipValue(ancestor, ancestorValueStart, ancestorEnd, depth + 1);
+
+                ancestorHint = nextMember(ancestor, ancestorValueEnd, ancestorEnd);
+            }
+            else
+            {
+                final int memberPathLimit = appendKey(pathLimit, head, member, keyEnd);
+                writeOperation(OP_ADD, memberPathLimit, valueStart, valueEnd);
+            }
+
+            member = nextMember(head, valueEnd, headEnd);
+        }
+    }
+
+    private void diffArray(
+        int depth,
+        int pathLimit,
+        int ancestorStart,
+        int ancestorEnd,
+        int headStart,
+        int headEnd)
+    {
+        int ancestorElement = skipWhitespace(ancestor, ancestorStart + 1, ancestorEnd);
+        int headElement = skipWhitespace(head, headStart + 1, headEnd);
+        int index = 0;
+
+        while (ancestor.getByte(ancestorElement) != ']' && head.getByte(headElement) != ']')
+        {
+            final int ancestorElementEnd = skipValue(ancestor, ancestorElement, ancestorEnd, depth + 1);
+            final int headElementEnd = skipValue(head, headElement, headEnd, depth + 1);
+
+            diffValue(depth + 1, appendIndex(pathLimit, index), ancestorElement, ancestorElementEnd, headElement, headElementEnd);
+
+            ancestorElement = nextMember(ancestor, ancestorElementEnd, ancestorEnd);
+            headElement = nextMember(head, headElementEnd, headEnd);
+            index++;
+        }
+
+        while (head.getByte(headElement) != ']')
+        {
+            final int headElementEnd = skipValue(head, headElement, headEnd, depth + 1);
+
+            writeOperation(OP_ADD, appendIndex(pathLimit, index), headElement, headElementEnd);
+
+            headElement = nextMember(head, headElementEnd, headEnd);
+            index++;
+        }
+
+        if (ancestor.getByte(ancestorElement) != ']')
+        {
+            final int elementPathLimit = appendIndex(pathLimit, index);
+
+            while (ancestor.getByte(ancestorElement) != ']')
+            {
+                writeOperation(OP_REMOVE, elementPathLimit, 0, 0);
+
+                ancestorElement = nextMember(ancestor, skipValue(ancestor, ancestorElement, ancestorEnd, depth + 1), ancestorEnd);
+            }
+        }
+    }
+
+    private static int findMember(
+        DirectBuffer buffer,
+        int first,
+        int limit,
+        int hint,
+        int depth,
+        DirectBuffer keyBuffer,
+        int keyStart,
+        int keyEnd)
+    {
+        int found = scanMember(buffer, hint, limit, MALFORMED, depth, keyBuffer, keyStart, keyEnd);
+
+        if (found == MALFORMED && hint != first)
+        {
+            found = scanMember(buffer, first, limit, hint, depth, keyBuffer, keyStart, keyEnd);
+        }
+
+        return found;
+    }
+
+    private static int scanMember(
+        DirectBuffer buffer,
+        int member,
+        int limit,
+        int stop,
+        int depth,
+        DirectBuffer keyBuffer,
+        int keyStart,
+        int keyEnd)
+    {
+        int found = MALFORMED;
+
+        while (member != stop && buffer.getByte(member) != '}')
+        {
+            final int memberKeyEnd = skipString(buffer, member, limit);
+
+            if (matches(buffer, member, memberKeyEnd, keyBuffer, keyStart, keyEnd))
+            {
+                found = member;
+                break;
+            }
+
+            final int valueStart = skipWhitespace(buffer, skipWhitespace(buffer, memberKeyEnd, limit) + 1, limit);
+            member = nextMember(buffer, skipValue(buffer, valueStart, limit, depth + 1), limit);
+        }
+
+        return found;
+    }
+
+    private int appendKey(
+        int pathLimit,
+        DirectBuffer buffer,
+        int keyStart,
+        int keyEnd)
+    {
+        path.putByte(pathLimit++, (byte) '/');
+
+        for (int index = keyStart + 1; index < keyEnd - 1; index++)
+        {
+            final byte ch = buffer.getByte(index);
+
+            if (ch == '~')
+            {
+                path.putByte(pathLimit++, (byte) '~');
+                path.putByte(pathLimit++, (byte) '0');
+            }
+            else if (ch == '/')
+            {
+                path.putByte(pathLimit++, (byte) '~');
+                path.putByte(pathLimit++, (byte) '1');
+            }
+            else if (ch == '\\')
+            {
+                final byte escaped = buffer.getByte(index + 1);
+
+                if (escaped == '/' || isUnicodeEscape(buffer, index, keyEnd, '2', 'f'))
+                {
+                    path.putByte(pathLimit++, (byte) '~');
+                    path.putByte(pathLimit++, (byte) '1');
+                    index += escaped == '/' ? 1 : 5;
+                }
+                else if (isUnicodeEscape(buffer, index, keyEnd, '7', 'e'))
+                {
+                    path.putByte(pathLimit++, (byte) '~');
+                    path.putByte(pathLimit++, (byte) '0');
+                    index += 5;
+                }
+                else
+                {
+                    path.putByte(pathLimit++, ch);
+                    path.putByte(pathLimit++, escaped);
+                    index++;
+                }
+            }
+            else
+            {
+                path.putByte(pathLimit++, ch);
+            }
+        }
+
+        return pathLimit;
+    }
+
+    private int appendIndex(
+        int pathLimit,
+        int index)
+    {
+        path.putByte(pathLimit++, (byte) '/');
+        return pathLimit + path.putIntAscii(pathLimit, index);
+    }
+
+    private void writeOperation(
+        byte[] op,
+        int pathLimit,
+        int valueStart,
+        int valueEnd)
+    {
+        if (operations++ != 0)
+        {
+            writeByte(',');
+        }
+
+        patch.putBytes(patchLimit, op);
+        patchLimit += op.length;
+        patch.putBytes(patchLimit, path, 0, pathLimit);
+        patchLimit += pathLimit;
+
+        if (op != OP_REMOVE)
+        {
+            patch.putBytes(patchLimit, OP_VALUE);
+            patchLimit += OP_VALUE.length;
+            patch.putBytes(patchLimit, head, valueStart, valueEnd - valueStart);
+            patchLimit += valueEnd - valueStart;
+            writeByte('}');
+        }
+        else
+        {
+            patch.putBytes(patchLimit, OP_END);
+            patchLimit += OP_END.length;
+        }
+    }
+
+    private void writeByte(
+        char ch)
+    {
+        patch.putByte(patchLimit++, (byte) ch);
+    }
+
+    private static boolean isUnicodeEscape(
+        DirectBuffer buffer,
+        int index,
+        int limit,
+        char hex2,
+        char hex3)
+    {
+        return index + 5 < limit &&
+               buffer.getByte(index + 1) == 'u' &&
+               buffer.getByte(index + 2) == '0' &&
+               buffer.getByte(index + 3) == '0' &&
+               buffer.getByte(index + 4) == hex2 &&
+               (buffer.getByte(index + 5) | 0x20) == hex3;
+    }
+
+    private static boolean matches(
+        DirectBuffer buffer1,
+        int start1,
+        int end1,
+        DirectBuffer buffer2,
+        int start2,
+        int end2)
+    {
+        boolean matches = end1 - start1 == end2 - start2;
+
+        for (int index1 = start1, index2 = start2; matches && index1 < end1; index1++, index2++)
+        {
+            matches = buffer1.getByte(index1) == buffer2.getByte(index2);
+        }
+
+        return matches;
+    }
+
+    private static int nextMember(
+        DirectBuffer buffer,
+        int valueEnd,
+        int limit)
+    {
+        final int next = skipWhitespace(buffer, valueEnd, limit);
+        return buffer.getByte(next) == ',' ? skipWhitespace(buffer, next + 1, limit) : next;
+    }
+
+    private static int skipWhitespace(
+        DirectBuffer buffer,
+        int index,
+        int limit)
+    {
+        while (index < limit)
+        {
+            final byte ch = buffer.getByte(index);
+            if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r')
+            {
+                break;
+            }
+            index++;
+        }
+
+        return index;
+    }
+
+    private static int skipValue(
+        DirectBuffer buffer,
+        int index,
+        int limit,
+        int depth)
+    {
+        int end = MALFORMED;
+
+        if (index < limit)
+        {
+            switch (buffer.getByte(index))
+            {
+            case '{':
+                end = depth < MAX_DEPTH ? skipObject(buffer, index, limit, depth) : MALFORMED;
+                break;
+            case '[':
+                end = depth < MAX_DEPTH ? skipArray(buffer, index, limit, depth) : MALFORMED;
+                break;
+            case '"':
+                end = skipString(buffer, index, limit);
+                break;
+            case 't':
+                end = skipLiteral(buffer, index, limit, LITERAL_TRUE);
+                break;
+            case 'f':
+                end = skipLiteral(buffer, index, limit, LITERAL_FALSE);
+                break;
+            case 'n':
+                end = skipLiteral(buffer, index, limit, LITERAL_NULL);
+                break;
+            default:
+                end = skipNumber(buffer, index, limit);
+                break;
+            }
+        }
+
+        return end;
+    }
+
+    private static int skipObject(
+        DirectBuffer buffer,
+        int index,
+        int limit,
+        int depth)
+    {
+        int end = MALFORMED;
+
+        index = skipWhitespace(buffer, index + 1, limit);
+
+        if (index < limit && buffer.getByte(index) == '}')
+        {
+            end = index + 1;
+        }
+        else
+        {
+            while (index < limit && buffer.getByte(index) == '"')
+            {
+                index = skipString(buffer, index, limit);
+                if (index == MALFORMED)
+                {
+                    break;
+                }
+
+                index = skipWhitespace(buffer, index, limit);
+                if (index >= limit || buffer.getByte(index) != ':')
+                {
+                    break;
+                }
+
+                index = skipValue(buffer, skipWhitespace(buffer, index + 1, limit), limit, depth + 1);
+                if (index == MALFORMED)
+                {
+                    break;
+                }
+
+                index = skipWhitespace(buffer, index, limit);
+                if (index < limit && buffer.getByte(index) == '}')
+                {
+                    end = index + 1;
+                    break;
+                }
+
+                if (index >= limit || buffer.getByte(index) != ',')
+                {
+                    break;
+                }
+
+                index = skipWhitespace(buffer, index + 1, limit);
+            }
+        }
+
+        return end;
+    }
+
+    private static int skipArray(
+        DirectBuffer buffer,
+        int index,
+        int limit,
+        int depth)
+    {
+        int end = MALFORMED;
+
+        index = skipWhitespace(buffer, index + 1, limit);
+
+        if (index < limit && buffer.getByte(index) == ']')
+        {
+            end = index + 1;
+        }
+        else
+        {
+            while (index < limit)
+            {
+                index = skipValue(buffer, index, limit, depth + 1);
+                if (index == MALFORMED)
+                {
+                    break;
+                }
+
+                index = skipWhitespace(buffer, index, limit);
+                if (index < limit && buffer.getByte(index) == ']')
+                {
+                    end = index + 1;
+                    break;
+                }
+
+                if (index >= limit || buffer.getByte(index) != ',')
+                {
+                    break;
+                }
+
+                index = skipWhitespace(buffer, index + 1, limit);
+            }
+        }
+
+        return end;
+    }
+
+    private static int skipString(
+        DirectBuffer buffer,
+        int index,
+        int limit)
+    {
+        int end = MALFORMED;
+
+        for (index++; index < limit; index++)
+        {
+            final byte ch = buffer.getByte(index);
+
+            if (ch == '"')
+            {
+                end = index + 1;
+                break;
+            }
+            else if (ch == '\\')
+            {
+                index++;
+            }
+            else if (ch >= 0 && ch < 0x20)
+            {
+                break;
+            }
+        }
+
+        return end;
+    }
+
+    private static int skipLiteral(
+        DirectBuffer buffer,
+        int index,
+        int limit,
+        byte[] literal)
+    {
+        int end = index + literal.length;
+
+        for (int i = 0; end != MALFORMED && i < literal.length; i++)
+        {
+            if (index + i >= limit || buffer.getByte(index + i) != literal[i])
+            {
+                end = MALFORMED;
+            }
+        }
+
+        return end;
+    }
+
+    private static int skipNumber(
+        DirectBuffer buffer,
+        int index,
+        int limit)
+    {
+        final int start = index;
+
+        while (index < limit)
+        {
+            final byte ch = buffer.getByte(index);
+            if ((ch < '0' || ch > '9') && ch != '-' && ch != '+' && ch != '.' && ch != 'e' && ch != 'E')
+            {
+                break;
+            }
+            index++;
+        }
+
+        return index != start ? index : MALFORMED;
+    }
+}
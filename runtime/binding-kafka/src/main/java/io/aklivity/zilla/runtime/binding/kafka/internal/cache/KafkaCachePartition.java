@@ -19,6 +19,7 @@ import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheC
 import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheCursorRecord.RETRY_SEGMENT_VALUE;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheCursorRecord.cursorValue;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheIndexRecord.SIZEOF_INDEX_RECORD;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheJsonDiff.NO_PATCH;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaDeltaType.JSON_PATCH;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.cache.KafkaCacheEntryFW.FIELD_OFFSET_ACKNOWLEDGE;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.cache.KafkaCacheEntryFW.FIELD_OFFSET_ACK_MODE;
@@ -35,33 +36,33 @@ import static io.aklivity.zilla.runtime.binding.kafka.internal.types.cache.Kafka
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.cache.KafkaCacheEntryFW.FIELD_OFFSET_SEQUENCE;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.cache.KafkaCacheEntryFW.FIELD_OFFSET_TIMESTAMP;
 import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Objects.requireNonNull;
 import static org.agrona.BitUtil.SIZE_OF_INT;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.IntFunction;
+import java.util.stream.Stream;
 import java.util.zip.CRC32C;
 
-import jakarta.json.JsonArray;
-import jakarta.json.JsonPatch;
-import jakarta.json.JsonReader;
-import jakarta.json.JsonStructure;
-import jakarta.json.JsonWriter;
-import jakarta.json.spi.JsonProvider;
-
 import org.agrona.DirectBuffer;
 import org.agrona.ExpandableArrayBuffer;
 import org.agrona.LangUtil;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.LongArrayList;
+import org.agrona.collections.LongHashSet;
 import org.agrona.collections.MutableInteger;
+import org.agrona.collections.MutableLong;
 import org.agrona.concurrent.UnsafeBuffer;
-import org.agrona.io.DirectBufferInputStream;
-import org.agrona.io.ExpandableDirectBufferOutputStream;
 
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.Array32FW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.ArrayFW;
@@ -89,6 +90,13 @@ public final class KafkaCachePartition
     private static final int NO_CONVERTED_POSITION = -1;
     private static final int NO_DELTA_POSITION = -1;
 
+    private static final String CLEAN_DIRECTORY = "clean";
+    private static final String RECOVER_DIRECTORY = "recover";
+    private static final String COMMIT_FILENAME = "commit";
+    private static final int CLEAN_STATE_IDLE = 0;
+    private static final int CLEAN_STATE_RUNNING = 1;
+    private static final int CLEAN_STATE_DONE = 2;
+
     private static final String FORMAT_FETCH_PARTITION_DIRECTORY = "%s-%d";
     private static final String FORMAT_PRODUCE_PARTITION_DIRECTORY = "%s-%d-%d";
 
@@ -120,10 +128,8 @@ public final class KafkaCachePartition
     private final Varint32FW.Builder varIntRW = new Varint32FW.Builder().wrap(new UnsafeBuffer(new byte[5]), 0, 5);
     private final Array32FW<KafkaHeaderFW> headersRO = new Array32FW<KafkaHeaderFW>(new KafkaHeaderFW());
 
-    private final DirectBufferInputStream ancestorIn = new DirectBufferInputStream();
-    private final DirectBufferInputStream headIn = new DirectBufferInputStream();
     private final MutableDirectBuffer diffBuffer = new ExpandableArrayBuffer();
-    private final ExpandableDirectBufferOutputStream diffOut = new ExpandableDirectBufferOutputStream();
+    private final KafkaCacheJsonDiff jsonDiff = new KafkaCacheJsonDiff();
 
     private final Path location;
     private final KafkaCacheTopicConfig config;
@@ -135,6 +141,8 @@ public final class KafkaCachePartition
     private final Node sentinel;
     private final CRC32C checksum;
 
+    private MutableDirectBuffer cleanBuf;
+
     private long progress;
 
     private KafkaCacheEntryFW ancestorEntry;
@@ -224,6 +232,54 @@ public final class KafkaCachePartition
         return head == sentinel ? defaultOffset.value() : head.segment().nextOffset();
     }
 
+    public void recover()
+    {
+        assert sentinel.next == sentinel;
+
+        recoverFiles(location.resolve(CLEAN_DIRECTORY));
+        recoverFiles(location.resolve(RECOVER_DIRECTORY));
+
+        boolean recovering = true;
+        final LongArrayList baseOffsets = KafkaCacheFile.baseOffsets(location);
+        for (int index = 0; index < baseOffsets.size(); index++)
+        {
+            final long baseOffset = baseOffsets.getLong(index);
+
+            KafkaCacheSegment segment = null;
+            if (recovering && baseOffset > progress)
+            {
+                if (KafkaCacheFile.frozen(location, baseOffset))
+                {
+                    segment = recoverFrozen(baseOffset);
+                }
+
+                if (segment == null)
+                {
+                    segment = recoverEntries(baseOffset);
+
+                    // entries after a torn segment cannot be trusted to follow on without a gap
+                    recovering = false;
+                }
+            }
+
+            if (segment == null)
+            {
+                KafkaCacheFile.delete(location, baseOffset);
+            }
+            else
+            {
+                final Node head = sentinel.previous;
+                final Node node = new Node(segment);
+                node.previous = head;
+                node.next = sentinel;
+                node.previous.next = node;
+                node.next.previous = node;
+
+                progress = segment.lastOffset();
+            }
+        }
+    }
+
     public Node append(
         long offset)
     {
@@ -598,29 +654,23 @@ public final class KafkaCachePartition
             final OctetsFW headValue = headEntry.value();
             assert headEntry.offset$() == progress;
 
-            final JsonProvider json = JsonProvider.provider();
-            ancestorIn.wrap(ancestorValue.buffer(), ancestorValue.offset(), ancestorValue.sizeof());
-            final JsonReader ancestorReader = json.createReader(ancestorIn);
-            final JsonStructure ancestorJson = ancestorReader.read();
-            ancestorReader.close();
-
-            headIn.wrap(headValue.buffer(), headValue.offset(), headValue.sizeof());
-            final JsonReader headReader = json.createReader(headIn);
-            final JsonStructure headJson = headReader.read();
-            headReader.close();
-
-            final JsonPatch diff = json.createDiff(ancestorJson, headJson);
-            final JsonArray diffJson = diff.toJsonArray();
-            diffOut.wrap(diffBuffer, Integer.BYTES);
-            final JsonWriter writer = json.createWriter(diffOut);
-            writer.write(diffJson);
-            writer.close();
+            final int deltaLength = jsonDiff.diff(
+                ancestorValue.buffer(), ancestorValue.offset(), ancestorValue.sizeof(),
+                headValue.buffer(), headValue.offset(), headValue.sizeof(),
+                diffBuffer, Integer.BYTES);
 
             // TODO: signal delta.sizeof > head.sizeof via null delta, otherwise delta file can exceed log file
 
-            final int deltaLength = diffOut.position();
-            diffBuffer.putInt(0, deltaLength);
-            deltaFile.appendBytes(diffBuffer, 0, Integer.BYTES + deltaLength);
+            if (deltaLength != NO_PATCH)
+            {
+                diffBuffer.putInt(0, deltaLength);
+                deltaFile.appendBytes(diffBuffer, 0, Integer.BYTES + deltaLength);
+            }
+            else
+            {
+                // null delta, head value is delivered instead
+                deltaFile.appendInt(-1);
+            }
         }
 
         headSegment.lastOffset(progress);
@@ -889,8 +939,16 @@ public final class KafkaCachePartition
         // TODO: compute null key hash in advance
         final DirectBuffer buffer = keyOrHeader.buffer();
         final ByteBuffer byteBuffer = buffer.byteBuffer();
-        byteBuffer.clear();
         assert byteBuffer != null;
+        return computeHash(checksum, byteBuffer, keyOrHeader);
+    }
+
+    private static long computeHash(
+        CRC32C checksum,
+        ByteBuffer byteBuffer,
+        Flyweight keyOrHeader)
+    {
+        byteBuffer.clear();
         checksum.reset();
         byteBuffer.position(keyOrHeader.offset());
         byteBuffer.limit(keyOrHeader.limit());
@@ -898,12 +956,301 @@ public final class KafkaCachePartition
         return checksum.getValue();
     }
 
+    private KafkaCacheSegment recoverFrozen(
+        long baseOffset)
+    {
+        final long timestamp = KafkaCacheFile.modifiedAt(location, baseOffset);
+        KafkaCacheSegment segment = new KafkaCacheSegment(location, topic, id, baseOffset, progress, timestamp);
+
+        final KafkaCacheFile logFile = segment.logFile();
+        final KafkaCacheFile convertedFile = segment.convertedFile();
+        final KafkaCacheFile deltaFile = segment.deltaFile();
+        final KafkaCacheBloomFile hashBloomFile = segment.hashBloomFile();
+        final ByteBuffer logByteBuf = logFile.buffer().byteBuffer().duplicate();
+        final LongHashSet keyHashes = new LongHashSet();
+        final MutableLong hashSum = new MutableLong();
+        final MutableInteger hashes = new MutableInteger();
+        final MutableInteger hashesMissing = new MutableInteger();
+
+        long lastOffset = progress;
+        int entries = 0;
+        int nulls = 0;
+        int logPosition = 0;
+        while (logPosition < logFile.capacity())
+        {
+            final KafkaCacheEntryFW logEntry = logFile.readBytes(logPosition, logEntryRO::tryWrap);
+            if (logEntry == null ||
+                !recoverable(logEntry, baseOffset, lastOffset, convertedFile, deltaFile))
+            {
+                break;
+            }
+
+            final int entryAt = logPosition;
+            final long keyHash = computeHash(checksum, logByteBuf, logEntry.key());
+            keyHashes.add(keyHash);
+            hashSum.value += keyHash << 32 | entryAt;
+            hashes.value++;
+            hashesMissing.value += hashBloomFile.mightContain((int) keyHash) ? 0 : 1;
+
+            logEntry.headers().forEach(header ->
+            {
+                final long headerHash = computeHash(checksum, logByteBuf, header);
+                hashSum.value += headerHash << 32 | entryAt;
+                hashes.value++;
+                hashesMissing.value += hashBloomFile.mightContain((int) headerHash) ? 0 : 1;
+            });
+
+            if (logEntry.valueLen() == -1)
+            {
+                nulls++;
+            }
+
+            lastOffset = logEntry.offset$();
+            logPosition = logEntry.limit();
+            entries++;
+        }
+
+        if (entries != 0 &&
+            logPosition == logFile.capacity())
+        {
+            long keysSum = 0L;
+            for (LongHashSet.LongIterator i = keyHashes.iterator(); i.hasNext(); )
+            {
+                keysSum += i.nextValue() << 32;
+            }
+
+            final boolean indexed =
+                segment.indexFile().capacity() == entries * Long.BYTES &&
+                segment.hashFile().capacity() == hashes.value * Long.BYTES &&
+                sumEntries(segment.hashFile()) == hashSum.value &&
+                hashBloomFile.capacity() == KafkaCacheBloomFile.capacity(hashes.value) &&
+                hashesMissing.value == 0 &&
+                segment.keysFile().capacity() == keyHashes.size() * Long.BYTES &&
+                sumEntries(segment.keysFile()) == keysSum &&
+                segment.nullsFile().capacity() == nulls * Long.BYTES;
+
+            if (indexed)
+            {
+                segment.lastOffset(lastOffset);
+            }
+            else
+            {
+                // log is intact, so rebuild the derived files without treating the segment as torn
+                segment.close();
+                segment = recoverEntries(baseOffset);
+            }
+        }
+        else
+        {
+            segment.close();
+            segment = null;
+        }
+
+        return segment;
+    }
+
+    private KafkaCacheSegment recoverEntries(
+        long baseOffset)
+    {
+        KafkaCacheSegment segment = null;
+
+        if (KafkaCacheFile.appendable(location, baseOffset))
+        {
+            final long timestamp = KafkaCacheFile.modifiedAt(location, baseOffset);
+            final Path recoverLocation = createDirectories(location.resolve(RECOVER_DIRECTORY));
+            deleteFiles(recoverLocation);
+
+            final KafkaCacheFile logFile = new KafkaCacheFile.Log(location, baseOffset);
+            final KafkaCacheFile convertedFile = new KafkaCacheFile.Converted(location, baseOffset);
+            final KafkaCacheFile deltaFile = new KafkaCacheFile.Delta(location, baseOffset);
+            final KafkaCacheSegment appender = new KafkaCacheSegment(recoverLocation, config, topic, id, baseOffset,
+                appendBuf, sortSpaceRef);
+            final ByteBuffer logByteBuf = logFile.buffer().byteBuffer().duplicate();
+
+            long lastOffset = progress;
+            for (int logPosition = 0; logPosition < logFile.capacity(); )
+            {
+                final KafkaCacheEntryFW logEntry = logFile.readBytes(logPosition, logEntryRO::tryWrap);
+                if (logEntry == null ||
+                    !recoverable(logEntry, baseOffset, lastOffset, convertedFile, deltaFile))
+                {
+                    break;
+                }
+
+                appendEntry(appender, logEntry, baseOffset, timestamp, logByteBuf,
+                    convertedFile, deltaFile, deltaEntryRO, checksum);
+
+                lastOffset = logEntry.offset$();
+                logPosition = logEntry.limit();
+            }
+
+            final KafkaCacheSegment frozen = appender.freeze();
+            appender.close();
+
+            final boolean empty = frozen.logFile().empty();
+            frozen.close();
+
+            logFile.close();
+            convertedFile.close();
+            deltaFile.close();
+
+            if (empty)
+            {
+                KafkaCacheFile.delete(location, baseOffset);
+                deleteFiles(recoverLocation);
+            }
+            else
+            {
+                forceFiles(recoverLocation);
+                commitFiles(recoverLocation);
+                KafkaCacheFile.delete(location, baseOffset);
+                moveFiles(recoverLocation, location);
+                segment = new KafkaCacheSegment(location, topic, id, baseOffset, lastOffset, timestamp);
+            }
+        }
+
+        return segment;
+    }
+
+    private boolean recoverable(
+        KafkaCacheEntryFW logEntry,
+        long baseOffset,
+        long lastOffset,
+        KafkaCacheFile convertedFile,
+        KafkaCacheFile deltaFile)
+    {
+        final long offset = logEntry.offset$();
+        final int convertedPosition = logEntry.convertedPosition();
+        final int deltaPosition = logEntry.deltaPosition();
+
+        return offset >= baseOffset &&
+               offset > lastOffset &&
+               (convertedPosition == NO_CONVERTED_POSITION ||
+                convertedLength(convertedFile, convertedPosition) != -1) &&
+               (deltaPosition == NO_DELTA_POSITION ||
+                deltaPosition >= 0 && deltaFile.readBytes(deltaPosition, deltaEntryRO::tryWrap) != null);
+    }
+
+    private static void appendEntry(
+        KafkaCacheSegment appender,
+        KafkaCacheEntryFW logEntry,
+        long baseOffset,
+        long timestamp,
+        ByteBuffer logByteBuf,
+        KafkaCacheFile convertedFile,
+        KafkaCacheFile deltaFile,
+        KafkaCacheDeltaFW deltaEntryRO,
+        CRC32C checksum)
+    {
+        final long logOffset = logEntry.offset$();
+        final KafkaKeyFW key = logEntry.key();
+        final ArrayFW<KafkaHeaderFW> headers = logEntry.headers();
+        final int convertedPosition = logEntry.convertedPosition();
+        final int deltaPosition = logEntry.deltaPosition();
+        final long keyHash = computeHash(checksum, logByteBuf, key);
+        final int newLogEntryAt = appender.logFile().capacity();
+
+        final long offsetDelta = (int)(logOffset - baseOffset);
+        final long indexEntry = (offsetDelta << 32) | newLogEntryAt;
+        appender.indexFile().appendLong(indexEntry);
+
+        final long keyHashEntry = keyHash << 32 | newLogEntryAt;
+        appender.hashFile().appendLong(keyHashEntry);
+
+        headers.forEach(header ->
+        {
+            final long headerHash = computeHash(checksum, logByteBuf, header);
+            final long headerHashEntry = headerHash << 32 | newLogEntryAt;
+            appender.hashFile().appendLong(headerHashEntry);
+        });
+
+        if (logEntry.valueLen() == -1)
+        {
+            final int timestampDelta = (int)((logEntry.timestamp() - timestamp) & 0xFFFF_FFFFL);
+            final long nullsEntry = timestampDelta << 32 | newLogEntryAt;
+            appender.nullsFile().appendLong(nullsEntry);
+        }
+
+        // note: keys cleanup must also retain non-zero base offsets when spanning multiple segments
+        final int deltaBaseOffset = 0;
+        final long keyEntry = keyHash << 32 | deltaBaseOffset;
+        appender.keysFile().appendLong(keyEntry);
+
+        appender.logFile().appendBytes(logEntry);
+
+        if (convertedPosition != NO_CONVERTED_POSITION)
+        {
+            appender.logFile().writeInt(newLogEntryAt + FIELD_OFFSET_CONVERTED_POSITION,
+                appender.convertedFile().capacity());
+
+            final int convertedLength = convertedLength(convertedFile, convertedPosition);
+            appender.convertedFile().appendBytes(convertedFile.buffer(), convertedPosition, convertedLength);
+        }
+
+        if (deltaPosition != NO_DELTA_POSITION)
+        {
+            appender.logFile().writeInt(newLogEntryAt + FIELD_OFFSET_DELTA_POSITION,
+                appender.deltaFile().capacity());
+
+            final KafkaCacheDeltaFW deltaEntry = deltaFile.readBytes(deltaPosition, deltaEntryRO::wrap);
+            appender.deltaFile().appendBytes(deltaEntry);
+        }
+
+        appender.lastOffset(logOffset);
+    }
+
+    private static long sumEntries(
+        KafkaCacheFile indexFile)
+    {
+        long sum = 0L;
+
+        for (int position = 0; position < indexFile.capacity(); position += Long.BYTES)
+        {
+            sum += indexFile.readLong(position);
+        }
+
+        return sum;
+    }
+
+    private static int convertedLength(
+        KafkaCacheFile convertedFile,
+        int position)
+    {
+        final int capacity = convertedFile.capacity();
+
+        int convertedLength = -1;
+        if (position >= 0 && position <= capacity - SIZE_OF_INT * 2)
+        {
+            final int valueLength = convertedFile.readInt(position);
+            if (valueLength >= 0 && valueLength <= capacity - position - SIZE_OF_INT * 2)
+            {
+                final int paddingAt = position + SIZE_OF_INT + valueLength;
+                final int padding = convertedFile.readInt(paddingAt);
+                if (padding >= 0 && padding <= capacity - paddingAt - SIZE_OF_INT)
+                {
+                    convertedLength = SIZE_OF_INT * 2 + valueLength + padding;
+                }
+            }
+        }
+
+        return convertedLength;
+    }
+
     public final class Node
     {
         private volatile KafkaCacheSegment segment;
         private volatile KafkaCachePartition.Node previous;
         private volatile KafkaCachePartition.Node next;
 
+        private final LongArrayList cleanMarks = new LongArrayList();
+        private volatile int cleanState = CLEAN_STATE_IDLE;
+        private volatile boolean cleanStale;
+        private boolean cleanAbandoned;
+        private KafkaCacheSegment cleanSource;
+        private Throwable cleanFailure;
+        private long cleanLastOffset;
+        private boolean cleanEmpty;
+
         Node()
         {
             this.segment = null;
@@ -972,77 +1319,250 @@ public final class KafkaCachePartition
 
         public void clean(
             long now)
+        {
+            if (cleanStart(now))
+            {
+                cleanFiles();
+                cleanFinish();
+            }
+        }
+
+        public boolean cleanStart(
+            long now)
         {
             assert next != sentinel; // not head segment
 
-            if (segment.cleanableAt() <= now)
+            if (cleanState == CLEAN_STATE_DONE)
             {
-                // TODO: use temporary files plus move to avoid corrupted log on restart
-                segment.delete();
+                cleanFinish();
+            }
 
-                final KafkaCacheSegment appender = new KafkaCacheSegment(segment, config, appendBuf, sortSpaceRef);
-                final KafkaCacheFile logFile = segment.logFile();
-                final KafkaCacheFile deltaFile = segment.deltaFile();
+            boolean started = false;
 
-                for (int logPosition = 0; logPosition < logFile.capacity(); )
+            if (cleanState == CLEAN_STATE_IDLE &&
+                segment.cleanableAt() <= now)
+            {
+                final KafkaCacheSegment source = segment.acquire();
+                if (source != null)
                 {
-                    final KafkaCacheEntryFW logEntry = logFile.readBytes(logPosition, logEntryRO::wrap);
-                    if ((logEntry.flags() & CACHE_ENTRY_FLAGS_DIRTY) == 0)
+                    if (cleanBuf == null)
                     {
-                        final long logOffset = logEntry.offset$();
-                        final KafkaKeyFW key = logEntry.key();
-                        final ArrayFW<KafkaHeaderFW> headers = logEntry.headers();
-                        final int deltaPosition = logEntry.deltaPosition();
-                        final long keyHash = computeHash(key);
-
-                        final long offsetDelta = (int)(logOffset - segment.baseOffset());
-                        final long indexEntry = (offsetDelta << 32) | appender.logFile().capacity();
-                        appender.indexFile().appendLong(indexEntry);
+                        cleanBuf = new UnsafeBuffer(allocateDirect(appendBuf.capacity()));
+                    }
 
-                        final long keyHashEntry = keyHash << 32 | appender.logFile().capacity();
-                        appender.hashFile().appendLong(keyHashEntry);
+                    cleanSource = source;
+                    cleanStale = false;
+                    cleanAbandoned = false;
+                    cleanState = CLEAN_STATE_RUNNING;
+                    started = true;
+                }
+            }
 
-                        headers.forEach(header ->
-                        {
-                            final long headerHash = computeHash(header);
-                            final long headerHashEntry = headerHash << 32 | appender.logFile().capacity();
-                            appender.hashFile().appendLong(headerHashEntry);
-                        });
+            return started;
+        }
 
-                        appender.logFile().appendBytes(logEntry);
-                        if (deltaPosition != -1)
-                        {
-                            final int newLogEntryAt = appender.logFile().capacity() - logEntry.sizeof();
-                            appender.logFile().writeInt(newLogEntryAt + FIELD_OFFSET_DELTA_POSITION, deltaFile.capacity());
+        public boolean cleaning()
+        {
+            return cleanState != CLEAN_STATE_IDLE;
+        }
 
-                            final KafkaCacheDeltaFW deltaEntry = deltaFile.readBytes(deltaPosition, deltaEntryRO::wrap);
-                            appender.deltaFile().appendBytes(deltaEntry);
-                        }
+        public void cleanFiles()
+        {
+            assert cleanState == CLEAN_STATE_RUNNING;
 
-                        // note: keys cleanup must also retain non-zero base offsets when spanning multiple segments
-                        final int deltaBaseOffset = 0;
-                        final long keyEntry = keyHash << 32 | deltaBaseOffset;
-                        appender.keysFile().appendLong(keyEntry);
+            try
+            {
+                final KafkaCacheSegment source = cleanSource;
+                final KafkaCacheEntryFW logEntryRO = new KafkaCacheEntryFW();
+                final KafkaCacheDeltaFW deltaEntryRO = new KafkaCacheDeltaFW();
+                final CRC32C checksum = new CRC32C();
+
+                final Path cleanLocation = createDirectories(location.resolve(CLEAN_DIRECTORY));
+                final KafkaCacheSegment appender = new KafkaCacheSegment(cleanLocation, config, source.name(),
+                    source.id(), source.baseOffset(), cleanBuf, sortSpaceRef);
+                final KafkaCacheFile logFile = source.logFile();
+                final KafkaCacheFile convertedFile = source.convertedFile();
+                final KafkaCacheFile deltaFile = source.deltaFile();
+                final ByteBuffer logByteBuf = logFile.buffer().byteBuffer().duplicate();
 
-                        appender.lastOffset(logOffset);
+                for (int logPosition = 0; logPosition < logFile.capacity(); )
+                {
+                    final KafkaCacheEntryFW logEntry = logFile.readBytes(logPosition, logEntryRO::wrap);
+                    if ((logEntry.flags() & CACHE_ENTRY_FLAGS_DIRTY) == 0)
+                    {
+                        appendEntry(appender, logEntry, source.baseOffset(), source.timestamp(), logByteBuf,
+                            convertedFile, deltaFile, deltaEntryRO, checksum);
                     }
 
                     logPosition = logEntry.limit();
                 }
 
-                segment.close();
-
                 final KafkaCacheSegment frozen = appender.freeze();
                 appender.close();
 
-                if (frozen.logFile().empty())
+                cleanLastOffset = frozen.lastOffset();
+                cleanEmpty = frozen.logFile().empty();
+                frozen.close();
+
+                if (!cleanEmpty)
+                {
+                    forceFiles(cleanLocation);
+                }
+            }
+            catch (Throwable ex)
+            {
+                cleanFailure = ex;
+            }
+            finally
+            {
+                final boolean abandoned;
+                synchronized (cleanMarks)
                 {
-                    frozen.delete();
-                    remove();
+                    abandoned = cleanAbandoned;
+                    if (!abandoned)
+                    {
+                        cleanState = CLEAN_STATE_DONE;
+                    }
+                }
+
+                if (abandoned)
+                {
+                    cleanDiscard();
+                }
+            }
+        }
+
+        public void cleanAbandon()
+        {
+            final boolean done;
+            synchronized (cleanMarks)
+            {
+                cleanAbandoned = cleanState == CLEAN_STATE_RUNNING;
+                done = cleanState == CLEAN_STATE_DONE;
+            }
+
+            if (done)
+            {
+                cleanFinish();
+            }
+        }
+
+        private void cleanDiscard()
+        {
+            final KafkaCacheSegment source = cleanSource;
+
+            cleanSource = null;
+            cleanFailure = null;
+
+            try
+            {
+                deleteFiles(location.resolve(CLEAN_DIRECTORY));
+            }
+            finally
+            {
+                cleanMarks(null);
+                source.release();
+            }
+        }
+
+        public void cleanFinish()
+        {
+            assert cleanState == CLEAN_STATE_DONE;
+
+            final KafkaCacheSegment source = cleanSource;
+            final Throwable failure = cleanFailure;
+            final Path cleanLocation = location.resolve(CLEAN_DIRECTORY);
+
+            cleanSource = null;
+            cleanFailure = null;
+
+            if (failure != null ||
+                cleanStale ||
+                source != segment ||
+                previous.next != this)
+            {
+                deleteFiles(cleanLocation);
+                cleanMarks(null);
+            }
+            else if (cleanEmpty)
+            {
+                deleteFiles(cleanLocation);
+                cleanMarks(null);
+                remove();
+            }
+            else
+            {
+                commitFiles(cleanLocation);
+                moveFiles(cleanLocation, location);
+
+                final KafkaCacheSegment cleaned =
+                    new KafkaCacheSegment(location, source.name(), source.id(), source.baseOffset(), cleanLastOffset);
+                segment(cleaned);
+                cleanMarks(cleaned);
+            }
+
+            source.release();
+
+            if (failure != null)
+            {
+                LangUtil.rethrowUnchecked(failure);
+            }
+        }
+
+        private void cleanMarks(
+            KafkaCacheSegment cleaned)
+        {
+            synchronized (cleanMarks)
+            {
+                cleanState = CLEAN_STATE_IDLE;
+
+                if (cleaned != null)
+                {
+                    final KafkaCacheIndexFile indexFile = cleaned.indexFile();
+                    final KafkaCacheFile logFile = cleaned.logFile();
+
+                    for (int index = 0; index < cleanMarks.size(); index += 2)
+                    {
+                        final long offset = cleanMarks.getLong(index);
+                        final long descendantOffset = cleanMarks.getLong(index + 1);
+
+                        final int offsetDelta = (int)(offset - cleaned.baseOffset());
+                        final int position = cursorValue(indexFile.first(offsetDelta));
+                        if (position != NEXT_SEGMENT_VALUE && position != RETRY_SEGMENT_VALUE)
+                        {
+                            final KafkaCacheEntryFW entry = logFile.readBytes(position, logEntryRO::tryWrap);
+                            if (entry != null &&
+                                entry.offset$() == offset &&
+                                (entry.flags() & CACHE_ENTRY_FLAGS_DIRTY) == 0)
+                            {
+                                if (descendantOffset != NO_DESCENDANT_OFFSET)
+                                {
+                                    logFile.writeLong(entry.offset() + FIELD_OFFSET_DESCENDANT, descendantOffset);
+                                }
+                                logFile.writeInt(entry.offset() + FIELD_OFFSET_FLAGS, CACHE_ENTRY_FLAGS_DIRTY);
+                                cleaned.markDirtyBytes(entry.sizeof());
+                            }
+                        }
+                    }
                 }
-                else
+
+                cleanMarks.clear();
+            }
+        }
+
+        private void cleanMark(
+            KafkaCacheEntryFW entry,
+            long descendantOffset)
+        {
+            if (cleanState != CLEAN_STATE_IDLE)
+            {
+                synchronized (cleanMarks)
                 {
-                    segment(frozen);
+                    if (cleanState != CLEAN_STATE_IDLE)
+                    {
+                        cleanMarks.addLong(entry.offset$());
+                        cleanMarks.addLong(descendantOffset);
+                    }
                 }
             }
         }
@@ -1059,6 +1579,7 @@ public final class KafkaCachePartition
                 if (entry.ownerId() == producerId && (entry.flags() & CACHE_ENTRY_FLAGS_CONTROL) == 0x00)
                 {
                     logFile.writeInt(entry.offset() + FIELD_OFFSET_FLAGS, CACHE_ENTRY_FLAGS_ABORTED);
+                    cleanStale |= cleanState != CLEAN_STATE_IDLE;
                 }
             }
         }
@@ -1072,7 +1593,7 @@ public final class KafkaCachePartition
             KafkaCacheEntryFW ancestor = null;
 
             ancestor:
-            if (key.length() != -1)
+            if (key.length() != -1 && segment.mightContainHash((int) hash))
             {
                 final KafkaCacheIndexFile hashFile = segment.hashFile();
                 final KafkaCacheFile logFile = segment.logFile();
@@ -1124,6 +1645,7 @@ public final class KafkaCachePartition
             logFile.writeLong(ancestor.offset() + FIELD_OFFSET_DESCENDANT, descendantOffset);
             logFile.writeInt(ancestor.offset() + FIELD_OFFSET_FLAGS, CACHE_ENTRY_FLAGS_DIRTY);
             segment.markDirtyBytes(ancestor.sizeof());
+            cleanMark(ancestor, descendantOffset);
         }
 
         public void markDirty(
@@ -1132,6 +1654,7 @@ public final class KafkaCachePartition
             final KafkaCacheFile logFile = segment.logFile();
             logFile.writeInt(entry.offset() + FIELD_OFFSET_FLAGS, CACHE_ENTRY_FLAGS_DIRTY);
             segment.markDirtyBytes(entry.sizeof());
+            cleanMark(entry, NO_DESCENDANT_OFFSET);
         }
 
         @Override
@@ -1154,6 +1677,95 @@ public final class KafkaCachePartition
         }
     }
 
+    private void recoverFiles(
+        Path staging)
+    {
+        if (Files.exists(staging))
+        {
+            if (Files.exists(staging.resolve(COMMIT_FILENAME)))
+            {
+                // finish a publish interrupted after commit, so no segment is left half replaced
+                moveFiles(staging, location);
+            }
+            else
+            {
+                deleteFiles(staging);
+            }
+        }
+    }
+
+    private static void forceFiles(
+        Path directory)
+    {
+        try (Stream<Path> files = Files.list(directory))
+        {
+            for (Path file : (Iterable<Path>) files::iterator)
+            {
+                try (FileChannel channel = FileChannel.open(file, WRITE))
+                {
+                    channel.force(true);
+                }
+            }
+        }
+        catch (IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+
+    private static void commitFiles(
+        Path directory)
+    {
+        try (FileChannel channel = FileChannel.open(directory.resolve(COMMIT_FILENAME), CREATE, WRITE))
+        {
+            channel.force(true);
+        }
+        catch (IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+
+    private static void moveFiles(
+        Path source,
+        Path target)
+    {
+        final Path commit = source.resolve(COMMIT_FILENAME);
+
+        try (Stream<Path> files = Files.list(source))
+        {
+            for (Path file : (Iterable<Path>) files::iterator)
+            {
+                if (!file.equals(commit))
+                {
+                    Files.move(file, target.resolve(file.getFileName()), REPLACE_EXISTING, ATOMIC_MOVE);
+                }
+            }
+
+            Files.deleteIfExists(commit);
+        }
+        catch (IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+
+    private static void deleteFiles(
+        Path directory)
+    {
+        try (Stream<Path> files = Files.list(directory))
+        {
+            for (Path file : (Iterable<Path>) files::iterator)
+            {
+                Files.deleteIfExists(file);
+            }
+        }
+        catch (IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+    }
+
     private static Path createDirectories(
         Path directory)
     {
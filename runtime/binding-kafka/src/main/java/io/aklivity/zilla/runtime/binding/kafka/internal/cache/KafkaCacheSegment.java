@@ -39,6 +39,7 @@ public final class KafkaCacheSegment extends KafkaCacheObject<KafkaCacheSegment>
     private final KafkaCacheFile deltaFile;
     private final KafkaCacheIndexFile indexFile;
     private final KafkaCacheIndexFile hashFile;
+    private final KafkaCacheBloomFile hashBloomFile;
     private final KafkaCacheIndexFile keysFile;
     private final KafkaCacheIndexFile nullsFile;
 
@@ -83,6 +84,7 @@ public final class KafkaCacheSegment extends KafkaCacheObject<KafkaCacheSegment>
         this.deltaFile = new KafkaCacheFile.Delta(location, baseOffset, config.segmentBytes, appendBuf);
         this.indexFile = new KafkaCacheFile.Index(location, baseOffset, config.segmentIndexBytes, appendBuf);
         this.hashFile = new KafkaCacheFile.HashScan(location, baseOffset, config.segmentIndexBytes, appendBuf, sortSpaceRef);
+        this.hashBloomFile = null;
         this.keysFile = new KafkaCacheFile.KeysScan(location, baseOffset, config.segmentIndexBytes, appendBuf, sortSpaceRef);
         this.nullsFile = new KafkaCacheFile.NullsScan(location, baseOffset, config.segmentIndexBytes, appendBuf, sortSpaceRef);
     }
@@ -93,18 +95,30 @@ public final class KafkaCacheSegment extends KafkaCacheObject<KafkaCacheSegment>
         int id,
         long baseOffset,
         long lastOffset)
+    {
+        this(location, name, id, baseOffset, lastOffset, currentTimeMillis());
+    }
+
+    public KafkaCacheSegment(
+        Path location,
+        String name,
+        int id,
+        long baseOffset,
+        long lastOffset,
+        long timestamp)
     {
         this.location = location;
         this.name = name;
         this.id = id;
         this.baseOffset = baseOffset;
         this.lastOffset = lastOffset;
-        this.timestamp = currentTimeMillis();
+        this.timestamp = timestamp;
         this.logFile = new KafkaCacheFile.Log(location, baseOffset);
         this.convertedFile = new KafkaCacheFile.Converted(location, baseOffset);
         this.deltaFile = new KafkaCacheFile.Delta(location, baseOffset);
         this.indexFile = new KafkaCacheFile.Index(location, baseOffset);
         this.hashFile = new KafkaCacheFile.HashIndex(location, baseOffset);
+        this.hashBloomFile = new KafkaCacheFile.HashBloom(location, baseOffset);
         this.keysFile = new KafkaCacheFile.KeysIndex(location, baseOffset);
         this.nullsFile = new KafkaCacheFile.NullsIndex(location, baseOffset);
     }
@@ -176,6 +190,17 @@ public final class KafkaCacheSegment extends KafkaCacheObject<KafkaCacheSegment>
         return hashFile;
     }
 
+    public KafkaCacheBloomFile hashBloomFile()
+    {
+        return hashBloomFile;
+    }
+
+    public boolean mightContainHash(
+        int hash)
+    {
+        return hashBloomFile == null || hashBloomFile.mightContain(hash);
+    }
+
     public KafkaCacheIndexFile nullsFile()
     {
         return nullsFile;
@@ -210,6 +235,10 @@ public final class KafkaCacheSegment extends KafkaCacheObject<KafkaCacheSegment>
         logFile.delete();
         indexFile.delete();
         hashFile.delete();
+        if (hashBloomFile != null)
+        {
+            hashBloomFile.delete();
+        }
         nullsFile.delete();
         convertedFile.delete();
         deltaFile.delete();
@@ -267,6 +296,10 @@ public final class KafkaCacheSegment extends KafkaCacheObject<KafkaCacheSegment>
         logFile.close();
         indexFile.close();
         hashFile.close();
+        if (hashBloomFile != null)
+        {
+            hashBloomFile.close();
+        }
         nullsFile.close();
         convertedFile.close();
         deltaFile.close();
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+public enum KafkaCompression
+{
+    NONE,
+    GZIP,
+    SNAPPY,
+    LZ4,
+    ZSTD;
+
+    public int attributes()
+    {
+        return ordinal();
+    }
+
+    public static KafkaCompression valueOf(
+        int attributes)
+    {
+        // lowest three bits of RecordBatch attributes indicate the compression codec
+        switch (attributes & 0x07)
+        {
+        case 0:
+            return NONE;
+        case 1:
+            return GZIP;
+        case 2:
+            return SNAPPY;
+        case 3:
+            return LZ4;
+        case 4:
+            return ZSTD;
+        default:
+            return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+public abstract class KafkaCompressionCodec
+{
+    public static final int COMPRESS_FAILED = -1;
+    public static final int DECOMPRESS_FAILED = -1;
+    public static final int DECOMPRESS_OVERFLOW = -2;
+
+    /**
+     * Compresses the records of a {@code RecordBatch} into the target buffer.
+     *
+     * @return the number of compressed bytes, or {@link #COMPRESS_FAILED} if the compressed bytes
+     *         do not fit between {@code dstIndex} and {@code dstLimit}
+     */
+    public abstract int compress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit);
+
+    /**
+     * Decompresses the records of a compressed {@code RecordBatch} into the target buffer.
+     *
+     * @return the number of decompressed bytes, {@link #DECOMPRESS_FAILED} if the source is malformed,
+     *         or {@link #DECOMPRESS_OVERFLOW} if the decompressed bytes do not fit between {@code dstIndex}
+     *         and {@code dstLimit}
+     */
+    public abstract int decompress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit);
+
+    protected static void copyMatch(
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int matchOffset,
+        int matchLength)
+    {
+        final int srcIndex = dstIndex - matchOffset;
+
+        if (matchOffset >= matchLength)
+        {
+            dst.putBytes(dstIndex, dst, srcIndex, matchLength);
+        }
+        else
+        {
+            // overlapping match repeats the most recent bytes
+            for (int i = 0; i < matchLength; i++)
+            {
+                dst.putByte(dstIndex + i, dst.getByte(srcIndex + i));
+            }
+        }
+    }
+}
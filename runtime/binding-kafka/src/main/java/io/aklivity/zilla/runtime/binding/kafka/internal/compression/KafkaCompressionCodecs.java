@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+public final class KafkaCompressionCodecs
+{
+    private KafkaCompressionCodec gzip;
+    private KafkaCompressionCodec snappy;
+    private KafkaCompressionCodec lz4;
+    private KafkaCompressionCodec zstd;
+
+    public KafkaCompressionCodec supply(
+        KafkaCompression compression)
+    {
+        KafkaCompressionCodec codec = null;
+
+        if (compression != null)
+        {
+            switch (compression)
+            {
+            case GZIP:
+                if (gzip == null)
+                {
+                    gzip = new KafkaGzipCodec();
+                }
+                codec = gzip;
+                break;
+            case SNAPPY:
+                if (snappy == null)
+                {
+                    snappy = new KafkaSnappyCodec();
+                }
+                codec = snappy;
+                break;
+            case LZ4:
+                if (lz4 == null)
+                {
+                    lz4 = new KafkaLz4Codec();
+                }
+                codec = lz4;
+                break;
+            case ZSTD:
+                if (zstd == null)
+                {
+                    zstd = new KafkaZstdCodec();
+                }
+                codec = zstd;
+                break;
+            default:
+                break;
+            }
+        }
+
+        return codec;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+public final class KafkaGzipCodec extends KafkaCompressionCodec
+{
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int GZIP_DEFLATE = 8;
+    private static final int GZIP_HEADER_SIZE = 10;
+    private static final int GZIP_TRAILER_SIZE = 8;
+    private static final int GZIP_OS_UNKNOWN = 0xff;
+
+    private static final int FLAG_HCRC = 0x02;
+    private static final int FLAG_EXTRA = 0x04;
+    private static final int FLAG_NAME = 0x08;
+    private static final int FLAG_COMMENT = 0x10;
+
+    private final Inflater inflater;
+    private final Deflater deflater;
+    private final CRC32 checksum;
+
+    private byte[] srcBytes;
+    private byte[] dstBytes;
+
+    public KafkaGzipCodec()
+    {
+        this.inflater = new Inflater(true);
+        this.deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        this.checksum = new CRC32();
+        this.srcBytes = new byte[0];
+        this.dstBytes = new byte[0];
+    }
+
+    @Override
+    public int compress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int deflateIndex = dstIndex + GZIP_HEADER_SIZE;
+        final int deflateCapacity = dstLimit - GZIP_TRAILER_SIZE - deflateIndex;
+
+        int dstLength = COMPRESS_FAILED;
+
+        if (deflateCapacity > 0)
+        {
+            final byte[] srcArray = src.byteArray();
+            if (srcArray != null)
+            {
+                final int srcOffset = (int) src.wrapAdjustment() + srcIndex;
+                checksum.update(srcArray, srcOffset, srcLength);
+                deflater.setInput(srcArray, srcOffset, srcLength);
+            }
+            else
+            {
+                srcBytes = ensureCapacity(srcBytes, srcLength);
+                src.getBytes(srcIndex, srcBytes, 0, srcLength);
+                checksum.update(srcBytes, 0, srcLength);
+                deflater.setInput(srcBytes, 0, srcLength);
+            }
+            deflater.finish();
+
+            final byte[] dstArray = dst.byteArray();
+            int deflateLength;
+            try
+            {
+                if (dstArray != null)
+                {
+                    deflateLength = deflate(dstArray, (int) dst.wrapAdjustment() + deflateIndex, deflateCapacity);
+                }
+                else
+                {
+                    dstBytes = ensureCapacity(dstBytes, deflateCapacity);
+                    deflateLength = deflate(dstBytes, 0, deflateCapacity);
+                    if (deflateLength != COMPRESS_FAILED)
+                    {
+                        dst.putBytes(deflateIndex, dstBytes, 0, deflateLength);
+                    }
+                }
+            }
+            finally
+            {
+                deflater.reset();
+            }
+
+            if (deflateLength != COMPRESS_FAILED)
+            {
+                dst.putShort(dstIndex, (short) GZIP_MAGIC, LITTLE_ENDIAN);
+                dst.putByte(dstIndex + 2, (byte) GZIP_DEFLATE);
+                dst.putByte(dstIndex + 3, (byte) 0);
+                dst.putInt(dstIndex + 4, 0, LITTLE_ENDIAN);
+                dst.putByte(dstIndex + 8, (byte) 0);
+                dst.putByte(dstIndex + 9, (byte) GZIP_OS_UNKNOWN);
+
+                final int trailerIndex = deflateIndex + deflateLength;
+                dst.putInt(trailerIndex, (int) checksum.getValue(), LITTLE_ENDIAN);
+                dst.putInt(trailerIndex + BitUtil.SIZE_OF_INT, srcLength, LITTLE_ENDIAN);
+
+                dstLength = trailerIndex + GZIP_TRAILER_SIZE - dstIndex;
+            }
+
+            checksum.reset();
+        }
+
+        return dstLength;
+    }
+
+    @Override
+    public int decompress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int srcLimit = srcIndex + srcLength;
+        final int deflateIndex = skipHeader(src, srcIndex, srcLimit);
+
+        int dstLength = DECOMPRESS_FAILED;
+
+        if (deflateIndex != -1)
+        {
+            final int deflateLength = srcLimit - deflateIndex;
+            final int dstCapacity = dstLimit - dstIndex;
+
+            final byte[] srcArray = src.byteArray();
+            if (srcArray != null)
+            {
+                inflater.setInput(srcArray, (int) src.wrapAdjustment() + deflateIndex, deflateLength);
+            }
+            else
+            {
+                srcBytes = ensureCapacity(srcBytes, deflateLength);
+                src.getBytes(deflateIndex, srcBytes, 0, deflateLength);
+                inflater.setInput(srcBytes, 0, deflateLength);
+            }
+
+            final byte[] dstArray = dst.byteArray();
+            try
+            {
+                if (dstArray != null)
+                {
+                    dstLength = inflate(dstArray, (int) dst.wrapAdjustment() + dstIndex, dstCapacity);
+                }
+                else
+                {
+                    dstBytes = ensureCapacity(dstBytes, dstCapacity);
+                    dstLength = inflate(dstBytes, 0, dstCapacity);
+                    if (dstLength >= 0)
+                    {
+                        dst.putBytes(dstIndex, dstBytes, 0, dstLength);
+                    }
+                }
+            }
+            catch (DataFormatException ex)
+            {
+                dstLength = DECOMPRESS_FAILED;
+            }
+            finally
+            {
+                inflater.reset();
+            }
+        }
+
+        return dstLength;
+    }
+
+    private int inflate(
+        byte[] dstArray,
+        int dstOffset,
+        int dstCapacity) throws DataFormatException
+    {
+        int dstProgress = 0;
+
+        while (!inflater.finished())
+        {
+            final int inflated = inflater.inflate(dstArray, dstOffset + dstProgress, dstCapacity - dstProgress);
+            dstProgress += inflated;
+
+            if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary() || dstProgress == dstCapacity))
+            {
+                break;
+            }
+        }
+
+        if (!inflater.finished())
+        {
+            dstProgress = dstProgress == dstCapacity ? DECOMPRESS_OVERFLOW : DECOMPRESS_FAILED;
+        }
+
+        return dstProgress;
+    }
+
+    private int deflate(
+        byte[] dstArray,
+        int dstOffset,
+        int dstCapacity)
+    {
+        int dstProgress = 0;
+
+        while (!deflater.finished() && dstProgress < dstCapacity)
+        {
+            dstProgress += deflater.deflate(dstArray, dstOffset + dstProgress, dstCapacity - dstProgress);
+        }
+
+        return deflater.finished() ? dstProgress : COMPRESS_FAILED;
+    }
+
+    private static int skipHeader(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit)
+    {
+        int progress = -1;
+
+        if (srcLimit - srcIndex >= GZIP_HEADER_SIZE &&
+            (src.getShort(srcIndex, LITTLE_ENDIAN) & 0xffff) == GZIP_MAGIC &&
+            src.getByte(srcIndex + 2) == GZIP_DEFLATE)
+        {
+            final int flags = src.getByte(srcIndex + 3) & 0xff;
+
+            progress = srcIndex + GZIP_HEADER_SIZE;
+
+            if ((flags & FLAG_EXTRA) != 0)
+            {
+                progress += BitUtil.SIZE_OF_SHORT +
+                    (src.getShort(progress, LITTLE_ENDIAN) & 0xffff);
+            }
+
+            if ((flags & FLAG_NAME) != 0)
+            {
+                progress = skipZeroTerminated(src, progress, srcLimit);
+            }
+
+            if ((flags & FLAG_COMMENT) != 0)
+            {
+                progress = skipZeroTerminated(src, progress, srcLimit);
+            }
+
+            if ((flags & FLAG_HCRC) != 0)
+            {
+                progress += BitUtil.SIZE_OF_SHORT;
+            }
+
+            if (progress > srcLimit)
+            {
+                progress = -1;
+            }
+        }
+
+        return progress;
+    }
+
+    private static int skipZeroTerminated(
+        DirectBuffer src,
+        int progress,
+        int limit)
+    {
+        while (progress < limit && src.getByte(progress) != 0)
+        {
+            progress++;
+        }
+        return progress + 1;
+    }
+
+    private static byte[] ensureCapacity(
+        byte[] bytes,
+        int capacity)
+    {
+        return bytes.length >= capacity ? bytes : new byte[BitUtil.findNextPositivePowerOfTwo(capacity)];
+    }
+}
@@ -0,0 +1,454 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+import java.util.Arrays;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+public final class KafkaLz4Codec extends KafkaCompressionCodec
+{
+    private static final int LZ4_FRAME_MAGIC = 0x184d2204;
+
+    private static final int FLAG_VERSION_MASK = 0xc0;
+    private static final int FLAG_VERSION = 0x40;
+    private static final int FLAG_BLOCK_CHECKSUM = 0x10;
+    private static final int FLAG_CONTENT_SIZE = 0x08;
+    private static final int FLAG_CONTENT_CHECKSUM = 0x04;
+    private static final int FLAG_DICTIONARY_ID = 0x01;
+
+    private static final int FLAG_BLOCK_INDEPENDENCE = 0x20;
+    private static final int BLOCK_MAX_SIZE_64KB = 0x40;
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private static final int BLOCK_UNCOMPRESSED = 0x80000000;
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MATCH_FIND_LIMIT = 12;
+    private static final int MAX_MATCH_OFFSET = 0xffff;
+    private static final int RUN_MASK = 0x0f;
+
+    private static final int HASH_BITS = 14;
+    private static final int HASH_MULTIPLIER = 0x9e3779b1;
+
+    private static final int XXHASH32_PRIME_1 = 0x9e3779b1;
+    private static final int XXHASH32_PRIME_2 = 0x85ebca77;
+    private static final int XXHASH32_PRIME_3 = 0xc2b2ae3d;
+    private static final int XXHASH32_PRIME_5 = 0x165667b1;
+
+    private static final int FRAME_FLAGS = FLAG_VERSION | FLAG_BLOCK_INDEPENDENCE;
+    private static final int FRAME_DESCRIPTOR = BLOCK_MAX_SIZE_64KB;
+    private static final int FRAME_HEADER_CHECKSUM = headerChecksum(FRAME_FLAGS, FRAME_DESCRIPTOR);
+    private static final int FRAME_HEADER_SIZE = BitUtil.SIZE_OF_INT + 3;
+
+    private final int[] positions = new int[1 << HASH_BITS];
+
+    @Override
+    public int compress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int srcLimit = srcIndex + srcLength;
+
+        if (dstIndex + FRAME_HEADER_SIZE > dstLimit)
+        {
+            return COMPRESS_FAILED;
+        }
+
+        dst.putInt(dstIndex, LZ4_FRAME_MAGIC, LITTLE_ENDIAN);
+        dst.putByte(dstIndex + BitUtil.SIZE_OF_INT, (byte) FRAME_FLAGS);
+        dst.putByte(dstIndex + BitUtil.SIZE_OF_INT + 1, (byte) FRAME_DESCRIPTOR);
+        dst.putByte(dstIndex + BitUtil.SIZE_OF_INT + 2, (byte) FRAME_HEADER_CHECKSUM);
+
+        int dstProgress = dstIndex + FRAME_HEADER_SIZE;
+        int srcProgress = srcIndex;
+        while (srcProgress < srcLimit)
+        {
+            final int blockIndex = dstProgress + BitUtil.SIZE_OF_INT;
+            if (blockIndex > dstLimit)
+            {
+                return COMPRESS_FAILED;
+            }
+
+            final int blockLength = Math.min(srcLimit - srcProgress, BLOCK_SIZE);
+            final int blockLimit = compressBlock(src, srcProgress, srcProgress + blockLength,
+                dst, blockIndex, Math.min(dstLimit, blockIndex + blockLength - 1));
+
+            if (blockLimit != COMPRESS_FAILED)
+            {
+                dst.putInt(dstProgress, blockLimit - blockIndex, LITTLE_ENDIAN);
+                dstProgress = blockLimit;
+            }
+            else if (blockIndex + blockLength <= dstLimit)
+            {
+                // incompressible block is stored as is
+                dst.putInt(dstProgress, blockLength | BLOCK_UNCOMPRESSED, LITTLE_ENDIAN);
+                dst.putBytes(blockIndex, src, srcProgress, blockLength);
+                dstProgress = blockIndex + blockLength;
+            }
+            else
+            {
+                return COMPRESS_FAILED;
+            }
+
+            srcProgress += blockLength;
+        }
+
+        if (dstProgress + BitUtil.SIZE_OF_INT > dstLimit)
+        {
+            return COMPRESS_FAILED;
+        }
+
+        // end mark
+        dst.putInt(dstProgress, 0, LITTLE_ENDIAN);
+        dstProgress += BitUtil.SIZE_OF_INT;
+
+        return dstProgress - dstIndex;
+    }
+
+    @Override
+    public int decompress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int srcLimit = srcIndex + srcLength;
+
+        // magic, FLG, BD
+        if (srcLength < BitUtil.SIZE_OF_INT + 3 ||
+            src.getInt(srcIndex, LITTLE_ENDIAN) != LZ4_FRAME_MAGIC)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        int srcProgress = srcIndex + BitUtil.SIZE_OF_INT;
+        final int flags = src.getByte(srcProgress) & 0xff;
+        srcProgress += 2;
+
+        if ((flags & FLAG_VERSION_MASK) != FLAG_VERSION)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        if ((flags & FLAG_CONTENT_SIZE) != 0)
+        {
+            srcProgress += BitUtil.SIZE_OF_LONG;
+        }
+
+        if ((flags & FLAG_DICTIONARY_ID) != 0)
+        {
+            srcProgress += BitUtil.SIZE_OF_INT;
+        }
+
+        // header checksum
+        srcProgress += 1;
+
+        final int blockChecksumSize = (flags & FLAG_BLOCK_CHECKSUM) != 0 ? BitUtil.SIZE_OF_INT : 0;
+
+        int dstProgress = dstIndex;
+        while (true)
+        {
+            if (srcProgress + BitUtil.SIZE_OF_INT > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            final int blockSize = src.getInt(srcProgress, LITTLE_ENDIAN);
+            srcProgress += BitUtil.SIZE_OF_INT;
+
+            if (blockSize == 0)
+            {
+                break;
+            }
+
+            final int blockLength = blockSize & ~BLOCK_UNCOMPRESSED;
+            final int blockLimit = srcProgress + blockLength;
+            if (blockLimit + blockChecksumSize > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            if ((blockSize & BLOCK_UNCOMPRESSED) != 0)
+            {
+                if (dstProgress + blockLength > dstLimit)
+                {
+                    return DECOMPRESS_OVERFLOW;
+                }
+                dst.putBytes(dstProgress, src, srcProgress, blockLength);
+                dstProgress += blockLength;
+            }
+            else
+            {
+                // linked blocks may reference output of previous blocks in the same frame
+                dstProgress = decompressBlock(src, srcProgress, blockLimit, dst, dstIndex, dstProgress, dstLimit);
+                if (dstProgress < 0)
+                {
+                    return dstProgress;
+                }
+            }
+
+            srcProgress = blockLimit + blockChecksumSize;
+        }
+
+        if ((flags & FLAG_CONTENT_CHECKSUM) != 0)
+        {
+            srcProgress += BitUtil.SIZE_OF_INT;
+        }
+
+        return srcProgress <= srcLimit ? dstProgress - dstIndex : DECOMPRESS_FAILED;
+    }
+
+    private int compressBlock(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int matchFindLimit = srcLimit - MATCH_FIND_LIMIT;
+        final int matchLimit = srcLimit - LAST_LITERALS;
+
+        Arrays.fill(positions, -1);
+
+        int dstProgress = dstIndex;
+        int literalIndex = srcIndex;
+        int srcProgress = srcIndex;
+        while (srcProgress <= matchFindLimit && dstProgress != COMPRESS_FAILED)
+        {
+            final int word = src.getInt(srcProgress, LITTLE_ENDIAN);
+            final int hash = (word * HASH_MULTIPLIER) >>> (Integer.SIZE - HASH_BITS);
+            final int candidate = positions[hash];
+            positions[hash] = srcProgress;
+
+            if (candidate != -1 &&
+                srcProgress - candidate <= MAX_MATCH_OFFSET &&
+                src.getInt(candidate, LITTLE_ENDIAN) == word)
+            {
+                int matchLength = MIN_MATCH;
+                while (srcProgress + matchLength < matchLimit &&
+                       src.getByte(candidate + matchLength) == src.getByte(srcProgress + matchLength))
+                {
+                    matchLength++;
+                }
+
+                dstProgress = encodeSequence(src, literalIndex, srcProgress, srcProgress - candidate, matchLength,
+                    dst, dstProgress, dstLimit);
+
+                srcProgress += matchLength;
+                literalIndex = srcProgress;
+            }
+            else
+            {
+                srcProgress++;
+            }
+        }
+
+        // last sequence has literals only
+        return dstProgress != COMPRESS_FAILED
+            ? encodeSequence(src, literalIndex, srcLimit, 0, 0, dst, dstProgress, dstLimit)
+            : COMPRESS_FAILED;
+    }
+
+    private static int encodeSequence(
+        DirectBuffer src,
+        int literalIndex,
+        int literalLimit,
+        int matchOffset,
+        int matchLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int literalLength = literalLimit - literalIndex;
+        final int matchExtra = matchLength != 0 ? matchLength - MIN_MATCH : 0;
+
+        final int sequenceSize = 1 +
+            sizeOfLength(literalLength) + literalLength +
+            (matchLength != 0 ? BitUtil.SIZE_OF_SHORT + sizeOfLength(matchExtra) : 0);
+
+        if (dstIndex + sequenceSize > dstLimit)
+        {
+            return COMPRESS_FAILED;
+        }
+
+        int dstProgress = dstIndex;
+        dst.putByte(dstProgress++, (byte) (Math.min(literalLength, RUN_MASK) << 4 | Math.min(matchExtra, RUN_MASK)));
+        dstProgress = encodeLength(literalLength, dst, dstProgress);
+
+        dst.putBytes(dstProgress, src, literalIndex, literalLength);
+        dstProgress += literalLength;
+
+        if (matchLength != 0)
+        {
+            dst.putShort(dstProgress, (short) matchOffset, LITTLE_ENDIAN);
+            dstProgress += BitUtil.SIZE_OF_SHORT;
+            dstProgress = encodeLength(matchExtra, dst, dstProgress);
+        }
+
+        return dstProgress;
+    }
+
+    private static int sizeOfLength(
+        int length)
+    {
+        return length >= RUN_MASK ? (length - RUN_MASK) / 0xff + 1 : 0;
+    }
+
+    private static int encodeLength(
+        int length,
+        MutableDirectBuffer dst,
+        int dstIndex)
+    {
+        int dstProgress = dstIndex;
+
+        if (length >= RUN_MASK)
+        {
+            int remaining = length - RUN_MASK;
+            for (; remaining >= 0xff; remaining -= 0xff)
+            {
+                dst.putByte(dstProgress++, (byte) 0xff);
+            }
+            dst.putByte(dstProgress++, (byte) remaining);
+        }
+
+        return dstProgress;
+    }
+
+    static int headerChecksum(
+        int flags,
+        int descriptor)
+    {
+        // xxHash32 with zero seed over the frame descriptor, as verified by Kafka consumers
+        int hash = XXHASH32_PRIME_5 + 2;
+        hash += (flags & 0xff) * XXHASH32_PRIME_5;
+        hash = Integer.rotateLeft(hash, 11) * XXHASH32_PRIME_1;
+        hash += (descriptor & 0xff) * XXHASH32_PRIME_5;
+        hash = Integer.rotateLeft(hash, 11) * XXHASH32_PRIME_1;
+
+        hash ^= hash >>> 15;
+        hash *= XXHASH32_PRIME_2;
+        hash ^= hash >>> 13;
+        hash *= XXHASH32_PRIME_3;
+        hash ^= hash >>> 16;
+
+        return (hash >>> 8) & 0xff;
+    }
+
+    private static int decompressBlock(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstProgress,
+        int dstLimit)
+    {
+        int srcProgress = srcIndex;
+
+        while (srcProgress < srcLimit)
+        {
+            final int token = src.getByte(srcProgress++) & 0xff;
+
+            int literalLength = token >>> 4;
+            if (literalLength == 0x0f)
+            {
+                int extra;
+                do
+                {
+                    if (srcProgress == srcLimit)
+                    {
+                        return DECOMPRESS_FAILED;
+                    }
+                    extra = src.getByte(srcProgress++) & 0xff;
+                    literalLength += extra;
+                }
+                while (extra == 0xff);
+            }
+
+            if (srcProgress + literalLength > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            if (dstProgress + literalLength > dstLimit)
+            {
+                return DECOMPRESS_OVERFLOW;
+            }
+
+            dst.putBytes(dstProgress, src, srcProgress, literalLength);
+            srcProgress += literalLength;
+            dstProgress += literalLength;
+
+            if (srcProgress == srcLimit)
+            {
+                // last sequence has literals only
+                break;
+            }
+
+            if (srcProgress + BitUtil.SIZE_OF_SHORT > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            final int matchOffset = src.getShort(srcProgress, LITTLE_ENDIAN) & 0xffff;
+            srcProgress += BitUtil.SIZE_OF_SHORT;
+
+            int matchLength = token & 0x0f;
+            if (matchLength == 0x0f)
+            {
+                int extra;
+                do
+                {
+                    if (srcProgress == srcLimit)
+                    {
+                        return DECOMPRESS_FAILED;
+                    }
+                    extra = src.getByte(srcProgress++) & 0xff;
+                    matchLength += extra;
+                }
+                while (extra == 0xff);
+            }
+            matchLength += MIN_MATCH;
+
+            if (matchOffset == 0 || matchOffset > dstProgress - dstIndex)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            if (dstProgress + matchLength > dstLimit)
+            {
+                return DECOMPRESS_OVERFLOW;
+            }
+
+            copyMatch(dst, dstProgress, matchOffset, matchLength);
+            dstProgress += matchLength;
+        }
+
+        return dstProgress;
+    }
+}
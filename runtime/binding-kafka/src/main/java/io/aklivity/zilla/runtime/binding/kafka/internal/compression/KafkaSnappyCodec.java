@@ -0,0 +1,404 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+import java.util.Arrays;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+public final class KafkaSnappyCodec extends KafkaCompressionCodec
+{
+    private static final DirectBuffer XERIAL_MAGIC =
+        new UnsafeBuffer(new byte[] { (byte) 0x82, 'S', 'N', 'A', 'P', 'P', 'Y', 0 });
+    private static final int XERIAL_HEADER_SIZE = XERIAL_MAGIC.capacity() + BitUtil.SIZE_OF_INT + BitUtil.SIZE_OF_INT;
+
+    private static final int TAG_LITERAL = 0x00;
+    private static final int TAG_COPY_1 = 0x01;
+    private static final int TAG_COPY_2 = 0x02;
+    private static final int TAG_COPY_4 = 0x03;
+
+    private static final int XERIAL_VERSION = 1;
+    private static final int XERIAL_COMPATIBLE_VERSION = 1;
+    private static final int XERIAL_BLOCK_SIZE = 32 * 1024;
+
+    private static final int HASH_BITS = 14;
+    private static final int HASH_MULTIPLIER = 0x1e35a7bd;
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_COPY_LENGTH = 64;
+    private static final int MAX_COPY_OFFSET = 0xffff;
+
+    private final int[] positions = new int[1 << HASH_BITS];
+
+    @Override
+    public int compress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int srcLimit = srcIndex + srcLength;
+
+        int dstProgress = dstIndex + XERIAL_HEADER_SIZE;
+
+        if (dstProgress <= dstLimit)
+        {
+            // xerial snappy-java stream framing, as expected by Kafka consumers
+            dst.putBytes(dstIndex, XERIAL_MAGIC, 0, XERIAL_MAGIC.capacity());
+            dst.putInt(dstIndex + XERIAL_MAGIC.capacity(), XERIAL_VERSION, BIG_ENDIAN);
+            dst.putInt(dstIndex + XERIAL_MAGIC.capacity() + BitUtil.SIZE_OF_INT, XERIAL_COMPATIBLE_VERSION, BIG_ENDIAN);
+
+            int srcProgress = srcIndex;
+            while (srcProgress < srcLimit && dstProgress != COMPRESS_FAILED)
+            {
+                final int blockLimit = Math.min(srcProgress + XERIAL_BLOCK_SIZE, srcLimit);
+                final int chunkIndex = dstProgress + BitUtil.SIZE_OF_INT;
+
+                dstProgress = chunkIndex <= dstLimit
+                    ? compressBlock(src, srcProgress, blockLimit, dst, chunkIndex, dstLimit)
+                    : COMPRESS_FAILED;
+
+                if (dstProgress != COMPRESS_FAILED)
+                {
+                    dst.putInt(chunkIndex - BitUtil.SIZE_OF_INT, dstProgress - chunkIndex, BIG_ENDIAN);
+                }
+
+                srcProgress = blockLimit;
+            }
+        }
+        else
+        {
+            dstProgress = COMPRESS_FAILED;
+        }
+
+        return dstProgress != COMPRESS_FAILED ? dstProgress - dstIndex : COMPRESS_FAILED;
+    }
+
+    @Override
+    public int decompress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int srcLimit = srcIndex + srcLength;
+
+        int dstProgress = dstIndex;
+
+        if (isXerialFramed(src, srcIndex, srcLimit))
+        {
+            // xerial snappy-java stream framing, as used by Kafka producers
+            int srcProgress = srcIndex + XERIAL_HEADER_SIZE;
+            while (srcProgress < srcLimit && dstProgress >= 0)
+            {
+                if (srcProgress + BitUtil.SIZE_OF_INT > srcLimit)
+                {
+                    dstProgress = DECOMPRESS_FAILED;
+                    break;
+                }
+
+                final int chunkLength = src.getInt(srcProgress, BIG_ENDIAN);
+                srcProgress += BitUtil.SIZE_OF_INT;
+
+                if (chunkLength < 0 || srcProgress + chunkLength > srcLimit)
+                {
+                    dstProgress = DECOMPRESS_FAILED;
+                    break;
+                }
+
+                dstProgress = decompressBlock(src, srcProgress, srcProgress + chunkLength, dst, dstProgress, dstLimit);
+                srcProgress += chunkLength;
+            }
+        }
+        else
+        {
+            dstProgress = decompressBlock(src, srcIndex, srcLimit, dst, dstProgress, dstLimit);
+        }
+
+        return dstProgress >= 0 ? dstProgress - dstIndex : dstProgress;
+    }
+
+    private int compressBlock(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        int dstProgress = dstIndex;
+
+        int uncompressedLength = srcLimit - srcIndex;
+        do
+        {
+            if (dstProgress == dstLimit)
+            {
+                return COMPRESS_FAILED;
+            }
+            final int varint = uncompressedLength & 0x7f;
+            uncompressedLength >>>= 7;
+            dst.putByte(dstProgress++, (byte) (uncompressedLength != 0 ? varint | 0x80 : varint));
+        }
+        while (uncompressedLength != 0);
+
+        Arrays.fill(positions, -1);
+
+        int literalIndex = srcIndex;
+        int srcProgress = srcIndex;
+        while (srcProgress + MIN_MATCH <= srcLimit && dstProgress != COMPRESS_FAILED)
+        {
+            final int word = src.getInt(srcProgress, LITTLE_ENDIAN);
+            final int hash = (word * HASH_MULTIPLIER) >>> (Integer.SIZE - HASH_BITS);
+            final int candidate = positions[hash];
+            positions[hash] = srcProgress;
+
+            if (candidate != -1 &&
+                srcProgress - candidate <= MAX_COPY_OFFSET &&
+                src.getInt(candidate, LITTLE_ENDIAN) == word)
+            {
+                int matchLength = MIN_MATCH;
+                while (srcProgress + matchLength < srcLimit &&
+                       src.getByte(candidate + matchLength) == src.getByte(srcProgress + matchLength))
+                {
+                    matchLength++;
+                }
+
+                dstProgress = encodeLiteral(src, literalIndex, srcProgress, dst, dstProgress, dstLimit);
+                dstProgress = encodeCopy(srcProgress - candidate, matchLength, dst, dstProgress, dstLimit);
+
+                srcProgress += matchLength;
+                literalIndex = srcProgress;
+            }
+            else
+            {
+                srcProgress++;
+            }
+        }
+
+        return encodeLiteral(src, literalIndex, srcLimit, dst, dstProgress, dstLimit);
+    }
+
+    private static int encodeLiteral(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int length = srcLimit - srcIndex;
+
+        if (dstIndex == COMPRESS_FAILED || length == 0)
+        {
+            return dstIndex;
+        }
+
+        final int lengthBits = length - 1;
+        final int lengthBytes = lengthBits < 60 ? 0 : (Integer.SIZE - Integer.numberOfLeadingZeros(lengthBits) + 7) >>> 3;
+
+        if (dstIndex + 1 + lengthBytes + length > dstLimit)
+        {
+            return COMPRESS_FAILED;
+        }
+
+        int dstProgress = dstIndex;
+        if (lengthBytes == 0)
+        {
+            dst.putByte(dstProgress++, (byte) (lengthBits << 2 | TAG_LITERAL));
+        }
+        else
+        {
+            dst.putByte(dstProgress++, (byte) ((59 + lengthBytes) << 2 | TAG_LITERAL));
+            for (int i = 0; i < lengthBytes; i++)
+            {
+                dst.putByte(dstProgress++, (byte) (lengthBits >>> (i << 3)));
+            }
+        }
+
+        dst.putBytes(dstProgress, src, srcIndex, length);
+
+        return dstProgress + length;
+    }
+
+    private static int encodeCopy(
+        int offset,
+        int length,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        int dstProgress = dstIndex;
+        int remaining = length;
+
+        while (remaining > 0 && dstProgress != COMPRESS_FAILED)
+        {
+            final int copyLength = Math.min(remaining, MAX_COPY_LENGTH);
+
+            if (dstProgress + 1 + BitUtil.SIZE_OF_SHORT > dstLimit)
+            {
+                dstProgress = COMPRESS_FAILED;
+            }
+            else
+            {
+                dst.putByte(dstProgress, (byte) ((copyLength - 1) << 2 | TAG_COPY_2));
+                dst.putShort(dstProgress + 1, (short) offset, LITTLE_ENDIAN);
+                dstProgress += 1 + BitUtil.SIZE_OF_SHORT;
+            }
+
+            remaining -= copyLength;
+        }
+
+        return dstProgress;
+    }
+
+    private static boolean isXerialFramed(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit)
+    {
+        boolean framed = srcLimit - srcIndex >= XERIAL_HEADER_SIZE;
+
+        for (int i = 0; framed && i < XERIAL_MAGIC.capacity(); i++)
+        {
+            framed = src.getByte(srcIndex + i) == XERIAL_MAGIC.getByte(i);
+        }
+
+        return framed;
+    }
+
+    private static int decompressBlock(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        int srcProgress = srcIndex;
+
+        int uncompressedLength = 0;
+        int shift = 0;
+        int varint;
+        do
+        {
+            if (srcProgress == srcLimit || shift > 28)
+            {
+                return DECOMPRESS_FAILED;
+            }
+            varint = src.getByte(srcProgress++) & 0xff;
+            uncompressedLength |= (varint & 0x7f) << shift;
+            shift += 7;
+        }
+        while ((varint & 0x80) != 0);
+
+        final int dstBlockLimit = dstIndex + uncompressedLength;
+        if (uncompressedLength < 0)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        if (dstBlockLimit > dstLimit)
+        {
+            return DECOMPRESS_OVERFLOW;
+        }
+
+        int dstProgress = dstIndex;
+        while (srcProgress < srcLimit)
+        {
+            final int tag = src.getByte(srcProgress++) & 0xff;
+
+            int length;
+            int offset;
+
+            switch (tag & 0x03)
+            {
+            case TAG_LITERAL:
+                length = tag >>> 2;
+                if (length >= 60)
+                {
+                    final int lengthBytes = length - 59;
+                    if (srcProgress + lengthBytes > srcLimit)
+                    {
+                        return DECOMPRESS_FAILED;
+                    }
+                    length = 0;
+                    for (int i = 0; i < lengthBytes; i++)
+                    {
+                        length |= (src.getByte(srcProgress++) & 0xff) << (i << 3);
+                    }
+                }
+                length++;
+
+                if (length <= 0 || srcProgress + length > srcLimit || dstProgress + length > dstBlockLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+
+                dst.putBytes(dstProgress, src, srcProgress, length);
+                srcProgress += length;
+                dstProgress += length;
+                continue;
+            case TAG_COPY_1:
+                if (srcProgress + 1 > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+                length = ((tag >>> 2) & 0x07) + 4;
+                offset = ((tag & 0xe0) << 3) | (src.getByte(srcProgress) & 0xff);
+                srcProgress += 1;
+                break;
+            case TAG_COPY_2:
+                if (srcProgress + BitUtil.SIZE_OF_SHORT > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+                length = (tag >>> 2) + 1;
+                offset = src.getShort(srcProgress, LITTLE_ENDIAN) & 0xffff;
+                srcProgress += BitUtil.SIZE_OF_SHORT;
+                break;
+            default:
+                assert (tag & 0x03) == TAG_COPY_4;
+                if (srcProgress + BitUtil.SIZE_OF_INT > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+                length = (tag >>> 2) + 1;
+                offset = src.getInt(srcProgress, LITTLE_ENDIAN);
+                srcProgress += BitUtil.SIZE_OF_INT;
+                break;
+            }
+
+            if (offset <= 0 || offset > dstProgress - dstIndex || dstProgress + length > dstBlockLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            copyMatch(dst, dstProgress, offset, length);
+            dstProgress += length;
+        }
+
+        return dstProgress == dstBlockLimit ? dstProgress : DECOMPRESS_FAILED;
+    }
+}
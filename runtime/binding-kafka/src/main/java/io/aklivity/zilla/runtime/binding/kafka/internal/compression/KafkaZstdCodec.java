@@ -0,0 +1,1736 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+
+import java.util.Arrays;
+
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+public final class KafkaZstdCodec extends KafkaCompressionCodec
+{
+    private static final int ZSTD_FRAME_MAGIC = 0xfd2fb528;
+    private static final int SKIPPABLE_FRAME_MAGIC = 0x184d2a50;
+    private static final int SKIPPABLE_FRAME_MAGIC_MASK = 0xfffffff0;
+
+    private static final int FLAG_SINGLE_SEGMENT = 0x20;
+    private static final int FLAG_RESERVED = 0x08;
+    private static final int FLAG_CONTENT_CHECKSUM = 0x04;
+    private static final int FLAG_DICTIONARY_ID_MASK = 0x03;
+
+    private static final int BLOCK_HEADER_SIZE = 3;
+    private static final int BLOCK_MAX_SIZE = 128 * 1024;
+    private static final int BLOCK_RAW = 0;
+    private static final int BLOCK_RLE = 1;
+    private static final int BLOCK_COMPRESSED = 2;
+
+    private static final int LITERALS_RAW = 0;
+    private static final int LITERALS_RLE = 1;
+    private static final int LITERALS_COMPRESSED = 2;
+
+    private static final int MODE_PREDEFINED = 0;
+    private static final int MODE_RLE = 1;
+    private static final int MODE_COMPRESSED = 2;
+
+    private static final int HUFFMAN_MAX_BITS = 11;
+    private static final int HUFFMAN_MAX_SYMBOL = 255;
+    private static final int HUFFMAN_WEIGHTS_MAX_LOG = 6;
+
+    private static final int LITERALS_LENGTH_MAX_SYMBOL = 35;
+    private static final int MATCH_LENGTH_MAX_SYMBOL = 52;
+    private static final int OFFSET_MAX_SYMBOL = 31;
+    private static final int LITERALS_LENGTH_MAX_LOG = 9;
+    private static final int MATCH_LENGTH_MAX_LOG = 9;
+    private static final int OFFSET_MAX_LOG = 8;
+    private static final int FSE_MIN_LOG = 5;
+    private static final int FSE_MAX_LOG = 9;
+
+    private static final int HASH_BITS = 16;
+    private static final int HASH_MULTIPLIER = 0x9e3779b1;
+    private static final int MIN_MATCH = 4;
+    private static final int MAX_MATCH_OFFSET = (1 << 29) - 4;
+    private static final int MAX_SEQUENCES = BLOCK_MAX_SIZE / MIN_MATCH;
+
+    private static final int[] LITERALS_LENGTH_BASELINES =
+    {
+        0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+        16, 18, 20, 22, 24, 28, 32, 40, 48, 64, 128, 256, 512, 1024, 2048, 4096,
+        8192, 16384, 32768, 65536
+    };
+
+    private static final int[] LITERALS_LENGTH_BITS =
+    {
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+        1, 1, 1, 1, 2, 2, 3, 3, 4, 6, 7, 8, 9, 10, 11, 12,
+        13, 14, 15, 16
+    };
+
+    private static final int[] MATCH_LENGTH_BASELINES =
+    {
+        3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18,
+        19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32, 33, 34,
+        35, 37, 39, 41, 43, 47, 51, 59, 67, 83, 99, 131, 259, 515, 1027, 2051,
+        4099, 8195, 16387, 32771, 65539
+    };
+
+    private static final int[] MATCH_LENGTH_BITS =
+    {
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+        0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0,
+        1, 1, 1, 1, 2, 2, 3, 3, 4, 4, 5, 7, 8, 9, 10, 11,
+        12, 13, 14, 15, 16
+    };
+
+    private static final short[] LITERALS_LENGTH_DEFAULT_NORM =
+    {
+        4, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1,
+        2, 2, 2, 2, 2, 2, 2, 2, 2, 3, 2, 1, 1, 1, 1, 1,
+        -1, -1, -1, -1
+    };
+
+    private static final short[] MATCH_LENGTH_DEFAULT_NORM =
+    {
+        1, 4, 3, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1,
+        1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+        1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, -1, -1,
+        -1, -1, -1, -1, -1
+    };
+
+    private static final short[] OFFSET_DEFAULT_NORM =
+    {
+        1, 1, 1, 1, 1, 1, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1,
+        1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1
+    };
+
+    private static final int LITERALS_LENGTH_DEFAULT_LOG = 6;
+    private static final int MATCH_LENGTH_DEFAULT_LOG = 6;
+    private static final int OFFSET_DEFAULT_LOG = 5;
+
+    private static final FseTable LITERALS_LENGTH_DEFAULT_TABLE =
+        FseTable.build(LITERALS_LENGTH_DEFAULT_NORM, LITERALS_LENGTH_MAX_SYMBOL, LITERALS_LENGTH_DEFAULT_LOG);
+    private static final FseTable MATCH_LENGTH_DEFAULT_TABLE =
+        FseTable.build(MATCH_LENGTH_DEFAULT_NORM, MATCH_LENGTH_MAX_SYMBOL, MATCH_LENGTH_DEFAULT_LOG);
+    private static final FseTable OFFSET_DEFAULT_TABLE =
+        FseTable.build(OFFSET_DEFAULT_NORM, OFFSET_MAX_SYMBOL, OFFSET_DEFAULT_LOG);
+
+    private static final FseEncoder LITERALS_LENGTH_DEFAULT_ENCODER =
+        FseEncoder.build(LITERALS_LENGTH_DEFAULT_TABLE, LITERALS_LENGTH_DEFAULT_NORM);
+    private static final FseEncoder MATCH_LENGTH_DEFAULT_ENCODER =
+        FseEncoder.build(MATCH_LENGTH_DEFAULT_TABLE, MATCH_LENGTH_DEFAULT_NORM);
+    private static final FseEncoder OFFSET_DEFAULT_ENCODER =
+        FseEncoder.build(OFFSET_DEFAULT_TABLE, OFFSET_DEFAULT_NORM);
+
+    private static final byte[] LITERALS_LENGTH_CODES = lengthCodes(LITERALS_LENGTH_BASELINES, 0, 64);
+    private static final byte[] MATCH_LENGTH_CODES = lengthCodes(MATCH_LENGTH_BASELINES, 3, 128);
+
+    private final MutableDirectBuffer literals;
+    private final BackwardBitReader reader;
+    private final short[] norm;
+
+    private final byte[] huffmanWeights;
+    private final byte[] huffmanSymbols;
+    private final byte[] huffmanBits;
+    private int huffmanMaxBits;
+
+    private final FseTable weightsTable;
+    private final FseTable literalsLengthTable;
+    private final FseTable matchLengthTable;
+    private final FseTable offsetTable;
+    private final FseTable literalsLengthRleTable;
+    private final FseTable matchLengthRleTable;
+    private final FseTable offsetRleTable;
+
+    private FseTable literalsLengthActive;
+    private FseTable matchLengthActive;
+    private FseTable offsetActive;
+
+    private int repeatOffset0;
+    private int repeatOffset1;
+    private int repeatOffset2;
+
+    private FseTable selected;
+    private int normLog;
+    private int frameLimit;
+
+    private final int[] positions;
+    private final int[] literalLengths;
+    private final int[] matchLengths;
+    private final int[] matchOffsets;
+    private final ForwardBitWriter writer;
+
+    public KafkaZstdCodec()
+    {
+        this.literals = new UnsafeBuffer(new byte[BLOCK_MAX_SIZE]);
+        this.reader = new BackwardBitReader();
+        this.norm = new short[HUFFMAN_MAX_SYMBOL + 1];
+        this.huffmanWeights = new byte[HUFFMAN_MAX_SYMBOL + 3];
+        this.huffmanSymbols = new byte[1 << HUFFMAN_MAX_BITS];
+        this.huffmanBits = new byte[1 << HUFFMAN_MAX_BITS];
+        this.weightsTable = new FseTable(HUFFMAN_WEIGHTS_MAX_LOG);
+        this.literalsLengthTable = new FseTable(LITERALS_LENGTH_MAX_LOG);
+        this.matchLengthTable = new FseTable(MATCH_LENGTH_MAX_LOG);
+        this.offsetTable = new FseTable(OFFSET_MAX_LOG);
+        this.literalsLengthRleTable = new FseTable(0);
+        this.matchLengthRleTable = new FseTable(0);
+        this.offsetRleTable = new FseTable(0);
+        this.positions = new int[1 << HASH_BITS];
+        this.literalLengths = new int[MAX_SEQUENCES];
+        this.matchLengths = new int[MAX_SEQUENCES];
+        this.matchOffsets = new int[MAX_SEQUENCES];
+        this.writer = new ForwardBitWriter();
+    }
+
+    @Override
+    public int compress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int srcLimit = srcIndex + srcLength;
+
+        final int contentSizeFlag = srcLength < 256 ? 0 : srcLength < 65536 + 256 ? 1 : 2;
+        final int contentSizeSize = contentSizeFlag == 0 ? 1 : 1 << contentSizeFlag;
+        final int contentSize = contentSizeFlag == 1 ? srcLength - 256 : srcLength;
+
+        if (dstIndex + BitUtil.SIZE_OF_INT + 1 + contentSizeSize > dstLimit)
+        {
+            return COMPRESS_FAILED;
+        }
+
+        // single segment frame declares its content size, so matches may reach back to the start of the frame
+        dst.putInt(dstIndex, ZSTD_FRAME_MAGIC, LITTLE_ENDIAN);
+        dst.putByte(dstIndex + BitUtil.SIZE_OF_INT, (byte) (contentSizeFlag << 6 | FLAG_SINGLE_SEGMENT));
+
+        int dstProgress = dstIndex + BitUtil.SIZE_OF_INT + 1;
+        for (int i = 0; i < contentSizeSize; i++)
+        {
+            dst.putByte(dstProgress++, (byte) (contentSize >>> (i * Byte.SIZE)));
+        }
+
+        Arrays.fill(positions, -1);
+
+        int srcProgress = srcIndex;
+        do
+        {
+            final int blockIndex = dstProgress + BLOCK_HEADER_SIZE;
+            if (blockIndex > dstLimit)
+            {
+                return COMPRESS_FAILED;
+            }
+
+            final int blockLength = Math.min(srcLimit - srcProgress, BLOCK_MAX_SIZE);
+            final int lastBlock = srcProgress + blockLength == srcLimit ? 1 : 0;
+            final int blockLimit = compressBlock(src, srcProgress, srcProgress + blockLength,
+                dst, blockIndex, Math.min(dstLimit, blockIndex + blockLength - 1));
+
+            int blockHeader;
+            if (blockLimit != COMPRESS_FAILED)
+            {
+                blockHeader = lastBlock | BLOCK_COMPRESSED << 1 | (blockLimit - blockIndex) << 3;
+                dstProgress = blockLimit;
+            }
+            else if (blockIndex + blockLength <= dstLimit)
+            {
+                // incompressible block is stored as is
+                blockHeader = lastBlock | BLOCK_RAW << 1 | blockLength << 3;
+                dst.putBytes(blockIndex, src, srcProgress, blockLength);
+                dstProgress = blockIndex + blockLength;
+            }
+            else
+            {
+                return COMPRESS_FAILED;
+            }
+
+            dst.putByte(blockIndex - 3, (byte) blockHeader);
+            dst.putByte(blockIndex - 2, (byte) (blockHeader >>> 8));
+            dst.putByte(blockIndex - 1, (byte) (blockHeader >>> 16));
+
+            srcProgress += blockLength;
+        }
+        while (srcProgress < srcLimit);
+
+        return dstProgress - dstIndex;
+    }
+
+    @Override
+    public int decompress(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int srcLimit = srcIndex + srcLength;
+
+        if (srcLength < BitUtil.SIZE_OF_INT)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        // producers may write several frames per batch, each frame references only its own output
+        int srcProgress = srcIndex;
+        int dstProgress = dstIndex;
+        while (srcProgress < srcLimit)
+        {
+            if (srcProgress + BitUtil.SIZE_OF_INT > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            final int magic = src.getInt(srcProgress, LITTLE_ENDIAN);
+            if ((magic & SKIPPABLE_FRAME_MAGIC_MASK) == SKIPPABLE_FRAME_MAGIC)
+            {
+                if (srcProgress + 2 * BitUtil.SIZE_OF_INT > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+
+                final int skipSize = src.getInt(srcProgress + BitUtil.SIZE_OF_INT, LITTLE_ENDIAN);
+                if (skipSize < 0 || skipSize > srcLimit - srcProgress - 2 * BitUtil.SIZE_OF_INT)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+
+                srcProgress += 2 * BitUtil.SIZE_OF_INT + skipSize;
+            }
+            else if (magic == ZSTD_FRAME_MAGIC)
+            {
+                dstProgress = decompressFrame(src, srcProgress + BitUtil.SIZE_OF_INT, srcLimit, dst, dstProgress, dstLimit);
+                if (dstProgress < 0)
+                {
+                    return dstProgress;
+                }
+
+                srcProgress = frameLimit;
+            }
+            else
+            {
+                return DECOMPRESS_FAILED;
+            }
+        }
+
+        return dstProgress - dstIndex;
+    }
+
+    private int compressBlock(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final int matchFindLimit = srcLimit - BitUtil.SIZE_OF_INT;
+
+        int sequences = 0;
+        int literalsLength = 0;
+        int literalIndex = srcIndex;
+        int srcProgress = srcIndex;
+        while (srcProgress <= matchFindLimit)
+        {
+            final int word = src.getInt(srcProgress, LITTLE_ENDIAN);
+            final int hash = (word * HASH_MULTIPLIER) >>> (Integer.SIZE - HASH_BITS);
+            final int candidate = positions[hash];
+            positions[hash] = srcProgress;
+
+            if (candidate != -1 &&
+                srcProgress - candidate <= MAX_MATCH_OFFSET &&
+                src.getInt(candidate, LITTLE_ENDIAN) == word)
+            {
+                int matchLength = MIN_MATCH;
+                while (srcProgress + matchLength < srcLimit &&
+                       src.getByte(candidate + matchLength) == src.getByte(srcProgress + matchLength))
+                {
+                    matchLength++;
+                }
+
+                literalLengths[sequences] = srcProgress - literalIndex;
+                matchLengths[sequences] = matchLength;
+                matchOffsets[sequences] = srcProgress - candidate;
+                sequences++;
+
+                literalsLength += srcProgress - literalIndex;
+                srcProgress += matchLength;
+                literalIndex = srcProgress;
+            }
+            else
+            {
+                srcProgress++;
+            }
+        }
+
+        literalsLength += srcLimit - literalIndex;
+
+        final int literalsHeaderSize = literalsLength < 32 ? 1 : literalsLength < 4096 ? 2 : 3;
+        final int sequencesHeaderSize = sequences < 0x80 ? 1 : sequences < 0x7f00 ? 2 : 3;
+
+        int dstProgress = dstIndex;
+        if (sequences == 0 ||
+            dstProgress + literalsHeaderSize + literalsLength + sequencesHeaderSize + 1 > dstLimit)
+        {
+            return COMPRESS_FAILED;
+        }
+
+        // literals are stored raw, only the sequences are entropy coded
+        switch (literalsHeaderSize)
+        {
+        case 1:
+            dst.putByte(dstProgress, (byte) (literalsLength << 3 | LITERALS_RAW));
+            break;
+        case 2:
+            dst.putShort(dstProgress, (short) (literalsLength << 4 | 1 << 2 | LITERALS_RAW), LITTLE_ENDIAN);
+            break;
+        default:
+            dst.putShort(dstProgress, (short) (literalsLength << 4 | 3 << 2 | LITERALS_RAW), LITTLE_ENDIAN);
+            dst.putByte(dstProgress + 2, (byte) (literalsLength >>> 12));
+            break;
+        }
+        dstProgress += literalsHeaderSize;
+
+        int literalsProgress = srcIndex;
+        for (int sequence = 0; sequence < sequences; sequence++)
+        {
+            final int literalLength = literalLengths[sequence];
+            dst.putBytes(dstProgress, src, literalsProgress, literalLength);
+            dstProgress += literalLength;
+            literalsProgress += literalLength + matchLengths[sequence];
+        }
+        dst.putBytes(dstProgress, src, literalsProgress, srcLimit - literalsProgress);
+        dstProgress += srcLimit - literalsProgress;
+
+        switch (sequencesHeaderSize)
+        {
+        case 1:
+            dst.putByte(dstProgress, (byte) sequences);
+            break;
+        case 2:
+            dst.putByte(dstProgress, (byte) ((sequences >>> 8) + 0x80));
+            dst.putByte(dstProgress + 1, (byte) sequences);
+            break;
+        default:
+            dst.putByte(dstProgress, (byte) 0xff);
+            dst.putShort(dstProgress + 1, (short) (sequences - 0x7f00), LITTLE_ENDIAN);
+            break;
+        }
+        dstProgress += sequencesHeaderSize;
+
+        dst.putByte(dstProgress++, (byte) (MODE_PREDEFINED << 6 | MODE_PREDEFINED << 4 | MODE_PREDEFINED << 2));
+
+        return encodeSequences(sequences, dst, dstProgress, dstLimit);
+    }
+
+    private int encodeSequences(
+        int sequences,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        final FseEncoder literalsLengthEncoder = LITERALS_LENGTH_DEFAULT_ENCODER;
+        final FseEncoder matchLengthEncoder = MATCH_LENGTH_DEFAULT_ENCODER;
+        final FseEncoder offsetEncoder = OFFSET_DEFAULT_ENCODER;
+        final ForwardBitWriter writer = this.writer;
+
+        writer.wrap(dst, dstIndex, dstLimit);
+
+        // sequences are encoded last to first, so the decoder reads them first to last
+        final int last = sequences - 1;
+        final int lastLiteralsLengthCode = literalsLengthCode(literalLengths[last]);
+        final int lastMatchLengthCode = matchLengthCode(matchLengths[last]);
+        final int lastOffsetCode = offsetCode(matchOffsets[last]);
+
+        int matchLengthState = matchLengthEncoder.init(lastMatchLengthCode);
+        int offsetState = offsetEncoder.init(lastOffsetCode);
+        int literalsLengthState = literalsLengthEncoder.init(lastLiteralsLengthCode);
+
+        writeSequence(last, lastLiteralsLengthCode, lastMatchLengthCode, lastOffsetCode);
+
+        for (int sequence = last - 1; sequence >= 0; sequence--)
+        {
+            final int literalsLengthCode = literalsLengthCode(literalLengths[sequence]);
+            final int matchLengthCode = matchLengthCode(matchLengths[sequence]);
+            final int offsetCode = offsetCode(matchOffsets[sequence]);
+
+            offsetState = offsetEncoder.encode(offsetState, offsetCode, writer);
+            matchLengthState = matchLengthEncoder.encode(matchLengthState, matchLengthCode, writer);
+            literalsLengthState = literalsLengthEncoder.encode(literalsLengthState, literalsLengthCode, writer);
+
+            writeSequence(sequence, literalsLengthCode, matchLengthCode, offsetCode);
+        }
+
+        writer.write(matchLengthState, matchLengthEncoder.log);
+        writer.write(offsetState, offsetEncoder.log);
+        writer.write(literalsLengthState, literalsLengthEncoder.log);
+
+        return writer.close();
+    }
+
+    private void writeSequence(
+        int sequence,
+        int literalsLengthCode,
+        int matchLengthCode,
+        int offsetCode)
+    {
+        writer.write(literalLengths[sequence] - LITERALS_LENGTH_BASELINES[literalsLengthCode],
+            LITERALS_LENGTH_BITS[literalsLengthCode]);
+        writer.write(matchLengths[sequence] - MATCH_LENGTH_BASELINES[matchLengthCode],
+            MATCH_LENGTH_BITS[matchLengthCode]);
+        writer.write(matchOffsets[sequence] + 3 - (1 << offsetCode), offsetCode);
+    }
+
+    private static int literalsLengthCode(
+        int literalLength)
+    {
+        return literalLength < LITERALS_LENGTH_CODES.length
+            ? LITERALS_LENGTH_CODES[literalLength]
+            : 31 - Integer.numberOfLeadingZeros(literalLength) + 19;
+    }
+
+    private static int matchLengthCode(
+        int matchLength)
+    {
+        final int matchLengthBase = matchLength - 3;
+        return matchLengthBase < MATCH_LENGTH_CODES.length
+            ? MATCH_LENGTH_CODES[matchLengthBase]
+            : 31 - Integer.numberOfLeadingZeros(matchLengthBase) + 36;
+    }
+
+    private static int offsetCode(
+        int matchOffset)
+    {
+        // offset values above 3 are new offsets rather than repeat offsets
+        return 31 - Integer.numberOfLeadingZeros(matchOffset + 3);
+    }
+
+    private static byte[] lengthCodes(
+        int[] baselines,
+        int base,
+        int length)
+    {
+        final byte[] codes = new byte[length];
+        int code = 0;
+        for (int value = 0; value < length; value++)
+        {
+            while (code + 1 < baselines.length && baselines[code + 1] - base <= value)
+            {
+                code++;
+            }
+            codes[value] = (byte) code;
+        }
+        return codes;
+    }
+
+    private int decompressFrame(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstLimit)
+    {
+        if (srcIndex >= srcLimit)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        final int flags = src.getByte(srcIndex) & 0xff;
+        if ((flags & FLAG_RESERVED) != 0)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        final boolean singleSegment = (flags & FLAG_SINGLE_SEGMENT) != 0;
+        final int dictionaryIdFlag = flags & FLAG_DICTIONARY_ID_MASK;
+        final int dictionaryIdSize = dictionaryIdFlag == 3 ? BitUtil.SIZE_OF_INT : dictionaryIdFlag;
+        final int contentSizeFlag = flags >>> 6;
+        final int contentSizeSize = contentSizeFlag == 0 ? singleSegment ? 1 : 0 : 1 << contentSizeFlag;
+
+        int srcProgress = srcIndex + 1 + (singleSegment ? 0 : 1);
+        if (srcProgress + dictionaryIdSize + contentSizeSize > srcLimit)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        for (int i = 0; i < dictionaryIdSize; i++)
+        {
+            if (src.getByte(srcProgress++) != 0)
+            {
+                // dictionaries are not negotiated with Kafka producers
+                return DECOMPRESS_FAILED;
+            }
+        }
+
+        long contentSize = 0L;
+        for (int i = 0; i < contentSizeSize; i++)
+        {
+            contentSize |= (src.getByte(srcProgress++) & 0xffL) << (i * Byte.SIZE);
+        }
+
+        if (contentSizeSize == BitUtil.SIZE_OF_SHORT)
+        {
+            contentSize += 256;
+        }
+
+        if (contentSize < 0L || contentSize > dstLimit - dstIndex)
+        {
+            return DECOMPRESS_OVERFLOW;
+        }
+
+        // output beyond a declared content size is a malformed frame rather than an overflow
+        final int contentLimit = contentSizeSize != 0 ? dstIndex + (int) contentSize : dstLimit;
+        final int contentOverflow = contentSizeSize != 0 ? DECOMPRESS_FAILED : DECOMPRESS_OVERFLOW;
+
+        repeatOffset0 = 1;
+        repeatOffset1 = 4;
+        repeatOffset2 = 8;
+        huffmanMaxBits = 0;
+        literalsLengthActive = null;
+        matchLengthActive = null;
+        offsetActive = null;
+
+        int dstProgress = dstIndex;
+        boolean lastBlock = false;
+        while (!lastBlock)
+        {
+            if (srcProgress + BLOCK_HEADER_SIZE > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            final int blockHeader = (src.getByte(srcProgress) & 0xff) |
+                (src.getByte(srcProgress + 1) & 0xff) << 8 |
+                (src.getByte(srcProgress + 2) & 0xff) << 16;
+            srcProgress += BLOCK_HEADER_SIZE;
+
+            lastBlock = (blockHeader & 0x01) != 0;
+            final int blockType = (blockHeader >>> 1) & 0x03;
+            final int blockSize = blockHeader >>> 3;
+
+            switch (blockType)
+            {
+            case BLOCK_RAW:
+                if (srcProgress + blockSize > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+                if (dstProgress + blockSize > contentLimit)
+                {
+                    return contentOverflow;
+                }
+                dst.putBytes(dstProgress, src, srcProgress, blockSize);
+                srcProgress += blockSize;
+                dstProgress += blockSize;
+                break;
+            case BLOCK_RLE:
+                if (srcProgress + 1 > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+                if (dstProgress + blockSize > contentLimit)
+                {
+                    return contentOverflow;
+                }
+                dst.setMemory(dstProgress, blockSize, src.getByte(srcProgress));
+                srcProgress += 1;
+                dstProgress += blockSize;
+                break;
+            case BLOCK_COMPRESSED:
+                if (blockSize > BLOCK_MAX_SIZE || srcProgress + blockSize > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+                // sequences may reference output of previous blocks in the same frame
+                dstProgress = decompressBlock(src, srcProgress, srcProgress + blockSize,
+                    dst, dstIndex, dstProgress, contentLimit);
+                if (dstProgress < 0)
+                {
+                    return dstProgress == DECOMPRESS_OVERFLOW ? contentOverflow : dstProgress;
+                }
+                srcProgress += blockSize;
+                break;
+            default:
+                return DECOMPRESS_FAILED;
+            }
+        }
+
+        if ((flags & FLAG_CONTENT_CHECKSUM) != 0)
+        {
+            srcProgress += BitUtil.SIZE_OF_INT;
+        }
+
+        if (srcProgress > srcLimit ||
+            contentSizeSize != 0 && dstProgress - dstIndex != contentSize)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        frameLimit = srcProgress;
+
+        return dstProgress;
+    }
+
+    private int decompressBlock(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstProgress,
+        int dstLimit)
+    {
+        if (srcIndex >= srcLimit)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        final int literalsHeader = src.getByte(srcIndex) & 0xff;
+        final int literalsType = literalsHeader & 0x03;
+        final int sizeFormat = (literalsHeader >>> 2) & 0x03;
+
+        DirectBuffer literalsBuffer;
+        int literalsIndex;
+        int literalsLength;
+        int srcProgress;
+
+        if (literalsType == LITERALS_RAW || literalsType == LITERALS_RLE)
+        {
+            int headerSize;
+            switch (sizeFormat)
+            {
+            case 1:
+                headerSize = 2;
+                break;
+            case 3:
+                headerSize = 3;
+                break;
+            default:
+                headerSize = 1;
+                break;
+            }
+
+            if (srcIndex + headerSize > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            switch (headerSize)
+            {
+            case 1:
+                literalsLength = literalsHeader >>> 3;
+                break;
+            case 2:
+                literalsLength = (literalsHeader >>> 4) + ((src.getByte(srcIndex + 1) & 0xff) << 4);
+                break;
+            default:
+                literalsLength = (literalsHeader >>> 4) + ((src.getByte(srcIndex + 1) & 0xff) << 4) +
+                    ((src.getByte(srcIndex + 2) & 0xff) << 12);
+                break;
+            }
+
+            if (literalsLength > BLOCK_MAX_SIZE)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            srcProgress = srcIndex + headerSize;
+
+            if (literalsType == LITERALS_RAW)
+            {
+                if (srcProgress + literalsLength > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+
+                literalsBuffer = src;
+                literalsIndex = srcProgress;
+                srcProgress += literalsLength;
+            }
+            else
+            {
+                if (srcProgress + 1 > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+
+                literals.setMemory(0, literalsLength, src.getByte(srcProgress));
+                literalsBuffer = literals;
+                literalsIndex = 0;
+                srcProgress += 1;
+            }
+        }
+        else
+        {
+            final int headerSize = sizeFormat < 2 ? 3 : sizeFormat + 2;
+            final int sizeBits = sizeFormat < 2 ? 10 : sizeFormat == 2 ? 14 : 18;
+            final int streams = sizeFormat == 0 ? 1 : 4;
+
+            if (srcIndex + headerSize > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            long header = 0L;
+            for (int i = 0; i < headerSize; i++)
+            {
+                header |= (src.getByte(srcIndex + i) & 0xffL) << (i * Byte.SIZE);
+            }
+
+            final int sizeMask = (1 << sizeBits) - 1;
+            literalsLength = (int) (header >>> 4) & sizeMask;
+            final int compressedLength = (int) (header >>> (4 + sizeBits)) & sizeMask;
+
+            srcProgress = srcIndex + headerSize;
+            final int compressedLimit = srcProgress + compressedLength;
+            if (literalsLength > BLOCK_MAX_SIZE || compressedLimit > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            if (literalsType == LITERALS_COMPRESSED)
+            {
+                srcProgress = decodeHuffmanTree(src, srcProgress, compressedLimit);
+            }
+            else if (huffmanMaxBits == 0)
+            {
+                // treeless literals reuse the tree of a previous block
+                srcProgress = DECOMPRESS_FAILED;
+            }
+
+            if (srcProgress < 0 ||
+                !decodeHuffmanStreams(src, srcProgress, compressedLimit, streams, literalsLength))
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            literalsBuffer = literals;
+            literalsIndex = 0;
+            srcProgress = compressedLimit;
+        }
+
+        return decodeSequences(src, srcProgress, srcLimit, literalsBuffer, literalsIndex, literalsLength,
+            dst, dstIndex, dstProgress, dstLimit);
+    }
+
+    private int decodeSequences(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        DirectBuffer literalsBuffer,
+        int literalsIndex,
+        int literalsLength,
+        MutableDirectBuffer dst,
+        int dstIndex,
+        int dstProgress,
+        int dstLimit)
+    {
+        if (srcIndex >= srcLimit)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        int srcProgress = srcIndex;
+        int sequences = src.getByte(srcProgress++) & 0xff;
+        if (sequences >= 0x80)
+        {
+            if (sequences == 0xff)
+            {
+                if (srcProgress + 2 > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+                sequences = (src.getShort(srcProgress, LITTLE_ENDIAN) & 0xffff) + 0x7f00;
+                srcProgress += 2;
+            }
+            else
+            {
+                if (srcProgress + 1 > srcLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+                sequences = ((sequences - 0x80) << 8) + (src.getByte(srcProgress++) & 0xff);
+            }
+        }
+
+        final int literalsLimit = literalsIndex + literalsLength;
+        int literalsProgress = literalsIndex;
+
+        if (sequences != 0)
+        {
+            if (srcProgress + 1 > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            final int modes = src.getByte(srcProgress++) & 0xff;
+            if ((modes & 0x03) != 0)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            srcProgress = decodeSequenceTable(src, srcProgress, srcLimit, modes >>> 6,
+                LITERALS_LENGTH_DEFAULT_TABLE, literalsLengthTable, literalsLengthRleTable, literalsLengthActive,
+                LITERALS_LENGTH_MAX_SYMBOL, LITERALS_LENGTH_MAX_LOG);
+            if (srcProgress < 0)
+            {
+                return DECOMPRESS_FAILED;
+            }
+            final FseTable literalsLengthSelected = literalsLengthActive = selected;
+
+            srcProgress = decodeSequenceTable(src, srcProgress, srcLimit, (modes >>> 4) & 0x03,
+                OFFSET_DEFAULT_TABLE, offsetTable, offsetRleTable, offsetActive,
+                OFFSET_MAX_SYMBOL, OFFSET_MAX_LOG);
+            if (srcProgress < 0)
+            {
+                return DECOMPRESS_FAILED;
+            }
+            final FseTable offsetSelected = offsetActive = selected;
+
+            srcProgress = decodeSequenceTable(src, srcProgress, srcLimit, (modes >>> 2) & 0x03,
+                MATCH_LENGTH_DEFAULT_TABLE, matchLengthTable, matchLengthRleTable, matchLengthActive,
+                MATCH_LENGTH_MAX_SYMBOL, MATCH_LENGTH_MAX_LOG);
+            if (srcProgress < 0)
+            {
+                return DECOMPRESS_FAILED;
+            }
+            final FseTable matchLengthSelected = matchLengthActive = selected;
+
+            final BackwardBitReader reader = this.reader;
+            if (!reader.wrap(src, srcProgress, srcLimit - srcProgress))
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            int literalsLengthState = (int) reader.read(literalsLengthSelected.log);
+            int offsetState = (int) reader.read(offsetSelected.log);
+            int matchLengthState = (int) reader.read(matchLengthSelected.log);
+
+            for (int sequence = 0; sequence < sequences; sequence++)
+            {
+                final int offsetCode = offsetSelected.symbols[offsetState];
+                final int matchLengthCode = matchLengthSelected.symbols[matchLengthState];
+                final int literalsLengthCode = literalsLengthSelected.symbols[literalsLengthState];
+
+                final long offsetValue = (1L << offsetCode) + reader.read(offsetCode);
+                final int matchLength = MATCH_LENGTH_BASELINES[matchLengthCode] +
+                    (int) reader.read(MATCH_LENGTH_BITS[matchLengthCode]);
+                final int literalLength = LITERALS_LENGTH_BASELINES[literalsLengthCode] +
+                    (int) reader.read(LITERALS_LENGTH_BITS[literalsLengthCode]);
+
+                if (sequence + 1 < sequences)
+                {
+                    literalsLengthState = literalsLengthSelected.next(literalsLengthState, reader);
+                    matchLengthState = matchLengthSelected.next(matchLengthState, reader);
+                    offsetState = offsetSelected.next(offsetState, reader);
+                }
+
+                final int matchOffset = resolveOffset(offsetValue, literalLength);
+
+                if (literalsProgress + literalLength > literalsLimit)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+
+                if (dstProgress + literalLength + matchLength > dstLimit)
+                {
+                    return DECOMPRESS_OVERFLOW;
+                }
+
+                dst.putBytes(dstProgress, literalsBuffer, literalsProgress, literalLength);
+                literalsProgress += literalLength;
+                dstProgress += literalLength;
+
+                if (matchOffset <= 0 || matchOffset > dstProgress - dstIndex)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+
+                copyMatch(dst, dstProgress, matchOffset, matchLength);
+                dstProgress += matchLength;
+            }
+
+            if (!reader.consumed())
+            {
+                return DECOMPRESS_FAILED;
+            }
+        }
+
+        final int literalsRemaining = literalsLimit - literalsProgress;
+        if (dstProgress + literalsRemaining > dstLimit)
+        {
+            return DECOMPRESS_OVERFLOW;
+        }
+
+        dst.putBytes(dstProgress, literalsBuffer, literalsProgress, literalsRemaining);
+        dstProgress += literalsRemaining;
+
+        return dstProgress;
+    }
+
+    private int decodeSequenceTable(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        int mode,
+        FseTable predefined,
+        FseTable compressed,
+        FseTable rle,
+        FseTable previous,
+        int maxSymbol,
+        int maxLog)
+    {
+        int srcProgress = srcIndex;
+
+        switch (mode)
+        {
+        case MODE_PREDEFINED:
+            selected = predefined;
+            break;
+        case MODE_RLE:
+            if (srcProgress + 1 > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            final int symbol = src.getByte(srcProgress++) & 0xff;
+            if (symbol > maxSymbol)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            rle.rle(symbol);
+            selected = rle;
+            break;
+        case MODE_COMPRESSED:
+            srcProgress = decodeNormalizedCounts(src, srcProgress, srcLimit, maxSymbol, maxLog);
+            if (srcProgress < 0 || !compressed.init(norm, maxSymbol, normLog))
+            {
+                return DECOMPRESS_FAILED;
+            }
+            selected = compressed;
+            break;
+        default:
+            // repeat mode reuses the table of a previous block
+            selected = previous;
+            if (selected == null)
+            {
+                return DECOMPRESS_FAILED;
+            }
+            break;
+        }
+
+        return srcProgress;
+    }
+
+    private int decodeNormalizedCounts(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        int maxSymbol,
+        int maxLog)
+    {
+        final long srcBits = (long) (srcLimit - srcIndex) * Byte.SIZE;
+
+        if (srcBits < 4)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        final int log = (src.getByte(srcIndex) & 0x0f) + FSE_MIN_LOG;
+        if (log > maxLog)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        Arrays.fill(norm, (short) 0);
+
+        long bitProgress = 4;
+        int remaining = (1 << log) + 1;
+        int threshold = 1 << log;
+        int bits = log + 1;
+        int symbol = 0;
+        boolean previousZero = false;
+
+        while (remaining > 1 && symbol <= maxSymbol)
+        {
+            if (previousZero)
+            {
+                int repeat;
+                do
+                {
+                    if (bitProgress + 2 > srcBits)
+                    {
+                        return DECOMPRESS_FAILED;
+                    }
+                    repeat = (int) readForward(src, srcIndex, bitProgress, 2);
+                    bitProgress += 2;
+                    symbol += repeat;
+                }
+                while (repeat == 3);
+
+                if (symbol > maxSymbol)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+            }
+
+            if (bitProgress > srcBits)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            final int max = (2 * threshold - 1) - remaining;
+            final int value = (int) readForward(src, srcIndex, bitProgress, bits);
+
+            int count;
+            if ((value & (threshold - 1)) < max)
+            {
+                count = value & (threshold - 1);
+                bitProgress += bits - 1;
+            }
+            else
+            {
+                count = value & (2 * threshold - 1);
+                if (count >= threshold)
+                {
+                    count -= max;
+                }
+                bitProgress += bits;
+            }
+
+            count--;
+            remaining -= Math.abs(count);
+            norm[symbol++] = (short) count;
+            previousZero = count == 0;
+
+            if (remaining < 1)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            while (remaining < threshold)
+            {
+                bits--;
+                threshold >>= 1;
+            }
+        }
+
+        final long srcProgress = srcIndex + (bitProgress + Byte.SIZE - 1) / Byte.SIZE;
+        if (remaining != 1 || srcProgress > srcLimit)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        normLog = log;
+
+        return (int) srcProgress;
+    }
+
+    private int decodeHuffmanTree(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit)
+    {
+        if (srcIndex >= srcLimit)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        final int header = src.getByte(srcIndex) & 0xff;
+
+        int srcProgress = srcIndex + 1;
+        int weights;
+
+        if (header < 128)
+        {
+            final int weightsLimit = srcProgress + header;
+            if (header == 0 || weightsLimit > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            srcProgress = decodeNormalizedCounts(src, srcProgress, weightsLimit, HUFFMAN_MAX_SYMBOL, HUFFMAN_WEIGHTS_MAX_LOG);
+            if (srcProgress < 0 ||
+                !weightsTable.init(norm, HUFFMAN_MAX_SYMBOL, normLog) ||
+                !reader.wrap(src, srcProgress, weightsLimit - srcProgress))
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            // two interleaved states share the stream until it is exhausted
+            int state1 = (int) reader.read(weightsTable.log);
+            int state2 = (int) reader.read(weightsTable.log);
+
+            weights = 0;
+            while (true)
+            {
+                if (weights > HUFFMAN_MAX_SYMBOL)
+                {
+                    return DECOMPRESS_FAILED;
+                }
+
+                huffmanWeights[weights++] = weightsTable.symbols[state1];
+                state1 = weightsTable.next(state1, reader);
+                if (reader.overflow())
+                {
+                    huffmanWeights[weights++] = weightsTable.symbols[state2];
+                    break;
+                }
+
+                huffmanWeights[weights++] = weightsTable.symbols[state2];
+                state2 = weightsTable.next(state2, reader);
+                if (reader.overflow())
+                {
+                    huffmanWeights[weights++] = weightsTable.symbols[state1];
+                    break;
+                }
+            }
+
+            srcProgress = weightsLimit;
+        }
+        else
+        {
+            weights = header - 127;
+            final int weightsLimit = srcProgress + (weights + 1) / 2;
+            if (weightsLimit > srcLimit)
+            {
+                return DECOMPRESS_FAILED;
+            }
+
+            for (int i = 0; i < weights; i += 2)
+            {
+                final int packed = src.getByte(srcProgress + i / 2) & 0xff;
+                huffmanWeights[i] = (byte) (packed >>> 4);
+                huffmanWeights[i + 1] = (byte) (packed & 0x0f);
+            }
+
+            srcProgress = weightsLimit;
+        }
+
+        if (weights > HUFFMAN_MAX_SYMBOL)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        int total = 0;
+        for (int i = 0; i < weights; i++)
+        {
+            final int weight = huffmanWeights[i];
+            if (weight > HUFFMAN_MAX_BITS)
+            {
+                return DECOMPRESS_FAILED;
+            }
+            total += weight != 0 ? 1 << (weight - 1) : 0;
+        }
+
+        if (total == 0)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        // last weight is implied by the remainder to the next power of two
+        final int maxBits = 32 - Integer.numberOfLeadingZeros(total);
+        final int remainder = (1 << maxBits) - total;
+        if (maxBits > HUFFMAN_MAX_BITS || Integer.bitCount(remainder) != 1)
+        {
+            return DECOMPRESS_FAILED;
+        }
+
+        huffmanWeights[weights++] = (byte) (32 - Integer.numberOfLeadingZeros(remainder));
+
+        // lowest weights take the lowest prefix codes, in symbol order
+        int entry = 0;
+        for (int weight = 1; weight <= maxBits; weight++)
+        {
+            final int entries = 1 << (weight - 1);
+            final byte bits = (byte) (maxBits + 1 - weight);
+            for (int symbol = 0; symbol < weights; symbol++)
+            {
+                if (huffmanWeights[symbol] == weight)
+                {
+                    for (int i = 0; i < entries; i++)
+                    {
+                        huffmanSymbols[entry] = (byte) symbol;
+                        huffmanBits[entry] = bits;
+                        entry++;
+                    }
+                }
+            }
+        }
+
+        huffmanMaxBits = maxBits;
+
+        return srcProgress;
+    }
+
+    private boolean decodeHuffmanStreams(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLimit,
+        int streams,
+        int literalsLength)
+    {
+        boolean decoded;
+
+        if (streams == 1)
+        {
+            decoded = decodeHuffmanStream(src, srcIndex, srcLimit - srcIndex, 0, literalsLength);
+        }
+        else
+        {
+            final int jumpTableSize = 3 * BitUtil.SIZE_OF_SHORT;
+            final int streamsIndex = srcIndex + jumpTableSize;
+
+            decoded = streamsIndex <= srcLimit;
+
+            if (decoded)
+            {
+                final int size1 = src.getShort(srcIndex, LITTLE_ENDIAN) & 0xffff;
+                final int size2 = src.getShort(srcIndex + 2, LITTLE_ENDIAN) & 0xffff;
+                final int size3 = src.getShort(srcIndex + 4, LITTLE_ENDIAN) & 0xffff;
+                final int size4 = srcLimit - streamsIndex - size1 - size2 - size3;
+
+                final int segment = (literalsLength + 3) / 4;
+                final int segment4 = literalsLength - 3 * segment;
+
+                decoded = size4 > 0 && segment4 >= 0 &&
+                    decodeHuffmanStream(src, streamsIndex, size1, 0, segment) &&
+                    decodeHuffmanStream(src, streamsIndex + size1, size2, segment, segment) &&
+                    decodeHuffmanStream(src, streamsIndex + size1 + size2, size3, 2 * segment, segment) &&
+                    decodeHuffmanStream(src, streamsIndex + size1 + size2 + size3, size4, 3 * segment, segment4);
+            }
+        }
+
+        return decoded;
+    }
+
+    private boolean decodeHuffmanStream(
+        DirectBuffer src,
+        int srcIndex,
+        int srcLength,
+        int literalsIndex,
+        int literalsLength)
+    {
+        final BackwardBitReader reader = this.reader;
+        final int maxBits = huffmanMaxBits;
+
+        boolean decoded = reader.wrap(src, srcIndex, srcLength);
+
+        for (int i = 0; decoded && i < literalsLength; i++)
+        {
+            final int entry = (int) reader.peek(maxBits);
+            literals.putByte(literalsIndex + i, huffmanSymbols[entry]);
+            reader.skip(huffmanBits[entry]);
+        }
+
+        return decoded && reader.consumed();
+    }
+
+    private int resolveOffset(
+        long offsetValue,
+        int literalLength)
+    {
+        int offset;
+
+        if (offsetValue > 3)
+        {
+            offset = (int) Math.min(offsetValue - 3, Integer.MAX_VALUE);
+            repeatOffset2 = repeatOffset1;
+            repeatOffset1 = repeatOffset0;
+            repeatOffset0 = offset;
+        }
+        else
+        {
+            // repeat offsets shift by one when the sequence has no literals
+            final int repeat = (int) offsetValue - 1 + (literalLength == 0 ? 1 : 0);
+            switch (repeat)
+            {
+            case 0:
+                offset = repeatOffset0;
+                break;
+            case 1:
+                offset = repeatOffset1;
+                repeatOffset1 = repeatOffset0;
+                repeatOffset0 = offset;
+                break;
+            case 2:
+                offset = repeatOffset2;
+                repeatOffset2 = repeatOffset1;
+                repeatOffset1 = repeatOffset0;
+                repeatOffset0 = offset;
+                break;
+            default:
+                offset = repeatOffset0 - 1;
+                repeatOffset2 = repeatOffset1;
+                repeatOffset1 = repeatOffset0;
+                repeatOffset0 = offset;
+                break;
+            }
+        }
+
+        return offset;
+    }
+
+    private static long readForward(
+        DirectBuffer src,
+        int srcIndex,
+        long bitIndex,
+        int bits)
+    {
+        final int srcLimit = src.capacity();
+
+        long value = 0L;
+        int byteIndex = srcIndex + (int) (bitIndex >>> 3);
+        final int bitOffset = (int) (bitIndex & 0x07);
+        for (int shift = 0; shift < bitOffset + bits && byteIndex < srcLimit; shift += Byte.SIZE, byteIndex++)
+        {
+            value |= (src.getByte(byteIndex) & 0xffL) << shift;
+        }
+
+        return (value >>> bitOffset) & ((1L << bits) - 1);
+    }
+
+    private static final class BackwardBitReader
+    {
+        private DirectBuffer buffer;
+        private int index;
+        private long position;
+
+        boolean wrap(
+            DirectBuffer buffer,
+            int index,
+            int length)
+        {
+            this.buffer = buffer;
+            this.index = index;
+
+            // highest set bit of the last byte marks the start of the stream
+            final int last = length > 0 ? buffer.getByte(index + length - 1) & 0xff : 0;
+            this.position = last != 0 ? (length - 1L) * Byte.SIZE + 31 - Integer.numberOfLeadingZeros(last) : -1L;
+
+            return last != 0;
+        }
+
+        long peek(
+            int bits)
+        {
+            long start = position - bits;
+            int count = bits;
+            int shift = 0;
+
+            if (start < 0L)
+            {
+                // bits before the start of the stream read as zero
+                count += (int) start;
+                shift = (int) -start;
+                start = 0L;
+            }
+
+            long value = 0L;
+            if (count > 0)
+            {
+                int byteIndex = index + (int) (start >>> 3);
+                final int bitOffset = (int) (start & 0x07);
+                for (int byteShift = 0; byteShift < bitOffset + count; byteShift += Byte.SIZE, byteIndex++)
+                {
+                    value |= (buffer.getByte(byteIndex) & 0xffL) << byteShift;
+                }
+                value = ((value >>> bitOffset) & ((1L << count) - 1)) << shift;
+            }
+
+            return value;
+        }
+
+        void skip(
+            int bits)
+        {
+            position -= bits;
+        }
+
+        long read(
+            int bits)
+        {
+            final long value = peek(bits);
+            position -= bits;
+            return value;
+        }
+
+        boolean overflow()
+        {
+            return position < 0L;
+        }
+
+        boolean consumed()
+        {
+            return position == 0L;
+        }
+    }
+
+    private static final class ForwardBitWriter
+    {
+        private MutableDirectBuffer buffer;
+        private int progress;
+        private int limit;
+        private long container;
+        private int count;
+
+        void wrap(
+            MutableDirectBuffer buffer,
+            int index,
+            int limit)
+        {
+            this.buffer = buffer;
+            this.progress = index;
+            this.limit = limit;
+            this.container = 0L;
+            this.count = 0;
+        }
+
+        void write(
+            long value,
+            int bits)
+        {
+            container |= (value & ((1L << bits) - 1)) << count;
+            count += bits;
+
+            while (count >= Byte.SIZE)
+            {
+                if (progress < limit)
+                {
+                    buffer.putByte(progress, (byte) container);
+                }
+                progress++;
+                container >>>= Byte.SIZE;
+                count -= Byte.SIZE;
+            }
+        }
+
+        int close()
+        {
+            // highest set bit of the last byte marks the end of the stream
+            write(1L, 1);
+
+            if (count > 0)
+            {
+                if (progress < limit)
+                {
+                    buffer.putByte(progress, (byte) container);
+                }
+                progress++;
+            }
+
+            return progress <= limit ? progress : COMPRESS_FAILED;
+        }
+    }
+
+    private static final class FseTable
+    {
+        private final byte[] symbols;
+        private final byte[] bits;
+        private final int[] baselines;
+        private final int[] next;
+
+        private int log;
+
+        FseTable(
+            int maxLog)
+        {
+            this.symbols = new byte[1 << maxLog];
+            this.bits = new byte[1 << maxLog];
+            this.baselines = new int[1 << maxLog];
+            this.next = new int[HUFFMAN_MAX_SYMBOL + 1];
+        }
+
+        int next(
+            int state,
+            BackwardBitReader reader)
+        {
+            return baselines[state] + (int) reader.read(bits[state]);
+        }
+
+        void rle(
+            int symbol)
+        {
+            log = 0;
+            symbols[0] = (byte) symbol;
+            bits[0] = 0;
+            baselines[0] = 0;
+        }
+
+        boolean init(
+            short[] norm,
+            int maxSymbol,
+            int log)
+        {
+            final int size = 1 << log;
+            final int mask = size - 1;
+            final int step = (size >>> 1) + (size >>> 3) + 3;
+
+            int total = 0;
+            int high = size - 1;
+            for (int symbol = 0; symbol <= maxSymbol; symbol++)
+            {
+                final int count = norm[symbol];
+                if (count == -1)
+                {
+                    // less than one probability takes one state from the end of the table
+                    symbols[high--] = (byte) symbol;
+                    next[symbol] = 1;
+                    total++;
+                }
+                else
+                {
+                    next[symbol] = count;
+                    total += count;
+                }
+            }
+
+            boolean valid = total == size && log <= FSE_MAX_LOG;
+
+            int position = 0;
+            for (int symbol = 0; valid && symbol <= maxSymbol; symbol++)
+            {
+                for (int i = 0; i < norm[symbol]; i++)
+                {
+                    symbols[position] = (byte) symbol;
+                    do
+                    {
+                        position = (position + step) & mask;
+                    }
+                    while (position > high);
+                }
+            }
+
+            valid &= position == 0;
+
+            for (int state = 0; valid && state < size; state++)
+            {
+                final int symbol = symbols[state] & 0xff;
+                final int nextState = next[symbol]++;
+                final int nextBits = log - (31 - Integer.numberOfLeadingZeros(nextState));
+                bits[state] = (byte) nextBits;
+                baselines[state] = (nextState << nextBits) - size;
+            }
+
+            this.log = log;
+
+            return valid;
+        }
+
+        static FseTable build(
+            short[] defaultNorm,
+            int maxSymbol,
+            int log)
+        {
+            final short[] norm = new short[maxSymbol + 1];
+            System.arraycopy(defaultNorm, 0, norm, 0, defaultNorm.length);
+
+            final FseTable table = new FseTable(log);
+            table.init(norm, maxSymbol, log);
+            return table;
+        }
+    }
+
+    private static final class FseEncoder
+    {
+        private final int[] states;
+        private final int[] deltaBits;
+        private final int[] deltaStates;
+        private final int log;
+
+        private FseEncoder(
+            int[] states,
+            int[] deltaBits,
+            int[] deltaStates,
+            int log)
+        {
+            this.states = states;
+            this.deltaBits = deltaBits;
+            this.deltaStates = deltaStates;
+            this.log = log;
+        }
+
+        int init(
+            int symbol)
+        {
+            final int bits = (deltaBits[symbol] + (1 << 15)) >> 16;
+            final int value = (bits << 16) - deltaBits[symbol];
+            return states[(value >> bits) + deltaStates[symbol]];
+        }
+
+        int encode(
+            int state,
+            int symbol,
+            ForwardBitWriter writer)
+        {
+            final int bits = (state + deltaBits[symbol]) >> 16;
+            writer.write(state, bits);
+            return states[(state >> bits) + deltaStates[symbol]];
+        }
+
+        static FseEncoder build(
+            FseTable table,
+            short[] norm)
+        {
+            final int log = table.log;
+            final int size = 1 << log;
+
+            // encoder states follow the same spread as the decoder table
+            final int[] cumulative = new int[norm.length + 1];
+            for (int symbol = 0; symbol < norm.length; symbol++)
+            {
+                cumulative[symbol + 1] = cumulative[symbol] + (norm[symbol] == -1 ? 1 : norm[symbol]);
+            }
+
+            final int[] states = new int[size];
+            for (int state = 0; state < size; state++)
+            {
+                final int symbol = table.symbols[state] & 0xff;
+                states[cumulative[symbol]++] = size + state;
+            }
+
+            final int[] deltaBits = new int[norm.length];
+            final int[] deltaStates = new int[norm.length];
+
+            int total = 0;
+            for (int symbol = 0; symbol < norm.length; symbol++)
+            {
+                final int count = norm[symbol];
+                if (count == -1 || count == 1)
+                {
+                    deltaBits[symbol] = (log << 16) - size;
+                    deltaStates[symbol] = total - 1;
+                    total++;
+                }
+                else if (count > 1)
+                {
+                    final int maxBits = log - (31 - Integer.numberOfLeadingZeros(count - 1));
+                    deltaBits[symbol] = (maxBits << 16) - (count << maxBits);
+                    deltaStates[symbol] = total - count;
+                    total += count;
+                }
+            }
+
+            return new FseEncoder(states, deltaBits, deltaStates, log);
+        }
+    }
+}
@@ -15,18 +15,24 @@
  */
 package io.aklivity.zilla.runtime.binding.kafka.internal.config;
 
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaMetricGroup.PRODUCE_COMPRESSED_BYTES;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaMetricGroup.PRODUCE_UNCOMPRESSED_BYTES;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression.NONE;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.config.KafkaTopicType.DEFAULT_TOPIC_TYPE;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaOffsetType.HISTORICAL;
+import static io.aklivity.zilla.runtime.engine.metrics.Metric.Kind.COUNTER;
 import static java.util.stream.Collectors.toList;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.LongConsumer;
 import java.util.function.ToLongFunction;
 
 import io.aklivity.zilla.runtime.binding.kafka.config.KafkaOptionsConfig;
 import io.aklivity.zilla.runtime.binding.kafka.config.KafkaSaslConfig;
 import io.aklivity.zilla.runtime.binding.kafka.config.KafkaServerConfig;
 import io.aklivity.zilla.runtime.binding.kafka.config.KafkaTopicConfig;
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaDeltaType;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaOffsetType;
 import io.aklivity.zilla.runtime.engine.EngineContext;
@@ -42,6 +48,8 @@ public final class KafkaBindingConfig
     public final List<KafkaRouteConfig> routes;
     public final ToLongFunction<String> resolveId;
     public final List<KafkaTopicType> topicTypes;
+    public final LongConsumer produceUncompressedBytes;
+    public final LongConsumer produceCompressedBytes;
 
     public KafkaBindingConfig(
         BindingConfig binding,
@@ -55,6 +63,8 @@ public final class KafkaBindingConfig
         this.resolveId = binding.resolveId;
         this.topicTypes = options != null && options.topics != null
             ? options.topics.stream().map(t -> new KafkaTopicType(context, t)).collect(toList()) : Collections.emptyList();
+        this.produceUncompressedBytes = supplyCounterWriter(binding, context, PRODUCE_UNCOMPRESSED_BYTES);
+        this.produceCompressedBytes = supplyCounterWriter(binding, context, PRODUCE_COMPRESSED_BYTES);
     }
 
     public KafkaRouteConfig resolve(
@@ -113,6 +123,13 @@ public final class KafkaBindingConfig
         return config != null && config.defaultOffset != null ? config.defaultOffset : HISTORICAL;
     }
 
+    public KafkaCompression supplyCompression(
+        String topic)
+    {
+        KafkaTopicConfig config = topic(topic);
+        return config != null && config.compression != null ? config.compression : NONE;
+    }
+
     public KafkaTopicType resolveTopicType(
         String topic)
     {
@@ -127,4 +144,24 @@ public final class KafkaBindingConfig
         }
         return matchedType;
     }
+
+    private static LongConsumer supplyCounterWriter(
+        BindingConfig binding,
+        EngineContext context,
+        String metricName)
+    {
+        LongConsumer writer = null;
+        if (binding.metricIds != null)
+        {
+            for (long metricId : binding.metricIds)
+            {
+                if (metricName.equals(context.supplyLocalName(metricId)))
+                {
+                    writer = context.supplyMetricWriter(COUNTER, binding.id, metricId);
+                    break;
+                }
+            }
+        }
+        return writer;
+    }
 }
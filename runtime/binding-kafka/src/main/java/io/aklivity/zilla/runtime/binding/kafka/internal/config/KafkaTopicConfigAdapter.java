@@ -25,6 +25,7 @@ import jakarta.json.bind.adapter.JsonbAdapter;
 
 import io.aklivity.zilla.runtime.binding.kafka.config.KafkaTopicConfig;
 import io.aklivity.zilla.runtime.binding.kafka.config.KafkaTopicConfigBuilder;
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaDeltaType;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaOffsetType;
 import io.aklivity.zilla.runtime.engine.config.ModelConfigAdapter;
@@ -34,6 +35,7 @@ public final class KafkaTopicConfigAdapter implements JsonbAdapter<KafkaTopicCon
     private static final String NAME_NAME = "name";
     private static final String DEFAULT_OFFSET_NAME = "defaultOffset";
     private static final String DELTA_TYPE_NAME = "deltaType";
+    private static final String COMPRESSION_NAME = "compression";
     private static final String EVENT_KEY = "key";
     private static final String EVENT_VALUE = "value";
     private static final String SUBJECT = "subject";
@@ -58,6 +60,10 @@ public final class KafkaTopicConfigAdapter implements JsonbAdapter<KafkaTopicCon
         {
             object.add(DELTA_TYPE_NAME, topic.deltaType.toString().toLowerCase());
         }
+        if (topic.compression != null)
+        {
+            object.add(COMPRESSION_NAME, topic.compression.toString().toLowerCase());
+        }
 
         if (topic.key != null)
         {
@@ -94,6 +100,10 @@ public final class KafkaTopicConfigAdapter implements JsonbAdapter<KafkaTopicCon
                 ? KafkaDeltaType.valueOf(object.getString(DELTA_TYPE_NAME).toUpperCase())
                 : null);
 
+        topicBuilder.compression(object.containsKey(COMPRESSION_NAME)
+                ? KafkaCompression.valueOf(object.getString(COMPRESSION_NAME).toUpperCase())
+                : null);
+
         JsonObject key = object.containsKey(EVENT_KEY)
                 ? object.getJsonObject(EVENT_KEY)
                 : null;
@@ -38,6 +38,7 @@ import io.aklivity.zilla.runtime.binding.kafka.internal.types.Flyweight;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.ExtensionFW;
@@ -59,6 +60,7 @@ import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
 public final class KafkaCacheClientConsumerFactory implements BindingHandler
 {
     private static final int FLAGS_INIT_FIN = 3;
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final Consumer<OctetsFW.Builder> EMPTY_EXTENSION = ex -> {};
     private static final DirectBuffer EMPTY_BUFFER = new UnsafeBuffer();
@@ -660,7 +662,7 @@ public final class KafkaCacheClientConsumerFactory implements BindingHandler
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= this.initialAck;
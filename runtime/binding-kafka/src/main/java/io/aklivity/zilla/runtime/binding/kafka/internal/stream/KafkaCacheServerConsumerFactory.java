@@ -40,6 +40,7 @@ import io.aklivity.zilla.runtime.binding.kafka.internal.types.rebalance.MemberAs
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.rebalance.TopicAssignmentFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.stream.ExtensionFW;
@@ -63,6 +64,7 @@ import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
 public final class KafkaCacheServerConsumerFactory implements BindingHandler
 {
     private static final int OFFSET_COMMIT_REQUEST_RECORD_MAX = 512;
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final Consumer<OctetsFW.Builder> EMPTY_EXTENSION = ex -> {};
     private static final DirectBuffer EMPTY_BUFFER = new UnsafeBuffer();
@@ -779,7 +781,7 @@ public final class KafkaCacheServerConsumerFactory implements BindingHandler
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= this.initialAck;
@@ -1446,7 +1448,7 @@ public final class KafkaCacheServerConsumerFactory implements BindingHandler
             final long authorizationId = window.authorization();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -30,6 +30,8 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.LongFunction;
@@ -116,6 +118,7 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
     private static final int SIGNAL_SEGMENT_RETAIN = 2;
     private static final int SIGNAL_SEGMENT_DELETE = 3;
     private static final int SIGNAL_SEGMENT_COMPACT = 4;
+    private static final int SIGNAL_SEGMENT_COMPACTED = 5;
 
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
@@ -149,6 +152,7 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
     private final MutableDirectBuffer extBuffer;
     private final BufferPool bufferPool;
     private final Signaler signaler;
+    private final Executor compactor;
     private final BindingHandler streamFactory;
     private final LongUnaryOperator supplyInitialId;
     private final LongUnaryOperator supplyReplyId;
@@ -167,7 +171,8 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
         EngineContext context,
         LongFunction<KafkaBindingConfig> supplyBinding,
         Function<String, KafkaCache> supplyCache,
-        LongFunction<KafkaCacheRoute> supplyCacheRoute)
+        LongFunction<KafkaCacheRoute> supplyCacheRoute,
+        Executor compactor)
     {
         this.context = context;
         this.kafkaTypeId = context.supplyTypeId(KafkaBinding.NAME);
@@ -184,6 +189,7 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
         this.supplyBinding = supplyBinding;
         this.supplyCache = supplyCache;
         this.supplyCacheRoute = supplyCacheRoute;
+        this.compactor = compactor;
         this.reconnectDelay = config.cacheServerReconnect();
         this.verbose = config.verbose();
     }
@@ -505,6 +511,7 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
         private long deleteId = NO_CANCEL_ID;
         private long compactId = NO_CANCEL_ID;
         private long compactAt = Long.MAX_VALUE;
+        private Node compactNode;
         private long reconnectAt = NO_CANCEL_ID;
         private int reconnectAttempt;
 
@@ -642,6 +649,8 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
                     traceId, authorization, EMPTY_EXTENSION);
 
             state = KafkaState.closedInitial(state);
+
+            doServerFanoutInitialCompactAbandon();
         }
 
         private void doServerFanoutInitialAbortIfNecessary(
@@ -660,6 +669,8 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
                     traceId, authorization, EMPTY_EXTENSION);
 
             state = KafkaState.closedInitial(state);
+
+            doServerFanoutInitialCompactAbandon();
         }
 
         private void onServerFanoutMessage(
@@ -1093,6 +1104,7 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
 
             state = KafkaState.closedInitial(state);
 
+            doServerFanoutInitialCompactAbandon();
             doServerFanoutReplyResetIfNecessary(traceId);
 
             final KafkaResetExFW kafkaResetEx = extension.get(kafkaResetExRO::tryWrap);
@@ -1171,6 +1183,9 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
             case SIGNAL_SEGMENT_COMPACT:
                 onServerFanoutInitialSignalSegmentCompact(signal);
                 break;
+            case SIGNAL_SEGMENT_COMPACTED:
+                onServerFanoutInitialSignalSegmentCompacted(signal);
+                break;
             }
         }
 
@@ -1208,18 +1223,94 @@ public final class KafkaCacheServerFetchFactory implements BindingHandler
 
         private void onServerFanoutInitialSignalSegmentCompact(
             SignalFW signal)
+        {
+            final long traceId = signal.traceId();
+
+            this.compactAt = Long.MAX_VALUE;
+            this.compactId = NO_CANCEL_ID;
+
+            if (compactNode == null)
+            {
+                doServerFanoutInitialCompactNext(traceId);
+            }
+        }
+
+        private void onServerFanoutInitialSignalSegmentCompacted(
+            SignalFW signal)
+        {
+            final long traceId = signal.traceId();
+            final Node segmentNode = compactNode;
+
+            this.compactNode = null;
+
+            if (segmentNode != null && segmentNode.cleaning())
+            {
+                segmentNode.cleanFinish();
+            }
+
+            doServerFanoutInitialCompactNext(traceId);
+        }
+
+        private void doServerFanoutInitialCompactNext(
+            long traceId)
         {
             final long now = currentTimeMillis();
 
             Node segmentNode = partition.sentinel().next();
             while (!segmentNode.next().sentinel()) // avoid cleaning head
             {
-                segmentNode.clean(now);
+                if (segmentNode.cleanStart(now))
+                {
+                    final Node compacting = segmentNode;
+                    this.compactNode = compacting;
+                    try
+                    {
+                        compactor.execute(() -> doServerFanoutInitialCompact(compacting, traceId));
+                    }
+                    catch (RejectedExecutionException ex)
+                    {
+                        this.compactNode = null;
+                        compacting.cleanAbandon();
+                    }
+                    break;
+                }
                 segmentNode = segmentNode.next();
             }
+        }
 
-            this.compactAt = Long.MAX_VALUE;
-            this.compactId = NO_CANCEL_ID;
+        private void doServerFanoutInitialCompact(
+            Node segmentNode,
+            long traceId)
+        {
+            // runs on a compactor thread, signals this initial stream when done
+            try
+            {
+                segmentNode.cleanFiles();
+            }
+            finally
+            {
+                signaler.signalNow(originId, routedId, initialId, traceId, SIGNAL_SEGMENT_COMPACTED, 0);
+            }
+        }
+
+        private void doServerFanoutInitialCompactAbandon()
+        {
+            // compaction signals target this initial stream, so they cannot arrive once it is closed
+            final Node segmentNode = compactNode;
+
+            this.compactNode = null;
+
+            if (segmentNode != null)
+            {
+                segmentNode.cleanAbandon();
+            }
+
+            if (compactId != NO_CANCEL_ID)
+            {
+                signaler.cancel(compactId);
+                this.compactAt = Long.MAX_VALUE;
+                this.compactId = NO_CANCEL_ID;
+            }
         }
 
         private void doServerFanoutReplyResetIfNecessary(
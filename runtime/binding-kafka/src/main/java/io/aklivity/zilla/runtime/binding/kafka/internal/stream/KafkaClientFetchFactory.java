@@ -21,20 +21,31 @@ import static io.aklivity.zilla.runtime.engine.budget.BudgetDebitor.NO_DEBITOR_I
 import static io.aklivity.zilla.runtime.engine.buffer.BufferPool.NO_SLOT;
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.LongFunction;
 
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2IntHashMap;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.IntHashSet;
 import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.LongLongConsumer;
+import org.agrona.collections.Object2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import io.aklivity.zilla.runtime.binding.kafka.config.KafkaSaslConfig;
 import io.aklivity.zilla.runtime.binding.kafka.config.KafkaServerConfig;
 import io.aklivity.zilla.runtime.binding.kafka.internal.KafkaBinding;
 import io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration;
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression;
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec;
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodecs;
 import io.aklivity.zilla.runtime.binding.kafka.internal.config.KafkaBindingConfig;
 import io.aklivity.zilla.runtime.binding.kafka.internal.config.KafkaRouteConfig;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.Flyweight;
@@ -53,8 +64,16 @@ import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.Contro
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.ControlRecordKeyType;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.FetchRequestFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.FetchResponseFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.FetchSessionRequestFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.FetchSessionRequestTrailerFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.FetchSessionResponseFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.ForgottenPartitionRequestFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.ForgottenTopicRequestFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.ForgottenTopicsRequestFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.PartitionRequestFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.PartitionResponseFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.PreferredReplicaResponseFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.SessionPartitionRequestFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.TopicRequestFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.TopicResponseFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.fetch.TransactionResponseFW;
@@ -97,7 +116,15 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
     private static final int ERROR_NONE = 0;
     private static final int ERROR_OFFSET_OUT_OF_RANGE = 1;
+    private static final int ERROR_CORRUPT_MESSAGE = 2;
     private static final int ERROR_NOT_LEADER_FOR_PARTITION = 6;
+    private static final int ERROR_MESSAGE_TOO_LARGE = 10;
+    private static final int ERROR_FETCH_SESSION_ID_NOT_FOUND = 70;
+    private static final int ERROR_INVALID_FETCH_SESSION_EPOCH = 71;
+    private static final int ERROR_UNSUPPORTED_COMPRESSION_TYPE = 76;
+
+    // compressed batches too large for a decode slot are buffered whole, retain only a few for reuse
+    private static final int COMPRESSED_BUFFERS_RETAINED = 2;
 
     private static final int FLAG_CONT = 0x00;
     private static final int FLAG_FIN = 0x01;
@@ -106,6 +133,11 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
     private static final long OFFSET_LIVE = KafkaOffsetType.LIVE.value();
     private static final long OFFSET_HISTORICAL = KafkaOffsetType.HISTORICAL.value();
+    private static final long OFFSET_NONE = Long.MIN_VALUE;
+
+    private static final int SESSION_ID_NONE = 0;
+    private static final int SESSION_EPOCH_INITIAL = 0;
+    private static final int SESSION_EPOCH_FINAL = -1;
 
     private static final int SIGNAL_NEXT_REQUEST = 1;
 
@@ -118,6 +150,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
     private static final short FETCH_API_KEY = 1;
     private static final short FETCH_API_VERSION = 5;
+    private static final short FETCH_SESSION_API_VERSION = 11;
 
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
@@ -149,15 +182,23 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     private final FetchRequestFW.Builder fetchRequestRW = new FetchRequestFW.Builder();
     private final TopicRequestFW.Builder fetchTopicRequestRW = new TopicRequestFW.Builder();
     private final PartitionRequestFW.Builder fetchPartitionRequestRW = new PartitionRequestFW.Builder();
+    private final FetchSessionRequestFW.Builder fetchSessionRequestRW = new FetchSessionRequestFW.Builder();
+    private final SessionPartitionRequestFW.Builder sessionPartitionRequestRW = new SessionPartitionRequestFW.Builder();
+    private final ForgottenTopicsRequestFW.Builder forgottenTopicsRequestRW = new ForgottenTopicsRequestFW.Builder();
+    private final ForgottenTopicRequestFW.Builder forgottenTopicRequestRW = new ForgottenTopicRequestFW.Builder();
+    private final ForgottenPartitionRequestFW.Builder forgottenPartitionRequestRW = new ForgottenPartitionRequestFW.Builder();
+    private final FetchSessionRequestTrailerFW.Builder fetchSessionRequestTrailerRW = new FetchSessionRequestTrailerFW.Builder();
 
     private final ResponseHeaderFW responseHeaderRO = new ResponseHeaderFW();
     private final OffsetsResponseFW offsetsResponseRO = new OffsetsResponseFW();
     private final OffsetsTopicResponseFW offsetsTopicResponseRO = new OffsetsTopicResponseFW();
     private final OffsetsPartitionResponseFW offsetsPartitionResponseRO = new OffsetsPartitionResponseFW();
     private final FetchResponseFW fetchResponseRO = new FetchResponseFW();
+    private final FetchSessionResponseFW fetchSessionResponseRO = new FetchSessionResponseFW();
     private final TopicResponseFW topicResponseRO = new TopicResponseFW();
     private final PartitionResponseFW partitionResponseRO = new PartitionResponseFW();
     private final TransactionResponseFW transactionResponseRO = new TransactionResponseFW();
+    private final PreferredReplicaResponseFW preferredReplicaResponseRO = new PreferredReplicaResponseFW();
     private final RecordSetFW recordSetRO = new RecordSetFW();
     private final RecordBatchFW recordBatchRO = new RecordBatchFW();
     private final Varint32FW recordLengthRO = new Varint32FW();
@@ -182,15 +223,20 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     private final KafkaFetchClientDecoder decodeOffsetsPartition = this::decodeOffsetsPartition;
     private final KafkaFetchClientDecoder decodeFetchResponse = this::decodeFetchResponse;
     private final KafkaFetchClientDecoder decodeFetch = this::decodeFetch;
+    private final KafkaFetchClientDecoder decodeFetchSession = this::decodeFetchSession;
     private final KafkaFetchClientDecoder decodeFetchTopic = this::decodeFetchTopic;
     private final KafkaFetchClientDecoder decodeFetchPartition = this::decodeFetchPartition;
     private final KafkaFetchClientDecoder decodeFetchTransaction = this::decodeFetchTransaction;
+    private final KafkaFetchClientDecoder decodeFetchPreferredReplica = this::decodeFetchPreferredReplica;
     private final KafkaFetchClientDecoder decodeFetchRecordSet = this::decodeFetchRecordSet;
     private final KafkaFetchClientDecoder decodeFetchRecordBatch = this::decodeFetchRecordBatch;
     private final KafkaFetchClientDecoder decodeFetchRecordLength = this::decodeFetchRecordLength;
     private final KafkaFetchClientDecoder decodeFetchRecord = this::decodeFetchRecord;
     private final KafkaFetchClientDecoder decodeFetchRecordInit = this::decodeFetchRecordInit;
     private final KafkaFetchClientDecoder decodeFetchRecordValue = this::decodeFetchRecordValue;
+    private final KafkaFetchClientDecoder decodeFetchRecordBatchCompressed = this::decodeFetchRecordBatchCompressed;
+    private final KafkaFetchClientDecoder decodeBufferRecordBatchCompressed = this::decodeBufferRecordBatchCompressed;
+    private final KafkaFetchClientDecoder decodeFetchRecordBatchBuffered = this::decodeFetchRecordBatchBuffered;
     private final KafkaFetchClientDecoder decodeIgnoreRecord = this::decodeIgnoreRecord;
     private final KafkaFetchClientDecoder decodeIgnoreRecordBatch = this::decodeIgnoreRecordBatch;
     private final KafkaFetchClientDecoder decodeIgnoreRecordSet = this::decodeIgnoreRecordSet;
@@ -212,6 +258,19 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     private final LongFunction<BudgetDebitor> supplyDebitor;
     private final LongFunction<KafkaClientRoute> supplyClientRoute;
     private final int decodeMaxBytes;
+    private final int decompressMaxBytes;
+    private final KafkaCompressionCodecs compressionCodecs;
+    private final boolean fetchCoalesce;
+    private final boolean fetchSession;
+    private final String fetchRack;
+    private final short fetchApiVersion;
+    private final Map<String, KafkaFetchClient> clientsByBroker;
+    private final Deque<MutableDirectBuffer> compressedBuffers;
+
+    private MutableDirectBuffer decompressBuffer;
+    private KafkaFetchClient decompressedClient;
+    private long decompressedBatchOffset;
+    private int decompressedBatchLimit;
 
     public KafkaClientFetchFactory(
         KafkaConfiguration config,
@@ -236,6 +295,14 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         this.supplyDebitor = supplyDebitor;
         this.supplyClientRoute = supplyClientRoute;
         this.decodeMaxBytes = decodePool.slotCapacity();
+        this.decompressMaxBytes = config.clientFetchDecompressMaxBytes();
+        this.compressionCodecs = new KafkaCompressionCodecs();
+        this.fetchCoalesce = config.clientFetchCoalesce();
+        this.fetchSession = config.clientFetchSession();
+        this.fetchRack = config.clientRack();
+        this.fetchApiVersion = fetchSession || fetchRack != null ? FETCH_SESSION_API_VERSION : FETCH_API_VERSION;
+        this.clientsByBroker = new Object2ObjectHashMap<>();
+        this.compressedBuffers = new ArrayDeque<>();
     }
 
     @Override
@@ -303,6 +370,39 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         return newStream;
     }
 
+    private KafkaFetchClient supplyFetchClient(
+        long routedId,
+        long resolvedId,
+        long authorization,
+        long brokerId,
+        String topic,
+        int partitionId,
+        KafkaIsolation isolation,
+        KafkaServerConfig server,
+        KafkaSaslConfig sasl)
+    {
+        KafkaFetchClient client;
+
+        if (fetchCoalesce)
+        {
+            final String broker = String.format("%d:%d:%d:%d:%s", routedId, resolvedId, authorization, brokerId, isolation);
+
+            client = clientsByBroker.get(broker);
+
+            if (client == null || !client.isJoinable(topic, partitionId))
+            {
+                client = new KafkaFetchClient(broker, routedId, resolvedId, brokerId, isolation, server, sasl);
+                clientsByBroker.put(broker, client);
+            }
+        }
+        else
+        {
+            client = new KafkaFetchClient(null, routedId, resolvedId, brokerId, isolation, server, sasl);
+        }
+
+        return client;
+    }
+
     private MessageConsumer newStream(
         MessageConsumer sender,
         long originId,
@@ -580,7 +680,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     private interface KafkaFetchClientDecoder
     {
         int decode(
-            KafkaFetchStream.KafkaFetchClient client,
+            KafkaFetchClient client,
             long traceId,
             long authorization,
             long budgetId,
@@ -592,7 +692,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeOffsetsResponse(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -619,7 +719,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeOffsets(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -651,7 +751,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeOffsetsTopics(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -663,8 +763,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     {
         if (client.decodableTopics == 0)
         {
-            client.onDecodeFetchResponse(traceId);
-            client.encoder = client.encodeFetchRequest;
+            client.onDecodeOffsetsResponse(traceId);
             client.decoder = decodeFetchResponse;
         }
         else
@@ -676,7 +775,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeOffsetsTopic(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -698,10 +797,11 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             }
 
             final String topicName = topic.name().asString();
-            assert client.topic.equals(topicName);
 
             progress = topic.limit();
 
+            client.decodeTopic = topicName;
+
             client.decodableResponseBytes -= topic.sizeof();
             assert client.decodableResponseBytes >= 0;
 
@@ -713,7 +813,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeOffsetsPartitions(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -739,7 +839,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeOffsetsPartition(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -781,7 +881,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetchResponse(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -800,7 +900,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             {
                 progress = responseHeader.limit();
                 client.decodableResponseBytes = responseHeader.length();
-                client.decoder = decodeFetch;
+                client.decoder = fetchApiVersion == FETCH_SESSION_API_VERSION ? decodeFetchSession : decodeFetch;
             }
         }
 
@@ -808,7 +908,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetch(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -838,8 +938,42 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         return progress;
     }
 
+    private int decodeFetchSession(
+        KafkaFetchClient client,
+        long traceId,
+        long authorization,
+        long budgetId,
+        int reserved,
+        DirectBuffer buffer,
+        int offset,
+        int progress,
+        int limit)
+    {
+        final int length = limit - progress;
+
+        if (length != 0)
+        {
+            final FetchSessionResponseFW fetchResponse = fetchSessionResponseRO.tryWrap(buffer, progress, limit);
+
+            if (fetchResponse != null)
+            {
+                progress = fetchResponse.limit();
+
+                client.decodableTopics = fetchResponse.topicCount();
+                client.decodableResponseBytes -= fetchResponse.sizeof();
+                assert client.decodableResponseBytes >= 0;
+
+                client.onDecodeFetchSession(traceId, fetchResponse.errorCode(), fetchResponse.sessionId());
+
+                client.decoder = decodeFetchTopic;
+            }
+        }
+
+        return progress;
+    }
+
     private int decodeFetchTopic(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -864,10 +998,11 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             if (topic != null)
             {
                 final String topicName = topic.name().asString();
-                assert client.topic.equals(topicName);
 
                 progress = topic.limit();
 
+                client.decodeTopic = topicName;
+
                 client.decodableResponseBytes -= topic.sizeof();
                 assert client.decodableResponseBytes >= 0;
 
@@ -880,7 +1015,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetchPartition(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -907,10 +1042,9 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             {
                 final int partitionId = partition.partitionId();
                 final int errorCode = partition.errorCode();
-
-                client.stableOffset = partition.lastStableOffset() - 1;
-                client.latestOffset = partition.highWatermark() - 1;
-                assert client.stableOffset <= client.latestOffset;
+                final long stableOffset = partition.lastStableOffset() - 1;
+                final long latestOffset = partition.highWatermark() - 1;
+                assert stableOffset <= latestOffset;
 
                 client.decodePartitionError = errorCode;
                 client.decodePartitionId = partitionId;
@@ -921,7 +1055,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 client.decodableResponseBytes -= partition.sizeof();
                 assert client.decodableResponseBytes >= 0;
 
-                client.onDecodeFetchPartition(traceId, authorization, partitionId, errorCode);
+                client.onDecodeFetchPartition(traceId, authorization, partitionId, errorCode, stableOffset, latestOffset);
 
                 client.decodeAbortedTransactions.clear();
                 client.decoder = decodeFetchTransaction;
@@ -932,7 +1066,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetchTransaction(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -947,7 +1081,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         decode:
         if (client.decodableTransactions <= 0)
         {
-            client.decoder = decodeFetchRecordSet;
+            client.decoder = fetchApiVersion == FETCH_SESSION_API_VERSION ? decodeFetchPreferredReplica : decodeFetchRecordSet;
             break decode;
         }
         else if (length != 0)
@@ -972,8 +1106,40 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         return progress;
     }
 
+    private int decodeFetchPreferredReplica(
+        KafkaFetchClient client,
+        long traceId,
+        long authorization,
+        long budgetId,
+        int reserved,
+        DirectBuffer buffer,
+        int offset,
+        int progress,
+        int limit)
+    {
+        final int length = limit - progress;
+
+        if (length != 0)
+        {
+            final PreferredReplicaResponseFW preferredReplica = preferredReplicaResponseRO.tryWrap(buffer, progress, limit);
+            if (preferredReplica != null)
+            {
+                progress = preferredReplica.limit();
+
+                client.decodableResponseBytes -= preferredReplica.sizeof();
+                assert client.decodableResponseBytes >= 0;
+
+                client.onDecodeFetchPreferredReplica(traceId, preferredReplica.preferredReadReplica());
+
+                client.decoder = decodeFetchRecordSet;
+            }
+        }
+
+        return progress;
+    }
+
     private int decodeFetchRecordSet(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -993,7 +1159,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH RecordSet %d\n",
-                            client.replyId, client.topic, client.partitionId, recordSet.length());
+                            client.replyId, client.decodeTopic, client.decodePartitionId, recordSet.length());
                 }
 
                 final int responseProgress = recordSet.sizeof();
@@ -1007,12 +1173,12 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                        client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
+                        client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
                 }
                 assert client.decodableRecordSetBytes >= 0 : "negative recordSetSize";
                 assert client.decodableRecordSetBytes <= client.decodableResponseBytes : "record set overflows response";
 
-                if (client.decodePartitionError != 0 || client.decodableRecordSetBytes == 0)
+                if (client.stream == null || client.decodePartitionError != 0 || client.decodableRecordSetBytes == 0)
                 {
                     client.decoder = decodeIgnoreRecordSet;
                 }
@@ -1027,7 +1193,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetchRecordBatch(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1063,7 +1229,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH RecordBatch %d %d %d\n",
-                            client.replyId, client.topic, client.partitionId, recordBatch.baseOffset(),
+                            client.replyId, client.decodeTopic, client.decodePartitionId, recordBatch.baseOffset(),
                         recordBatch.lastOffsetDelta(), recordBatch.length());
                 }
 
@@ -1078,7 +1244,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
                 client.decodableRecordBatchBytes = recordBatch.length();
                 client.decodeRecordBatchOffset = baseOffset;
-                client.decodeRecordBatchLastOffset = recordBatch.baseOffset() + recordBatch.lastOffsetDelta();
+                client.stream.decodeRecordBatchLastOffset = recordBatch.baseOffset() + recordBatch.lastOffsetDelta();
                 client.decodeRecordBatchTimestamp = recordBatch.firstTimestamp();
                 client.decodeRecordBatchProducerId = producerId;
                 client.decodeRecordBatchAborted = client.decodeAbortedTransactions.get(baseOffset) == producerId;
@@ -1094,18 +1260,52 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                        client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
+                        client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
                 }
 
                 client.decodableRecordBatchBytes -= recordBatchProgress;
                 assert client.decodableRecordBatchBytes >= 0;
 
-                if (isCompressedBatch(attributes) || isControlBatch(attributes) && !isTransactionalBatch(attributes))
+                if (isControlBatch(attributes) && !isTransactionalBatch(attributes))
                 {
                     client.decoder = decodeIgnoreRecordBatch;
                     break decode;
                 }
 
+                if (isCompressedBatch(attributes))
+                {
+                    final KafkaCompression compression = KafkaCompression.valueOf(attributes);
+                    final KafkaCompressionCodec codec = compressionCodecs.supply(compression);
+
+                    if (client.decodableRecordBatchBytes > client.decodableRecordSetBytes)
+                    {
+                        client.decoder = decodeIgnoreRecordSet;
+                    }
+                    else if (codec == null || client.decodableRecordBatchBytes > decompressMaxBytes)
+                    {
+                        if (KafkaConfiguration.DEBUG)
+                        {
+                            System.out.format("[client] [0x%016x] %s[%d] FETCH RecordBatch %s (rejected) %d\n",
+                                client.replyId, client.decodeTopic, client.decodePartitionId, compression,
+                                client.decodableRecordBatchBytes);
+                        }
+
+                        final int error = codec == null ? ERROR_UNSUPPORTED_COMPRESSION_TYPE : ERROR_MESSAGE_TOO_LARGE;
+                        client.onDecodeRecordBatchError(traceId, error);
+                    }
+                    else if (client.decodableRecordBatchBytes > decodeMaxBytes)
+                    {
+                        client.compressedBuffer = acquireCompressedBuffer(client.decodableRecordBatchBytes);
+                        client.compressedBufferLimit = 0;
+                        client.decoder = decodeBufferRecordBatchCompressed;
+                    }
+                    else
+                    {
+                        client.decoder = decodeFetchRecordBatchCompressed;
+                    }
+                    break decode;
+                }
+
                 client.decoder = decodeFetchRecordLength;
             }
         }
@@ -1114,7 +1314,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetchRecordLength(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1129,7 +1329,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         decode:
         if (client.decodableRecords == 0)
         {
-            client.nextOffset = Math.max(client.nextOffset, client.decodeRecordBatchLastOffset + 1);
+            client.stream.nextOffset = Math.max(client.stream.nextOffset, client.stream.decodeRecordBatchLastOffset + 1);
             client.decoder = decodeFetchRecordBatch;
             break decode;
         }
@@ -1149,7 +1349,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record length %d\n",
-                            client.replyId, client.topic, client.partitionId, recordLength.value());
+                            client.replyId, client.decodeTopic, client.decodePartitionId, recordLength.value());
                 }
 
                 final int sizeofRecord = recordLength.sizeof() + recordLength.value();
@@ -1178,7 +1378,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetchRecord(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1213,10 +1413,10 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record %d\n",
-                        client.replyId, client.topic, client.partitionId, client.decodeRecordOffset);
+                        client.replyId, client.decodeTopic, client.decodePartitionId, client.decodeRecordOffset);
                 }
 
-                if (offsetAbs < client.nextOffset)
+                if (offsetAbs < client.stream.nextOffset)
                 {
                     client.decodableRecordBytes = sizeofRecord;
                     client.decoder = decodeIgnoreRecord;
@@ -1232,10 +1432,10 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                         switch (ControlRecordKeyType.valueOf(controlKey.type()))
                         {
                         case ABORT:
-                            client.onDecodeFetchTransactionAbort(traceId, authorization, offsetAbs, producerId);
+                            client.stream.onDecodeFetchTransactionAbort(traceId, authorization, offsetAbs, producerId);
                             break;
                         case COMMIT:
-                            client.onDecodeFetchTransactionCommit(traceId, authorization, offsetAbs, producerId);
+                            client.stream.onDecodeFetchTransactionCommit(traceId, authorization, offsetAbs, producerId);
                             break;
                         }
                     }
@@ -1249,6 +1449,12 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 final int valueSize = Math.max(valueLength, 0);
                 final int valueReserved = valueSize + client.stream.replyPad;
 
+                if (valueReserved > client.stream.replyBudget() && client.canDeferRecordSet())
+                {
+                    client.onDecodeRecordSetDeferred();
+                    break decode;
+                }
+
                 if (sizeofRecord <= length && valueReserved <= client.stream.replyBudget())
                 {
                     final int maximum = valueReserved;
@@ -1289,7 +1495,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
                         progress += sizeofRecord;
 
-                        client.onDecodeFetchRecord(traceId, aborted, valueReserved, offsetAbs, timestampAbs, producerId,
+                        client.stream.onDecodeFetchRecord(traceId, aborted, valueReserved, offsetAbs, timestampAbs, producerId,
                                 key, value, headerCount, headers);
 
                         client.decodableResponseBytes -= sizeofRecord;
@@ -1301,7 +1507,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                         if (KafkaConfiguration.DEBUG)
                         {
                             System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                                client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
+                                client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
                         }
 
                         client.decodableRecordBatchBytes -= sizeofRecord;
@@ -1325,7 +1531,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetchRecordInit(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1346,7 +1552,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record (init) %d\n",
-                            client.replyId, client.topic, client.partitionId, client.nextOffset);
+                            client.replyId, client.decodeTopic, client.decodePartitionId, client.stream.nextOffset);
                 }
 
                 final Varint32FW recordLength = recordLengthRO.tryWrap(buffer, progress, limit);
@@ -1359,7 +1565,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 final boolean aborted = client.decodeRecordBatchAborted;
                 final OctetsFW key = recordHeader.key();
 
-                if (offsetAbs < client.nextOffset)
+                if (offsetAbs < client.stream.nextOffset)
                 {
                     client.decodableRecordBytes = sizeofRecord;
                     client.decoder = decodeIgnoreRecord;
@@ -1400,7 +1606,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
                 progress += recordProgress;
 
-                client.onDecodeFetchRecordValueInit(traceId, aborted, valueReservedMax, valueDeferred, offsetAbs,
+                client.stream.onDecodeFetchRecordValueInit(traceId, aborted, valueReservedMax, valueDeferred, offsetAbs,
                         timestampAbs, headersSizeMax, producerId, key, valueInit);
 
                 client.decodeRecordOffset = offsetAbs;
@@ -1416,7 +1622,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                        client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
+                        client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
                 }
 
                 client.decodableRecordBatchBytes -= recordProgress;
@@ -1433,7 +1639,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     }
 
     private int decodeFetchRecordValue(
-        KafkaFetchStream.KafkaFetchClient client,
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1473,7 +1679,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record (fin) %d\n",
-                            client.replyId, client.topic, client.partitionId, client.nextOffset);
+                            client.replyId, client.decodeTopic, client.decodePartitionId, client.stream.nextOffset);
                 }
 
                 final int valueOffset = progress;
@@ -1493,7 +1699,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
                 progress += recordProgress;
 
-                client.onDecodeFetchRecordValueFin(traceId, valueReservedMax, client.decodeRecordOffset, valueFin,
+                client.stream.onDecodeFetchRecordValueFin(traceId, valueReservedMax, client.decodeRecordOffset, valueFin,
                         headerCount, headers);
 
                 client.decodableResponseBytes -= recordProgress;
@@ -1505,7 +1711,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                        client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
+                        client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
                 }
 
                 client.decodableRecordBatchBytes -= recordProgress;
@@ -1529,7 +1735,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record (cont) %d\n",
-                            client.replyId, client.topic, client.partitionId, client.nextOffset);
+                            client.replyId, client.decodeTopic, client.decodePartitionId, client.stream.nextOffset);
                 }
 
                 final int valueOffset = progress;
@@ -1539,7 +1745,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
                 progress += valueProgress;
 
-                client.onDecodeFetchRecordValueCont(traceId, valueReservedMax, value);
+                client.stream.onDecodeFetchRecordValueCont(traceId, valueReservedMax, value);
 
                 client.decodableRecordBytes -= valueProgress;
                 assert client.decodableRecordBytes >= 0;
@@ -1550,7 +1756,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 if (KafkaConfiguration.DEBUG)
                 {
                     System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                        client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
+                        client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
                 }
 
                 client.decodableRecordValueBytes -= valueProgress;
@@ -1561,8 +1767,8 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         return progress;
     }
 
-    private int decodeIgnoreRecord(
-        KafkaFetchStream.KafkaFetchClient client,
+    private int decodeFetchRecordBatchCompressed(
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1572,41 +1778,43 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         int progress,
         int limit)
     {
-        final int maxLength = limit - progress;
-        final int length = Math.min(maxLength, client.decodableRecordBytes);
+        final int length = limit - progress;
+        final int recordBatchBytes = client.decodableRecordBatchBytes;
 
-        progress += length;
+        if (length >= recordBatchBytes &&
+            decodeFetchRecordBatchDecompressed(client, traceId, buffer, progress, recordBatchBytes))
+        {
+            progress += recordBatchBytes;
 
-        client.decodableResponseBytes -= length;
-        assert client.decodableResponseBytes >= 0;
+            client.decodableResponseBytes -= recordBatchBytes;
+            assert client.decodableResponseBytes >= 0;
 
-        client.decodableRecordSetBytes -= length;
-        assert client.decodableRecordSetBytes >= 0;
+            client.decodableRecordSetBytes -= recordBatchBytes;
+            assert client.decodableRecordSetBytes >= 0;
 
-        if (KafkaConfiguration.DEBUG)
-        {
-            System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
-        }
+            if (KafkaConfiguration.DEBUG)
+            {
+                System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
+                    client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
+            }
 
-        client.decodableRecordBatchBytes -= length;
-        assert client.decodableRecordBatchBytes >= 0;
+            client.decodableRecordBatchBytes = 0;
+            client.decodableRecords = 0;
+            client.stream.nextOffset = Math.max(client.stream.nextOffset, client.stream.decodeRecordBatchLastOffset + 1);
 
-        client.decodableRecordBytes -= length;
-        assert client.decodableRecordBytes >= 0;
+            client.decoder = decodeFetchRecordBatch;
+        }
 
-        if (client.decodableRecordBytes == 0)
+        if (client.decoder == decodeIgnoreAll)
         {
-            client.decodableRecords--;
-            assert client.decodableRecords >= 0;
-            client.decoder = decodeFetchRecordLength;
+            client.cleanupNetwork(traceId);
         }
 
         return progress;
     }
 
-    private int decodeIgnoreRecordBatch(
-        KafkaFetchStream.KafkaFetchClient client,
+    private int decodeBufferRecordBatchCompressed(
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1616,8 +1824,10 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         int progress,
         int limit)
     {
-        final int maxLength = limit - progress;
-        final int length = Math.min(maxLength, client.decodableRecordBatchBytes);
+        final int length = Math.min(limit - progress, client.decodableRecordBatchBytes);
+
+        client.compressedBuffer.putBytes(client.compressedBufferLimit, buffer, progress, length);
+        client.compressedBufferLimit += length;
 
         progress += length;
 
@@ -1627,25 +1837,19 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         client.decodableRecordSetBytes -= length;
         assert client.decodableRecordSetBytes >= 0;
 
-        if (KafkaConfiguration.DEBUG)
-        {
-            System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
-        }
-
         client.decodableRecordBatchBytes -= length;
         assert client.decodableRecordBatchBytes >= 0;
 
         if (client.decodableRecordBatchBytes == 0)
         {
-            client.decoder = decodeFetchRecordBatch;
+            client.decoder = decodeFetchRecordBatchBuffered;
         }
 
         return progress;
     }
 
-    private int decodeIgnoreRecordSet(
-        KafkaFetchStream.KafkaFetchClient client,
+    private int decodeFetchRecordBatchBuffered(
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1655,51 +1859,186 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         int progress,
         int limit)
     {
-        final int maxLength = limit - progress;
-        final int length = Math.min(maxLength, client.decodableRecordSetBytes);
-
-        progress += length;
+        if (decodeFetchRecordBatchDecompressed(client, traceId, client.compressedBuffer, 0, client.compressedBufferLimit))
+        {
+            if (KafkaConfiguration.DEBUG)
+            {
+                System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
+                    client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
+            }
 
-        client.decodableResponseBytes -= length;
-        assert client.decodableResponseBytes >= 0;
+            client.decodableRecords = 0;
+            client.stream.nextOffset = Math.max(client.stream.nextOffset, client.stream.decodeRecordBatchLastOffset + 1);
+            client.cleanupCompressedBufferIfNecessary();
 
-        client.decodableRecordSetBytes -= length;
-        assert client.decodableRecordSetBytes >= 0;
+            client.decoder = decodeFetchRecordBatch;
+        }
 
-        if (KafkaConfiguration.DEBUG)
+        if (client.decoder == decodeIgnoreAll)
         {
-            System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
-                client.replyId, client.topic, client.partitionId, client.decodableRecordSetBytes);
+            client.cleanupNetwork(traceId);
         }
 
-        if (client.decodableRecordSetBytes == 0)
+        return progress;
+    }
+
+    private MutableDirectBuffer acquireCompressedBuffer(
+        int length)
+    {
+        MutableDirectBuffer buffer = compressedBuffers.poll();
+
+        if (buffer == null || buffer.capacity() < length)
         {
-            client.decodablePartitions--;
-            assert client.decodablePartitions >= 0;
-            client.decoder = decodeFetchPartition;
+            buffer = new UnsafeBuffer(new byte[length]);
         }
 
-        client.onIgnoreRecordSet(traceId);
+        return buffer;
+    }
 
-        return progress;
+    private void releaseCompressedBuffer(
+        MutableDirectBuffer buffer)
+    {
+        if (compressedBuffers.size() < COMPRESSED_BUFFERS_RETAINED)
+        {
+            compressedBuffers.push(buffer);
+        }
     }
 
-    private int decodeIgnoreAll(
-        KafkaFetchStream.KafkaFetchClient client,
+    private boolean decodeFetchRecordBatchDecompressed(
+        KafkaFetchClient client,
         long traceId,
-        long authorization,
-        long budgetId,
-        int reserved,
         DirectBuffer buffer,
-        int offset,
-        int progress,
-        int limit)
+        int index,
+        int length)
     {
-        return limit;
+        boolean decoded = false;
+
+        decode:
+        {
+            if (decompressedClient != client || decompressedBatchOffset != client.decodeRecordBatchOffset)
+            {
+                if (decompressBuffer == null)
+                {
+                    decompressBuffer = new UnsafeBuffer(new byte[Math.min(decodeMaxBytes, decompressMaxBytes)]);
+                }
+
+                final KafkaCompression compression = KafkaCompression.valueOf(client.decodeRecordBatchAttributes);
+                final KafkaCompressionCodec codec = compressionCodecs.supply(compression);
+                int decompressed = codec.decompress(buffer, index, length,
+                        decompressBuffer, 0, decompressBuffer.capacity());
+
+                // batches decompress whole, so grow on demand up to the configured limit
+                while (decompressed == KafkaCompressionCodec.DECOMPRESS_OVERFLOW &&
+                    decompressBuffer.capacity() < decompressMaxBytes)
+                {
+                    final int capacity = (int) Math.min((long) decompressBuffer.capacity() << 1, decompressMaxBytes);
+                    decompressBuffer = new UnsafeBuffer(new byte[capacity]);
+                    decompressed = codec.decompress(buffer, index, length,
+                            decompressBuffer, 0, decompressBuffer.capacity());
+                }
+
+                if (KafkaConfiguration.DEBUG)
+                {
+                    System.out.format("[client] [0x%016x] %s[%d] FETCH RecordBatch %s %d -> %d\n",
+                        client.replyId, client.decodeTopic, client.decodePartitionId, compression,
+                        length, decompressed);
+                }
+
+                if (decompressed < 0)
+                {
+                    final int error = decompressed == KafkaCompressionCodec.DECOMPRESS_OVERFLOW
+                        ? ERROR_MESSAGE_TOO_LARGE
+                        : ERROR_CORRUPT_MESSAGE;
+                    client.onDecodeRecordBatchError(traceId, error);
+                    break decode;
+                }
+
+                decompressedClient = client;
+                decompressedBatchOffset = client.decodeRecordBatchOffset;
+                decompressedBatchLimit = decompressed;
+            }
+
+            final DirectBuffer records = decompressBuffer;
+            final int recordsLimit = decompressedBatchLimit;
+
+            int recordProgress = 0;
+            while (client.decodableRecords > 0 && recordProgress < recordsLimit)
+            {
+                final RecordHeaderFW recordHeader = recordHeaderRO.tryWrap(records, recordProgress, recordsLimit);
+                if (recordHeader == null)
+                {
+                    break;
+                }
+
+                final Varint32FW recordLength = recordLengthRO.wrap(records, recordProgress, recordsLimit);
+                final int recordLimit = recordLength.limit() + recordLength.value();
+                if (recordLimit > recordsLimit)
+                {
+                    break;
+                }
+
+                final long offsetAbs = client.decodeRecordBatchOffset + recordHeader.offsetDelta();
+
+                if (offsetAbs >= client.stream.nextOffset)
+                {
+                    final long timestampAbs = client.decodeRecordBatchTimestamp + recordHeader.timestampDelta();
+                    final long producerId = client.decodeRecordBatchProducerId;
+                    final boolean aborted = client.decodeRecordBatchAborted;
+                    final OctetsFW key = recordHeader.key();
+
+                    final int valueLength = recordHeader.valueLength();
+                    final int valueOffset = recordHeader.limit();
+                    final int valueSize = Math.max(valueLength, 0);
+                    final int valueReserved = valueSize + client.stream.replyPad;
+
+                    if (valueReserved > client.stream.replyBudget())
+                    {
+                        if (client.canDeferRecordSet())
+                        {
+                            client.onDecodeRecordSetDeferred();
+                        }
+                        break decode;
+                    }
+
+                    if (valueReserved != 0 && client.stream.replyDebIndex != NO_DEBITOR_INDEX)
+                    {
+                        final int valueClaimed = client.stream.replyDeb.claim(traceId, client.stream.replyDebIndex,
+                                client.stream.replyId, valueReserved, valueReserved, 0);
+
+                        if (valueClaimed == 0)
+                        {
+                            break decode;
+                        }
+                    }
+
+                    client.decodeRecordOffset = offsetAbs;
+
+                    final OctetsFW value =
+                            valueLength != -1 ? valueRO.wrap(records, valueOffset, valueOffset + valueLength) : null;
+
+                    final int trailerOffset = valueOffset + valueSize;
+                    final RecordTrailerFW recordTrailer = recordTrailerRO.wrap(records, trailerOffset, recordLimit);
+                    final int headerCount = recordTrailer.headerCount();
+                    final int headersOffset = recordTrailer.limit();
+                    final int headersLength = recordLimit - headersOffset;
+                    final DirectBuffer headers = wrapHeaders(records, headersOffset, headersLength);
+
+                    client.stream.onDecodeFetchRecord(traceId, aborted, valueReserved, offsetAbs, timestampAbs, producerId,
+                            key, value, headerCount, headers);
+                }
+
+                recordProgress = recordLimit;
+            }
+
+            decompressedClient = null;
+            decoded = true;
+        }
+
+        return decoded;
     }
 
-    private int decodeReject(
-        KafkaFetchStream.KafkaFetchClient client,
+    private int decodeIgnoreRecord(
+        KafkaFetchClient client,
         long traceId,
         long authorization,
         long budgetId,
@@ -1709,23 +2048,181 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         int progress,
         int limit)
     {
-        client.doNetworkResetIfNecessary(traceId);
-        client.decoder = decodeIgnoreAll;
-        return limit;
-    }
+        final int maxLength = limit - progress;
+        final int length = Math.min(maxLength, client.decodableRecordBytes);
 
-    private final class KafkaFetchStream
-    {
-        private final MessageConsumer application;
-        private final long originId;
-        private final long routedId;
-        private final long initialId;
-        private final long replyId;
-        private final long leaderId;
+        progress += length;
+
+        client.decodableResponseBytes -= length;
+        assert client.decodableResponseBytes >= 0;
+
+        client.decodableRecordSetBytes -= length;
+        assert client.decodableRecordSetBytes >= 0;
+
+        if (KafkaConfiguration.DEBUG)
+        {
+            System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
+                client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
+        }
+
+        client.decodableRecordBatchBytes -= length;
+        assert client.decodableRecordBatchBytes >= 0;
+
+        client.decodableRecordBytes -= length;
+        assert client.decodableRecordBytes >= 0;
+
+        if (client.decodableRecordBytes == 0)
+        {
+            client.decodableRecords--;
+            assert client.decodableRecords >= 0;
+            client.decoder = decodeFetchRecordLength;
+        }
+
+        return progress;
+    }
+
+    private int decodeIgnoreRecordBatch(
+        KafkaFetchClient client,
+        long traceId,
+        long authorization,
+        long budgetId,
+        int reserved,
+        DirectBuffer buffer,
+        int offset,
+        int progress,
+        int limit)
+    {
+        final int maxLength = limit - progress;
+        final int length = Math.min(maxLength, client.decodableRecordBatchBytes);
+
+        progress += length;
+
+        client.decodableResponseBytes -= length;
+        assert client.decodableResponseBytes >= 0;
+
+        client.decodableRecordSetBytes -= length;
+        assert client.decodableRecordSetBytes >= 0;
+
+        if (KafkaConfiguration.DEBUG)
+        {
+            System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
+                client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
+        }
+
+        client.decodableRecordBatchBytes -= length;
+        assert client.decodableRecordBatchBytes >= 0;
+
+        if (client.decodableRecordBatchBytes == 0)
+        {
+            client.decoder = decodeFetchRecordBatch;
+        }
+
+        return progress;
+    }
+
+    private int decodeIgnoreRecordSet(
+        KafkaFetchClient client,
+        long traceId,
+        long authorization,
+        long budgetId,
+        int reserved,
+        DirectBuffer buffer,
+        int offset,
+        int progress,
+        int limit)
+    {
+        final int maxLength = limit - progress;
+        final int length = Math.min(maxLength, client.decodableRecordSetBytes);
+
+        progress += length;
+
+        client.decodableResponseBytes -= length;
+        assert client.decodableResponseBytes >= 0;
+
+        client.decodableRecordSetBytes -= length;
+        assert client.decodableRecordSetBytes >= 0;
+
+        if (KafkaConfiguration.DEBUG)
+        {
+            System.out.format("[client] [0x%016x] %s[%d] FETCH Record Set Bytes %d\n",
+                client.replyId, client.decodeTopic, client.decodePartitionId, client.decodableRecordSetBytes);
+        }
+
+        if (client.decodableRecordSetBytes == 0)
+        {
+            client.decodablePartitions--;
+            assert client.decodablePartitions >= 0;
+            client.decoder = decodeFetchPartition;
+        }
+
+        client.onIgnoreRecordSet(traceId);
+
+        return progress;
+    }
+
+    private int decodeIgnoreAll(
+        KafkaFetchClient client,
+        long traceId,
+        long authorization,
+        long budgetId,
+        int reserved,
+        DirectBuffer buffer,
+        int offset,
+        int progress,
+        int limit)
+    {
+        return limit;
+    }
+
+    private int decodeReject(
+        KafkaFetchClient client,
+        long traceId,
+        long authorization,
+        long budgetId,
+        int reserved,
+        DirectBuffer buffer,
+        int offset,
+        int progress,
+        int limit)
+    {
+        client.doNetworkResetIfNecessary(traceId);
+        client.decoder = decodeIgnoreAll;
+        return limit;
+    }
+
+    private final class KafkaFetchStream
+    {
+        private final MessageConsumer application;
+        private final long originId;
+        private final long routedId;
+        private final long initialId;
+        private final long replyId;
+        private final long resolvedId;
+        private final long leaderId;
         private final KafkaClientRoute clientRoute;
-        private final KafkaFetchClient client;
+        private final String topic;
+        private final Int2IntHashMap topicPartitions;
+        private final int partitionId;
+        private final KafkaIsolation isolation;
+        private final KafkaServerConfig server;
+        private final KafkaSaslConfig sasl;
+
+        private KafkaFetchClient client;
+        private long replicaId;
+
+        private long nextOffset;
+        private long sessionOffset = OFFSET_NONE;
+        private boolean fetchDeferred;
+        private long stableOffset;
+        private long latestOffset;
+        private long initialLatestOffset;
+        private long initialStableOffset;
+        private long lastLatestOffset;
+        private long lastStableOffset;
+        private long decodeRecordBatchLastOffset;
 
         private int state;
+        private long authorization;
         private int flushFramesSent;
 
         private long initialSeq;
@@ -1761,10 +2258,18 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             this.routedId = routedId;
             this.initialId = initialId;
             this.replyId = supplyReplyId.applyAsLong(initialId);
+            this.resolvedId = resolvedId;
             this.leaderId = leaderId;
+            this.replicaId = leaderId;
             this.clientRoute = supplyClientRoute.apply(resolvedId);
-            this.client = new KafkaFetchClient(routedId, resolvedId, topic, partitionId,
-                    initialOffset, latestOffset, isolation, server, sasl);
+            this.topic = requireNonNull(topic);
+            this.topicPartitions = clientRoute.supplyPartitions(topic);
+            this.partitionId = partitionId;
+            this.nextOffset = initialOffset;
+            this.latestOffset = latestOffset;
+            this.isolation = isolation;
+            this.server = server;
+            this.sasl = sasl;
         }
 
         private int replyBudget()
@@ -1815,16 +2320,16 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             final long traceId = begin.traceId();
             final long authorization = begin.authorization();
 
+            this.authorization = authorization;
             state = KafkaState.openingInitial(state);
 
-            if (client.topicPartitions.get(client.partitionId) != leaderId)
+            if (topicPartitions.get(partitionId) != leaderId)
             {
-                client.network = MessageConsumer.NOOP;
                 cleanupApplication(traceId, ERROR_NOT_LEADER_FOR_PARTITION);
             }
             else
             {
-                client.doNetworkBegin(traceId, authorization, leaderId);
+                doFetchReplica(traceId, server);
             }
         }
 
@@ -1833,7 +2338,12 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
         {
             final long traceId = data.traceId();
 
-            client.cleanupNetwork(traceId);
+            if (client != null)
+            {
+                client.onStreamData(this, traceId);
+            }
+
+            cleanupApplication(traceId, EMPTY_OCTETS);
         }
 
         private void onApplicationEnd(
@@ -1844,7 +2354,12 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
             state = KafkaState.closedInitial(state);
 
-            client.doNetworkEndAfterFlush(traceId, authorization);
+            if (client != null)
+            {
+                client.onStreamEnd(this, traceId, authorization);
+            }
+
+            doApplicationEndIfNecessary(traceId);
         }
 
         private void onApplicationAbort(
@@ -1854,7 +2369,12 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
             state = KafkaState.closedInitial(state);
 
-            client.doNetworkAbortIfNecessary(traceId);
+            if (client != null)
+            {
+                client.onStreamAbort(this, traceId);
+            }
+
+            doApplicationAbortIfNecessary(traceId);
         }
 
         private void onApplicationWindow(
@@ -1882,12 +2402,18 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             if (replyBud != 0L && replyDeb == null)
             {
                 replyDeb = supplyDebitor.apply(replyBud);
-                replyDebIndex = replyDeb.acquire(replyBud, replyId, client::decodeNetworkIfNecessary);
+                replyDebIndex = replyDeb.acquire(replyBud, replyId, this::decodeNetworkIfNecessary);
             }
 
             state = KafkaState.openedReply(state);
 
-            client.decodeNetworkIfNecessary(traceId);
+            decodeNetworkIfNecessary(traceId);
+
+            if (fetchDeferred && replyBudget() > replyPad && client != null)
+            {
+                fetchDeferred = false;
+                client.onStreamResumed(this, traceId);
+            }
         }
 
         private void onApplicationReset(
@@ -1897,7 +2423,33 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
             state = KafkaState.closedReply(state);
 
-            client.doNetworkResetIfNecessary(traceId);
+            if (client != null)
+            {
+                client.onStreamReset(this, traceId);
+            }
+
+            cleanupApplicationDebitorIfNecessary();
+            doApplicationResetIfNecessary(traceId, EMPTY_OCTETS);
+        }
+
+        private void doFetchReplica(
+            long traceId,
+            KafkaServerConfig server)
+        {
+            assert client == null;
+
+            client = supplyFetchClient(routedId, resolvedId, authorization, replicaId, topic, partitionId,
+                    isolation, server, sasl);
+            client.onStreamBegin(this, traceId, authorization);
+        }
+
+        private void decodeNetworkIfNecessary(
+            long traceId)
+        {
+            if (client != null)
+            {
+                client.decodeNetworkIfNecessary(traceId);
+            }
         }
 
         private boolean isApplicationReplyOpen()
@@ -1946,8 +2498,8 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                                                                      .isolation(i -> i.set(isolation)))
                                                         .build()
                                                         .sizeof()));
-            client.initialLatestOffset = latestOffset;
-            client.initialStableOffset = stableOffset;
+            initialLatestOffset = latestOffset;
+            initialStableOffset = stableOffset;
         }
 
         private void doApplicationData(
@@ -1988,17 +2540,17 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             long authorization)
         {
             if (KafkaState.replyOpening(state) &&
-                client.lastStableOffset < client.stableOffset ||
-                client.lastLatestOffset < client.latestOffset)
+                lastStableOffset < stableOffset ||
+                lastLatestOffset < latestOffset)
             {
                 final KafkaFlushExFW kafkaFlushEx = kafkaFlushExRW.wrap(extBuffer, 0, extBuffer.capacity())
                     .typeId(kafkaTypeId)
                     .fetch(f -> f
                         .partition(p -> p
-                            .partitionId(client.partitionId)
-                            .partitionOffset(client.decodeRecordBatchLastOffset)
-                            .stableOffset(client.stableOffset)
-                            .latestOffset(client.latestOffset)))
+                            .partitionId(partitionId)
+                            .partitionOffset(decodeRecordBatchLastOffset)
+                            .stableOffset(stableOffset)
+                            .latestOffset(latestOffset)))
                     .build();
 
                 doFlush(application, originId, routedId, replyId, replySeq, replyAck, replyMax,
@@ -2008,8 +2560,8 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
 
                 assert replyAck <= replySeq;
 
-                client.lastStableOffset = client.stableOffset;
-                client.lastLatestOffset = client.latestOffset;
+                lastStableOffset = stableOffset;
+                lastLatestOffset = latestOffset;
             }
         }
 
@@ -2018,7 +2570,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             long authorization)
         {
             if (KafkaState.replyOpening(state) &&
-                    client.decodeRecordBatchLastOffset >= client.initialLatestOffset &&
+                    decodeRecordBatchLastOffset >= initialLatestOffset &&
                     client.decodableRecords == 0 &&
                     flushFramesSent == 0)
             {
@@ -2026,10 +2578,10 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                         .typeId(kafkaTypeId)
                         .fetch(f -> f
                                 .partition(p -> p
-                                        .partitionId(client.partitionId)
-                                        .partitionOffset(client.decodeRecordBatchLastOffset)
-                                        .stableOffset(client.initialStableOffset)
-                                        .latestOffset(client.initialLatestOffset)))
+                                        .partitionId(partitionId)
+                                        .partitionOffset(decodeRecordBatchLastOffset)
+                                        .stableOffset(initialStableOffset)
+                                        .latestOffset(initialLatestOffset)))
                         .build();
 
                 doFlush(application, originId, routedId, replyId, replySeq, replyAck, replyMax,
@@ -2049,9 +2601,8 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             cleanupApplicationDebitorIfNecessary();
 
             state = KafkaState.closedReply(state);
-            //client.stream = nullIfClosed(state, client.stream);
             doEnd(application, originId, routedId, replyId, replySeq, replyAck, replyMax,
-                    traceId, client.authorization, EMPTY_OCTETS);
+                    traceId, authorization, EMPTY_OCTETS);
         }
 
         private void doApplicationAbort(
@@ -2060,9 +2611,8 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             cleanupApplicationDebitorIfNecessary();
 
             state = KafkaState.closedReply(state);
-            //client.stream = nullIfClosed(state, client.stream);
             doAbort(application, originId, routedId, replyId, replySeq, replyAck, replyMax,
-                    traceId, client.authorization, EMPTY_OCTETS);
+                    traceId, authorization, EMPTY_OCTETS);
         }
 
         private void doApplicationWindow(
@@ -2084,7 +2634,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 state = KafkaState.openedInitial(state);
 
                 doWindow(application, originId, routedId, initialId, initialSeq, initialAck, initialMax,
-                        traceId, client.authorization, budgetId, minInitialPad);
+                        traceId, authorization, budgetId, minInitialPad);
             }
         }
 
@@ -2093,10 +2643,18 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             Flyweight extension)
         {
             state = KafkaState.closedInitial(state);
-            //client.stream = nullIfClosed(state, client.stream);
 
             doReset(application, originId, routedId, initialId, initialSeq, initialAck, initialMax,
-                    traceId, client.authorization, extension);
+                    traceId, authorization, extension);
+        }
+
+        private void doApplicationEndIfNecessary(
+            long traceId)
+        {
+            if (KafkaState.replyOpening(state) && !KafkaState.replyClosed(state))
+            {
+                doApplicationEnd(traceId);
+            }
         }
 
         private void doApplicationAbortIfNecessary(
@@ -2118,6 +2676,164 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
             }
         }
 
+        private void onDecodeFetchTransactionAbort(
+            long traceId,
+            long authorization,
+            long offset,
+            long producerId)
+        {
+            this.nextOffset = offset + 1;
+
+            final KafkaFlushExFW kafkaFlushEx = kafkaFlushExRW.wrap(extBuffer, 0, extBuffer.capacity())
+                    .typeId(kafkaTypeId)
+                    .fetch(f -> f
+                        .partition(p -> p
+                            .partitionId(partitionId)
+                            .partitionOffset(offset)
+                            .stableOffset(stableOffset)
+                            .latestOffset(latestOffset))
+                        .transactionsItem(t -> t
+                            .result(r -> r.set(KafkaTransactionResult.ABORT))
+                            .producerId(producerId)))
+                    .build();
+
+            doApplicationFlush(traceId, authorization, 0, kafkaFlushEx);
+        }
+
+        private void onDecodeFetchTransactionCommit(
+            long traceId,
+            long authorization,
+            long offset,
+            long producerId)
+        {
+            this.nextOffset = offset + 1;
+
+            final KafkaFlushExFW kafkaFlushEx = kafkaFlushExRW.wrap(extBuffer, 0, extBuffer.capacity())
+                    .typeId(kafkaTypeId)
+                    .fetch(f -> f
+                        .partition(p -> p
+                            .partitionId(partitionId)
+                            .partitionOffset(offset)
+                            .stableOffset(stableOffset)
+                            .latestOffset(latestOffset))
+                        .transactionsItem(t -> t
+                            .result(r -> r.set(KafkaTransactionResult.COMMIT))
+                            .producerId(producerId)))
+                    .build();
+
+            doApplicationFlush(traceId, authorization, 0, kafkaFlushEx);
+        }
+
+        private void onDecodeFetchRecord(
+            long traceId,
+            boolean aborted,
+            int reserved,
+            long offset,
+            long timestamp,
+            long producerId,
+            OctetsFW key,
+            OctetsFW value,
+            int headerCount,
+            DirectBuffer headers)
+        {
+            this.nextOffset = offset + 1;
+
+            final KafkaDataExFW kafkaDataEx = kafkaDataExRW.wrap(extBuffer, 0, extBuffer.capacity())
+                    .typeId(kafkaTypeId)
+                    .fetch(f ->
+                    {
+                        f.timestamp(timestamp);
+                        f.producerId(producerId);
+                        f.partition(p -> p
+                            .partitionId(partitionId)
+                            .partitionOffset(offset)
+                            .stableOffset(stableOffset)
+                            .latestOffset(latestOffset));
+                        f.key(k -> setKey(k, key));
+                        final int headersLimit = headers.capacity();
+                        int headerProgress = 0;
+                        for (int headerIndex = 0; headerIndex < headerCount; headerIndex++)
+                        {
+                            final MessageHeaderFW header = messageHeaderRO.wrap(headers, headerProgress, headersLimit);
+                            f.headersItem(i -> setHeader(i, header.key(), header.value()));
+                            headerProgress = header.limit();
+                        }
+                    })
+                    .build();
+            final int flags = aborted ? FLAG_INIT | FLAG_FIN | FLAG_SKIP : FLAG_INIT | FLAG_FIN;
+            doApplicationData(traceId, authorization, flags, reserved, value, kafkaDataEx);
+        }
+
+        private void onDecodeFetchRecordValueInit(
+            long traceId,
+            boolean aborted,
+            int reserved,
+            int deferred,
+            long offset,
+            long timestamp,
+            int headersSizeMax,
+            long producerId,
+            OctetsFW key,
+            OctetsFW valueInit)
+        {
+            final KafkaDataExFW kafkaDataEx = kafkaDataExRW.wrap(extBuffer, 0, extBuffer.capacity())
+                    .typeId(kafkaTypeId)
+                    .fetch(f -> f.deferred(deferred)
+                                 .timestamp(timestamp)
+                                 .headersSizeMax(headersSizeMax)
+                                 .producerId(producerId)
+                                 .partition(p -> p.partitionId(partitionId)
+                                                  .partitionOffset(offset)
+                                                  .stableOffset(stableOffset)
+                                                  .latestOffset(latestOffset))
+                                 .key(k -> setKey(k, key)))
+                    .build();
+
+            final int flags = aborted ? FLAG_INIT | FLAG_SKIP : FLAG_INIT;
+            doApplicationData(traceId, authorization, flags, reserved, valueInit, kafkaDataEx);
+        }
+
+        private void onDecodeFetchRecordValueCont(
+            long traceId,
+            int reserved,
+            OctetsFW value)
+        {
+            doApplicationData(traceId, authorization, FLAG_CONT, reserved, value, EMPTY_OCTETS);
+        }
+
+        private void onDecodeFetchRecordValueFin(
+            long traceId,
+            int reserved,
+            long offset,
+            OctetsFW value,
+            int headerCount,
+            DirectBuffer headers)
+        {
+            this.nextOffset = offset + 1;
+
+            final KafkaDataExFW kafkaDataEx = kafkaDataExRW.wrap(extBuffer, 0, extBuffer.capacity())
+                    .typeId(kafkaTypeId)
+                    .fetch(f ->
+                    {
+                        f.partition(p -> p
+                            .partitionId(partitionId)
+                            .partitionOffset(offset)
+                            .stableOffset(stableOffset)
+                            .latestOffset(latestOffset));
+                        final int headersLimit = headers.capacity();
+                        int headerProgress = 0;
+                        for (int headerIndex = 0; headerIndex < headerCount; headerIndex++)
+                        {
+                            final MessageHeaderFW header = messageHeaderRO.wrap(headers, headerProgress, headersLimit);
+                            f.headersItem(i -> setHeader(i, header.key(), header.value()));
+                            headerProgress = header.limit();
+                        }
+                    })
+                    .build();
+
+            doApplicationData(traceId, authorization, FLAG_FIN, reserved, value, kafkaDataEx);
+        }
+
         private void cleanupApplication(
             long traceId,
             int error)
@@ -2147,842 +2863,1399 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                 replyDeb = null;
             }
         }
+    }
 
-        private final class KafkaFetchClient extends KafkaSaslClient
-        {
-            private final LongLongConsumer encodeSaslHandshakeRequest = this::doEncodeSaslHandshakeRequest;
-            private final LongLongConsumer encodeSaslAuthenticateRequest = this::doEncodeSaslAuthenticateRequest;
-            private final LongLongConsumer encodeOffsetsRequest = this::doEncodeOffsetsRequest;
-            private final LongLongConsumer encodeFetchRequest = this::doEncodeFetchRequest;
-
-            private MessageConsumer network;
-            private final KafkaFetchStream stream;
-            private final String topic;
-            private final Int2IntHashMap topicPartitions;
-            private final int partitionId;
-            private final KafkaIsolation isolation;
-
-            private long nextOffset;
-            private long stableOffset;
-            private long latestOffset;
-            private long initialLatestOffset;
-            private long initialStableOffset;
-            private long lastLatestOffset;
-            private long lastStableOffset;
-
-            private int state;
-            private long authorization;
-
-            private long initialSeq;
-            private long initialAck;
-            private int initialMax;
-            private int initialPad;
-            private long initialBudgetId;
-
-            private long replySeq;
-            private long replyAck;
-            private int replyMax;
-
-            private int encodeSlot = NO_SLOT;
-            private int encodeSlotOffset;
-            private long encodeSlotTraceId;
-
-            private int decodeSlot = NO_SLOT;
-            private int decodeSlotOffset;
-            private int decodeSlotReserved;
-
-            private int decodableResponseBytes;
-            private int decodableTopics;
-            private int decodableTransactions;
-            private int decodablePartitions;
-            private int decodePartitionError;
-            private int decodePartitionId;
-            private Long2LongHashMap decodeAbortedTransactions;
-            private int decodableRecordSetBytes;
-            private int decodableRecordBatchBytes;
-            private long decodeRecordBatchOffset;
-            private long decodeRecordBatchLastOffset;
-            private long decodeRecordBatchTimestamp;
-            private long decodeRecordBatchProducerId;
-            private boolean decodeRecordBatchAborted;
-            private int decodeRecordBatchAttributes;
-            private int decodableRecords;
-            private long decodeRecordOffset;
-            private int decodableRecordBytes;
-            private int decodableRecordValueBytes;
-
-            private int nextResponseId;
-
-            private KafkaFetchClientDecoder decoder;
-            private LongLongConsumer encoder;
-
-            KafkaFetchClient(
-                long originId,
-                long routedId,
-                String topic,
-                int partitionId,
-                long initialOffset,
-                long latestOffset,
-                KafkaIsolation isolation,
-                KafkaServerConfig server,
-                KafkaSaslConfig sasl)
-            {
-                super(server, sasl, originId, routedId);
-                this.stream = KafkaFetchStream.this;
-                this.topic = requireNonNull(topic);
-                this.topicPartitions = clientRoute.supplyPartitions(topic);
-                this.partitionId = partitionId;
-                this.nextOffset = initialOffset;
-                this.latestOffset = latestOffset;
-                this.isolation = isolation;
-                this.encoder = encodeFetchRequest;
-                this.decoder = decodeReject;
-                this.decodeAbortedTransactions = new Long2LongHashMap(Long.MIN_VALUE);
-            }
-
-            private void onNetwork(
-                int msgTypeId,
-                DirectBuffer buffer,
-                int index,
-                int length)
-            {
-                switch (msgTypeId)
-                {
-                case BeginFW.TYPE_ID:
-                    final BeginFW begin = beginRO.wrap(buffer, index, index + length);
-                    onNetworkBegin(begin);
-                    break;
-                case DataFW.TYPE_ID:
-                    final DataFW data = dataRO.wrap(buffer, index, index + length);
-                    onNetworkData(data);
-                    break;
-                case EndFW.TYPE_ID:
-                    final EndFW end = endRO.wrap(buffer, index, index + length);
-                    onNetworkEnd(end);
-                    break;
-                case AbortFW.TYPE_ID:
-                    final AbortFW abort = abortRO.wrap(buffer, index, index + length);
-                    onNetworkAbort(abort);
-                    break;
-                case ResetFW.TYPE_ID:
-                    final ResetFW reset = resetRO.wrap(buffer, index, index + length);
-                    onNetworkReset(reset);
-                    break;
-                case WindowFW.TYPE_ID:
-                    final WindowFW window = windowRO.wrap(buffer, index, index + length);
-                    onNetworkWindow(window);
-                    break;
-                case SignalFW.TYPE_ID:
-                    final SignalFW signal = signalRO.wrap(buffer, index, index + length);
-                    onNetworkSignal(signal);
-                    break;
-                default:
-                    break;
-                }
-            }
+    private final class KafkaFetchClient extends KafkaSaslClient
+    {
+        private final LongLongConsumer encodeSaslHandshakeRequest = this::doEncodeSaslHandshakeRequest;
+        private final LongLongConsumer encodeSaslAuthenticateRequest = this::doEncodeSaslAuthenticateRequest;
+        private final LongLongConsumer encodeRequest = this::doEncodeRequest;
+
+        private MessageConsumer network;
+        private final String broker;
+        private final long brokerId;
+        private final KafkaIsolation isolation;
+        private final List<KafkaFetchStream> streams;
+        private final Map<String, Int2ObjectHashMap<KafkaFetchStream>> streamsByTopic;
+        private final Map<String, IntHashSet> forgottenByTopic;
+
+        private KafkaFetchStream stream;
+        private boolean polling;
+        private int sessionId;
+        private int sessionEpoch;
 
-            private void onNetworkBegin(
-                BeginFW begin)
-            {
-                final long traceId = begin.traceId();
+        private int state;
+        private long authorization;
 
-                authorization = begin.authorization();
-                state = KafkaState.openingReply(state);
+        private long initialSeq;
+        private long initialAck;
+        private int initialMax;
+        private int initialPad;
+        private long initialBudgetId;
 
-                doNetworkWindow(traceId, 0L, 0, 0, decodePool.slotCapacity());
-            }
+        private long replySeq;
+        private long replyAck;
+        private int replyMax;
 
-            private long networkBytesReceived;
+        private int encodeSlot = NO_SLOT;
+        private int encodeSlotOffset;
+        private long encodeSlotTraceId;
+
+        private int decodeSlot = NO_SLOT;
+        private int decodeSlotOffset;
+        private int decodeSlotReserved;
+
+        private int decodableResponseBytes;
+        private int decodableTopics;
+        private int decodableTransactions;
+        private int decodablePartitions;
+        private String decodeTopic;
+        private int decodePartitionError;
+        private int decodePartitionId;
+        private Long2LongHashMap decodeAbortedTransactions;
+        private int decodableRecordSetBytes;
+        private int decodableRecordBatchBytes;
+        private long decodeRecordBatchOffset;
+        private long decodeRecordBatchTimestamp;
+        private long decodeRecordBatchProducerId;
+        private boolean decodeRecordBatchAborted;
+        private int decodeRecordBatchAttributes;
+        private int decodableRecords;
+        private long decodeRecordOffset;
+        private int decodableRecordBytes;
+        private int decodableRecordValueBytes;
+        private MutableDirectBuffer compressedBuffer;
+        private int compressedBufferLimit;
+
+        private int nextResponseId;
+
+        private KafkaFetchClientDecoder decoder;
+        private LongLongConsumer encoder;
+
+        KafkaFetchClient(
+            String broker,
+            long originId,
+            long routedId,
+            long brokerId,
+            KafkaIsolation isolation,
+            KafkaServerConfig server,
+            KafkaSaslConfig sasl)
+        {
+            super(server, sasl, originId, routedId);
+            this.broker = broker;
+            this.brokerId = brokerId;
+            this.isolation = isolation;
+            this.streams = new ArrayList<>();
+            this.streamsByTopic = new Object2ObjectHashMap<>();
+            this.forgottenByTopic = new Object2ObjectHashMap<>();
+            this.sessionId = SESSION_ID_NONE;
+            this.sessionEpoch = fetchSession ? SESSION_EPOCH_INITIAL : SESSION_EPOCH_FINAL;
+            this.encoder = encodeRequest;
+            this.decoder = decodeReject;
+            this.decodeAbortedTransactions = new Long2LongHashMap(Long.MIN_VALUE);
+        }
+
+        private boolean isJoinable(
+            String topic,
+            int partitionId)
+        {
+            final Int2ObjectHashMap<KafkaFetchStream> partitions = streamsByTopic.get(topic);
+
+            return !polling &&
+                !KafkaState.initialClosing(state) &&
+                !KafkaState.replyClosing(state) &&
+                (partitions == null || !partitions.containsKey(partitionId));
+        }
 
-            private void onNetworkData(
-                DataFW data)
+        private void onStreamBegin(
+            KafkaFetchStream member,
+            long traceId,
+            long authorization)
+        {
+            int index = streams.size();
+            while (index > 0 && streams.get(index - 1).partitionId > member.partitionId)
             {
-                final long sequence = data.sequence();
-                final long acknowledge = data.acknowledge();
-                final long traceId = data.traceId();
-                final long budgetId = data.budgetId();
+                index--;
+            }
+            streams.add(index, member);
+            streamsByTopic.computeIfAbsent(member.topic, t -> new Int2ObjectHashMap<>())
+                .put(member.partitionId, member);
 
-                networkBytesReceived += Math.max(data.length(), 0);
+            final IntHashSet forgotten = forgottenByTopic.get(member.topic);
+            if (forgotten != null && forgotten.remove(member.partitionId) && forgotten.isEmpty())
+            {
+                forgottenByTopic.remove(member.topic);
+            }
 
-                authorization = data.authorization();
+            if (!KafkaState.initialOpening(state))
+            {
+                doNetworkBegin(traceId, authorization, brokerId);
+            }
+            else if (KafkaState.initialOpened(state))
+            {
+                doEncodeRequestIfNecessary(traceId, initialBudgetId);
+            }
+        }
 
-                assert acknowledge <= sequence;
-                assert sequence >= replySeq;
+        private void onStreamResumed(
+            KafkaFetchStream member,
+            long traceId)
+        {
+            if (KafkaState.initialOpened(state))
+            {
+                doEncodeRequestIfNecessary(traceId, initialBudgetId);
+            }
+        }
 
-                replySeq = sequence + data.reserved();
+        private void onStreamData(
+            KafkaFetchStream member,
+            long traceId)
+        {
+            removeStream(member);
 
-                assert replyAck <= replySeq;
+            if (streams.isEmpty())
+            {
+                cleanupNetwork(traceId);
+            }
+            else
+            {
+                decodeNetworkIfNecessary(traceId);
+            }
+        }
 
-                if (replySeq > replyAck + replyMax)
-                {
-                    cleanupNetwork(traceId);
-                }
-                else
-                {
-                    if (decodeSlot == NO_SLOT)
-                    {
-                        decodeSlot = decodePool.acquire(initialId);
-                    }
+        private void onStreamEnd(
+            KafkaFetchStream member,
+            long traceId,
+            long authorization)
+        {
+            removeStream(member);
 
-                    if (decodeSlot == NO_SLOT)
-                    {
-                        cleanupNetwork(traceId);
-                    }
-                    else
-                    {
-                        final OctetsFW payload = data.payload();
-                        int reserved = data.reserved();
-                        int offset = payload.offset();
-                        int limit = payload.limit();
+            if (streams.isEmpty())
+            {
+                doNetworkEndIfNecessary(traceId, authorization);
+            }
+            else
+            {
+                decodeNetworkIfNecessary(traceId);
+            }
+        }
 
-                        final MutableDirectBuffer buffer = decodePool.buffer(decodeSlot);
-                        buffer.putBytes(decodeSlotOffset, payload.buffer(), offset, limit - offset);
-                        decodeSlotOffset += limit - offset;
-                        decodeSlotReserved += reserved;
+        private void onStreamAbort(
+            KafkaFetchStream member,
+            long traceId)
+        {
+            removeStream(member);
+
+            if (streams.isEmpty())
+            {
+                doNetworkAbortIfNecessary(traceId);
+            }
+            else
+            {
+                decodeNetworkIfNecessary(traceId);
+            }
+        }
 
-                        offset = 0;
-                        limit = decodeSlotOffset;
-                        reserved = decodeSlotReserved;
+        private void onStreamReset(
+            KafkaFetchStream member,
+            long traceId)
+        {
+            removeStream(member);
 
-                        decodeNetwork(traceId, authorization, budgetId, reserved, buffer, offset, limit);
-                    }
-                }
+            if (streams.isEmpty())
+            {
+                doNetworkResetIfNecessary(traceId);
+            }
+            else
+            {
+                decodeNetworkIfNecessary(traceId);
             }
+        }
+
+        private void removeStream(
+            KafkaFetchStream member)
+        {
+            streams.remove(member);
 
-            private void onNetworkEnd(
-                EndFW end)
+            final Int2ObjectHashMap<KafkaFetchStream> partitions = streamsByTopic.get(member.topic);
+            partitions.remove(member.partitionId);
+            if (partitions.isEmpty())
             {
-                final long traceId = end.traceId();
+                streamsByTopic.remove(member.topic);
+            }
 
-                state = KafkaState.closingReply(state);
+            member.client = null;
 
-                if (!isApplicationReplyOpen())
-                {
-                    cleanupNetwork(traceId);
-                }
-                else if (decodeSlot == NO_SLOT)
+            if (member.sessionOffset != OFFSET_NONE)
+            {
+                if (sessionId != SESSION_ID_NONE)
                 {
-                    doApplicationEnd(traceId);
+                    forgottenByTopic.computeIfAbsent(member.topic, t -> new IntHashSet()).add(member.partitionId);
                 }
+                member.sessionOffset = OFFSET_NONE;
             }
 
-            private void onNetworkAbort(
-                AbortFW abort)
+            if (stream == member)
             {
-                final long traceId = abort.traceId();
-
-                if (KafkaConfiguration.DEBUG)
+                stream = null;
+
+                if (decoder == decodeFetchRecordBatch ||
+                    decoder == decodeFetchRecordLength ||
+                    decoder == decodeFetchRecord ||
+                    decoder == decodeFetchRecordInit ||
+                    decoder == decodeFetchRecordValue ||
+                    decoder == decodeFetchRecordBatchCompressed ||
+                    decoder == decodeBufferRecordBatchCompressed ||
+                    decoder == decodeFetchRecordBatchBuffered ||
+                    decoder == decodeIgnoreRecord ||
+                    decoder == decodeIgnoreRecordBatch)
                 {
-                    System.out.format("[client] [0x%016x] %s[%s] FETCH aborted (%d bytes)\n",
-                        replyId, topic, partitionId, networkBytesReceived);
+                    decoder = decodeIgnoreRecordSet;
                 }
 
-                state = KafkaState.closedReply(state);
+                if (decompressedClient == this)
+                {
+                    decompressedClient = null;
+                }
 
-                cleanupNetwork(traceId);
+                cleanupCompressedBufferIfNecessary();
             }
 
-            private void onNetworkReset(
-                ResetFW reset)
+            if (streams.isEmpty() && broker != null)
             {
-                final long traceId = reset.traceId();
+                clientsByBroker.remove(broker, this);
+            }
+        }
 
-                if (KafkaConfiguration.DEBUG)
-                {
-                    System.out.format("[client] [0x%016x] %s[%d] FETCH reset (%d bytes)\n",
-                        replyId, topic, partitionId, networkBytesReceived);
-                }
+        private void onNetwork(
+            int msgTypeId,
+            DirectBuffer buffer,
+            int index,
+            int length)
+        {
+            switch (msgTypeId)
+            {
+            case BeginFW.TYPE_ID:
+                final BeginFW begin = beginRO.wrap(buffer, index, index + length);
+                onNetworkBegin(begin);
+                break;
+            case DataFW.TYPE_ID:
+                final DataFW data = dataRO.wrap(buffer, index, index + length);
+                onNetworkData(data);
+                break;
+            case EndFW.TYPE_ID:
+                final EndFW end = endRO.wrap(buffer, index, index + length);
+                onNetworkEnd(end);
+                break;
+            case AbortFW.TYPE_ID:
+                final AbortFW abort = abortRO.wrap(buffer, index, index + length);
+                onNetworkAbort(abort);
+                break;
+            case ResetFW.TYPE_ID:
+                final ResetFW reset = resetRO.wrap(buffer, index, index + length);
+                onNetworkReset(reset);
+                break;
+            case WindowFW.TYPE_ID:
+                final WindowFW window = windowRO.wrap(buffer, index, index + length);
+                onNetworkWindow(window);
+                break;
+            case SignalFW.TYPE_ID:
+                final SignalFW signal = signalRO.wrap(buffer, index, index + length);
+                onNetworkSignal(signal);
+                break;
+            default:
+                break;
+            }
+        }
 
-                state = KafkaState.closedInitial(state);
+        private void onNetworkBegin(
+            BeginFW begin)
+        {
+            final long traceId = begin.traceId();
 
-                cleanupNetwork(traceId);
-            }
+            authorization = begin.authorization();
+            state = KafkaState.openingReply(state);
 
-            private void onNetworkWindow(
-                WindowFW window)
-            {
-                final long sequence = window.sequence();
-                final long acknowledge = window.acknowledge();
-                final int maximum = window.maximum();
-                final long traceId = window.traceId();
-                final long budgetId = window.budgetId();
-                final int padding = window.padding();
+            doNetworkWindow(traceId, 0L, 0, 0, decodePool.slotCapacity());
+        }
 
-                authorization = window.authorization();
+        private long networkBytesReceived;
 
-                assert acknowledge <= sequence;
-                assert sequence <= initialSeq;
-                assert acknowledge >= initialAck;
-                assert maximum + acknowledge >= initialMax + initialAck;
+        private void onNetworkData(
+            DataFW data)
+        {
+            final long sequence = data.sequence();
+            final long acknowledge = data.acknowledge();
+            final long traceId = data.traceId();
+            final long budgetId = data.budgetId();
 
-                this.initialAck = acknowledge;
-                this.initialMax = maximum;
-                this.initialPad = padding;
-                this.initialBudgetId = budgetId;
+            networkBytesReceived += Math.max(data.length(), 0);
 
-                assert initialAck <= initialSeq;
+            authorization = data.authorization();
 
-                state = KafkaState.openedInitial(state);
+            assert acknowledge <= sequence;
+            assert sequence >= replySeq;
 
-                if (encodeSlot != NO_SLOT)
-                {
-                    final MutableDirectBuffer buffer = encodePool.buffer(encodeSlot);
-                    final int limit = encodeSlotOffset;
+            replySeq = sequence + data.reserved();
 
-                    encodeNetwork(encodeSlotTraceId, authorization, budgetId, buffer, 0, limit);
-                }
+            assert replyAck <= replySeq;
 
-                doEncodeRequestIfNecessary(traceId, budgetId);
+            if (replySeq > replyAck + replyMax)
+            {
+                cleanupNetwork(traceId);
             }
-
-            private void onNetworkSignal(
-                SignalFW signal)
+            else
             {
-                final long traceId = signal.traceId();
-                final int signalId = signal.signalId();
-
-                if (signalId == SIGNAL_NEXT_REQUEST)
+                if (decodeSlot == NO_SLOT)
                 {
-                    doEncodeRequestIfNecessary(traceId, initialBudgetId);
+                    decodeSlot = decodePool.acquire(initialId);
                 }
-            }
 
-            private void doNetworkBegin(
-                long traceId,
-                long authorization,
-                long affinity)
-            {
-                state = KafkaState.openingInitial(state);
-
-                if (client.sasl != null)
+                if (decodeSlot == NO_SLOT)
                 {
-                    client.encoder = client.encodeSaslHandshakeRequest;
-                    client.decoder = decodeSaslHandshakeResponse;
+                    cleanupNetwork(traceId);
                 }
-                else if (nextOffset == OFFSET_LIVE || nextOffset == OFFSET_HISTORICAL)
+                else
                 {
-                    client.encoder = client.encodeOffsetsRequest;
-                    client.decoder = decodeOffsetsResponse;
-                }
+                    final OctetsFW payload = data.payload();
+                    int reserved = data.reserved();
+                    int offset = payload.offset();
+                    int limit = payload.limit();
 
-                Consumer<OctetsFW.Builder> extension = EMPTY_EXTENSION;
+                    final MutableDirectBuffer buffer = decodePool.buffer(decodeSlot);
+                    buffer.putBytes(decodeSlotOffset, payload.buffer(), offset, limit - offset);
+                    decodeSlotOffset += limit - offset;
+                    decodeSlotReserved += reserved;
 
-                if (server != null)
-                {
-                    extension = e -> e.set((b, o, l) -> proxyBeginExRW.wrap(b, o, l)
-                                                                      .typeId(proxyTypeId)
-                                                                      .address(a -> a.inet(i -> i.protocol(p -> p.set(STREAM))
-                                                                                                 .source("0.0.0.0")
-                                                                                                 .destination(server.host)
-                                                                                                 .sourcePort(0)
-                                                                                                 .destinationPort(server.port)))
-                                                                      .infos(i -> i.item(ii -> ii.authority(server.host)))
-                                                                      .build()
-                                                                      .sizeof());
-                }
+                    offset = 0;
+                    limit = decodeSlotOffset;
+                    reserved = decodeSlotReserved;
 
-                network = newStream(this::onNetwork, originId, routedId, initialId, initialSeq, initialAck, initialMax,
-                        traceId, authorization, affinity, extension);
+                    decodeNetwork(traceId, authorization, budgetId, reserved, buffer, offset, limit);
+                }
             }
+        }
 
-            @Override
-            protected void doNetworkData(
-                long traceId,
-                long budgetId,
-                DirectBuffer buffer,
-                int offset,
-                int limit)
-            {
-                if (encodeSlot != NO_SLOT)
-                {
-                    final MutableDirectBuffer encodeBuffer = encodePool.buffer(encodeSlot);
-                    encodeBuffer.putBytes(encodeSlotOffset, buffer, offset, limit - offset);
-                    encodeSlotOffset += limit - offset;
-                    encodeSlotTraceId = traceId;
+        private void onNetworkEnd(
+            EndFW end)
+        {
+            final long traceId = end.traceId();
 
-                    buffer = encodeBuffer;
-                    offset = 0;
-                    limit = encodeSlotOffset;
-                }
+            state = KafkaState.closingReply(state);
 
-                encodeNetwork(traceId, authorization, budgetId, buffer, offset, limit);
+            if (broker != null)
+            {
+                clientsByBroker.remove(broker, this);
             }
 
-            private void doNetworkEndAfterFlush(
-                long traceId,
-                long authorization)
+            if (decodeSlot == NO_SLOT && decoder != decodeFetchRecordBatchBuffered)
             {
-                state = KafkaState.closingInitial(state);
-
-                if (encodeSlot == NO_SLOT)
-                {
-                    doNetworkEnd(traceId, authorization);
-                }
+                doApplicationsEnd(traceId);
             }
+        }
+
+        private void onNetworkAbort(
+            AbortFW abort)
+        {
+            final long traceId = abort.traceId();
 
-            private void doNetworkEnd(
-                long traceId,
-                long authorization)
+            if (KafkaConfiguration.DEBUG)
             {
-                state = KafkaState.closedInitial(state);
-                doEnd(network, originId, routedId, initialId, initialSeq, initialAck, initialMax,
-                        traceId, authorization, EMPTY_OCTETS);
+                System.out.format("[client] [0x%016x] FETCH aborted (%d partitions, %d bytes)\n",
+                    replyId, streams.size(), networkBytesReceived);
+            }
 
-                cleanupEncodeSlotIfNecessary();
+            state = KafkaState.closedReply(state);
+
+            cleanupNetwork(traceId);
+        }
+
+        private void onNetworkReset(
+            ResetFW reset)
+        {
+            final long traceId = reset.traceId();
+
+            if (KafkaConfiguration.DEBUG)
+            {
+                System.out.format("[client] [0x%016x] FETCH reset (%d partitions, %d bytes)\n",
+                    replyId, streams.size(), networkBytesReceived);
             }
 
-            private void doNetworkAbortIfNecessary(
-                long traceId)
+            state = KafkaState.closedInitial(state);
+
+            cleanupNetwork(traceId);
+        }
+
+        private void onNetworkWindow(
+            WindowFW window)
+        {
+            final long sequence = window.sequence();
+            final long acknowledge = window.acknowledge();
+            final int maximum = window.maximum();
+            final long traceId = window.traceId();
+            final long budgetId = window.budgetId();
+            final int padding = window.padding();
+
+            authorization = window.authorization();
+
+            assert acknowledge <= sequence;
+            assert sequence <= initialSeq;
+            assert acknowledge >= initialAck;
+            assert maximum + acknowledge >= initialMax + initialAck;
+
+            this.initialAck = acknowledge;
+            this.initialMax = maximum;
+            this.initialPad = padding;
+            this.initialBudgetId = budgetId;
+
+            assert initialAck <= initialSeq;
+
+            state = KafkaState.openedInitial(state);
+
+            if (encodeSlot != NO_SLOT)
             {
-                if (!KafkaState.initialClosed(state))
-                {
-                    doAbort(network, originId, routedId, initialId, initialSeq, initialAck, initialMax,
-                            traceId, authorization, EMPTY_OCTETS);
-                    state = KafkaState.closedInitial(state);
-                }
+                final MutableDirectBuffer buffer = encodePool.buffer(encodeSlot);
+                final int limit = encodeSlotOffset;
 
-                cleanupEncodeSlotIfNecessary();
+                encodeNetwork(encodeSlotTraceId, authorization, budgetId, buffer, 0, limit);
             }
 
-            private void doNetworkResetIfNecessary(
-                long traceId)
+            doEncodeRequestIfNecessary(traceId, budgetId);
+        }
+
+        private void onNetworkSignal(
+            SignalFW signal)
+        {
+            final long traceId = signal.traceId();
+            final int signalId = signal.signalId();
+
+            if (signalId == SIGNAL_NEXT_REQUEST)
             {
-                if (!KafkaState.replyClosed(state))
-                {
-                    doReset(network, originId, routedId, replyId, replySeq, replyAck, replyMax,
-                            traceId, authorization, EMPTY_OCTETS);
-                    state = KafkaState.closedReply(state);
-                }
+                doEncodeRequestIfNecessary(traceId, initialBudgetId);
+            }
+        }
 
-                cleanupDecodeSlotIfNecessary();
+        private void doNetworkBegin(
+            long traceId,
+            long authorization,
+            long affinity)
+        {
+            state = KafkaState.openingInitial(state);
+
+            if (sasl != null)
+            {
+                encoder = encodeSaslHandshakeRequest;
+                decoder = decodeSaslHandshakeResponse;
             }
 
-            private void doNetworkWindow(
-                long traceId,
-                long budgetId,
-                int minReplyNoAck,
-                int minReplyPad,
-                int minReplyMax)
+            Consumer<OctetsFW.Builder> extension = EMPTY_EXTENSION;
+
+            if (server != null)
             {
-                final long newReplyAck = Math.max(replySeq - minReplyNoAck, replyAck);
+                extension = e -> e.set((b, o, l) -> proxyBeginExRW.wrap(b, o, l)
+                                                                  .typeId(proxyTypeId)
+                                                                  .address(a -> a.inet(i -> i.protocol(p -> p.set(STREAM))
+                                                                                             .source("0.0.0.0")
+                                                                                             .destination(server.host)
+                                                                                             .sourcePort(0)
+                                                                                             .destinationPort(server.port)))
+                                                                  .infos(i -> i.item(ii -> ii.authority(server.host)))
+                                                                  .build()
+                                                                  .sizeof());
+            }
 
-                if (newReplyAck > replyAck || minReplyMax > replyMax || !KafkaState.replyOpened(state))
-                {
-                    replyAck = newReplyAck;
-                    assert replyAck <= replySeq;
+            network = newStream(this::onNetwork, originId, routedId, initialId, initialSeq, initialAck, initialMax,
+                    traceId, authorization, affinity, extension);
+        }
 
-                    replyMax = minReplyMax;
+        @Override
+        protected void doNetworkData(
+            long traceId,
+            long budgetId,
+            DirectBuffer buffer,
+            int offset,
+            int limit)
+        {
+            if (encodeSlot != NO_SLOT)
+            {
+                final MutableDirectBuffer encodeBuffer = encodePool.buffer(encodeSlot);
+                encodeBuffer.putBytes(encodeSlotOffset, buffer, offset, limit - offset);
+                encodeSlotOffset += limit - offset;
+                encodeSlotTraceId = traceId;
+
+                buffer = encodeBuffer;
+                offset = 0;
+                limit = encodeSlotOffset;
+            }
 
-                    doWindow(network, originId, routedId, replyId, replySeq, replyAck, replyMax,
-                            traceId, authorization, budgetId, minReplyPad);
+            encodeNetwork(traceId, authorization, budgetId, buffer, offset, limit);
+        }
 
-                    state = KafkaState.openedReply(state);
-                }
+        private void doNetworkEndIfNecessary(
+            long traceId,
+            long authorization)
+        {
+            if (!KafkaState.initialClosing(state))
+            {
+                doNetworkEndAfterFlush(traceId, authorization);
             }
+        }
+
+        private void doNetworkEndAfterFlush(
+            long traceId,
+            long authorization)
+        {
+            state = KafkaState.closingInitial(state);
 
-            private void doEncodeRequestIfNecessary(
-                long traceId,
-                long budgetId)
+            if (encodeSlot == NO_SLOT)
             {
-                if (nextRequestId == nextResponseId)
-                {
-                    encoder.accept(traceId, budgetId);
-                }
+                doNetworkEnd(traceId, authorization);
             }
+        }
+
+        private void doNetworkEnd(
+            long traceId,
+            long authorization)
+        {
+            state = KafkaState.closedInitial(state);
+            doEnd(network, originId, routedId, initialId, initialSeq, initialAck, initialMax,
+                    traceId, authorization, EMPTY_OCTETS);
+
+            cleanupEncodeSlotIfNecessary();
+        }
 
-            @Override
-            protected void doDecodeSaslHandshakeResponse(
-                long traceId)
+        private void doNetworkAbortIfNecessary(
+            long traceId)
+        {
+            if (!KafkaState.initialClosed(state))
             {
-                decoder = decodeSaslHandshakeResponse;
+                doAbort(network, originId, routedId, initialId, initialSeq, initialAck, initialMax,
+                        traceId, authorization, EMPTY_OCTETS);
+                state = KafkaState.closedInitial(state);
             }
 
-            @Override
-            protected void doDecodeSaslHandshake(
-                long traceId)
+            cleanupEncodeSlotIfNecessary();
+        }
+
+        private void doNetworkResetIfNecessary(
+            long traceId)
+        {
+            if (!KafkaState.replyClosed(state))
             {
-                decoder = decodeSaslHandshake;
+                doReset(network, originId, routedId, replyId, replySeq, replyAck, replyMax,
+                        traceId, authorization, EMPTY_OCTETS);
+                state = KafkaState.closedReply(state);
             }
 
-            @Override
-            protected void doDecodeSaslHandshakeMechanisms(
-                long traceId)
+            cleanupDecodeSlotIfNecessary();
+        }
+
+        private void doNetworkWindow(
+            long traceId,
+            long budgetId,
+            int minReplyNoAck,
+            int minReplyPad,
+            int minReplyMax)
+        {
+            final long newReplyAck = Math.max(replySeq - minReplyNoAck, replyAck);
+
+            if (newReplyAck > replyAck || minReplyMax > replyMax || !KafkaState.replyOpened(state))
             {
-                decoder = decodeSaslHandshakeMechanisms;
+                replyAck = newReplyAck;
+                assert replyAck <= replySeq;
+
+                replyMax = minReplyMax;
+
+                doWindow(network, originId, routedId, replyId, replySeq, replyAck, replyMax,
+                        traceId, authorization, budgetId, minReplyPad);
+
+                state = KafkaState.openedReply(state);
             }
+        }
 
-            @Override
-            protected void doDecodeSaslHandshakeMechansim(
-                long traceId)
+        private void doApplicationsEnd(
+            long traceId)
+        {
+            for (int index = streams.size() - 1; index >= 0; index--)
             {
-                decoder = decodeSaslHandshakeMechanism;
+                final KafkaFetchStream member = streams.get(index);
+
+                if (member.isApplicationReplyOpen())
+                {
+                    member.doApplicationEndIfNecessary(traceId);
+                }
+                else
+                {
+                    removeStream(member);
+                    member.cleanupApplication(traceId, EMPTY_OCTETS);
+                }
             }
 
-            @Override
-            protected void doDecodeSaslAuthenticateResponse(
-                long traceId)
+            if (streams.isEmpty())
             {
-                decoder = decodeSaslAuthenticateResponse;
+                doNetworkResetIfNecessary(traceId);
+                doNetworkAbortIfNecessary(traceId);
             }
+        }
 
-            @Override
-            protected void doDecodeSaslAuthenticate(
-                long traceId)
+        private void doEncodeRequestIfNecessary(
+            long traceId,
+            long budgetId)
+        {
+            if (nextRequestId == nextResponseId)
             {
-                decoder = decodeSaslAuthenticate;
+                encoder.accept(traceId, budgetId);
             }
+        }
+
+        @Override
+        protected void doDecodeSaslHandshakeResponse(
+            long traceId)
+        {
+            decoder = decodeSaslHandshakeResponse;
+        }
+
+        @Override
+        protected void doDecodeSaslHandshake(
+            long traceId)
+        {
+            decoder = decodeSaslHandshake;
+        }
+
+        @Override
+        protected void doDecodeSaslHandshakeMechanisms(
+            long traceId)
+        {
+            decoder = decodeSaslHandshakeMechanisms;
+        }
 
-            private void doEncodeOffsetsRequest(
-                long traceId,
-                long budgetId)
+        @Override
+        protected void doDecodeSaslHandshakeMechansim(
+            long traceId)
+        {
+            decoder = decodeSaslHandshakeMechanism;
+        }
+
+        @Override
+        protected void doDecodeSaslAuthenticateResponse(
+            long traceId)
+        {
+            decoder = decodeSaslAuthenticateResponse;
+        }
+
+        @Override
+        protected void doDecodeSaslAuthenticate(
+            long traceId)
+        {
+            decoder = decodeSaslAuthenticate;
+        }
+
+        private void doEncodeRequest(
+            long traceId,
+            long budgetId)
+        {
+            if (!streams.isEmpty())
             {
-                final MutableDirectBuffer encodeBuffer = writeBuffer;
-                final int encodeOffset = DataFW.FIELD_OFFSET_PAYLOAD;
-                final int encodeLimit = encodeBuffer.capacity();
+                boolean offsetsResolved = true;
+                boolean fetchDeferred = true;
+                for (int index = 0; index < streams.size(); index++)
+                {
+                    final KafkaFetchStream member = streams.get(index);
+                    final long nextOffset = member.nextOffset;
+                    offsetsResolved &= nextOffset != OFFSET_LIVE && nextOffset != OFFSET_HISTORICAL;
+                    fetchDeferred &= member.fetchDeferred;
+                }
 
-                int encodeProgress = encodeOffset;
+                if (!offsetsResolved)
+                {
+                    doEncodeOffsetsRequest(traceId, budgetId);
+                }
+                else if (!fetchDeferred && fetchApiVersion == FETCH_SESSION_API_VERSION)
+                {
+                    doEncodeFetchSessionRequest(traceId, budgetId);
+                }
+                else if (!fetchDeferred)
+                {
+                    doEncodeFetchRequest(traceId, budgetId);
+                }
+            }
+        }
 
-                final RequestHeaderFW requestHeader = requestHeaderRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
-                        .length(0)
-                        .apiKey(OFFSETS_API_KEY)
-                        .apiVersion(OFFSETS_API_VERSION)
-                        .correlationId(0)
-                        .clientId(clientId)
-                        .build();
+        private void doEncodeOffsetsRequest(
+            long traceId,
+            long budgetId)
+        {
+            final MutableDirectBuffer encodeBuffer = writeBuffer;
+            final int encodeOffset = DataFW.FIELD_OFFSET_PAYLOAD;
+            final int encodeLimit = encodeBuffer.capacity();
+
+            int encodeProgress = encodeOffset;
+
+            final RequestHeaderFW requestHeader = requestHeaderRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
+                    .length(0)
+                    .apiKey(OFFSETS_API_KEY)
+                    .apiVersion(OFFSETS_API_VERSION)
+                    .correlationId(0)
+                    .clientId(clientId)
+                    .build();
 
-                encodeProgress = requestHeader.limit();
+            encodeProgress = requestHeader.limit();
 
-                final OffsetsRequestFW offsetsRequest = offsetsRequestRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
-                        .isolationLevel(i -> i.set(READ_UNCOMMITTED))
-                        .topicCount(1)
-                        .build();
+            final OffsetsRequestFW offsetsRequest = offsetsRequestRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
+                    .isolationLevel(i -> i.set(READ_UNCOMMITTED))
+                    .topicCount(0)
+                    .build();
 
-                encodeProgress = offsetsRequest.limit();
+            encodeProgress = offsetsRequest.limit();
 
+            int topicCount = 0;
+            for (String topic : streamsByTopic.keySet())
+            {
                 final OffsetsTopicRequestFW topicRequest = offsetsTopicRequestRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
                         .name(topic)
-                        .partitionCount(1)
+                        .partitionCount(0)
                         .build();
 
                 encodeProgress = topicRequest.limit();
 
-                final long timestamp = nextOffset;
-
-                assert timestamp < 0;
+                int partitionCount = 0;
+                for (int index = 0; index < streams.size(); index++)
+                {
+                    final KafkaFetchStream member = streams.get(index);
 
-                final OffsetsPartitionRequestFW partitionRequest = offsetsPartitionRequestRW
-                        .wrap(encodeBuffer, encodeProgress, encodeLimit)
-                        .partitionId(partitionId)
-                        .timestamp(timestamp)
-                        .build();
+                    if (topic.equals(member.topic))
+                    {
+                        final long timestamp = member.nextOffset;
 
-                encodeProgress = partitionRequest.limit();
+                        if (timestamp == OFFSET_LIVE || timestamp == OFFSET_HISTORICAL)
+                        {
+                            final OffsetsPartitionRequestFW partitionRequest = offsetsPartitionRequestRW
+                                    .wrap(encodeBuffer, encodeProgress, encodeLimit)
+                                    .partitionId(member.partitionId)
+                                    .timestamp(timestamp)
+                                    .build();
 
-                final int requestId = nextRequestId++;
-                final int requestSize = encodeProgress - encodeOffset - RequestHeaderFW.FIELD_OFFSET_API_KEY;
+                            encodeProgress = partitionRequest.limit();
+                            partitionCount++;
 
-                requestHeaderRW.wrap(encodeBuffer, requestHeader.offset(), requestHeader.limit())
-                        .length(requestSize)
-                        .apiKey(requestHeader.apiKey())
-                        .apiVersion(requestHeader.apiVersion())
-                        .correlationId(requestId)
-                        .clientId(requestHeader.clientId())
-                        .build();
+                            if (KafkaConfiguration.DEBUG)
+                            {
+                                System.out.format("[0x%016x] %s[%d] OFFSETS %d\n", replyId, topic, member.partitionId, timestamp);
+                            }
+                        }
+                    }
+                }
 
-                if (KafkaConfiguration.DEBUG)
+                if (partitionCount == 0)
+                {
+                    encodeProgress = topicRequest.offset();
+                }
+                else
                 {
-                    System.out.format("[0x%016x] %s[%d] OFFSETS %d\n", replyId, topic, partitionId, timestamp);
+                    offsetsTopicRequestRW.wrap(encodeBuffer, topicRequest.offset(), topicRequest.limit())
+                            .name(topic)
+                            .partitionCount(partitionCount)
+                            .build();
+                    topicCount++;
                 }
+            }
 
-                doNetworkData(traceId, budgetId, encodeBuffer, encodeOffset, encodeProgress);
+            offsetsRequestRW.wrap(encodeBuffer, offsetsRequest.offset(), offsetsRequest.limit())
+                    .isolationLevel(i -> i.set(READ_UNCOMMITTED))
+                    .topicCount(topicCount)
+                    .build();
 
-                this.decoder = decodeOffsetsResponse;
-            }
+            final int requestId = nextRequestId++;
+            final int requestSize = encodeProgress - encodeOffset - RequestHeaderFW.FIELD_OFFSET_API_KEY;
+
+            requestHeaderRW.wrap(encodeBuffer, requestHeader.offset(), requestHeader.limit())
+                    .length(requestSize)
+                    .apiKey(requestHeader.apiKey())
+                    .apiVersion(requestHeader.apiVersion())
+                    .correlationId(requestId)
+                    .clientId(requestHeader.clientId())
+                    .build();
+
+            doNetworkData(traceId, budgetId, encodeBuffer, encodeOffset, encodeProgress);
 
-            private void doEncodeFetchRequest(
-                long traceId,
-                long budgetId)
+            this.decoder = decodeOffsetsResponse;
+        }
+
+        private void doEncodeFetchRequest(
+            long traceId,
+            long budgetId)
+        {
+            final MutableDirectBuffer encodeBuffer = writeBuffer;
+            final int encodeOffset = DataFW.FIELD_OFFSET_PAYLOAD;
+            final int encodeLimit = encodeBuffer.capacity();
+
+            int encodeProgress = encodeOffset;
+
+            final RequestHeaderFW requestHeader = requestHeaderRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
+                    .length(0)
+                    .apiKey(FETCH_API_KEY)
+                    .apiVersion(FETCH_API_VERSION)
+                    .correlationId(0)
+                    .clientId(clientId)
+                    .build();
+
+            encodeProgress = requestHeader.limit();
+
+            boolean repliesOpened = true;
+            for (int index = 0; repliesOpened && index < streams.size(); index++)
             {
-                final MutableDirectBuffer encodeBuffer = writeBuffer;
-                final int encodeOffset = DataFW.FIELD_OFFSET_PAYLOAD;
-                final int encodeLimit = encodeBuffer.capacity();
+                repliesOpened = KafkaState.replyOpened(streams.get(index).state);
+            }
 
-                int encodeProgress = encodeOffset;
+            final int maxWaitTimeMillis = repliesOpened ? fetchMaxWaitMillis : 0;
 
-                final RequestHeaderFW requestHeader = requestHeaderRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
-                        .length(0)
-                        .apiKey(FETCH_API_KEY)
-                        .apiVersion(FETCH_API_VERSION)
-                        .correlationId(0)
-                        .clientId(clientId)
-                        .build();
+            final FetchRequestFW fetchRequest = fetchRequestRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
+                    .maxWaitTimeMillis(maxWaitTimeMillis)
+                    .minBytes(1)
+                    .maxBytes(fetchMaxBytes)
+                    .isolationLevel((byte) isolation.ordinal())
+                    .topicCount(0)
+                    .build();
 
-                encodeProgress = requestHeader.limit();
+            encodeProgress = fetchRequest.limit();
 
-                final FetchRequestFW fetchRequest = fetchRequestRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
-                        .maxWaitTimeMillis(!KafkaState.replyOpened(stream.state) ? 0 : fetchMaxWaitMillis)
-                        .minBytes(1)
-                        .maxBytes(fetchMaxBytes)
-                        .isolationLevel((byte) isolation.ordinal())
-                        .topicCount(1)
+            int topicCount = 0;
+            for (String topic : streamsByTopic.keySet())
+            {
+                final TopicRequestFW topicRequest = fetchTopicRequestRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
+                        .name(topic)
+                        .partitionCount(0)
                         .build();
 
-                encodeProgress = fetchRequest.limit();
+                encodeProgress = topicRequest.limit();
+
+                int partitionCount = 0;
+                for (int index = 0; index < streams.size(); index++)
+                {
+                    final KafkaFetchStream member = streams.get(index);
+
+                    if (topic.equals(member.topic) && !member.fetchDeferred)
+                    {
+                        final PartitionRequestFW partitionRequest = fetchPartitionRequestRW
+                                .wrap(encodeBuffer, encodeProgress, encodeLimit)
+                                .partitionId(member.partitionId)
+                                .fetchOffset(member.nextOffset)
+                                .maxBytes(partitionMaxBytes)
+                                .build();
+
+                        encodeProgress = partitionRequest.limit();
+                        partitionCount++;
+
+                        member.decodeRecordBatchLastOffset = member.nextOffset - 1;
+
+                        if (KafkaConfiguration.DEBUG)
+                        {
+                            System.out.format("[0x%016x] %s[%d] FETCH %d\n",
+                                replyId, topic, member.partitionId, member.nextOffset);
+                        }
+                    }
+                }
+
+                if (partitionCount == 0)
+                {
+                    encodeProgress = topicRequest.offset();
+                }
+                else
+                {
+                    fetchTopicRequestRW.wrap(encodeBuffer, topicRequest.offset(), topicRequest.limit())
+                            .name(topic)
+                            .partitionCount(partitionCount)
+                            .build();
+                    topicCount++;
+                }
+            }
+
+            fetchRequestRW.wrap(encodeBuffer, fetchRequest.offset(), fetchRequest.limit())
+                    .maxWaitTimeMillis(maxWaitTimeMillis)
+                    .minBytes(1)
+                    .maxBytes(fetchMaxBytes)
+                    .isolationLevel((byte) isolation.ordinal())
+                    .topicCount(topicCount)
+                    .build();
 
+            final int requestId = nextRequestId++;
+            final int requestSize = encodeProgress - encodeOffset - RequestHeaderFW.FIELD_OFFSET_API_KEY;
+
+            requestHeaderRW.wrap(encodeBuffer, requestHeader.offset(), requestHeader.limit())
+                    .length(requestSize)
+                    .apiKey(requestHeader.apiKey())
+                    .apiVersion(requestHeader.apiVersion())
+                    .correlationId(requestId)
+                    .clientId(requestHeader.clientId())
+                    .build();
+
+            doNetworkData(traceId, budgetId, encodeBuffer, encodeOffset, encodeProgress);
+
+            polling = maxWaitTimeMillis != 0;
+
+            this.decoder = decodeFetchResponse;
+        }
+
+        private void doEncodeFetchSessionRequest(
+            long traceId,
+            long budgetId)
+        {
+            final MutableDirectBuffer encodeBuffer = writeBuffer;
+            final int encodeOffset = DataFW.FIELD_OFFSET_PAYLOAD;
+            final int encodeLimit = encodeBuffer.capacity();
+
+            int encodeProgress = encodeOffset;
+
+            final RequestHeaderFW requestHeader = requestHeaderRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
+                    .length(0)
+                    .apiKey(FETCH_API_KEY)
+                    .apiVersion(FETCH_SESSION_API_VERSION)
+                    .correlationId(0)
+                    .clientId(clientId)
+                    .build();
+
+            encodeProgress = requestHeader.limit();
+
+            boolean repliesOpened = true;
+            for (int index = 0; repliesOpened && index < streams.size(); index++)
+            {
+                repliesOpened = KafkaState.replyOpened(streams.get(index).state);
+            }
+
+            final int maxWaitTimeMillis = repliesOpened ? fetchMaxWaitMillis : 0;
+            final boolean incremental = sessionId != SESSION_ID_NONE;
+
+            final FetchSessionRequestFW fetchRequest = fetchSessionRequestRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
+                    .maxWaitTimeMillis(maxWaitTimeMillis)
+                    .minBytes(1)
+                    .maxBytes(fetchMaxBytes)
+                    .isolationLevel((byte) isolation.ordinal())
+                    .sessionId(sessionId)
+                    .sessionEpoch(sessionEpoch)
+                    .topicCount(0)
+                    .build();
+
+            encodeProgress = fetchRequest.limit();
+
+            int topicCount = 0;
+            for (String topic : streamsByTopic.keySet())
+            {
                 final TopicRequestFW topicRequest = fetchTopicRequestRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
                         .name(topic)
-                        .partitionCount(1)
+                        .partitionCount(0)
                         .build();
 
                 encodeProgress = topicRequest.limit();
 
-                final PartitionRequestFW partitionRequest = fetchPartitionRequestRW
-                        .wrap(encodeBuffer, encodeProgress, encodeLimit)
-                        .partitionId((int) partitionId)
-                        .fetchOffset(nextOffset)
-                        .maxBytes(partitionMaxBytes)
-                        .build();
+                int partitionCount = 0;
+                for (int index = 0; index < streams.size(); index++)
+                {
+                    final KafkaFetchStream member = streams.get(index);
 
-                encodeProgress = partitionRequest.limit();
+                    if (topic.equals(member.topic) && member.fetchDeferred)
+                    {
+                        if (incremental && member.sessionOffset != OFFSET_NONE)
+                        {
+                            forgottenByTopic.computeIfAbsent(member.topic, t -> new IntHashSet()).add(member.partitionId);
+                        }
+                        member.sessionOffset = OFFSET_NONE;
+                    }
+                    else if (topic.equals(member.topic))
+                    {
+                        member.decodeRecordBatchLastOffset = member.nextOffset - 1;
 
-                final int requestId = nextRequestId++;
-                final int requestSize = encodeProgress - encodeOffset - RequestHeaderFW.FIELD_OFFSET_API_KEY;
+                        if (!incremental || member.sessionOffset != member.nextOffset)
+                        {
+                            final SessionPartitionRequestFW partitionRequest = sessionPartitionRequestRW
+                                    .wrap(encodeBuffer, encodeProgress, encodeLimit)
+                                    .partitionId(member.partitionId)
+                                    .currentLeaderEpoch(-1)
+                                    .fetchOffset(member.nextOffset)
+                                    .logStartOffset(-1L)
+                                    .maxBytes(partitionMaxBytes)
+                                    .build();
+
+                            encodeProgress = partitionRequest.limit();
+                            partitionCount++;
+
+                            if (sessionEpoch != SESSION_EPOCH_FINAL)
+                            {
+                                member.sessionOffset = member.nextOffset;
+                            }
 
-                requestHeaderRW.wrap(encodeBuffer, requestHeader.offset(), requestHeader.limit())
-                        .length(requestSize)
-                        .apiKey(requestHeader.apiKey())
-                        .apiVersion(requestHeader.apiVersion())
-                        .correlationId(requestId)
-                        .clientId(requestHeader.clientId())
-                        .build();
+                            if (KafkaConfiguration.DEBUG)
+                            {
+                                System.out.format("[0x%016x] %s[%d] FETCH %d (session %d, epoch %d)\n",
+                                    replyId, topic, member.partitionId, member.nextOffset, sessionId, sessionEpoch);
+                            }
+                        }
+                    }
+                }
 
-                if (KafkaConfiguration.DEBUG)
+                if (partitionCount == 0)
+                {
+                    encodeProgress = topicRequest.offset();
+                }
+                else
+                {
+                    fetchTopicRequestRW.wrap(encodeBuffer, topicRequest.offset(), topicRequest.limit())
+                            .name(topic)
+                            .partitionCount(partitionCount)
+                            .build();
+                    topicCount++;
+                }
+            }
+
+            fetchSessionRequestRW.wrap(encodeBuffer, fetchRequest.offset(), fetchRequest.limit())
+                    .maxWaitTimeMillis(maxWaitTimeMillis)
+                    .minBytes(1)
+                    .maxBytes(fetchMaxBytes)
+                    .isolationLevel((byte) isolation.ordinal())
+                    .sessionId(sessionId)
+                    .sessionEpoch(sessionEpoch)
+                    .topicCount(topicCount)
+                    .build();
+
+            final ForgottenTopicsRequestFW forgottenTopicsRequest = forgottenTopicsRequestRW
+                    .wrap(encodeBuffer, encodeProgress, encodeLimit)
+                    .topicCount(incremental ? forgottenByTopic.size() : 0)
+                    .build();
+
+            encodeProgress = forgottenTopicsRequest.limit();
+
+            if (incremental)
+            {
+                for (Map.Entry<String, IntHashSet> entry : forgottenByTopic.entrySet())
+                {
+                    final IntHashSet forgotten = entry.getValue();
+
+                    final ForgottenTopicRequestFW forgottenTopicRequest = forgottenTopicRequestRW
+                            .wrap(encodeBuffer, encodeProgress, encodeLimit)
+                            .name(entry.getKey())
+                            .partitionCount(forgotten.size())
+                            .build();
+
+                    encodeProgress = forgottenTopicRequest.limit();
+
+                    for (IntHashSet.IntIterator partitions = forgotten.iterator(); partitions.hasNext(); )
+                    {
+                        final ForgottenPartitionRequestFW forgottenPartitionRequest = forgottenPartitionRequestRW
+                                .wrap(encodeBuffer, encodeProgress, encodeLimit)
+                                .partitionId(partitions.nextValue())
+                                .build();
+
+                        encodeProgress = forgottenPartitionRequest.limit();
+                    }
+                }
+            }
+            forgottenByTopic.clear();
+
+            final FetchSessionRequestTrailerFW fetchRequestTrailer = fetchSessionRequestTrailerRW
+                    .wrap(encodeBuffer, encodeProgress, encodeLimit)
+                    .rackId(fetchRack != null ? fetchRack : "")
+                    .build();
+
+            encodeProgress = fetchRequestTrailer.limit();
+
+            final int requestId = nextRequestId++;
+            final int requestSize = encodeProgress - encodeOffset - RequestHeaderFW.FIELD_OFFSET_API_KEY;
+
+            requestHeaderRW.wrap(encodeBuffer, requestHeader.offset(), requestHeader.limit())
+                    .length(requestSize)
+                    .apiKey(requestHeader.apiKey())
+                    .apiVersion(requestHeader.apiVersion())
+                    .correlationId(requestId)
+                    .clientId(requestHeader.clientId())
+                    .build();
+
+            doNetworkData(traceId, budgetId, encodeBuffer, encodeOffset, encodeProgress);
+
+            polling = maxWaitTimeMillis != 0;
+
+            this.decoder = decodeFetchResponse;
+        }
+
+        private void encodeNetwork(
+            long traceId,
+            long authorization,
+            long budgetId,
+            DirectBuffer buffer,
+            int offset,
+            int limit)
+        {
+            final int maxLength = limit - offset;
+            final int initialWin = initialMax - (int)(initialSeq - initialAck);
+            final int length = Math.max(Math.min(initialWin - initialPad, maxLength), 0);
+
+            if (length > 0)
+            {
+                final int reserved = length + initialPad;
+
+                doData(network, originId, routedId, initialId, initialSeq, initialAck, initialMax,
+                        traceId, authorization, budgetId, reserved, buffer, offset, length, EMPTY_OCTETS);
+
+                initialSeq += reserved;
+
+                assert initialAck <= initialSeq;
+            }
+
+            final int remaining = maxLength - length;
+            if (remaining > 0)
+            {
+                if (encodeSlot == NO_SLOT)
+                {
+                    encodeSlot = encodePool.acquire(initialId);
+                }
+
+                if (encodeSlot == NO_SLOT)
+                {
+                    cleanupNetwork(traceId);
+                }
+                else
+                {
+                    final MutableDirectBuffer encodeBuffer = encodePool.buffer(encodeSlot);
+                    encodeBuffer.putBytes(0, buffer, offset + length, remaining);
+                    encodeSlotOffset = remaining;
+                }
+            }
+            else
+            {
+                cleanupEncodeSlotIfNecessary();
+
+                if (KafkaState.initialClosing(state))
                 {
-                    System.out.format("[0x%016x] %s[%d] FETCH %d\n", replyId, topic, partitionId, nextOffset);
+                    doNetworkEnd(traceId, authorization);
                 }
+            }
+        }
 
-                doNetworkData(traceId, budgetId, encodeBuffer, encodeOffset, encodeProgress);
-
-                client.decodeRecordBatchLastOffset = nextOffset - 1;
+        private void decodeNetworkIfNecessary(
+            long traceId)
+        {
+            if (decodeSlot != NO_SLOT)
+            {
+                final MutableDirectBuffer buffer = decodePool.buffer(decodeSlot);
+                final long budgetId = 0L; // TODO
+                final int offset = 0;
+                final int limit = decodeSlotOffset;
+                final int reserved = decodeSlotReserved;
 
-                this.decoder = decodeFetchResponse;
+                decodeNetwork(traceId, authorization, budgetId, reserved, buffer, offset, limit);
+            }
+            else if (decoder == decodeFetchRecordBatchBuffered)
+            {
+                decodeNetwork(traceId, authorization, 0L, 0, compressedBuffer, 0, 0);
             }
+        }
 
-            private void encodeNetwork(
-                long traceId,
-                long authorization,
-                long budgetId,
-                DirectBuffer buffer,
-                int offset,
-                int limit)
+        private void decodeNetwork(
+            long traceId,
+            long authorization,
+            long budgetId,
+            int reserved,
+            MutableDirectBuffer buffer,
+            int offset,
+            int limit)
+        {
+            KafkaFetchClientDecoder previous = null;
+            int progress = offset;
+            while (progress <= limit && previous != decoder)
             {
-                final int maxLength = limit - offset;
-                final int initialWin = initialMax - (int)(initialSeq - initialAck);
-                final int length = Math.max(Math.min(initialWin - initialPad, maxLength), 0);
+                previous = decoder;
+                progress = decoder.decode(this, traceId, authorization, budgetId, reserved, buffer, offset, progress, limit);
+            }
 
-                if (length > 0)
+            if (progress < limit)
+            {
+                if (decodeSlot == NO_SLOT)
                 {
-                    final int reserved = length + initialPad;
-
-                    doData(network, originId, routedId, initialId, initialSeq, initialAck, initialMax,
-                            traceId, authorization, budgetId, reserved, buffer, offset, length, EMPTY_OCTETS);
-
-                    initialSeq += reserved;
-
-                    assert initialAck <= initialSeq;
+                    decodeSlot = decodePool.acquire(initialId);
                 }
 
-                final int remaining = maxLength - length;
-                if (remaining > 0)
+                if (decodeSlot == NO_SLOT)
                 {
-                    if (encodeSlot == NO_SLOT)
-                    {
-                        encodeSlot = encodePool.acquire(initialId);
-                    }
-
-                    if (encodeSlot == NO_SLOT)
-                    {
-                        cleanupNetwork(traceId);
-                    }
-                    else
-                    {
-                        final MutableDirectBuffer encodeBuffer = encodePool.buffer(encodeSlot);
-                        encodeBuffer.putBytes(0, buffer, offset + length, remaining);
-                        encodeSlotOffset = remaining;
-                    }
+                    cleanupNetwork(traceId);
                 }
                 else
                 {
-                    cleanupEncodeSlotIfNecessary();
-
-                    if (KafkaState.initialClosing(state))
-                    {
-                        doNetworkEnd(traceId, authorization);
-                    }
+                    final MutableDirectBuffer decodeBuffer = decodePool.buffer(decodeSlot);
+                    decodeBuffer.putBytes(0, buffer, progress, limit - progress);
+                    decodeSlotOffset = limit - progress;
+                    decodeSlotReserved = (int) ((long) (limit - progress) * reserved / (limit - offset));
+                    assert decodeSlotReserved >= 0;
                 }
-            }
-
-            private void decodeNetworkIfNecessary(
-                long traceId)
-            {
-                if (decodeSlot != NO_SLOT)
-                {
-                    final MutableDirectBuffer buffer = decodePool.buffer(decodeSlot);
-                    final long budgetId = 0L; // TODO
-                    final int offset = 0;
-                    final int limit = decodeSlotOffset;
-                    final int reserved = decodeSlotReserved;
 
-                    decodeNetwork(traceId, authorization, budgetId, reserved, buffer, offset, limit);
-                }
+                doNetworkWindow(traceId, budgetId, decodeSlotOffset, 0, replyMax);
             }
-
-            private void decodeNetwork(
-                long traceId,
-                long authorization,
-                long budgetId,
-                int reserved,
-                MutableDirectBuffer buffer,
-                int offset,
-                int limit)
+            else
             {
-                KafkaFetchClientDecoder previous = null;
-                int progress = offset;
-                while (progress <= limit && previous != decoder)
-                {
-                    previous = decoder;
-                    progress = decoder.decode(this, traceId, authorization, budgetId, reserved, buffer, offset, progress, limit);
-                }
+                cleanupDecodeSlotIfNecessary();
 
-                if (progress < limit)
+                if (KafkaState.replyClosing(state) && decoder != decodeFetchRecordBatchBuffered)
                 {
-                    if (decodeSlot == NO_SLOT)
-                    {
-                        decodeSlot = decodePool.acquire(initialId);
-                    }
-
-                    if (decodeSlot == NO_SLOT)
-                    {
-                        cleanupNetwork(traceId);
-                    }
-                    else
-                    {
-                        final MutableDirectBuffer decodeBuffer = decodePool.buffer(decodeSlot);
-                        decodeBuffer.putBytes(0, buffer, progress, limit - progress);
-                        decodeSlotOffset = limit - progress;
-                        decodeSlotReserved = (int) ((long) (limit - progress) * reserved / (limit - offset));
-                        assert decodeSlotReserved >= 0;
-                    }
-
-                    doNetworkWindow(traceId, budgetId, decodeSlotOffset, 0, replyMax);
+                    doApplicationsEnd(traceId);
                 }
-                else
+                else if (reserved > 0)
                 {
-                    cleanupDecodeSlotIfNecessary();
-
-                    if (KafkaState.replyClosing(state))
-                    {
-                        doApplicationEnd(traceId);
-                    }
-                    else if (reserved > 0)
-                    {
-                        doNetworkWindow(traceId, budgetId, 0, 0, replyMax);
-                    }
+                    doNetworkWindow(traceId, budgetId, 0, 0, replyMax);
                 }
             }
+        }
+
+        @Override
+        protected void onDecodeSaslHandshakeResponse(
+            long traceId,
+            long authorization,
+            int errorCode)
+        {
+            switch (errorCode)
+            {
+            case ERROR_NONE:
+                encoder = encodeSaslAuthenticateRequest;
+                decoder = decodeSaslAuthenticateResponse;
+                break;
+            default:
+                cleanupApplications(traceId, errorCode);
+                doNetworkEnd(traceId, authorization);
+                break;
+            }
+        }
 
-            @Override
-            protected void onDecodeSaslHandshakeResponse(
-                long traceId,
-                long authorization,
-                int errorCode)
+        @Override
+        protected void onDecodeSaslAuthenticateResponse(
+            long traceId,
+            long authorization,
+            int errorCode)
+        {
+            switch (errorCode)
             {
-                switch (errorCode)
-                {
-                case ERROR_NONE:
-                    client.encoder = client.encodeSaslAuthenticateRequest;
-                    client.decoder = decodeSaslAuthenticateResponse;
-                    break;
-                default:
-                    cleanupApplication(traceId, errorCode);
-                    doNetworkEnd(traceId, authorization);
-                    break;
-                }
+            case ERROR_NONE:
+                encoder = encodeRequest;
+                decoder = decodeFetchResponse;
+                break;
+            default:
+                cleanupApplications(traceId, errorCode);
+                doNetworkEnd(traceId, authorization);
+                break;
             }
+        }
 
-            @Override
-            protected void onDecodeSaslAuthenticateResponse(
-                long traceId,
-                long authorization,
-                int errorCode)
+        private void onDecodeOffsetsPartition(
+            long traceId,
+            long authorization,
+            int errorCode,
+            int partitionId,
+            long partitionOffset)
+        {
+            final Int2ObjectHashMap<KafkaFetchStream> partitions = streamsByTopic.get(decodeTopic);
+            final KafkaFetchStream member = partitions != null ? partitions.get(partitionId) : null;
+
+            if (member != null)
             {
                 switch (errorCode)
                 {
                 case ERROR_NONE:
-                    if (nextOffset == OFFSET_LIVE || nextOffset == OFFSET_HISTORICAL)
-                    {
-                        client.encoder = client.encodeOffsetsRequest;
-                        client.decoder = decodeOffsetsResponse;
-                    }
-                    else
-                    {
-                        client.encoder = client.encodeFetchRequest;
-                        client.decoder = decodeFetchResponse;
-                    }
+                    member.nextOffset = partitionOffset;
                     break;
                 default:
-                    cleanupApplication(traceId, errorCode);
-                    doNetworkEnd(traceId, authorization);
+                    onDecodeResponseErrorCode(traceId, originId, errorCode);
+                    removeStream(member);
+                    member.cleanupApplication(traceId, errorCode);
                     break;
                 }
             }
+        }
 
-            private void onDecodeOffsetsPartition(
-                long traceId,
-                long authorization,
-                int errorCode,
-                int partitionId,
-                long partitionOffset)
+        private void onDecodeFetchSession(
+            long traceId,
+            int errorCode,
+            int sessionId)
+        {
+            switch (errorCode)
             {
-                switch (errorCode)
+            case ERROR_NONE:
+                if (sessionEpoch == SESSION_EPOCH_FINAL || sessionId == SESSION_ID_NONE)
+                {
+                    this.sessionId = SESSION_ID_NONE;
+                }
+                else if (this.sessionId != sessionId)
+                {
+                    this.sessionId = sessionId;
+                    this.sessionEpoch = 1;
+                }
+                else
+                {
+                    this.sessionEpoch = sessionEpoch == Integer.MAX_VALUE ? 1 : sessionEpoch + 1;
+                }
+                break;
+            default:
+                if (errorCode != ERROR_FETCH_SESSION_ID_NOT_FOUND &&
+                    errorCode != ERROR_INVALID_FETCH_SESSION_EPOCH)
                 {
-                case ERROR_NONE:
-                    assert partitionId == this.partitionId;
-                    this.nextOffset = partitionOffset;
-                    break;
-                default:
                     onDecodeResponseErrorCode(traceId, originId, errorCode);
-                    cleanupApplication(traceId, errorCode);
-                    doNetworkEnd(traceId, authorization);
-                    break;
                 }
+
+                if (sessionEpoch != SESSION_EPOCH_FINAL)
+                {
+                    this.sessionId = SESSION_ID_NONE;
+                    this.sessionEpoch = SESSION_EPOCH_INITIAL;
+                }
+                break;
+            }
+        }
+
+        private void onDecodeFetchPreferredReplica(
+            long traceId,
+            int replicaId)
+        {
+            if (stream != null && replicaId >= 0)
+            {
+                stream.replicaId = replicaId;
             }
+        }
+
+        private void onDecodeFetchPartition(
+            long traceId,
+            long authorization,
+            int partitionId,
+            int errorCode,
+            long stableOffset,
+            long latestOffset)
+        {
+            final Int2ObjectHashMap<KafkaFetchStream> partitions = streamsByTopic.get(decodeTopic);
+            final KafkaFetchStream member = partitions != null ? partitions.get(partitionId) : null;
+
+            stream = member;
 
-            private void onDecodeFetchPartition(
-                long traceId,
-                long authorization,
-                int partitionId,
-                int errorCode)
+            if (decompressedClient == this)
             {
+                decompressedClient = null;
+            }
+
+            if (member != null && errorCode != ERROR_NONE && brokerId != member.leaderId)
+            {
+                member.replicaId = member.leaderId;
+            }
+            else if (member != null)
+            {
+                member.stableOffset = stableOffset;
+                member.latestOffset = latestOffset;
+
                 switch (errorCode)
                 {
                 case ERROR_NONE:
-                    assert partitionId == this.partitionId;
-                    doApplicationWindow(traceId, 0L, 0, 0, 0);
-                    doApplicationBeginIfNecessary(traceId, authorization, topic, partitionId,
-                            nextOffset, stableOffset, latestOffset, isolation);
+                    member.doApplicationWindow(traceId, 0L, 0, 0, 0);
+                    member.doApplicationBeginIfNecessary(traceId, authorization, decodeTopic, partitionId,
+                            member.nextOffset, stableOffset, latestOffset, isolation);
                     break;
                 case ERROR_OFFSET_OUT_OF_RANGE:
-                    assert partitionId == this.partitionId;
                     // TODO: recover at EARLIEST or LATEST ?
-                    nextOffset = OFFSET_HISTORICAL;
-                    client.encoder = client.encodeOffsetsRequest;
-                    doEncodeRequestIfNecessary(traceId, initialBudgetId);
+                    member.nextOffset = OFFSET_HISTORICAL;
                     break;
                 default:
                     if (errorCode == ERROR_NOT_LEADER_FOR_PARTITION)
                     {
-                        final long metaInitialId = clientRoute.metaInitialId;
+                        final long metaInitialId = member.clientRoute.metaInitialId;
                         if (metaInitialId != 0L)
                         {
                             final MessageConsumer metaInitial = supplyReceiver.apply(metaInitialId);
@@ -2996,238 +4269,204 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
                         onDecodeResponseErrorCode(traceId, originId, errorCode);
                     }
 
-                    cleanupApplication(traceId, errorCode);
-                    doNetworkEnd(traceId, authorization);
+                    removeStream(member);
+                    member.cleanupApplication(traceId, errorCode);
                     break;
                 }
             }
+        }
 
-            private void onDecodeResponseErrorCode(
-                long traceId,
-                long originId,
-                int errorCode)
+        private void onDecodeResponseErrorCode(
+            long traceId,
+            long originId,
+            int errorCode)
+        {
+            super.onDecodeResponseErrorCode(traceId, originId, FETCH_API_KEY, fetchApiVersion, errorCode);
+        }
+
+        private void onDecodeRecordBatchError(
+            long traceId,
+            int errorCode)
+        {
+            final KafkaFetchStream member = stream;
+
+            if (member != null)
             {
-                super.onDecodeResponseErrorCode(traceId, originId, FETCH_API_KEY, FETCH_API_VERSION, errorCode);
+                onDecodeResponseErrorCode(traceId, originId, errorCode);
+                removeStream(member);
+                member.cleanupApplication(traceId, errorCode);
             }
 
-            private void onDecodeFetchTransactionAbort(
-                long traceId,
-                long authorization,
-                long offset,
-                long producerId)
-            {
-                this.nextOffset = offset + 1;
+            decoder = decodeIgnoreRecordSet;
+        }
 
-                final KafkaFlushExFW kafkaFlushEx = kafkaFlushExRW.wrap(extBuffer, 0, extBuffer.capacity())
-                        .typeId(kafkaTypeId)
-                        .fetch(f -> f
-                            .partition(p -> p
-                                .partitionId(decodePartitionId)
-                                .partitionOffset(offset)
-                                .stableOffset(stableOffset)
-                                .latestOffset(latestOffset))
-                            .transactionsItem(t -> t
-                                .result(r -> r.set(KafkaTransactionResult.ABORT))
-                                .producerId(producerId)))
-                        .build();
+        private boolean canDeferRecordSet()
+        {
+            return streams.size() > 1 && KafkaState.replyOpened(stream.state);
+        }
 
-                doApplicationFlush(traceId, authorization, 0, kafkaFlushEx);
-            }
+        private void onDecodeRecordSetDeferred()
+        {
+            stream.fetchDeferred = true;
+            stream.decodeRecordBatchLastOffset = stream.nextOffset - 1;
 
-            private void onDecodeFetchTransactionCommit(
-                long traceId,
-                long authorization,
-                long offset,
-                long producerId)
+            if (decompressedClient == this)
             {
-                this.nextOffset = offset + 1;
+                decompressedClient = null;
+            }
 
-                final KafkaFlushExFW kafkaFlushEx = kafkaFlushExRW.wrap(extBuffer, 0, extBuffer.capacity())
-                        .typeId(kafkaTypeId)
-                        .fetch(f -> f
-                            .partition(p -> p
-                                .partitionId(decodePartitionId)
-                                .partitionOffset(offset)
-                                .stableOffset(stableOffset)
-                                .latestOffset(latestOffset))
-                            .transactionsItem(t -> t
-                                .result(r -> r.set(KafkaTransactionResult.COMMIT))
-                                .producerId(producerId)))
-                        .build();
+            cleanupCompressedBufferIfNecessary();
 
-                doApplicationFlush(traceId, authorization, 0, kafkaFlushEx);
-            }
+            decodableRecords = 0;
+            decoder = decodeIgnoreRecordSet;
+        }
 
-            private void onDecodeFetchRecord(
-                long traceId,
-                boolean aborted,
-                int reserved,
-                long offset,
-                long timestamp,
-                long producerId,
-                OctetsFW key,
-                OctetsFW value,
-                int headerCount,
-                DirectBuffer headers)
+        private void onIgnoreRecordSet(
+            long traceId)
+        {
+            if (stream != null && !stream.fetchDeferred)
             {
-                this.nextOffset = offset + 1;
+                stream.doFlushPartitionOffsetIfNecessary(traceId, stream.authorization);
+            }
+        }
 
-                final KafkaDataExFW kafkaDataEx = kafkaDataExRW.wrap(extBuffer, 0, extBuffer.capacity())
-                        .typeId(kafkaTypeId)
-                        .fetch(f ->
-                        {
-                            f.timestamp(timestamp);
-                            f.producerId(producerId);
-                            f.partition(p -> p
-                                .partitionId(decodePartitionId)
-                                .partitionOffset(offset)
-                                .stableOffset(stableOffset)
-                                .latestOffset(latestOffset));
-                            f.key(k -> setKey(k, key));
-                            final int headersLimit = headers.capacity();
-                            int headerProgress = 0;
-                            for (int headerIndex = 0; headerIndex < headerCount; headerIndex++)
-                            {
-                                final MessageHeaderFW header = messageHeaderRO.wrap(headers, headerProgress, headersLimit);
-                                f.headersItem(i -> setHeader(i, header.key(), header.value()));
-                                headerProgress = header.limit();
-                            }
-                        })
-                        .build();
-                final int flags = aborted ? FLAG_INIT | FLAG_FIN | FLAG_SKIP : FLAG_INIT | FLAG_FIN;
-                doApplicationData(traceId, authorization, flags, reserved, value, kafkaDataEx);
-            }
-
-            private void onDecodeFetchRecordValueInit(
-                long traceId,
-                boolean aborted,
-                int reserved,
-                int deferred,
-                long offset,
-                long timestamp,
-                int headersSizeMax,
-                long producerId,
-                OctetsFW key,
-                OctetsFW valueInit)
-            {
-                final KafkaDataExFW kafkaDataEx = kafkaDataExRW.wrap(extBuffer, 0, extBuffer.capacity())
-                        .typeId(kafkaTypeId)
-                        .fetch(f -> f.deferred(deferred)
-                                     .timestamp(timestamp)
-                                     .headersSizeMax(headersSizeMax)
-                                     .producerId(producerId)
-                                     .partition(p -> p.partitionId(decodePartitionId)
-                                                      .partitionOffset(offset)
-                                                      .stableOffset(stableOffset)
-                                                      .latestOffset(latestOffset))
-                                     .key(k -> setKey(k, key)))
-                        .build();
+        @Override
+        protected void onDecodeSaslResponse(
+            long traceId)
+        {
+            nextResponseId++;
+            signaler.signalNow(originId, routedId, initialId, traceId, SIGNAL_NEXT_REQUEST, 0);
+        }
 
-                final int flags = aborted ? FLAG_INIT | FLAG_SKIP : FLAG_INIT;
-                doApplicationData(traceId, authorization, flags, reserved, valueInit, kafkaDataEx);
-            }
+        private void onDecodeOffsetsResponse(
+            long traceId)
+        {
+            nextResponseId++;
 
-            private void onDecodeFetchRecordValueCont(
-                long traceId,
-                int reserved,
-                OctetsFW value)
-            {
-                doApplicationData(traceId, authorization, FLAG_CONT, reserved, value, EMPTY_OCTETS);
-            }
+            doNextRequestIfNecessary(traceId);
+        }
+
+        private void onDecodeFetchResponse(
+            long traceId)
+        {
+            nextResponseId++;
+            polling = false;
+            stream = null;
 
-            private void onDecodeFetchRecordValueFin(
-                long traceId,
-                int reserved,
-                long offset,
-                OctetsFW value,
-                int headerCount,
-                DirectBuffer headers)
+            for (int index = streams.size() - 1; index >= 0; index--)
             {
-                this.nextOffset = offset + 1;
+                final KafkaFetchStream member = streams.get(index);
 
-                final KafkaDataExFW kafkaDataEx = kafkaDataExRW.wrap(extBuffer, 0, extBuffer.capacity())
-                        .typeId(kafkaTypeId)
-                        .fetch(f ->
-                        {
-                            f.partition(p -> p
-                                .partitionId(decodePartitionId)
-                                .partitionOffset(offset)
-                                .stableOffset(stableOffset)
-                                .latestOffset(latestOffset));
-                            final int headersLimit = headers.capacity();
-                            int headerProgress = 0;
-                            for (int headerIndex = 0; headerIndex < headerCount; headerIndex++)
-                            {
-                                final MessageHeaderFW header = messageHeaderRO.wrap(headers, headerProgress, headersLimit);
-                                f.headersItem(i -> setHeader(i, header.key(), header.value()));
-                                headerProgress = header.limit();
-                            }
-                        })
-                        .build();
+                if (member.topicPartitions.get(member.partitionId) != member.leaderId)
+                {
+                    removeStream(member);
+                    member.cleanupApplication(traceId, ERROR_NOT_LEADER_FOR_PARTITION);
+                }
+                else if (member.replicaId != brokerId)
+                {
+                    final KafkaServerConfig replica = member.clientRoute.servers.get(member.replicaId);
 
-                doApplicationData(traceId, authorization, FLAG_FIN, reserved, value, kafkaDataEx);
+                    if (replica != null || member.replicaId == member.leaderId)
+                    {
+                        removeStream(member);
+                        member.doFetchReplica(traceId, replica != null ? replica : member.server);
+                    }
+                    else
+                    {
+                        member.replicaId = brokerId;
+                    }
+                }
+                else
+                {
+                    member.doApplicationFlushIfNecessary(traceId, member.authorization);
+                }
             }
 
-            private void onIgnoreRecordSet(
-                long traceId)
+            doNextRequestIfNecessary(traceId);
+        }
+
+        private void doNextRequestIfNecessary(
+            long traceId)
+        {
+            if (!streams.isEmpty())
+            {
+                signaler.signalNow(originId, routedId, initialId, traceId, SIGNAL_NEXT_REQUEST, 0);
+            }
+            else
             {
-                doFlushPartitionOffsetIfNecessary(traceId, authorization);
+                doNetworkEndIfNecessary(traceId, authorization);
             }
+        }
+
+        private void cleanupNetwork(
+            long traceId)
+        {
+            doNetworkResetIfNecessary(traceId);
+            doNetworkAbortIfNecessary(traceId);
+
+            cleanupApplications(traceId, EMPTY_OCTETS);
+            cleanupCompressedBufferIfNecessary();
 
-            @Override
-            protected void onDecodeSaslResponse(
-                long traceId)
+            if (broker != null)
             {
-                nextResponseId++;
-                signaler.signalNow(originId, routedId, initialId, traceId, SIGNAL_NEXT_REQUEST, 0);
+                clientsByBroker.remove(broker, this);
             }
+        }
 
-            private void onDecodeFetchResponse(
-                long traceId)
+        private void cleanupApplications(
+            long traceId,
+            int error)
+        {
+            final KafkaResetExFW kafkaResetEx = kafkaResetExRW.wrap(extBuffer, 0, extBuffer.capacity())
+                    .typeId(kafkaTypeId)
+                    .error(error)
+                    .build();
+
+            cleanupApplications(traceId, kafkaResetEx);
+        }
+
+        private void cleanupApplications(
+            long traceId,
+            Flyweight extension)
+        {
+            for (int index = streams.size() - 1; index >= 0; index--)
             {
-                nextResponseId++;
+                final KafkaFetchStream member = streams.get(index);
 
-                if (topicPartitions.get(partitionId) == leaderId)
-                {
-                    doApplicationFlushIfNecessary(traceId, authorization);
-                    signaler.signalNow(originId, routedId, initialId, traceId, SIGNAL_NEXT_REQUEST, 0);
-                }
-                else
-                {
-                    cleanupApplication(traceId, ERROR_NOT_LEADER_FOR_PARTITION);
-                    doNetworkEnd(traceId, authorization);
-                }
+                removeStream(member);
+                member.cleanupApplication(traceId, extension);
             }
+        }
 
-            private void cleanupNetwork(
-                long traceId)
+        private void cleanupDecodeSlotIfNecessary()
+        {
+            if (decodeSlot != NO_SLOT)
             {
-                doNetworkResetIfNecessary(traceId);
-                doNetworkAbortIfNecessary(traceId);
-
-                cleanupApplication(traceId, EMPTY_OCTETS);
+                decodePool.release(decodeSlot);
+                decodeSlot = NO_SLOT;
+                decodeSlotOffset = 0;
+                decodeSlotReserved = 0;
             }
+        }
 
-            private void cleanupDecodeSlotIfNecessary()
+        private void cleanupCompressedBufferIfNecessary()
+        {
+            if (compressedBuffer != null)
             {
-                if (decodeSlot != NO_SLOT)
-                {
-                    decodePool.release(decodeSlot);
-                    decodeSlot = NO_SLOT;
-                    decodeSlotOffset = 0;
-                    decodeSlotReserved = 0;
-                }
+                releaseCompressedBuffer(compressedBuffer);
+                compressedBuffer = null;
+                compressedBufferLimit = 0;
             }
+        }
 
-            private void cleanupEncodeSlotIfNecessary()
+        private void cleanupEncodeSlotIfNecessary()
+        {
+            if (encodeSlot != NO_SLOT)
             {
-                if (encodeSlot != NO_SLOT)
-                {
-                    encodePool.release(encodeSlot);
-                    encodeSlot = NO_SLOT;
-                    encodeSlotOffset = 0;
-                    encodeSlotTraceId = 0;
-                }
+                encodePool.release(encodeSlot);
+                encodeSlot = NO_SLOT;
+                encodeSlotOffset = 0;
+                encodeSlotTraceId = 0;
             }
         }
     }
@@ -3294,7 +4533,7 @@ public final class KafkaClientFetchFactory extends KafkaClientSaslHandshaker imp
     private static boolean isCompressedBatch(
         int attributes)
     {
-        // 0 = NONE, 1 = GZIP, 2 = SNAPPY, 3 = LZ4
+        // 0 = NONE, 1 = GZIP, 2 = SNAPPY, 3 = LZ4, 4 = ZSTD
         return (attributes & 0x07) != 0;
     }
 
@@ -15,6 +15,7 @@
  */
 package io.aklivity.zilla.runtime.binding.kafka.internal.stream;
 
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.COMPRESS_FAILED;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.stream.KafkaChecksum.combineCRC32C;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaOffsetType.LIVE;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.ProxyAddressProtocol.STREAM;
@@ -43,6 +44,9 @@ import io.aklivity.zilla.runtime.binding.kafka.config.KafkaServerConfig;
 import io.aklivity.zilla.runtime.binding.kafka.internal.KafkaBinding;
 import io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration;
 import io.aklivity.zilla.runtime.binding.kafka.internal.KafkaEventContext;
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression;
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec;
+import io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodecs;
 import io.aklivity.zilla.runtime.binding.kafka.internal.config.KafkaBindingConfig;
 import io.aklivity.zilla.runtime.binding.kafka.internal.config.KafkaRouteConfig;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.Array32FW;
@@ -57,6 +61,7 @@ import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.ResponseHead
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.message.RecordBatchFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.message.RecordHeaderFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.message.RecordTrailerFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.produce.LogStartOffsetResponseFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.produce.ProducePartitionRequestFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.produce.ProducePartitionResponseFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.codec.produce.ProduceRequestFW;
@@ -120,6 +125,8 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
 
     private static final short PRODUCE_API_KEY = 0;
     private static final short PRODUCE_API_VERSION = 3;
+    private static final short PRODUCE_ZSTD_API_VERSION = 7;
+    private static final short PRODUCE_LOG_START_OFFSET_API_VERSION = 5;
 
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
@@ -155,6 +162,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
     private final ProduceResponseFW produceResponseRO = new ProduceResponseFW();
     private final ProduceTopicResponseFW produceTopicResponseRO = new ProduceTopicResponseFW();
     private final ProducePartitionResponseFW producePartitionResponseRO = new ProducePartitionResponseFW();
+    private final LogStartOffsetResponseFW logStartOffsetResponseRO = new LogStartOffsetResponseFW();
     private final ProduceResponseTrailerFW produceResponseTrailerRO = new ProduceResponseTrailerFW();
 
     private final KafkaProduceClientFlusher flushRecord = this::flushRecord;
@@ -194,8 +202,11 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
     private final int decodeMaxBytes;
     private final int encodeMaxBytes;
     private final CRC32C crc32c;
+    private final KafkaCompressionCodecs compressionCodecs;
     private final KafkaEventContext event;
 
+    private MutableDirectBuffer compressBuffer;
+
     public KafkaClientProduceFactory(
         KafkaConfiguration config,
         EngineContext context,
@@ -220,6 +231,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
         this.encodeMaxBytes = Math.min(config.clientProduceMaxBytes(),
                 encodePool.slotCapacity() - PRODUCE_REQUEST_RECORDS_OFFSET_MAX);
         this.crc32c = new CRC32C();
+        this.compressionCodecs = new KafkaCompressionCodecs();
         this.event = new KafkaEventContext(context);
     }
 
@@ -269,6 +281,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
                         initialId,
                         affinity,
                         resolvedId,
+                        binding,
                         topicName,
                         partitionId,
                         server,
@@ -814,12 +827,26 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
                 break decode;
             }
 
+            int sizeof = partition.sizeof();
+
+            if (client.produceApiVersion >= PRODUCE_LOG_START_OFFSET_API_VERSION)
+            {
+                final LogStartOffsetResponseFW logStartOffset =
+                    logStartOffsetResponseRO.tryWrap(buffer, partition.limit(), limit);
+                if (logStartOffset == null)
+                {
+                    break decode;
+                }
+
+                sizeof += logStartOffset.sizeof();
+            }
+
             final int partitionId = partition.partitionId();
             final int errorCode = partition.errorCode();
 
-            progress = partition.limit();
+            progress += sizeof;
 
-            client.decodableResponseBytes -= partition.sizeof();
+            client.decodableResponseBytes -= sizeof;
             assert client.decodableResponseBytes >= 0;
 
             client.decodablePartitions--;
@@ -922,6 +949,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
             long initialId,
             long affinity,
             long resolvedId,
+            KafkaBindingConfig binding,
             String topic,
             int partitionId,
             KafkaServerConfig server,
@@ -933,7 +961,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
             this.initialId = initialId;
             this.replyId = supplyReplyId.applyAsLong(initialId);
             this.affinity = affinity;
-            this.client = new KafkaProduceClient(this, resolvedId, topic, partitionId, server, sasl);
+            this.client = new KafkaProduceClient(this, resolvedId, binding, topic, partitionId, server, sasl);
         }
 
         private void onApplication(
@@ -1207,8 +1235,12 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
 
             private MessageConsumer network;
             private final KafkaProduceStream stream;
+            private final KafkaBindingConfig binding;
             private final String topic;
             private final int partitionId;
+            private final KafkaCompression compression;
+            private final KafkaCompressionCodec codec;
+            private final short produceApiVersion;
 
             private KafkaAckMode encodeableAckMode;
             private KafkaAckMode encodedAckMode;
@@ -1269,6 +1301,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
             KafkaProduceClient(
                 KafkaProduceStream stream,
                 long resolvedId,
+                KafkaBindingConfig binding,
                 String topic,
                 int partitionId,
                 KafkaServerConfig server,
@@ -1276,8 +1309,12 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
             {
                 super(server, sasl, stream.routedId, resolvedId);
                 this.stream = stream;
+                this.binding = binding;
                 this.topic = requireNonNull(topic);
                 this.partitionId = partitionId;
+                this.compression = binding.supplyCompression(topic);
+                this.codec = compressionCodecs.supply(compression);
+                this.produceApiVersion = compression == KafkaCompression.ZSTD ? PRODUCE_ZSTD_API_VERSION : PRODUCE_API_VERSION;
                 this.flusher = flushRecord;
                 this.encodeableRecordBatchTimestamp = TIMESTAMP_NONE;
                 this.encodeableRecordBatchTimestampMax = TIMESTAMP_NONE;
@@ -1865,7 +1902,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
                 final RequestHeaderFW requestHeader = requestHeaderRW.wrap(encodeBuffer, encodeProgress, encodeLimit)
                         .length(0)
                         .apiKey(PRODUCE_API_KEY)
-                        .apiVersion(PRODUCE_API_VERSION)
+                        .apiVersion(produceApiVersion)
                         .correlationId(0)
                         .clientId(clientId)
                         .build();
@@ -1888,6 +1925,8 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
 
                 encodeProgress = topicRequest.limit();
 
+                final boolean compressed = codec != null && doCompressRecordBatch();
+
                 final int recordBatchLength = FIELD_OFFSET_RECORD_COUNT - FIELD_OFFSET_LENGTH + encodeableRecordBytes;
                 final int recordSetLength = FIELD_OFFSET_LENGTH + BitUtil.SIZE_OF_INT + recordBatchLength;
 
@@ -1902,9 +1941,12 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
                 final int crcOffset = encodeProgress - encodeOffset + RecordBatchFW.FIELD_OFFSET_CRC;
                 final int crcLimit = encodeProgress - encodeOffset + RecordBatchFW.FIELD_OFFSET_ATTRIBUTES;
 
-                final short attributes = encodeableRecordBatchTimestampMax == 0L
+                final short timestampAttributes = encodeableRecordBatchTimestampMax == 0L
                         ? RECORD_BATCH_ATTRIBUTES_NO_TIMESTAMP
                         : RECORD_BATCH_ATTRIBUTES_NONE;
+                final short attributes = compressed
+                        ? (short) (timestampAttributes | compression.attributes())
+                        : timestampAttributes;
 
                 final int baseSequence = client.producerId == RECORD_BATCH_PRODUCER_ID_NONE ? RECORD_BATCH_BASE_SEQUENCE_NONE :
                         client.baseSequence;
@@ -1967,7 +2009,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
 
                 final ByteBuffer encodeSlotByteBuffer = encodePool.byteBuffer(encodeSlot);
                 final int encodeSlotBytePosition = encodeSlotByteBuffer.position();
-                final int partialValueSize = flushFlags != FLAGS_FIN ? encodeableRecordValueBytes : 0;
+                final int partialValueSize = !compressed && flushFlags != FLAGS_FIN ? encodeableRecordValueBytes : 0;
                 encodeSlotByteBuffer.limit(encodeSlotBytePosition + encodeSlotLimit - partialValueSize);
                 encodeSlotByteBuffer.position(encodeSlotBytePosition + encodeSlotOffset + crcLimit);
 
@@ -1976,7 +2018,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
                 crc.update(encodeSlotByteBuffer);
 
                 long checksum = crc.getValue();
-                if (flushFlags != FLAGS_FIN)
+                if (!compressed && flushFlags != FLAGS_FIN)
                 {
                     checksum = computeChecksum(encodeBuffer, encodeLimit, encodeProgress, encodeSlotBuffer, checksum);
                 }
@@ -1986,6 +2028,53 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
                 decoder = decodeProduceResponse;
             }
 
+            private boolean doCompressRecordBatch()
+            {
+                final int recordsLength = encodeSlotLimit - encodeSlotOffset;
+                final int uncompressedBytes = encodeableRecordBytes;
+
+                boolean compressed = false;
+
+                // records still streaming from the application are sent uncompressed
+                if (recordsLength == encodeableRecordBytes)
+                {
+                    if (compressBuffer == null)
+                    {
+                        compressBuffer = new UnsafeBuffer(new byte[encodePool.slotCapacity()]);
+                    }
+
+                    final MutableDirectBuffer encodeSlotBuffer = encodePool.buffer(encodeSlot);
+                    final int compressedLength = codec.compress(encodeSlotBuffer, encodeSlotOffset, recordsLength,
+                        compressBuffer, 0, recordsLength - 1);
+
+                    if (compressedLength != COMPRESS_FAILED)
+                    {
+                        encodeSlotBuffer.putBytes(encodeSlotOffset, compressBuffer, 0, compressedLength);
+                        encodeSlotLimit = encodeSlotOffset + compressedLength;
+                        encodeableRecordBytes = compressedLength;
+                        compressed = true;
+                    }
+                }
+
+                if (binding.produceUncompressedBytes != null)
+                {
+                    binding.produceUncompressedBytes.accept(uncompressedBytes);
+                }
+
+                if (binding.produceCompressedBytes != null)
+                {
+                    binding.produceCompressedBytes.accept(encodeableRecordBytes);
+                }
+
+                if (KafkaConfiguration.DEBUG)
+                {
+                    System.out.format("[client] %s[%d] PRODUCE %s %d -> %d bytes\n",
+                        topic, partitionId, compression, uncompressedBytes, encodeableRecordBytes);
+                }
+
+                return compressed;
+            }
+
             private long computeChecksum(
                 MutableDirectBuffer encodeBuffer,
                 int encodeLimit,
@@ -2287,7 +2376,7 @@ public final class KafkaClientProduceFactory extends KafkaClientSaslHandshaker i
                 long originId,
                 int errorCode)
             {
-                super.onDecodeResponseErrorCode(traceId, originId, PRODUCE_API_KEY, PRODUCE_API_VERSION, errorCode);
+                super.onDecodeResponseErrorCode(traceId, originId, PRODUCE_API_KEY, produceApiVersion, errorCode);
             }
 
             @Override
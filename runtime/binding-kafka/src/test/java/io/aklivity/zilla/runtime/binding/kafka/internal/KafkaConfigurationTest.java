@@ -18,9 +18,13 @@ package io.aklivity.zilla.runtime.binding.kafka.internal;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CACHE_CLIENT_CLEANUP_DELAY;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CACHE_SERVER_RECONNECT_DELAY;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_CONNECTION_POOL_CLEANUP_MILLIS;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_FETCH_COALESCE;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_FETCH_SESSION;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_INSTANCE_ID;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_PRODUCE_MAX_BYTES;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_PRODUCE_MAX_REQUEST_MILLIS;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_RACK;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_SASL_SCRAM_NONCE;
 import static org.junit.Assert.assertEquals;
 
@@ -37,6 +41,11 @@ public class KafkaConfigurationTest
     public static final String KAFKA_CACHE_CLIENT_CLEANUP_DELAY_NAME = "zilla.binding.kafka.cache.client.cleanup.delay";
     public static final String KAFKA_CLIENT_SASL_SCRAM_NONCE_NAME = "zilla.binding.kafka.client.sasl.scram.nonce";
     public static final String KAFKA_CLIENT_INSTANCE_ID_NAME = "zilla.binding.kafka.client.instance.id";
+    public static final String KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES_NAME =
+        "zilla.binding.kafka.client.fetch.decompress.max.bytes";
+    public static final String KAFKA_CLIENT_FETCH_COALESCE_NAME = "zilla.binding.kafka.client.fetch.coalesce";
+    public static final String KAFKA_CLIENT_FETCH_SESSION_NAME = "zilla.binding.kafka.client.fetch.session";
+    public static final String KAFKA_CLIENT_RACK_NAME = "zilla.binding.kafka.client.rack";
 
     @Test
     public void shouldVerifyConstants() throws Exception
@@ -48,5 +57,9 @@ public class KafkaConfigurationTest
         assertEquals(KAFKA_CACHE_CLIENT_CLEANUP_DELAY.name(), KAFKA_CACHE_CLIENT_CLEANUP_DELAY_NAME);
         assertEquals(KAFKA_CLIENT_SASL_SCRAM_NONCE.name(), KAFKA_CLIENT_SASL_SCRAM_NONCE_NAME);
         assertEquals(KAFKA_CLIENT_INSTANCE_ID.name(), KAFKA_CLIENT_INSTANCE_ID_NAME);
+        assertEquals(KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES.name(), KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES_NAME);
+        assertEquals(KAFKA_CLIENT_FETCH_COALESCE.name(), KAFKA_CLIENT_FETCH_COALESCE_NAME);
+        assertEquals(KAFKA_CLIENT_FETCH_SESSION.name(), KAFKA_CLIENT_FETCH_SESSION_NAME);
+        assertEquals(KAFKA_CLIENT_RACK.name(), KAFKA_CLIENT_RACK_NAME);
     }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricGroup;
+import io.aklivity.zilla.runtime.engine.metrics.MetricGroupFactory;
+
+public class KafkaMetricGroupTest
+{
+    @Test
+    public void shouldLoadAndCreate()
+    {
+        Configuration config = new Configuration();
+        MetricGroupFactory factory = MetricGroupFactory.instantiate();
+        MetricGroup metricGroup = factory.create("kafka", config);
+
+        assertThat(metricGroup, instanceOf(KafkaMetricGroup.class));
+        assertThat(metricGroup.name(), equalTo("kafka"));
+        assertThat(metricGroup.type(), not(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnMetricNames()
+    {
+        MetricGroup metricGroup = new KafkaMetricGroup(new Configuration());
+
+        assertThat(metricGroup.metricNames(), containsInAnyOrder(
+            "kafka.produce.uncompressed.bytes",
+            "kafka.produce.compressed.bytes"
+        ));
+    }
+
+    @Test
+    public void shouldResolveProduceCompressedBytes()
+    {
+        MetricGroup metricGroup = new KafkaMetricGroup(new Configuration());
+
+        Metric metric = metricGroup.supply("kafka.produce.compressed.bytes");
+
+        assertThat(metric.name(), equalTo("kafka.produce.compressed.bytes"));
+        assertThat(metric.kind(), equalTo(Metric.Kind.COUNTER));
+        assertThat(metric.unit(), equalTo(Metric.Unit.BYTES));
+    }
+}
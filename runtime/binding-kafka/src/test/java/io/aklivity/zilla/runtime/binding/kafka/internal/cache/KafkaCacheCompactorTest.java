@@ -0,0 +1,74 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.cache;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+public class KafkaCacheCompactorTest
+{
+    @Test
+    public void shouldCompactOnDedicatedThread() throws Exception
+    {
+        final KafkaCacheCompactor compactor = new KafkaCacheCompactor(1);
+        final CompletableFuture<String> threadName = new CompletableFuture<>();
+
+        compactor.attach();
+        try
+        {
+            compactor.execute(() -> threadName.complete(Thread.currentThread().getName()));
+
+            assertThat(threadName.get(5, SECONDS), startsWith("kafka/compact#"));
+        }
+        finally
+        {
+            compactor.detach();
+        }
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldRejectWhenDetached()
+    {
+        final KafkaCacheCompactor compactor = new KafkaCacheCompactor(1);
+
+        compactor.attach();
+        compactor.detach();
+
+        compactor.execute(() -> {});
+    }
+
+    @Test
+    public void shouldCompactUntilLastDetach() throws Exception
+    {
+        final KafkaCacheCompactor compactor = new KafkaCacheCompactor(1);
+        final CompletableFuture<Void> compacted = new CompletableFuture<>();
+
+        compactor.attach();
+        compactor.attach();
+        compactor.detach();
+
+        compactor.execute(() -> compacted.complete(null));
+        compacted.get(5, SECONDS);
+
+        compactor.detach();
+    }
+}
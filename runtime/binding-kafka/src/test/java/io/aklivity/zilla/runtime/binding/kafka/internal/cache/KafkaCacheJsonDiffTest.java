@@ -0,0 +1,175 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.cache;
+
+import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheJsonDiff.NO_PATCH;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringReader;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonStructure;
+import jakarta.json.spi.JsonProvider;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class KafkaCacheJsonDiffTest
+{
+    private final KafkaCacheJsonDiff diff = new KafkaCacheJsonDiff();
+    private final JsonProvider json = JsonProvider.provider();
+
+    @Test
+    public void shouldDiffEqualDocuments()
+    {
+        assertEquals("[]", diff("{\"id\":1,\"tags\":[\"a\"]}", "{\"id\":1,\"tags\":[\"a\"]}"));
+    }
+
+    @Test
+    public void shouldDiffObjectMembers()
+    {
+        String ancestor = "{\"id\":1,\"name\":\"old\",\"owner\":{\"id\":2,\"role\":\"admin\"}}";
+        String head = "{\"id\":1,\"name\":\"new\",\"owner\":{\"id\":2},\"status\":\"active\"}";
+
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/name\",\"value\":\"new\"}," +
+                      "{\"op\":\"remove\",\"path\":\"/owner/role\"}," +
+                      "{\"op\":\"add\",\"path\":\"/status\",\"value\":\"active\"}]",
+            diff(ancestor, head));
+        assertPatched(ancestor, head);
+    }
+
+    @Test
+    public void shouldDiffReorderedObjectMembers()
+    {
+        assertPatched("{\"a\":1,\"b\":2,\"c\":3}", " { \"c\" : 4, \"a\" : 1 }\n");
+    }
+
+    @Test
+    public void shouldDiffArrayElements()
+    {
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/1/b\",\"value\":3},{\"op\":\"add\",\"path\":\"/2\",\"value\":4}]",
+            diff("[1,{\"b\":2}]", "[1,{\"b\":3},4]"));
+        assertEquals("[{\"op\":\"remove\",\"path\":\"/1\"},{\"op\":\"remove\",\"path\":\"/1\"}]",
+            diff("[1,2,3]", "[1]"));
+        assertPatched("{\"items\":[{\"id\":1},{\"id\":2},{\"id\":3}]}", "{\"items\":[{\"id\":2},{\"id\":3}]}");
+    }
+
+    @Test
+    public void shouldDiffMismatchedTypes()
+    {
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/a\",\"value\":[1]}]", diff("{\"a\":{\"b\":1}}", "{\"a\":[1]}"));
+        assertEquals("[{\"op\":\"replace\",\"path\":\"\",\"value\":[]}]", diff("{}", "[]"));
+    }
+
+    @Test
+    public void shouldEscapeMemberPath()
+    {
+        String ancestor = "{\"a/b\":1,\"c~d\":2,\"e\\/f\":3,\"g\\u007Eh\":4}";
+        String head = "{\"a/b\":2,\"c~d\":3,\"e\\/f\":4,\"g\\u007Eh\":5}";
+
+        assertEquals("[{\"op\":\"replace\",\"path\":\"/a~1b\",\"value\":2}," +
+                      "{\"op\":\"replace\",\"path\":\"/c~0d\",\"value\":3}," +
+                      "{\"op\":\"replace\",\"path\":\"/e~1f\",\"value\":4}," +
+                      "{\"op\":\"replace\",\"path\":\"/g~0h\",\"value\":5}]",
+            diff(ancestor, head));
+        assertPatched(ancestor, head);
+    }
+
+    @Test
+    public void shouldReplaceMalformedAncestor()
+    {
+        assertEquals("[{\"op\":\"replace\",\"path\":\"\",\"value\":{\"a\":2}}]", diff("{\"a\":1", "{\"a\":2}"));
+        assertEquals("[{\"op\":\"replace\",\"path\":\"\",\"value\":{\"a\":2}}]", diff("{\"a\":1}}", "{\"a\":2}"));
+    }
+
+    @Test
+    public void shouldNotDiffMalformedHead()
+    {
+        assertNull(diff("{\"a\":1}", "{\"a\":2"));
+        assertNull(diff("{\"a\":1}", "{\"a\":2}}"));
+        assertNull(diff("{\"a\":1}", "{\"a\":}"));
+        assertNull(diff("{\"a\":1", "{\"a\""));
+        assertNull(diff("{\"a\":1}", "{\"a"));
+        assertNull(diff("{\"a\":1}", "{\"a\":1,\"b"));
+    }
+
+    @Test
+    public void shouldNotDiffEmptyHead()
+    {
+        assertNull(diff("{\"a\":1}", ""));
+        assertNull(diff("{\"a\":1}", " \n "));
+    }
+
+    @Test
+    public void shouldNotDiffDeeplyNestedHead()
+    {
+        assertNull(diff("{\"a\":1}", "[".repeat(100_000) + "]".repeat(100_000)));
+        assertNull(diff("{\"a\":1}", "{\"a\":".repeat(100_000) + "1" + "}".repeat(100_000)));
+        assertNull(diff("[]", "[".repeat(513) + "]".repeat(513)));
+    }
+
+    @Test
+    public void shouldDiffNestedHeadWithinDepthLimit()
+    {
+        assertEquals("[{\"op\":\"replace\",\"path\":\"\",\"value\":" + "[".repeat(512) + "]".repeat(512) + "}]",
+            diff("{}", "[".repeat(512) + "]".repeat(512)));
+    }
+
+    @Test
+    public void shouldReplaceDeeplyNestedAncestor()
+    {
+        assertEquals("[{\"op\":\"replace\",\"path\":\"\",\"value\":{\"a\":2}}]",
+            diff("[".repeat(100_000) + "]".repeat(100_000), "{\"a\":2}"));
+    }
+
+    private String diff(
+        String ancestor,
+        String head)
+    {
+        DirectBuffer ancestorBuf = new UnsafeBuffer(("..." + ancestor).getBytes(UTF_8));
+        DirectBuffer headBuf = new UnsafeBuffer(head.getBytes(UTF_8));
+        MutableDirectBuffer patchBuf = new ExpandableArrayBuffer();
+
+        int patchLength = diff.diff(ancestorBuf, 3, ancestorBuf.capacity() - 3, headBuf, 0, headBuf.capacity(),
+            patchBuf, Integer.BYTES);
+
+        return patchLength != NO_PATCH ? patchBuf.getStringWithoutLengthUtf8(Integer.BYTES, patchLength) : null;
+    }
+
+    private void assertPatched(
+        String ancestor,
+        String head)
+    {
+        JsonArray patch = (JsonArray) read(diff(ancestor, head));
+
+        assertEquals(read(head), json.createPatch(patch).apply(read(ancestor)));
+    }
+
+    private JsonStructure read(
+        String text)
+    {
+        try (JsonReader reader = json.createReader(new StringReader(text)))
+        {
+            return reader.read();
+        }
+    }
+}
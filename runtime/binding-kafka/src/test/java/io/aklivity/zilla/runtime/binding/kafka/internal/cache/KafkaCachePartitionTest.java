@@ -18,13 +18,20 @@ package io.aklivity.zilla.runtime.binding.kafka.internal.cache;
 import static io.aklivity.zilla.runtime.engine.EngineConfiguration.ENGINE_BUFFER_SLOT_CAPACITY;
 import static java.lang.System.currentTimeMillis;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.APPEND;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
 
 import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.MutableInteger;
@@ -39,6 +46,7 @@ import io.aklivity.zilla.runtime.binding.kafka.internal.types.Array32FW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaDeltaType;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaHeaderFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaKeyFW;
+import io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaOffsetType;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.binding.kafka.internal.types.cache.KafkaCacheEntryFW;
 import io.aklivity.zilla.runtime.engine.model.ConverterHandler;
@@ -175,6 +183,194 @@ public class KafkaCachePartitionTest
         assertSame(node30, node10.next());
     }
 
+    @Test
+    public void shouldRecoverFrozenAndHeadSegments() throws Exception
+    {
+        Path location = tempFolder.newFolder().toPath();
+        KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+        KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+        Node head10 = partition.append(10L);
+        writeEntries(partition, 11L, 12L);
+        partition.append(15L);
+        writeEntries(partition, 16L, 17L);
+
+        Path hashFile = head10.segment().hashFile().location();
+        Object hashFileKey = Files.readAttributes(hashFile, BasicFileAttributes.class).fileKey();
+
+        KafkaCachePartition recovered = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+        recovered.recover();
+
+        Node tail10 = recovered.sentinel().next();
+        Node head15 = recovered.head();
+
+        assertEquals(hashFileKey, Files.readAttributes(hashFile, BasicFileAttributes.class).fileKey());
+        assertSame(head15, tail10.next());
+        assertEquals(10L, tail10.segment().baseOffset());
+        assertEquals(12L, tail10.segment().lastOffset());
+        assertEquals(15L, head15.segment().baseOffset());
+        assertEquals(17L, head15.segment().lastOffset());
+        assertEquals(18L, recovered.nextOffset(KafkaOffsetType.HISTORICAL));
+    }
+
+    @Test
+    public void shouldRebuildFrozenSegmentWithTruncatedHashIndex() throws Exception
+    {
+        Path location = tempFolder.newFolder().toPath();
+        KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+        KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+        Node head10 = partition.append(10L);
+        writeEntries(partition, 11L, 12L);
+        partition.append(15L);
+        writeEntries(partition, 16L, 17L);
+
+        Path hashFile = head10.segment().hashFile().location();
+        byte[] hashEntries = Files.readAllBytes(hashFile);
+        Files.write(hashFile, Arrays.copyOf(hashEntries, hashEntries.length - Long.BYTES));
+
+        KafkaCachePartition recovered = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+        recovered.recover();
+
+        KafkaCacheSegment tail10s = recovered.sentinel().next().segment();
+
+        assertEquals(12L, tail10s.lastOffset());
+        assertEquals(hashEntries.length, tail10s.hashFile().capacity());
+        assertEquals(17L, recovered.head().segment().lastOffset());
+        assertEquals(18L, recovered.nextOffset(KafkaOffsetType.HISTORICAL));
+    }
+
+    @Test
+    public void shouldRebuildFrozenSegmentWithClearedHashBloom() throws Exception
+    {
+        Path location = tempFolder.newFolder().toPath();
+        KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+        KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+        Node head10 = partition.append(10L);
+        writeEntries(partition, 11L, 12L);
+        partition.append(15L);
+
+        KafkaCacheSegment tail10s = head10.segment();
+        int hash = (int) (tail10s.hashFile().readLong(0) >> 32);
+        Path hashBloomFile = tail10s.hashBloomFile().location();
+        Files.write(hashBloomFile, new byte[(int) Files.size(hashBloomFile)]);
+
+        KafkaCachePartition recovered = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+        recovered.recover();
+
+        KafkaCacheSegment rebuilt10s = recovered.sentinel().next().segment();
+
+        assertEquals(12L, rebuilt10s.lastOffset());
+        assertTrue(rebuilt10s.mightContainHash(hash));
+    }
+
+    @Test
+    public void shouldRecoverTornHeadSegment() throws Exception
+    {
+        Path location = tempFolder.newFolder().toPath();
+        KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+        KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+        Node head10 = partition.append(10L);
+        writeEntries(partition, 11L, 12L);
+
+        int logCapacity = head10.segment().logFile().capacity();
+        Files.write(head10.segment().logFile().location(), new byte[16], APPEND);
+
+        KafkaCachePartition recovered = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+        recovered.recover();
+
+        KafkaCacheSegment head10s = recovered.head().segment();
+
+        assertEquals(10L, head10s.baseOffset());
+        assertEquals(12L, head10s.lastOffset());
+        assertEquals(logCapacity, head10s.logFile().capacity());
+        assertEquals(2 * Long.BYTES, head10s.indexFile().capacity());
+        assertEquals(13L, recovered.nextOffset(KafkaOffsetType.HISTORICAL));
+    }
+
+    @Test
+    public void shouldDiscardUncommittedCleanOnRecover() throws Exception
+    {
+        Path location = tempFolder.newFolder().toPath();
+        KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+        KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+        Node head10 = partition.append(10L);
+        writeEntries(partition, 11L, 12L, 13L);
+        head10.findAndMarkDirty(new KafkaCacheEntryFW(), 11L);
+        partition.append(15L);
+        writeEntries(partition, 16L);
+
+        long now = currentTimeMillis();
+        head10.segment().cleanableAt(now);
+        assertTrue(head10.cleanStart(now));
+        head10.cleanFiles();
+
+        KafkaCachePartition recovered = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+        recovered.recover();
+
+        KafkaCacheSegment tail10s = recovered.sentinel().next().segment();
+
+        assertEquals(13L, tail10s.lastOffset());
+        assertEquals(3 * Long.BYTES, tail10s.indexFile().capacity());
+        assertEquals(0L, Files.list(location.resolve("test-0").resolve("clean")).count());
+    }
+
+    @Test
+    public void shouldPublishCommittedCleanOnRecover() throws Exception
+    {
+        Path location = tempFolder.newFolder().toPath();
+        KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+        KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+        Node head10 = partition.append(10L);
+        writeEntries(partition, 11L, 12L, 13L);
+        head10.findAndMarkDirty(new KafkaCacheEntryFW(), 11L);
+        partition.append(15L);
+        writeEntries(partition, 16L);
+
+        long now = currentTimeMillis();
+        head10.segment().cleanableAt(now);
+        assertTrue(head10.cleanStart(now));
+        head10.cleanFiles();
+
+        // simulate a crash part way through publishing the committed clean segment
+        Path logFile = head10.segment().logFile().location();
+        Path cleanLocation = logFile.resolveSibling("clean");
+        Files.createFile(cleanLocation.resolve("commit"));
+        Files.move(cleanLocation.resolve(logFile.getFileName()), logFile, REPLACE_EXISTING);
+
+        KafkaCachePartition recovered = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+        recovered.recover();
+
+        KafkaCacheSegment tail10s = recovered.sentinel().next().segment();
+        KafkaCacheEntryFW entry = tail10s.logFile().readBytes(0, new KafkaCacheEntryFW()::wrap);
+
+        assertEquals(13L, tail10s.lastOffset());
+        assertEquals(2 * Long.BYTES, tail10s.indexFile().capacity());
+        assertEquals(12L, entry.offset$());
+        assertEquals(0L, Files.list(cleanLocation).count());
+        assertEquals(16L, recovered.head().segment().lastOffset());
+    }
+
+    @Test
+    public void shouldRecoverNothingWhenEmpty() throws Exception
+    {
+        Path location = tempFolder.newFolder().toPath();
+        KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+        KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+        partition.append(10L);
+
+        KafkaCachePartition recovered = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+        recovered.recover();
+
+        assertTrue(recovered.head().sentinel());
+        assertEquals(KafkaOffsetType.HISTORICAL.value(), recovered.nextOffset(KafkaOffsetType.HISTORICAL));
+    }
+
     @Test
     public void shouldDescribeObject() throws Exception
     {
@@ -188,6 +384,37 @@ public class KafkaCachePartitionTest
         assertEquals("[cache] test[0]", partition.toString());
     }
 
+    private static void writeEntries(
+        KafkaCachePartition partition,
+        long... offsets)
+    {
+        MutableDirectBuffer writeBuffer = new UnsafeBuffer(ByteBuffer.allocate(1024));
+        MutableInteger entryMark = new MutableInteger(0);
+        MutableInteger valueMark = new MutableInteger(0);
+
+        KafkaKeyFW key = new KafkaKeyFW.Builder().wrap(writeBuffer, 0, writeBuffer.capacity())
+            .length(4)
+            .value(k -> k.set("test".getBytes(UTF_8)))
+            .build();
+
+        Array32FW<KafkaHeaderFW> headers = new Array32FW.Builder<>(new KafkaHeaderFW.Builder(), new KafkaHeaderFW())
+                .wrap(writeBuffer, key.limit(), writeBuffer.capacity())
+                .item(h -> h.nameLen(6).name(n -> n.set("header".getBytes(UTF_8)))
+                            .valueLen(5).value(v -> v.set("value".getBytes(UTF_8))))
+                .build();
+
+        OctetsFW value = new OctetsFW.Builder()
+                .wrap(writeBuffer, headers.limit(), writeBuffer.capacity())
+                .set("value".getBytes(UTF_8))
+                .build();
+
+        for (long offset : offsets)
+        {
+            partition.writeEntry(null, 1L, 1L, offset, entryMark, valueMark, 0L, -1L,
+                key, headers, value, null, 0x00, KafkaDeltaType.NONE, ConverterHandler.NONE, ConverterHandler.NONE, false);
+        }
+    }
+
     public static class NodeTest
     {
         @Rule
@@ -257,6 +484,127 @@ public class KafkaCachePartitionTest
             assertEquals("[KafkaCacheSegment] test[0] @ 15 +1", head15s.toString());
         }
 
+        @Test
+        public void shouldCleanSegmentWithEntriesMarkedDirtyWhileCleaning() throws Exception
+        {
+            Path location = tempFolder.newFolder().toPath();
+            KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+
+            MutableDirectBuffer writeBuffer = new UnsafeBuffer(ByteBuffer.allocate(1024));
+            MutableInteger entryMark = new MutableInteger(0);
+            MutableInteger valueMark = new MutableInteger(0);
+
+            KafkaKeyFW key = new KafkaKeyFW.Builder().wrap(writeBuffer, 0, writeBuffer.capacity())
+                .length(4)
+                .value(k -> k.set("test".getBytes(UTF_8)))
+                .build();
+
+            Array32FW<KafkaHeaderFW> headers = new Array32FW.Builder<>(new KafkaHeaderFW.Builder(), new KafkaHeaderFW())
+                    .wrap(writeBuffer, key.limit(), writeBuffer.capacity())
+                    .build();
+
+            OctetsFW value = new OctetsFW.Builder()
+                    .wrap(writeBuffer, headers.limit(), 0)
+                    .build();
+
+            KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+            Node head10 = partition.append(10L);
+
+            for (long offset = 11L; offset <= 13L; offset++)
+            {
+                partition.writeEntry(null, 1L, 1L, offset, entryMark, valueMark, 0L, -1L,
+                    key, headers, value, null, 0x00, KafkaDeltaType.NONE, ConverterHandler.NONE, ConverterHandler.NONE, false);
+            }
+
+            head10.findAndMarkDirty(new KafkaCacheEntryFW(), 11L);
+
+            Node head15 = partition.append(15L);
+            Node tail10 = head15.previous();
+            KafkaCacheSegment tail10s = tail10.segment();
+
+            long now = currentTimeMillis();
+            tail10s.cleanableAt(now);
+
+            assertTrue(tail10.cleanStart(now));
+            assertTrue(tail10.cleaning());
+
+            tail10.cleanFiles();
+            tail10.findAndMarkDirty(new KafkaCacheEntryFW(), 12L);
+            tail10.cleanFinish();
+
+            KafkaCacheSegment clean10s = tail10.segment();
+
+            assertFalse(tail10.cleaning());
+            assertNotSame(tail10s, clean10s);
+            assertEquals(13L, clean10s.lastOffset());
+
+            KafkaCacheFile logFile = clean10s.logFile();
+            KafkaCacheEntryFW entry = logFile.readBytes(0, new KafkaCacheEntryFW()::wrap);
+            assertEquals(12L, entry.offset$());
+            assertEquals(KafkaCachePartition.CACHE_ENTRY_FLAGS_DIRTY, entry.flags());
+
+            entry = logFile.readBytes(entry.limit(), new KafkaCacheEntryFW()::wrap);
+            assertEquals(13L, entry.offset$());
+            assertEquals(0, entry.flags());
+            assertEquals(logFile.capacity(), entry.limit());
+        }
+
+        @Test
+        public void shouldReleaseSegmentWhenCleanAbandonedWhileRunning() throws Exception
+        {
+            Path location = tempFolder.newFolder().toPath();
+            KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+            KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+            Node head10 = partition.append(10L);
+            writeEntries(partition, 11L, 12L, 13L);
+            head10.findAndMarkDirty(new KafkaCacheEntryFW(), 11L);
+            partition.append(15L);
+
+            KafkaCacheSegment tail10s = head10.segment();
+            long now = currentTimeMillis();
+            tail10s.cleanableAt(now);
+
+            assertTrue(head10.cleanStart(now));
+            assertEquals(2, tail10s.references());
+
+            head10.cleanAbandon();
+            assertTrue(head10.cleaning());
+
+            head10.cleanFiles();
+
+            assertFalse(head10.cleaning());
+            assertSame(tail10s, head10.segment());
+            assertEquals(1, tail10s.references());
+            assertEquals(0L, Files.list(location.resolve("test-0").resolve("clean")).count());
+        }
+
+        @Test
+        public void shouldFinishCleanWhenAbandonedAfterFiles() throws Exception
+        {
+            Path location = tempFolder.newFolder().toPath();
+            KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+            KafkaCachePartition partition = new KafkaCachePartition(location, config, "cache", "test", 0, 65536, long[]::new);
+
+            Node head10 = partition.append(10L);
+            writeEntries(partition, 11L, 12L, 13L);
+            head10.findAndMarkDirty(new KafkaCacheEntryFW(), 11L);
+            partition.append(15L);
+
+            KafkaCacheSegment tail10s = head10.segment();
+            long now = currentTimeMillis();
+            tail10s.cleanableAt(now);
+
+            assertTrue(head10.cleanStart(now));
+            head10.cleanFiles();
+            head10.cleanAbandon();
+
+            assertFalse(head10.cleaning());
+            assertNotSame(tail10s, head10.segment());
+            assertEquals(2 * Long.BYTES, head10.segment().indexFile().capacity());
+            assertFalse(Files.exists(location.resolve("test-0").resolve("clean").resolve("commit")));
+        }
+
         @Test
         public void shouldSeekAncestor() throws Exception
         {
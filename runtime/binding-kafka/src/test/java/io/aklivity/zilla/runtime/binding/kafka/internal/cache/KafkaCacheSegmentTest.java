@@ -15,8 +15,12 @@
  */
 package io.aklivity.zilla.runtime.binding.kafka.internal.cache;
 
+import static io.aklivity.zilla.runtime.binding.kafka.internal.cache.KafkaCacheIndexRecord.indexEntry;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.nio.ByteBuffer;
 import java.nio.file.Path;
@@ -61,6 +65,46 @@ public class KafkaCacheSegmentTest
         }
     }
 
+    @Test
+    public void shouldFreezeHashBloom() throws Exception
+    {
+        KafkaCacheTopicConfig config = new KafkaCacheTopicConfig(new KafkaConfiguration());
+        Path location = tempFolder.getRoot().toPath();
+        MutableDirectBuffer appendBuf = new UnsafeBuffer(ByteBuffer.allocate(Long.BYTES));
+
+        try (KafkaCacheSegment head = new KafkaCacheSegment(location, config, "test", 0, 1L, appendBuf, long[]::new))
+        {
+            for (int hash = 0; hash < 1024; hash++)
+            {
+                head.hashFile().appendLong(indexEntry(hash * 0x01000193, hash << 4));
+            }
+
+            assertNull(head.hashBloomFile());
+            assertTrue(head.mightContainHash(0x7fffffff));
+
+            try (KafkaCacheSegment tail = head.freeze())
+            {
+                for (int hash = 0; hash < 1024; hash++)
+                {
+                    assertTrue(tail.mightContainHash(hash * 0x01000193));
+                }
+
+                int falsePositives = 0;
+                for (int hash = 1024; hash < 2048; hash++)
+                {
+                    if (tail.mightContainHash(hash * 0x01000193))
+                    {
+                        falsePositives++;
+                    }
+                }
+                assertTrue(falsePositives < 64);
+
+                tail.delete();
+                assertFalse(tail.hashBloomFile().location().toFile().exists());
+            }
+        }
+    }
+
     @Test
     public void shouldDescribeObject() throws Exception
     {
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.COMPRESS_FAILED;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.DECOMPRESS_FAILED;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.DECOMPRESS_OVERFLOW;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class KafkaGzipCodecTest
+{
+    @Test
+    public void shouldDecompress() throws Exception
+    {
+        final String text = "Hello, world. Hello, world. Hello, world.";
+        final DirectBuffer src = new UnsafeBuffer(gzip(text.getBytes(UTF_8)));
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[256]);
+
+        final KafkaGzipCodec codec = new KafkaGzipCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 16, dst.capacity());
+
+        assertEquals(text, dst.getStringWithoutLengthUtf8(16, length));
+    }
+
+    @Test
+    public void shouldDecompressDirectBuffers() throws Exception
+    {
+        final String text = "Hello, world. Hello, world. Hello, world.";
+        final byte[] compressed = gzip(text.getBytes(UTF_8));
+        final MutableDirectBuffer src = new UnsafeBuffer(ByteBuffer.allocateDirect(compressed.length));
+        src.putBytes(0, compressed);
+        final MutableDirectBuffer dst = new UnsafeBuffer(ByteBuffer.allocateDirect(256));
+
+        final KafkaGzipCodec codec = new KafkaGzipCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(text, dst.getStringWithoutLengthUtf8(0, length));
+    }
+
+    @Test
+    public void shouldDecompressRepeatedly() throws Exception
+    {
+        final KafkaGzipCodec codec = new KafkaGzipCodec();
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[256]);
+
+        for (int i = 0; i < 3; i++)
+        {
+            final String text = "message-" + i;
+            final DirectBuffer src = new UnsafeBuffer(gzip(text.getBytes(UTF_8)));
+            final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+            assertEquals(text, dst.getStringWithoutLengthUtf8(0, length));
+        }
+    }
+
+    @Test
+    public void shouldNotDecompressWhenOverflow() throws Exception
+    {
+        final DirectBuffer src = new UnsafeBuffer(gzip(new byte[1024]));
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[256]);
+
+        final KafkaGzipCodec codec = new KafkaGzipCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_OVERFLOW, length);
+    }
+
+    @Test
+    public void shouldNotDecompressWhenInvalidHeader()
+    {
+        final DirectBuffer src = new UnsafeBuffer("not gzip compressed".getBytes(UTF_8));
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[256]);
+
+        final KafkaGzipCodec codec = new KafkaGzipCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_FAILED, length);
+    }
+
+    private static byte[] gzip(
+        byte[] bytes) throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out))
+        {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void shouldCompressAndDecompress()
+    {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 4096; i++)
+        {
+            text.append("record-").append(i % 64).append(';');
+        }
+        final DirectBuffer src = new UnsafeBuffer(text.toString().getBytes());
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity()]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaGzipCodec codec = new KafkaGzipCodec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0 && compressedLength < src.capacity() / 4);
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldCompressAndDecompressRandom()
+    {
+        final byte[] bytes = new byte[150_000];
+        new Random(42L).nextBytes(bytes);
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity() * 2]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaGzipCodec codec = new KafkaGzipCodec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0);
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldNotCompressWhenOverflow()
+    {
+        final byte[] bytes = new byte[1024];
+        new Random(42L).nextBytes(bytes);
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[512]);
+
+        final KafkaGzipCodec codec = new KafkaGzipCodec();
+        final int length = codec.compress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(COMPRESS_FAILED, length);
+    }
+}
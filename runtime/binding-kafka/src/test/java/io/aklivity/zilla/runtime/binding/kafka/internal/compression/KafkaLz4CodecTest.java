@@ -0,0 +1,152 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.COMPRESS_FAILED;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.DECOMPRESS_FAILED;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.DECOMPRESS_OVERFLOW;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class KafkaLz4CodecTest
+{
+    private static final byte[] FRAME =
+    {
+        0x04, 0x22, 0x4d, 0x18,         // magic
+        0x60, 0x70, 0x73,               // FLG, BD, HC
+        0x08, 0x00, 0x00, 0x00,         // block size 8
+        0x35, 'a', 'b', 'c', 0x03, 0x00, // literal "abc", match length 9, offset 3
+        0x10, '!',                      // literal "!"
+        0x05, 0x00, 0x00, (byte) 0x80,  // uncompressed block size 5
+        'h', 'e', 'l', 'l', 'o',
+        0x00, 0x00, 0x00, 0x00          // end mark
+    };
+
+    @Test
+    public void shouldDecompressFrame()
+    {
+        final DirectBuffer src = new UnsafeBuffer(FRAME);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaLz4Codec codec = new KafkaLz4Codec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals("abcabcabcabc!hello", dst.getStringWithoutLengthAscii(0, length));
+    }
+
+    @Test
+    public void shouldNotDecompressWhenOverflow()
+    {
+        final DirectBuffer src = new UnsafeBuffer(FRAME);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[8]);
+
+        final KafkaLz4Codec codec = new KafkaLz4Codec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_OVERFLOW, length);
+    }
+
+    @Test
+    public void shouldNotDecompressWhenTruncated()
+    {
+        final DirectBuffer src = new UnsafeBuffer(FRAME);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaLz4Codec codec = new KafkaLz4Codec();
+        final int length = codec.decompress(src, 0, src.capacity() - 4, dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_FAILED, length);
+    }
+
+    @Test
+    public void shouldNotDecompressWhenInvalidMagic()
+    {
+        final DirectBuffer src = new UnsafeBuffer(new byte[] { 0x00, 0x01, 0x02, 0x03, 0x60, 0x70, 0x73, 0 });
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaLz4Codec codec = new KafkaLz4Codec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_FAILED, length);
+    }
+
+    @Test
+    public void shouldCompressAndDecompress()
+    {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 4096; i++)
+        {
+            text.append("record-").append(i % 64).append(';');
+        }
+        final DirectBuffer src = new UnsafeBuffer(text.toString().getBytes());
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity()]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaLz4Codec codec = new KafkaLz4Codec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0 && compressedLength < src.capacity() / 4);
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldCompressAndDecompressRandom()
+    {
+        final byte[] bytes = new byte[150_000];
+        new Random(42L).nextBytes(bytes);
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity() * 2]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaLz4Codec codec = new KafkaLz4Codec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0);
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldNotCompressWhenOverflow()
+    {
+        final byte[] bytes = new byte[1024];
+        new Random(42L).nextBytes(bytes);
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[512]);
+
+        final KafkaLz4Codec codec = new KafkaLz4Codec();
+        final int length = codec.compress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(COMPRESS_FAILED, length);
+    }
+
+    @Test
+    public void shouldComputeHeaderChecksum()
+    {
+        assertEquals(0x73, KafkaLz4Codec.headerChecksum(0x60, 0x70));
+        assertEquals(0xa7, KafkaLz4Codec.headerChecksum(0x64, 0x40));
+    }
+}
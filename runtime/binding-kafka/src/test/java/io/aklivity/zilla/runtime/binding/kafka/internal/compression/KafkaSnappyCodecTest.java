@@ -0,0 +1,155 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.COMPRESS_FAILED;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.DECOMPRESS_FAILED;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.DECOMPRESS_OVERFLOW;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class KafkaSnappyCodecTest
+{
+    private static final byte[] BLOCK =
+    {
+        0x0c,                       // uncompressed length 12
+        0x08, 'a', 'b', 'c',        // literal "abc"
+        0x15, 0x03                  // copy length 9, offset 3
+    };
+
+    @Test
+    public void shouldDecompressBlock()
+    {
+        final DirectBuffer src = new UnsafeBuffer(BLOCK);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaSnappyCodec codec = new KafkaSnappyCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals("abcabcabcabc", dst.getStringWithoutLengthAscii(0, length));
+    }
+
+    @Test
+    public void shouldDecompressXerialFramed()
+    {
+        final MutableDirectBuffer src = new UnsafeBuffer(new byte[64]);
+        int progress = 0;
+        src.putBytes(progress, new byte[] { (byte) 0x82, 'S', 'N', 'A', 'P', 'P', 'Y', 0 });
+        progress += 8;
+        src.putInt(progress, 1, BIG_ENDIAN);
+        progress += 4;
+        src.putInt(progress, 1, BIG_ENDIAN);
+        progress += 4;
+        for (int i = 0; i < 2; i++)
+        {
+            src.putInt(progress, BLOCK.length, BIG_ENDIAN);
+            progress += 4;
+            src.putBytes(progress, BLOCK);
+            progress += BLOCK.length;
+        }
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaSnappyCodec codec = new KafkaSnappyCodec();
+        final int length = codec.decompress(src, 0, progress, dst, 0, dst.capacity());
+
+        assertEquals("abcabcabcabcabcabcabcabc", dst.getStringWithoutLengthAscii(0, length));
+    }
+
+    @Test
+    public void shouldNotDecompressWhenOverflow()
+    {
+        final DirectBuffer src = new UnsafeBuffer(BLOCK);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[8]);
+
+        final KafkaSnappyCodec codec = new KafkaSnappyCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_OVERFLOW, length);
+    }
+
+    @Test
+    public void shouldNotDecompressWhenInvalidOffset()
+    {
+        final DirectBuffer src = new UnsafeBuffer(new byte[] { 0x0c, 0x08, 'a', 'b', 'c', 0x15, 0x04 });
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaSnappyCodec codec = new KafkaSnappyCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_FAILED, length);
+    }
+
+    @Test
+    public void shouldCompressAndDecompress()
+    {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 4096; i++)
+        {
+            text.append("record-").append(i % 64).append(';');
+        }
+        final DirectBuffer src = new UnsafeBuffer(text.toString().getBytes());
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity()]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaSnappyCodec codec = new KafkaSnappyCodec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0 && compressedLength < src.capacity() / 4);
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldCompressAndDecompressRandom()
+    {
+        final byte[] bytes = new byte[150_000];
+        new Random(42L).nextBytes(bytes);
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity() * 2]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaSnappyCodec codec = new KafkaSnappyCodec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0);
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldNotCompressWhenOverflow()
+    {
+        final byte[] bytes = new byte[1024];
+        new Random(42L).nextBytes(bytes);
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[512]);
+
+        final KafkaSnappyCodec codec = new KafkaSnappyCodec();
+        final int length = codec.compress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(COMPRESS_FAILED, length);
+    }
+}
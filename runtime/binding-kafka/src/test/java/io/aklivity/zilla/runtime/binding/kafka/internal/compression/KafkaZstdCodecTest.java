@@ -0,0 +1,262 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.kafka.internal.compression;
+
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.COMPRESS_FAILED;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.DECOMPRESS_FAILED;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompressionCodec.DECOMPRESS_OVERFLOW;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class KafkaZstdCodecTest
+{
+    private static final byte[] FRAME =
+    {
+        0x28, (byte) 0xb5, 0x2f, (byte) 0xfd,   // magic
+        0x00, 0x58,                             // FHD, window descriptor
+        0x05, 0x01, 0x00,                       // last compressed block size 32
+        (byte) 0xc0,                            // raw literals size 24
+        0x24, 0x00, 0x00, 0x00, 0x01, 0x18, 'H', 'e', 'l', 'l', 'o', ',', ' ', 'w', 'o', 'r', 'l', 'd', 0x00, 0x24,
+        0x00, 0x00,
+        0x02, 0x04,                             // 2 sequences, predefined literals length, offset, match length
+        0x02, 0x00, (byte) 0xa0, 0x13, (byte) 0xcd, (byte) 0x9b, 0x4d
+    };
+
+    private static final byte[] RECORDS =
+    {
+        0x24, 0x00, 0x00, 0x00, 0x01, 0x18, 'H', 'e', 'l', 'l', 'o', ',', ' ', 'w', 'o', 'r', 'l', 'd', 0x00,
+        0x24, 0x00, 0x00, 0x02, 0x01, 0x18, 'H', 'e', 'l', 'l', 'o', ',', ' ', 'w', 'o', 'r', 'l', 'd', 0x00,
+        0x24, 0x00, 0x00, 0x04, 0x01, 0x18, 'H', 'e', 'l', 'l', 'o', ',', ' ', 'w', 'o', 'r', 'l', 'd', 0x00
+    };
+
+    private static final byte[] FRAME_HUFFMAN =
+    {
+        0x28, (byte) 0xb5, 0x2f, (byte) 0xfd,   // magic
+        0x20, 0x50,                             // FHD single segment, content size 80
+        (byte) 0xf5, 0x00, 0x00,                // last compressed block size 30
+        (byte) 0xc2, 0x42, 0x05,                // compressed literals, 1 stream
+        0x07, (byte) 0xf0, 0x19, 0x03,          // huffman weights
+        0x52, (byte) 0xca, (byte) 0xcf, 0x24, (byte) 0xdb, 0x06, 0x00, 0x2f, 0x49, 0x00, (byte) 0xf0, 0x49,
+        0x02, 0x00, 0x0f, 0x00, 0x1f, 0x01, 0x00, 0x7c, 0x48, 0x55, 0x06
+    };
+
+    private static final byte[] FRAMES_RAW_RLE =
+    {
+        0x50, 0x2a, 0x4d, 0x18, 0x02, 0x00, 0x00, 0x00, 0x00, 0x00,   // skippable frame
+        0x28, (byte) 0xb5, 0x2f, (byte) 0xfd,   // magic
+        0x00, 0x58,                             // FHD, window descriptor
+        0x28, 0x00, 0x00,                       // raw block size 5
+        'h', 'e', 'l', 'l', 'o',
+        0x1b, 0x00, 0x00,                       // last rle block size 3
+        '!',
+        0x28, (byte) 0xb5, 0x2f, (byte) 0xfd,   // magic
+        0x20, 0x05,                             // FHD single segment, content size 5
+        0x29, 0x00, 0x00,                       // last raw block size 5
+        'z', 'i', 'l', 'l', 'a'
+    };
+
+    @Test
+    public void shouldDecompressFrame()
+    {
+        final DirectBuffer src = new UnsafeBuffer(FRAME);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(RECORDS.length, length);
+        assertEquals(0, new UnsafeBuffer(RECORDS).compareTo(new UnsafeBuffer(dst, 0, length)));
+    }
+
+    @Test
+    public void shouldDecompressFrameWithHuffmanLiterals()
+    {
+        final DirectBuffer src = new UnsafeBuffer(FRAME_HUFFMAN);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[128]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals("aaaabbbbaaaabbbbccccaaaabbbbddddaaaabbbbeeee" +
+            "aaaabbbbccccaaaabbbbddddaaaabbbbeeee", dst.getStringWithoutLengthAscii(0, length));
+    }
+
+    @Test
+    public void shouldDecompressConcatenatedFrames()
+    {
+        final DirectBuffer src = new UnsafeBuffer(FRAMES_RAW_RLE);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals("hello!!!zilla", dst.getStringWithoutLengthAscii(0, length));
+    }
+
+    @Test
+    public void shouldNotDecompressWhenOverflow()
+    {
+        final DirectBuffer src = new UnsafeBuffer(FRAME_HUFFMAN);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_OVERFLOW, length);
+    }
+
+    @Test
+    public void shouldNotDecompressWhenTruncated()
+    {
+        final DirectBuffer src = new UnsafeBuffer(FRAME);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.decompress(src, 0, src.capacity() - 4, dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_FAILED, length);
+    }
+
+    @Test
+    public void shouldNotDecompressWhenCorrupt()
+    {
+        final byte[] bytes = FRAME_HUFFMAN.clone();
+        bytes[bytes.length - 1] ^= 0x40;
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[128]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_FAILED, length);
+    }
+
+    @Test
+    public void shouldNotDecompressWhenInvalidMagic()
+    {
+        final DirectBuffer src = new UnsafeBuffer(new byte[] { 0x00, 0x01, 0x02, 0x03, 0x20, 0x00, 0x01, 0x00, 0x00 });
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_FAILED, length);
+    }
+
+    @Test
+    public void shouldNotDecompressWhenDictionary()
+    {
+        final DirectBuffer src = new UnsafeBuffer(new byte[] {
+            0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0x21, 0x01, 0x00, 0x01, 0x00, 0x00 });
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[64]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.decompress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(DECOMPRESS_FAILED, length);
+    }
+
+    @Test
+    public void shouldCompressAndDecompress()
+    {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 16384; i++)
+        {
+            text.append("record-").append(i % 64).append(';');
+        }
+        final DirectBuffer src = new UnsafeBuffer(text.toString().getBytes());
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity()]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0 && compressedLength < src.capacity() / 4);
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldCompressAndDecompressRecords()
+    {
+        final DirectBuffer src = new UnsafeBuffer(RECORDS);
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity()]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0 && compressedLength < src.capacity());
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldCompressAndDecompressRandom()
+    {
+        final byte[] bytes = new byte[150_000];
+        new Random(42L).nextBytes(bytes);
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[src.capacity() * 2]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[src.capacity()]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int compressedLength = codec.compress(src, 0, src.capacity(), compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0);
+        assertEquals(src.capacity(), length);
+        assertEquals(0, src.compareTo(dst));
+    }
+
+    @Test
+    public void shouldCompressAndDecompressEmpty()
+    {
+        final DirectBuffer src = new UnsafeBuffer(new byte[0]);
+        final MutableDirectBuffer compressed = new UnsafeBuffer(new byte[16]);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[16]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int compressedLength = codec.compress(src, 0, 0, compressed, 0, compressed.capacity());
+        final int length = codec.decompress(compressed, 0, compressedLength, dst, 0, dst.capacity());
+
+        assertTrue(compressedLength > 0);
+        assertEquals(0, length);
+    }
+
+    @Test
+    public void shouldNotCompressWhenOverflow()
+    {
+        final byte[] bytes = new byte[1024];
+        new Random(42L).nextBytes(bytes);
+        final DirectBuffer src = new UnsafeBuffer(bytes);
+        final MutableDirectBuffer dst = new UnsafeBuffer(new byte[512]);
+
+        final KafkaZstdCodec codec = new KafkaZstdCodec();
+        final int length = codec.compress(src, 0, src.capacity(), dst, 0, dst.capacity());
+
+        assertEquals(COMPRESS_FAILED, length);
+    }
+}
@@ -15,6 +15,8 @@
  */
 package io.aklivity.zilla.runtime.binding.kafka.internal.config;
 
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression.LZ4;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.compression.KafkaCompression.ZSTD;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaDeltaType.JSON_PATCH;
 import static io.aklivity.zilla.runtime.binding.kafka.internal.types.KafkaOffsetType.LIVE;
 import static java.util.Collections.singletonList;
@@ -213,4 +215,78 @@ public class KafkaOptionsConfigAdapterTest
                 "\"servers\":[\"localhost:9092\"]," +
                 "\"sasl\":{\"mechanism\":\"plain\",\"username\":\"username\",\"password\":\"password\"}}"));
     }
+
+    @Test
+    public void shouldReadCompressionOptions()
+    {
+        String text =
+                "{" +
+                    "\"topics\":" +
+                    "[" +
+                        "{" +
+                            "\"name\": \"test\"," +
+                            "\"compression\": \"lz4\"" +
+                        "}" +
+                    "]" +
+                "}";
+
+        KafkaOptionsConfig options = jsonb.fromJson(text, KafkaOptionsConfig.class);
+
+        assertThat(options, not(nullValue()));
+        assertThat(options.topics, equalTo(singletonList(KafkaTopicConfig.builder()
+            .name("test").compression(LZ4).build())));
+    }
+
+    @Test
+    public void shouldWriteCompressionOptions()
+    {
+        KafkaOptionsConfig options = KafkaOptionsConfig.builder()
+            .topics(singletonList(KafkaTopicConfig.builder()
+                .name("test")
+                .compression(LZ4)
+                .build()))
+            .build();
+
+        String text = jsonb.toJson(options);
+
+        assertThat(text, not(nullValue()));
+        assertThat(text, equalTo("{\"topics\":[{\"name\":\"test\",\"compression\":\"lz4\"}]}"));
+    }
+
+    @Test
+    public void shouldReadZstdCompressionOptions()
+    {
+        String text =
+                "{" +
+                    "\"topics\":" +
+                    "[" +
+                        "{" +
+                            "\"name\": \"test\"," +
+                            "\"compression\": \"zstd\"" +
+                        "}" +
+                    "]" +
+                "}";
+
+        KafkaOptionsConfig options = jsonb.fromJson(text, KafkaOptionsConfig.class);
+
+        assertThat(options, not(nullValue()));
+        assertThat(options.topics, equalTo(singletonList(KafkaTopicConfig.builder()
+            .name("test").compression(ZSTD).build())));
+    }
+
+    @Test
+    public void shouldWriteZstdCompressionOptions()
+    {
+        KafkaOptionsConfig options = KafkaOptionsConfig.builder()
+            .topics(singletonList(KafkaTopicConfig.builder()
+                .name("test")
+                .compression(ZSTD)
+                .build()))
+            .build();
+
+        String text = jsonb.toJson(options);
+
+        assertThat(text, not(nullValue()));
+        assertThat(text, equalTo("{\"topics\":[{\"name\":\"test\",\"compression\":\"zstd\"}]}"));
+    }
 }
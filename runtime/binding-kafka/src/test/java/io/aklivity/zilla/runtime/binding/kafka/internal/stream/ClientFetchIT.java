@@ -15,6 +15,10 @@
  */
 package io.aklivity.zilla.runtime.binding.kafka.internal.stream;
 
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_FETCH_COALESCE;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_FETCH_SESSION;
+import static io.aklivity.zilla.runtime.binding.kafka.internal.KafkaConfiguration.KAFKA_CLIENT_RACK;
 import static io.aklivity.zilla.runtime.engine.EngineConfiguration.ENGINE_BUFFER_SLOT_CAPACITY;
 import static io.aklivity.zilla.runtime.engine.EngineConfiguration.ENGINE_DRAIN_ON_CLOSE;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -36,13 +40,23 @@ import io.aklivity.zilla.runtime.engine.test.annotation.Configure;
 public class ClientFetchIT
 {
     private static final String ENGINE_BUFFER_SLOT_CAPACITY_NAME = "zilla.engine.buffer.slot.capacity";
+    private static final String KAFKA_CLIENT_FETCH_COALESCE_NAME = "zilla.binding.kafka.client.fetch.coalesce";
+    private static final String KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES_NAME =
+        "zilla.binding.kafka.client.fetch.decompress.max.bytes";
+    private static final String KAFKA_CLIENT_FETCH_SESSION_NAME = "zilla.binding.kafka.client.fetch.session";
+    private static final String KAFKA_CLIENT_RACK_NAME = "zilla.binding.kafka.client.rack";
     static
     {
         assert ENGINE_BUFFER_SLOT_CAPACITY_NAME.equals(ENGINE_BUFFER_SLOT_CAPACITY.name());
+        assert KAFKA_CLIENT_FETCH_COALESCE_NAME.equals(KAFKA_CLIENT_FETCH_COALESCE.name());
+        assert KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES_NAME.equals(KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES.name());
+        assert KAFKA_CLIENT_FETCH_SESSION_NAME.equals(KAFKA_CLIENT_FETCH_SESSION.name());
+        assert KAFKA_CLIENT_RACK_NAME.equals(KAFKA_CLIENT_RACK.name());
     }
 
     private final K3poRule k3po = new K3poRule()
         .addScriptRoot("net", "io/aklivity/zilla/specs/binding/kafka/streams/network/fetch.v5")
+        .addScriptRoot("session", "io/aklivity/zilla/specs/binding/kafka/streams/network/fetch.v11")
         .addScriptRoot("app", "io/aklivity/zilla/specs/binding/kafka/streams/application/fetch");
 
     private final TestRule timeout = new DisableOnDebug(new Timeout(10, SECONDS));
@@ -107,6 +121,84 @@ public class ClientFetchIT
         k3po.finish();
     }
 
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/partition.coalesced/client",
+        "${net}/partition.coalesced/server"})
+    @Configure(name = KAFKA_CLIENT_FETCH_COALESCE_NAME, value = "true")
+    public void shouldReceiveMessagesFromCoalescedPartitions() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/partition.coalesced.window.closed/client",
+        "${net}/partition.coalesced.window.closed/server"})
+    @Configure(name = KAFKA_CLIENT_FETCH_COALESCE_NAME, value = "true")
+    public void shouldReceiveMessagesFromCoalescedPartitionsWhenWindowClosed() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/partition.coalesced.error/client",
+        "${net}/partition.coalesced.error/server"})
+    @Configure(name = KAFKA_CLIENT_FETCH_COALESCE_NAME, value = "true")
+    public void shouldReceiveMessageFromCoalescedPartitionWhenOtherPartitionErrors() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/message.value/client",
+        "${session}/partition.session.incremental/server"})
+    @Configure(name = KAFKA_CLIENT_FETCH_SESSION_NAME, value = "true")
+    public void shouldFetchPartitionIncrementally() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/partition.coalesced.error/client",
+        "${session}/partition.session.forgotten/server"})
+    @Configure(name = KAFKA_CLIENT_FETCH_COALESCE_NAME, value = "true")
+    @Configure(name = KAFKA_CLIENT_FETCH_SESSION_NAME, value = "true")
+    public void shouldForgetPartitionInSession() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/message.value/client",
+        "${session}/partition.session.epoch.reset/server"})
+    @Configure(name = KAFKA_CLIENT_FETCH_SESSION_NAME, value = "true")
+    public void shouldResetSessionEpoch() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/message.value/client",
+        "${session}/partition.preferred.replica/server"})
+    @Configure(name = KAFKA_CLIENT_RACK_NAME, value = "rack1")
+    public void shouldFetchFromPreferredReplica() throws Exception
+    {
+        k3po.finish();
+    }
+
     @Test
     @Configuration("client.when.topic.yaml")
     @Specification({
@@ -238,7 +330,6 @@ public class ClientFetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Configuration("client.when.topic.yaml")
     @Specification({
@@ -249,7 +340,6 @@ public class ClientFetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Configuration("client.when.topic.yaml")
     @Specification({
@@ -260,7 +350,6 @@ public class ClientFetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Configuration("client.when.topic.yaml")
     @Specification({
@@ -271,6 +360,59 @@ public class ClientFetchIT
         k3po.finish();
     }
 
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/message.value.gzip.fragmented/client",
+        "${net}/message.value.gzip.fragmented/server"})
+    @Configure(name = ENGINE_BUFFER_SLOT_CAPACITY_NAME, value = "256")
+    public void shouldReceiveMessageValueGzipFragmented() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/message.value.gzip.fragmented/client",
+        "${net}/message.value.gzip.fragmented/server"})
+    @Configure(name = ENGINE_BUFFER_SLOT_CAPACITY_NAME, value = "128")
+    public void shouldReceiveMessageValueGzipExceedingSlot() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/message.value.zstd/client",
+        "${net}/message.value.zstd/server"})
+    public void shouldReceiveMessageValueZstd() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/message.value.gzip.corrupt/client",
+        "${net}/message.value.gzip.corrupt/server"})
+    public void shouldRejectMessageValueGzipCorrupt() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("client.when.topic.yaml")
+    @Specification({
+        "${app}/message.value.gzip.overflow/client",
+        "${net}/message.value.gzip.overflow/server"})
+    @Configure(name = KAFKA_CLIENT_FETCH_DECOMPRESS_MAX_BYTES_NAME, value = "32")
+    public void shouldRejectMessageValueGzipOverflow() throws Exception
+    {
+        k3po.finish();
+    }
+
     @Test
     @Configuration("client.when.topic.yaml")
     @Specification({
@@ -20,7 +20,6 @@ import static io.aklivity.zilla.runtime.engine.EngineConfiguration.ENGINE_DRAIN_
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.rules.RuleChain.outerRule;
 
-import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.DisableOnDebug;
@@ -38,6 +37,7 @@ public class ClientProduceIT
 {
     private final K3poRule k3po = new K3poRule()
         .addScriptRoot("net", "io/aklivity/zilla/specs/binding/kafka/streams/network/produce.v3")
+        .addScriptRoot("zstd", "io/aklivity/zilla/specs/binding/kafka/streams/network/produce.v7")
         .addScriptRoot("app", "io/aklivity/zilla/specs/binding/kafka/streams/application/produce");
 
     private final TestRule timeout = new DisableOnDebug(new Timeout(10, SECONDS));
@@ -233,9 +233,8 @@ public class ClientProduceIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
-    @Configuration("client.when.topic.yaml")
+    @Configuration("client.when.topic.compression.gzip.yaml")
     @Specification({
         "${app}/message.value.gzip/client",
         "${net}/message.value.gzip/server"})
@@ -244,9 +243,8 @@ public class ClientProduceIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
-    @Configuration("client.when.topic.yaml")
+    @Configuration("client.when.topic.compression.snappy.yaml")
     @Specification({
         "${app}/message.value.snappy/client",
         "${net}/message.value.snappy/server"})
@@ -255,9 +253,8 @@ public class ClientProduceIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
-    @Configuration("client.when.topic.yaml")
+    @Configuration("client.when.topic.compression.lz4.yaml")
     @Specification({
         "${app}/message.value.lz4/client",
         "${net}/message.value.lz4/server"})
@@ -266,6 +263,16 @@ public class ClientProduceIT
         k3po.finish();
     }
 
+    @Test
+    @Configuration("client.when.topic.compression.zstd.yaml")
+    @Specification({
+        "${app}/message.value.zstd/client",
+        "${zstd}/message.value.zstd/server"})
+    public void shouldSendMessageValueZstd() throws Exception
+    {
+        k3po.finish();
+    }
+
     @Test
     @Configuration("client.when.topic.yaml")
     @Specification({
@@ -21,7 +21,6 @@ import java.util.List;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 
 import io.aklivity.zilla.runtime.binding.mqtt.kafka.config.MqttKafkaConditionKind;
@@ -37,6 +36,8 @@ import io.aklivity.zilla.runtime.engine.config.KindConfig;
 public class MqttKafkaBindingConfig
 {
     private final List<MqttKafkaRouteConfig> bootstrapRoutes;
+    private final MqttKafkaRouteTrie subscribeRoutes;
+    private final MqttKafkaRouteTrie publishRoutes;
 
     public final long id;
     public final KindConfig kind;
@@ -64,6 +65,8 @@ public class MqttKafkaBindingConfig
             }
         });
         this.bootstrapRoutes = bootstrapRoutes;
+        this.subscribeRoutes = new MqttKafkaRouteTrie(binding.routes, routes, MqttKafkaConditionKind.SUBSCRIBE);
+        this.publishRoutes = new MqttKafkaRouteTrie(binding.routes, routes, MqttKafkaConditionKind.PUBLISH);
     }
 
     public MqttKafkaRouteConfig resolve(
@@ -79,20 +82,14 @@ public class MqttKafkaBindingConfig
         long authorization,
         String topic)
     {
-        return routes.stream()
-            .filter(r -> r.authorized(authorization) && r.matches(topic, MqttKafkaConditionKind.PUBLISH))
-            .findFirst()
-            .orElse(null);
+        return publishRoutes.resolve(authorization, topic);
     }
 
     public List<MqttKafkaRouteConfig> resolveAll(
         long authorization,
         Array32FW<MqttTopicFilterFW> filters)
     {
-        return routes.stream()
-            .filter(r -> r.authorized(authorization) &&
-                filters.anyMatch(f -> r.matches(f.pattern().asString(), MqttKafkaConditionKind.SUBSCRIBE)))
-            .collect(Collectors.toList());
+        return subscribeRoutes.resolveAll(authorization, filters);
     }
 
     public String16FW messagesTopic()
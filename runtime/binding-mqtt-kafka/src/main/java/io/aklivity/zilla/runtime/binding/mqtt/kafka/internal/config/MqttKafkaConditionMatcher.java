@@ -24,13 +24,19 @@ import io.aklivity.zilla.runtime.binding.mqtt.kafka.config.MqttKafkaConditionKin
 
 public class MqttKafkaConditionMatcher
 {
+    private final MqttKafkaTopicTrie trie;
+    private final long[] matches;
     private final List<Matcher> matchers;
     public final MqttKafkaConditionKind kind;
 
     public MqttKafkaConditionMatcher(
         MqttKafkaConditionConfig condition)
     {
-        this.matchers = asTopicMatchers(condition.topics);
+        this.trie = condition.topics.stream().allMatch(MqttKafkaTopicTrie::indexable)
+            ? asTopicTrie(condition.topics)
+            : null;
+        this.matches = new long[1];
+        this.matchers = trie == null ? asTopicMatchers(condition.topics) : null;
         this.kind = condition.kind;
     }
 
@@ -38,7 +44,13 @@ public class MqttKafkaConditionMatcher
         String topic)
     {
         boolean match = false;
-        if (matchers != null)
+        if (trie != null)
+        {
+            matches[0] = 0L;
+            trie.match(topic, matches);
+            match = matches[0] != 0L;
+        }
+        else if (matchers != null)
         {
             for (Matcher matcher : matchers)
             {
@@ -52,8 +64,15 @@ public class MqttKafkaConditionMatcher
         return match;
     }
 
+    private static MqttKafkaTopicTrie asTopicTrie(
+        List<String> topics)
+    {
+        final MqttKafkaTopicTrie trie = new MqttKafkaTopicTrie();
+        topics.forEach(t -> trie.add(t, 0));
+        return trie;
+    }
 
-    private static List<Matcher> asTopicMatchers(
+    static List<Matcher> asTopicMatchers(
         List<String> wildcards)
     {
         final List<Matcher> matchers = new ArrayList<>();
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.binding.mqtt.kafka.internal.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.aklivity.zilla.runtime.binding.mqtt.kafka.config.MqttKafkaConditionConfig;
+import io.aklivity.zilla.runtime.binding.mqtt.kafka.config.MqttKafkaConditionKind;
+import io.aklivity.zilla.runtime.binding.mqtt.kafka.config.MqttKafkaRouteConfig;
+import io.aklivity.zilla.runtime.binding.mqtt.kafka.internal.types.Array32FW;
+import io.aklivity.zilla.runtime.binding.mqtt.kafka.internal.types.MqttTopicFilterFW;
+import io.aklivity.zilla.runtime.engine.config.ConditionConfig;
+import io.aklivity.zilla.runtime.engine.config.RouteConfig;
+
+final class MqttKafkaRouteTrie
+{
+    private final List<MqttKafkaRouteConfig> routes;
+    private final MqttKafkaConditionKind kind;
+    private final MqttKafkaTopicTrie trie;
+    private final long[] unconditional;
+    private final long[] unindexed;
+    private final long[] candidates;
+
+    MqttKafkaRouteTrie(
+        List<RouteConfig> configs,
+        List<MqttKafkaRouteConfig> routes,
+        MqttKafkaConditionKind kind)
+    {
+        this.routes = routes;
+        this.kind = kind;
+        this.trie = new MqttKafkaTopicTrie();
+        this.unconditional = new long[(routes.size() + Long.SIZE - 1) / Long.SIZE];
+        this.unindexed = new long[unconditional.length];
+        this.candidates = new long[unconditional.length];
+
+        for (int index = 0; index < configs.size(); index++)
+        {
+            final List<ConditionConfig> when = configs.get(index).when;
+            final List<String> topics = new ArrayList<>();
+            when.stream()
+                .map(MqttKafkaConditionConfig.class::cast)
+                .filter(c -> c.kind == kind)
+                .forEach(c -> topics.addAll(c.topics));
+
+            if (when.isEmpty())
+            {
+                unconditional[index >> 6] |= 1L << index;
+            }
+            else if (!topics.stream().allMatch(MqttKafkaTopicTrie::indexable))
+            {
+                unindexed[index >> 6] |= 1L << index;
+            }
+            else
+            {
+                for (String topic : topics)
+                {
+                    trie.add(topic, index);
+                }
+            }
+        }
+    }
+
+    MqttKafkaRouteConfig resolve(
+        long authorization,
+        String topic)
+    {
+        final long[] candidates = this.candidates;
+        System.arraycopy(unconditional, 0, candidates, 0, candidates.length);
+        trie.match(topic, candidates);
+        matchUnindexed(topic, candidates);
+
+        MqttKafkaRouteConfig resolved = null;
+
+        resolve:
+        for (int word = 0; word < candidates.length; word++)
+        {
+            long bits = candidates[word];
+            while (bits != 0L)
+            {
+                final int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                final MqttKafkaRouteConfig route = routes.get(index);
+                if (route.authorized(authorization))
+                {
+                    resolved = route;
+                    break resolve;
+                }
+                bits &= bits - 1L;
+            }
+        }
+
+        return resolved;
+    }
+
+    List<MqttKafkaRouteConfig> resolveAll(
+        long authorization,
+        Array32FW<MqttTopicFilterFW> filters)
+    {
+        final long[] candidates = this.candidates;
+        System.arraycopy(unconditional, 0, candidates, 0, candidates.length);
+        filters.forEach(f ->
+        {
+            final String filter = f.pattern().asString();
+            trie.match(filter, candidates);
+            matchUnindexed(filter, candidates);
+        });
+
+        final List<MqttKafkaRouteConfig> resolved = new ArrayList<>();
+        for (int word = 0; word < candidates.length; word++)
+        {
+            long bits = candidates[word];
+            while (bits != 0L)
+            {
+                final int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                final MqttKafkaRouteConfig route = routes.get(index);
+                if (route.authorized(authorization))
+                {
+                    resolved.add(route);
+                }
+                bits &= bits - 1L;
+            }
+        }
+
+        return resolved;
+    }
+
+    private void matchUnindexed(
+        String topic,
+        long[] candidates)
+    {
+        for (int word = 0; word < unindexed.length; word++)
+        {
+            long bits = unindexed[word] & ~candidates[word];
+            while (bits != 0L)
+            {
+                final int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                if (routes.get(index).matches(topic, kind))
+                {
+                    candidates[word] |= 1L << index;
+                }
+                bits &= bits - 1L;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.binding.mqtt.kafka.internal.config;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import org.junit.Test;
+
+public class MqttKafkaTopicTrieTest
+{
+    @Test
+    public void shouldMatchAllRoutesInOneWalk()
+    {
+        MqttKafkaTopicTrie trie = new MqttKafkaTopicTrie();
+        trie.add("sensor/one", 0);
+        trie.add("sensor/+", 1);
+        trie.add("sensor/#", 2);
+        trie.add("device/#", 3);
+        trie.add("/sensor/one", 4);
+
+        assertArrayEquals(new long[] { 0b00111L }, match(trie, "sensor/one"));
+        assertArrayEquals(new long[] { 0b00110L }, match(trie, "sensor/two"));
+        assertArrayEquals(new long[] { 0b00111L }, match(trie, "sensor/+"));
+        assertArrayEquals(new long[] { 0b00111L }, match(trie, "sensor/#"));
+        assertArrayEquals(new long[] { 0b00100L }, match(trie, "sensor/one/two"));
+        assertArrayEquals(new long[] { 0b01000L }, match(trie, "device/one"));
+        assertArrayEquals(new long[] { 0b11111L }, match(trie, "#"));
+        assertArrayEquals(new long[] { 0b10000L }, match(trie, "/#"));
+        assertArrayEquals(new long[] { 0b00000L }, match(trie, "sensor"));
+        assertArrayEquals(new long[] { 0b00000L }, match(trie, "other/one"));
+    }
+
+    @Test
+    public void shouldMatchRoutesBeyondFirstWord()
+    {
+        MqttKafkaTopicTrie trie = new MqttKafkaTopicTrie();
+        trie.add("sensor/one", 1);
+        trie.add("sensor/+", 70);
+
+        long[] matches = new long[2];
+        trie.match("sensor/two", matches);
+
+        assertEquals(0L, matches[0]);
+        assertEquals(1L << 70, matches[1]);
+    }
+
+    @Test
+    public void shouldNotIndexTopicsWithPartialLevelWildcards()
+    {
+        assertTrue(MqttKafkaTopicTrie.indexable("sensor/+/#"));
+        assertTrue(MqttKafkaTopicTrie.indexable("/sensor/one"));
+        assertFalse(MqttKafkaTopicTrie.indexable("sensor+/one"));
+        assertFalse(MqttKafkaTopicTrie.indexable("sensor/#/one"));
+        assertFalse(MqttKafkaTopicTrie.indexable("sensor//one"));
+        assertFalse(MqttKafkaTopicTrie.indexable("sensor/"));
+        assertFalse(MqttKafkaTopicTrie.indexable("sensor/(one|two)"));
+    }
+
+    @Test
+    public void shouldMatchAsTopicMatchers()
+    {
+        final String[] levels = { "a", "b", "+", "#", "" };
+        final List<String> conditions = topics(levels, 3);
+        final List<String> filters = topics(levels, 4);
+
+        for (String condition : conditions)
+        {
+            if (MqttKafkaTopicTrie.indexable(condition))
+            {
+                MqttKafkaTopicTrie trie = new MqttKafkaTopicTrie();
+                trie.add(condition, 0);
+                Matcher matcher = MqttKafkaConditionMatcher.asTopicMatchers(singletonList(condition)).get(0);
+
+                for (String filter : filters)
+                {
+                    if (!filter.isEmpty() && filter.indexOf('#') >= filter.length() - 1)
+                    {
+                        assertEquals(condition + " " + filter,
+                            matcher.reset(filter).matches(), match(trie, filter)[0] != 0L);
+                    }
+                }
+            }
+        }
+    }
+
+    private static long[] match(
+        MqttKafkaTopicTrie trie,
+        String filter)
+    {
+        long[] matches = new long[1];
+        trie.match(filter, matches);
+        return matches;
+    }
+
+    private static List<String> topics(
+        String[] levels,
+        int depth)
+    {
+        final List<String> topics = new ArrayList<>();
+        for (String level : levels)
+        {
+            topics.add(level);
+        }
+
+        if (depth > 1)
+        {
+            for (String prefix : levels)
+            {
+                for (String suffix : topics(levels, depth - 1))
+                {
+                    topics.add(prefix + "/" + suffix);
+                }
+            }
+        }
+        return topics;
+    }
+}
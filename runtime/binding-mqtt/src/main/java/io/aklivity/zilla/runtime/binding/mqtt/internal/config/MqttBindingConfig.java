@@ -57,6 +57,9 @@ public final class MqttBindingConfig
     public final ToLongFunction<String> resolveId;
     public final GuardHandler guard;
 
+    private final MqttRouteTrie subscribeRoutes;
+    private final MqttRouteTrie publishRoutes;
+
     public MqttBindingConfig(
         BindingConfig binding,
         EngineContext context)
@@ -86,6 +89,13 @@ public final class MqttBindingConfig
             });
         }
 
+        this.subscribeRoutes = new MqttRouteTrie(binding.routes, routes,
+            c -> c.subscribes != null ? c.subscribes.stream().map(s -> s.topic).collect(toList()) : null,
+            MqttRouteConfig::matchesSubscribe);
+        this.publishRoutes = new MqttRouteTrie(binding.routes, routes,
+            c -> c.publishes != null ? c.publishes.stream().map(p -> p.topic).collect(toList()) : null,
+            MqttRouteConfig::matchesPublish);
+
         this.guard = resolveGuard(context);
         this.versions = options != null &&
             options.versions != null ? options.versions : DEFAULT_VERSIONS;
@@ -114,20 +124,14 @@ public final class MqttBindingConfig
         long authorization,
         String topic)
     {
-        return routes.stream()
-            .filter(r -> r.authorized(authorization) && r.matchesSubscribe(topic))
-            .findFirst()
-            .orElse(null);
+        return subscribeRoutes.resolve(authorization, topic);
     }
 
     public MqttRouteConfig resolvePublish(
         long authorization,
         String topic)
     {
-        return routes.stream()
-            .filter(r -> r.authorized(authorization) && r.matchesPublish(topic))
-            .findFirst()
-            .orElse(null);
+        return publishRoutes.resolve(authorization, topic);
     }
 
     public ModelConfig supplyModelConfig(
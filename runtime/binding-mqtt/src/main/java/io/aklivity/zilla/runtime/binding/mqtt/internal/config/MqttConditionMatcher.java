@@ -116,7 +116,7 @@ public final class MqttConditionMatcher
         return matchers;
     }
 
-    private static List<Matcher> asTopicMatcher(
+    static List<Matcher> asTopicMatcher(
         List<String> wildcards)
     {
         List<Matcher> matchers = new ArrayList<>();
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.mqtt.internal.config;
+
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import io.aklivity.zilla.runtime.binding.mqtt.config.MqttConditionConfig;
+import io.aklivity.zilla.runtime.engine.config.ConditionConfig;
+import io.aklivity.zilla.runtime.engine.config.RouteConfig;
+
+final class MqttRouteTrie
+{
+    private final List<MqttRouteConfig> routes;
+    private final BiPredicate<MqttRouteConfig, String> matches;
+    private final MqttTopicTrie trie;
+    private final long[] unconditional;
+    private final long[] unindexed;
+    private final long[] candidates;
+
+    MqttRouteTrie(
+        List<RouteConfig> configs,
+        List<MqttRouteConfig> routes,
+        Function<MqttConditionConfig, List<String>> topicsOf,
+        BiPredicate<MqttRouteConfig, String> matches)
+    {
+        this.routes = routes;
+        this.matches = matches;
+        this.trie = new MqttTopicTrie();
+        this.unconditional = new long[(routes.size() + Long.SIZE - 1) / Long.SIZE];
+        this.unindexed = new long[unconditional.length];
+        this.candidates = new long[unconditional.length];
+
+        for (int index = 0; index < configs.size(); index++)
+        {
+            final List<ConditionConfig> when = configs.get(index).when;
+            final List<String> topics = when.stream()
+                .map(MqttConditionConfig.class::cast)
+                .map(topicsOf)
+                .filter(t -> t != null)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+            if (when.isEmpty())
+            {
+                unconditional[index >> 6] |= 1L << index;
+            }
+            else if (!topics.stream().allMatch(MqttTopicTrie::indexable))
+            {
+                unindexed[index >> 6] |= 1L << index;
+            }
+            else
+            {
+                for (String topic : topics)
+                {
+                    trie.add(topic, index);
+                }
+            }
+        }
+    }
+
+    MqttRouteConfig resolve(
+        long authorization,
+        String topic)
+    {
+        final long[] candidates = this.candidates;
+        System.arraycopy(unconditional, 0, candidates, 0, candidates.length);
+        trie.match(topic, candidates);
+
+        for (int word = 0; word < candidates.length; word++)
+        {
+            candidates[word] |= unindexed[word];
+        }
+
+        MqttRouteConfig resolved = null;
+
+        resolve:
+        for (int word = 0; word < candidates.length; word++)
+        {
+            long bits = candidates[word];
+            while (bits != 0L)
+            {
+                final int index = (word << 6) | Long.numberOfTrailingZeros(bits);
+                final MqttRouteConfig route = routes.get(index);
+                if (route.authorized(authorization) &&
+                    ((unindexed[word] & 1L << index) == 0L || matches.test(route, topic)))
+                {
+                    resolved = route;
+                    break resolve;
+                }
+                bits &= bits - 1L;
+            }
+        }
+
+        return resolved;
+    }
+}
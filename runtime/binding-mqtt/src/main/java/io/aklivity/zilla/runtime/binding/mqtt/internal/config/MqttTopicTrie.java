@@ -0,0 +1,177 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.mqtt.internal.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.agrona.collections.IntArrayList;
+
+final class MqttTopicTrie
+{
+    private static final String SINGLE_LEVEL = "+";
+    private static final String MULTI_LEVEL = "#";
+    private static final String REGEX_CHARS = "\\^*?()[]{}|";
+    private static final int END = -1;
+
+    private final Node root = new Node();
+
+    static boolean indexable(
+        String topic)
+    {
+        boolean indexable = topic.chars().noneMatch(c -> REGEX_CHARS.indexOf(c) != -1);
+        for (int start = 0; indexable && start != END; )
+        {
+            final int end = levelEnd(topic, start);
+            final int next = end == topic.length() ? END : end + 1;
+            final int wildcard = indexOfWildcard(topic, start, end);
+
+            indexable = wildcard == -1 || end - start == 1 && (topic.charAt(start) == '+' || next == END);
+            start = next;
+        }
+        return indexable;
+    }
+
+    void add(
+        String topic,
+        int index)
+    {
+        assert indexable(topic);
+
+        Node node = root;
+        for (int start = 0; node != null; )
+        {
+            final int end = levelEnd(topic, start);
+            final int next = end == topic.length() ? END : end + 1;
+            final String level = topic.substring(start, end);
+
+            if (MULTI_LEVEL.equals(level))
+            {
+                node.remaining.addInt(index);
+                node = null;
+            }
+            else
+            {
+                node = SINGLE_LEVEL.equals(level) ? node.supplySingle() : node.supplyChild(level);
+
+                if (next == END)
+                {
+                    node.routes.addInt(index);
+                    node = null;
+                }
+            }
+
+            start = next;
+        }
+    }
+
+    void match(
+        String topic,
+        long[] matches)
+    {
+        match(root, topic, 0, matches);
+    }
+
+    private static void match(
+        Node node,
+        String topic,
+        int start,
+        long[] matches)
+    {
+        if (start == END)
+        {
+            mark(node.routes, matches);
+        }
+        else
+        {
+            final int end = levelEnd(topic, start);
+            final int next = end == topic.length() ? END : end + 1;
+
+            mark(node.remaining, matches);
+
+            final Node child = node.children.get(topic.substring(start, end));
+            if (child != null)
+            {
+                match(child, topic, next, matches);
+            }
+
+            if (node.single != null)
+            {
+                match(node.single, topic, next, matches);
+            }
+        }
+    }
+
+    private static int levelEnd(
+        String topic,
+        int start)
+    {
+        final int end = topic.indexOf('/', start);
+        return end != -1 ? end : topic.length();
+    }
+
+    private static int indexOfWildcard(
+        String topic,
+        int start,
+        int end)
+    {
+        int index = -1;
+        for (int i = start; i < end; i++)
+        {
+            final char ch = topic.charAt(i);
+            if (ch == '+' || ch == '#')
+            {
+                index = i;
+                break;
+            }
+        }
+        return index;
+    }
+
+    private static void mark(
+        IntArrayList indexes,
+        long[] matches)
+    {
+        for (int i = 0; i < indexes.size(); i++)
+        {
+            final int index = indexes.getInt(i);
+            matches[index >> 6] |= 1L << index;
+        }
+    }
+
+    private static final class Node
+    {
+        private final Map<String, Node> children = new HashMap<>();
+        private final IntArrayList routes = new IntArrayList();
+        private final IntArrayList remaining = new IntArrayList();
+        private Node single;
+
+        private Node supplySingle()
+        {
+            if (single == null)
+            {
+                single = new Node();
+            }
+            return single;
+        }
+
+        private Node supplyChild(
+            String level)
+        {
+            return children.computeIfAbsent(level, l -> new Node());
+        }
+    }
+}
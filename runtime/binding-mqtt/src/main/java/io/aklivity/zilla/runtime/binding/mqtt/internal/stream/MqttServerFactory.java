@@ -2586,6 +2586,11 @@ public final class MqttServerFactory implements MqttStreamFactory
             {
                 doNetworkReset(supplyTraceId.getAsLong(), authorization);
             }
+            else if (decodeSlot != NO_SLOT &&
+                bufferPool.grow(decodeSlot, decodeSlotOffset + data.length()) == NO_SLOT)
+            {
+                cleanupNetwork(traceId, authorization);
+            }
             else
             {
                 final long budgetId = data.budgetId();
@@ -4808,7 +4813,7 @@ public final class MqttServerFactory implements MqttStreamFactory
             {
                 if (decodeSlot == NO_SLOT)
                 {
-                    decodeSlot = bufferPool.acquire(initialId);
+                    decodeSlot = bufferPool.acquire(initialId, limit - progress);
                 }
 
                 if (decodeSlot == NO_SLOT)
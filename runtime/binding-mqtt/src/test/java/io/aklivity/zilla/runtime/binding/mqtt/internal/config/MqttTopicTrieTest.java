@@ -0,0 +1,112 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.mqtt.internal.config;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+
+import org.junit.Test;
+
+public class MqttTopicTrieTest
+{
+    @Test
+    public void shouldMatchAllRoutesInOneWalk()
+    {
+        MqttTopicTrie trie = new MqttTopicTrie();
+        trie.add("sensor/one", 0);
+        trie.add("sensor/+", 1);
+        trie.add("sensor/#", 2);
+        trie.add("#", 3);
+        trie.add("+/one", 4);
+
+        assertArrayEquals(new long[] { 0b11111L }, match(trie, "sensor/one"));
+        assertArrayEquals(new long[] { 0b01110L }, match(trie, "sensor/two"));
+        assertArrayEquals(new long[] { 0b01100L }, match(trie, "sensor/one/two"));
+        assertArrayEquals(new long[] { 0b11000L }, match(trie, "device/one"));
+        assertArrayEquals(new long[] { 0b01000L }, match(trie, "sensor"));
+    }
+
+    @Test
+    public void shouldNotIndexTopicsWithPartialLevelWildcards()
+    {
+        assertTrue(MqttTopicTrie.indexable("sensor/+/#"));
+        assertTrue(MqttTopicTrie.indexable("/sensor//one"));
+        assertFalse(MqttTopicTrie.indexable("sensor+/one"));
+        assertFalse(MqttTopicTrie.indexable("sensor/#/one"));
+        assertFalse(MqttTopicTrie.indexable("sensor/(one|two)"));
+    }
+
+    @Test
+    public void shouldMatchAsTopicMatchers()
+    {
+        final List<String> conditions = topics(new String[] { "a", "b", "+", "#", "" }, 3);
+        final List<String> topics = topics(new String[] { "a", "b", "c", "+", "#", "" }, 4);
+
+        for (String condition : conditions)
+        {
+            if (MqttTopicTrie.indexable(condition))
+            {
+                MqttTopicTrie trie = new MqttTopicTrie();
+                trie.add(condition, 0);
+                Matcher matcher = MqttConditionMatcher.asTopicMatcher(singletonList(condition)).get(0);
+
+                for (String topic : topics)
+                {
+                    assertEquals(condition + " " + topic, matcher.reset(topic).matches(), match(trie, topic)[0] != 0L);
+                }
+            }
+        }
+    }
+
+    private static long[] match(
+        MqttTopicTrie trie,
+        String topic)
+    {
+        long[] matches = new long[1];
+        trie.match(topic, matches);
+        return matches;
+    }
+
+    private static List<String> topics(
+        String[] levels,
+        int depth)
+    {
+        final List<String> topics = new ArrayList<>();
+        for (String level : levels)
+        {
+            topics.add(level);
+        }
+
+        if (depth > 1)
+        {
+            for (String prefix : levels)
+            {
+                for (String suffix : topics(levels, depth - 1))
+                {
+                    topics.add(prefix + "/" + suffix);
+                }
+            }
+        }
+        return topics;
+    }
+}
@@ -35,6 +35,7 @@ import io.aklivity.zilla.runtime.binding.openapi.asyncapi.internal.types.OctetsF
 import io.aklivity.zilla.runtime.binding.openapi.asyncapi.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.openapi.asyncapi.internal.types.stream.AsyncapiBeginExFW;
 import io.aklivity.zilla.runtime.binding.openapi.asyncapi.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.openapi.asyncapi.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.openapi.asyncapi.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.openapi.asyncapi.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.openapi.asyncapi.internal.types.stream.FlushFW;
@@ -54,6 +55,7 @@ public final class OpenapiAsyncapiProxyFactory implements OpenapiAsyncapiStreamF
 {
     private static final int UNKNOWN_COMPOSITE_RESOLVED_ID = -1;
     private static final OctetsFW EMPTY_OCTETS = new OctetsFW().wrap(new UnsafeBuffer(), 0, 0);
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
@@ -514,7 +516,7 @@ public final class OpenapiAsyncapiProxyFactory implements OpenapiAsyncapiStreamF
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -751,7 +753,7 @@ public final class OpenapiAsyncapiProxyFactory implements OpenapiAsyncapiStreamF
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
@@ -1407,7 +1409,7 @@ public final class OpenapiAsyncapiProxyFactory implements OpenapiAsyncapiStreamF
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
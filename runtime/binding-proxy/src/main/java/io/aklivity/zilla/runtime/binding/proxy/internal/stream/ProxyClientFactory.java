@@ -52,6 +52,7 @@ import io.aklivity.zilla.runtime.binding.proxy.internal.types.ProxySecureInfoFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.codec.ProxyTlvFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.ChallengeFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.EndFW;
@@ -69,6 +70,7 @@ public final class ProxyClientFactory implements ProxyStreamFactory
 {
     private static final InetAddress INET4_ANY_LOCAL_ADDRESS = getInetAddressByAddress(new byte[4]);
     private static final InetAddress INET6_ANY_LOCAL_ADDRESS = getInetAddressByAddress(new byte[16]);
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final DirectBuffer HEADER_V2 = new UnsafeBuffer("\r\n\r\n\0\r\nQUIT\n".getBytes(US_ASCII));
 
@@ -324,7 +326,7 @@ public final class ProxyClientFactory implements ProxyStreamFactory
             final long budgetId = window.budgetId();
             final int padding = window.padding();
             final int minimum = window.minimum();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -613,7 +615,7 @@ public final class ProxyClientFactory implements ProxyStreamFactory
             final long authorization = window.authorization();
             final long budgetId = window.budgetId();
             final int minimum = window.minimum();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
             final int padding = window.padding();
 
             assert acknowledge <= sequence;
@@ -46,6 +46,7 @@ import io.aklivity.zilla.runtime.binding.proxy.internal.types.codec.ProxyTlvFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.codec.ProxyTlvSslFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.ChallengeFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.proxy.internal.types.stream.EndFW;
@@ -65,6 +66,7 @@ public final class ProxyServerFactory implements ProxyStreamFactory
     private static final int HEADER_V2_SIZE = HEADER_V2.capacity();
     private static final DirectBuffer EMPTY_BUFFER = new UnsafeBuffer(0, 0);
     private static final OctetsFW EMPTY_OCTETS = new OctetsFW().wrap(EMPTY_BUFFER, 0, 0);
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final int PROXY_ADDRESS_LENGTH_INET4 = 12;
     private static final int PROXY_ADDRESS_LENGTH_INET6 = 36;
@@ -429,7 +431,7 @@ public final class ProxyServerFactory implements ProxyStreamFactory
             final long budgetId = window.budgetId();
             final int padding = window.padding();
             final int minimum = window.minimum();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             state = ProxyState.openedReply(state);
 
@@ -866,7 +868,7 @@ public final class ProxyServerFactory implements ProxyStreamFactory
             final long budgetId = window.budgetId();
             final int padding = window.padding();
             final int minimum = window.minimum();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             state = ProxyState.openedInitial(state);
 
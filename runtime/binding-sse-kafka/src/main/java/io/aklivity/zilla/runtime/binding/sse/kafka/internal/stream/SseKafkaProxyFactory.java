@@ -37,6 +37,7 @@ import io.aklivity.zilla.runtime.binding.sse.kafka.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.binding.sse.kafka.internal.types.String8FW;
 import io.aklivity.zilla.runtime.binding.sse.kafka.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.sse.kafka.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.sse.kafka.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.sse.kafka.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.sse.kafka.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.sse.kafka.internal.types.stream.ExtensionFW;
@@ -59,6 +60,7 @@ public final class SseKafkaProxyFactory implements SseKafkaStreamFactory
     private static final int INIT_FLAG = 0x02;
     private static final String SSE_TYPE_NAME = "sse";
     private static final String KAFKA_TYPE_NAME = "kafka";
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private static final String8FW EVENT_TYPE_MESSAGE = new String8FW(null);
     private static final String8FW EVENT_TYPE_DELETE = new String8FW("delete");
@@ -366,7 +368,7 @@ public final class SseKafkaProxyFactory implements SseKafkaStreamFactory
             final long authorization = window.authorization();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert sequence <= replySeq;
@@ -759,7 +761,7 @@ public final class SseKafkaProxyFactory implements SseKafkaStreamFactory
             final long traceId = window.traceId();
             final long budgetId = window.budgetId();
             final int padding = window.padding();
-            final int capabilities = window.capabilities();
+            final int capabilities = window.capabilities() & ~CAPABILITY_REFERENCE_MASK;
 
             assert acknowledge <= sequence;
             assert acknowledge >= delegate.initialAck;
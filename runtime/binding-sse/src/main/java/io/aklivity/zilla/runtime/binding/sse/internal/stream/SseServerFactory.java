@@ -112,6 +112,7 @@ public final class SseServerFactory implements SseStreamFactory
             3;          // \n for data:, id:, event
 
     private static final int CHALLENGE_CAPABILITIES_MASK = 1 << Capability.CHALLENGE.ordinal();
+    private static final int REFERENCE_CAPABILITIES_MASK = 1 << Capability.REFERENCE.ordinal();
 
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
@@ -1172,7 +1173,7 @@ public final class SseServerFactory implements SseStreamFactory
                 final long traceId = window.traceId();
                 final long budgetId = window.budgetId();
                 final int padding = window.padding();
-                final int capabilities = window.capabilities() | CHALLENGE_CAPABILITIES_MASK;
+                final int capabilities = (window.capabilities() & ~REFERENCE_CAPABILITIES_MASK) | CHALLENGE_CAPABILITIES_MASK;
 
                 assert acknowledge <= sequence;
                 assert acknowledge >= initialAck;
@@ -20,6 +20,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import io.aklivity.zilla.runtime.binding.tcp.internal.config.TcpServerBindingConfig;
+import io.aklivity.zilla.runtime.binding.tcp.internal.stream.TcpAcceptBalancer;
+import io.aklivity.zilla.runtime.engine.EngineConfiguration;
 import io.aklivity.zilla.runtime.engine.EngineContext;
 import io.aklivity.zilla.runtime.engine.binding.Binding;
 import io.aklivity.zilla.runtime.engine.binding.BindingContext;
@@ -32,12 +34,16 @@ public final class TcpBinding implements Binding
 
     private final TcpConfiguration config;
     private final ConcurrentMap<Long, TcpServerBindingConfig> servers;
+    private final TcpAcceptBalancer balancer;
 
     TcpBinding(
         TcpConfiguration config)
     {
         this.config = config;
         this.servers = new ConcurrentHashMap<>();
+        this.balancer = config.acceptBalance()
+            ? new TcpAcceptBalancer(new EngineConfiguration(config).workers(), config.acceptBalanceSlack())
+            : null;
     }
 
     @Override
@@ -56,7 +62,7 @@ public final class TcpBinding implements Binding
     public BindingContext supply(
         EngineContext context)
     {
-        return new TcpBindingContext(config, context, this::supplyServer);
+        return new TcpBindingContext(config, context, this::supplyServer, balancer);
     }
 
     private TcpServerBindingConfig supplyServer(
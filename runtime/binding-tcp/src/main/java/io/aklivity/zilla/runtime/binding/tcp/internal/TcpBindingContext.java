@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.function.LongFunction;
 
 import io.aklivity.zilla.runtime.binding.tcp.internal.config.TcpServerBindingConfig;
+import io.aklivity.zilla.runtime.binding.tcp.internal.stream.TcpAcceptBalancer;
 import io.aklivity.zilla.runtime.binding.tcp.internal.stream.TcpClientFactory;
 import io.aklivity.zilla.runtime.binding.tcp.internal.stream.TcpServerFactory;
 import io.aklivity.zilla.runtime.binding.tcp.internal.stream.TcpStreamFactory;
@@ -39,10 +40,11 @@ final class TcpBindingContext implements BindingContext
     TcpBindingContext(
         TcpConfiguration config,
         EngineContext context,
-        LongFunction<TcpServerBindingConfig> servers)
+        LongFunction<TcpServerBindingConfig> servers,
+        TcpAcceptBalancer balancer)
     {
         Map<KindConfig, TcpStreamFactory> factories = new EnumMap<>(KindConfig.class);
-        factories.put(SERVER, new TcpServerFactory(config, context, servers));
+        factories.put(SERVER, new TcpServerFactory(config, context, servers, balancer));
         factories.put(CLIENT, new TcpClientFactory(config, context));
 
         this.factories = factories;
@@ -21,6 +21,10 @@ public class TcpConfiguration extends Configuration
 {
     public static final IntPropertyDef TCP_WINDOW_THRESHOLD;
     public static final IntPropertyDef TCP_MAX_CONNECTIONS;
+    public static final BooleanPropertyDef TCP_ACCEPT_BALANCE;
+    public static final IntPropertyDef TCP_ACCEPT_BALANCE_SLACK;
+    public static final LongPropertyDef TCP_ACCEPT_BALANCE_DEFER_MILLIS;
+    public static final BooleanPropertyDef TCP_PAYLOAD_REFERENCE;
 
     private static final ConfigurationDef TCP_CONFIG;
 
@@ -29,6 +33,10 @@ public class TcpConfiguration extends Configuration
         ConfigurationDef config = new ConfigurationDef("zilla.binding.tcp");
         TCP_WINDOW_THRESHOLD = config.property("window.threshold", 0);
         TCP_MAX_CONNECTIONS = config.property("max.connections", Integer.MAX_VALUE);
+        TCP_ACCEPT_BALANCE = config.property("accept.balance", false);
+        TCP_ACCEPT_BALANCE_SLACK = config.property("accept.balance.slack", 8);
+        TCP_ACCEPT_BALANCE_DEFER_MILLIS = config.property("accept.balance.defer.millis", 10L);
+        TCP_PAYLOAD_REFERENCE = config.property("payload.reference", false);
         TCP_CONFIG = config;
     }
 
@@ -49,4 +57,24 @@ public class TcpConfiguration extends Configuration
     {
         return TCP_MAX_CONNECTIONS.getAsInt(this);
     }
+
+    public boolean acceptBalance()
+    {
+        return TCP_ACCEPT_BALANCE.getAsBoolean(this);
+    }
+
+    public int acceptBalanceSlack()
+    {
+        return TCP_ACCEPT_BALANCE_SLACK.getAsInt(this);
+    }
+
+    public long acceptBalanceDeferMillis()
+    {
+        return TCP_ACCEPT_BALANCE_DEFER_MILLIS.getAsLong(this);
+    }
+
+    public boolean payloadReference()
+    {
+        return TCP_PAYLOAD_REFERENCE.getAsBoolean(this);
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.tcp.internal;
+
+import static io.aklivity.zilla.runtime.engine.metrics.MetricContext.Direction.RECEIVED;
+
+import java.util.function.LongConsumer;
+
+import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricContext;
+
+public final class TcpConnectionsMetric implements Metric
+{
+    @Override
+    public String name()
+    {
+        return TcpMetricGroup.CONNECTIONS;
+    }
+
+    @Override
+    public Kind kind()
+    {
+        return Kind.GAUGE;
+    }
+
+    @Override
+    public Unit unit()
+    {
+        return Unit.COUNT;
+    }
+
+    @Override
+    public String description()
+    {
+        return "Number of accepted tcp connections";
+    }
+
+    @Override
+    public MetricContext supply(
+        EngineContext context)
+    {
+        return new TcpConnectionsMetricContext();
+    }
+
+    private final class TcpConnectionsMetricContext implements MetricContext
+    {
+        @Override
+        public String group()
+        {
+            return TcpMetricGroup.NAME;
+        }
+
+        @Override
+        public Kind kind()
+        {
+            return TcpConnectionsMetric.this.kind();
+        }
+
+        @Override
+        public Direction direction()
+        {
+            return RECEIVED;
+        }
+
+        @Override
+        public MessageConsumer supply(
+            LongConsumer recorder)
+        {
+            // recorded by the tcp server router on accept and close, not observed from frames
+            return MessageConsumer.NOOP;
+        }
+    }
+}
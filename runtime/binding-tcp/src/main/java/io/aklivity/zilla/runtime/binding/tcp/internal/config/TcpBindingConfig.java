@@ -59,6 +59,11 @@ public final class TcpBindingConfig
         return detached;
     }
 
+    public PollerKey[] attached()
+    {
+        return attached;
+    }
+
     public TcpRouteConfig resolve(
         InetSocketAddress address)
     {
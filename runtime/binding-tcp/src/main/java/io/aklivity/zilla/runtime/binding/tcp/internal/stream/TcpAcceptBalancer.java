@@ -0,0 +1,102 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.tcp.internal.stream;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Load published by each worker accepting connections on the shared tcp server channels.
+ * <p>
+ * Every worker registers interest in the same listening channels, so a pending connection wakes all of them
+ * and whichever calls accept first wins. A worker publishes its load as active connections plus acquired
+ * buffer slots, and backs off from accepting while it is more than {@code slack} ahead of the least loaded
+ * accepting worker, leaving the connection to be accepted by a less loaded worker instead. Accepts by any
+ * worker are counted, so a backed off worker can tell when no other worker is taking pending connections
+ * and accept them itself after a bounded delay.
+ */
+public final class TcpAcceptBalancer
+{
+    private final int slack;
+    private final AtomicLongArray loads;
+    private final AtomicLongArray accepting;
+    private final AtomicLong accepts;
+
+    public TcpAcceptBalancer(
+        int workers,
+        int slack)
+    {
+        this.slack = slack;
+        this.loads = new AtomicLongArray(workers);
+        this.accepting = new AtomicLongArray((workers + Long.SIZE - 1) / Long.SIZE);
+        this.accepts = new AtomicLong();
+    }
+
+    public void register(
+        int index)
+    {
+        final long mask = 1L << index;
+        accepting.getAndUpdate(index / Long.SIZE, a -> a | mask);
+    }
+
+    public void unregister(
+        int index)
+    {
+        final long mask = 1L << index;
+        accepting.getAndUpdate(index / Long.SIZE, a -> a & ~mask);
+    }
+
+    public void publish(
+        int index,
+        long load)
+    {
+        loads.lazySet(index, load);
+    }
+
+    public void recordAccept()
+    {
+        accepts.incrementAndGet();
+    }
+
+    public long accepts()
+    {
+        return accepts.get();
+    }
+
+    public boolean accept(
+        int index)
+    {
+        final long load = loads.get(index);
+
+        long minLoad = Long.MAX_VALUE;
+        for (int word = 0; word < accepting.length(); word++)
+        {
+            long others = accepting.get(word);
+            if (word == index / Long.SIZE)
+            {
+                others &= ~(1L << index);
+            }
+
+            for (; others != 0L; others &= others - 1L)
+            {
+                final int other = word * Long.SIZE + Long.numberOfTrailingZeros(others);
+                minLoad = Math.min(minLoad, loads.get(other));
+            }
+        }
+
+        return minLoad == Long.MAX_VALUE || load <= minLoad + slack;
+    }
+}
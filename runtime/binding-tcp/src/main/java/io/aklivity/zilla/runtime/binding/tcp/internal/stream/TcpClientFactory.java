@@ -27,12 +27,15 @@ import static java.nio.channels.SelectionKey.OP_WRITE;
 import static org.agrona.LangUtil.rethrowUnchecked;
 
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SocketChannel;
 import java.nio.channels.UnresolvedAddressException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
 import java.util.function.LongUnaryOperator;
@@ -40,6 +43,7 @@ import java.util.function.LongUnaryOperator;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Object2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 
 import io.aklivity.zilla.runtime.binding.tcp.config.TcpOptionsConfig;
@@ -54,6 +58,7 @@ import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.ExtensionFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.ProxyBeginExFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.ResetFW;
+import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.SignalFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.WindowFW;
 import io.aklivity.zilla.runtime.engine.EngineContext;
 import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
@@ -63,6 +68,8 @@ import io.aklivity.zilla.runtime.engine.poller.PollerKey;
 
 public class TcpClientFactory implements TcpStreamFactory
 {
+    private static final int SIGNAL_HOST_RESOLVED = 1;
+
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
     private final EndFW endRO = new EndFW();
@@ -70,6 +77,7 @@ public class TcpClientFactory implements TcpStreamFactory
 
     private final ResetFW resetRO = new ResetFW();
     private final WindowFW windowRO = new WindowFW();
+    private final SignalFW signalRO = new SignalFW();
 
     private final BeginFW.Builder beginRW = new BeginFW.Builder();
     private final DataFW.Builder dataRW = new DataFW.Builder();
@@ -83,6 +91,7 @@ public class TcpClientFactory implements TcpStreamFactory
     private final ProxyBeginExFW beginExRO = new ProxyBeginExFW();
     private final ProxyBeginExFW.Builder beginExRW = new ProxyBeginExFW.Builder();
 
+    private final EngineContext context;
     private final TcpClientRouter router;
     private final BufferPool bufferPool;
     private final ByteBuffer readByteBuffer;
@@ -100,6 +109,7 @@ public class TcpClientFactory implements TcpStreamFactory
         TcpConfiguration config,
         EngineContext context)
     {
+        this.context = context;
         this.router = new TcpClientRouter(context);
         this.writeBuffer = context.writeBuffer();
         this.writeByteBuffer = ByteBuffer.allocateDirect(writeBuffer.capacity()).order(nativeOrder());
@@ -166,6 +176,15 @@ public class TcpClientFactory implements TcpStreamFactory
             client.doNetConnect(route, binding.options);
             newStream = client::onAppMessage;
         }
+        else if (router.pendingHost() != null)
+        {
+            final long initialId = begin.streamId();
+            final SocketChannel channel = newSocketChannel();
+
+            final TcpClient client = new TcpClient(application, originId, routedId, initialId, channel);
+            client.doNetResolve(binding, authorization, beginEx, traceId);
+            newStream = client::onAppMessage;
+        }
 
         return newStream;
     }
@@ -220,6 +239,11 @@ public class TcpClientFactory implements TcpStreamFactory
 
         private PollerKey networkKey;
 
+        private TcpBindingConfig binding;
+        private long authorization;
+        private ProxyBeginExFW beginEx;
+        private Map<String, CompletableFuture<InetAddress[]>> resolutions;
+
         private long replySeq;
         private long replyAck;
         private long replyBudgetId;
@@ -249,6 +273,68 @@ public class TcpClientFactory implements TcpStreamFactory
             this.net = net;
         }
 
+        private void doNetResolve(
+            TcpBindingConfig binding,
+            long authorization,
+            ProxyBeginExFW beginEx,
+            long traceId)
+        {
+            state = TcpState.openingInitial(state);
+
+            this.binding = binding;
+            this.authorization = authorization;
+
+            if (beginEx != null)
+            {
+                final MutableDirectBuffer buffer = new UnsafeBuffer(new byte[beginEx.sizeof()]);
+                buffer.putBytes(0, beginEx.buffer(), beginEx.offset(), beginEx.sizeof());
+                this.beginEx = new ProxyBeginExFW().wrap(buffer, 0, buffer.capacity());
+            }
+
+            this.resolutions = new Object2ObjectHashMap<>();
+
+            doNetResolve(router.pendingHost(), traceId);
+        }
+
+        private void doNetResolve(
+            String host,
+            long traceId)
+        {
+            final CompletableFuture<InetAddress[]> resolution =
+                context.resolveHost(host, originId, routedId, replyId, traceId, SIGNAL_HOST_RESOLVED, 0);
+            resolutions.put(host, resolution);
+        }
+
+        private void onNetResolved(
+            long traceId)
+        {
+            if (net.isOpen())
+            {
+                final InetSocketAddress route = router.resolve(binding, traceId, authorization, beginEx, this::lookupHost);
+
+                if (route != null)
+                {
+                    doNetConnect(route, binding.options);
+                }
+                else if (router.pendingHost() != null)
+                {
+                    doNetResolve(router.pendingHost(), traceId);
+                }
+                else
+                {
+                    cleanup(traceId);
+                }
+            }
+        }
+
+        private InetAddress[] lookupHost(
+            String host)
+        {
+            // resolved results are delivered with the signal, independent of the cache ttl
+            final CompletableFuture<InetAddress[]> resolution = resolutions.get(host);
+            return resolution != null ? resolution.join() : context.lookupHost(host);
+        }
+
         private void doNetConnect(
             InetSocketAddress remoteAddress,
             TcpOptionsConfig options)
@@ -462,7 +548,11 @@ public class TcpClientFactory implements TcpStreamFactory
 
             try
             {
-                if (net.isConnectionPending())
+                if (networkKey == null)
+                {
+                    closeNet(net);
+                }
+                else if (net.isConnectionPending())
                 {
                     networkKey.clear(OP_CONNECT);
                     closeNet(net);
@@ -526,6 +616,24 @@ public class TcpClientFactory implements TcpStreamFactory
                 final WindowFW window = windowRO.wrap(buffer, index, index + length);
                 onAppWindow(window);
                 break;
+            case SignalFW.TYPE_ID:
+                final SignalFW signal = signalRO.wrap(buffer, index, index + length);
+                onAppSignal(signal);
+                break;
+            }
+        }
+
+        private void onAppSignal(
+            SignalFW signal)
+        {
+            final long traceId = signal.traceId();
+            final int signalId = signal.signalId();
+
+            switch (signalId)
+            {
+            case SIGNAL_HOST_RESOLVED:
+                onNetResolved(traceId);
+                break;
             }
         }
 
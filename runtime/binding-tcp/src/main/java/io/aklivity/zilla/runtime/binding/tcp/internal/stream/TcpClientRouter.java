@@ -48,14 +48,17 @@ public final class TcpClientRouter
     private final byte[] ipv4RO = new byte[4];
     private final byte[] ipv6ros = new byte[16];
 
-    private final Function<String, InetAddress[]> resolveHost;
+    private final Function<String, InetAddress[]> lookupHost;
     private final Long2ObjectHashMap<TcpBindingConfig> bindings;
     private final TcpEventContext event;
 
+    private Function<String, InetAddress[]> lookup;
+    private String pendingHost;
+
     public TcpClientRouter(
         EngineContext context)
     {
-        this.resolveHost = context::resolveHost;
+        this.lookupHost = context::lookupHost;
         this.bindings = new Long2ObjectHashMap<>();
         this.event = new TcpEventContext(context);
     }
@@ -77,11 +80,23 @@ public final class TcpClientRouter
         long traceId,
         long authorization,
         ProxyBeginExFW beginEx)
+    {
+        return resolve(binding, traceId, authorization, beginEx, lookupHost);
+    }
+
+    public InetSocketAddress resolve(
+        TcpBindingConfig binding,
+        long traceId,
+        long authorization,
+        ProxyBeginExFW beginEx,
+        Function<String, InetAddress[]> lookupHost)
     {
         final TcpOptionsConfig options = binding.options;
         final int port = options != null && options.ports != null && options.ports.length > 0 ? options.ports[0] : 0;
 
         InetSocketAddress resolved = null;
+        lookup = lookupHost;
+        pendingHost = null;
 
         try
         {
@@ -110,8 +125,14 @@ public final class TcpClientRouter
                     ProxyInfoFW authorityInfo = infos.matchFirst(i -> i.kind() == AUTHORITY);
                     if (authorityInfo != null && route.matchesExplicit(r -> r.authority != null))
                     {
+                        final InetAddress[] addresses = resolveHost(authorityInfo.authority().asString());
+                        if (addresses == null)
+                        {
+                            break;
+                        }
+
                         final List<InetSocketAddress> authorities = Arrays
-                            .stream(resolveHost(authorityInfo.authority().asString()))
+                            .stream(addresses)
                             .map(a -> new InetSocketAddress(a, port))
                             .collect(Collectors.toList());
 
@@ -130,24 +151,30 @@ public final class TcpClientRouter
                         resolved = resolve(address, authorization, route::matchesExplicit);
                     }
 
-                    if (resolved != null)
+                    if (resolved != null || pendingHost != null)
                     {
                         break;
                     }
                 }
 
                 if (resolved == null &&
+                    pendingHost == null &&
                     options != null &&
                     options.host != null &&
                     !"*".equals(options.host))
                 {
-                    final List<InetSocketAddress> host = Arrays
-                        .stream(resolveHost(options.host))
-                        .map(a -> new InetSocketAddress(a, port))
-                        .collect(Collectors.toList());
+                    final InetAddress[] addresses = resolveHost(options.host);
+                    final List<InetSocketAddress> host = addresses != null
+                        ? Arrays.stream(addresses).map(a -> new InetSocketAddress(a, port)).collect(Collectors.toList())
+                        : List.of();
 
                     for (TcpRouteConfig route : binding.routes)
                     {
+                        if (pendingHost != null)
+                        {
+                            break;
+                        }
+
                         if (!route.authorized(authorization))
                         {
                             continue;
@@ -155,7 +182,7 @@ public final class TcpClientRouter
 
                         resolved = resolve(address, authorization, host::contains);
 
-                        if (resolved != null)
+                        if (resolved != null || pendingHost != null)
                         {
                             break;
                         }
@@ -170,17 +197,31 @@ public final class TcpClientRouter
         return resolved;
     }
 
+    public String pendingHost()
+    {
+        return pendingHost;
+    }
+
     private InetAddress[] resolveHost(
         String hostname)
     {
+        InetAddress[] addresses;
+
         try
         {
-            return resolveHost.apply(hostname);
+            addresses = lookup.apply(hostname);
         }
         catch (Throwable ex)
         {
             throw new TcpDnsFailedException(ex, hostname);
         }
+
+        if (addresses == null && pendingHost == null)
+        {
+            pendingHost = hostname;
+        }
+
+        return addresses;
     }
 
     public void detach(
@@ -234,12 +275,16 @@ public final class TcpClientRouter
         ProxyAddressInetFW address,
         Predicate<? super InetSocketAddress> filter)
     {
-        return Arrays
-                .stream(resolveHost.apply(address.destination().asString()))
-                .map(a -> new InetSocketAddress(a, address.destinationPort()))
-                .filter(filter)
-                .findFirst()
-                .orElse(null);
+        final InetAddress[] addresses = resolveHost(address.destination().asString());
+
+        return addresses != null
+                ? Arrays
+                    .stream(addresses)
+                    .map(a -> new InetSocketAddress(a, address.destinationPort()))
+                    .filter(filter)
+                    .findFirst()
+                    .orElse(null)
+                : null;
     }
 
     private InetSocketAddress resolveInet4(
@@ -285,7 +330,8 @@ public final class TcpClientRouter
             {
             case INET:
                 ProxyAddressInetFW addressInet = address.inet();
-                resolved = new InetSocketAddress(addressInet.destination().asString(), addressInet.destinationPort());
+                InetAddress[] addresses = resolveHost(addressInet.destination().asString());
+                resolved = addresses != null ? new InetSocketAddress(addresses[0], addressInet.destinationPort()) : null;
                 break;
             case INET4:
                 ProxyAddressInet4FW addressInet4 = address.inet4();
@@ -52,8 +52,10 @@ import io.aklivity.zilla.runtime.binding.tcp.internal.types.Flyweight;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.BeginFW;
+import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.Capability;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.EndFW;
+import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.PayloadReferenceFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.ProxyBeginExFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.ResetFW;
 import io.aklivity.zilla.runtime.binding.tcp.internal.types.stream.WindowFW;
@@ -66,6 +68,10 @@ import io.aklivity.zilla.runtime.engine.poller.PollerKey;
 
 public class TcpServerFactory implements TcpStreamFactory
 {
+    private static final int FLAGS_COMPLETE = 0x03;
+    private static final int FLAG_REFERENCE = 0x10;
+    private static final int CAPABILITY_REFERENCE_MASK = 1 << Capability.REFERENCE.ordinal();
+
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
     private final EndFW endRO = new EndFW();
@@ -73,6 +79,7 @@ public class TcpServerFactory implements TcpStreamFactory
 
     private final ResetFW resetRO = new ResetFW();
     private final WindowFW windowRO = new WindowFW();
+    private final PayloadReferenceFW referenceRO = new PayloadReferenceFW();
 
     private final BeginFW.Builder beginRW = new BeginFW.Builder();
     private final DataFW.Builder dataRW = new DataFW.Builder();
@@ -81,6 +88,7 @@ public class TcpServerFactory implements TcpStreamFactory
 
     private final ResetFW.Builder resetRW = new ResetFW.Builder();
     private final WindowFW.Builder windowRW = new WindowFW.Builder();
+    private final PayloadReferenceFW.Builder referenceRW = new PayloadReferenceFW.Builder();
 
     private final ProxyBeginExFW.Builder beginExRW = new ProxyBeginExFW.Builder();
 
@@ -94,19 +102,23 @@ public class TcpServerFactory implements TcpStreamFactory
     private final BufferPool bufferPool;
     private final ByteBuffer readByteBuffer;
     private final MutableDirectBuffer readBuffer;
+    private final MutableDirectBuffer referenceBuffer;
+    private final UnsafeBuffer referencePayload;
     private final MutableDirectBuffer writeBuffer;
     private final ByteBuffer writeByteBuffer;
     private final int replyMax;
     private final int windowThreshold;
+    private final int referenceCapabilities;
     private final int proxyTypeId;
     private final BindingHandler streamFactory;
 
     public TcpServerFactory(
         TcpConfiguration config,
         EngineContext context,
-        LongFunction<TcpServerBindingConfig> servers)
+        LongFunction<TcpServerBindingConfig> servers,
+        TcpAcceptBalancer balancer)
     {
-        this.router = new TcpServerRouter(config, context, this::handleAccept, servers);
+        this.router = new TcpServerRouter(config, context, this::handleAccept, servers, balancer);
         this.writeBuffer = context.writeBuffer();
         this.writeByteBuffer = ByteBuffer.allocateDirect(writeBuffer.capacity()).order(nativeOrder());
         this.bufferPool = context.bufferPool();
@@ -120,8 +132,11 @@ public class TcpServerFactory implements TcpStreamFactory
         final int readBufferSize = writeBuffer.capacity() - DataFW.FIELD_OFFSET_PAYLOAD;
         this.readByteBuffer = ByteBuffer.allocateDirect(readBufferSize).order(nativeOrder());
         this.readBuffer = new UnsafeBuffer(readByteBuffer);
+        this.referenceBuffer = new UnsafeBuffer(new byte[3 * Integer.BYTES]);
+        this.referencePayload = new UnsafeBuffer(0L, 0);
         this.replyMax = bufferPool.slotCapacity();
         this.windowThreshold = (bufferPool.slotCapacity() * config.windowThreshold()) / 100;
+        this.referenceCapabilities = config.payloadReference() ? CAPABILITY_REFERENCE_MASK : 0;
     }
 
     @Override
@@ -152,7 +167,7 @@ public class TcpServerFactory implements TcpStreamFactory
         BindingConfig binding)
     {
         TcpBindingConfig tcpBinding = new TcpBindingConfig(binding);
-        router.attach(tcpBinding);
+        router.attach(tcpBinding, binding.metricIds);
     }
 
     @Override
@@ -172,7 +187,9 @@ public class TcpServerFactory implements TcpStreamFactory
 
             ServerSocketChannel server = (ServerSocketChannel) acceptKey.channel();
 
-            for (SocketChannel channel = router.accept(server); channel != null; channel = router.accept(server))
+            for (SocketChannel channel = router.accept(binding.id, server);
+                channel != null;
+                channel = router.accept(binding.id, server))
             {
                 channel.configureBlocking(false);
                 channel.setOption(TCP_NODELAY, options.nodelay);
@@ -205,14 +222,15 @@ public class TcpServerFactory implements TcpStreamFactory
         }
         else
         {
-            closeNet(network);
+            closeNet(binding.id, network);
         }
     }
 
     private void closeNet(
+        long bindingId,
         SocketChannel network)
     {
-        router.close(network);
+        router.close(bindingId, network);
     }
 
     private final class TcpServer
@@ -231,6 +249,7 @@ public class TcpServerFactory implements TcpStreamFactory
         private int initialMax;
         private long initialBudgetId;
         private int initialPad;
+        private int initialCap;
 
         private long replySeq;
         private long replyAck;
@@ -276,14 +295,28 @@ public class TcpServerFactory implements TcpStreamFactory
 
             final int initialNoAck = (int)(initialSeq - initialAck);
             final int initialBudget = Math.max(initialMax - initialPad - initialNoAck, 0);
-            final int limit = Math.min(initialBudget, readBuffer.capacity());
 
-            ((Buffer) readByteBuffer).position(0);
-            ((Buffer) readByteBuffer).limit(limit);
+            int readSlot = (initialCap & referenceCapabilities) != 0 ? bufferPool.acquire(initialId) : NO_SLOT;
+
+            final ByteBuffer byteBuffer;
+            if (readSlot != NO_SLOT)
+            {
+                // bounded by inline capacity, so the payload can still be materialized across workers
+                final int limit = Math.min(initialBudget, Math.min(bufferPool.slotCapacity(), readBuffer.capacity()));
+                byteBuffer = bufferPool.byteBuffer(readSlot);
+                ((Buffer) byteBuffer).limit(byteBuffer.position() + limit);
+            }
+            else
+            {
+                final int limit = Math.min(initialBudget, readBuffer.capacity());
+                byteBuffer = readByteBuffer;
+                ((Buffer) byteBuffer).position(0);
+                ((Buffer) byteBuffer).limit(limit);
+            }
 
             try
             {
-                final int bytesRead = net.read(readByteBuffer);
+                final int bytesRead = net.read(byteBuffer);
 
                 if (bytesRead == -1)
                 {
@@ -294,9 +327,14 @@ public class TcpServerFactory implements TcpStreamFactory
 
                     if (net.socket().isOutputShutdown())
                     {
-                        closeNet(net);
+                        closeNet(originId, net);
                     }
                 }
+                else if (bytesRead != 0 && readSlot != NO_SLOT)
+                {
+                    doAppData(readSlot, bytesRead);
+                    readSlot = NO_SLOT;
+                }
                 else if (bytesRead != 0)
                 {
                     doAppData(readBuffer, 0, bytesRead);
@@ -307,6 +345,11 @@ public class TcpServerFactory implements TcpStreamFactory
                 cleanup(supplyTraceId.getAsLong());
             }
 
+            if (readSlot != NO_SLOT)
+            {
+                bufferPool.release(readSlot);
+            }
+
             return 1;
         }
 
@@ -408,7 +451,7 @@ public class TcpServerFactory implements TcpStreamFactory
 
                 if (net.socket().isInputShutdown())
                 {
-                    closeNet(net);
+                    closeNet(originId, net);
                 }
             }
             catch (IOException ex)
@@ -479,6 +522,7 @@ public class TcpServerFactory implements TcpStreamFactory
             final long sequence = data.sequence();
             final long acknowledge = data.acknowledge();
             final long traceId = data.traceId();
+            final int flags = data.flags();
             final int reserved = data.reserved();
 
             assert acknowledge <= sequence;
@@ -489,50 +533,91 @@ public class TcpServerFactory implements TcpStreamFactory
 
             assert replyAck <= replySeq;
 
+            final OctetsFW payload = data.payload();
+            final int referenceSlot = (flags & FLAG_REFERENCE) != 0
+                    ? referenceRO.wrap(payload.buffer(), payload.offset(), payload.limit()).slot()
+                    : NO_SLOT;
+
             if (replySeq > replyAck + replyMax)
             {
                 doAppReset(traceId);
                 cleanup(traceId, true);
             }
-            else
+            else if (referenceSlot != NO_SLOT)
             {
-                final OctetsFW payload = data.payload();
-
-                DirectBuffer buffer = payload.buffer();
-                int offset = payload.offset();
-                int length = payload.sizeof();
+                final PayloadReferenceFW reference = referenceRO;
+                final int offset = reference.offset$();
+                final int length = reference.length();
 
                 assert reserved == length;
                 assert length > 0;
 
-                ByteBuffer byteBuffer;
+                referencePayload.wrap(bufferPool.buffer(referenceSlot), offset, length);
 
                 if (writeSlot != NO_SLOT)
                 {
-                    final MutableDirectBuffer slotBuffer = bufferPool.buffer(writeSlot);
-                    slotBuffer.putBytes(writeSlotOffset, buffer, offset, length);
-                    writeSlotOffset += length;
-
-                    final ByteBuffer slotByteBuffer = bufferPool.byteBuffer(writeSlot);
-                    slotByteBuffer.limit(slotByteBuffer.position() + writeSlotOffset);
-
-                    buffer = slotBuffer;
-                    offset = 0;
-                    length = writeSlotOffset;
-                    byteBuffer = slotByteBuffer;
+                    onAppPayload(referencePayload, 0, length, traceId);
                 }
                 else
                 {
-                    writeByteBuffer.clear();
-                    buffer.getBytes(offset, writeByteBuffer, length);
-                    writeByteBuffer.flip();
-                    byteBuffer = writeByteBuffer;
+                    final ByteBuffer byteBuffer = bufferPool.byteBuffer(referenceSlot);
+                    ((Buffer) byteBuffer).position(byteBuffer.position() + offset);
+                    ((Buffer) byteBuffer).limit(byteBuffer.position() + length);
+
+                    doNetWrite(referencePayload, 0, length, byteBuffer, traceId);
                 }
+            }
+            else
+            {
+                DirectBuffer buffer = payload.buffer();
+                int offset = payload.offset();
+                int length = payload.sizeof();
+
+                assert reserved == length;
+                assert length > 0;
 
-                doNetWrite(buffer, offset, length, byteBuffer, traceId);
+                onAppPayload(buffer, offset, length, traceId);
+            }
+
+            if (referenceSlot != NO_SLOT)
+            {
+                bufferPool.release(referenceSlot);
             }
         }
 
+        private void onAppPayload(
+            DirectBuffer buffer,
+            int offset,
+            int length,
+            long traceId)
+        {
+            ByteBuffer byteBuffer;
+
+            if (writeSlot != NO_SLOT)
+            {
+                final MutableDirectBuffer slotBuffer = bufferPool.buffer(writeSlot);
+                slotBuffer.putBytes(writeSlotOffset, buffer, offset, length);
+                writeSlotOffset += length;
+
+                final ByteBuffer slotByteBuffer = bufferPool.byteBuffer(writeSlot);
+                slotByteBuffer.limit(slotByteBuffer.position() + writeSlotOffset);
+
+                buffer = slotBuffer;
+                offset = 0;
+                length = writeSlotOffset;
+                byteBuffer = slotByteBuffer;
+            }
+            else
+            {
+                writeByteBuffer.clear();
+                buffer.getBytes(offset, writeByteBuffer, length);
+                writeByteBuffer.flip();
+                byteBuffer = writeByteBuffer;
+            }
+
+            doNetWrite(buffer, offset, length, byteBuffer, traceId);
+        }
+
         private void onAppEnd(
             EndFW end)
         {
@@ -605,6 +690,7 @@ public class TcpServerFactory implements TcpStreamFactory
             final long budgetId = window.budgetId();
             final int maximum = window.maximum();
             final int padding = window.padding();
+            final int capabilities = window.capabilities();
 
             assert acknowledge <= sequence;
             assert sequence <= initialSeq;
@@ -615,6 +701,7 @@ public class TcpServerFactory implements TcpStreamFactory
             initialMax = maximum;
             initialBudgetId = budgetId;
             initialPad = padding;
+            initialCap = capabilities;
 
             assert initialAck <= initialSeq;
 
@@ -656,7 +743,32 @@ public class TcpServerFactory implements TcpStreamFactory
             final int reserved = length + initialPad;
 
             doData(app, originId, routedId, initialId, initialSeq, initialAck, initialMax, traceId,
-                    initialBudgetId, reserved, buffer, offset, length);
+                    FLAGS_COMPLETE, initialBudgetId, reserved, buffer, offset, length);
+
+            initialSeq += reserved;
+
+            if (initialSeq + initialPad >= initialAck + initialMax)
+            {
+                key.clear(OP_READ);
+            }
+        }
+
+        private void doAppData(
+            int slot,
+            int length)
+        {
+            final long traceId = supplyTraceId.getAsLong();
+            final int reserved = length + initialPad;
+
+            final PayloadReferenceFW reference = referenceRW.wrap(referenceBuffer, 0, referenceBuffer.capacity())
+                    .slot(slot)
+                    .offset$(0)
+                    .length(length)
+                    .build();
+
+            doData(app, originId, routedId, initialId, initialSeq, initialAck, initialMax, traceId,
+                    FLAGS_COMPLETE | FLAG_REFERENCE, initialBudgetId, reserved,
+                    reference.buffer(), reference.offset(), reference.sizeof());
 
             initialSeq += reserved;
 
@@ -676,7 +788,8 @@ public class TcpServerFactory implements TcpStreamFactory
         private void doAppWindow(
             long traceId)
         {
-            doWindow(app, originId, routedId, replyId, replySeq, replyAck, replyMax, traceId, 0, 0);
+            doWindow(app, originId, routedId, replyId, replySeq, replyAck, replyMax, traceId, 0, 0,
+                referenceCapabilities);
         }
 
         private void doAppReset(
@@ -727,7 +840,7 @@ public class TcpServerFactory implements TcpStreamFactory
 
             cleanupWriteSlot();
 
-            closeNet(net);
+            closeNet(originId, net);
         }
 
         private void cleanupWriteSlot()
@@ -784,6 +897,7 @@ public class TcpServerFactory implements TcpStreamFactory
         long acknowledge,
         int maximum,
         long traceId,
+        int flags,
         long budgetId,
         int reserved,
         DirectBuffer payload,
@@ -798,6 +912,7 @@ public class TcpServerFactory implements TcpStreamFactory
                 .acknowledge(acknowledge)
                 .maximum(maximum)
                 .traceId(traceId)
+                .flags(flags)
                 .budgetId(budgetId)
                 .reserved(reserved)
                 .payload(payload, offset, length)
@@ -885,7 +1000,8 @@ public class TcpServerFactory implements TcpStreamFactory
         int maximum,
         long traceId,
         int budgetId,
-        int padding)
+        int padding,
+        int capabilities)
     {
         final WindowFW window = windowRW.wrap(writeBuffer, 0, writeBuffer.capacity())
                 .originId(originId)
@@ -897,6 +1013,7 @@ public class TcpServerFactory implements TcpStreamFactory
                 .traceId(traceId)
                 .budgetId(budgetId)
                 .padding(padding)
+                .capabilities(capabilities)
                 .build();
 
         sender.accept(window.typeId(), window.buffer(), window.offset(), window.sizeof());
@@ -15,14 +15,20 @@
  */
 package io.aklivity.zilla.runtime.binding.tcp.internal.stream;
 
+import static io.aklivity.zilla.runtime.binding.tcp.internal.TcpMetricGroup.CONNECTIONS;
+import static io.aklivity.zilla.runtime.engine.concurrent.Signaler.NO_CANCEL_ID;
 import static io.aklivity.zilla.runtime.engine.config.KindConfig.SERVER;
+import static io.aklivity.zilla.runtime.engine.metrics.Metric.Kind.GAUGE;
 import static java.nio.channels.SelectionKey.OP_ACCEPT;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import java.io.IOException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.LongFunction;
 import java.util.function.ToIntFunction;
 
@@ -33,36 +39,69 @@ import io.aklivity.zilla.runtime.binding.tcp.internal.TcpConfiguration;
 import io.aklivity.zilla.runtime.binding.tcp.internal.config.TcpBindingConfig;
 import io.aklivity.zilla.runtime.binding.tcp.internal.config.TcpServerBindingConfig;
 import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
+import io.aklivity.zilla.runtime.engine.concurrent.Signaler;
 import io.aklivity.zilla.runtime.engine.poller.PollerKey;
 
 public final class TcpServerRouter
 {
+    private static final int SIGNAL_ACCEPT_REARM = 1;
+
     private final Long2ObjectHashMap<TcpBindingConfig> bindings;
     private final ToIntFunction<PollerKey> acceptHandler;
     private final Function<SelectableChannel, PollerKey> supplyPollerKey;
     private final LongFunction<TcpServerBindingConfig> lookupServer;
+    private final Long2ObjectHashMap<LongConsumer> connectionsByBindingId;
+    private final EngineContext context;
+    private final BufferPool bufferPool;
+    private final TcpAcceptBalancer balancer;
+    private final Signaler signaler;
+    private final long maxDeferNanos;
+    private final int index;
 
     private int remainingConnections;
+    private int connections;
+    private boolean deferring;
+    private long deferredAt;
+    private long deferredAccepts;
+    private long rearmId = NO_CANCEL_ID;
+    private int registered;
     private boolean unbound;
 
     public TcpServerRouter(
         TcpConfiguration config,
         EngineContext context,
         ToIntFunction<PollerKey> acceptHandler,
-        LongFunction<TcpServerBindingConfig> lookupServer)
+        LongFunction<TcpServerBindingConfig> lookupServer,
+        TcpAcceptBalancer balancer)
     {
         this.remainingConnections = config.maxConnections();
+        this.maxDeferNanos = MILLISECONDS.toNanos(config.acceptBalanceDeferMillis());
         this.bindings = new Long2ObjectHashMap<>();
+        this.connectionsByBindingId = new Long2ObjectHashMap<>();
         this.supplyPollerKey = context::supplyPollerKey;
         this.acceptHandler = acceptHandler;
         this.lookupServer = lookupServer;
+        this.context = context;
+        this.bufferPool = context.bufferPool();
+        this.balancer = balancer;
+        this.signaler = context.signaler();
+        this.index = context.index();
     }
 
     public void attach(
-        TcpBindingConfig binding)
+        TcpBindingConfig binding,
+        long[] metricIds)
     {
         bindings.put(binding.id, binding);
 
+        // retained after detach, so connections outliving the binding still decrement the gauge
+        final LongConsumer connections = supplyGaugeWriter(binding.id, metricIds, CONNECTIONS);
+        if (connections != null)
+        {
+            connectionsByBindingId.put(binding.id, connections);
+        }
+
         register(binding);
     }
 
@@ -87,17 +126,25 @@ public final class TcpServerRouter
     }
 
     public SocketChannel accept(
+        long bindingId,
         ServerSocketChannel server) throws IOException
     {
         SocketChannel channel = null;
 
-        if (remainingConnections > 0)
+        if (remainingConnections > 0 && balanced())
         {
             channel = server.accept();
 
             if (channel != null)
             {
                 remainingConnections--;
+                connections++;
+                recordConnections(bindingId, 1L);
+
+                if (balancer != null)
+                {
+                    balancer.recordAccept();
+                }
             }
         }
 
@@ -113,10 +160,13 @@ public final class TcpServerRouter
     }
 
     public void close(
+        long bindingId,
         SocketChannel channel)
     {
         CloseHelper.quietClose(channel);
         remainingConnections++;
+        connections--;
+        recordConnections(bindingId, -1L);
 
         if (unbound && remainingConnections > 0)
         {
@@ -144,6 +194,11 @@ public final class TcpServerRouter
         }
 
         binding.attach(acceptKeys);
+
+        if (balancer != null && registered++ == 0)
+        {
+            balancer.register(index);
+        }
     }
 
     private void unregister(
@@ -156,9 +211,128 @@ public final class TcpServerRouter
             {
                 acceptKey.cancel();
             }
+
+            if (balancer != null && --registered == 0)
+            {
+                balancer.unregister(index);
+            }
         }
 
         TcpServerBindingConfig server = lookupServer.apply(binding.id);
         server.unbind();
     }
+
+    private boolean balanced()
+    {
+        boolean balanced = true;
+
+        if (balancer != null)
+        {
+            balancer.publish(index, connections + bufferPool.acquiredSlots());
+            balanced = balancer.accept(index);
+
+            if (!balanced)
+            {
+                final long now = System.nanoTime();
+                final long accepts = balancer.accepts();
+
+                // deferral restarts while less loaded workers keep accepting, otherwise they are not polling
+                if (!deferring || accepts != deferredAccepts)
+                {
+                    deferring = true;
+                    deferredAt = now;
+                    deferredAccepts = accepts;
+                }
+
+                balanced = now - deferredAt >= maxDeferNanos;
+
+                if (!balanced)
+                {
+                    deferAccept(deferredAt + maxDeferNanos - now);
+                }
+            }
+
+            if (balanced)
+            {
+                deferring = false;
+            }
+        }
+
+        return balanced;
+    }
+
+    private void deferAccept(
+        long remainingNanos)
+    {
+        // stop polling for accept while deferring, otherwise the pending connection spins this worker
+        if (rearmId == NO_CANCEL_ID)
+        {
+            for (TcpBindingConfig binding : bindings.values())
+            {
+                final PollerKey[] acceptKeys = binding.attached();
+                if (acceptKeys != null)
+                {
+                    for (PollerKey acceptKey : acceptKeys)
+                    {
+                        acceptKey.clear(OP_ACCEPT);
+                    }
+                }
+            }
+
+            final long rearmAt = System.currentTimeMillis() + NANOSECONDS.toMillis(remainingNanos) + 1L;
+            rearmId = signaler.signalAt(rearmAt, SIGNAL_ACCEPT_REARM, this::onAcceptRearm);
+        }
+    }
+
+    private void onAcceptRearm(
+        int signalId)
+    {
+        rearmId = NO_CANCEL_ID;
+
+        for (TcpBindingConfig binding : bindings.values())
+        {
+            final PollerKey[] acceptKeys = binding.attached();
+            if (acceptKeys != null)
+            {
+                for (PollerKey acceptKey : acceptKeys)
+                {
+                    if (acceptKey.isValid())
+                    {
+                        acceptKey.register(OP_ACCEPT);
+                    }
+                }
+            }
+        }
+    }
+
+    private void recordConnections(
+        long bindingId,
+        long delta)
+    {
+        final LongConsumer connections = connectionsByBindingId.get(bindingId);
+        if (connections != null)
+        {
+            connections.accept(delta);
+        }
+    }
+
+    private LongConsumer supplyGaugeWriter(
+        long bindingId,
+        long[] metricIds,
+        String metricName)
+    {
+        LongConsumer writer = null;
+        if (metricIds != null)
+        {
+            for (long metricId : metricIds)
+            {
+                if (metricName.equals(context.supplyLocalName(metricId)))
+                {
+                    writer = context.supplyMetricWriter(GAUGE, bindingId, metricId);
+                    break;
+                }
+            }
+        }
+        return writer;
+    }
 }
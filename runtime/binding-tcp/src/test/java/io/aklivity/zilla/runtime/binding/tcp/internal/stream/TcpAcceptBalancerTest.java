@@ -0,0 +1,97 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.tcp.internal.stream;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public final class TcpAcceptBalancerTest
+{
+    @Test
+    public void shouldAcceptWhenOnlyWorker() throws Exception
+    {
+        TcpAcceptBalancer balancer = new TcpAcceptBalancer(3, 2);
+        balancer.register(0);
+        balancer.publish(0, 100L);
+
+        assertTrue(balancer.accept(0));
+    }
+
+    @Test
+    public void shouldAcceptWithinSlack() throws Exception
+    {
+        TcpAcceptBalancer balancer = new TcpAcceptBalancer(3, 2);
+        balancer.register(0);
+        balancer.register(1);
+        balancer.publish(0, 12L);
+        balancer.publish(1, 10L);
+
+        assertTrue(balancer.accept(0));
+        assertTrue(balancer.accept(1));
+    }
+
+    @Test
+    public void shouldBackOffWhenMoreLoaded() throws Exception
+    {
+        TcpAcceptBalancer balancer = new TcpAcceptBalancer(3, 2);
+        balancer.register(0);
+        balancer.register(1);
+        balancer.register(2);
+        balancer.publish(0, 13L);
+        balancer.publish(1, 10L);
+        balancer.publish(2, 20L);
+
+        assertFalse(balancer.accept(0));
+        assertTrue(balancer.accept(1));
+        assertFalse(balancer.accept(2));
+    }
+
+    @Test
+    public void shouldIgnoreUnregisteredWorker() throws Exception
+    {
+        TcpAcceptBalancer balancer = new TcpAcceptBalancer(3, 2);
+        balancer.register(0);
+        balancer.register(1);
+        balancer.publish(0, 13L);
+        balancer.publish(1, 10L);
+        balancer.unregister(1);
+
+        assertTrue(balancer.accept(0));
+    }
+
+    @Test
+    public void shouldBalanceBeyondSixtyFourWorkers() throws Exception
+    {
+        TcpAcceptBalancer balancer = new TcpAcceptBalancer(130, 2);
+        balancer.register(0);
+        balancer.register(64);
+        balancer.register(129);
+        balancer.publish(0, 13L);
+        balancer.publish(64, 20L);
+        balancer.publish(129, 10L);
+
+        assertFalse(balancer.accept(0));
+        assertFalse(balancer.accept(64));
+        assertTrue(balancer.accept(129));
+
+        balancer.unregister(129);
+
+        assertTrue(balancer.accept(0));
+        assertFalse(balancer.accept(64));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.tcp.internal.stream;
+
+import static io.aklivity.zilla.runtime.binding.tcp.internal.TcpConfiguration.TCP_ACCEPT_BALANCE_DEFER_MILLIS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Properties;
+import java.util.function.IntConsumer;
+
+import org.jmock.Expectations;
+import org.jmock.integration.junit4.JUnitRuleMockery;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.binding.tcp.internal.TcpConfiguration;
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
+import io.aklivity.zilla.runtime.engine.concurrent.Signaler;
+
+public final class TcpServerRouterTest
+{
+    private static final long BINDING_ID = 1L;
+
+    @Rule
+    public final JUnitRuleMockery mockery = new JUnitRuleMockery();
+
+    @Test
+    public void shouldYieldPendingConnectionToLessLoadedWorker() throws Exception
+    {
+        TcpConfiguration config = newConfiguration(60_000L);
+        TcpAcceptBalancer balancer = new TcpAcceptBalancer(2, 0);
+        TcpServerRouter loaded = newRouter(config, balancer, 0, 4);
+        TcpServerRouter idle = newRouter(config, balancer, 1, 0);
+        balancer.register(0);
+        balancer.register(1);
+
+        try (ServerSocketChannel server = newServer();
+             SocketChannel client = SocketChannel.open(server.getLocalAddress()))
+        {
+            for (int i = 0; i < 1000; i++)
+            {
+                assertNull(loaded.accept(BINDING_ID, server));
+            }
+
+            try (SocketChannel accepted = idle.accept(BINDING_ID, server))
+            {
+                assertNotNull(accepted);
+            }
+        }
+    }
+
+    @Test
+    public void shouldAcceptPendingConnectionWhenLessLoadedWorkerNotAccepting() throws Exception
+    {
+        TcpConfiguration config = newConfiguration(10L);
+        TcpAcceptBalancer balancer = new TcpAcceptBalancer(2, 0);
+        TcpServerRouter loaded = newRouter(config, balancer, 0, 4);
+        balancer.register(0);
+        balancer.register(1);
+
+        try (ServerSocketChannel server = newServer();
+             SocketChannel client = SocketChannel.open(server.getLocalAddress()))
+        {
+            final long deferredAt = System.nanoTime();
+
+            SocketChannel accepted = loaded.accept(BINDING_ID, server);
+            assertNull(accepted);
+
+            while (accepted == null)
+            {
+                accepted = loaded.accept(BINDING_ID, server);
+            }
+
+            try (SocketChannel channel = accepted)
+            {
+                assertTrue(System.nanoTime() - deferredAt >= MILLISECONDS.toNanos(10L));
+            }
+        }
+    }
+
+    @Test
+    public void shouldScheduleAcceptRearmOnceWhileDeferring() throws Exception
+    {
+        TcpConfiguration config = newConfiguration(60_000L);
+        TcpAcceptBalancer balancer = new TcpAcceptBalancer(2, 0);
+        Signaler signaler = mockery.mock(Signaler.class);
+        TcpServerRouter loaded = newRouter(config, balancer, 0, 4, signaler);
+        balancer.register(0);
+        balancer.register(1);
+
+        mockery.checking(new Expectations()
+        {
+            {
+                oneOf(signaler).signalAt(with(any(Long.class)), with(any(Integer.class)), with(any(IntConsumer.class)));
+                will(returnValue(1L));
+            }
+        });
+
+        try (ServerSocketChannel server = newServer();
+             SocketChannel client = SocketChannel.open(server.getLocalAddress()))
+        {
+            for (int i = 0; i < 1000; i++)
+            {
+                assertNull(loaded.accept(BINDING_ID, server));
+            }
+        }
+    }
+
+    private TcpServerRouter newRouter(
+        TcpConfiguration config,
+        TcpAcceptBalancer balancer,
+        int index,
+        int acquiredSlots)
+    {
+        Signaler signaler = mockery.mock(Signaler.class, "signaler" + index);
+
+        mockery.checking(new Expectations()
+        {
+            {
+                allowing(signaler).signalAt(with(any(Long.class)), with(any(Integer.class)), with(any(IntConsumer.class)));
+                will(returnValue(1L));
+            }
+        });
+
+        return newRouter(config, balancer, index, acquiredSlots, signaler);
+    }
+
+    private TcpServerRouter newRouter(
+        TcpConfiguration config,
+        TcpAcceptBalancer balancer,
+        int index,
+        int acquiredSlots,
+        Signaler signaler)
+    {
+        EngineContext context = mockery.mock(EngineContext.class, "context" + index);
+        BufferPool bufferPool = mockery.mock(BufferPool.class, "bufferPool" + index);
+
+        mockery.checking(new Expectations()
+        {
+            {
+                allowing(context).bufferPool();
+                will(returnValue(bufferPool));
+                allowing(context).index();
+                will(returnValue(index));
+                allowing(context).signaler();
+                will(returnValue(signaler));
+                allowing(bufferPool).acquiredSlots();
+                will(returnValue(acquiredSlots));
+            }
+        });
+
+        return new TcpServerRouter(config, context, k -> 0, id -> null, balancer);
+    }
+
+    private static TcpConfiguration newConfiguration(
+        long deferMillis)
+    {
+        Properties properties = new Properties();
+        properties.setProperty(TCP_ACCEPT_BALANCE_DEFER_MILLIS.name(), Long.toString(deferMillis));
+        return new TcpConfiguration(new Configuration(properties));
+    }
+
+    private static ServerSocketChannel newServer() throws Exception
+    {
+        ServerSocketChannel server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.configureBlocking(false);
+        return server;
+    }
+}
@@ -18,6 +18,8 @@ package io.aklivity.zilla.runtime.binding.tcp.internal.streams;
 import static java.net.StandardSocketOptions.SO_REUSEADDR;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
 import static org.junit.rules.RuleChain.outerRule;
 
@@ -43,6 +45,8 @@ import io.aklivity.zilla.runtime.engine.test.annotation.Configure;
 
 public class ClientIT
 {
+    private static volatile String resolveThreadName;
+
     private final K3poRule k3po = new K3poRule()
         .addScriptRoot("net", "io/aklivity/zilla/specs/binding/tcp/streams/network/rfc793")
         .addScriptRoot("app", "io/aklivity/zilla/specs/binding/tcp/streams/application/rfc793");
@@ -230,6 +234,21 @@ public class ClientIT
         k3po.finish();
     }
 
+    @Test
+    @Configuration("client.host.yaml")
+    @Specification({
+        "${app}/client.sent.data/client",
+        "${net}/client.sent.data/server"
+    })
+    @Configure(name = "zilla.engine.host.resolver",
+        value = "io.aklivity.zilla.runtime.binding.tcp.internal.streams.ClientIT::resolveHostDeferred")
+    public void shouldConnectAfterDeferredHostResolution() throws Exception
+    {
+        k3po.finish();
+
+        assertThat(resolveThreadName, startsWith("engine/resolve#"));
+    }
+
     @Test
     @Configuration("client.host.yaml")
     @Specification({
@@ -347,4 +366,12 @@ public class ClientIT
     {
         throw new UnknownHostException();
     }
+
+    public static InetAddress[] resolveHostDeferred(
+        String host) throws UnknownHostException, InterruptedException
+    {
+        resolveThreadName = Thread.currentThread().getName();
+        Thread.sleep(200L);
+        return new InetAddress[] { InetAddress.getByAddress(host, new byte[] { 127, 0, 0, 1 }) };
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.binding.tcp.internal.streams;
+
+import static io.aklivity.zilla.runtime.binding.tcp.internal.TcpConfiguration.TCP_PAYLOAD_REFERENCE;
+import static io.aklivity.zilla.runtime.engine.EngineConfiguration.ENGINE_DRAIN_ON_CLOSE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.rules.RuleChain.outerRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.DisableOnDebug;
+import org.junit.rules.TestRule;
+import org.junit.rules.Timeout;
+import org.kaazing.k3po.junit.annotation.Specification;
+import org.kaazing.k3po.junit.rules.K3poRule;
+
+import io.aklivity.zilla.runtime.engine.test.EngineRule;
+import io.aklivity.zilla.runtime.engine.test.annotation.Configuration;
+import io.aklivity.zilla.runtime.engine.test.annotation.Configure;
+
+/**
+ * Echo reflects the tcp server's window capabilities, so payloads pass to echo and back by buffer pool
+ * reference. Proxy mirrors window capabilities without REFERENCE, so payloads through proxy stay inline.
+ * Referenced slots left unreleased fail the engine on close. Payload references are opt-in for the tcp server.
+ */
+public class ServerEchoIT
+{
+    private final K3poRule k3po = new K3poRule()
+        .addScriptRoot("net", "io/aklivity/zilla/specs/binding/tcp/streams/network/echo");
+
+    private final TestRule timeout = new DisableOnDebug(new Timeout(5, SECONDS));
+
+    private final EngineRule engine = new EngineRule()
+        .directory("target/zilla-itests")
+        .countersBufferCapacity(8192)
+        .configure(TCP_PAYLOAD_REFERENCE, true)
+        .configure(ENGINE_DRAIN_ON_CLOSE, false)
+        .configurationRoot("io/aklivity/zilla/specs/binding/tcp/config")
+        .clean();
+
+    @Rule
+    public final TestRule chain = outerRule(engine).around(k3po).around(timeout);
+
+    @Test
+    @Configuration("server.echo.yaml")
+    @Specification({
+        "${net}/client.sent.data/client"
+    })
+    public void shouldEchoClientSentDataByReference() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("server.echo.yaml")
+    @Specification({
+        "${net}/client.sent.data.multiple.frames/client"
+    })
+    public void shouldEchoClientSentDataMultipleFramesByReference() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("server.echo.yaml")
+    @Specification({
+        "${net}/client.sent.data.then.close/client"
+    })
+    public void shouldEchoClientSentDataByReferenceThenClose() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("server.echo.yaml")
+    @Configure(name = "zilla.binding.tcp.payload.reference", value = "false")
+    @Specification({
+        "${net}/client.sent.data/client"
+    })
+    public void shouldEchoClientSentDataWithoutReferenceWhenDisabled() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Configuration("server.proxy.echo.yaml")
+    @Specification({
+        "${net}/proxy.local.client.sent.data/client"
+    })
+    public void shouldEchoClientSentDataThroughProxyWithoutReference() throws Exception
+    {
+        k3po.finish();
+    }
+}
@@ -15,19 +15,27 @@
 package io.aklivity.zilla.runtime.catalog.apicurio.internal;
 
 import java.net.URL;
+import java.net.http.HttpClient;
+import java.util.concurrent.ForkJoinPool;
 
 import io.aklivity.zilla.runtime.engine.Configuration;
 import io.aklivity.zilla.runtime.engine.EngineContext;
 import io.aklivity.zilla.runtime.engine.catalog.Catalog;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCaches;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogContext;
 
 public class ApicurioCatalog implements Catalog
 {
     public static final String NAME = "apicurio";
 
+    private final HttpClient client;
+    private final CatalogCaches caches;
+
     public ApicurioCatalog(
         Configuration config)
     {
+        this.client = HttpClient.newHttpClient();
+        this.caches = new CatalogCaches(config, NAME, ForkJoinPool.commonPool(), System::currentTimeMillis);
     }
 
     @Override
@@ -40,7 +48,7 @@ public class ApicurioCatalog implements Catalog
     public CatalogContext supply(
         EngineContext context)
     {
-        return new ApicurioCatalogContext(context);
+        return new ApicurioCatalogContext(context, client, caches);
     }
 
     @Override
@@ -14,8 +14,12 @@
  */
 package io.aklivity.zilla.runtime.catalog.apicurio.internal;
 
+import java.net.http.HttpClient;
+
 import io.aklivity.zilla.runtime.catalog.apicurio.internal.config.ApicurioOptionsConfig;
 import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCache;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCaches;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogContext;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogHandler;
 import io.aklivity.zilla.runtime.engine.config.CatalogConfig;
@@ -23,17 +27,39 @@ import io.aklivity.zilla.runtime.engine.config.CatalogConfig;
 public class ApicurioCatalogContext implements CatalogContext
 {
     private final EngineContext context;
+    private final HttpClient client;
+    private final CatalogCaches caches;
 
     public ApicurioCatalogContext(
-        EngineContext context)
+        EngineContext context,
+        HttpClient client,
+        CatalogCaches caches)
     {
         this.context = context;
+        this.client = client;
+        this.caches = caches;
     }
 
     @Override
     public CatalogHandler attach(
         CatalogConfig catalog)
     {
-        return new ApicurioCatalogHandler(ApicurioOptionsConfig.class.cast(catalog.options), context, catalog.id);
+        final ApicurioOptionsConfig options = ApicurioOptionsConfig.class.cast(catalog.options);
+        final CatalogCache cache = caches.acquire(catalog, cacheOptions(options), options.maxAge.toMillis());
+        return new ApicurioCatalogHandler(options, context, catalog.id, client, cache);
+    }
+
+    @Override
+    public void detach(
+        CatalogConfig catalog)
+    {
+        caches.release(catalog, cacheOptions(ApicurioOptionsConfig.class.cast(catalog.options)));
+    }
+
+    private static String cacheOptions(
+        ApicurioOptionsConfig options)
+    {
+        return String.format("%s %s %s %d", options.url, options.groupId, options.useId,
+            options.maxAge.toMillis());
     }
 }
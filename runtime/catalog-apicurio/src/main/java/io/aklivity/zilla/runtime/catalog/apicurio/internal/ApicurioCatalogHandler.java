@@ -27,6 +27,8 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.ByteOrder;
 import java.text.MessageFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.zip.CRC32C;
 
 import jakarta.json.Json;
@@ -41,6 +43,7 @@ import org.agrona.concurrent.UnsafeBuffer;
 import io.aklivity.zilla.runtime.catalog.apicurio.internal.config.ApicurioOptionsConfig;
 import io.aklivity.zilla.runtime.catalog.apicurio.internal.types.ApicurioPrefixFW;
 import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCache;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogHandler;
 import io.aklivity.zilla.runtime.engine.model.function.ValueConsumer;
 
@@ -62,7 +65,8 @@ public class ApicurioCatalogHandler implements CatalogHandler
     private final CRC32C crc32c;
     private final Int2ObjectCache<String> artifacts;
     private final Int2ObjectCache<CachedArtifactId> schemaIds;
-    private final long maxAgeMillis;
+    private final CatalogCache cache;
+    private final long refreshAfterMillis;
     private final ApicurioEventContext event;
     private final long catalogId;
     private final String groupId;
@@ -74,14 +78,17 @@ public class ApicurioCatalogHandler implements CatalogHandler
     public ApicurioCatalogHandler(
         ApicurioOptionsConfig config,
         EngineContext context,
-        long catalogId)
+        long catalogId,
+        HttpClient client,
+        CatalogCache cache)
     {
         this.baseUrl = config.url;
-        this.client = HttpClient.newHttpClient();
+        this.client = client;
         this.crc32c = new CRC32C();
         this.artifacts = new Int2ObjectCache<>(1, 1024, i -> {});
         this.schemaIds = new Int2ObjectCache<>(1, 1024, i -> {});
-        this.maxAgeMillis = config.maxAge.toMillis();
+        this.cache = cache;
+        this.refreshAfterMillis = cache.refreshAfterMillis();
         this.groupId = config.groupId;
         this.useId = config.useId;
         this.encodeId = config.idEncoding.equals(LEGACY_ID_ENCODING) ? this::encodeLegacyId : this::encodeDefaultId;
@@ -95,14 +102,18 @@ public class ApicurioCatalogHandler implements CatalogHandler
     public String resolve(
         int schemaId)
     {
-        String artifact;
-        if (artifacts.containsKey(schemaId))
+        String artifact = artifacts.get(schemaId);
+        if (artifact == null)
         {
-            artifact = artifacts.get(schemaId);
-        }
-        else
-        {
-            artifact = sendHttpRequest(MessageFormat.format(artifactPath, schemaId));
+            try
+            {
+                artifact = cache.resolveSchema(schemaId, this::fetchArtifact);
+            }
+            catch (CompletionException ex)
+            {
+                onRemoteAccessRejected(ex);
+            }
+
             if (artifact != null)
             {
                 artifacts.put(schemaId, artifact);
@@ -116,21 +127,26 @@ public class ApicurioCatalogHandler implements CatalogHandler
         String artifact,
         String version)
     {
-        int schemaId;
+        int schemaId = NO_SCHEMA_ID;
 
         int checkSum = generateCRC32C(artifact, version);
-        if (schemaIds.containsKey(checkSum) &&
-            (System.currentTimeMillis() - schemaIds.get(checkSum).timestamp) < maxAgeMillis)
+        CachedArtifactId cachedArtifactId = schemaIds.get(checkSum);
+        if (cachedArtifactId != null &&
+            (System.currentTimeMillis() - cachedArtifactId.timestamp) < refreshAfterMillis)
         {
-            schemaId = schemaIds.get(checkSum).id;
+            schemaId = cachedArtifactId.id;
         }
         else
         {
-            String path = VERSION_LATEST.equals(version) ? MessageFormat.format(ARTIFACT_META_PATH, groupId, artifact) :
-                MessageFormat.format(ARTIFACT_VERSION_PATH, groupId, artifact, version);
+            try
+            {
+                schemaId = cache.resolveSchemaId(checkSum, () -> fetchArtifactId(artifact, version));
+            }
+            catch (CompletionException ex)
+            {
+                onRemoteAccessRejected(ex);
+            }
 
-            String response = sendHttpRequest(path);
-            schemaId = response != null ? resolveId(response) : NO_SCHEMA_ID;
             if (schemaId != NO_SCHEMA_ID)
             {
                 schemaIds.put(checkSum, new CachedArtifactId(System.currentTimeMillis(), schemaId));
@@ -139,7 +155,23 @@ public class ApicurioCatalogHandler implements CatalogHandler
         return schemaId;
     }
 
-    private String sendHttpRequest(
+    private CompletableFuture<String> fetchArtifact(
+        int schemaId)
+    {
+        return sendHttpRequest(MessageFormat.format(artifactPath, schemaId));
+    }
+
+    private CompletableFuture<Integer> fetchArtifactId(
+        String artifact,
+        String version)
+    {
+        String path = VERSION_LATEST.equals(version) ? MessageFormat.format(ARTIFACT_META_PATH, groupId, artifact) :
+            MessageFormat.format(ARTIFACT_VERSION_PATH, groupId, artifact, version);
+
+        return sendHttpRequest(path).thenApply(this::resolveId);
+    }
+
+    private CompletableFuture<String> sendHttpRequest(
         String path)
     {
         HttpRequest httpRequest = HttpRequest
@@ -148,22 +180,26 @@ public class ApicurioCatalogHandler implements CatalogHandler
                 .build();
         // TODO: introduce interrupt/timeout for request to apicurio
 
-        try
-        {
-            HttpResponse<String> httpResponse = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            boolean success = httpResponse.statusCode() == 200;
-            String responseBody = success ? httpResponse.body() : null;
-            if (!success)
+        return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+            .handle((httpResponse, ex) ->
             {
-                event.remoteAccessRejected(catalogId, httpRequest, httpResponse.statusCode());
-            }
-            return responseBody;
-        }
-        catch (Exception ex)
+                int status = ex == null ? httpResponse.statusCode() : 0;
+                if (status != 200)
+                {
+                    throw new RemoteAccessRejectedException(httpRequest, status);
+                }
+                return httpResponse.body();
+            });
+    }
+
+    private void onRemoteAccessRejected(
+        CompletionException ex)
+    {
+        if (ex.getCause() instanceof RemoteAccessRejectedException)
         {
-            event.remoteAccessRejected(catalogId, httpRequest, 0);
+            RemoteAccessRejectedException rejected = (RemoteAccessRejectedException) ex.getCause();
+            event.remoteAccessRejected(catalogId, rejected.httpRequest, rejected.status);
         }
-        return null;
     }
 
     @Override
@@ -282,4 +318,19 @@ public class ApicurioCatalogHandler implements CatalogHandler
     {
         int encode(DirectBuffer data, int index);
     }
+
+    private static final class RemoteAccessRejectedException extends RuntimeException
+    {
+        private final HttpRequest httpRequest;
+        private final int status;
+
+        RemoteAccessRejectedException(
+            HttpRequest httpRequest,
+            int status)
+        {
+            super(null, null, false, false);
+            this.httpRequest = httpRequest;
+            this.status = status;
+        }
+    }
 }
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.rules.RuleChain.outerRule;
 import static org.mockito.Mockito.mock;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 import org.agrona.DirectBuffer;
@@ -37,6 +38,7 @@ import org.kaazing.k3po.junit.rules.K3poRule;
 
 import io.aklivity.zilla.runtime.catalog.apicurio.internal.config.ApicurioOptionsConfig;
 import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCache;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogHandler;
 import io.aklivity.zilla.runtime.engine.model.function.ValueConsumer;
 
@@ -80,7 +82,7 @@ public class ApicurioIT
             "    protocol: mqtt\n" +
             "defaultContentType: application/json";
 
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         String artifact = catalog.resolve(1);
 
@@ -107,7 +109,7 @@ public class ApicurioIT
             "    protocol: mqtt\n" +
             "defaultContentType: application/json";
 
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         int globalId = catalog.resolve("artifactId", "0");
 
@@ -137,7 +139,7 @@ public class ApicurioIT
             "    protocol: mqtt\n" +
             "defaultContentType: application/json";
 
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         int globalId = catalog.resolve("artifactId", "latest");
 
@@ -167,7 +169,7 @@ public class ApicurioIT
             "    protocol: mqtt\n" +
             "defaultContentType: application/json";
 
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         catalog.resolve(1);
 
@@ -196,7 +198,7 @@ public class ApicurioIT
             "    protocol: mqtt\n" +
             "defaultContentType: application/json";
 
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         catalog.resolve(catalog.resolve("artifactId", "0"));
 
@@ -214,7 +216,7 @@ public class ApicurioIT
     @Test
     public void shouldVerifyMaxPadding()
     {
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         assertEquals(9, catalog.encodePadding());
     }
@@ -222,7 +224,7 @@ public class ApicurioIT
     @Test
     public void shouldVerifyEncodedData()
     {
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         DirectBuffer data = new UnsafeBuffer();
 
@@ -238,7 +240,7 @@ public class ApicurioIT
     public void shouldResolveSchemaIdAndProcessData()
     {
 
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         DirectBuffer data = new UnsafeBuffer();
 
@@ -254,7 +256,7 @@ public class ApicurioIT
     @Test
     public void shouldResolveSchemaIdFromData()
     {
-        ApicurioCatalogHandler catalog = new ApicurioCatalogHandler(config, context, 0L);
+        ApicurioCatalogHandler catalog = newCatalogHandler(config);
 
         DirectBuffer data = new UnsafeBuffer();
 
@@ -266,4 +268,12 @@ public class ApicurioIT
 
         assertEquals(9, schemaId);
     }
+
+    private ApicurioCatalogHandler newCatalogHandler(
+        ApicurioOptionsConfig options)
+    {
+        CatalogCache cache = new CatalogCache(1024, options.maxAge.toMillis(), 1000L, null, Runnable::run,
+            System::currentTimeMillis);
+        return new ApicurioCatalogHandler(options, context, 0L, HttpClient.newHttpClient(), cache);
+    }
 }
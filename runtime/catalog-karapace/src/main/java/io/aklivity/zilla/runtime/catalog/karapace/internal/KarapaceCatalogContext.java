@@ -14,8 +14,12 @@
  */
 package io.aklivity.zilla.runtime.catalog.karapace.internal;
 
+import java.net.http.HttpClient;
+
 import io.aklivity.zilla.runtime.catalog.karapace.internal.config.KarapaceOptionsConfig;
 import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCache;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCaches;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogContext;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogHandler;
 import io.aklivity.zilla.runtime.engine.config.CatalogConfig;
@@ -23,17 +27,38 @@ import io.aklivity.zilla.runtime.engine.config.CatalogConfig;
 public class KarapaceCatalogContext implements CatalogContext
 {
     private final EngineContext context;
+    private final HttpClient client;
+    private final CatalogCaches caches;
 
     public KarapaceCatalogContext(
-        EngineContext context)
+        EngineContext context,
+        HttpClient client,
+        CatalogCaches caches)
     {
         this.context = context;
+        this.client = client;
+        this.caches = caches;
     }
 
     @Override
     public CatalogHandler attach(
         CatalogConfig catalog)
     {
-        return new KarapaceCatalogHandler(KarapaceOptionsConfig.class.cast(catalog.options), context, catalog.id);
+        final KarapaceOptionsConfig options = KarapaceOptionsConfig.class.cast(catalog.options);
+        final CatalogCache cache = caches.acquire(catalog, cacheOptions(options), options.maxAge.toMillis());
+        return new KarapaceCatalogHandler(options, context, catalog.id, client, cache);
+    }
+
+    @Override
+    public void detach(
+        CatalogConfig catalog)
+    {
+        caches.release(catalog, cacheOptions(KarapaceOptionsConfig.class.cast(catalog.options)));
+    }
+
+    private static String cacheOptions(
+        KarapaceOptionsConfig options)
+    {
+        return String.format("%s %d", options.url, options.maxAge.toMillis());
     }
 }
@@ -20,6 +20,8 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.ByteOrder;
 import java.text.MessageFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.zip.CRC32C;
 
 import org.agrona.BitUtil;
@@ -31,6 +33,7 @@ import io.aklivity.zilla.runtime.catalog.karapace.internal.config.KarapaceOption
 import io.aklivity.zilla.runtime.catalog.karapace.internal.serializer.RegisterSchemaRequest;
 import io.aklivity.zilla.runtime.catalog.karapace.internal.types.KarapacePrefixFW;
 import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCache;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogHandler;
 import io.aklivity.zilla.runtime.engine.model.function.ValueConsumer;
 
@@ -51,22 +54,26 @@ public class KarapaceCatalogHandler implements CatalogHandler
     private final CRC32C crc32c;
     private final Int2ObjectCache<String> schemas;
     private final Int2ObjectCache<CachedSchemaId> schemaIds;
-    private final long maxAgeMillis;
+    private final CatalogCache cache;
+    private final long refreshAfterMillis;
     private final KarapaceEventContext event;
     private final long catalogId;
 
     public KarapaceCatalogHandler(
         KarapaceOptionsConfig config,
         EngineContext context,
-        long catalogId)
+        long catalogId,
+        HttpClient client,
+        CatalogCache cache)
     {
         this.baseUrl = config.url;
-        this.client = HttpClient.newHttpClient();
+        this.client = client;
         this.request = new RegisterSchemaRequest();
         this.crc32c = new CRC32C();
         this.schemas = new Int2ObjectCache<>(1, 1024, i -> {});
         this.schemaIds = new Int2ObjectCache<>(1, 1024, i -> {});
-        this.maxAgeMillis = config.maxAge.toMillis();
+        this.cache = cache;
+        this.refreshAfterMillis = cache.refreshAfterMillis();
         this.event = new KarapaceEventContext(context);
         this.catalogId = catalogId;
     }
@@ -75,15 +82,18 @@ public class KarapaceCatalogHandler implements CatalogHandler
     public String resolve(
         int schemaId)
     {
-        String schema;
-        if (schemas.containsKey(schemaId))
+        String schema = schemas.get(schemaId);
+        if (schema == null)
         {
-            schema = schemas.get(schemaId);
-        }
-        else
-        {
-            String response = sendHttpRequest(MessageFormat.format(SCHEMA_PATH, schemaId));
-            schema = response != null ? request.resolveSchemaResponse(response) : null;
+            try
+            {
+                schema = cache.resolveSchema(schemaId, this::fetchSchema);
+            }
+            catch (CompletionException ex)
+            {
+                onRemoteAccessRejected(ex);
+            }
+
             if (schema != null)
             {
                 schemas.put(schemaId, schema);
@@ -97,18 +107,26 @@ public class KarapaceCatalogHandler implements CatalogHandler
         String subject,
         String version)
     {
-        int schemaId;
+        int schemaId = NO_SCHEMA_ID;
 
         int checkSum = generateCRC32C(subject, version);
-        if (schemaIds.containsKey(checkSum) &&
-            (System.currentTimeMillis() - schemaIds.get(checkSum).timestamp) < maxAgeMillis)
+        CachedSchemaId cachedSchemaId = schemaIds.get(checkSum);
+        if (cachedSchemaId != null &&
+            (System.currentTimeMillis() - cachedSchemaId.timestamp) < refreshAfterMillis)
         {
-            schemaId = schemaIds.get(checkSum).id;
+            schemaId = cachedSchemaId.id;
         }
         else
         {
-            String response = sendHttpRequest(MessageFormat.format(SUBJECT_VERSION_PATH, subject, version));
-            schemaId = response != null ? request.resolveResponse(response) : NO_SCHEMA_ID;
+            try
+            {
+                schemaId = cache.resolveSchemaId(checkSum, () -> fetchSchemaId(subject, version));
+            }
+            catch (CompletionException ex)
+            {
+                onRemoteAccessRejected(ex);
+            }
+
             if (schemaId != NO_SCHEMA_ID)
             {
                 schemaIds.put(checkSum, new CachedSchemaId(System.currentTimeMillis(), schemaId));
@@ -181,7 +199,22 @@ public class KarapaceCatalogHandler implements CatalogHandler
         return MAX_PADDING_LENGTH;
     }
 
-    private String sendHttpRequest(
+    private CompletableFuture<String> fetchSchema(
+        int schemaId)
+    {
+        return sendHttpRequest(MessageFormat.format(SCHEMA_PATH, schemaId))
+            .thenApply(request::resolveSchemaResponse);
+    }
+
+    private CompletableFuture<Integer> fetchSchemaId(
+        String subject,
+        String version)
+    {
+        return sendHttpRequest(MessageFormat.format(SUBJECT_VERSION_PATH, subject, version))
+            .thenApply(request::resolveResponse);
+    }
+
+    private CompletableFuture<String> sendHttpRequest(
         String path)
     {
         HttpRequest httpRequest = HttpRequest
@@ -190,22 +223,26 @@ public class KarapaceCatalogHandler implements CatalogHandler
                 .build();
         // TODO: introduce interrupt/timeout for request to schema registry
 
-        try
-        {
-            HttpResponse<String> httpResponse = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
-            boolean success = httpResponse.statusCode() == 200;
-            String responseBody = success ? httpResponse.body() : null;
-            if (!success)
+        return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+            .handle((httpResponse, ex) ->
             {
-                event.remoteAccessRejected(catalogId, httpRequest, httpResponse.statusCode());
-            }
-            return responseBody;
-        }
-        catch (Exception ex)
+                int status = ex == null ? httpResponse.statusCode() : 0;
+                if (status != 200)
+                {
+                    throw new RemoteAccessRejectedException(httpRequest, status);
+                }
+                return httpResponse.body();
+            });
+    }
+
+    private void onRemoteAccessRejected(
+        CompletionException ex)
+    {
+        if (ex.getCause() instanceof RemoteAccessRejectedException)
         {
-            event.remoteAccessRejected(catalogId, httpRequest, 0);
+            RemoteAccessRejectedException rejected = (RemoteAccessRejectedException) ex.getCause();
+            event.remoteAccessRejected(catalogId, rejected.httpRequest, rejected.status);
         }
-        return null;
     }
 
     private URI toURI(
@@ -224,4 +261,19 @@ public class KarapaceCatalogHandler implements CatalogHandler
         crc32c.update(bytes, 0, bytes.length);
         return (int) crc32c.getValue();
     }
+
+    private static final class RemoteAccessRejectedException extends RuntimeException
+    {
+        private final HttpRequest httpRequest;
+        private final int status;
+
+        RemoteAccessRejectedException(
+            HttpRequest httpRequest,
+            int status)
+        {
+            super(null, null, false, false);
+            this.httpRequest = httpRequest;
+            this.status = status;
+        }
+    }
 }
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.rules.RuleChain.outerRule;
 import static org.mockito.Mockito.mock;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 
 import org.agrona.DirectBuffer;
@@ -37,6 +38,7 @@ import org.kaazing.k3po.junit.rules.K3poRule;
 
 import io.aklivity.zilla.runtime.catalog.karapace.internal.config.KarapaceOptionsConfig;
 import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.catalog.CatalogCache;
 import io.aklivity.zilla.runtime.engine.catalog.CatalogHandler;
 import io.aklivity.zilla.runtime.engine.model.function.ValueConsumer;
 
@@ -72,7 +74,7 @@ public class KarapaceIT
             "{\"name\":\"status\",\"type\":\"string\"}]," +
             "\"name\":\"Event\",\"namespace\":\"io.aklivity.example\",\"type\":\"record\"}";
 
-        KarapaceCatalogHandler catalog = new KarapaceCatalogHandler(config, context, 0L);
+        KarapaceCatalogHandler catalog = newCatalogHandler(config);
 
         String schema = catalog.resolve(9);
 
@@ -91,7 +93,7 @@ public class KarapaceIT
                 "{\"name\":\"status\",\"type\":\"string\"}]," +
                 "\"name\":\"Event\",\"namespace\":\"io.aklivity.example\",\"type\":\"record\"}";
 
-        KarapaceCatalogHandler catalog = new KarapaceCatalogHandler(config, context, 0L);
+        KarapaceCatalogHandler catalog = newCatalogHandler(config);
 
         int schemaId = catalog.resolve("items-snapshots-value", "latest");
 
@@ -113,7 +115,7 @@ public class KarapaceIT
                 "{\"name\":\"status\",\"type\":\"string\"}]," +
                 "\"name\":\"Event\",\"namespace\":\"io.aklivity.example\",\"type\":\"record\"}";
 
-        KarapaceCatalogHandler catalog = new KarapaceCatalogHandler(config, context, 0L);
+        KarapaceCatalogHandler catalog = newCatalogHandler(config);
 
         catalog.resolve(9);
 
@@ -134,7 +136,7 @@ public class KarapaceIT
                 "{\"name\":\"status\",\"type\":\"string\"}]," +
                 "\"name\":\"Event\",\"namespace\":\"io.aklivity.example\",\"type\":\"record\"}";
 
-        KarapaceCatalogHandler catalog = new KarapaceCatalogHandler(config, context, 0L);
+        KarapaceCatalogHandler catalog = newCatalogHandler(config);
 
         catalog.resolve(catalog.resolve("items-snapshots-value", "latest"));
 
@@ -152,7 +154,7 @@ public class KarapaceIT
     @Test
     public void shouldVerifyMaxPadding()
     {
-        KarapaceCatalogHandler catalog = new KarapaceCatalogHandler(config, context, 0L);
+        KarapaceCatalogHandler catalog = newCatalogHandler(config);
 
         assertEquals(5, catalog.encodePadding());
     }
@@ -160,7 +162,7 @@ public class KarapaceIT
     @Test
     public void shouldVerifyEncodedData()
     {
-        KarapaceCatalogHandler catalog = new KarapaceCatalogHandler(config, context, 0L);
+        KarapaceCatalogHandler catalog = newCatalogHandler(config);
 
         DirectBuffer data = new UnsafeBuffer();
 
@@ -176,7 +178,7 @@ public class KarapaceIT
     public void shouldResolveSchemaIdAndProcessData()
     {
 
-        KarapaceCatalogHandler catalog = new KarapaceCatalogHandler(config, context, 0L);
+        KarapaceCatalogHandler catalog = newCatalogHandler(config);
 
         DirectBuffer data = new UnsafeBuffer();
 
@@ -192,7 +194,7 @@ public class KarapaceIT
     @Test
     public void shouldResolveSchemaIdFromData()
     {
-        KarapaceCatalogHandler catalog = new KarapaceCatalogHandler(config, context, 0L);
+        KarapaceCatalogHandler catalog = newCatalogHandler(config);
 
         DirectBuffer data = new UnsafeBuffer();
 
@@ -204,4 +206,12 @@ public class KarapaceIT
 
         assertEquals(9, schemaId);
     }
+
+    private KarapaceCatalogHandler newCatalogHandler(
+        KarapaceOptionsConfig options)
+    {
+        CatalogCache cache = new CatalogCache(1024, options.maxAge.toMillis(), 1000L, null, Runnable::run,
+            System::currentTimeMillis);
+        return new KarapaceCatalogHandler(options, context, 0L, HttpClient.newHttpClient(), cache);
+    }
 }
@@ -65,6 +65,7 @@ import io.aklivity.zilla.runtime.engine.exporter.Exporter;
 import io.aklivity.zilla.runtime.engine.ext.EngineExtContext;
 import io.aklivity.zilla.runtime.engine.ext.EngineExtSpi;
 import io.aklivity.zilla.runtime.engine.guard.Guard;
+import io.aklivity.zilla.runtime.engine.internal.HostResolverCache;
 import io.aklivity.zilla.runtime.engine.internal.Info;
 import io.aklivity.zilla.runtime.engine.internal.LabelManager;
 import io.aklivity.zilla.runtime.engine.internal.Tuning;
@@ -84,11 +85,13 @@ public final class Engine implements Collector, AutoCloseable
 {
     private final Collection<Binding> bindings;
     private final ExecutorService tasks;
+    private final ExecutorService resolves;
     private final Tuning tuning;
     private final List<EngineExtSpi> extensions;
     private final ContextImpl context;
 
     private final AtomicInteger nextTaskId;
+    private final AtomicInteger nextResolveId;
     private final ThreadFactory factory;
 
     private final WatcherTask watcherTask;
@@ -116,6 +119,7 @@ public final class Engine implements Collector, AutoCloseable
     {
         this.config = config;
         this.nextTaskId = new AtomicInteger();
+        this.nextResolveId = new AtomicInteger();
         this.factory = Executors.defaultThreadFactory();
 
         ExecutorService tasks = null;
@@ -124,6 +128,9 @@ public final class Engine implements Collector, AutoCloseable
             tasks = newFixedThreadPool(config.taskParallelism(), this::newTaskThread);
         }
 
+        // dns lookups block, so they must not queue behind long running tasks such as cache compaction
+        ExecutorService resolves = newFixedThreadPool(config.hostResolverParallelism(), this::newResolveThread);
+
         Info info = new Info.Builder()
             .path(config.directory())
             .workerCount(config.workers())
@@ -132,6 +139,8 @@ public final class Engine implements Collector, AutoCloseable
         int workerCount = info.workerCount();
 
         LabelManager labels = new LabelManager(config.directory());
+        HostResolverCache hosts = new HostResolverCache(config.hostResolver(), resolves, config.hostResolverCapacity(),
+            config.hostResolverTtlSeconds(), config.hostResolverNegativeTtlSeconds(), System::currentTimeMillis);
         Int2ObjectHashMap<ToIntFunction<KindConfig>> maxWorkersByBindingType = new Int2ObjectHashMap<>();
 
         // ensure parity with external labelIds
@@ -163,9 +172,9 @@ public final class Engine implements Collector, AutoCloseable
         for (int workerIndex = 0; workerIndex < workerCount; workerIndex++)
         {
             EngineWorker worker =
-                new EngineWorker(config, tasks, labels, errorHandler, tuning::affinity, bindings, exporters,
+                new EngineWorker(config, tasks, labels, hosts, errorHandler, tuning::affinity, bindings, exporters,
                     guards, vaults, catalogs, models, metricGroups, this, this::supplyEventReader,
-                    eventFormatterFactory, workerIndex, readonly, this::process);
+                    eventFormatterFactory, workerIndex, readonly, this::process, i -> workers.get(i).wakeup());
             workers.add(worker);
         }
         this.workers = workers;
@@ -225,6 +234,7 @@ public final class Engine implements Collector, AutoCloseable
 
         this.bindings = bindings;
         this.tasks = tasks;
+        this.resolves = resolves;
         this.extensions = extensions;
         this.context = context;
         this.readonly = readonly;
@@ -292,6 +302,8 @@ public final class Engine implements Collector, AutoCloseable
             tasks.shutdownNow();
         }
 
+        resolves.shutdownNow();
+
         tuning.close();
 
         extensions.forEach(e -> e.onUnregistered(context));
@@ -371,6 +383,19 @@ public final class Engine implements Collector, AutoCloseable
         return t;
     }
 
+    private Thread newResolveThread(
+        Runnable r)
+    {
+        Thread t = factory.newThread(r);
+
+        if (t != null)
+        {
+            t.setName(String.format("engine/resolve#%d", nextResolveId.getAndIncrement()));
+        }
+
+        return t;
+    }
+
     @Override
     public LongSupplier counter(
         long bindingId,
@@ -29,7 +29,10 @@ import java.net.URL;
 import java.net.UnknownHostException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.Security;
 import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.function.Function;
 
 import org.agrona.LangUtil;
@@ -48,10 +51,19 @@ public class EngineConfiguration extends Configuration
     public static final PropertyDef<String> ENGINE_DIRECTORY;
     public static final PropertyDef<Path> ENGINE_CACHE_DIRECTORY;
     public static final PropertyDef<HostResolver> ENGINE_HOST_RESOLVER;
+    public static final IntPropertyDef ENGINE_HOST_RESOLVER_TTL_SECONDS;
+    public static final IntPropertyDef ENGINE_HOST_RESOLVER_NEGATIVE_TTL_SECONDS;
+    public static final IntPropertyDef ENGINE_HOST_RESOLVER_CAPACITY;
+    public static final IntPropertyDef ENGINE_HOST_RESOLVER_PARALLELISM;
+    public static final IntPropertyDef ENGINE_CATALOG_CACHE_CAPACITY;
+    public static final BooleanPropertyDef ENGINE_CATALOG_CACHE_SNAPSHOT;
+    public static final LongPropertyDef ENGINE_CATALOG_CACHE_FETCH_TIMEOUT_MILLIS;
     public static final IntPropertyDef ENGINE_WORKER_CAPACITY;
     public static final IntPropertyDef ENGINE_BUFFER_POOL_CAPACITY;
     public static final IntPropertyDef ENGINE_BUFFER_SLOT_CAPACITY;
+    public static final PropertyDef<String> ENGINE_BUFFER_SLOT_CLASSES;
     public static final IntPropertyDef ENGINE_STREAMS_BUFFER_CAPACITY;
+    public static final IntPropertyDef ENGINE_STREAMS_BATCH_CAPACITY;
     public static final IntPropertyDef ENGINE_EVENTS_BUFFER_CAPACITY;
     public static final IntPropertyDef ENGINE_COUNTERS_BUFFER_CAPACITY;
     public static final IntPropertyDef ENGINE_BUDGETS_BUFFER_CAPACITY;
@@ -63,6 +75,7 @@ public class EngineConfiguration extends Configuration
     public static final LongPropertyDef ENGINE_BACKOFF_MAX_YIELDS;
     public static final LongPropertyDef ENGINE_BACKOFF_MIN_PARK_NANOS;
     public static final LongPropertyDef ENGINE_BACKOFF_MAX_PARK_NANOS;
+    public static final BooleanPropertyDef ENGINE_BACKOFF_SELECT;
     public static final BooleanPropertyDef ENGINE_DRAIN_ON_CLOSE;
     public static final BooleanPropertyDef ENGINE_SYNTHETIC_ABORT;
     public static final LongPropertyDef ENGINE_ROUTED_DELAY_MILLIS;
@@ -86,11 +99,22 @@ public class EngineConfiguration extends Configuration
         ENGINE_CACHE_DIRECTORY = config.property(Path.class, "cache.directory", EngineConfiguration::cacheDirectory, "cache");
         ENGINE_HOST_RESOLVER = config.property(HostResolver.class, "host.resolver",
                 EngineConfiguration::decodeHostResolver, EngineConfiguration::defaultHostResolver);
+        ENGINE_HOST_RESOLVER_TTL_SECONDS = config.property("host.resolver.ttl.seconds",
+                EngineConfiguration::defaultHostResolverTtlSeconds);
+        ENGINE_HOST_RESOLVER_NEGATIVE_TTL_SECONDS = config.property("host.resolver.negative.ttl.seconds",
+                EngineConfiguration::defaultHostResolverNegativeTtlSeconds);
+        ENGINE_HOST_RESOLVER_CAPACITY = config.property("host.resolver.capacity", 1024);
+        ENGINE_HOST_RESOLVER_PARALLELISM = config.property("host.resolver.parallelism", 1);
+        ENGINE_CATALOG_CACHE_CAPACITY = config.property("catalog.cache.capacity", 1024);
+        ENGINE_CATALOG_CACHE_SNAPSHOT = config.property("catalog.cache.snapshot", false);
+        ENGINE_CATALOG_CACHE_FETCH_TIMEOUT_MILLIS = config.property("catalog.cache.fetch.timeout.millis", SECONDS.toMillis(30L));
         ENGINE_WORKER_CAPACITY = config.property("worker.capacity", 64);
         ENGINE_BUFFER_POOL_CAPACITY = config.property("buffer.pool.capacity", EngineConfiguration::defaultBufferPoolCapacity);
         ENGINE_BUFFER_SLOT_CAPACITY = config.property("buffer.slot.capacity", 64 * 1024);
+        ENGINE_BUFFER_SLOT_CLASSES = config.property("buffer.slot.classes", "");
         ENGINE_STREAMS_BUFFER_CAPACITY = config.property("streams.buffer.capacity",
                 EngineConfiguration::defaultStreamsBufferCapacity);
+        ENGINE_STREAMS_BATCH_CAPACITY = config.property("streams.batch.capacity", 8 * 1024);
         ENGINE_EVENTS_BUFFER_CAPACITY = config.property("events.buffer.capacity",
                 EngineConfiguration::defaultEventsBufferCapacity);
         ENGINE_BUDGETS_BUFFER_CAPACITY = config.property("budgets.buffer.capacity",
@@ -104,6 +128,7 @@ public class EngineConfiguration extends Configuration
         ENGINE_BACKOFF_MAX_YIELDS = config.property("backoff.idle.strategy.max.yields", 64L);
         ENGINE_BACKOFF_MIN_PARK_NANOS = config.property("backoff.min.park.nanos", NANOSECONDS.toNanos(64L));
         ENGINE_BACKOFF_MAX_PARK_NANOS = config.property("backoff.max.park.nanos", MILLISECONDS.toNanos(100L));
+        ENGINE_BACKOFF_SELECT = config.property("backoff.select", false);
         ENGINE_DRAIN_ON_CLOSE = config.property("drain.on.close", false);
         ENGINE_SYNTHETIC_ABORT = config.property("synthetic.abort", false);
         ENGINE_ROUTED_DELAY_MILLIS = config.property("routed.delay.millis", 0L);
@@ -176,6 +201,46 @@ public class EngineConfiguration extends Configuration
         return ENGINE_BUFFER_SLOT_CAPACITY.getAsInt(this);
     }
 
+    public int[] bufferSlotClasses()
+    {
+        return bufferSlotClassesByCapacity().keySet().stream()
+            .mapToInt(Integer::intValue)
+            .toArray();
+    }
+
+    public int[] bufferSlotClassCounts()
+    {
+        final int slotCount = bufferPoolCapacity() / bufferSlotCapacity();
+
+        return bufferSlotClassesByCapacity().values().stream()
+            .mapToInt(c -> c != 0 ? c : slotCount)
+            .toArray();
+    }
+
+    private SortedMap<Integer, Integer> bufferSlotClassesByCapacity()
+    {
+        final int slotCapacity = bufferSlotCapacity();
+        final String slotClasses = ENGINE_BUFFER_SLOT_CLASSES.get(this);
+
+        final SortedMap<Integer, Integer> classes = new TreeMap<>();
+        if (!slotClasses.isBlank())
+        {
+            for (String slotClass : slotClasses.split(","))
+            {
+                final String[] parts = slotClass.trim().split(":", 2);
+                final int capacity = Integer.parseInt(parts[0].trim());
+                final int count = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 0;
+
+                if (capacity < slotCapacity)
+                {
+                    classes.put(capacity, count);
+                }
+            }
+        }
+
+        return classes;
+    }
+
     public int budgetsBufferCapacity()
     {
         return ENGINE_BUDGETS_BUFFER_CAPACITY.getAsInt(this);
@@ -186,6 +251,11 @@ public class EngineConfiguration extends Configuration
         return ENGINE_STREAMS_BUFFER_CAPACITY.getAsInt(this);
     }
 
+    public int streamsBatchCapacity()
+    {
+        return ENGINE_STREAMS_BATCH_CAPACITY.getAsInt(this);
+    }
+
     public int eventsBufferCapacity()
     {
         return ENGINE_EVENTS_BUFFER_CAPACITY.getAsInt(this);
@@ -236,6 +306,11 @@ public class EngineConfiguration extends Configuration
         return ENGINE_BACKOFF_MAX_PARK_NANOS.getAsLong(this);
     }
 
+    public boolean backoffSelect()
+    {
+        return ENGINE_BACKOFF_SELECT.getAsBoolean(this);
+    }
+
     public boolean drainOnClose()
     {
         return ENGINE_DRAIN_ON_CLOSE.getAsBoolean(this);
@@ -286,6 +361,41 @@ public class EngineConfiguration extends Configuration
         return ENGINE_HOST_RESOLVER.get(this)::resolve;
     }
 
+    public int hostResolverTtlSeconds()
+    {
+        return ENGINE_HOST_RESOLVER_TTL_SECONDS.getAsInt(this);
+    }
+
+    public int hostResolverNegativeTtlSeconds()
+    {
+        return ENGINE_HOST_RESOLVER_NEGATIVE_TTL_SECONDS.getAsInt(this);
+    }
+
+    public int hostResolverCapacity()
+    {
+        return ENGINE_HOST_RESOLVER_CAPACITY.getAsInt(this);
+    }
+
+    public int hostResolverParallelism()
+    {
+        return ENGINE_HOST_RESOLVER_PARALLELISM.getAsInt(this);
+    }
+
+    public int catalogCacheCapacity()
+    {
+        return ENGINE_CATALOG_CACHE_CAPACITY.getAsInt(this);
+    }
+
+    public boolean catalogCacheSnapshot()
+    {
+        return ENGINE_CATALOG_CACHE_SNAPSHOT.getAsBoolean(this);
+    }
+
+    public long catalogCacheFetchTimeoutMillis()
+    {
+        return ENGINE_CATALOG_CACHE_FETCH_TIMEOUT_MILLIS.getAsLong(this);
+    }
+
     private static int defaultBufferPoolCapacity(
         Configuration config)
     {
@@ -385,6 +495,42 @@ public class EngineConfiguration extends Configuration
         return resolver;
     }
 
+    private static int defaultHostResolverTtlSeconds(
+        Configuration config)
+    {
+        // align with the JVM address cache, which does not expose per-record DNS TTLs
+        return securityPropertyAsInt("networkaddress.cache.ttl", 30);
+    }
+
+    private static int defaultHostResolverNegativeTtlSeconds(
+        Configuration config)
+    {
+        return securityPropertyAsInt("networkaddress.cache.negative.ttl", 10);
+    }
+
+    private static int securityPropertyAsInt(
+        String name,
+        int defaultValue)
+    {
+        int value = defaultValue;
+
+        try
+        {
+            final String property = Security.getProperty(name);
+            if (property != null)
+            {
+                final int parsed = Integer.parseInt(property.trim());
+                value = parsed < 0 ? Integer.MAX_VALUE : parsed;
+            }
+        }
+        catch (NumberFormatException ex)
+        {
+            // ignore, use default
+        }
+
+        return value;
+    }
+
     private static HostResolver defaultHostResolver(
         Configuration config)
     {
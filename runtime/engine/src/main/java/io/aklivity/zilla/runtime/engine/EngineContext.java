@@ -19,6 +19,8 @@ import java.net.InetAddress;
 import java.net.URL;
 import java.nio.channels.SelectableChannel;
 import java.time.Clock;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 
 import org.agrona.MutableDirectBuffer;
@@ -107,6 +109,11 @@ public interface EngineContext
         long bindingId,
         long metricId);
 
+    LongConsumer supplyMetricWriter(
+        Metric.Kind kind,
+        long bindingId,
+        long metricId);
+
     MessageConsumer droppedFrameHandler();
 
     int supplyClientIndex(
@@ -115,6 +122,18 @@ public interface EngineContext
     InetAddress[] resolveHost(
         String host);
 
+    InetAddress[] lookupHost(
+        String host);
+
+    CompletableFuture<InetAddress[]> resolveHost(
+        String host,
+        long originId,
+        long routedId,
+        long streamId,
+        long traceId,
+        int signalId,
+        int contextId);
+
     PollerKey supplyPollerKey(
         SelectableChannel channel);
 
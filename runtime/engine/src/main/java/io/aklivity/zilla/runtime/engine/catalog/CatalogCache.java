@@ -0,0 +1,372 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.catalog;
+
+import static io.aklivity.zilla.runtime.engine.catalog.CatalogHandler.NO_SCHEMA_ID;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import jakarta.json.Json;
+import jakarta.json.JsonArrayBuilder;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import jakarta.json.JsonValue;
+import jakarta.json.JsonWriter;
+
+/**
+ * Schema registry cache shared by all workers of an engine.
+ * <p>
+ * Schemas by id are immutable, so they are only evicted by capacity. Schema ids resolved by subject and
+ * version expire after {@code maxAgeMillis}, and are refreshed in the background once three quarters of
+ * that age has elapsed, so that readers keep hitting the cache. Concurrent misses for the same key share
+ * a single fetch, which fails once {@code fetchTimeoutMillis} has elapsed so that a stalled registry cannot
+ * block readers indefinitely. When a snapshot path is provided, entries are restored from it on construction and
+ * written back to it after each change.
+ */
+public final class CatalogCache
+{
+    private static final String SCHEMAS = "schemas";
+    private static final String SCHEMA_IDS = "schemaIds";
+    private static final String KEY = "key";
+    private static final String ID = "id";
+    private static final String SCHEMA = "schema";
+    private static final String TIMESTAMP = "timestamp";
+
+    private final long maxAgeMillis;
+    private final long refreshAfterMillis;
+    private final long fetchTimeoutMillis;
+    private final Path snapshot;
+    private final Executor executor;
+    private final LongSupplier currentTimeMillis;
+    private final Map<Integer, String> schemas;
+    private final Map<Integer, CachedSchemaId> schemaIds;
+    private final ConcurrentMap<Integer, CompletableFuture<String>> schemaFetches;
+    private final ConcurrentMap<Integer, CompletableFuture<Integer>> schemaIdFetches;
+    private final AtomicBoolean snapshotPending;
+
+    public CatalogCache(
+        int capacity,
+        long maxAgeMillis,
+        long fetchTimeoutMillis,
+        Path snapshot,
+        Executor executor,
+        LongSupplier currentTimeMillis)
+    {
+        this.maxAgeMillis = maxAgeMillis;
+        this.refreshAfterMillis = maxAgeMillis - (maxAgeMillis >> 2);
+        this.fetchTimeoutMillis = fetchTimeoutMillis;
+        this.snapshot = snapshot;
+        this.executor = executor;
+        this.currentTimeMillis = currentTimeMillis;
+        this.schemas = new LruMap<>(capacity);
+        this.schemaIds = new LruMap<>(capacity);
+        this.schemaFetches = new ConcurrentHashMap<>();
+        this.schemaIdFetches = new ConcurrentHashMap<>();
+        this.snapshotPending = new AtomicBoolean();
+
+        if (snapshot != null)
+        {
+            readSnapshot();
+        }
+    }
+
+    public long refreshAfterMillis()
+    {
+        return refreshAfterMillis;
+    }
+
+    public String lookupSchema(
+        int schemaId)
+    {
+        synchronized (schemas)
+        {
+            return schemas.get(schemaId);
+        }
+    }
+
+    public String resolveSchema(
+        int schemaId,
+        IntFunction<CompletableFuture<String>> fetch)
+    {
+        String schema = lookupSchema(schemaId);
+
+        if (schema == null)
+        {
+            schema = fetchSchema(schemaId, fetch).join();
+        }
+
+        return schema;
+    }
+
+    public int resolveSchemaId(
+        int key,
+        Supplier<CompletableFuture<Integer>> fetch)
+    {
+        final CachedSchemaId cached;
+        synchronized (schemaIds)
+        {
+            cached = schemaIds.get(key);
+        }
+
+        int schemaId;
+
+        final long age = cached != null ? currentTimeMillis.getAsLong() - cached.timestamp : Long.MAX_VALUE;
+        if (age < maxAgeMillis)
+        {
+            if (age >= refreshAfterMillis)
+            {
+                fetchSchemaId(key, fetch);
+            }
+
+            schemaId = cached.id;
+        }
+        else
+        {
+            schemaId = fetchSchemaId(key, fetch).join();
+        }
+
+        return schemaId;
+    }
+
+    private CompletableFuture<String> fetchSchema(
+        int schemaId,
+        IntFunction<CompletableFuture<String>> fetch)
+    {
+        final CompletableFuture<String> fetched = new CompletableFuture<>();
+        CompletableFuture<String> pending = schemaFetches.putIfAbsent(schemaId, fetched);
+
+        if (pending == null)
+        {
+            pending = fetched;
+            fetched.orTimeout(fetchTimeoutMillis, MILLISECONDS)
+                .whenComplete((schema, ex) -> schemaFetches.remove(schemaId, fetched));
+
+            try
+            {
+                fetch.apply(schemaId).whenComplete((schema, ex) ->
+                {
+                    if (schema != null)
+                    {
+                        synchronized (schemas)
+                        {
+                            schemas.put(schemaId, schema);
+                        }
+                        onChanged();
+                    }
+
+                    if (ex != null)
+                    {
+                        fetched.completeExceptionally(ex);
+                    }
+                    else
+                    {
+                        fetched.complete(schema);
+                    }
+                });
+            }
+            catch (RuntimeException ex)
+            {
+                fetched.completeExceptionally(ex);
+            }
+        }
+
+        return pending;
+    }
+
+    private CompletableFuture<Integer> fetchSchemaId(
+        int key,
+        Supplier<CompletableFuture<Integer>> fetch)
+    {
+        final CompletableFuture<Integer> fetched = new CompletableFuture<>();
+        CompletableFuture<Integer> pending = schemaIdFetches.putIfAbsent(key, fetched);
+
+        if (pending == null)
+        {
+            pending = fetched;
+            fetched.orTimeout(fetchTimeoutMillis, MILLISECONDS)
+                .whenComplete((schemaId, ex) -> schemaIdFetches.remove(key, fetched));
+
+            try
+            {
+                fetch.get().whenComplete((schemaId, ex) ->
+                {
+                    if (schemaId != null && schemaId != NO_SCHEMA_ID)
+                    {
+                        synchronized (schemaIds)
+                        {
+                            schemaIds.put(key, new CachedSchemaId(currentTimeMillis.getAsLong(), schemaId));
+                        }
+                        onChanged();
+                    }
+
+                    if (ex != null)
+                    {
+                        fetched.completeExceptionally(ex);
+                    }
+                    else
+                    {
+                        fetched.complete(schemaId != null ? schemaId : NO_SCHEMA_ID);
+                    }
+                });
+            }
+            catch (RuntimeException ex)
+            {
+                fetched.completeExceptionally(ex);
+            }
+        }
+
+        return pending;
+    }
+
+    private void onChanged()
+    {
+        if (snapshot != null &&
+            snapshotPending.compareAndSet(false, true))
+        {
+            executor.execute(this::writeSnapshot);
+        }
+    }
+
+    private void readSnapshot()
+    {
+        if (Files.exists(snapshot))
+        {
+            try (Reader in = Files.newBufferedReader(snapshot);
+                 JsonReader reader = Json.createReader(in))
+            {
+                JsonObject object = reader.readObject();
+
+                synchronized (schemas)
+                {
+                    for (JsonValue value : object.getJsonArray(SCHEMAS))
+                    {
+                        JsonObject entry = value.asJsonObject();
+                        schemas.put(entry.getInt(ID), entry.getString(SCHEMA));
+                    }
+                }
+
+                synchronized (schemaIds)
+                {
+                    for (JsonValue value : object.getJsonArray(SCHEMA_IDS))
+                    {
+                        JsonObject entry = value.asJsonObject();
+                        schemaIds.put(entry.getInt(KEY),
+                            new CachedSchemaId(entry.getJsonNumber(TIMESTAMP).longValue(), entry.getInt(ID)));
+                    }
+                }
+            }
+            catch (Exception ex)
+            {
+                // ignore unreadable snapshot, start cold
+            }
+        }
+    }
+
+    private void writeSnapshot()
+    {
+        snapshotPending.set(false);
+
+        JsonArrayBuilder schemasBuilder = Json.createArrayBuilder();
+        synchronized (schemas)
+        {
+            schemas.forEach((id, schema) -> schemasBuilder.add(Json.createObjectBuilder()
+                .add(ID, id)
+                .add(SCHEMA, schema)));
+        }
+
+        JsonArrayBuilder schemaIdsBuilder = Json.createArrayBuilder();
+        synchronized (schemaIds)
+        {
+            schemaIds.forEach((key, cached) -> schemaIdsBuilder.add(Json.createObjectBuilder()
+                .add(KEY, key)
+                .add(ID, cached.id)
+                .add(TIMESTAMP, cached.timestamp)));
+        }
+
+        JsonObject object = Json.createObjectBuilder()
+            .add(SCHEMAS, schemasBuilder)
+            .add(SCHEMA_IDS, schemaIdsBuilder)
+            .build();
+
+        try
+        {
+            Files.createDirectories(snapshot.getParent());
+
+            Path pending = snapshot.resolveSibling(snapshot.getFileName() + ".pending");
+            try (Writer out = Files.newBufferedWriter(pending);
+                 JsonWriter writer = Json.createWriter(out))
+            {
+                writer.writeObject(object);
+            }
+            Files.move(pending, snapshot, REPLACE_EXISTING, ATOMIC_MOVE);
+        }
+        catch (Exception ex)
+        {
+            // ignore, snapshot is best effort
+        }
+    }
+
+    private static final class CachedSchemaId
+    {
+        private final long timestamp;
+        private final int id;
+
+        private CachedSchemaId(
+            long timestamp,
+            int id)
+        {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+    }
+
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private LruMap(
+            int capacity)
+        {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+            Map.Entry<K, V> eldest)
+        {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.catalog;
+
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.EngineConfiguration;
+import io.aklivity.zilla.runtime.engine.config.CatalogConfig;
+
+/**
+ * Schema registry caches of one catalog type, shared by the catalog contexts of every worker.
+ * <p>
+ * Each catalog context acquires the cache for a catalog when it attaches the catalog, and releases it when
+ * it detaches the catalog. Caches are keyed by catalog and options, so a reconfigured catalog never sees a
+ * cache built from its previous options, and a cache is removed once the last worker releases it.
+ */
+public final class CatalogCaches
+{
+    private final EngineConfiguration config;
+    private final String type;
+    private final Executor executor;
+    private final LongSupplier currentTimeMillis;
+    private final ConcurrentMap<String, CacheRef> caches;
+
+    public CatalogCaches(
+        Configuration config,
+        String type,
+        Executor executor,
+        LongSupplier currentTimeMillis)
+    {
+        this.config = new EngineConfiguration(config);
+        this.type = type;
+        this.executor = executor;
+        this.currentTimeMillis = currentTimeMillis;
+        this.caches = new ConcurrentHashMap<>();
+    }
+
+    public CatalogCache acquire(
+        CatalogConfig catalog,
+        String options,
+        long maxAgeMillis)
+    {
+        final String key = key(catalog, options);
+        final CacheRef ref = caches.compute(key, (k, r) ->
+        {
+            final CacheRef acquired = r != null ? r : newCacheRef(catalog, k, maxAgeMillis);
+            acquired.refs++;
+            return acquired;
+        });
+        return ref.cache;
+    }
+
+    public void release(
+        CatalogConfig catalog,
+        String options)
+    {
+        caches.computeIfPresent(key(catalog, options), (k, r) -> --r.refs == 0 ? null : r);
+    }
+
+    int size()
+    {
+        return caches.size();
+    }
+
+    private CacheRef newCacheRef(
+        CatalogConfig catalog,
+        String key,
+        long maxAgeMillis)
+    {
+        final Path snapshot = config.catalogCacheSnapshot()
+            ? config.cacheDirectory()
+                .resolve("catalog")
+                .resolve(type)
+                .resolve(String.format("%s.%s.%08x.json", catalog.namespace, catalog.name, key.hashCode()))
+            : null;
+
+        final CatalogCache cache = new CatalogCache(config.catalogCacheCapacity(), maxAgeMillis,
+            config.catalogCacheFetchTimeoutMillis(), snapshot, executor, currentTimeMillis);
+
+        return new CacheRef(cache);
+    }
+
+    private static String key(
+        CatalogConfig catalog,
+        String options)
+    {
+        return String.format("%s %s", catalog.qname, options);
+    }
+
+    private static final class CacheRef
+    {
+        private final CatalogCache cache;
+        private int refs;
+
+        private CacheRef(
+            CatalogCache cache)
+        {
+            this.cache = cache;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.agrona.LangUtil;
+
+public final class HostResolverCache
+{
+    private static final long NEVER_EXPIRES = -1L;
+
+    private final Function<String, InetAddress[]> resolver;
+    private final Executor executor;
+    private final int capacity;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final LongSupplier currentTimeMillis;
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<InetAddress[]>> resolutions;
+
+    public HostResolverCache(
+        Function<String, InetAddress[]> resolver,
+        Executor executor,
+        int capacity,
+        int ttlSeconds,
+        int negativeTtlSeconds,
+        LongSupplier currentTimeMillis)
+    {
+        this.resolver = resolver;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.ttlMillis = ttlSeconds < 0 ? NEVER_EXPIRES : SECONDS.toMillis(ttlSeconds);
+        this.negativeTtlMillis = negativeTtlSeconds < 0 ? NEVER_EXPIRES : SECONDS.toMillis(negativeTtlSeconds);
+        this.currentTimeMillis = currentTimeMillis;
+        this.entries = new ConcurrentHashMap<>();
+        this.resolutions = new ConcurrentHashMap<>();
+    }
+
+    public InetAddress[] lookup(
+        String host)
+    {
+        InetAddress[] addresses = null;
+
+        final Entry entry = entries.get(host);
+        if (entry != null)
+        {
+            if (entry.expiresAt > currentTimeMillis.getAsLong())
+            {
+                if (entry.failure != null)
+                {
+                    LangUtil.rethrowUnchecked(entry.failure);
+                }
+
+                addresses = entry.addresses;
+            }
+            else
+            {
+                entries.remove(host, entry);
+            }
+        }
+
+        return addresses;
+    }
+
+    public InetAddress[] resolve(
+        String host)
+    {
+        InetAddress[] addresses = lookup(host);
+
+        if (addresses == null)
+        {
+            try
+            {
+                addresses = resolve(host, Runnable::run).join();
+            }
+            catch (CompletionException ex)
+            {
+                LangUtil.rethrowUnchecked(ex.getCause());
+            }
+        }
+
+        return addresses;
+    }
+
+    public CompletableFuture<InetAddress[]> resolveAsync(
+        String host)
+    {
+        return resolve(host, executor);
+    }
+
+    public CompletableFuture<InetAddress[]> resolve(
+        String host,
+        Executor executor)
+    {
+        CompletableFuture<InetAddress[]> resolution;
+
+        try
+        {
+            final InetAddress[] addresses = lookup(host);
+            resolution = addresses != null ? CompletableFuture.completedFuture(addresses) : null;
+        }
+        catch (Throwable ex)
+        {
+            resolution = CompletableFuture.failedFuture(ex);
+        }
+
+        if (resolution == null)
+        {
+            final CompletableFuture<InetAddress[]> newResolution = new CompletableFuture<>();
+            resolution = resolutions.putIfAbsent(host, newResolution);
+
+            if (resolution == null)
+            {
+                resolution = newResolution;
+                executor.execute(() -> resolve(host, newResolution));
+            }
+        }
+
+        return resolution;
+    }
+
+    private void resolve(
+        String host,
+        CompletableFuture<InetAddress[]> resolution)
+    {
+        try
+        {
+            final InetAddress[] addresses = resolver.apply(host);
+            cache(host, new Entry(addresses, null, expiresAt(ttlMillis)));
+            resolutions.remove(host, resolution);
+            resolution.complete(addresses);
+        }
+        catch (Throwable ex)
+        {
+            cache(host, new Entry(null, ex, expiresAt(negativeTtlMillis)));
+            resolutions.remove(host, resolution);
+            resolution.completeExceptionally(ex);
+        }
+    }
+
+    private void cache(
+        String host,
+        Entry entry)
+    {
+        entries.put(host, entry);
+
+        if (entries.size() > capacity)
+        {
+            evict();
+        }
+    }
+
+    private void evict()
+    {
+        final long now = currentTimeMillis.getAsLong();
+        entries.values().removeIf(e -> e.expiresAt <= now);
+
+        while (entries.size() > capacity)
+        {
+            String soonest = null;
+            long soonestExpiresAt = Long.MAX_VALUE;
+
+            for (Map.Entry<String, Entry> candidate : entries.entrySet())
+            {
+                final long expiresAt = candidate.getValue().expiresAt;
+                if (soonest == null || expiresAt < soonestExpiresAt)
+                {
+                    soonest = candidate.getKey();
+                    soonestExpiresAt = expiresAt;
+                }
+            }
+
+            if (soonest == null)
+            {
+                break;
+            }
+
+            entries.remove(soonest);
+        }
+    }
+
+    private long expiresAt(
+        long ttlMillis)
+    {
+        return ttlMillis == NEVER_EXPIRES ? Long.MAX_VALUE : currentTimeMillis.getAsLong() + ttlMillis;
+    }
+
+    private static final class Entry
+    {
+        private final InetAddress[] addresses;
+        private final Throwable failure;
+        private final long expiresAt;
+
+        private Entry(
+            InetAddress[] addresses,
+            Throwable failure,
+            long expiresAt)
+        {
+            this.addresses = addresses;
+            this.failure = failure;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.buffer;
+
+import static org.agrona.BitUtil.isPowerOfTwo;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
+
+/**
+ * A chunk of shared memory for temporary storage of data, segmented into size classes of slots.
+ * Each size class holds slots of equal power of two capacity, with the largest class matching
+ * {@link #slotCapacity()}. Slots are acquired from per class free lists, so acquire and release
+ * do not degrade as the pool fills up.
+ * <p>
+ * Slot references are stable handles, so a slot can be grown to a larger size class without the
+ * caller having to track a new slot reference.
+ * <p>
+ * Memory layout is the slots of each size class in ascending capacity order, followed by the owning
+ * stream id of each slot reference, the acquired slot count of each size class, the capacity of each
+ * size class, the slot count of each size class and finally the negated number of size classes.
+ * <b>Each instance of this class is assumed to be used by one and only one thread.</b>
+ */
+public final class SlabBufferPool implements BufferPool
+{
+    private final MutableDirectBuffer slotBuffer = new UnsafeBuffer(new byte[0]);
+
+    private final int[] capacities;
+    private final int[] counts;
+    private final int[] offsets;
+    private final int slotCapacity;
+    private final int slotCount;
+    private final AtomicBuffer poolBuffer;
+    private final ByteBuffer slotByteBuffer;
+    private final int usedIndex;
+    private final int acquiredIndex;
+    private final Slabs slabs;
+
+    public SlabBufferPool(
+        int[] capacities,
+        int[] counts)
+    {
+        this(capacities, counts, ByteBuffer.allocate(totalCapacity(capacities, counts)));
+    }
+
+    public SlabBufferPool(
+        int[] capacities,
+        int[] counts,
+        ByteBuffer poolByteBuffer)
+    {
+        if (capacities.length == 0 || capacities.length != counts.length)
+        {
+            throw new IllegalArgumentException("size classes not specified");
+        }
+
+        for (int sizeClass = 0; sizeClass < capacities.length; sizeClass++)
+        {
+            if (!isPowerOfTwo(capacities[sizeClass]))
+            {
+                throw new IllegalArgumentException("slot capacity is not a power of 2");
+            }
+            if (sizeClass > 0 && capacities[sizeClass] <= capacities[sizeClass - 1])
+            {
+                throw new IllegalArgumentException("slot capacities not in ascending order");
+            }
+        }
+
+        final int totalCapacity = totalCapacity(capacities, counts);
+        if (poolByteBuffer.capacity() != totalCapacity)
+        {
+            throw new IllegalArgumentException(String.format("poolBuffer capacity not equal to %x", totalCapacity));
+        }
+
+        final int[] offsets = new int[capacities.length];
+        int offset = 0;
+        int slotCount = 0;
+        for (int sizeClass = 0; sizeClass < capacities.length; sizeClass++)
+        {
+            offsets[sizeClass] = offset;
+            offset += capacities[sizeClass] * counts[sizeClass];
+            slotCount += counts[sizeClass];
+        }
+
+        this.capacities = capacities.clone();
+        this.counts = counts.clone();
+        this.offsets = offsets;
+        this.slotCapacity = capacities[capacities.length - 1];
+        this.slotCount = slotCount;
+        this.poolBuffer = new UnsafeBuffer(poolByteBuffer);
+        this.slotByteBuffer = poolByteBuffer.duplicate();
+        this.usedIndex = offset;
+        this.acquiredIndex = usedIndex + Long.BYTES * slotCount;
+        this.slabs = new Slabs(counts, slotCount);
+
+        final int capacitiesIndex = acquiredIndex + Integer.BYTES * capacities.length;
+        final int countsIndex = capacitiesIndex + Integer.BYTES * capacities.length;
+        for (int sizeClass = 0; sizeClass < capacities.length; sizeClass++)
+        {
+            poolBuffer.putInt(capacitiesIndex + (sizeClass << 2), capacities[sizeClass]);
+            poolBuffer.putInt(countsIndex + (sizeClass << 2), counts[sizeClass]);
+        }
+        poolBuffer.putInt(countsIndex + Integer.BYTES * capacities.length, -capacities.length);
+    }
+
+    @Override
+    public int acquiredSlots()
+    {
+        return slotCount - slabs.freeHandleCount;
+    }
+
+    public int slotCount()
+    {
+        return slotCount;
+    }
+
+    public int sizeClasses()
+    {
+        return capacities.length;
+    }
+
+    public int sizeClass(
+        int slotCapacity)
+    {
+        int sizeClass = capacities.length - 1;
+        while (sizeClass >= 0 && capacities[sizeClass] != slotCapacity)
+        {
+            sizeClass--;
+        }
+
+        return sizeClass;
+    }
+
+    public int slotCapacity(
+        int sizeClass)
+    {
+        return capacities[sizeClass];
+    }
+
+    public int slotCount(
+        int sizeClass)
+    {
+        return counts[sizeClass];
+    }
+
+    public int acquiredSlots(
+        int sizeClass)
+    {
+        return poolBuffer.getIntVolatile(acquiredIndex + (sizeClass << 2));
+    }
+
+    @Override
+    public int slotCapacity()
+    {
+        return slotCapacity;
+    }
+
+    @Override
+    public int acquire(
+        long streamId)
+    {
+        return acquire(streamId, slotCapacity);
+    }
+
+    @Override
+    public int acquire(
+        long streamId,
+        int minCapacity)
+    {
+        int slot = NO_SLOT;
+
+        final int sizeClass = acquireSizeClass(minCapacity);
+        if (sizeClass != -1 && slabs.freeHandleCount != 0)
+        {
+            slot = slabs.freeHandles[--slabs.freeHandleCount];
+            slabs.classes[slot] = sizeClass;
+            slabs.indexes[slot] = acquireIndex(sizeClass);
+            poolBuffer.putLongOrdered(usedIndex + (slot << 3), streamId);
+        }
+
+        return slot;
+    }
+
+    @Override
+    public int capacity(
+        int slot)
+    {
+        assert slabs.classes[slot] != -1;
+        return capacities[slabs.classes[slot]];
+    }
+
+    @Override
+    public int grow(
+        int slot,
+        int minCapacity)
+    {
+        assert slabs.classes[slot] != -1;
+
+        final int sizeClass = slabs.classes[slot];
+        if (capacities[sizeClass] < minCapacity)
+        {
+            final int newSizeClass = acquireSizeClass(minCapacity);
+            if (newSizeClass == -1)
+            {
+                slot = NO_SLOT;
+            }
+            else
+            {
+                final int index = slabs.indexes[slot];
+                final int newIndex = acquireIndex(newSizeClass);
+
+                final int offset = offsets[sizeClass] + index * capacities[sizeClass];
+                final int newOffset = offsets[newSizeClass] + newIndex * capacities[newSizeClass];
+                poolBuffer.putBytes(newOffset, poolBuffer, offset, capacities[sizeClass]);
+
+                releaseIndex(sizeClass, index);
+                slabs.classes[slot] = newSizeClass;
+                slabs.indexes[slot] = newIndex;
+            }
+        }
+
+        return slot;
+    }
+
+    @Override
+    public MutableDirectBuffer buffer(
+        int slot)
+    {
+        assert slabs.classes[slot] != -1;
+        final int sizeClass = slabs.classes[slot];
+        slotBuffer.wrap(poolBuffer, slotOffset(slot), capacities[sizeClass]);
+        return slotBuffer;
+    }
+
+    @Override
+    public ByteBuffer byteBuffer(
+        int slot)
+    {
+        assert slabs.classes[slot] != -1;
+        final int sizeClass = slabs.classes[slot];
+        final int slotOffset = slotOffset(slot);
+        slotByteBuffer.clear();
+        slotByteBuffer.position(slotOffset);
+        slotByteBuffer.limit(slotOffset + capacities[sizeClass]);
+        return slotByteBuffer;
+    }
+
+    @Override
+    public MutableDirectBuffer buffer(
+        int slot,
+        int offset)
+    {
+        assert slabs.classes[slot] != -1;
+        final int sizeClass = slabs.classes[slot];
+        final long slotAddressOffset = poolBuffer.addressOffset() + slotOffset(slot);
+        slotBuffer.wrap(slotAddressOffset + offset, capacities[sizeClass]);
+        return slotBuffer;
+    }
+
+    /**
+     * Releases a slot so it may be used by other streams
+     * @param slot - Id of a previously acquired slot
+     */
+    @Override
+    public void release(
+        int slot)
+    {
+        assert slabs.classes[slot] != -1;
+        releaseIndex(slabs.classes[slot], slabs.indexes[slot]);
+        slabs.classes[slot] = -1;
+        slabs.indexes[slot] = -1;
+        slabs.freeHandles[slabs.freeHandleCount++] = slot;
+        poolBuffer.putLongOrdered(usedIndex + (slot << 3), 0L);
+    }
+
+    @Override
+    public BufferPool duplicate()
+    {
+        return new SlabBufferPool(this);
+    }
+
+    public DirectBuffer poolBuffer()
+    {
+        return poolBuffer;
+    }
+
+    public static int totalCapacity(
+        int[] capacities,
+        int[] counts)
+    {
+        int capacity = 0;
+        int slotCount = 0;
+        for (int sizeClass = 0; sizeClass < capacities.length; sizeClass++)
+        {
+            capacity += capacities[sizeClass] * counts[sizeClass];
+            slotCount += counts[sizeClass];
+        }
+
+        return capacity + Long.BYTES * slotCount + Integer.BYTES * (3 * capacities.length + 1);
+    }
+
+    private SlabBufferPool(
+        SlabBufferPool that)
+    {
+        this.capacities = that.capacities;
+        this.counts = that.counts;
+        this.offsets = that.offsets;
+        this.slotCapacity = that.slotCapacity;
+        this.slotCount = that.slotCount;
+        this.poolBuffer = that.poolBuffer;
+        this.usedIndex = that.usedIndex;
+        this.acquiredIndex = that.acquiredIndex;
+        this.slabs = that.slabs;
+        this.slotByteBuffer = that.slotByteBuffer.duplicate();
+    }
+
+    private int slotOffset(
+        int slot)
+    {
+        final int sizeClass = slabs.classes[slot];
+        return offsets[sizeClass] + slabs.indexes[slot] * capacities[sizeClass];
+    }
+
+    private int acquireSizeClass(
+        int minCapacity)
+    {
+        int sizeClass = 0;
+        while (sizeClass < capacities.length &&
+            (capacities[sizeClass] < minCapacity || slabs.freeCounts[sizeClass] == 0))
+        {
+            sizeClass++;
+        }
+
+        return sizeClass < capacities.length ? sizeClass : -1;
+    }
+
+    private int acquireIndex(
+        int sizeClass)
+    {
+        final int index = slabs.freeIndexes[sizeClass][--slabs.freeCounts[sizeClass]];
+        final int acquiredAt = acquiredIndex + (sizeClass << 2);
+        poolBuffer.putIntOrdered(acquiredAt, poolBuffer.getInt(acquiredAt) + 1);
+        return index;
+    }
+
+    private void releaseIndex(
+        int sizeClass,
+        int index)
+    {
+        slabs.freeIndexes[sizeClass][slabs.freeCounts[sizeClass]++] = index;
+        final int acquiredAt = acquiredIndex + (sizeClass << 2);
+        poolBuffer.putIntOrdered(acquiredAt, poolBuffer.getInt(acquiredAt) - 1);
+    }
+
+    private static final class Slabs
+    {
+        private final int[][] freeIndexes;
+        private final int[] freeCounts;
+        private final int[] freeHandles;
+        private final int[] classes;
+        private final int[] indexes;
+
+        private int freeHandleCount;
+
+        private Slabs(
+            int[] counts,
+            int slotCount)
+        {
+            this.freeIndexes = new int[counts.length][];
+            this.freeCounts = new int[counts.length];
+            for (int sizeClass = 0; sizeClass < counts.length; sizeClass++)
+            {
+                final int count = counts[sizeClass];
+                final int[] free = new int[count];
+                for (int index = 0; index < count; index++)
+                {
+                    free[index] = count - 1 - index;
+                }
+                freeIndexes[sizeClass] = free;
+                freeCounts[sizeClass] = count;
+            }
+
+            this.freeHandles = new int[slotCount];
+            for (int handle = 0; handle < slotCount; handle++)
+            {
+                freeHandles[handle] = slotCount - 1 - handle;
+            }
+            this.freeHandleCount = slotCount;
+
+            this.classes = new int[slotCount];
+            this.indexes = new int[slotCount];
+            Arrays.fill(classes, -1);
+            Arrays.fill(indexes, -1);
+        }
+    }
+}
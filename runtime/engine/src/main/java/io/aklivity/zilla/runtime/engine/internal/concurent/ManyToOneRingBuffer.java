@@ -135,6 +135,37 @@ public class ManyToOneRingBuffer implements RingBuffer
         return isSuccessful;
     }
 
+    /**
+     * Write a batch of records, already encoded with {@link org.agrona.concurrent.ringbuffer.RecordDescriptor}
+     * headers and aligned to {@link org.agrona.concurrent.ringbuffer.RecordDescriptor#ALIGNMENT}, claiming capacity
+     * for the whole batch at once.
+     * <p>
+     * The length of the first record is published last, so the consumer observes either none or all of the batch.
+     *
+     * @param srcBuffer containing the encoded records.
+     * @param srcIndex at which the first record begins.
+     * @param length of the batch in bytes, including the alignment padding of each record.
+     * @return true if the batch was written, otherwise false.
+     */
+    public boolean writeBatch(final DirectBuffer srcBuffer, final int srcIndex, final int length)
+    {
+        boolean isSuccessful = false;
+
+        final AtomicBuffer buffer = this.buffer;
+        final int firstRecordLength = srcBuffer.getInt(lengthOffset(srcIndex));
+        final int recordIndex = claimCapacity(buffer, length);
+
+        if (INSUFFICIENT_CAPACITY != recordIndex)
+        {
+            buffer.putBytes(typeOffset(recordIndex), srcBuffer, typeOffset(srcIndex), length - Integer.BYTES);
+            buffer.putIntOrdered(lengthOffset(recordIndex), firstRecordLength);
+
+            isSuccessful = true;
+        }
+
+        return isSuccessful;
+    }
+
     /**
      * {@inheritDoc}
      */
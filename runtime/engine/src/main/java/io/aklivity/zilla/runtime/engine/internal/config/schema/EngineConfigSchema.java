@@ -0,0 +1,247 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.config.schema;
+
+import static jakarta.json.stream.JsonGenerator.PRETTY_PRINTING;
+import static java.util.Collections.singletonMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URL;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonPatch;
+import jakarta.json.JsonReader;
+import jakarta.json.spi.JsonProvider;
+import jakarta.json.stream.JsonParser;
+
+import org.agrona.collections.IntArrayList;
+import org.leadpony.justify.api.JsonSchema;
+import org.leadpony.justify.api.JsonSchemaReader;
+import org.leadpony.justify.api.JsonValidationService;
+import org.leadpony.justify.api.ProblemHandler;
+
+import io.aklivity.zilla.runtime.engine.Engine;
+import io.aklivity.zilla.runtime.engine.EngineConfiguration;
+import io.aklivity.zilla.runtime.engine.config.ConfigException;
+import io.aklivity.zilla.runtime.engine.config.EngineConfigAnnotator;
+
+/**
+ * Engine configuration schema composed from {@code engine.schema.json} and the schema patch of each plugin.
+ * <p>
+ * The composed schema is compiled once, on first use, both as is and annotated to allow expressions, then
+ * reused for every subsequent read. Documents are validated independently, and the text of each document
+ * that passed validation is remembered, so a document that is unchanged since the last successful
+ * validation is not validated again.
+ * <b>Each instance of this class is assumed to be used by one and only one thread.</b>
+ */
+public final class EngineConfigSchema
+{
+    private final EngineConfiguration config;
+    private final Collection<URL> schemaTypes;
+    private final Consumer<String> logger;
+    private final JsonProvider provider;
+    private final JsonValidationService service;
+
+    private Validator validator;
+    private Validator annotatedValidator;
+
+    public EngineConfigSchema(
+        EngineConfiguration config,
+        Collection<URL> schemaTypes,
+        Consumer<String> logger)
+    {
+        this.config = config;
+        this.schemaTypes = schemaTypes;
+        this.logger = logger;
+        this.provider = JsonProvider.provider();
+        this.service = JsonValidationService.newInstance();
+    }
+
+    public JsonProvider provider()
+    {
+        return provider;
+    }
+
+    public IntArrayList validate(
+        String readable,
+        List<Exception> errors) throws IOException
+    {
+        compileIfNecessary();
+        return validator.validate(readable, errors);
+    }
+
+    public IntArrayList validateAnnotated(
+        String readable,
+        List<Exception> errors) throws IOException
+    {
+        compileIfNecessary();
+        return annotatedValidator.validate(readable, errors);
+    }
+
+    private void compileIfNecessary() throws IOException
+    {
+        if (validator == null)
+        {
+            final JsonObject schemaObject = compose();
+
+            if (config.verboseSchemaPlain())
+            {
+                logSchema(schemaObject);
+            }
+
+            final EngineConfigAnnotator annotator = new EngineConfigAnnotator();
+            final JsonObject annotatedSchemaObject = annotator.annotate(schemaObject);
+
+            if (config.verboseSchema())
+            {
+                logSchema(annotatedSchemaObject);
+            }
+
+            annotatedValidator = new Validator(compile(annotatedSchemaObject));
+            validator = new Validator(compile(schemaObject));
+        }
+    }
+
+    private JsonObject compose() throws IOException
+    {
+        JsonObject schemaObject;
+
+        try (InputStream schemaInput = Engine.class.getResourceAsStream("internal/schema/engine.schema.json");
+             JsonReader schemaReader = provider.createReader(schemaInput))
+        {
+            schemaObject = schemaReader.readObject();
+        }
+
+        for (URL schemaType : schemaTypes)
+        {
+            try (InputStream schemaPatchInput = schemaType.openStream();
+                 JsonReader schemaPatchReader = provider.createReader(schemaPatchInput))
+            {
+                JsonArray schemaPatchArray = schemaPatchReader.readArray();
+                JsonPatch schemaPatch = provider.createPatch(schemaPatchArray);
+
+                schemaObject = schemaPatch.apply(schemaObject);
+            }
+        }
+
+        return schemaObject;
+    }
+
+    private JsonSchema compile(
+        JsonObject schemaObject)
+    {
+        final JsonParser schemaParser = provider.createParserFactory(null)
+            .createParser(new StringReader(schemaObject.toString()));
+        final JsonSchemaReader reader = service.createSchemaReader(schemaParser);
+
+        return new UniquePropertyKeysSchema(reader.read());
+    }
+
+    private void logSchema(
+        JsonObject schemaObject)
+    {
+        final StringWriter out = new StringWriter();
+        provider.createGeneratorFactory(singletonMap(PRETTY_PRINTING, true))
+            .createGenerator(out)
+            .write(schemaObject)
+            .close();
+
+        final String schemaText = out.getBuffer().toString();
+        logger.accept(schemaText);
+    }
+
+    private final class Validator
+    {
+        private final JsonSchema schema;
+
+        private Set<String> validated;
+
+        private Validator(
+            JsonSchema schema)
+        {
+            this.schema = schema;
+            this.validated = new HashSet<>();
+        }
+
+        private IntArrayList validate(
+            String readable,
+            List<Exception> errors) throws IOException
+        {
+            final ProblemHandler handler = service.createProblemPrinter(msg -> errors.add(new ConfigException(msg)));
+            final Set<String> newValidated = new HashSet<>();
+
+            IntArrayList configsAt = new IntArrayList();
+            for (int configAt = 0; configAt < readable.length(); )
+            {
+                configsAt.addInt(configAt);
+
+                Reader reader = new StringReader(readable);
+                reader.skip(configAt);
+
+                final int configLimit;
+                try (JsonParser parser = provider.createParser(reader))
+                {
+                    skip(parser);
+                    configLimit = configAt + (int) parser.getLocation().getStreamOffset();
+                }
+
+                final String document = readable.substring(configAt, configLimit);
+                if (!validated.contains(document))
+                {
+                    try (JsonParser parser = service.createParser(new StringReader(document), schema, handler))
+                    {
+                        skip(parser);
+                    }
+
+                    if (!errors.isEmpty())
+                    {
+                        configsAt = null;
+                        break;
+                    }
+                }
+
+                newValidated.add(document);
+                configAt = configLimit;
+            }
+
+            if (configsAt != null)
+            {
+                validated = newValidated;
+            }
+
+            return configsAt;
+        }
+
+        private void skip(
+            JsonParser parser)
+        {
+            while (parser.hasNext())
+            {
+                parser.next();
+            }
+        }
+    }
+}
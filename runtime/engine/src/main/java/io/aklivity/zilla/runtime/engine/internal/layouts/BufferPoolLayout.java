@@ -22,20 +22,27 @@ import static org.agrona.IoUtil.unmap;
 import java.io.File;
 import java.nio.MappedByteBuffer;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 
 import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
 import io.aklivity.zilla.runtime.engine.internal.buffer.DefaultBufferPool;
+import io.aklivity.zilla.runtime.engine.internal.buffer.SlabBufferPool;
 
 public final class BufferPoolLayout implements AutoCloseable
 {
-    private final DefaultBufferPool bufferPool;
+    private final BufferPool bufferPool;
+    private final MappedByteBuffer mapped;
 
     private BufferPoolLayout(
-        DefaultBufferPool bufferPool)
+        BufferPool bufferPool,
+        MappedByteBuffer mapped)
     {
         this.bufferPool = bufferPool;
+        this.mapped = mapped;
     }
 
     public BufferPool bufferPool()
@@ -46,13 +53,15 @@ public final class BufferPoolLayout implements AutoCloseable
     @Override
     public void close()
     {
-        unmap(bufferPool.poolBuffer().byteBuffer());
+        unmap(mapped);
     }
 
     public static final class Builder
     {
         private int slotCount;
         private int slotCapacity;
+        private int[] slotClasses = new int[0];
+        private int[] slotClassCounts = new int[0];
         private Path path;
         private boolean readonly;
 
@@ -70,6 +79,20 @@ public final class BufferPoolLayout implements AutoCloseable
             return this;
         }
 
+        public Builder slotClasses(
+            int[] slotClasses)
+        {
+            this.slotClasses = slotClasses;
+            return this;
+        }
+
+        public Builder slotClassCounts(
+            int[] slotClassCounts)
+        {
+            this.slotClassCounts = slotClassCounts;
+            return this;
+        }
+
         public Builder path(
             Path path)
         {
@@ -85,6 +108,11 @@ public final class BufferPoolLayout implements AutoCloseable
         }
 
         public BufferPoolLayout build()
+        {
+            return slotClasses.length != 0 ? buildSlab() : buildDefault();
+        }
+
+        private BufferPoolLayout buildDefault()
         {
             final File layoutFile = path.toFile();
 
@@ -113,7 +141,51 @@ public final class BufferPoolLayout implements AutoCloseable
                 slotCapacity = slotCountIndex / slotCount - Long.BYTES;
             }
 
-            return new BufferPoolLayout(new DefaultBufferPool(slotCapacity, slotCount, mapped));
+            return new BufferPoolLayout(new DefaultBufferPool(slotCapacity, slotCount, mapped), mapped);
+        }
+
+        private BufferPoolLayout buildSlab()
+        {
+            final File layoutFile = path.toFile();
+
+            int[] capacities = Arrays.copyOf(slotClasses, slotClasses.length + 1);
+            capacities[slotClasses.length] = slotCapacity;
+
+            // smaller size classes are in addition to the full size slots, not carved out of them
+            int[] counts = new int[capacities.length];
+            for (int sizeClass = 0; sizeClass < slotClasses.length; sizeClass++)
+            {
+                counts[sizeClass] = sizeClass < slotClassCounts.length ? slotClassCounts[sizeClass] : slotCount;
+            }
+            counts[slotClasses.length] = slotCount;
+
+            if (!readonly)
+            {
+                final int totalLength = SlabBufferPool.totalCapacity(capacities, counts);
+                CloseHelper.close(createEmptyFile(layoutFile, totalLength));
+            }
+
+            final MappedByteBuffer mapped = mapExistingFile(layoutFile, "bufferPool");
+
+            if (readonly)
+            {
+                // trailer is written through an UnsafeBuffer, in native byte order
+                final DirectBuffer trailer = new UnsafeBuffer(mapped);
+                final int totalLength = (int) layoutFile.length();
+                final int sizeClasses = -trailer.getInt(totalLength - Integer.BYTES);
+                final int countsIndex = totalLength - Integer.BYTES * (sizeClasses + 1);
+                final int capacitiesIndex = countsIndex - Integer.BYTES * sizeClasses;
+
+                capacities = new int[sizeClasses];
+                counts = new int[sizeClasses];
+                for (int sizeClass = 0; sizeClass < sizeClasses; sizeClass++)
+                {
+                    capacities[sizeClass] = trailer.getInt(capacitiesIndex + Integer.BYTES * sizeClass);
+                    counts[sizeClass] = trailer.getInt(countsIndex + Integer.BYTES * sizeClass);
+                }
+            }
+
+            return new BufferPoolLayout(new SlabBufferPool(capacities, counts, mapped), mapped);
         }
     }
 }
@@ -28,22 +28,21 @@ import java.util.concurrent.TimeUnit;
 import org.agrona.CloseHelper;
 import org.agrona.concurrent.AtomicBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
-import org.agrona.concurrent.ringbuffer.RingBuffer;
 import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
 
 import io.aklivity.zilla.runtime.engine.internal.concurent.ManyToOneRingBuffer;
 
 public final class StreamsLayout implements AutoCloseable
 {
-    private final RingBuffer streamsBuffer;
+    private final ManyToOneRingBuffer streamsBuffer;
 
     private StreamsLayout(
-        RingBuffer streamsBuffer)
+        ManyToOneRingBuffer streamsBuffer)
     {
         this.streamsBuffer = streamsBuffer;
     }
 
-    public RingBuffer streamsBuffer()
+    public ManyToOneRingBuffer streamsBuffer()
     {
         return streamsBuffer;
     }
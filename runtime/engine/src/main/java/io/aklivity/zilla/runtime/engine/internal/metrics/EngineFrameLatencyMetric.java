@@ -0,0 +1,88 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.metrics;
+
+import static io.aklivity.zilla.runtime.engine.metrics.MetricContext.Direction.RECEIVED;
+
+import java.util.function.LongConsumer;
+
+import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricContext;
+
+public final class EngineFrameLatencyMetric implements Metric
+{
+    @Override
+    public String name()
+    {
+        return EngineMetricGroup.FRAME_LATENCY;
+    }
+
+    @Override
+    public Kind kind()
+    {
+        return Kind.HISTOGRAM;
+    }
+
+    @Override
+    public Unit unit()
+    {
+        return Unit.NANOSECONDS;
+    }
+
+    @Override
+    public String description()
+    {
+        return "Delay between writing a frame and dispatching it to the receiving binding";
+    }
+
+    @Override
+    public MetricContext supply(
+        EngineContext context)
+    {
+        return new EngineFrameLatencyMetricContext();
+    }
+
+    private final class EngineFrameLatencyMetricContext implements MetricContext
+    {
+        @Override
+        public String group()
+        {
+            return EngineMetricGroup.NAME;
+        }
+
+        @Override
+        public Kind kind()
+        {
+            return EngineFrameLatencyMetric.this.kind();
+        }
+
+        @Override
+        public Direction direction()
+        {
+            return RECEIVED;
+        }
+
+        @Override
+        public MessageConsumer supply(
+            LongConsumer recorder)
+        {
+            // recorded by the engine worker as it dispatches frames to each stream, not by metric handlers
+            return MessageConsumer.NOOP;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.metrics;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricGroup;
+
+public final class EngineMetricGroup implements MetricGroup
+{
+    public static final String NAME = "engine";
+
+    public static final String FRAME_LATENCY = String.format("%s.%s", NAME, "frame.latency");
+    public static final String BUFFER_SLOTS = String.format("%s.%s", NAME, "buffer.slots");
+
+    // one gauge per power of two slot capacity, as size classes are configured per engine
+    private static final int BUFFER_SLOTS_MIN_CAPACITY = 1 << 8;
+    private static final int BUFFER_SLOTS_MAX_CAPACITY = 1 << 20;
+
+    private final Map<String, Supplier<Metric>> engineMetrics;
+
+    public EngineMetricGroup(
+        Configuration config)
+    {
+        final Map<String, Supplier<Metric>> engineMetrics = new LinkedHashMap<>();
+        engineMetrics.put(FRAME_LATENCY, EngineFrameLatencyMetric::new);
+        for (int capacity = BUFFER_SLOTS_MIN_CAPACITY; capacity <= BUFFER_SLOTS_MAX_CAPACITY; capacity <<= 1)
+        {
+            final int slotCapacity = capacity;
+            engineMetrics.put(bufferSlots(slotCapacity), () -> new EngineBufferSlotsMetric(slotCapacity));
+        }
+        this.engineMetrics = engineMetrics;
+    }
+
+    public static String bufferSlots(
+        int slotCapacity)
+    {
+        return String.format("%s.%d", BUFFER_SLOTS, slotCapacity);
+    }
+
+    @Override
+    public String name()
+    {
+        return NAME;
+    }
+
+    @Override
+    public URL type()
+    {
+        // engine metrics are part of the engine schema
+        return null;
+    }
+
+    @Override
+    public Metric supply(
+        String name)
+    {
+        return engineMetrics.getOrDefault(name, () -> null).get();
+    }
+
+    @Override
+    public Collection<String> metricNames()
+    {
+        return engineMetrics.keySet();
+    }
+}
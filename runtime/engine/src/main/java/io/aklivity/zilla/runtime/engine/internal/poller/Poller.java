@@ -17,9 +17,11 @@ package io.aklivity.zilla.runtime.engine.internal.poller;
 
 import static org.agrona.CloseHelper.quietClose;
 
+import java.io.IOException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
+import java.util.function.LongSupplier;
 import java.util.function.ToIntFunction;
 import java.util.stream.Stream;
 
@@ -30,6 +32,9 @@ public final class Poller extends TransportPoller
 {
     private final ToIntFunction<SelectionKey> selectHandler;
 
+    private volatile boolean parked;
+    private int selected;
+
     public Poller()
     {
         this.selectHandler = this::handleSelect;
@@ -41,8 +46,9 @@ public final class Poller extends TransportPoller
 
         try
         {
-            if (selector.selectNow() != 0)
+            if (selected != 0 || selector.selectNow() != 0)
             {
+                selected = 0;
                 workDone = selectedKeySet.forEach(selectHandler);
             }
         }
@@ -55,6 +61,37 @@ public final class Poller extends TransportPoller
         return workDone;
     }
 
+    public void park(
+        LongSupplier parkMillis)
+    {
+        parked = true;
+
+        try
+        {
+            final long timeoutMillis = parkMillis.getAsLong();
+            if (timeoutMillis > 0L)
+            {
+                selected = selector.select(timeoutMillis);
+            }
+        }
+        catch (IOException ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+        finally
+        {
+            parked = false;
+        }
+    }
+
+    public void wakeup()
+    {
+        if (parked)
+        {
+            selector.wakeup();
+        }
+    }
+
     public void onClose()
     {
         for (SelectionKey key : selector.keys())
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.poller;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.function.LongSupplier;
+
+import org.agrona.concurrent.IdleStrategy;
+
+/**
+ * Idle strategy that spins, then yields, then blocks in {@link Poller#park(LongSupplier)} until
+ * channel readiness, a producer {@link Poller#wakeup()} or the supplied park timeout.
+ * <p>
+ * The park timeout supplier is evaluated after the poller is marked as parked, so a producer that
+ * writes work and then calls {@link Poller#wakeup()} is never missed.
+ */
+public final class PollerIdleStrategy implements IdleStrategy
+{
+    private final Poller poller;
+    private final long maxSpins;
+    private final long maxYields;
+    private final long maxParkMillis;
+    private final LongSupplier parkMillis;
+    private final LongSupplier cappedParkMillis;
+
+    private long spins;
+    private long yields;
+
+    public PollerIdleStrategy(
+        Poller poller,
+        long maxSpins,
+        long maxYields,
+        long maxParkNanos,
+        LongSupplier parkMillis)
+    {
+        this.poller = poller;
+        this.maxSpins = maxSpins;
+        this.maxYields = maxYields;
+        this.maxParkMillis = Math.max(NANOSECONDS.toMillis(maxParkNanos), 1L);
+        this.parkMillis = parkMillis;
+        this.cappedParkMillis = this::cappedParkMillis;
+    }
+
+    @Override
+    public void idle(
+        int workCount)
+    {
+        if (workCount > 0)
+        {
+            reset();
+        }
+        else
+        {
+            idle();
+        }
+    }
+
+    @Override
+    public void idle()
+    {
+        if (spins < maxSpins)
+        {
+            spins++;
+            Thread.onSpinWait();
+        }
+        else if (yields < maxYields)
+        {
+            yields++;
+            Thread.yield();
+        }
+        else
+        {
+            poller.park(cappedParkMillis);
+        }
+    }
+
+    @Override
+    public void reset()
+    {
+        spins = 0L;
+        yields = 0L;
+    }
+
+    @Override
+    public String alias()
+    {
+        return "poller";
+    }
+
+    private long cappedParkMillis()
+    {
+        return Math.min(parkMillis.getAsLong(), maxParkMillis);
+    }
+}
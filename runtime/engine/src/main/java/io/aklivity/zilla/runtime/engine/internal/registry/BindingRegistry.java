@@ -15,6 +15,8 @@
  */
 package io.aklivity.zilla.runtime.engine.internal.registry;
 
+import java.util.function.LongConsumer;
+
 import io.aklivity.zilla.runtime.engine.binding.BindingContext;
 import io.aklivity.zilla.runtime.engine.binding.BindingHandler;
 import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
@@ -31,6 +33,7 @@ final class BindingRegistry
     private MessageConsumer receivedOriginMetricHandler = MessageConsumer.NOOP;
     private MessageConsumer sentRoutedMetricHandler = MessageConsumer.NOOP;
     private MessageConsumer receivedRoutedMetricHandler = MessageConsumer.NOOP;
+    private LongConsumer frameLatencyRecorder;
 
     BindingRegistry(
         BindingConfig binding,
@@ -85,6 +88,12 @@ final class BindingRegistry
         this.receivedRoutedMetricHandler = receivedRoutedMetricHandler;
     }
 
+    public void frameLatencyRecorder(
+        LongConsumer frameLatencyRecorder)
+    {
+        this.frameLatencyRecorder = frameLatencyRecorder;
+    }
+
     public MessageConsumer sentOriginMetricHandler()
     {
         return sentOriginMetricHandler;
@@ -105,6 +114,11 @@ final class BindingRegistry
         return receivedRoutedMetricHandler;
     }
 
+    public LongConsumer frameLatencyRecorder()
+    {
+        return frameLatencyRecorder;
+    }
+
     public KindConfig kind()
     {
         return binding.kind;
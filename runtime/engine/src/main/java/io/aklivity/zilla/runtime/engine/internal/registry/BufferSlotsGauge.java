@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.registry;
+
+import java.util.function.LongConsumer;
+
+import org.agrona.collections.Long2ObjectHashMap;
+
+import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
+import io.aklivity.zilla.runtime.engine.internal.buffer.SlabBufferPool;
+
+final class BufferSlotsGauge
+{
+    private final int slotCapacity;
+    private final Long2ObjectHashMap<LongConsumer> recordersByBindingId;
+
+    private long recorderBindingId;
+    private LongConsumer recorder;
+    private long recorded;
+
+    BufferSlotsGauge(
+        int slotCapacity)
+    {
+        this.slotCapacity = slotCapacity;
+        this.recordersByBindingId = new Long2ObjectHashMap<>();
+    }
+
+    void attach(
+        long bindingId,
+        LongConsumer recorder)
+    {
+        recordersByBindingId.put(bindingId, recorder);
+
+        if (this.recorder == null)
+        {
+            this.recorderBindingId = bindingId;
+            this.recorder = recorder;
+        }
+    }
+
+    void detach(
+        long bindingId)
+    {
+        if (recordersByBindingId.remove(bindingId) != null &&
+            recorder != null && recorderBindingId == bindingId)
+        {
+            reset();
+
+            recorder = null;
+            final Long2ObjectHashMap<LongConsumer>.KeyIterator bindingIds = recordersByBindingId.keySet().iterator();
+            if (bindingIds.hasNext())
+            {
+                recorderBindingId = bindingIds.nextLong();
+                recorder = recordersByBindingId.get(recorderBindingId);
+            }
+        }
+    }
+
+    boolean isAttached()
+    {
+        return recorder != null;
+    }
+
+    void sample(
+        BufferPool bufferPool)
+    {
+        if (recorder != null)
+        {
+            final long acquired = acquiredSlots(bufferPool);
+            if (acquired != recorded)
+            {
+                recorder.accept(acquired - recorded);
+                recorded = acquired;
+            }
+        }
+    }
+
+    private void reset()
+    {
+        if (recorded != 0L)
+        {
+            recorder.accept(-recorded);
+            recorded = 0L;
+        }
+    }
+
+    private int acquiredSlots(
+        BufferPool bufferPool)
+    {
+        int acquired = 0;
+
+        if (bufferPool instanceof SlabBufferPool)
+        {
+            final SlabBufferPool slabs = (SlabBufferPool) bufferPool;
+            final int sizeClass = slabs.sizeClass(slotCapacity);
+            acquired = sizeClass != -1 ? slabs.acquiredSlots(sizeClass) : 0;
+        }
+        else if (bufferPool.slotCapacity() == slotCapacity)
+        {
+            acquired = bufferPool.acquiredSlots();
+        }
+
+        return acquired;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.registry;
+
+import java.util.function.LongConsumer;
+
+import org.agrona.collections.Int2ObjectHashMap;
+
+import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
+
+/**
+ * Occupancy gauges of the worker buffer pool, one per slot capacity.
+ * <p>
+ * The buffer pool is shared by every binding on the worker, so each gauge records through a single
+ * referencing binding at a time, and is sampled once per duty cycle rather than per binding.
+ */
+final class BufferSlotsGauges
+{
+    private final Int2ObjectHashMap<BufferSlotsGauge> gaugesBySlotCapacity;
+
+    BufferSlotsGauges()
+    {
+        this.gaugesBySlotCapacity = new Int2ObjectHashMap<>();
+    }
+
+    void attach(
+        int slotCapacity,
+        long bindingId,
+        LongConsumer recorder)
+    {
+        gaugesBySlotCapacity.computeIfAbsent(slotCapacity, BufferSlotsGauge::new).attach(bindingId, recorder);
+    }
+
+    void detach(
+        long bindingId)
+    {
+        gaugesBySlotCapacity.values().forEach(g -> g.detach(bindingId));
+        gaugesBySlotCapacity.values().removeIf(g -> !g.isAttached());
+    }
+
+    void sample(
+        BufferPool bufferPool)
+    {
+        if (!gaugesBySlotCapacity.isEmpty())
+        {
+            for (BufferSlotsGauge gauge : gaugesBySlotCapacity.values())
+            {
+                gauge.sample(bufferPool);
+            }
+        }
+    }
+}
@@ -19,10 +19,15 @@ import static java.util.stream.Collectors.toList;
 import static org.agrona.LangUtil.rethrowUnchecked;
 
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
@@ -35,6 +40,8 @@ import java.util.function.ToIntFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import jakarta.json.JsonObject;
+
 import org.agrona.LangUtil;
 
 import io.aklivity.zilla.runtime.engine.EngineConfiguration;
@@ -62,6 +69,7 @@ import io.aklivity.zilla.runtime.engine.ext.EngineExtSpi;
 import io.aklivity.zilla.runtime.engine.guard.Guard;
 import io.aklivity.zilla.runtime.engine.internal.Tuning;
 import io.aklivity.zilla.runtime.engine.internal.config.NamespaceAdapter;
+import io.aklivity.zilla.runtime.engine.internal.config.schema.EngineConfigSchema;
 import io.aklivity.zilla.runtime.engine.namespace.NamespacedId;
 import io.aklivity.zilla.runtime.engine.resolver.Resolver;
 
@@ -69,7 +77,7 @@ public class EngineManager
 {
     private static final String CONFIG_TEXT_DEFAULT = "name: default\n";
 
-    private final Collection<URL> schemaTypes;
+    private final EngineConfigSchema schema;
     private final Function<String, Binding> bindingByType;
     private final Function<String, Guard> guardByType;
     private final ToIntFunction<String> supplyId;
@@ -101,7 +109,7 @@ public class EngineManager
         List<EngineExtSpi> extensions,
         BiFunction<URL, String, String> readURL)
     {
-        this.schemaTypes = schemaTypes;
+        this.schema = new EngineConfigSchema(config, schemaTypes, logger);
         this.bindingByType = bindingByType;
         this.guardByType = guardByType;
         this.supplyId = supplyId;
@@ -129,19 +137,18 @@ public class EngineManager
             if (newConfig != null)
             {
                 final EngineConfig oldConfig = current;
-                unregister(oldConfig);
 
                 try
                 {
                     current = newConfig;
-                    register(newConfig);
+                    reconfigure(oldConfig, newConfig);
                 }
                 catch (Exception ex)
                 {
                     context.onError(ex);
 
+                    // workers already restored the namespaces of the old config
                     current = oldConfig;
-                    register(oldConfig);
 
                     rethrowUnchecked(ex);
                 }
@@ -192,11 +199,9 @@ public class EngineManager
             final Function<String, String> namespaceReadURL = l -> readURL.apply(configURL, l);
 
             EngineConfigReader reader = new EngineConfigReader(
-                config,
                 new NamespaceConfigAdapterContext(namespaceReadURL),
                 expressions,
-                schemaTypes,
-                logger);
+                schema);
 
             engine = reader.read(configText);
 
@@ -369,52 +374,160 @@ public class EngineManager
         }
     }
 
-    private void register(
-        EngineConfig config)
+    private void reconfigure(
+        EngineConfig oldConfig,
+        EngineConfig newConfig)
     {
-        if (config != null)
+        extensions.forEach(e -> e.onUnregistered(context));
+
+        final Map<String, NamespaceConfig> oldNamespaces = new LinkedHashMap<>();
+        if (oldConfig != null)
+        {
+            oldConfig.namespaces.forEach(n -> oldNamespaces.put(n.name, n));
+        }
+
+        final Map<String, NamespaceConfig> newNamespaces = new LinkedHashMap<>();
+        if (newConfig != null)
+        {
+            newConfig.namespaces.forEach(n -> newNamespaces.put(n.name, n));
+        }
+
+        final Map<String, JsonObject> oldObjects = new HashMap<>();
+        final Map<String, JsonObject> newObjects = new HashMap<>();
+        for (String name : oldNamespaces.keySet())
         {
-            for (NamespaceConfig namespace : config.namespaces)
+            if (newNamespaces.containsKey(name))
             {
-                register(namespace);
+                oldObjects.put(name, adaptToJson(oldNamespaces.get(name)));
+                newObjects.put(name, adaptToJson(newNamespaces.get(name)));
             }
         }
 
-        extensions.forEach(e -> e.onRegistered(context));
-    }
+        final Set<Long> changedRefs = new HashSet<>();
+        oldNamespaces.forEach((name, namespace) ->
+            NamespaceDiff.changedRefs(namespace, oldObjects.get(name),
+                newNamespaces.get(name), newObjects.get(name), changedRefs));
+        newNamespaces.forEach((name, namespace) ->
+        {
+            if (!oldNamespaces.containsKey(name))
+            {
+                NamespaceDiff.changedRefs(null, null, namespace, null, changedRefs);
+            }
+        });
 
-    private void unregister(
-        EngineConfig config)
-    {
-        if (config != null)
+        final List<NamespaceDiff> diffs = new ArrayList<>();
+        for (NamespaceConfig namespace : oldNamespaces.values())
         {
-            for (NamespaceConfig namespace : config.namespaces)
+            if (!newNamespaces.containsKey(namespace.name))
             {
-                unregister(namespace);
+                diffs.add(NamespaceDiff.detached(namespace));
             }
         }
 
-        extensions.forEach(e -> e.onUnregistered(context));
+        for (NamespaceConfig namespace : newNamespaces.values())
+        {
+            final NamespaceConfig oldNamespace = oldNamespaces.get(namespace.name);
+            if (oldNamespace == null)
+            {
+                diffs.add(NamespaceDiff.attached(namespace));
+            }
+            else
+            {
+                NamespaceDiff diff = NamespaceDiff.diff(oldNamespace, oldObjects.get(namespace.name),
+                    namespace, newObjects.get(namespace.name), changedRefs::contains);
+
+                if (!diff.isEmpty())
+                {
+                    diffs.add(diff);
+                }
+            }
+        }
+
+        try
+        {
+            if (!diffs.isEmpty())
+            {
+                update(diffs);
+            }
+        }
+        finally
+        {
+            extensions.forEach(e -> e.onRegistered(context));
+        }
     }
 
-    private void register(
+    private JsonObject adaptToJson(
         NamespaceConfig namespace)
     {
-        workers.stream()
-            .map(w -> w.attach(namespace))
-            .reduce(CompletableFuture::allOf)
-            .ifPresent(CompletableFuture::join);
+        JsonObject object = null;
+
+        try
+        {
+            NamespaceAdapter adapter = new NamespaceAdapter(new NamespaceConfigAdapterContext(namespace.readURL));
+            object = adapter.adaptToJson(namespace);
+        }
+        catch (Exception ex)
+        {
+            // not comparable, reattach all elements of this namespace
+        }
+
+        return object;
     }
 
-    private void unregister(
-        NamespaceConfig namespace)
+    private void update(
+        List<NamespaceDiff> diffs)
     {
-        if (namespace != null)
+        final List<CompletableFuture<Void>> updates = workers.stream()
+            .map(w -> w.update(diffs))
+            .collect(toList());
+
+        CompletableFuture.allOf(updates.toArray(CompletableFuture[]::new))
+            .handle((r, ex) -> r)
+            .join();
+
+        Throwable failure = null;
+        for (CompletableFuture<Void> update : updates)
         {
-            workers.stream()
-                .map(w -> w.detach(namespace))
-                .reduce(CompletableFuture::allOf)
-                .ifPresent(CompletableFuture::join);
+            if (update.isCompletedExceptionally())
+            {
+                final Throwable cause = update.handle((r, ex) -> ex).join();
+                if (failure == null)
+                {
+                    failure = cause;
+                }
+                else if (failure != cause)
+                {
+                    failure.addSuppressed(cause);
+                }
+            }
+        }
+
+        if (failure != null)
+        {
+            // failed workers restored themselves, revert the others in the reverse order
+            final List<NamespaceDiff> reverse = new ArrayList<>(diffs.size());
+            diffs.forEach(d -> reverse.add(0, d.reverse()));
+
+            final List<CompletableFuture<Void>> reverts = new ArrayList<>();
+            final Iterator<CompletableFuture<Void>> iterator = updates.iterator();
+            for (EngineWorker worker : workers)
+            {
+                if (!iterator.next().isCompletedExceptionally())
+                {
+                    reverts.add(worker.update(reverse));
+                }
+            }
+
+            for (CompletableFuture<Void> revert : reverts)
+            {
+                final Throwable cause = revert.handle((r, ex) -> ex).join();
+                if (cause != null)
+                {
+                    failure.addSuppressed(cause);
+                }
+            }
+
+            rethrowUnchecked(failure);
         }
     }
 
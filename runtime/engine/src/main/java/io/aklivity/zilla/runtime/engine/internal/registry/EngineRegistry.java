@@ -15,7 +15,11 @@
  */
 package io.aklivity.zilla.runtime.engine.internal.registry;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.LongConsumer;
@@ -49,6 +53,7 @@ public class EngineRegistry
     private final ObjectLongLongFunction<Metric.Kind, LongConsumer> supplyMetricRecorder;
     private final Int2ObjectHashMap<NamespaceRegistry> namespacesById;
     private final LongConsumer detachBinding;
+    private final BufferSlotsGauges bufferSlotsGauges;
     private final Collector collector;
     private final Consumer<NamespaceConfig> process;
 
@@ -64,6 +69,7 @@ public class EngineRegistry
         LongConsumer exporterDetached,
         ObjectLongLongFunction<Metric.Kind, LongConsumer> supplyMetricRecorder,
         LongConsumer detachBinding,
+        BufferSlotsGauges bufferSlotsGauges,
         Collector collector,
         Consumer<NamespaceConfig> process)
     {
@@ -79,6 +85,7 @@ public class EngineRegistry
         this.exporterDetached = exporterDetached;
         this.namespacesById = new Int2ObjectHashMap<>();
         this.detachBinding = detachBinding;
+        this.bufferSlotsGauges = bufferSlotsGauges;
         this.collector = collector;
         this.process = process;
     }
@@ -113,6 +120,12 @@ public class EngineRegistry
         return new NamespaceTask(namespace, this::detachNamespace);
     }
 
+    NamespaceTask update(
+        List<NamespaceDiff> diffs)
+    {
+        return new NamespaceTask(null, n -> updateNamespaces(diffs));
+    }
+
     public BindingRegistry resolveBinding(
         long bindingId)
     {
@@ -193,10 +206,7 @@ public class EngineRegistry
     private void attachNamespace(
         NamespaceConfig namespace)
     {
-        NamespaceRegistry registry =
-                new NamespaceRegistry(namespace, bindingsByType, guardsByType, vaultsByType, catalogsByType,
-                    metricsByName, exportersByType, supplyLabelId, this::resolveMetric, exporterAttached, exporterDetached,
-                    supplyMetricRecorder, detachBinding, collector);
+        NamespaceRegistry registry = newNamespace(namespace);
         namespacesById.put(registry.namespaceId(), registry);
         registry.attach();
     }
@@ -206,6 +216,88 @@ public class EngineRegistry
     {
         int namespaceId = supplyLabelId.applyAsInt(namespace.name);
         NamespaceRegistry registry = namespacesById.remove(namespaceId);
-        registry.detach();
+        if (registry != null)
+        {
+            registry.detach();
+        }
+    }
+
+    private void updateNamespaces(
+        List<NamespaceDiff> diffs)
+    {
+        final Deque<Runnable> undo = new ArrayDeque<>();
+
+        try
+        {
+            final List<NamespaceRegistry> registries = new ArrayList<>(diffs.size());
+            for (NamespaceDiff diff : diffs)
+            {
+                final int namespaceId = supplyLabelId.applyAsInt(diff.name());
+                NamespaceRegistry registry = namespacesById.get(namespaceId);
+                if (registry == null)
+                {
+                    final NamespaceRegistry added = newNamespace(diff.namespace);
+                    undo.push(() -> namespacesById.remove(namespaceId));
+                    namespacesById.put(namespaceId, added);
+                    registry = added;
+                }
+                registries.add(registry);
+            }
+
+            // detach every changed element before attaching any, so that elements referenced
+            // across namespaces are already replaced when their dependents attach again
+            for (int i = 0; i < diffs.size(); i++)
+            {
+                registries.get(i).detachBindings(diffs.get(i), undo);
+            }
+            for (int i = 0; i < diffs.size(); i++)
+            {
+                registries.get(i).detachResources(diffs.get(i), undo);
+            }
+            for (int i = 0; i < diffs.size(); i++)
+            {
+                registries.get(i).attachResources(diffs.get(i), undo);
+            }
+            for (int i = 0; i < diffs.size(); i++)
+            {
+                registries.get(i).attachBindings(diffs.get(i), undo);
+            }
+
+            for (int i = 0; i < diffs.size(); i++)
+            {
+                if (diffs.get(i).namespace == null)
+                {
+                    final NamespaceRegistry removed = registries.get(i);
+                    final int namespaceId = removed.namespaceId();
+                    undo.push(() -> namespacesById.put(namespaceId, removed));
+                    namespacesById.remove(namespaceId);
+                }
+            }
+        }
+        catch (RuntimeException | Error ex)
+        {
+            // restore the previous state in the reverse order it was changed
+            while (!undo.isEmpty())
+            {
+                try
+                {
+                    undo.pop().run();
+                }
+                catch (Throwable suppressed)
+                {
+                    ex.addSuppressed(suppressed);
+                }
+            }
+
+            throw ex;
+        }
+    }
+
+    private NamespaceRegistry newNamespace(
+        NamespaceConfig namespace)
+    {
+        return new NamespaceRegistry(namespace, bindingsByType, guardsByType, vaultsByType, catalogsByType,
+            metricsByName, exportersByType, supplyLabelId, this::resolveMetric, exporterAttached, exporterDetached,
+            supplyMetricRecorder, detachBinding, bufferSlotsGauges, collector);
     }
 }
@@ -27,7 +27,9 @@ import static io.aklivity.zilla.runtime.engine.internal.stream.StreamId.serverIn
 import static io.aklivity.zilla.runtime.engine.internal.stream.StreamId.streamId;
 import static io.aklivity.zilla.runtime.engine.internal.stream.StreamId.streamIndex;
 import static io.aklivity.zilla.runtime.engine.internal.stream.StreamId.throttleIndex;
+import static io.aklivity.zilla.runtime.engine.internal.stream.Target.FLAG_REFERENCE;
 import static io.aklivity.zilla.runtime.engine.internal.types.stream.FrameFW.FIELD_OFFSET_STREAM_ID;
+import static io.aklivity.zilla.runtime.engine.internal.types.stream.FrameFW.FIELD_OFFSET_TIMESTAMP;
 import static io.aklivity.zilla.runtime.engine.metrics.Metric.Kind.COUNTER;
 import static io.aklivity.zilla.runtime.engine.metrics.Metric.Kind.GAUGE;
 import static io.aklivity.zilla.runtime.engine.metrics.Metric.Kind.HISTOGRAM;
@@ -50,6 +52,7 @@ import java.util.BitSet;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedDeque;
@@ -57,7 +60,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
 import java.util.function.LongConsumer;
@@ -113,6 +115,7 @@ import io.aklivity.zilla.runtime.engine.exporter.ExporterHandler;
 import io.aklivity.zilla.runtime.engine.guard.Guard;
 import io.aklivity.zilla.runtime.engine.guard.GuardContext;
 import io.aklivity.zilla.runtime.engine.guard.GuardHandler;
+import io.aklivity.zilla.runtime.engine.internal.HostResolverCache;
 import io.aklivity.zilla.runtime.engine.internal.LabelManager;
 import io.aklivity.zilla.runtime.engine.internal.budget.DefaultBudgetCreditor;
 import io.aklivity.zilla.runtime.engine.internal.budget.DefaultBudgetDebitor;
@@ -125,8 +128,11 @@ import io.aklivity.zilla.runtime.engine.internal.layouts.StreamsLayout;
 import io.aklivity.zilla.runtime.engine.internal.layouts.metrics.HistogramsLayout;
 import io.aklivity.zilla.runtime.engine.internal.layouts.metrics.ScalarsLayout;
 import io.aklivity.zilla.runtime.engine.internal.poller.Poller;
+import io.aklivity.zilla.runtime.engine.internal.poller.PollerIdleStrategy;
+import io.aklivity.zilla.runtime.engine.internal.registry.TimerRecords.TimerSignaler;
 import io.aklivity.zilla.runtime.engine.internal.stream.StreamId;
 import io.aklivity.zilla.runtime.engine.internal.stream.Target;
+import io.aklivity.zilla.runtime.engine.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.BeginFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.ChallengeFW;
@@ -134,6 +140,7 @@ import io.aklivity.zilla.runtime.engine.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.FlushFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.FrameFW;
+import io.aklivity.zilla.runtime.engine.internal.types.stream.PayloadReferenceFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.ResetFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.SignalFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.WindowFW;
@@ -163,6 +170,7 @@ public class EngineWorker implements EngineContext, Agent
     private final FrameFW frameRO = new FrameFW();
     private final BeginFW beginRO = new BeginFW();
     private final DataFW dataRO = new DataFW();
+    private final PayloadReferenceFW referenceRO = new PayloadReferenceFW();
     private final FlushFW flushRO = new FlushFW();
     private final WindowFW windowRO = new WindowFW();
     private final SignalFW signalRO = new SignalFW();
@@ -176,7 +184,7 @@ public class EngineWorker implements EngineContext, Agent
     private final URL configURL;
     private final LabelManager labels;
     private final String agentName;
-    private final Function<String, InetAddress[]> resolveHost;
+    private final HostResolverCache hosts;
     private final boolean timestamps;
     private final Object2ObjectHashMap<Metric.Kind, LongLongFunction<LongConsumer>> metricWriterSuppliers;
     private final Map<String, MetricGroup> metricGroupsByName;
@@ -190,6 +198,7 @@ public class EngineWorker implements EngineContext, Agent
     private final Int2ObjectHashMap<MessageConsumer> writersByIndex;
     private final Int2ObjectHashMap<Target> targetsByIndex;
     private final BufferPool bufferPool;
+    private final BufferSlotsGauges bufferSlotsGauges;
     private final long mask;
     private final MessageHandler readHandler;
     private final TimerHandler expireHandler;
@@ -200,6 +209,7 @@ public class EngineWorker implements EngineContext, Agent
     private final LongFunction<Affinity> resolveAffinity;
 
     private final Poller poller;
+    private final IntConsumer wakeupWorker;
 
     private final DefaultBudgetCreditor creditor;
     private final Int2ObjectHashMap<DefaultBudgetDebitor> debitorsByIndex;
@@ -207,7 +217,8 @@ public class EngineWorker implements EngineContext, Agent
     private final Long2ObjectHashMap<Affinity> affinityByBindingId;
 
     private final DeadlineTimerWheel timerWheel;
-    private final Long2ObjectHashMap<Runnable> tasksByTimerId;
+    private final TimerRecords timers;
+    private final TimerSignaler timerSignaler;
     private final Long2ObjectHashMap<Future<?>> futuresById;
     private final ElektronSignaler signaler;
     private final Long2ObjectHashMap<MessageConsumer> correlations;
@@ -241,6 +252,7 @@ public class EngineWorker implements EngineContext, Agent
         EngineConfiguration config,
         ExecutorService executor,
         LabelManager labels,
+        HostResolverCache hosts,
         ErrorHandler errorHandler,
         LongUnaryOperator affinityMask,
         Collection<Binding> bindings,
@@ -255,7 +267,8 @@ public class EngineWorker implements EngineContext, Agent
         EventFormatterFactory eventFormatterFactory,
         int index,
         boolean readonly,
-        Consumer<NamespaceConfig> process)
+        Consumer<NamespaceConfig> process,
+        IntConsumer wakeupWorker)
     {
         this.localIndex = index;
         this.config = config;
@@ -304,6 +317,8 @@ public class EngineWorker implements EngineContext, Agent
                 .path(config.directory().resolve(String.format("buffers%d", index)))
                 .slotCapacity(config.bufferSlotCapacity())
                 .slotCount(config.bufferPoolCapacity() / config.bufferSlotCapacity())
+                .slotClasses(config.bufferSlotClasses())
+                .slotClassCounts(config.bufferSlotClassCounts())
                 .readonly(readonly)
                 .build();
 
@@ -315,9 +330,8 @@ public class EngineWorker implements EngineContext, Agent
         this.agentName = String.format("engine/data#%d", index);
         this.streamsLayout = streamsLayout;
         this.bufferPoolLayout = bufferPoolLayout;
-        this.runner = new AgentRunner(idleStrategy, errorHandler, null, this);
 
-        this.resolveHost = config.hostResolver();
+        this.hosts = hosts;
         this.timestamps = config.timestamps();
         this.readLimit = config.maximumMessagesPerRead();
         this.expireLimit = config.maximumExpirationsPerPoll();
@@ -336,11 +350,18 @@ public class EngineWorker implements EngineContext, Agent
         this.writersByIndex = new Int2ObjectHashMap<>();
 
         this.timerWheel = new DeadlineTimerWheel(MILLISECONDS, currentTimeMillis(), 512, 1024);
-        this.tasksByTimerId = new Long2ObjectHashMap<>();
+        this.timers = new TimerRecords(1024);
         this.futuresById = new Long2ObjectHashMap<>();
         this.signaler = new ElektronSignaler(executor, Math.max(config.bufferSlotCapacity(), 512));
+        this.timerSignaler = signaler::signalTimer;
 
         this.poller = new Poller();
+        this.wakeupWorker = config.backoffSelect() ? wakeupWorker : null;
+
+        final IdleStrategy workerIdleStrategy = config.backoffSelect()
+            ? new PollerIdleStrategy(poller, config.maxSpins(), config.maxYields(), config.maxParkNanos(), this::parkMillis)
+            : idleStrategy;
+        this.runner = new AgentRunner(workerIdleStrategy, errorHandler, null, this);
 
         final BufferPool bufferPool = bufferPoolLayout.bufferPool();
 
@@ -424,10 +445,11 @@ public class EngineWorker implements EngineContext, Agent
             metricGroupsByName.put(metricGroup.name(), metricGroup);
         }
 
+        this.bufferSlotsGauges = new BufferSlotsGauges();
         this.registry = new EngineRegistry(
                 bindingsByType::get, guardsByType::get, vaultsByType::get, catalogsByType::get, metricsByName::get,
                 exportersByType::get, labels::supplyLabelId, this::onExporterAttached, this::onExporterDetached,
-                this::supplyMetricWriter, this::detachStreams, collector, process);
+                this::supplyMetricWriter, this::detachStreams, bufferSlotsGauges, collector, process);
 
         this.taskQueue = new ConcurrentLinkedDeque<>();
         this.correlations = new Long2ObjectHashMap<>();
@@ -657,7 +679,29 @@ public class EngineWorker implements EngineContext, Agent
     public InetAddress[] resolveHost(
         String host)
     {
-        return resolveHost.apply(host);
+        return hosts.resolve(host);
+    }
+
+    @Override
+    public InetAddress[] lookupHost(
+        String host)
+    {
+        return hosts.lookup(host);
+    }
+
+    @Override
+    public CompletableFuture<InetAddress[]> resolveHost(
+        String host,
+        long originId,
+        long routedId,
+        long streamId,
+        long traceId,
+        int signalId,
+        int contextId)
+    {
+        final CompletableFuture<InetAddress[]> resolution = hosts.resolveAsync(host);
+        resolution.whenComplete((a, ex) -> signaler.signalNow(originId, routedId, streamId, traceId, signalId, contextId));
+        return resolution;
     }
 
     @Override
@@ -815,6 +859,10 @@ public class EngineWorker implements EngineContext, Agent
             }
 
             workDone += streamsBuffer.read(readHandler, readLimit);
+
+            flushTargets();
+
+            bufferSlotsGauges.sample(bufferPool);
         }
         catch (Throwable ex)
         {
@@ -857,6 +905,7 @@ public class EngineWorker implements EngineContext, Agent
                                               .sum();
         }
 
+        flushTargets();
         targetsByIndex.forEach((k, v) -> v.detach());
         targetsByIndex.forEach((k, v) -> quietClose(v));
 
@@ -929,6 +978,30 @@ public class EngineWorker implements EngineContext, Agent
         return detachTask.future();
     }
 
+    CompletableFuture<Void> update(
+        List<NamespaceDiff> diffs)
+    {
+        assert thread != Thread.currentThread();
+
+        NamespaceTask updateTask = registry.update(diffs);
+        taskQueue.offer(updateTask);
+        signaler.signalNow(0L, 0L, 0L, supplyTraceId(), SIGNAL_TASK_QUEUED, 0);
+
+        if (localIndex == 0)
+        {
+            // a failed update restores the previous namespaces, reported to the caller through the future
+            updateTask.future().handle((r, ex) -> r).join();
+            writeBindingTypes(registry);
+        }
+
+        return updateTask.future();
+    }
+
+    public void wakeup()
+    {
+        poller.wakeup();
+    }
+
     public AgentRunner runner()
     {
         return runner;
@@ -1167,16 +1240,28 @@ public class EngineWorker implements EngineContext, Agent
         writer.accept(window.typeId(), window.buffer(), window.offset(), window.sizeof());
     }
 
+    private long parkMillis()
+    {
+        long parkMillis = Long.MAX_VALUE;
+
+        if (streamsBuffer.size() != 0 || !taskQueue.isEmpty())
+        {
+            parkMillis = 0L;
+        }
+        else if (timerWheel.timerCount() != 0L)
+        {
+            parkMillis = Math.max(timerWheel.currentTickTime() - currentTimeMillis(), 0L);
+        }
+
+        return parkMillis;
+    }
+
     private boolean handleExpire(
         TimeUnit timeUnit,
         long now,
         long timerId)
     {
-        final Runnable task = tasksByTimerId.remove(timerId);
-        if (task != null)
-        {
-            task.run();
-        }
+        timers.fire(timerId, timerSignaler);
         return true;
     }
 
@@ -1366,6 +1451,13 @@ public class EngineWorker implements EngineContext, Agent
         final long budgetId = data.budgetId();
         final int reserved = data.reserved();
 
+        if ((data.flags() & FLAG_REFERENCE) != 0)
+        {
+            final OctetsFW payload = data.payload();
+            final PayloadReferenceFW reference = referenceRO.wrap(payload.buffer(), payload.offset(), payload.limit());
+            bufferPool.release(reference.slot());
+        }
+
         doSystemWindowIfNecessary(traceId, budgetId, reserved);
     }
 
@@ -1557,6 +1649,7 @@ public class EngineWorker implements EngineContext, Agent
                 newStream = receivedMetricHandler.filter(this::isInitialId)
                     .andThen(sentMetricHandler.filter(this::isReplyId))
                     .andThen(newStream);
+                newStream = recordFrameLatency(binding, newStream);
 
                 final long replyId = supplyReplyId(initialId);
                 streams[streamIndex(initialId)].put(instanceId(initialId), newStream);
@@ -1569,6 +1662,24 @@ public class EngineWorker implements EngineContext, Agent
         return newStream;
     }
 
+    private MessageConsumer recordFrameLatency(
+        BindingRegistry binding,
+        MessageConsumer handler)
+    {
+        // resolved once per stream, for the binding that receives the frames dispatched to handler
+        final LongConsumer recorder = timestamps && binding != null ? binding.frameLatencyRecorder() : null;
+
+        return recorder == null ? handler : (msgTypeId, buffer, index, length) ->
+        {
+            final long timestamp = buffer.getLong(index + FIELD_OFFSET_TIMESTAMP);
+            if (timestamp != 0L)
+            {
+                recorder.accept(System.nanoTime() - timestamp);
+            }
+            handler.accept(msgTypeId, buffer, index, length);
+        };
+    }
+
     private boolean isInitialId(
         int msgTypeId,
         DirectBuffer buffer,
@@ -1694,11 +1805,13 @@ public class EngineWorker implements EngineContext, Agent
         MessageConsumer sender)
     {
         final FrameFW frame = frameRO.wrap(buffer, index, length);
+        final long originId = frame.originId();
         final long streamId = frame.streamId();
         assert StreamId.isInitial(streamId);
-        throttles[throttleIndex(streamId)].put(instanceId(streamId), sender);
+        final MessageConsumer handler = recordFrameLatency(registry.resolveBinding(originId), sender);
+        throttles[throttleIndex(streamId)].put(instanceId(streamId), handler);
         final long replyId = supplyReplyId(streamId);
-        correlations.put(replyId, sender);
+        correlations.put(replyId, handler);
         return supplyReceiver(streamId);
     }
 
@@ -1753,7 +1866,16 @@ public class EngineWorker implements EngineContext, Agent
         return targetsByIndex.computeIfAbsent(index, newTarget);
     }
 
-    private LongConsumer supplyMetricWriter(
+    private void flushTargets()
+    {
+        for (Target target : targetsByIndex.values())
+        {
+            target.flush();
+        }
+    }
+
+    @Override
+    public LongConsumer supplyMetricWriter(
         Metric.Kind kind,
         long bindingId,
         long metricId)
@@ -1817,7 +1939,9 @@ public class EngineWorker implements EngineContext, Agent
     private Target newTarget(
         int index)
     {
-        return new Target(config, index, writeBuffer, correlations, streams, streamSets, throttles);
+        final Runnable wakeup = wakeupWorker != null && index != localIndex ? () -> wakeupWorker.accept(index) : null;
+        return new Target(config, index, localIndex, writeBuffer, bufferPool, correlations, streams, streamSets, throttles,
+            wakeup);
     }
 
     private DefaultBudgetDebitor newBudgetDebitor(
@@ -1920,8 +2044,7 @@ public class EngineWorker implements EngineContext, Agent
             Runnable task)
         {
             final long timerId = timerWheel.scheduleTimer(timeMillis);
-            final Runnable oldTask = tasksByTimerId.put(timerId, task);
-            assert oldTask == null;
+            timers.task(timerId, task);
             assert timerId >= 0L;
         }
 
@@ -1932,9 +2055,7 @@ public class EngineWorker implements EngineContext, Agent
             IntConsumer handler)
         {
             final long timerId = timerWheel.scheduleTimer(timeMillis);
-            final Runnable task = () -> handler.accept(signalId);
-            final Runnable oldTask = tasksByTimerId.put(timerId, task);
-            assert oldTask == null;
+            timers.handler(timerId, signalId, handler);
             assert timerId >= 0L;
             return timerId;
         }
@@ -1950,10 +2071,7 @@ public class EngineWorker implements EngineContext, Agent
             int contextId)
         {
             final long timerId = timerWheel.scheduleTimer(timeMillis);
-            final Runnable task = () -> signal(originId, routedId, streamId, 0L, 0L,
-                traceId, NO_CANCEL_ID, signalId, contextId);
-            final Runnable oldTask = tasksByTimerId.put(timerId, task);
-            assert oldTask == null;
+            timers.signal(timerId, originId, routedId, streamId, traceId, signalId, contextId);
             assert timerId >= 0L;
             return timerId;
         }
@@ -2031,7 +2149,7 @@ public class EngineWorker implements EngineContext, Agent
             {
                 final long timerId = cancelId;
                 cancelled = timerWheel.cancelTimer(timerId);
-                tasksByTimerId.remove(timerId);
+                timers.remove(timerId);
             }
             else if (cancelId != NO_CANCEL_ID)
             {
@@ -2043,6 +2161,17 @@ public class EngineWorker implements EngineContext, Agent
             return cancelled;
         }
 
+        private void signalTimer(
+            long originId,
+            long routedId,
+            long streamId,
+            long traceId,
+            int signalId,
+            int contextId)
+        {
+            signal(originId, routedId, streamId, 0L, 0L, traceId, NO_CANCEL_ID, signalId, contextId);
+        }
+
         private void invokeAndSignal(
             Runnable task,
             long originId,
@@ -2094,6 +2223,7 @@ public class EngineWorker implements EngineContext, Agent
                 .build();
 
             streamsBuffer.write(signal.typeId(), signal.buffer(), signal.offset(), signal.sizeof());
+            poller.wakeup();
         }
 
         private void signal(
@@ -2129,6 +2259,7 @@ public class EngineWorker implements EngineContext, Agent
                                             .build();
 
             streamsBuffer.write(signal.typeId(), signal.buffer(), signal.offset(), signal.sizeof());
+            poller.wakeup();
         }
     }
 
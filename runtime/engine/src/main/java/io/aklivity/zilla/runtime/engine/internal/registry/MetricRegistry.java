@@ -25,14 +25,22 @@ import io.aklivity.zilla.runtime.engine.metrics.MetricContext;
 
 public class MetricRegistry
 {
+    private final String name;
     private final MetricContext context;
 
     MetricRegistry(
+        String name,
         MetricContext context)
     {
+        this.name = name;
         this.context = requireNonNull(context);
     }
 
+    public String name()
+    {
+        return name;
+    }
+
     public MessageConsumer supplyHandler(
         LongConsumer recorder)
     {
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.registry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+import io.aklivity.zilla.runtime.engine.config.BindingConfig;
+import io.aklivity.zilla.runtime.engine.config.CatalogConfig;
+import io.aklivity.zilla.runtime.engine.config.CatalogedConfig;
+import io.aklivity.zilla.runtime.engine.config.ExporterConfig;
+import io.aklivity.zilla.runtime.engine.config.GuardConfig;
+import io.aklivity.zilla.runtime.engine.config.GuardedConfig;
+import io.aklivity.zilla.runtime.engine.config.MetricConfig;
+import io.aklivity.zilla.runtime.engine.config.ModelConfig;
+import io.aklivity.zilla.runtime.engine.config.NamespaceConfig;
+import io.aklivity.zilla.runtime.engine.config.RouteConfig;
+import io.aklivity.zilla.runtime.engine.config.VaultConfig;
+
+/**
+ * Structural difference between two versions of the same namespace.
+ * <p>
+ * Elements are matched by name and compared by their serialized form, so only elements that were added,
+ * removed or modified are detached and attached again. Bindings that reference a changed vault, guard or
+ * catalog are treated as modified, as are bindings with telemetry when the namespace telemetry changes.
+ * If either version cannot be serialized, every element is treated as modified.
+ * <p>
+ * An added namespace has no previous version and attaches every element, a removed namespace has no
+ * next version and detaches every element.
+ */
+final class NamespaceDiff
+{
+    private static final String BINDINGS_NAME = "bindings";
+    private static final String GUARDS_NAME = "guards";
+    private static final String VAULTS_NAME = "vaults";
+    private static final String CATALOGS_NAME = "catalogs";
+    private static final String TELEMETRY_NAME = "telemetry";
+
+    final NamespaceConfig previous;
+    final NamespaceConfig namespace;
+    final List<VaultConfig> detachedVaults = new ArrayList<>();
+    final List<GuardConfig> detachedGuards = new ArrayList<>();
+    final List<CatalogConfig> detachedCatalogs = new ArrayList<>();
+    final List<BindingConfig> detachedBindings = new ArrayList<>();
+    final List<MetricConfig> detachedMetrics = new ArrayList<>();
+    final List<ExporterConfig> detachedExporters = new ArrayList<>();
+    final List<VaultConfig> attachedVaults = new ArrayList<>();
+    final List<GuardConfig> attachedGuards = new ArrayList<>();
+    final List<CatalogConfig> attachedCatalogs = new ArrayList<>();
+    final List<BindingConfig> attachedBindings = new ArrayList<>();
+    final List<MetricConfig> attachedMetrics = new ArrayList<>();
+    final List<ExporterConfig> attachedExporters = new ArrayList<>();
+
+    private NamespaceDiff(
+        NamespaceConfig previous,
+        NamespaceConfig namespace)
+    {
+        this.previous = previous;
+        this.namespace = namespace;
+    }
+
+    String name()
+    {
+        return namespace != null ? namespace.name : previous.name;
+    }
+
+    NamespaceDiff reverse()
+    {
+        final NamespaceDiff reverse = new NamespaceDiff(namespace, previous);
+        reverse.detachedVaults.addAll(attachedVaults);
+        reverse.detachedGuards.addAll(attachedGuards);
+        reverse.detachedCatalogs.addAll(attachedCatalogs);
+        reverse.detachedBindings.addAll(attachedBindings);
+        reverse.detachedMetrics.addAll(attachedMetrics);
+        reverse.detachedExporters.addAll(attachedExporters);
+        reverse.attachedVaults.addAll(detachedVaults);
+        reverse.attachedGuards.addAll(detachedGuards);
+        reverse.attachedCatalogs.addAll(detachedCatalogs);
+        reverse.attachedBindings.addAll(detachedBindings);
+        reverse.attachedMetrics.addAll(detachedMetrics);
+        reverse.attachedExporters.addAll(detachedExporters);
+        return reverse;
+    }
+
+    boolean isEmpty()
+    {
+        return detachedVaults.isEmpty() && attachedVaults.isEmpty() &&
+            detachedGuards.isEmpty() && attachedGuards.isEmpty() &&
+            detachedCatalogs.isEmpty() && attachedCatalogs.isEmpty() &&
+            detachedBindings.isEmpty() && attachedBindings.isEmpty() &&
+            detachedMetrics.isEmpty() && attachedMetrics.isEmpty() &&
+            detachedExporters.isEmpty() && attachedExporters.isEmpty();
+    }
+
+    static void changedRefs(
+        NamespaceConfig oldNamespace,
+        JsonObject oldObject,
+        NamespaceConfig newNamespace,
+        JsonObject newObject,
+        Set<Long> changedRefs)
+    {
+        changedRefs(oldNamespace, oldObject, newNamespace, newObject, n -> n.vaults, VAULTS_NAME,
+            v -> v.name, v -> v.id, changedRefs);
+        changedRefs(oldNamespace, oldObject, newNamespace, newObject, n -> n.guards, GUARDS_NAME,
+            g -> g.name, g -> g.id, changedRefs);
+        changedRefs(oldNamespace, oldObject, newNamespace, newObject, n -> n.catalogs, CATALOGS_NAME,
+            c -> c.name, c -> c.id, changedRefs);
+    }
+
+    static NamespaceDiff attached(
+        NamespaceConfig namespace)
+    {
+        final NamespaceDiff diff = new NamespaceDiff(null, namespace);
+        diff.attachedVaults.addAll(namespace.vaults);
+        diff.attachedGuards.addAll(namespace.guards);
+        diff.attachedCatalogs.addAll(namespace.catalogs);
+        diff.attachedMetrics.addAll(namespace.telemetry.metrics);
+        diff.attachedBindings.addAll(namespace.bindings);
+        diff.attachedExporters.addAll(namespace.telemetry.exporters);
+        return diff;
+    }
+
+    static NamespaceDiff detached(
+        NamespaceConfig namespace)
+    {
+        return attached(namespace).reverse();
+    }
+
+    static NamespaceDiff diff(
+        NamespaceConfig oldNamespace,
+        JsonObject oldObject,
+        NamespaceConfig newNamespace,
+        JsonObject newObject,
+        LongPredicate changedRef)
+    {
+        final NamespaceDiff diff = new NamespaceDiff(oldNamespace, newNamespace);
+
+        diff(oldNamespace.vaults, newNamespace.vaults, v -> v.name,
+            section(oldObject, VAULTS_NAME), section(newObject, VAULTS_NAME), v -> false,
+            diff.detachedVaults, diff.attachedVaults);
+
+        diff(oldNamespace.guards, newNamespace.guards, g -> g.name,
+            section(oldObject, GUARDS_NAME), section(newObject, GUARDS_NAME), g -> false,
+            diff.detachedGuards, diff.attachedGuards);
+
+        diff(oldNamespace.catalogs, newNamespace.catalogs, c -> c.name,
+            section(oldObject, CATALOGS_NAME), section(newObject, CATALOGS_NAME), c -> false,
+            diff.detachedCatalogs, diff.attachedCatalogs);
+
+        final boolean telemetryChanged = oldObject == null || newObject == null ||
+            !Objects.equals(oldObject.get(TELEMETRY_NAME), newObject.get(TELEMETRY_NAME));
+
+        if (telemetryChanged)
+        {
+            diff.detachedMetrics.addAll(oldNamespace.telemetry.metrics);
+            diff.detachedExporters.addAll(oldNamespace.telemetry.exporters);
+            diff.attachedMetrics.addAll(newNamespace.telemetry.metrics);
+            diff.attachedExporters.addAll(newNamespace.telemetry.exporters);
+        }
+        else
+        {
+            diff(oldNamespace.telemetry.exporters, newNamespace.telemetry.exporters, e -> e.name,
+                JsonValue.EMPTY_JSON_OBJECT, JsonValue.EMPTY_JSON_OBJECT,
+                e -> e.vaultId != 0L && changedRef.test(e.vaultId),
+                diff.detachedExporters, diff.attachedExporters);
+        }
+
+        diff(oldNamespace.bindings, newNamespace.bindings, b -> b.name,
+            section(oldObject, BINDINGS_NAME), section(newObject, BINDINGS_NAME),
+            b -> telemetryChanged && b.telemetryRef != null || references(b, changedRef),
+            diff.detachedBindings, diff.attachedBindings);
+
+        return diff;
+    }
+
+    private static <T> void changedRefs(
+        NamespaceConfig oldNamespace,
+        JsonObject oldObject,
+        NamespaceConfig newNamespace,
+        JsonObject newObject,
+        Function<NamespaceConfig, List<T>> configs,
+        String sectionName,
+        Function<T, String> nameOf,
+        ToLongFunction<T> idOf,
+        Set<Long> changedRefs)
+    {
+        final List<T> oldConfigs = oldNamespace != null ? configs.apply(oldNamespace) : List.of();
+        final List<T> newConfigs = newNamespace != null ? configs.apply(newNamespace) : List.of();
+
+        final List<T> detached = new ArrayList<>();
+        final List<T> attached = new ArrayList<>();
+        diff(oldConfigs, newConfigs, nameOf, section(oldObject, sectionName), section(newObject, sectionName),
+            c -> false, detached, attached);
+
+        detached.forEach(c -> changedRefs.add(idOf.applyAsLong(c)));
+        attached.forEach(c -> changedRefs.add(idOf.applyAsLong(c)));
+    }
+
+    private static <T> void diff(
+        List<T> oldConfigs,
+        List<T> newConfigs,
+        Function<T, String> nameOf,
+        JsonObject oldSection,
+        JsonObject newSection,
+        Predicate<T> dependent,
+        List<T> detached,
+        List<T> attached)
+    {
+        final Map<String, T> newConfigsByName = new LinkedHashMap<>();
+        newConfigs.forEach(c -> newConfigsByName.put(nameOf.apply(c), c));
+
+        final Map<String, T> oldConfigsByName = new LinkedHashMap<>();
+        oldConfigs.forEach(c -> oldConfigsByName.put(nameOf.apply(c), c));
+
+        for (T oldConfig : oldConfigs)
+        {
+            final String name = nameOf.apply(oldConfig);
+            final T newConfig = newConfigsByName.get(name);
+            if (newConfig == null ||
+                changed(name, oldSection, newSection) ||
+                dependent.test(newConfig))
+            {
+                detached.add(oldConfig);
+            }
+        }
+
+        for (T newConfig : newConfigs)
+        {
+            final String name = nameOf.apply(newConfig);
+            if (!oldConfigsByName.containsKey(name) ||
+                changed(name, oldSection, newSection) ||
+                dependent.test(newConfig))
+            {
+                attached.add(newConfig);
+            }
+        }
+    }
+
+    private static boolean changed(
+        String name,
+        JsonObject oldSection,
+        JsonObject newSection)
+    {
+        return oldSection == null || newSection == null ||
+            !Objects.equals(oldSection.get(name), newSection.get(name));
+    }
+
+    private static JsonObject section(
+        JsonObject object,
+        String name)
+    {
+        JsonObject section = null;
+
+        if (object != null)
+        {
+            section = object.containsKey(name) ? object.getJsonObject(name) : JsonValue.EMPTY_JSON_OBJECT;
+        }
+
+        return section;
+    }
+
+    private static boolean references(
+        BindingConfig binding,
+        LongPredicate changedRef)
+    {
+        boolean references = binding.vaultId != 0L && changedRef.test(binding.vaultId);
+
+        if (!references && binding.catalogs != null)
+        {
+            references = references(binding.catalogs, changedRef);
+        }
+
+        if (!references && binding.options != null)
+        {
+            for (ModelConfig model : binding.options.models)
+            {
+                references |= model.cataloged != null && references(model.cataloged, changedRef);
+            }
+        }
+
+        if (!references)
+        {
+            for (RouteConfig route : binding.routes)
+            {
+                if (route.guarded != null)
+                {
+                    for (GuardedConfig guarded : route.guarded)
+                    {
+                        references |= changedRef.test(guarded.id);
+                    }
+                }
+            }
+        }
+
+        return references;
+    }
+
+    private static boolean references(
+        List<CatalogedConfig> catalogs,
+        LongPredicate changedRef)
+    {
+        boolean references = false;
+
+        for (CatalogedConfig cataloged : catalogs)
+        {
+            references |= changedRef.test(cataloged.id);
+        }
+
+        return references;
+    }
+}
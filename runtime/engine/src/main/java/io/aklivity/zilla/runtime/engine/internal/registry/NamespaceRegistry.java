@@ -15,6 +15,8 @@
  */
 package io.aklivity.zilla.runtime.engine.internal.registry;
 
+import static io.aklivity.zilla.runtime.engine.internal.metrics.EngineMetricGroup.BUFFER_SLOTS;
+import static io.aklivity.zilla.runtime.engine.internal.metrics.EngineMetricGroup.FRAME_LATENCY;
 import static io.aklivity.zilla.runtime.engine.internal.registry.MetricHandlerKind.ORIGIN;
 import static io.aklivity.zilla.runtime.engine.internal.registry.MetricHandlerKind.ROUTED;
 import static io.aklivity.zilla.runtime.engine.metrics.MetricContext.Direction.BOTH;
@@ -22,6 +24,9 @@ import static io.aklivity.zilla.runtime.engine.metrics.MetricContext.Direction.R
 import static io.aklivity.zilla.runtime.engine.metrics.MetricContext.Direction.SENT;
 
 import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.LongConsumer;
 import java.util.function.LongFunction;
@@ -53,7 +58,7 @@ import io.aklivity.zilla.runtime.engine.vault.VaultContext;
 
 public class NamespaceRegistry
 {
-    private final NamespaceConfig namespace;
+    private NamespaceConfig namespace;
     private final Function<String, BindingContext> bindingsByType;
     private final Function<String, GuardContext> guardsByType;
     private final Function<String, VaultContext> vaultsByType;
@@ -73,6 +78,7 @@ public class NamespaceRegistry
     private final Int2ObjectHashMap<ExporterRegistry> exportersById;
     private final ObjectLongLongFunction<Metric.Kind, LongConsumer> supplyMetricRecorder;
     private final LongConsumer detachBinding;
+    private final BufferSlotsGauges bufferSlotsGauges;
     private final Collector collector;
 
     public NamespaceRegistry(
@@ -89,6 +95,7 @@ public class NamespaceRegistry
         LongConsumer exporterDetached,
         ObjectLongLongFunction<Metric.Kind, LongConsumer> supplyMetricRecorder,
         LongConsumer detachBinding,
+        BufferSlotsGauges bufferSlotsGauges,
         Collector collector)
     {
         this.namespace = namespace;
@@ -104,6 +111,7 @@ public class NamespaceRegistry
         this.exporterAttached = exporterAttached;
         this.exporterDetached = exporterDetached;
         this.detachBinding = detachBinding;
+        this.bufferSlotsGauges = bufferSlotsGauges;
         this.namespaceId = supplyLabelId.applyAsInt(namespace.name);
         this.bindingsById = new Int2ObjectHashMap<>();
         this.guardsById = new Int2ObjectHashMap<>();
@@ -139,6 +147,49 @@ public class NamespaceRegistry
         namespace.telemetry.exporters.forEach(this::detachExporter);
     }
 
+    void detachBindings(
+        NamespaceDiff diff,
+        Deque<Runnable> undo)
+    {
+        update(diff.detachedExporters, this::detachExporter, this::attachExporter, undo);
+        update(diff.detachedBindings, this::detachBinding, this::attachBinding, undo);
+        update(diff.detachedMetrics, this::detachMetric, this::attachMetric, undo);
+    }
+
+    void detachResources(
+        NamespaceDiff diff,
+        Deque<Runnable> undo)
+    {
+        update(diff.detachedCatalogs, this::detachCatalog, this::attachCatalog, undo);
+        update(diff.detachedGuards, this::detachGuard, this::attachGuard, undo);
+        update(diff.detachedVaults, this::detachVault, this::attachVault, undo);
+    }
+
+    void attachResources(
+        NamespaceDiff diff,
+        Deque<Runnable> undo)
+    {
+        if (diff.namespace != null)
+        {
+            final NamespaceConfig previous = namespace;
+            undo.push(() -> namespace = previous);
+            namespace = diff.namespace;
+        }
+
+        update(diff.attachedVaults, this::attachVault, this::detachVault, undo);
+        update(diff.attachedGuards, this::attachGuard, this::detachGuard, undo);
+        update(diff.attachedCatalogs, this::attachCatalog, this::detachCatalog, undo);
+    }
+
+    void attachBindings(
+        NamespaceDiff diff,
+        Deque<Runnable> undo)
+    {
+        update(diff.attachedMetrics, this::attachMetric, this::detachMetric, undo);
+        update(diff.attachedBindings, this::attachBinding, this::detachBinding, undo);
+        update(diff.attachedExporters, this::attachExporter, this::detachExporter, undo);
+    }
+
     public Collection<BindingRegistry> bindings()
     {
         return bindingsById.values();
@@ -152,8 +203,8 @@ public class NamespaceRegistry
 
         int bindingId = supplyLabelId.applyAsInt(config.name);
         BindingRegistry registry = new BindingRegistry(config, context);
-        bindingsById.put(bindingId, registry);
         registry.attach();
+        bindingsById.put(bindingId, registry);
         setMetricHandlers(registry, config);
     }
 
@@ -166,12 +217,23 @@ public class NamespaceRegistry
         MessageConsumer receivedOriginMetricHandler = MessageConsumer.NOOP;
         MessageConsumer sentRoutedMetricHandler = MessageConsumer.NOOP;
         MessageConsumer receivedRoutedMetricHandler = MessageConsumer.NOOP;
+        LongConsumer frameLatencyRecorder = null;
         if (config.metricIds != null)
         {
+            final int frameLatencyId = supplyLabelId.applyAsInt(FRAME_LATENCY);
             for (long metricId : config.metricIds)
             {
                 MetricRegistry metric = supplyMetric.apply(metricId);
                 LongConsumer metricRecorder = supplyMetricRecorder.apply(metric.kind(), config.id, metricId);
+                if (NamespacedId.localId(metricId) == frameLatencyId)
+                {
+                    frameLatencyRecorder = metricRecorder;
+                }
+                else if (metric.name().startsWith(BUFFER_SLOTS))
+                {
+                    final int slotCapacity = Integer.parseInt(metric.name().substring(BUFFER_SLOTS.length() + 1));
+                    bufferSlotsGauges.attach(slotCapacity, config.id, metricRecorder);
+                }
                 MessageConsumer handler = metric.supplyHandler(metricRecorder);
                 MetricHandlerKind kind = resolveKind(binding.originTypeId(), binding.routedTypeId(), metric.group());
                 MetricContext.Direction direction = metric.direction();
@@ -208,6 +270,7 @@ public class NamespaceRegistry
         registry.receivedOriginMetricHandler(receivedOriginMetricHandler);
         registry.sentRoutedMetricHandler(sentRoutedMetricHandler);
         registry.receivedRoutedMetricHandler(receivedRoutedMetricHandler);
+        registry.frameLatencyRecorder(frameLatencyRecorder);
     }
 
     private MetricHandlerKind resolveKind(
@@ -252,6 +315,7 @@ public class NamespaceRegistry
         {
             context.detach();
         }
+        bufferSlotsGauges.detach(config.id);
         detachBinding.accept(NamespacedId.id(namespaceId, bindingId));
     }
 
@@ -263,8 +327,8 @@ public class NamespaceRegistry
 
         int vaultId = supplyLabelId.applyAsInt(config.name);
         VaultRegistry registry = new VaultRegistry(config, context);
-        vaultsById.put(vaultId, registry);
         registry.attach();
+        vaultsById.put(vaultId, registry);
     }
 
     private void detachVault(
@@ -286,8 +350,8 @@ public class NamespaceRegistry
 
         int vaultId = supplyLabelId.applyAsInt(config.name);
         GuardRegistry registry = new GuardRegistry(config, context);
-        guardsById.put(vaultId, registry);
         registry.attach();
+        guardsById.put(vaultId, registry);
     }
 
     private void detachGuard(
@@ -309,8 +373,8 @@ public class NamespaceRegistry
 
         int catalogId = supplyLabelId.applyAsInt(config.name);
         CatalogRegistry registry = new CatalogRegistry(config, context);
-        catalogsById.put(catalogId, registry);
         registry.attach();
+        catalogsById.put(catalogId, registry);
     }
 
     private void detachCatalog(
@@ -329,7 +393,7 @@ public class NamespaceRegistry
     {
         int metricId = supplyLabelId.applyAsInt(config.name);
         MetricContext context = metricsByName.apply(config.name);
-        MetricRegistry registry = new MetricRegistry(context);
+        MetricRegistry registry = new MetricRegistry(config.name, context);
         metricsById.put(metricId, registry);
     }
 
@@ -419,4 +483,16 @@ public class NamespaceRegistry
         exporterDetached.accept(NamespacedId.id(namespaceId, exporterId));
     }
 
+    private static <T> void update(
+        List<T> configs,
+        Consumer<T> action,
+        Consumer<T> inverse,
+        Deque<Runnable> undo)
+    {
+        for (T config : configs)
+        {
+            undo.push(() -> inverse.accept(config));
+            action.accept(config);
+        }
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.registry;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import org.agrona.collections.Long2LongHashMap;
+
+/**
+ * Pooled records of scheduled timers, indexed by timer id.
+ * <p>
+ * Each record is a row of preallocated arrays holding the task, handler or stream signal to fire on
+ * expiry, so scheduling, cancelling and firing timers does not allocate once the pool has grown to the
+ * number of outstanding timers.
+ * <b>Each instance of this class is assumed to be used by one and only one thread.</b>
+ */
+public final class TimerRecords
+{
+    private static final long NO_RECORD = -1L;
+
+    private static final int KIND_TASK = 1;
+    private static final int KIND_HANDLER = 2;
+    private static final int KIND_SIGNAL = 3;
+
+    private final Long2LongHashMap recordsByTimerId;
+
+    private int[] kinds;
+    private Object[] targets;
+    private long[] originIds;
+    private long[] routedIds;
+    private long[] streamIds;
+    private long[] traceIds;
+    private int[] signalIds;
+    private int[] contextIds;
+    private int[] freeRecords;
+    private int freeCount;
+
+    @FunctionalInterface
+    public interface TimerSignaler
+    {
+        void signal(
+            long originId,
+            long routedId,
+            long streamId,
+            long traceId,
+            int signalId,
+            int contextId);
+    }
+
+    public TimerRecords(
+        int initialCapacity)
+    {
+        this.recordsByTimerId = new Long2LongHashMap(NO_RECORD);
+        this.kinds = new int[0];
+        this.targets = new Object[0];
+        this.originIds = new long[0];
+        this.routedIds = new long[0];
+        this.streamIds = new long[0];
+        this.traceIds = new long[0];
+        this.signalIds = new int[0];
+        this.contextIds = new int[0];
+        this.freeRecords = new int[0];
+        grow(Math.max(initialCapacity, 1));
+    }
+
+    public int size()
+    {
+        return recordsByTimerId.size();
+    }
+
+    public void task(
+        long timerId,
+        Runnable task)
+    {
+        final int record = acquire(timerId, KIND_TASK);
+        targets[record] = task;
+    }
+
+    public void handler(
+        long timerId,
+        int signalId,
+        IntConsumer handler)
+    {
+        final int record = acquire(timerId, KIND_HANDLER);
+        targets[record] = handler;
+        signalIds[record] = signalId;
+    }
+
+    public void signal(
+        long timerId,
+        long originId,
+        long routedId,
+        long streamId,
+        long traceId,
+        int signalId,
+        int contextId)
+    {
+        final int record = acquire(timerId, KIND_SIGNAL);
+        originIds[record] = originId;
+        routedIds[record] = routedId;
+        streamIds[record] = streamId;
+        traceIds[record] = traceId;
+        signalIds[record] = signalId;
+        contextIds[record] = contextId;
+    }
+
+    public boolean remove(
+        long timerId)
+    {
+        final long record = recordsByTimerId.remove(timerId);
+        final boolean removed = record != NO_RECORD;
+
+        if (removed)
+        {
+            release((int) record);
+        }
+
+        return removed;
+    }
+
+    public boolean fire(
+        long timerId,
+        TimerSignaler signaler)
+    {
+        final long found = recordsByTimerId.remove(timerId);
+        final boolean fired = found != NO_RECORD;
+
+        if (fired)
+        {
+            final int record = (int) found;
+            final int kind = kinds[record];
+            final Object target = targets[record];
+            final int signalId = signalIds[record];
+
+            switch (kind)
+            {
+            case KIND_TASK:
+                release(record);
+                ((Runnable) target).run();
+                break;
+            case KIND_HANDLER:
+                release(record);
+                ((IntConsumer) target).accept(signalId);
+                break;
+            case KIND_SIGNAL:
+                final long originId = originIds[record];
+                final long routedId = routedIds[record];
+                final long streamId = streamIds[record];
+                final long traceId = traceIds[record];
+                final int contextId = contextIds[record];
+                release(record);
+                signaler.signal(originId, routedId, streamId, traceId, signalId, contextId);
+                break;
+            default:
+                assert false : String.format("unexpected timer kind %d", kind);
+                break;
+            }
+        }
+
+        return fired;
+    }
+
+    private int acquire(
+        long timerId,
+        int kind)
+    {
+        if (freeCount == 0)
+        {
+            grow(kinds.length << 1);
+        }
+
+        final int record = freeRecords[--freeCount];
+        kinds[record] = kind;
+
+        final long oldRecord = recordsByTimerId.put(timerId, record);
+        assert oldRecord == NO_RECORD;
+
+        return record;
+    }
+
+    private void release(
+        int record)
+    {
+        kinds[record] = 0;
+        targets[record] = null;
+        freeRecords[freeCount++] = record;
+    }
+
+    private void grow(
+        int capacity)
+    {
+        final int oldCapacity = kinds.length;
+
+        kinds = Arrays.copyOf(kinds, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        originIds = Arrays.copyOf(originIds, capacity);
+        routedIds = Arrays.copyOf(routedIds, capacity);
+        streamIds = Arrays.copyOf(streamIds, capacity);
+        traceIds = Arrays.copyOf(traceIds, capacity);
+        signalIds = Arrays.copyOf(signalIds, capacity);
+        contextIds = Arrays.copyOf(contextIds, capacity);
+        freeRecords = Arrays.copyOf(freeRecords, capacity);
+
+        for (int record = capacity - 1; record >= oldCapacity; record--)
+        {
+            freeRecords[freeCount++] = record;
+        }
+    }
+}
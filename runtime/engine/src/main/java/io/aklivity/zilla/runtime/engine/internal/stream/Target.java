@@ -21,17 +21,27 @@ import static io.aklivity.zilla.runtime.engine.internal.stream.StreamId.streamIn
 import static io.aklivity.zilla.runtime.engine.internal.stream.StreamId.throttleId;
 import static io.aklivity.zilla.runtime.engine.internal.stream.StreamId.throttleIndex;
 import static io.aklivity.zilla.runtime.engine.internal.types.stream.FrameFW.FIELD_OFFSET_TIMESTAMP;
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.ALIGNMENT;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.encodedMsgOffset;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.lengthOffset;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.typeOffset;
 
 import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.collections.LongHashSet;
+import org.agrona.concurrent.UnsafeBuffer;
 
 import io.aklivity.zilla.runtime.engine.EngineConfiguration;
 import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
 import io.aklivity.zilla.runtime.engine.binding.function.MessagePredicate;
+import io.aklivity.zilla.runtime.engine.buffer.BufferPool;
+import io.aklivity.zilla.runtime.engine.internal.concurent.ManyToOneRingBuffer;
 import io.aklivity.zilla.runtime.engine.internal.layouts.StreamsLayout;
+import io.aklivity.zilla.runtime.engine.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.BeginFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.ChallengeFW;
@@ -39,38 +49,54 @@ import io.aklivity.zilla.runtime.engine.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.EndFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.FlushFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.FrameFW;
+import io.aklivity.zilla.runtime.engine.internal.types.stream.PayloadReferenceFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.ResetFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.SignalFW;
 import io.aklivity.zilla.runtime.engine.internal.types.stream.WindowFW;
 
 public final class Target implements AutoCloseable
 {
+    public static final int FLAG_REFERENCE = 0x10;
+
     private final FrameFW frameRO = new FrameFW();
+    private final DataFW dataRO = new DataFW();
+    private final PayloadReferenceFW referenceRO = new PayloadReferenceFW();
 
     private final ResetFW.Builder resetRW = new ResetFW.Builder();
+    private final DataFW.Builder dataRW = new DataFW.Builder();
 
     private final int localIndex;
     private final String targetName;
     private final AutoCloseable streamsLayout;
     private final MutableDirectBuffer writeBuffer;
+    private final BufferPool bufferPool;
+    private final boolean remote;
+    private final MutableDirectBuffer materializeBuffer;
     private final boolean timestamps;
     private final Long2ObjectHashMap<MessageConsumer> correlations;
     private final Int2ObjectHashMap<MessageConsumer>[] streams;
     private final Long2ObjectHashMap<LongHashSet> streamSets;
     private final Int2ObjectHashMap<MessageConsumer>[] throttles;
     private final MessageConsumer writeHandler;
+    private final Runnable wakeup;
+    private final MessagePredicate streamsWriter;
+    private final ManyToOneRingBuffer streamsRingBuffer;
+    private final MutableDirectBuffer batchBuffer;
 
     private MessagePredicate streamsBuffer;
-
+    private int batchLimit;
 
     public Target(
         EngineConfiguration config,
         int index,
+        int writerIndex,
         MutableDirectBuffer writeBuffer,
+        BufferPool bufferPool,
         Long2ObjectHashMap<MessageConsumer> correlations,
         Int2ObjectHashMap<MessageConsumer>[] streams,
         Long2ObjectHashMap<LongHashSet> streamSets,
-        Int2ObjectHashMap<MessageConsumer>[] throttles)
+        Int2ObjectHashMap<MessageConsumer>[] throttles,
+        Runnable wakeup)
     {
         this.timestamps = config.timestamps();
         this.localIndex = index;
@@ -84,9 +110,18 @@ public final class Target implements AutoCloseable
                 .readonly(true)
                 .build();
         this.streamsLayout = streamsLayout;
-        this.streamsBuffer = streamsLayout.streamsBuffer()::write;
+        this.streamsRingBuffer = streamsLayout.streamsBuffer();
+        this.streamsWriter = streamsRingBuffer::write;
+        this.wakeup = wakeup;
+        this.remote = index != writerIndex;
+
+        final int batchCapacity = align(Math.min(config.streamsBatchCapacity(), streamsRingBuffer.maxMsgLength()), ALIGNMENT);
+        this.batchBuffer = remote && batchCapacity > 0 ? new UnsafeBuffer(new byte[batchCapacity]) : null;
+        this.streamsBuffer = batchBuffer != null ? this::writeBatched : wakeup != null ? this::writeAndWakeup : streamsWriter;
 
         this.writeBuffer = writeBuffer;
+        this.bufferPool = bufferPool;
+        this.materializeBuffer = remote ? new UnsafeBuffer(new byte[writeBuffer.capacity()]) : null;
         this.correlations = correlations;
         this.streams = streams;
         this.streamSets = streamSets;
@@ -98,6 +133,15 @@ public final class Target implements AutoCloseable
     public void detach()
     {
         streamsBuffer = (t, b, i, l) -> true;
+        batchLimit = 0;
+    }
+
+    public void flush()
+    {
+        if (!flushBatch())
+        {
+            throw new IllegalStateException("Unable to write to streams buffer");
+        }
     }
 
     @Override
@@ -202,7 +246,7 @@ public final class Target implements AutoCloseable
                 handled = streamsBuffer.test(msgTypeId, buffer, index, length);
                 break;
             case DataFW.TYPE_ID:
-                handled = streamsBuffer.test(msgTypeId, buffer, index, length);
+                handled = handleWriteData(msgTypeId, buffer, index, length);
                 break;
             case EndFW.TYPE_ID:
                 handled = streamsBuffer.test(msgTypeId, buffer, index, length);
@@ -270,7 +314,7 @@ public final class Target implements AutoCloseable
                 handled = streamsBuffer.test(msgTypeId, buffer, index, length);
                 break;
             case DataFW.TYPE_ID:
-                handled = streamsBuffer.test(msgTypeId, buffer, index, length);
+                handled = handleWriteData(msgTypeId, buffer, index, length);
                 break;
             case EndFW.TYPE_ID:
                 handled = streamsBuffer.test(msgTypeId, buffer, index, length);
@@ -320,6 +364,53 @@ public final class Target implements AutoCloseable
         return handled;
     }
 
+    private boolean handleWriteData(
+        int msgTypeId,
+        DirectBuffer buffer,
+        int index,
+        int length)
+    {
+        boolean handled;
+
+        final DataFW data = dataRO.wrap(buffer, index, index + length);
+        final int flags = data.flags();
+
+        if (remote && (flags & FLAG_REFERENCE) != 0)
+        {
+            final OctetsFW payload = data.payload();
+            final PayloadReferenceFW reference = referenceRO.wrap(payload.buffer(), payload.offset(), payload.limit());
+            final int slot = reference.slot();
+            final MutableDirectBuffer slotBuffer = bufferPool.buffer(slot);
+
+            final DataFW materialized = dataRW.wrap(materializeBuffer, 0, materializeBuffer.capacity())
+                    .originId(data.originId())
+                    .routedId(data.routedId())
+                    .streamId(data.streamId())
+                    .sequence(data.sequence())
+                    .acknowledge(data.acknowledge())
+                    .maximum(data.maximum())
+                    .timestamp(data.timestamp())
+                    .traceId(data.traceId())
+                    .authorization(data.authorization())
+                    .flags(flags & ~FLAG_REFERENCE)
+                    .budgetId(data.budgetId())
+                    .reserved(data.reserved())
+                    .payload(slotBuffer, reference.offset$(), reference.length())
+                    .extension(data.extension())
+                    .build();
+
+            bufferPool.release(slot);
+
+            handled = streamsBuffer.test(msgTypeId, materialized.buffer(), materialized.offset(), materialized.sizeof());
+        }
+        else
+        {
+            handled = streamsBuffer.test(msgTypeId, buffer, index, length);
+        }
+
+        return handled;
+    }
+
     private void doSyntheticReset(
         long streamId,
         MessageConsumer sender)
@@ -337,4 +428,66 @@ public final class Target implements AutoCloseable
 
         sender.accept(reset.typeId(), reset.buffer(), reset.offset(), reset.sizeof());
     }
+
+    private boolean writeBatched(
+        int msgTypeId,
+        DirectBuffer buffer,
+        int index,
+        int length)
+    {
+        final int recordLength = HEADER_LENGTH + length;
+        final int alignedRecordLength = align(recordLength, ALIGNMENT);
+
+        boolean written = batchLimit + alignedRecordLength <= batchBuffer.capacity() || flushBatch();
+
+        if (written)
+        {
+            if (alignedRecordLength <= batchBuffer.capacity())
+            {
+                batchBuffer.putInt(lengthOffset(batchLimit), recordLength);
+                batchBuffer.putInt(typeOffset(batchLimit), msgTypeId);
+                batchBuffer.putBytes(encodedMsgOffset(batchLimit), buffer, index, length);
+                batchLimit += alignedRecordLength;
+            }
+            else
+            {
+                written = streamsWriter.test(msgTypeId, buffer, index, length);
+                wakeupIfNecessary();
+            }
+        }
+
+        return written;
+    }
+
+    private boolean flushBatch()
+    {
+        final boolean flushed = batchLimit == 0 || streamsRingBuffer.writeBatch(batchBuffer, 0, batchLimit);
+
+        if (flushed && batchLimit != 0)
+        {
+            batchLimit = 0;
+            wakeupIfNecessary();
+        }
+
+        return flushed;
+    }
+
+    private void wakeupIfNecessary()
+    {
+        if (wakeup != null)
+        {
+            wakeup.run();
+        }
+    }
+
+    private boolean writeAndWakeup(
+        int msgTypeId,
+        DirectBuffer buffer,
+        int index,
+        int length)
+    {
+        final boolean written = streamsWriter.test(msgTypeId, buffer, index, length);
+        wakeup.run();
+        return written;
+    }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.catalog;
+
+import static io.aklivity.zilla.runtime.engine.catalog.CatalogHandler.NO_SCHEMA_ID;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CatalogCacheTest
+{
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    @Test
+    public void shouldCacheResolvedSchema()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, null, Runnable::run, now::get);
+
+        assertNull(cache.lookupSchema(1));
+        assertEquals("schema-1", cache.resolveSchema(1, this::fetchSchema));
+        assertEquals("schema-1", cache.lookupSchema(1));
+        assertEquals("schema-1", cache.resolveSchema(1, this::fetchSchema));
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedSchema()
+    {
+        CatalogCache cache = new CatalogCache(2, 1000L, 1000L, null, Runnable::run, now::get);
+
+        cache.resolveSchema(1, this::fetchSchema);
+        cache.resolveSchema(2, this::fetchSchema);
+        cache.lookupSchema(1);
+        cache.resolveSchema(3, this::fetchSchema);
+
+        assertEquals("schema-1", cache.lookupSchema(1));
+        assertNull(cache.lookupSchema(2));
+        assertEquals("schema-3", cache.lookupSchema(3));
+    }
+
+    @Test
+    public void shouldShareConcurrentSchemaFetch()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, null, Runnable::run, now::get);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.resolveSchema(1, id -> fetch(pending)));
+        while (fetches.get() == 0)
+        {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.resolveSchema(1, id -> fetch(pending)));
+
+        pending.complete("schema-1");
+
+        assertEquals("schema-1", first.join());
+        assertEquals("schema-1", second.join());
+        assertEquals(1, fetches.get());
+    }
+
+    @Test(expected = CompletionException.class)
+    public void shouldNotCacheFailedSchema()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, null, Runnable::run, now::get);
+
+        try
+        {
+            cache.resolveSchema(1, id -> CompletableFuture.failedFuture(new IllegalStateException()));
+        }
+        finally
+        {
+            assertNull(cache.lookupSchema(1));
+        }
+    }
+
+    @Test
+    public void shouldRetryAfterSchemaFetchThrows()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, null, Runnable::run, now::get);
+
+        try
+        {
+            cache.resolveSchema(1, id ->
+            {
+                throw new IllegalArgumentException();
+            });
+            fail("CompletionException expected");
+        }
+        catch (CompletionException ex)
+        {
+            assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        }
+
+        assertEquals("schema-1", cache.resolveSchema(1, this::fetchSchema));
+    }
+
+    @Test
+    public void shouldRetryAfterSchemaIdFetchThrows()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, null, Runnable::run, now::get);
+
+        try
+        {
+            cache.resolveSchemaId(42, () ->
+            {
+                throw new IllegalArgumentException();
+            });
+            fail("CompletionException expected");
+        }
+        catch (CompletionException ex)
+        {
+            assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        }
+
+        assertEquals(1, cache.resolveSchemaId(42, () -> fetch(completedFuture(1))));
+    }
+
+    @Test
+    public void shouldTimeoutStalledSchemaFetch()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 10L, null, Runnable::run, now::get);
+
+        try
+        {
+            cache.resolveSchema(1, id -> fetch(new CompletableFuture<>()));
+            fail("CompletionException expected");
+        }
+        catch (CompletionException ex)
+        {
+            assertTrue(ex.getCause() instanceof TimeoutException);
+        }
+
+        assertEquals("schema-1", cache.resolveSchema(1, this::fetchSchema));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void shouldRefreshSchemaIdBeforeExpiry()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, null, Runnable::run, now::get);
+
+        assertEquals(1, cache.resolveSchemaId(42, () -> fetch(completedFuture(1))));
+
+        now.set(500L);
+        assertEquals(1, cache.resolveSchemaId(42, () -> fetch(completedFuture(2))));
+        assertEquals(1, fetches.get());
+
+        now.set(750L);
+        assertEquals(1, cache.resolveSchemaId(42, () -> fetch(completedFuture(2))));
+        assertEquals(2, fetches.get());
+
+        now.set(1400L);
+        assertEquals(2, cache.resolveSchemaId(42, () -> fetch(completedFuture(3))));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void shouldExpireSchemaId()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, null, Runnable::run, now::get);
+
+        cache.resolveSchemaId(42, () -> fetch(completedFuture(1)));
+
+        now.set(1000L);
+        assertEquals(2, cache.resolveSchemaId(42, () -> fetch(completedFuture(2))));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void shouldNotCacheMissingSchemaId()
+    {
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, null, Runnable::run, now::get);
+
+        assertEquals(NO_SCHEMA_ID, cache.resolveSchemaId(42, () -> fetch(completedFuture(NO_SCHEMA_ID))));
+        assertEquals(NO_SCHEMA_ID, cache.resolveSchemaId(42, () -> fetch(completedFuture(NO_SCHEMA_ID))));
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void shouldRestoreFromSnapshot() throws Exception
+    {
+        Path snapshot = folder.getRoot().toPath().resolve("catalog").resolve("test.json");
+
+        CatalogCache cache = new CatalogCache(16, 1000L, 1000L, snapshot, Runnable::run, now::get);
+        cache.resolveSchema(1, this::fetchSchema);
+        cache.resolveSchemaId(42, () -> fetch(completedFuture(1)));
+
+        assertEquals(true, Files.exists(snapshot));
+
+        CatalogCache restored = new CatalogCache(16, 1000L, 1000L, snapshot, Runnable::run, now::get);
+
+        assertEquals("schema-1", restored.lookupSchema(1));
+        assertEquals(1, restored.resolveSchemaId(42, () -> fetch(completedFuture(2))));
+        assertEquals(2, fetches.get());
+    }
+
+    private CompletableFuture<String> fetchSchema(
+        int schemaId)
+    {
+        return fetch(completedFuture(String.format("schema-%d", schemaId)));
+    }
+
+    private <T> CompletableFuture<T> fetch(
+        CompletableFuture<T> result)
+    {
+        fetches.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.config.CatalogConfig;
+
+public class CatalogCachesTest
+{
+    private final AtomicLong now = new AtomicLong();
+    private final CatalogCaches caches = new CatalogCaches(new Configuration(), "test", Runnable::run, now::get);
+    private final CatalogConfig catalog = new CatalogConfig("test", "catalog0", "test", null);
+
+    @Test
+    public void shouldShareCacheAcrossWorkers()
+    {
+        CatalogCache cache0 = caches.acquire(catalog, "http://localhost:8081 1000", 1000L);
+        CatalogCache cache1 = caches.acquire(catalog, "http://localhost:8081 1000", 1000L);
+
+        assertSame(cache0, cache1);
+        assertEquals(1, caches.size());
+    }
+
+    @Test
+    public void shouldReleaseCacheWhenLastWorkerDetached()
+    {
+        caches.acquire(catalog, "http://localhost:8081 1000", 1000L);
+        caches.acquire(catalog, "http://localhost:8081 1000", 1000L);
+
+        caches.release(catalog, "http://localhost:8081 1000");
+        assertEquals(1, caches.size());
+
+        caches.release(catalog, "http://localhost:8081 1000");
+        assertEquals(0, caches.size());
+    }
+
+    @Test
+    public void shouldNotShareCacheWhenOptionsChanged()
+    {
+        CatalogCache cache0 = caches.acquire(catalog, "http://localhost:8081 1000", 1000L);
+        CatalogCache cache1 = caches.acquire(catalog, "http://localhost:8082 1000", 1000L);
+
+        assertNotSame(cache0, cache1);
+
+        caches.release(catalog, "http://localhost:8081 1000");
+
+        assertSame(cache1, caches.acquire(catalog, "http://localhost:8082 1000", 1000L));
+        assertEquals(1, caches.size());
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.agrona.LangUtil;
+import org.junit.Test;
+
+public class HostResolverCacheTest
+{
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger resolves = new AtomicInteger();
+
+    @Test
+    public void shouldCacheResolvedHost() throws Exception
+    {
+        InetAddress[] expected = new InetAddress[] { InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }) };
+        HostResolverCache cache = new HostResolverCache(h -> resolve(expected), Runnable::run, 1024, 30, 10, now::get);
+
+        assertNull(cache.lookup("localhost"));
+        assertArrayEquals(expected, cache.resolve("localhost"));
+        assertArrayEquals(expected, cache.lookup("localhost"));
+        assertArrayEquals(expected, cache.resolve("localhost"));
+        assertEquals(1, resolves.get());
+    }
+
+    @Test
+    public void shouldExpireResolvedHost() throws Exception
+    {
+        InetAddress[] expected = new InetAddress[] { InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }) };
+        HostResolverCache cache = new HostResolverCache(h -> resolve(expected), Runnable::run, 1024, 30, 10, now::get);
+
+        cache.resolve("localhost");
+        now.set(30_000L);
+
+        assertNull(cache.lookup("localhost"));
+        assertArrayEquals(expected, cache.resolve("localhost"));
+        assertEquals(2, resolves.get());
+    }
+
+    @Test(expected = UnknownHostException.class)
+    public void shouldCacheFailedHost() throws Exception
+    {
+        HostResolverCache cache = new HostResolverCache(h -> resolve(null), Runnable::run, 1024, 30, 10, now::get);
+
+        try
+        {
+            cache.resolve("unknown");
+        }
+        catch (Exception ex)
+        {
+            // expected
+        }
+
+        try
+        {
+            cache.lookup("unknown");
+        }
+        finally
+        {
+            assertEquals(1, resolves.get());
+        }
+    }
+
+    @Test
+    public void shouldExpireFailedHost() throws Exception
+    {
+        HostResolverCache cache = new HostResolverCache(h -> resolve(null), Runnable::run, 1024, 30, 10, now::get);
+
+        try
+        {
+            cache.resolve("unknown");
+        }
+        catch (Exception ex)
+        {
+            // expected
+        }
+
+        now.set(10_000L);
+
+        assertNull(cache.lookup("unknown"));
+    }
+
+    @Test
+    public void shouldDeliverResolvedHostWhenTtlZero() throws Exception
+    {
+        InetAddress[] expected = new InetAddress[] { InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }) };
+        HostResolverCache cache = new HostResolverCache(h -> resolve(expected), Runnable::run, 1024, 0, 0, now::get);
+
+        CompletableFuture<InetAddress[]> resolution = cache.resolve("localhost", Runnable::run);
+
+        assertArrayEquals(expected, resolution.get());
+        assertNull(cache.lookup("localhost"));
+        assertEquals(1, resolves.get());
+    }
+
+    @Test
+    public void shouldDeliverFailedHostWhenNegativeTtlZero() throws Exception
+    {
+        HostResolverCache cache = new HostResolverCache(h -> resolve(null), Runnable::run, 1024, 30, 0, now::get);
+
+        CompletableFuture<InetAddress[]> resolution = cache.resolve("unknown", Runnable::run);
+
+        assertTrue(resolution.isCompletedExceptionally());
+        assertNull(cache.lookup("unknown"));
+        assertEquals(1, resolves.get());
+    }
+
+    @Test
+    public void shouldNeverExpireResolvedHostWhenTtlNegative() throws Exception
+    {
+        InetAddress[] expected = new InetAddress[] { InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }) };
+        HostResolverCache cache = new HostResolverCache(h -> resolve(expected), Runnable::run, 1024, -1, -1, now::get);
+
+        cache.resolve("localhost");
+        now.set(Long.MAX_VALUE - 1L);
+
+        assertArrayEquals(expected, cache.lookup("localhost"));
+        assertArrayEquals(expected, cache.resolve("localhost", Runnable::run).get());
+        assertEquals(1, resolves.get());
+    }
+
+    @Test(expected = UnknownHostException.class)
+    public void shouldNeverExpireFailedHostWhenNegativeTtlNegative() throws Exception
+    {
+        HostResolverCache cache = new HostResolverCache(h -> resolve(null), Runnable::run, 1024, 30, -1, now::get);
+
+        try
+        {
+            cache.resolve("unknown");
+        }
+        catch (Exception ex)
+        {
+            // expected
+        }
+
+        now.set(Long.MAX_VALUE - 1L);
+
+        try
+        {
+            cache.lookup("unknown");
+        }
+        finally
+        {
+            assertEquals(1, resolves.get());
+        }
+    }
+
+    @Test
+    public void shouldShareConcurrentResolves() throws Exception
+    {
+        InetAddress[] expected = new InetAddress[] { InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }) };
+        HostResolverCache cache = new HostResolverCache(h -> resolve(expected), Runnable::run, 1024, 0, 0, now::get);
+        Queue<Runnable> tasks = new ArrayDeque<>();
+
+        CompletableFuture<InetAddress[]> resolution = cache.resolve("localhost", tasks::add);
+        CompletableFuture<InetAddress[]> shared = cache.resolve("localhost", tasks::add);
+
+        assertSame(resolution, shared);
+        assertEquals(1, tasks.size());
+
+        tasks.poll().run();
+
+        assertArrayEquals(expected, resolution.get());
+        assertEquals(1, resolves.get());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void shouldShareConcurrentFailedResolves() throws Exception
+    {
+        HostResolverCache cache = new HostResolverCache(h -> resolve(null), Runnable::run, 1024, 0, 0, now::get);
+        Queue<Runnable> tasks = new ArrayDeque<>();
+
+        cache.resolve("unknown", tasks::add);
+        CompletableFuture<InetAddress[]> shared = cache.resolve("unknown", tasks::add);
+
+        tasks.poll().run();
+
+        try
+        {
+            shared.get();
+        }
+        finally
+        {
+            assertEquals(1, resolves.get());
+            assertTrue(tasks.isEmpty());
+        }
+    }
+
+    @Test
+    public void shouldResolveAsyncOnExecutor() throws Exception
+    {
+        InetAddress[] expected = new InetAddress[] { InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }) };
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        HostResolverCache cache = new HostResolverCache(h -> resolve(expected), tasks::add, 1024, 30, 10, now::get);
+
+        CompletableFuture<InetAddress[]> resolution = cache.resolveAsync("localhost");
+
+        assertEquals(1, tasks.size());
+        assertFalse(resolution.isDone());
+
+        tasks.poll().run();
+
+        assertArrayEquals(expected, resolution.get());
+        assertArrayEquals(expected, cache.lookup("localhost"));
+    }
+
+    @Test
+    public void shouldEvictSoonestExpiringHostWhenFull() throws Exception
+    {
+        InetAddress[] expected = new InetAddress[] { InetAddress.getByAddress("localhost", new byte[] { 127, 0, 0, 1 }) };
+        HostResolverCache cache = new HostResolverCache(h -> resolve(expected), Runnable::run, 2, 30, 10, now::get);
+
+        cache.resolve("host1");
+        now.set(1_000L);
+        cache.resolve("host2");
+        now.set(2_000L);
+        cache.resolve("host3");
+
+        assertNull(cache.lookup("host1"));
+        assertArrayEquals(expected, cache.lookup("host2"));
+        assertArrayEquals(expected, cache.lookup("host3"));
+        assertEquals(3, resolves.get());
+    }
+
+    private InetAddress[] resolve(
+        InetAddress[] addresses)
+    {
+        resolves.incrementAndGet();
+
+        if (addresses == null)
+        {
+            LangUtil.rethrowUnchecked(new UnknownHostException());
+        }
+
+        return addresses;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.buffer;
+
+import static io.aklivity.zilla.runtime.engine.buffer.BufferPool.NO_SLOT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.agrona.MutableDirectBuffer;
+import org.junit.Test;
+
+public class SlabBufferPoolTest
+{
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectSlotCapacityNotPowerOfTwo()
+    {
+        new SlabBufferPool(new int[] { 100, 1024 }, new int[] { 4, 4 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectSlotCapacitiesNotAscending()
+    {
+        new SlabBufferPool(new int[] { 1024, 512 }, new int[] { 4, 4 });
+    }
+
+    @Test
+    public void acquireShouldAllocateSmallestSufficientSlot() throws Exception
+    {
+        SlabBufferPool slab = new SlabBufferPool(new int[] { 16, 64, 256 }, new int[] { 4, 4, 4 });
+
+        int slot = slab.acquire(123, 20);
+
+        assertTrue(slot >= 0);
+        assertEquals(64, slab.capacity(slot));
+        assertEquals(64, slab.buffer(slot).capacity());
+        assertEquals(1, slab.acquiredSlots(1));
+    }
+
+    @Test
+    public void acquireShouldAllocateLargestSlotByDefault() throws Exception
+    {
+        SlabBufferPool slab = new SlabBufferPool(new int[] { 16, 64, 256 }, new int[] { 4, 4, 4 });
+
+        int slot = slab.acquire(123);
+
+        assertEquals(256, slab.slotCapacity());
+        assertEquals(256, slab.capacity(slot));
+    }
+
+    @Test
+    public void acquireShouldFallbackToLargerSlot() throws Exception
+    {
+        SlabBufferPool slab = new SlabBufferPool(new int[] { 16, 64 }, new int[] { 1, 1 });
+
+        int slot1 = slab.acquire(111, 16);
+        int slot2 = slab.acquire(112, 16);
+        int slot3 = slab.acquire(113, 16);
+
+        assertEquals(16, slab.capacity(slot1));
+        assertEquals(64, slab.capacity(slot2));
+        assertEquals(NO_SLOT, slot3);
+        assertEquals(2, slab.acquiredSlots());
+    }
+
+    @Test
+    public void growShouldPreserveSlotAndContent() throws Exception
+    {
+        SlabBufferPool slab = new SlabBufferPool(new int[] { 16, 64, 256 }, new int[] { 4, 4, 4 });
+
+        int slot = slab.acquire(123, 16);
+        slab.buffer(slot).putInt(12, 0x12345678);
+
+        int grown = slab.grow(slot, 100);
+        MutableDirectBuffer buffer = slab.buffer(grown);
+
+        assertEquals(slot, grown);
+        assertEquals(256, buffer.capacity());
+        assertEquals(0x12345678, buffer.getInt(12));
+        assertEquals(0, slab.acquiredSlots(0));
+        assertEquals(1, slab.acquiredSlots(2));
+    }
+
+    @Test
+    public void growShouldReportOutOfMemory() throws Exception
+    {
+        SlabBufferPool slab = new SlabBufferPool(new int[] { 16, 64 }, new int[] { 2, 1 });
+
+        int slot1 = slab.acquire(111, 16);
+        int slot2 = slab.acquire(112, 16);
+        int slot3 = slab.acquire(113, 64);
+
+        assertEquals(NO_SLOT, slab.grow(slot1, 64));
+        assertEquals(16, slab.capacity(slot1));
+
+        slab.release(slot3);
+
+        assertEquals(slot1, slab.grow(slot1, 64));
+        assertEquals(slot2, slab.grow(slot2, 16));
+        assertEquals(NO_SLOT, slab.grow(slot2, 128));
+    }
+
+    @Test
+    public void releaseShouldMakeSlotAvailableForReuse() throws Exception
+    {
+        SlabBufferPool slab = new SlabBufferPool(new int[] { 16, 64 }, new int[] { 4, 4 });
+        int slot = 0;
+        int i;
+        for (i = 0; i < 8; i++)
+        {
+            slot = slab.acquire(111 + i, 16);
+            assertTrue(slot >= 0);
+        }
+        assertEquals(NO_SLOT, slab.acquire(111 + i, 16));
+
+        slab.release(slot);
+        slot = slab.acquire(111 + i, 16);
+
+        assertNotEquals(NO_SLOT, slot);
+        assertEquals(8, slab.acquiredSlots());
+    }
+
+    @Test
+    public void duplicateShouldShareSlots() throws Exception
+    {
+        SlabBufferPool slab = new SlabBufferPool(new int[] { 16, 64 }, new int[] { 4, 4 });
+
+        int slot = slab.acquire(123, 16);
+        slab.buffer(slot).putInt(0, 123);
+
+        assertEquals(123, slab.duplicate().buffer(slot).getInt(0));
+        assertEquals(1, slab.duplicate().acquiredSlots());
+    }
+}
@@ -147,6 +147,54 @@ public class ManyToOneRingBufferTest
         verify(buffer, never()).putIntOrdered(anyInt(), anyInt());
     }
 
+    @Test
+    public void shouldWriteBatchToEmptyBuffer()
+    {
+        final int length = 8;
+        final int recordLength = length + HEADER_LENGTH;
+        final int alignedRecordLength = align(recordLength, ALIGNMENT);
+        final int batchLength = 2 * alignedRecordLength;
+        final long tail = 0L;
+        final long head = 0L;
+
+        when(buffer.getLongVolatile(HEAD_COUNTER_INDEX)).thenReturn(head);
+        when(buffer.getLongVolatile(TAIL_COUNTER_INDEX)).thenReturn(tail);
+        when(buffer.compareAndSetInt(lengthOffset((int)tail), 0, -batchLength)).thenReturn(TRUE);
+
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+        srcBuffer.putInt(lengthOffset(0), recordLength);
+        srcBuffer.putInt(typeOffset(0), MSG_TYPE_ID);
+        srcBuffer.putInt(lengthOffset(alignedRecordLength), recordLength);
+        srcBuffer.putInt(typeOffset(alignedRecordLength), MSG_TYPE_ID);
+
+        assertTrue(ringBuffer.writeBatch(srcBuffer, 0, batchLength));
+
+        final InOrder inOrder = inOrder(buffer);
+        inOrder.verify(buffer).putInt(lengthOffset((int)tail + batchLength), 0);
+        inOrder.verify(buffer).putLongOrdered(TAIL_COUNTER_INDEX, tail + batchLength);
+        inOrder.verify(buffer).putBytes(typeOffset((int)tail), srcBuffer, typeOffset(0), batchLength - Integer.BYTES);
+        inOrder.verify(buffer).putIntOrdered(lengthOffset((int)tail), recordLength);
+    }
+
+    @Test
+    public void shouldRejectWriteBatchWhenInsufficientSpace()
+    {
+        final int length = 200;
+        final long head = 0L;
+        final long tail = head + (CAPACITY - align(length - ALIGNMENT, ALIGNMENT));
+
+        when(buffer.getLongVolatile(HEAD_COUNTER_INDEX)).thenReturn(head);
+        when(buffer.getLongVolatile(TAIL_COUNTER_INDEX)).thenReturn(tail);
+
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+
+        assertFalse(ringBuffer.writeBatch(srcBuffer, 0, length));
+
+        verify(buffer, never()).compareAndSetInt(anyInt(), anyInt(), anyInt());
+        verify(buffer, never()).putBytes(anyInt(), eq(srcBuffer), anyInt(), anyInt());
+        verify(buffer, never()).putIntOrdered(anyInt(), anyInt());
+    }
+
     @Test
     public void shouldInsertPaddingRecordPlusMessageOnBufferWrap()
     {
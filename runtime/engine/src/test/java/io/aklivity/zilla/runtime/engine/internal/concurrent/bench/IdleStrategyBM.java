@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.concurrent.bench;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.locks.LockSupport;
+
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.aklivity.zilla.runtime.engine.internal.poller.Poller;
+import io.aklivity.zilla.runtime.engine.internal.poller.PollerIdleStrategy;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@Fork(3)
+@Warmup(iterations = 5, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@OutputTimeUnit(MICROSECONDS)
+public class IdleStrategyBM
+{
+    @Param({"backoff", "poller"})
+    private String strategy;
+
+    @Param({"0", "1000"})
+    private long pauseMicros;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private Poller poller;
+    private Thread consumer;
+    private volatile boolean running;
+    private volatile long requested;
+    private volatile long responded;
+    private long consumerCpuNanos;
+
+    @Setup(Level.Trial)
+    public void init()
+    {
+        poller = new Poller();
+
+        final IdleStrategy idleStrategy = "poller".equals(strategy)
+            ? new PollerIdleStrategy(poller, 64L, 64L, MILLISECONDS.toNanos(100L), this::parkMillis)
+            : new BackoffIdleStrategy(64L, 64L, 64L, MILLISECONDS.toNanos(100L));
+
+        running = true;
+        consumer = new Thread(() -> consume(idleStrategy), "consumer");
+        consumer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception
+    {
+        running = false;
+        poller.wakeup();
+        consumer.join();
+        poller.onClose();
+    }
+
+    @Setup(Level.Iteration)
+    public void startCpu()
+    {
+        consumerCpuNanos = threads.getThreadCpuTime(consumer.getId());
+    }
+
+    @Benchmark
+    public long latency(
+        CpuCounters counters)
+    {
+        if (pauseMicros != 0L)
+        {
+            LockSupport.parkNanos(MICROSECONDS.toNanos(pauseMicros));
+        }
+
+        final long request = requested + 1L;
+        requested = request;
+        poller.wakeup();
+
+        while (responded != request)
+        {
+            Thread.onSpinWait();
+        }
+
+        counters.consumerCpuNanos = threads.getThreadCpuTime(consumer.getId()) - consumerCpuNanos;
+
+        return request;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuCounters
+    {
+        public long consumerCpuNanos;
+    }
+
+    private void consume(
+        IdleStrategy idleStrategy)
+    {
+        while (running)
+        {
+            int workCount = 0;
+
+            poller.doWork();
+
+            final long request = requested;
+            if (responded != request)
+            {
+                responded = request;
+                workCount++;
+            }
+
+            idleStrategy.idle(workCount);
+        }
+    }
+
+    private long parkMillis()
+    {
+        return requested != responded ? 0L : Long.MAX_VALUE;
+    }
+
+    public static void main(
+        String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(IdleStrategyBM.class.getSimpleName())
+                .forks(0)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
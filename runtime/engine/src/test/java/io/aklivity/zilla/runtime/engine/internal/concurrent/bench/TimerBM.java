@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.concurrent.bench;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.DeadlineTimerWheel.TimerHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import io.aklivity.zilla.runtime.engine.internal.registry.TimerRecords;
+import io.aklivity.zilla.runtime.engine.internal.registry.TimerRecords.TimerSignaler;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(3)
+@Warmup(iterations = 10, time = 1, timeUnit = SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = SECONDS)
+@OutputTimeUnit(SECONDS)
+public class TimerBM
+{
+    @Param({"1000000"})
+    private int outstanding;
+
+    private DeadlineTimerWheel timerWheel;
+    private TimerRecords timers;
+    private TimerHandler expireHandler;
+    private TimerSignaler signaler;
+    private Blackhole blackhole;
+    private long now;
+    private long streamId;
+
+    @Setup(Level.Trial)
+    public void init(
+        Blackhole blackhole)
+    {
+        this.blackhole = blackhole;
+        this.timerWheel = new DeadlineTimerWheel(MILLISECONDS, 0L, 512, 1024);
+        this.timers = new TimerRecords(outstanding);
+        this.expireHandler = this::handleExpire;
+        this.signaler = this::handleSignal;
+
+        final Random random = new Random(0L);
+        final long horizon = SECONDS.toMillis(3600L);
+        for (int i = 0; i < outstanding; i++)
+        {
+            final long timerId = timerWheel.scheduleTimer(horizon + random.nextInt(Integer.MAX_VALUE));
+            timers.signal(timerId, 1L, 2L, i << 1 | 1L, 0L, 1, 0);
+        }
+    }
+
+    @Benchmark
+    public void scheduleThenCancel()
+    {
+        final long timerId = timerWheel.scheduleTimer(now + 30_000L);
+        timers.signal(timerId, 1L, 2L, streamId += 2L, 0L, 1, 0);
+
+        timerWheel.cancelTimer(timerId);
+        timers.remove(timerId);
+    }
+
+    @Benchmark
+    public void scheduleThenFire()
+    {
+        final long timerId = timerWheel.scheduleTimer(now);
+        timers.signal(timerId, 1L, 2L, streamId += 2L, 0L, 1, 0);
+
+        now += timerWheel.tickResolution();
+        timerWheel.poll(now, expireHandler, Integer.MAX_VALUE);
+    }
+
+    private boolean handleExpire(
+        TimeUnit timeUnit,
+        long time,
+        long timerId)
+    {
+        timers.fire(timerId, signaler);
+        return true;
+    }
+
+    private void handleSignal(
+        long originId,
+        long routedId,
+        long streamId,
+        long traceId,
+        int signalId,
+        int contextId)
+    {
+        blackhole.consume(streamId);
+    }
+
+    public static void main(
+        String[] args) throws RunnerException
+    {
+        Options opt = new OptionsBuilder()
+                .include(TimerBM.class.getSimpleName())
+                .forks(0)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.config.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.agrona.collections.IntArrayList;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.engine.EngineConfiguration;
+
+public class EngineConfigSchemaTest
+{
+    private EngineConfigSchema schema;
+    private List<Exception> errors;
+
+    @Before
+    public void init()
+    {
+        schema = new EngineConfigSchema(new EngineConfiguration(), List.of(), s -> {});
+        errors = new LinkedList<>();
+    }
+
+    @Test
+    public void shouldValidateEachDocument() throws Exception
+    {
+        String readable = "name: test0\n---\nname: test1";
+
+        IntArrayList configsAt = schema.validate(readable, errors);
+
+        assertNotNull(configsAt);
+        assertTrue(errors.isEmpty());
+        assertEquals(2, configsAt.size());
+        assertEquals(0, configsAt.getInt(0));
+        assertFalse(readable.substring(configsAt.getInt(1)).contains("test0"));
+        assertTrue(readable.substring(configsAt.getInt(1)).contains("test1"));
+    }
+
+    @Test
+    public void shouldRejectInvalidDocument() throws Exception
+    {
+        IntArrayList configsAt = schema.validate("name: test0\n---\nname: 0test", errors);
+
+        assertNull(configsAt);
+        assertFalse(errors.isEmpty());
+    }
+
+    @Test
+    public void shouldRejectInvalidDocumentAfterValidDocument() throws Exception
+    {
+        assertNotNull(schema.validate("name: test0", errors));
+        assertTrue(errors.isEmpty());
+
+        assertNull(schema.validate("name: 0test", errors));
+        assertFalse(errors.isEmpty());
+    }
+
+    @Test
+    public void shouldValidateUnchangedDocuments() throws Exception
+    {
+        String readable = "name: test0\n---\nname: test1";
+
+        assertNotNull(schema.validate(readable, errors));
+        IntArrayList configsAt = schema.validate(readable, errors);
+
+        assertNotNull(configsAt);
+        assertTrue(errors.isEmpty());
+        assertEquals(2, configsAt.size());
+    }
+
+    @Test
+    public void shouldValidateAnnotatedExpressions() throws Exception
+    {
+        IntArrayList configsAt = schema.validateAnnotated("name: ${{env.NAME}}", errors);
+
+        assertNotNull(configsAt);
+        assertTrue(errors.isEmpty());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.layouts;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.engine.internal.buffer.SlabBufferPool;
+
+public class BufferPoolLayoutTest
+{
+    private static final Path PATH = Paths.get("target/zilla-itests/buffers0");
+
+    @Test
+    public void shouldKeepFullSizeSlotsWithSizeClasses()
+    {
+        try (BufferPoolLayout layout = new BufferPoolLayout.Builder()
+            .path(PATH)
+            .slotCapacity(8192)
+            .slotCount(16)
+            .slotClasses(new int[] { 512, 2048 })
+            .build())
+        {
+            assertThat(layout.bufferPool(), instanceOf(SlabBufferPool.class));
+
+            SlabBufferPool pool = (SlabBufferPool) layout.bufferPool();
+            assertThat(pool.sizeClasses(), equalTo(3));
+            assertThat(pool.slotCount(2), equalTo(16));
+            assertThat(pool.slotCount(1), equalTo(16));
+            assertThat(pool.slotCount(0), equalTo(16));
+        }
+    }
+
+    @Test
+    public void shouldSizeClassesByCount()
+    {
+        try (BufferPoolLayout layout = new BufferPoolLayout.Builder()
+            .path(PATH)
+            .slotCapacity(8192)
+            .slotCount(16)
+            .slotClasses(new int[] { 512, 2048 })
+            .slotClassCounts(new int[] { 256, 64 })
+            .build())
+        {
+            SlabBufferPool pool = (SlabBufferPool) layout.bufferPool();
+            assertThat(pool.slotCount(2), equalTo(16));
+            assertThat(pool.slotCount(1), equalTo(64));
+            assertThat(pool.slotCount(0), equalTo(256));
+        }
+    }
+
+    @Test
+    public void shouldReadSizeClassesWhenReadonly()
+    {
+        try (BufferPoolLayout writer = new BufferPoolLayout.Builder()
+                .path(PATH)
+                .slotCapacity(8192)
+                .slotCount(16)
+                .slotClasses(new int[] { 512 })
+                .slotClassCounts(new int[] { 128 })
+                .build();
+            BufferPoolLayout reader = new BufferPoolLayout.Builder()
+                .path(PATH)
+                .slotClasses(new int[] { 512 })
+                .readonly(true)
+                .build())
+        {
+            writer.bufferPool().acquire(1L, 512);
+
+            SlabBufferPool pool = (SlabBufferPool) reader.bufferPool();
+            assertThat(pool.slotCount(0), equalTo(128));
+            assertThat(pool.slotCount(1), equalTo(16));
+            assertThat(pool.acquiredSlots(0), equalTo(1));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.metrics;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.mock;
+
+import java.util.function.LongConsumer;
+
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricContext;
+import io.aklivity.zilla.runtime.engine.metrics.MetricGroup;
+import io.aklivity.zilla.runtime.engine.metrics.MetricGroupFactory;
+
+public class EngineMetricGroupTest
+{
+    @Test
+    public void shouldLoadAndCreate()
+    {
+        Configuration config = new Configuration();
+        MetricGroupFactory factory = MetricGroupFactory.instantiate();
+        MetricGroup metricGroup = factory.create("engine", config);
+
+        assertThat(metricGroup, instanceOf(EngineMetricGroup.class));
+        assertThat(metricGroup.type(), nullValue());
+        assertThat(metricGroup.metricNames(), hasItems("engine.frame.latency", "engine.buffer.slots.256",
+            "engine.buffer.slots.65536", "engine.buffer.slots.1048576"));
+        assertThat(metricGroup.metricNames(), hasSize(14));
+    }
+
+    @Test
+    public void shouldResolveFrameLatency()
+    {
+        // GIVEN
+        Configuration config = new Configuration();
+        MetricGroup metricGroup = new EngineMetricGroup(config);
+
+        // WHEN
+        Metric metric = metricGroup.supply("engine.frame.latency");
+        MetricContext context = metric.supply(mock(EngineContext.class));
+        MessageConsumer handler = context.supply(mock(LongConsumer.class));
+
+        // THEN
+        assertThat(metric, instanceOf(EngineFrameLatencyMetric.class));
+        assertThat(metric.kind(), equalTo(Metric.Kind.HISTOGRAM));
+        assertThat(metric.unit(), equalTo(Metric.Unit.NANOSECONDS));
+        assertThat(context.group(), equalTo("engine"));
+        assertThat(context.direction(), equalTo(MetricContext.Direction.RECEIVED));
+        assertThat(handler, equalTo(MessageConsumer.NOOP));
+    }
+
+    @Test
+    public void shouldResolveBufferSlots()
+    {
+        // GIVEN
+        Configuration config = new Configuration();
+        MetricGroup metricGroup = new EngineMetricGroup(config);
+
+        // WHEN
+        Metric metric = metricGroup.supply("engine.buffer.slots.4096");
+        MetricContext context = metric.supply(mock(EngineContext.class));
+        MessageConsumer handler = context.supply(mock(LongConsumer.class));
+
+        // THEN
+        assertThat(metric, instanceOf(EngineBufferSlotsMetric.class));
+        assertThat(((EngineBufferSlotsMetric) metric).slotCapacity(), equalTo(4096));
+        assertThat(metric.name(), equalTo("engine.buffer.slots.4096"));
+        assertThat(metric.kind(), equalTo(Metric.Kind.GAUGE));
+        assertThat(metric.unit(), equalTo(Metric.Unit.COUNT));
+        assertThat(context.group(), equalTo("engine"));
+        assertThat(handler, equalTo(MessageConsumer.NOOP));
+    }
+}
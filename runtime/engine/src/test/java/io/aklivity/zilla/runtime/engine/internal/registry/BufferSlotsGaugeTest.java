@@ -0,0 +1,114 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.registry;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.engine.internal.buffer.DefaultBufferPool;
+import io.aklivity.zilla.runtime.engine.internal.buffer.SlabBufferPool;
+
+public class BufferSlotsGaugeTest
+{
+    private final AtomicLong gauge = new AtomicLong();
+    private final AtomicLong other = new AtomicLong();
+
+    @Test
+    public void shouldSampleSizeClassOccupancy()
+    {
+        SlabBufferPool pool = new SlabBufferPool(new int[] { 256, 1024 }, new int[] { 4, 4 });
+        BufferSlotsGauge small = new BufferSlotsGauge(256);
+        small.attach(1L, gauge::addAndGet);
+
+        int slot1 = pool.acquire(1L, 100);
+        int slot2 = pool.acquire(2L, 200);
+        pool.acquire(3L);
+        small.sample(pool);
+        assertEquals(2L, gauge.get());
+
+        pool.release(slot1);
+        small.sample(pool);
+        assertEquals(1L, gauge.get());
+
+        pool.grow(slot2, 512);
+        small.sample(pool);
+        assertEquals(0L, gauge.get());
+    }
+
+    @Test
+    public void shouldSampleDefaultPoolOccupancy()
+    {
+        DefaultBufferPool pool = new DefaultBufferPool(4096, 1024);
+        BufferSlotsGauges gauges = new BufferSlotsGauges();
+        gauges.attach(1024, 1L, gauge::addAndGet);
+        gauges.attach(256, 1L, gauge::addAndGet);
+
+        pool.acquire(1L);
+        gauges.sample(pool);
+
+        assertEquals(1L, gauge.get());
+    }
+
+    @Test
+    public void shouldRecordThroughOneBindingOnly()
+    {
+        SlabBufferPool pool = new SlabBufferPool(new int[] { 256, 1024 }, new int[] { 4, 4 });
+        BufferSlotsGauges gauges = new BufferSlotsGauges();
+        gauges.attach(256, 1L, gauge::addAndGet);
+        gauges.attach(256, 2L, other::addAndGet);
+
+        pool.acquire(1L, 100);
+        gauges.sample(pool);
+
+        assertEquals(1L, gauge.get());
+        assertEquals(0L, other.get());
+    }
+
+    @Test
+    public void shouldMoveRecordedOccupancyWhenBindingDetached()
+    {
+        SlabBufferPool pool = new SlabBufferPool(new int[] { 256, 1024 }, new int[] { 4, 4 });
+        BufferSlotsGauges gauges = new BufferSlotsGauges();
+        gauges.attach(256, 1L, gauge::addAndGet);
+        gauges.attach(256, 2L, other::addAndGet);
+
+        pool.acquire(1L, 100);
+        gauges.sample(pool);
+        gauges.detach(1L);
+        gauges.sample(pool);
+
+        assertEquals(0L, gauge.get());
+        assertEquals(1L, other.get());
+    }
+
+    @Test
+    public void shouldResetRecordedOccupancyWhenLastBindingDetached()
+    {
+        SlabBufferPool pool = new SlabBufferPool(new int[] { 256, 1024 }, new int[] { 4, 4 });
+        BufferSlotsGauges gauges = new BufferSlotsGauges();
+        gauges.attach(256, 1L, gauge::addAndGet);
+
+        pool.acquire(1L, 100);
+        gauges.sample(pool);
+        gauges.detach(1L);
+        gauges.sample(pool);
+
+        assertEquals(0L, gauge.get());
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.registry;
+
+import static io.aklivity.zilla.runtime.engine.config.KindConfig.CLIENT;
+import static io.aklivity.zilla.runtime.engine.config.KindConfig.SERVER;
+import static java.util.function.Function.identity;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import jakarta.json.JsonObject;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.quality.Strictness;
+
+import io.aklivity.zilla.runtime.engine.config.ConfigAdapterContext;
+import io.aklivity.zilla.runtime.engine.config.NamespaceConfig;
+import io.aklivity.zilla.runtime.engine.internal.config.NamespaceAdapter;
+import io.aklivity.zilla.runtime.engine.test.internal.vault.config.TestVaultOptionsConfig;
+
+public class NamespaceDiffTest
+{
+    @Rule
+    public MockitoRule rule = MockitoJUnit.rule().strictness(Strictness.STRICT_STUBS);
+
+    @Mock
+    private ConfigAdapterContext context;
+
+    private NamespaceAdapter adapter;
+
+    @Before
+    public void initAdapter()
+    {
+        adapter = new NamespaceAdapter(context);
+    }
+
+    @Test
+    public void shouldDiffChangedBindingsOnly() throws Exception
+    {
+        NamespaceConfig oldNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .exit("app1")
+                .build()
+            .binding()
+                .name("app1")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceConfig newNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .exit("app1")
+                .build()
+            .binding()
+                .name("app1")
+                .type("test")
+                .kind(CLIENT)
+                .build()
+            .binding()
+                .name("app2")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceDiff diff = diff(oldNamespace, newNamespace);
+
+        assertThat(diff.detachedBindings, contains(oldNamespace.bindings.get(1)));
+        assertThat(diff.attachedBindings, contains(newNamespace.bindings.get(1), newNamespace.bindings.get(2)));
+        assertThat(diff.detachedMetrics, empty());
+        assertThat(diff.attachedExporters, empty());
+    }
+
+    @Test
+    public void shouldBeEmptyWhenUnchanged() throws Exception
+    {
+        NamespaceConfig oldNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceConfig newNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceDiff diff = diff(oldNamespace, newNamespace);
+
+        assertThat(diff.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void shouldReattachBindingWhenVaultChanged() throws Exception
+    {
+        NamespaceConfig oldNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .vault()
+                .name("secrets")
+                .type("test")
+                .options(TestVaultOptionsConfig::builder)
+                    .mode("old")
+                    .build()
+                .build()
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .vault("secrets")
+                .build()
+            .binding()
+                .name("app1")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceConfig newNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .vault()
+                .name("secrets")
+                .type("test")
+                .options(TestVaultOptionsConfig::builder)
+                    .mode("new")
+                    .build()
+                .build()
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .vault("secrets")
+                .build()
+            .binding()
+                .name("app1")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        oldNamespace.vaults.get(0).id = 1L;
+        oldNamespace.bindings.get(0).vaultId = 1L;
+        newNamespace.vaults.get(0).id = 1L;
+        newNamespace.bindings.get(0).vaultId = 1L;
+
+        NamespaceDiff diff = diff(oldNamespace, newNamespace);
+
+        assertThat(diff.detachedVaults, contains(oldNamespace.vaults.get(0)));
+        assertThat(diff.attachedVaults, contains(newNamespace.vaults.get(0)));
+        assertThat(diff.detachedBindings, contains(oldNamespace.bindings.get(0)));
+        assertThat(diff.attachedBindings, contains(newNamespace.bindings.get(0)));
+    }
+
+    @Test
+    public void shouldReattachAllWhenNotComparable() throws Exception
+    {
+        NamespaceConfig oldNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceConfig newNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceDiff diff = NamespaceDiff.diff(oldNamespace, null, newNamespace, null, id -> false);
+
+        assertThat(diff.detachedBindings, hasSize(1));
+        assertThat(diff.attachedBindings, hasSize(1));
+    }
+
+    @Test
+    public void shouldReverseDiff() throws Exception
+    {
+        NamespaceConfig oldNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceConfig newNamespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(CLIENT)
+                .build()
+            .build();
+
+        NamespaceDiff reverse = diff(oldNamespace, newNamespace).reverse();
+
+        assertThat(reverse.previous, equalTo(newNamespace));
+        assertThat(reverse.namespace, equalTo(oldNamespace));
+        assertThat(reverse.detachedBindings, contains(newNamespace.bindings.get(0)));
+        assertThat(reverse.attachedBindings, contains(oldNamespace.bindings.get(0)));
+    }
+
+    @Test
+    public void shouldDetachAllWhenRemoved() throws Exception
+    {
+        NamespaceConfig namespace = NamespaceConfig.builder()
+            .inject(identity())
+            .name("test")
+            .binding()
+                .name("app0")
+                .type("test")
+                .kind(SERVER)
+                .build()
+            .build();
+
+        NamespaceDiff diff = NamespaceDiff.detached(namespace);
+
+        assertThat(diff.name(), equalTo("test"));
+        assertThat(diff.namespace, nullValue());
+        assertThat(diff.detachedBindings, contains(namespace.bindings.get(0)));
+        assertThat(diff.attachedBindings, empty());
+    }
+
+    private NamespaceDiff diff(
+        NamespaceConfig oldNamespace,
+        NamespaceConfig newNamespace) throws Exception
+    {
+        JsonObject oldObject = adapter.adaptToJson(oldNamespace);
+        JsonObject newObject = adapter.adaptToJson(newNamespace);
+
+        Set<Long> changedRefs = new HashSet<>();
+        NamespaceDiff.changedRefs(oldNamespace, oldObject, newNamespace, newObject, changedRefs);
+
+        return NamespaceDiff.diff(oldNamespace, oldObject, newNamespace, newObject, changedRefs::contains);
+    }
+}
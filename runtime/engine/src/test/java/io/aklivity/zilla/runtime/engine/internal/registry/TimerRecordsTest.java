@@ -0,0 +1,133 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc.
+ *
+ * Aklivity licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+package io.aklivity.zilla.runtime.engine.internal.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class TimerRecordsTest
+{
+    @Test
+    public void shouldFireTask()
+    {
+        TimerRecords timers = new TimerRecords(4);
+        AtomicInteger runs = new AtomicInteger();
+
+        timers.task(1L, runs::incrementAndGet);
+
+        assertTrue(timers.fire(1L, this::signal));
+        assertFalse(timers.fire(1L, this::signal));
+        assertEquals(1, runs.get());
+        assertEquals(0, timers.size());
+    }
+
+    @Test
+    public void shouldFireHandler()
+    {
+        TimerRecords timers = new TimerRecords(4);
+        AtomicInteger signalId = new AtomicInteger();
+
+        timers.handler(1L, 42, signalId::set);
+
+        assertTrue(timers.fire(1L, this::signal));
+        assertEquals(42, signalId.get());
+    }
+
+    @Test
+    public void shouldFireSignal()
+    {
+        TimerRecords timers = new TimerRecords(4);
+        AtomicLong streamId = new AtomicLong();
+        AtomicInteger contextId = new AtomicInteger();
+
+        timers.signal(1L, 2L, 3L, 5L, 7L, 11, 13);
+
+        assertTrue(timers.fire(1L, (o, r, s, t, sid, cid) ->
+        {
+            assertEquals(2L, o);
+            assertEquals(3L, r);
+            assertEquals(7L, t);
+            assertEquals(11, sid);
+            streamId.set(s);
+            contextId.set(cid);
+        }));
+        assertEquals(5L, streamId.get());
+        assertEquals(13, contextId.get());
+    }
+
+    @Test
+    public void shouldNotFireRemoved()
+    {
+        TimerRecords timers = new TimerRecords(4);
+        AtomicInteger runs = new AtomicInteger();
+
+        timers.task(1L, runs::incrementAndGet);
+
+        assertTrue(timers.remove(1L));
+        assertFalse(timers.remove(1L));
+        assertFalse(timers.fire(1L, this::signal));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void shouldGrowBeyondInitialCapacity()
+    {
+        TimerRecords timers = new TimerRecords(2);
+        AtomicInteger runs = new AtomicInteger();
+
+        for (long timerId = 0L; timerId < 100L; timerId++)
+        {
+            timers.task(timerId, runs::incrementAndGet);
+        }
+        assertEquals(100, timers.size());
+
+        for (long timerId = 0L; timerId < 100L; timerId++)
+        {
+            assertTrue(timers.fire(timerId, this::signal));
+        }
+        assertEquals(100, runs.get());
+        assertEquals(0, timers.size());
+    }
+
+    @Test
+    public void shouldRescheduleFromFiredTask()
+    {
+        TimerRecords timers = new TimerRecords(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        timers.task(1L, () -> timers.task(2L, runs::incrementAndGet));
+
+        assertTrue(timers.fire(1L, this::signal));
+        assertTrue(timers.fire(2L, this::signal));
+        assertEquals(1, runs.get());
+    }
+
+    private void signal(
+        long originId,
+        long routedId,
+        long streamId,
+        long traceId,
+        int signalId,
+        int contextId)
+    {
+    }
+}
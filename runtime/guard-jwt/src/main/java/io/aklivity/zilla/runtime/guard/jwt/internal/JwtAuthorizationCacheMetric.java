@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.guard.jwt.internal;
+
+import static io.aklivity.zilla.runtime.engine.metrics.MetricContext.Direction.RECEIVED;
+
+import java.util.function.LongConsumer;
+
+import io.aklivity.zilla.runtime.engine.EngineContext;
+import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricContext;
+
+public final class JwtAuthorizationCacheMetric implements Metric
+{
+    private final String name;
+    private final String description;
+
+    JwtAuthorizationCacheMetric(
+        String name,
+        String description)
+    {
+        this.name = name;
+        this.description = description;
+    }
+
+    @Override
+    public String name()
+    {
+        return name;
+    }
+
+    @Override
+    public Kind kind()
+    {
+        return Kind.COUNTER;
+    }
+
+    @Override
+    public Unit unit()
+    {
+        return Unit.COUNT;
+    }
+
+    @Override
+    public String description()
+    {
+        return description;
+    }
+
+    @Override
+    public MetricContext supply(
+        EngineContext context)
+    {
+        return new JwtAuthorizationCacheMetricContext();
+    }
+
+    private final class JwtAuthorizationCacheMetricContext implements MetricContext
+    {
+        @Override
+        public String group()
+        {
+            return JwtMetricGroup.NAME;
+        }
+
+        @Override
+        public Kind kind()
+        {
+            return JwtAuthorizationCacheMetric.this.kind();
+        }
+
+        @Override
+        public Direction direction()
+        {
+            return RECEIVED;
+        }
+
+        @Override
+        public MessageConsumer supply(
+            LongConsumer recorder)
+        {
+            // recorded by the jwt guard handler on reauthorize, not observed from frames
+            return MessageConsumer.NOOP;
+        }
+    }
+}
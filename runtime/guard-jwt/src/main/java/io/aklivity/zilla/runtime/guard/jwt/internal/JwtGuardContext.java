@@ -29,6 +29,7 @@ final class JwtGuardContext implements GuardContext
     private final Long2ObjectHashMap<JwtGuardHandler> handlersById;
     private final LongSupplier supplyAuthorizedId;
     private final EngineContext context;
+    private final int cacheCapacity;
 
     JwtGuardContext(
         Configuration config,
@@ -37,6 +38,7 @@ final class JwtGuardContext implements GuardContext
         this.handlersById = new Long2ObjectHashMap<>();
         this.context = context;
         this.supplyAuthorizedId = context::supplyAuthorizedId;
+        this.cacheCapacity = new JwtConfiguration(config).cacheCapacity();
     }
 
     @Override
@@ -44,7 +46,8 @@ final class JwtGuardContext implements GuardContext
         GuardConfig guard)
     {
         JwtOptionsConfig options = (JwtOptionsConfig) guard.options;
-        JwtGuardHandler handler = new JwtGuardHandler(options, context, supplyAuthorizedId, guard.readURL);
+        JwtGuardHandler handler = new JwtGuardHandler(options, context, supplyAuthorizedId, guard.readURL,
+            cacheCapacity);
         handlersById.put(guard.id, handler);
         return handler;
     }
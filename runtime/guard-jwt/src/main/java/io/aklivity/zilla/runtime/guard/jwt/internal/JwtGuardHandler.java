@@ -14,6 +14,9 @@
  */
 package io.aklivity.zilla.runtime.guard.jwt.internal;
 
+import static io.aklivity.zilla.runtime.engine.metrics.Metric.Kind.COUNTER;
+import static io.aklivity.zilla.runtime.guard.jwt.internal.JwtMetricGroup.AUTHORIZATION_CACHE_HITS;
+import static io.aklivity.zilla.runtime.guard.jwt.internal.JwtMetricGroup.AUTHORIZATION_CACHE_MISSES;
 import static org.agrona.LangUtil.rethrowUnchecked;
 
 import java.time.Duration;
@@ -27,12 +30,15 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 
 import jakarta.json.bind.Jsonb;
 import jakarta.json.bind.JsonbBuilder;
 import jakarta.json.bind.JsonbConfig;
 
+import org.agrona.BitUtil;
+import org.agrona.collections.Int2ObjectCache;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.jose4j.jwk.JsonWebKey;
 import org.jose4j.jws.JsonWebSignature;
@@ -42,8 +48,10 @@ import org.jose4j.jwt.NumericDate;
 import org.jose4j.jwt.consumer.InvalidJwtException;
 import org.jose4j.lang.JoseException;
 
+import io.aklivity.zilla.runtime.engine.Configuration;
 import io.aklivity.zilla.runtime.engine.EngineContext;
 import io.aklivity.zilla.runtime.engine.guard.GuardHandler;
+import io.aklivity.zilla.runtime.engine.namespace.NamespacedId;
 import io.aklivity.zilla.runtime.guard.jwt.config.JwtKeyConfig;
 import io.aklivity.zilla.runtime.guard.jwt.config.JwtKeySetConfig;
 import io.aklivity.zilla.runtime.guard.jwt.config.JwtOptionsConfig;
@@ -51,6 +59,9 @@ import io.aklivity.zilla.runtime.guard.jwt.internal.config.JwtKeySetConfigAdapte
 
 public class JwtGuardHandler implements GuardHandler
 {
+    private static final int VERIFIED_TOKENS_SET_SIZE = 8;
+    private static final long NO_TIME = -1L;
+
     private final JsonWebSignature signature = new JsonWebSignature();
 
     private final String issuer;
@@ -60,6 +71,9 @@ public class JwtGuardHandler implements GuardHandler
     private final Long2ObjectHashMap<JwtSession> sessionsById;
     private final LongSupplier supplyAuthorizedId;
     private final Long2ObjectHashMap<JwtSessionStore> sessionStoresByContextId;
+    private final Int2ObjectCache<JwtVerifiedToken> verifiedTokens;
+    private final Long2ObjectHashMap<JwtCacheMetrics> cacheMetricsByBindingId;
+    private final EngineContext context;
     private final JwtEventContext event;
 
     public JwtGuardHandler(
@@ -67,6 +81,16 @@ public class JwtGuardHandler implements GuardHandler
         EngineContext context,
         LongSupplier supplyAuthorizedId,
         Function<String, String> readURL)
+    {
+        this(options, context, supplyAuthorizedId, readURL, new JwtConfiguration(new Configuration()).cacheCapacity());
+    }
+
+    public JwtGuardHandler(
+        JwtOptionsConfig options,
+        EngineContext context,
+        LongSupplier supplyAuthorizedId,
+        Function<String, String> readURL,
+        int cacheCapacity)
     {
         this.issuer = options.issuer;
         this.audience = options.audience;
@@ -116,6 +140,11 @@ public class JwtGuardHandler implements GuardHandler
         this.supplyAuthorizedId = supplyAuthorizedId;
         this.sessionsById = new Long2ObjectHashMap<>();
         this.sessionStoresByContextId = new Long2ObjectHashMap<>();
+        this.verifiedTokens = new Int2ObjectCache<>(
+            BitUtil.findNextPositivePowerOfTwo(Math.max(cacheCapacity / VERIFIED_TOKENS_SET_SIZE, 1)),
+            VERIFIED_TOKENS_SET_SIZE, t -> {});
+        this.cacheMetricsByBindingId = new Long2ObjectHashMap<>();
+        this.context = context;
         this.event = new JwtEventContext(context);
     }
 
@@ -131,6 +160,81 @@ public class JwtGuardHandler implements GuardHandler
 
         authorize:
         try
+        {
+            JwtVerifiedToken verified = supplyVerifiedToken(bindingId, credentials);
+            if (verified == null)
+            {
+                break authorize;
+            }
+
+            subject = verified.subject;
+
+            long now = Instant.now().toEpochMilli();
+            if (!verified.trusted ||
+                verified.notBefore != NO_TIME && now < verified.notBefore ||
+                verified.notAfter != NO_TIME && now > verified.notAfter)
+            {
+                break authorize;
+            }
+
+            List<String> roles = verified.roles;
+
+            JwtSessionStore sessionStore = supplySessionStore(contextId);
+            session = sessionStore.supplySession(subject, roles);
+
+            session.roles = roles;
+            session.expiresAt = verified.notAfter != NO_TIME
+                ? Math.max(session.expiresAt, verified.notAfter)
+                : EXPIRES_NEVER;
+            session.challengeAt = challenge != null ? session.expiresAt - challenge.toMillis() : session.expiresAt;
+
+            JwtSession previous = sessionsById.put(session.authorized, session);
+            assert previous != session && session.refs == 0 || previous == session && session.refs > 0;
+            session.refs++;
+        }
+        catch (JoseException | InvalidJwtException | MalformedClaimException ex)
+        {
+            // not authorized
+        }
+        if (session == null)
+        {
+            event.authorizationFailed(traceId, bindingId, subject);
+        }
+        return session != null ? session.authorized : NOT_AUTHORIZED;
+    }
+
+    private JwtVerifiedToken supplyVerifiedToken(
+        long bindingId,
+        String credentials) throws JoseException, InvalidJwtException, MalformedClaimException
+    {
+        final JwtCacheMetrics metrics = supplyCacheMetrics(bindingId);
+        final int tokenKey = credentials.hashCode();
+
+        JwtVerifiedToken verified = verifiedTokens.get(tokenKey);
+        if (verified != null && verified.token.equals(credentials))
+        {
+            metrics.hits.accept(1L);
+        }
+        else
+        {
+            metrics.misses.accept(1L);
+
+            verified = verifyToken(credentials);
+            if (verified != null)
+            {
+                verifiedTokens.put(tokenKey, verified);
+            }
+        }
+
+        return verified;
+    }
+
+    private JwtVerifiedToken verifyToken(
+        String credentials) throws JoseException, InvalidJwtException, MalformedClaimException
+    {
+        JwtVerifiedToken verified = null;
+
+        verify:
         {
             signature.setCompactSerialization(credentials);
 
@@ -142,32 +246,27 @@ public class JwtGuardHandler implements GuardHandler
                 key == null ||
                 !Objects.equals(alg, key.getAlgorithm()))
             {
-                break authorize;
+                break verify;
             }
 
             signature.setKey(null);
             signature.setKey(key.getKey());
             if (!signature.verifySignature())
             {
-                break authorize;
+                break verify;
             }
 
             String payload = signature.getPayload();
             JwtClaims claims = JwtClaims.parse(payload);
-            subject = claims.getSubject();
+            String subject = claims.getSubject();
             NumericDate notBefore = claims.getNotBefore();
             NumericDate notAfter = claims.getExpirationTime();
             String issuer = claims.getIssuer();
             List<String> audience = claims.getAudience();
 
-            long now = Instant.now().toEpochMilli();
-            if (notBefore != null && now < notBefore.getValueInMillis() ||
-                notAfter != null && now > notAfter.getValueInMillis() ||
-                issuer == null || !issuer.equals(this.issuer) ||
-                audience == null || !audience.contains(this.audience))
-            {
-                break authorize;
-            }
+            boolean trusted =
+                issuer != null && issuer.equals(this.issuer) &&
+                audience != null && audience.contains(this.audience);
 
             List<String> roles = Optional.ofNullable(claims.getClaimValue("scope"))
                 .map(s -> s.toString().intern())
@@ -175,28 +274,35 @@ public class JwtGuardHandler implements GuardHandler
                 .map(Arrays::asList)
                 .orElse(null);
 
-            JwtSessionStore sessionStore = supplySessionStore(contextId);
-            session = sessionStore.supplySession(subject, roles);
+            verified = new JwtVerifiedToken(credentials, subject, roles, trusted,
+                notBefore != null ? notBefore.getValueInMillis() : NO_TIME,
+                notAfter != null ? notAfter.getValueInMillis() : NO_TIME);
+        }
 
-            session.roles = roles;
-            session.expiresAt = notAfter != null
-                ? Math.max(session.expiresAt, notAfter.getValueInMillis())
-                : EXPIRES_NEVER;
-            session.challengeAt = challenge != null ? session.expiresAt - challenge.toMillis() : session.expiresAt;
+        return verified;
+    }
 
-            JwtSession previous = sessionsById.put(session.authorized, session);
-            assert previous != session && session.refs == 0 || previous == session && session.refs > 0;
-            session.refs++;
-        }
-        catch (JoseException | InvalidJwtException | MalformedClaimException ex)
-        {
-            // not authorized
-        }
-        if (session == null)
-        {
-            event.authorizationFailed(traceId, bindingId, subject);
-        }
-        return session != null ? session.authorized : NOT_AUTHORIZED;
+    private JwtCacheMetrics supplyCacheMetrics(
+        long bindingId)
+    {
+        return cacheMetricsByBindingId.computeIfAbsent(bindingId, this::newCacheMetrics);
+    }
+
+    private JwtCacheMetrics newCacheMetrics(
+        long bindingId)
+    {
+        return new JwtCacheMetrics(
+            supplyCounterWriter(bindingId, AUTHORIZATION_CACHE_HITS),
+            supplyCounterWriter(bindingId, AUTHORIZATION_CACHE_MISSES));
+    }
+
+    private LongConsumer supplyCounterWriter(
+        long bindingId,
+        String metricName)
+    {
+        final long metricId = NamespacedId.id(NamespacedId.namespaceId(bindingId), context.supplyTypeId(metricName));
+        final LongConsumer writer = context.supplyMetricWriter(COUNTER, bindingId, metricId);
+        return writer != null ? writer : v -> {};
     }
 
     @Override
@@ -277,6 +383,46 @@ public class JwtGuardHandler implements GuardHandler
         return sessionStoresByContextId.computeIfAbsent(contextId, JwtSessionStore::new);
     }
 
+    private static final class JwtVerifiedToken
+    {
+        private final String token;
+        private final String subject;
+        private final List<String> roles;
+        private final boolean trusted;
+        private final long notBefore;
+        private final long notAfter;
+
+        private JwtVerifiedToken(
+            String token,
+            String subject,
+            List<String> roles,
+            boolean trusted,
+            long notBefore,
+            long notAfter)
+        {
+            this.token = token;
+            this.subject = subject;
+            this.roles = roles;
+            this.trusted = trusted;
+            this.notBefore = notBefore;
+            this.notAfter = notAfter;
+        }
+    }
+
+    private static final class JwtCacheMetrics
+    {
+        private final LongConsumer hits;
+        private final LongConsumer misses;
+
+        private JwtCacheMetrics(
+            LongConsumer hits,
+            LongConsumer misses)
+        {
+            this.hits = hits;
+            this.misses = misses;
+        }
+    }
+
     private final class JwtSessionStore
     {
         private final long contextId;
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.guard.jwt.internal;
+
+import java.net.URL;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricGroup;
+
+public final class JwtMetricGroup implements MetricGroup
+{
+    public static final String NAME = JwtGuard.NAME;
+
+    public static final String AUTHORIZATION_CACHE_HITS = String.format("%s.%s", NAME, "authorization.cache.hits");
+    public static final String AUTHORIZATION_CACHE_MISSES = String.format("%s.%s", NAME, "authorization.cache.misses");
+
+    private final Map<String, Supplier<Metric>> jwtMetrics = Map.of(
+        AUTHORIZATION_CACHE_HITS, () -> new JwtAuthorizationCacheMetric(AUTHORIZATION_CACHE_HITS,
+            "JWT authorizations served from verified token cache"),
+        AUTHORIZATION_CACHE_MISSES, () -> new JwtAuthorizationCacheMetric(AUTHORIZATION_CACHE_MISSES,
+            "JWT authorizations requiring signature verification")
+    );
+
+    public JwtMetricGroup(
+        Configuration config)
+    {
+    }
+
+    @Override
+    public String name()
+    {
+        return NAME;
+    }
+
+    @Override
+    public URL type()
+    {
+        return getClass().getResource("schema/jwt.metrics.schema.patch.json");
+    }
+
+    @Override
+    public Metric supply(
+        String name)
+    {
+        return jwtMetrics.getOrDefault(name, () -> null).get();
+    }
+
+    @Override
+    public Collection<String> metricNames()
+    {
+        return jwtMetrics.keySet();
+    }
+}
@@ -14,6 +14,7 @@
  */
 package io.aklivity.zilla.runtime.guard.jwt.internal;
 
+import static io.aklivity.zilla.runtime.engine.metrics.Metric.Kind.COUNTER;
 import static io.aklivity.zilla.runtime.guard.jwt.internal.keys.JwtKeyConfigs.RFC7515_RS256_CONFIG;
 import static io.aklivity.zilla.specs.guard.jwt.keys.JwtKeys.RFC7515_RS256;
 import static java.time.Duration.ofSeconds;
@@ -619,6 +620,78 @@ public class JwtGuardHandlerTest
         guard.deauthorize(sessionId);
     }
 
+    @Test
+    public void shouldReauthorizeFromVerifiedTokenCache() throws Exception
+    {
+        MutableLong hits = new MutableLong();
+        MutableLong misses = new MutableLong();
+        when(context.supplyTypeId("jwt.authorization.cache.hits")).thenReturn(1);
+        when(context.supplyTypeId("jwt.authorization.cache.misses")).thenReturn(2);
+        when(context.supplyMetricWriter(COUNTER, 0L, 1L)).thenReturn(hits::addAndGet);
+        when(context.supplyMetricWriter(COUNTER, 0L, 2L)).thenReturn(misses::addAndGet);
+
+        JwtOptionsConfig options = JwtOptionsConfig.builder()
+            .inject(identity())
+            .issuer("test issuer")
+            .audience("testAudience")
+            .key(RFC7515_RS256_CONFIG)
+            .build();
+        JwtGuardHandler guard = new JwtGuardHandler(options, context, new MutableLong(1L)::getAndIncrement, READ_KEYS_URL);
+
+        Instant now = Instant.now();
+
+        JwtClaims claims = new JwtClaims();
+        claims.setClaim("iss", "test issuer");
+        claims.setClaim("aud", "testAudience");
+        claims.setClaim("sub", "testSubject");
+        claims.setClaim("exp", now.getEpochSecond() + 10L);
+        claims.setClaim("scope", "read:stream write:stream");
+
+        String token = sign(claims.toJson(), "test", RFC7515_RS256, "RS256");
+
+        long sessionId = guard.reauthorize(0L, 0L, 101L, token);
+        long cachedSessionId = guard.reauthorize(0L, 0L, 102L, token);
+
+        assertThat(cachedSessionId, not(equalTo(0L)));
+        assertThat(cachedSessionId, not(equalTo(sessionId)));
+        assertThat(guard.identity(cachedSessionId), equalTo("testSubject"));
+        assertThat(guard.expiresAt(cachedSessionId), equalTo(ofSeconds(now.getEpochSecond() + 10L).toMillis()));
+        assertTrue(guard.verify(cachedSessionId, asList("read:stream", "write:stream")));
+        assertThat(hits.get(), equalTo(1L));
+        assertThat(misses.get(), equalTo(1L));
+    }
+
+    @Test
+    public void shouldNotReauthorizeFromVerifiedTokenCacheWhenExpired() throws Exception
+    {
+        JwtOptionsConfig options = JwtOptionsConfig.builder()
+            .inject(identity())
+            .issuer("test issuer")
+            .audience("testAudience")
+            .key(RFC7515_RS256_CONFIG)
+            .build();
+        JwtGuardHandler guard = new JwtGuardHandler(options, context, new MutableLong(1L)::getAndIncrement, READ_KEYS_URL);
+
+        Instant now = Instant.now();
+
+        JwtClaims claims = new JwtClaims();
+        claims.setClaim("iss", "test issuer");
+        claims.setClaim("aud", "testAudience");
+        claims.setClaim("sub", "testSubject");
+        claims.setClaim("exp", now.getEpochSecond() + 1L);
+
+        String token = sign(claims.toJson(), "test", RFC7515_RS256, "RS256");
+
+        long sessionId = guard.reauthorize(0L, 0L, 101L, token);
+
+        Thread.sleep(ofSeconds(now.getEpochSecond() + 1L).toMillis() - Instant.now().toEpochMilli() + 100L);
+
+        long expiredSessionId = guard.reauthorize(0L, 0L, 102L, token);
+
+        assertThat(sessionId, not(equalTo(0L)));
+        assertThat(expiredSessionId, equalTo(0L));
+    }
+
     static String sign(
         String payload,
         String kid,
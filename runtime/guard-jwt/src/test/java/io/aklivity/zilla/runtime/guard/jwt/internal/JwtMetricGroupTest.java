@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021-2023 Aklivity Inc
+ *
+ * Licensed under the Aklivity Community License (the "License"); you may not use
+ * this file except in compliance with the License.  You may obtain a copy of the
+ * License at
+ *
+ *   https://www.aklivity.io/aklivity-community-license/
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OF ANY KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package io.aklivity.zilla.runtime.guard.jwt.internal;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import org.junit.Test;
+
+import io.aklivity.zilla.runtime.engine.Configuration;
+import io.aklivity.zilla.runtime.engine.metrics.Metric;
+import io.aklivity.zilla.runtime.engine.metrics.MetricGroup;
+import io.aklivity.zilla.runtime.engine.metrics.MetricGroupFactory;
+
+public class JwtMetricGroupTest
+{
+    @Test
+    public void shouldLoadAndCreate()
+    {
+        Configuration config = new Configuration();
+        MetricGroupFactory factory = MetricGroupFactory.instantiate();
+        MetricGroup metricGroup = factory.create("jwt", config);
+
+        assertThat(metricGroup, instanceOf(JwtMetricGroup.class));
+        assertThat(metricGroup.name(), equalTo("jwt"));
+        assertThat(metricGroup.type(), not(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnMetricNames()
+    {
+        MetricGroup metricGroup = new JwtMetricGroup(new Configuration());
+
+        assertThat(metricGroup.metricNames(), containsInAnyOrder(
+            "jwt.authorization.cache.hits",
+            "jwt.authorization.cache.misses"
+        ));
+    }
+
+    @Test
+    public void shouldResolveAuthorizationCacheHits()
+    {
+        MetricGroup metricGroup = new JwtMetricGroup(new Configuration());
+
+        Metric metric = metricGroup.supply("jwt.authorization.cache.hits");
+
+        assertThat(metric.name(), equalTo("jwt.authorization.cache.hits"));
+        assertThat(metric.kind(), equalTo(Metric.Kind.COUNTER));
+        assertThat(metric.unit(), equalTo(Metric.Unit.COUNT));
+    }
+}
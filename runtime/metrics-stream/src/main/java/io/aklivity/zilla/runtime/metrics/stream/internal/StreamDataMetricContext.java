@@ -21,14 +21,19 @@ import org.agrona.DirectBuffer;
 import io.aklivity.zilla.runtime.engine.binding.function.MessageConsumer;
 import io.aklivity.zilla.runtime.engine.metrics.Metric;
 import io.aklivity.zilla.runtime.engine.metrics.MetricContext;
+import io.aklivity.zilla.runtime.metrics.stream.internal.types.OctetsFW;
 import io.aklivity.zilla.runtime.metrics.stream.internal.types.stream.DataFW;
+import io.aklivity.zilla.runtime.metrics.stream.internal.types.stream.PayloadReferenceFW;
 
 public final class StreamDataMetricContext implements MetricContext
 {
+    private static final int FLAG_REFERENCE = 0x10;
+
     private final String group;
     private final Metric.Kind kind;
     private final Direction direction;
     private final DataFW dataRO = new DataFW();
+    private final PayloadReferenceFW referenceRO = new PayloadReferenceFW();
 
     public StreamDataMetricContext(
         String group,
@@ -85,8 +90,22 @@ public final class StreamDataMetricContext implements MetricContext
             if (msgTypeId == DataFW.TYPE_ID)
             {
                 DataFW data = dataRO.wrap(buffer, index, index + length);
-                recorder.accept(data.length());
+                recorder.accept(payloadLength(data));
+            }
+        }
+
+        private int payloadLength(
+            DataFW data)
+        {
+            int length = data.length();
+
+            if ((data.flags() & FLAG_REFERENCE) != 0)
+            {
+                final OctetsFW payload = data.payload();
+                length = referenceRO.wrap(payload.buffer(), payload.offset(), payload.limit()).length();
             }
+
+            return length;
         }
     }
 }
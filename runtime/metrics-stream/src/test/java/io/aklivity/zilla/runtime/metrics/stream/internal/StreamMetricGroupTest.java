@@ -39,6 +39,7 @@ import io.aklivity.zilla.runtime.metrics.stream.internal.types.stream.AbortFW;
 import io.aklivity.zilla.runtime.metrics.stream.internal.types.stream.BeginFW;
 import io.aklivity.zilla.runtime.metrics.stream.internal.types.stream.DataFW;
 import io.aklivity.zilla.runtime.metrics.stream.internal.types.stream.EndFW;
+import io.aklivity.zilla.runtime.metrics.stream.internal.types.stream.PayloadReferenceFW;
 import io.aklivity.zilla.runtime.metrics.stream.internal.types.stream.ResetFW;
 
 public class StreamMetricGroupTest
@@ -245,6 +246,34 @@ public class StreamMetricGroupTest
         verify(recorder, times(1)).accept(8L);
     }
 
+    @Test
+    public void shouldRecordStreamDataReceivedByReference()
+    {
+        // GIVEN
+        Configuration config = new Configuration();
+        MetricGroup metricGroup = new StreamMetricGroup(config);
+        EngineContext engineContext = mock(EngineContext.class);
+        LongConsumer recorder = mock(LongConsumer.class);
+
+        // WHEN
+        Metric metric = metricGroup.supply("stream.data.received");
+        MetricContext context = metric.supply(engineContext);
+        MessageConsumer handler = context.supply(recorder);
+        AtomicBuffer buffer = new UnsafeBuffer(new byte[128], 0, 128);
+        PayloadReferenceFW reference = new PayloadReferenceFW.Builder()
+                .wrap(new UnsafeBuffer(new byte[12], 0, 12), 0, 12)
+                .slot(3).offset$(0).length(1024).build();
+        new DataFW.Builder().wrap(buffer, 0, buffer.capacity())
+                .originId(0L).routedId(0L).streamId(1L) // received
+                .sequence(0L).acknowledge(0L).maximum(0).timestamp(0L)
+                .traceId(0L).authorization(0L).flags(0x13).budgetId(0L).reserved(1024)
+                .payload(reference.buffer(), reference.offset(), reference.sizeof()).build();
+        handler.accept(DataFW.TYPE_ID, buffer, 0, buffer.capacity());
+
+        // THEN
+        verify(recorder, times(1)).accept(1024L);
+    }
+
     @Test
     public void shouldResolveStreamDataSent()
     {
@@ -107,6 +107,14 @@ public class SchemaTest
         assertThat(config, not(nullValue()));
     }
 
+    @Test
+    public void shouldValidateClientOptionsCompression()
+    {
+        JsonObject config = schema.validate("client.options.compression.yaml");
+
+        assertThat(config, not(nullValue()));
+    }
+
     @Test
     public void shouldValidateClientWhenTopic()
     {
@@ -18,7 +18,6 @@ package io.aklivity.zilla.specs.binding.kafka.streams.application;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.rules.RuleChain.outerRule;
 
-import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.DisableOnDebug;
@@ -82,6 +81,33 @@ public class FetchIT
         k3po.finish();
     }
 
+    @Test
+    @Specification({
+        "${app}/partition.coalesced/client",
+        "${app}/partition.coalesced/server"})
+    public void shouldReceiveMessagesFromCoalescedPartitions() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${app}/partition.coalesced.window.closed/client",
+        "${app}/partition.coalesced.window.closed/server"})
+    public void shouldReceiveMessagesFromCoalescedPartitionsWhenWindowClosed() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${app}/partition.coalesced.error/client",
+        "${app}/partition.coalesced.error/server"})
+    public void shouldReceiveMessageFromCoalescedPartitionWhenOtherPartitionErrors() throws Exception
+    {
+        k3po.finish();
+    }
+
     @Test
     @Specification({
         "${app}/partition.offset/client",
@@ -218,7 +244,6 @@ public class FetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Specification({
         "${app}/message.value.gzip/client",
@@ -228,7 +253,6 @@ public class FetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Specification({
         "${app}/message.value.snappy/client",
@@ -238,7 +262,6 @@ public class FetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Specification({
         "${app}/message.value.lz4/client",
@@ -248,6 +271,42 @@ public class FetchIT
         k3po.finish();
     }
 
+    @Test
+    @Specification({
+        "${app}/message.value.gzip.fragmented/client",
+        "${app}/message.value.gzip.fragmented/server"})
+    public void shouldReceiveMessageValueGzipFragmented() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${app}/message.value.zstd/client",
+        "${app}/message.value.zstd/server"})
+    public void shouldReceiveMessageValueZstd() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${app}/message.value.gzip.corrupt/client",
+        "${app}/message.value.gzip.corrupt/server"})
+    public void shouldRejectMessageValueGzipCorrupt() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${app}/message.value.gzip.overflow/client",
+        "${app}/message.value.gzip.overflow/server"})
+    public void shouldRejectMessageValueGzipOverflow() throws Exception
+    {
+        k3po.finish();
+    }
+
     @Test
     @Specification({
         "${app}/message.value.distinct/client",
@@ -18,7 +18,6 @@ package io.aklivity.zilla.specs.binding.kafka.streams.network;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.junit.rules.RuleChain.outerRule;
 
-import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.DisableOnDebug;
@@ -55,6 +54,33 @@ public class FetchIT
         k3po.finish();
     }
 
+    @Test
+    @Specification({
+        "${net}/partition.coalesced/client",
+        "${net}/partition.coalesced/server"})
+    public void shouldReceiveMessagesFromCoalescedPartitions() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${net}/partition.coalesced.window.closed/client",
+        "${net}/partition.coalesced.window.closed/server"})
+    public void shouldReceiveMessagesFromCoalescedPartitionsWhenWindowClosed() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${net}/partition.coalesced.error/client",
+        "${net}/partition.coalesced.error/server"})
+    public void shouldReceiveMessageFromCoalescedPartitionWhenOtherPartitionErrors() throws Exception
+    {
+        k3po.finish();
+    }
+
     @Test
     @Specification({
         "${net}/partition.incomplete/client",
@@ -190,7 +216,6 @@ public class FetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Specification({
         "${net}/message.value.gzip/client",
@@ -200,7 +225,6 @@ public class FetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Specification({
         "${net}/message.value.snappy/client",
@@ -210,7 +234,6 @@ public class FetchIT
         k3po.finish();
     }
 
-    @Ignore("TODO")
     @Test
     @Specification({
         "${net}/message.value.lz4/client",
@@ -220,6 +243,42 @@ public class FetchIT
         k3po.finish();
     }
 
+    @Test
+    @Specification({
+        "${net}/message.value.gzip.fragmented/client",
+        "${net}/message.value.gzip.fragmented/server"})
+    public void shouldReceiveMessageValueGzipFragmented() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${net}/message.value.zstd/client",
+        "${net}/message.value.zstd/server"})
+    public void shouldReceiveMessageValueZstd() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${net}/message.value.gzip.corrupt/client",
+        "${net}/message.value.gzip.corrupt/server"})
+    public void shouldRejectMessageValueGzipCorrupt() throws Exception
+    {
+        k3po.finish();
+    }
+
+    @Test
+    @Specification({
+        "${net}/message.value.gzip.overflow/client",
+        "${net}/message.value.gzip.overflow/server"})
+    public void shouldRejectMessageValueGzipOverflow() throws Exception
+    {
+        k3po.finish();
+    }
+
     @Test
     @Specification({
         "${net}/message.value.distinct/client",